@@ -0,0 +1,147 @@
+package simpaths.benchmarks;
+
+import microsim.data.db.DatabaseUtils;
+import microsim.engine.ExperimentBuilder;
+import microsim.engine.SimulationEngine;
+import simpaths.data.Parameters;
+import simpaths.data.startingpop.Processed;
+import simpaths.model.PopulationFixtures;
+import simpaths.model.SimPathsModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+
+/**
+ *
+ * CLASS TO SUPPLY FIXTURES SHARED BY BENCHMARKS
+ *
+ * POPULATIONS ARE SYNTHETIC, GENERATED FROM A SEEDED RANDOM NUMBER GENERATOR AS FOR THE MODEL TESTS (SEE
+ * PopulationFixtures), SO THAT NO POPULATION IS LOADED FROM THE INPUT DATABASE. MODEL PARAMETERS ARE LOADED FROM THE
+ * WORKBOOKS IN input/, AND THE DONOR POOL USED TO IMPUTE TAXES AND BENEFITS FROM THE TAX DONOR DATABASE GENERATED
+ * LOCALLY BY THE SETUP PHASE (SimPathsStart -Setup), SO THAT NO DATA ARE LOADED FROM REMOTE SOURCES. BENCHMARKS MUST
+ * BE EXECUTED FROM THE ROOT DIRECTORY OF THE PROJECT (SO THAT input/ IS FOUND), AND FIXTURES ARE CONTROLLED BY THE
+ * SYSTEM PROPERTIES:
+ *  benchmark.households   number of households of synthetic populations (default 8000)
+ *  benchmark.seed         random seed used by the model and to generate synthetic states (default 606)
+ *
+ * THE COUNTRY AND FIRST SIMULATED YEAR ARE THOSE OF PopulationFixtures. THE DECISION AND SIMULATION FIXTURES LOAD
+ * DIFFERENT MODEL PARAMETERS, AND SO SHOULD NOT BE COMBINED IN ONE JVM (JMH RUNS EACH BENCHMARK CLASS IN A SEPARATE
+ * FORK BY DEFAULT)
+ *
+ */
+public class BenchmarkFixtures {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final int START_YEAR = PopulationFixtures.START_YEAR;
+    public static final int HOUSEHOLDS = Integer.getInteger("benchmark.households", 8000);
+    public static final long SEED = Long.getLong("benchmark.seed", 606L);
+    public static final int SIMULATED_YEARS = 20;      // years scheduled for simulation benchmarks (must exceed the number of years stepped)
+
+    private static SimPathsModel decisionModel;
+    private static SimPathsModel simulationModel;
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO GENERATE A SYNTHETIC POPULATION
+     * populations generated with the same number of households are identical, so that benchmarks that alter the
+     * state of agents can generate a new population for each invocation
+     * @param households number of households generated
+     */
+    public static PopulationFixtures population(int households) {
+        return new PopulationFixtures(households, SEED);
+    }
+
+    /**
+     * METHOD TO LOAD PARAMETERS FOR EVALUATION OF INTERTEMPORAL OPTIMISATION DECISIONS AND TAX IMPUTATIONS
+     * the model is not registered with the simulation engine, and no population is loaded
+     */
+    public static synchronized SimPathsModel decisionModel() {
+
+        if (decisionModel == null) {
+
+            Properties settings = new Properties();
+            settings.setProperty("country", PopulationFixtures.COUNTRY.name());
+            settings.setProperty("startYear", Integer.toString(START_YEAR));
+            settings.setProperty("endYear", Integer.toString(START_YEAR + SIMULATED_YEARS));
+            settings.setProperty("enableIntertemporalOptimisations", "true");
+            settings.setProperty("readGrid", "false");
+            settings.setProperty("outputFolder", outputFolder());
+            settings.setProperty("databaseInputUrl", databaseInputUrl());
+            decisionModel = SimPathsModel.buildDecisionWorker(settings);
+        }
+        return decisionModel;
+    }
+
+    /**
+     * METHOD TO BUILD A SIMULATION OF A SYNTHETIC POPULATION OF HOUSEHOLDS, WITH EVENTS SCHEDULED FROM START_YEAR
+     * the simulation is built without collector or observer, so that no statistics are exported
+     */
+    public static synchronized SimPathsModel simulationModel() {
+
+        if (simulationModel == null) {
+
+            PopulationFixtures population = population(HOUSEHOLDS);
+            Processed startingPopulation = new Processed(PopulationFixtures.COUNTRY, START_YEAR, population.persons.size(), false);
+            startingPopulation.setHouseholds(population.households);
+
+            SimulationEngine engine = SimulationEngine.getInstance();
+            engine.setExperimentBuilder(new ExperimentBuilder() {
+                @Override
+                public void buildExperiment(SimulationEngine engine) {
+
+                    SimPathsModel model = new SimPathsModel(PopulationFixtures.COUNTRY, START_YEAR);
+                    model.setEndYear(START_YEAR + SIMULATED_YEARS);
+                    model.setPopSize(population.persons.size());
+                    model.setStartingPopulation(startingPopulation);
+                    model.setFixRandomSeed(true);
+                    model.setRandomSeedIfFixed(SEED);
+                    engine.addSimulationManager(model);
+                    simulationModel = model;
+                }
+            });
+            engine.setup();
+            engine.buildModels();
+        }
+        return simulationModel;
+    }
+
+    /**
+     * METHOD TO SIMULATE ONE YEAR
+     * events are fired until the model year is updated
+     */
+    public static void simulateYear(SimPathsModel model) throws Exception {
+
+        SimulationEngine engine = SimulationEngine.getInstance();
+        int year = model.getYear();
+        if (year > model.getEndYear())
+            throw new RuntimeException("benchmark attempted to simulate beyond end year " + model.getEndYear());
+        while (model.getYear() == year)
+            engine.step();
+    }
+
+    /**
+     * @return location of the input database generated by the setup phase, which holds the tax donor database
+     */
+    public static String databaseInputUrl() {
+        if (DatabaseUtils.databaseInputUrl == null)
+            DatabaseUtils.databaseInputUrl = Parameters.INPUT_DIRECTORY + "input";    // otherwise set up by the engine
+        return DatabaseUtils.databaseInputUrl;
+    }
+
+    private static String outputFolder() {
+        try {
+            return Files.createTempDirectory("simpaths-benchmarks").toString();
+        } catch (IOException e) {
+            throw new RuntimeException("failed to create output folder for benchmarks", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package simpaths.model;
+
+import org.apache.commons.math3.util.Pair;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import simpaths.benchmarks.BenchmarkFixtures;
+import simpaths.data.Parameters;
+import simpaths.model.enums.Gender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *
+ * BENCHMARKS OF PROCESSES EVALUATED FOR INDIVIDUAL AGENTS
+ *
+ * AGENTS ARE SAMPLED AT RANDOM (SEEDED) FROM A SYNTHETIC POPULATION (SEE BenchmarkFixtures.population), WITH LAGGED
+ * CHARACTERISTICS POPULATED BY THE YEARLY UPDATES APPLIED ON GENERATION. BENCHMARKS OF REGRESSION SCORES AND UNION
+ * MATCHING DO NOT ALTER THE STATE OF AGENTS THAT THEY READ: UNION MATCHING IS EVALUATED AS FOR ALIGNMENT, SO THAT
+ * MATCHED PERSONS ARE FLAGGED RATHER THAN MOVED INTO NEW BENEFIT UNITS. LABOUR SUPPLY ALTERS THE STATE OF THE BENEFIT
+ * UNITS EVALUATED, WHICH ARE THEREFORE DRAWN FROM A NEW (IDENTICAL) SYNTHETIC POPULATION BEFORE EACH INVOCATION
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgentProcessBenchmark {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    static final int SAMPLE_SIZE = 1024;        // persons or benefit units evaluated per benchmark invocation
+    static final int MATCHING_POOL = 500;       // persons of each gender considered for union matching
+    static final int LABOUR_SUPPLY_HOUSEHOLDS = 3 * SAMPLE_SIZE;    // households generated for each invocation of labour supply
+
+    private Person[] persons;
+    private List<Person> unmatchedMales, unmatchedFemales;
+
+
+    /**
+     * FIXTURES
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        PopulationFixtures population = BenchmarkFixtures.population(BenchmarkFixtures.HOUSEHOLDS);
+        Random random = new Random(BenchmarkFixtures.SEED);
+
+        List<Person> adults = new ArrayList<>();
+        for (Person person : population.persons) {
+            if (person.getDag() >= Parameters.AGE_TO_BECOME_RESPONSIBLE)
+                adults.add(person);
+        }
+        Collections.shuffle(adults, random);
+        persons = adults.subList(0, Math.min(SAMPLE_SIZE, adults.size())).toArray(new Person[0]);
+
+        unmatchedMales = new ArrayList<>();
+        unmatchedFemales = new ArrayList<>();
+        for (Person person : adults) {
+            if (person.getPartner() != null || person.getDag() > 60)
+                continue;
+            if (Gender.Male.equals(person.getDgn()) && unmatchedMales.size() < MATCHING_POOL)
+                unmatchedMales.add(person);
+            else if (Gender.Female.equals(person.getDgn()) && unmatchedFemales.size() < MATCHING_POOL)
+                unmatchedFemales.add(person);
+        }
+    }
+
+    /**
+     * CLASS OF BENEFIT UNITS FOR EVALUATION OF LABOUR SUPPLY, GENERATED AFRESH FOR EACH INVOCATION
+     * an invocation evaluates SAMPLE_SIZE benefit units, and so lasts long enough for the timing overheads of
+     * Level.Invocation to be negligible; generation is excluded from the measurement
+     */
+    @State(Scope.Thread)
+    public static class LabourSupplyState {
+
+        BenefitUnit[] benefitUnits;
+
+        @Setup(Level.Trial)
+        public void loadDonorPool() {
+            BenchmarkFixtures.databaseInputUrl();
+            PopulationFixtures.loadParameters();
+            SimPathsModel.populateTaxdbReferences();
+        }
+
+        @Setup(Level.Invocation)
+        public void generate() {
+
+            List<BenefitUnit> atRiskOfWork = new ArrayList<>();
+            for (BenefitUnit benefitUnit : BenchmarkFixtures.population(LABOUR_SUPPLY_HOUSEHOLDS).benefitUnits) {
+                if (benefitUnit.getAtRiskOfWork())
+                    atRiskOfWork.add(benefitUnit);
+            }
+            if (atRiskOfWork.size() < SAMPLE_SIZE)
+                throw new RuntimeException("synthetic population includes " + atRiskOfWork.size() + " benefit units at risk of work, fewer than " + SAMPLE_SIZE);
+            Collections.shuffle(atRiskOfWork, new Random(BenchmarkFixtures.SEED));
+            benefitUnits = atRiskOfWork.subList(0, SAMPLE_SIZE).toArray(new BenefitUnit[0]);
+        }
+    }
+
+
+    /**
+     * BENCHMARKS
+     */
+
+    // linear regression scores, with regressors obtained via Person.getDoubleValue
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void regressionScore(Blackhole blackhole) {
+        for (Person person : persons) {
+            blackhole.consume(Parameters.getRegHealthHM1Level().getScore(person, Person.DoublesVariables.class));
+            if (Gender.Male.equals(person.getDgn()))
+                blackhole.consume(Parameters.getRegWagesMales().getScore(person, Person.DoublesVariables.class));
+            else
+                blackhole.consume(Parameters.getRegWagesFemales().getScore(person, Person.DoublesVariables.class));
+        }
+    }
+
+    @Benchmark
+    public void unionMatching(Blackhole blackhole) {
+        Set<Person> males = new LinkedHashSet<>(unmatchedMales);
+        Set<Person> females = new LinkedHashSet<>(unmatchedFemales);
+        UnionMatching unionMatching = new UnionMatching(new Pair<>(males, females), true);
+        unionMatching.evaluateGM();
+        blackhole.consume(unionMatching.getMatches());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void updateLabourSupplyAndIncome(LabourSupplyState state) {
+        for (BenefitUnit benefitUnit : state.benefitUnits) {
+            benefitUnit.updateLabourSupplyAndIncome();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package simpaths.model;
+
+import org.openjdk.jmh.annotations.*;
+import simpaths.benchmarks.BenchmarkFixtures;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *
+ * BENCHMARK OF ONE FULL SIMULATED YEAR
+ *
+ * THE SIMULATION OF A SYNTHETIC POPULATION IS BUILT ONCE PER FORK (SEE BenchmarkFixtures.simulationModel), AND EACH
+ * ITERATION SIMULATES THE NEXT YEAR, SO THAT THE FIRST (WARMUP) ITERATION REPORTS THE START YEAR AND MEASURED
+ * ITERATIONS REPORT CONSECUTIVE YEARS THEREAFTER. WARMUP AND MEASUREMENT ITERATIONS TOGETHER MUST NOT EXCEED BenchmarkFixtures.SIMULATED_YEARS
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SimulatedYearBenchmark {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private SimPathsModel model;
+
+
+    /**
+     * FIXTURES
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        model = BenchmarkFixtures.simulationModel();
+    }
+
+
+    /**
+     * BENCHMARKS
+     */
+    @Benchmark
+    public int simulateYear() throws Exception {
+        BenchmarkFixtures.simulateYear(model);
+        return model.getYear();
+    }
+}
@@ -0,0 +1,71 @@
+package simpaths.model.decisions;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import simpaths.benchmarks.BenchmarkFixtures;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *
+ * BENCHMARK OF EXPECTED LIFETIME UTILITY, EVALUATED BY THE OPTIMISER FOR EACH CANDIDATE CONSUMPTION LEVEL WHILE
+ * SOLVING THE GRIDS (SEE UtilityMaximisation)
+ *
+ * EXPECTATIONS ARE CONSTRUCTED IN SETUP FOR FULL-TIME EMPLOYMENT OF ALL ADULTS, AS IN ManagerSolveState, AND
+ * CONSUMPTION IS SET TO THE STARTING VALUE USED BY THE OPTIMISER
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CESUtilityBenchmark {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private CESUtility[] functions;
+    private double[][] consumption;
+
+
+    /**
+     * FIXTURES
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        Grids grids = DecisionFixtures.syntheticGrids();
+        States[] states = DecisionFixtures.sampleStates(grids, DecisionFixtures.SAMPLE_SIZE, BenchmarkFixtures.SEED);
+        functions = new CESUtility[states.length];
+        consumption = new double[states.length][1];
+        for (int ii=0; ii<states.length; ii++) {
+
+            Expectations outerExpectations = new Expectations(states[ii]);
+            Expectations invariantExpectations = new Expectations(states[ii], outerExpectations);
+            Expectations expectations = new Expectations(invariantExpectations);
+            double emp1Pr = (states[ii].ageYears <= DecisionParams.maxAgeFlexibleLabourSupply) ? 1.0 : 0.0;
+            double emp2Pr = (states[ii].getCohabitation()) ? emp1Pr : 0.0;
+            expectations.updateForDiscreteControls(emp1Pr, emp2Pr);
+            functions[ii] = new CESUtility(grids.valueFunction, expectations);
+            consumption[ii][0] = (expectations.cashOnHand <= DecisionParams.MIN_CONSUMPTION_PER_YEAR) ?
+                    DecisionParams.MIN_CONSUMPTION_PER_YEAR :
+                    DecisionParams.MIN_CONSUMPTION_PER_YEAR * 0.8 + expectations.cashOnHand * 0.2;
+        }
+    }
+
+
+    /**
+     * BENCHMARKS
+     */
+    @Benchmark
+    @OperationsPerInvocation(DecisionFixtures.SAMPLE_SIZE)
+    public void evaluate(Blackhole blackhole) {
+        for (int ii=0; ii<functions.length; ii++) {
+            blackhole.consume(functions[ii].evaluate(consumption[ii]));
+        }
+    }
+}
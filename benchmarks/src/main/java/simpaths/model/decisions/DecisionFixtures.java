@@ -0,0 +1,89 @@
+package simpaths.model.decisions;
+
+import simpaths.benchmarks.BenchmarkFixtures;
+import simpaths.data.Parameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ *
+ * CLASS TO GENERATE SYNTHETIC GRIDS AND STATE COMBINATIONS FOR BENCHMARKS OF INTERTEMPORAL OPTIMISATION ROUTINES
+ *
+ * GRID VALUES ARE DRAWN FROM A SEEDED RANDOM NUMBER GENERATOR RATHER THAN SOLVED, AS THE COST OF INTERPOLATION AND
+ * UTILITY EVALUATION DOES NOT DEPEND ON THE VALUES STORED. STATE COMBINATIONS ARE DRAWN AT RANDOM FROM THE FEASIBLE
+ * COMBINATIONS OF A SINGLE AGE SLICE (SYSTEM PROPERTY benchmark.ageYears, DEFAULT 45)
+ *
+ */
+class DecisionFixtures {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    static final int AGE_YEARS = Integer.getInteger("benchmark.ageYears", 45);
+    static final int SAMPLE_SIZE = 256;         // number of state combinations evaluated per benchmark invocation
+    private static final int MAX_ATTEMPTS = 1000000;
+
+    private static Grids grids;
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO OBTAIN GRIDS POPULATED WITH SYNTHETIC VALUES
+     * value function ordinates are negative, consistent with the CES preferences assumed for the model
+     */
+    static synchronized Grids syntheticGrids() {
+
+        if (grids == null) {
+
+            BenchmarkFixtures.decisionModel();
+            Random random = new Random(BenchmarkFixtures.SEED);
+            Grids syntheticGrids = new Grids();
+            fill(syntheticGrids.valueFunction, random, -2.0, -1.0);
+            fill(syntheticGrids.consumption, random, 0.0, 1.0);
+            if (syntheticGrids.employment1 != null) fill(syntheticGrids.employment1, random, 0.0, 1.0);
+            if (syntheticGrids.employment2 != null) fill(syntheticGrids.employment2, random, 0.0, 1.0);
+            grids = syntheticGrids;
+        }
+        return grids;
+    }
+
+    /**
+     * METHOD TO DRAW FEASIBLE STATE COMBINATIONS FOR AGE_YEARS
+     */
+    static States[] sampleStates(Grids grids, int number, long seed) {
+
+        int aa = AGE_YEARS - Parameters.AGE_TO_BECOME_RESPONSIBLE;
+        int innerDimension = (int)grids.scale.gridDimensions[aa][0];
+        int outerDimension = (int)grids.scale.gridDimensions[aa][1];
+        Random random = new Random(seed);
+        List<States> sample = new ArrayList<>();
+        for (int attempt=0; attempt<MAX_ATTEMPTS && sample.size()<number; attempt++) {
+
+            States outerStates = new States(grids.scale, AGE_YEARS);
+            outerStates.populateOuterGridStates(random.nextInt(outerDimension));
+            if (outerStates.checkOuterStateCombination()) {
+
+                States states = new States(outerStates);
+                states.populateInnerGridStates(random.nextInt(innerDimension));
+                if (states.checkStateCombination())
+                    sample.add(states);
+            }
+        }
+        if (sample.size() < number)
+            throw new RuntimeException("failed to identify " + number + " feasible state combinations at age " + AGE_YEARS);
+        return sample.toArray(new States[0]);
+    }
+
+    private static void fill(Grid grid, Random random, double lower, double upper) {
+        for (long ii=0; ii<grid.size; ii++) {
+            grid.put(ii, lower + (upper - lower) * random.nextDouble());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package simpaths.model.decisions;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import simpaths.benchmarks.BenchmarkFixtures;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *
+ * BENCHMARK OF GRID INTERPOLATION, AS USED TO LOOK UP INTERTEMPORAL OPTIMISATION DECISIONS DURING SIMULATION
+ * (solutionCall = false) AND TO EVALUATE EXPECTED VALUES WHILE SOLVING THE GRIDS (solutionCall = true)
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GridBenchmark {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private Grid valueFunction;
+    private States[] states;
+
+
+    /**
+     * FIXTURES
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        Grids grids = DecisionFixtures.syntheticGrids();
+        valueFunction = grids.valueFunction;
+        states = DecisionFixtures.sampleStates(grids, DecisionFixtures.SAMPLE_SIZE, BenchmarkFixtures.SEED);
+    }
+
+
+    /**
+     * BENCHMARKS
+     */
+    @Benchmark
+    @OperationsPerInvocation(DecisionFixtures.SAMPLE_SIZE)
+    public void interpolateAllSimulation(Blackhole blackhole) {
+        for (States supplied : states) {
+            blackhole.consume(valueFunction.interpolateAll(supplied, false));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DecisionFixtures.SAMPLE_SIZE)
+    public void interpolateAllSolution(Blackhole blackhole) {
+        for (States supplied : states) {
+            blackhole.consume(valueFunction.interpolateAll(supplied, true));
+        }
+    }
+}
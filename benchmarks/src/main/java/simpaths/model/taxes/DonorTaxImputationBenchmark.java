@@ -0,0 +1,78 @@
+package simpaths.model.taxes;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import simpaths.benchmarks.BenchmarkFixtures;
+import simpaths.data.Parameters;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *
+ * BENCHMARK OF TAX AND BENEFIT IMPUTATION FROM THE DONOR POOL
+ *
+ * DONOR KEYS ARE EVALUATED IN SETUP FOR SYNTHETIC TAX UNITS, WITH DEMOGRAPHIC CHARACTERISTICS, HOURS OF WORK AND
+ * INCOMES DRAWN FROM A SEEDED RANDOM NUMBER GENERATOR. IMPUTATIONS AVERAGE OVER PREFERRED CANDIDATES (AS FOR
+ * donorPoolAveraging), AND ARE NOT CACHED
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DonorTaxImputationBenchmark {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    static final int SAMPLE_SIZE = 256;
+    private static final double[] HOURS = {0.0, 20.0, 40.0};
+
+    private DonorKeys[] keys;
+
+
+    /**
+     * FIXTURES
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+
+        BenchmarkFixtures.decisionModel();
+        Random random = new Random(BenchmarkFixtures.SEED);
+        int year = BenchmarkFixtures.START_YEAR;
+        keys = new DonorKeys[SAMPLE_SIZE];
+        for (int ii=0; ii<SAMPLE_SIZE; ii++) {
+
+            int age = 18 + random.nextInt(65);
+            int adults = 1 + random.nextInt(2);
+            double hoursMan = HOURS[random.nextInt(HOURS.length)];
+            double hoursWoman = (adults == 2) ? HOURS[random.nextInt(HOURS.length)] : 0.0;
+            double originalIncomePerWeek = 20.0 * (hoursMan + hoursWoman) * (0.5 + random.nextDouble()) + 50.0 * random.nextDouble();
+            double secondIncomePerWeek = (adults == 2) ? originalIncomePerWeek * hoursWoman / Math.max(1.0, hoursMan + hoursWoman) : 0.0;
+            KeyFunction function = new KeyFunction(year, Parameters.BASE_PRICE_YEAR, age, adults, random.nextInt(2),
+                    random.nextInt(2), random.nextInt(2), hoursMan, hoursWoman, 0, 0, 0,
+                    originalIncomePerWeek, secondIncomePerWeek, 0.0);
+            keys[ii] = new DonorKeys();
+            keys[ii].evaluate(function);
+        }
+    }
+
+
+    /**
+     * BENCHMARKS
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void evaluate(Blackhole blackhole) {
+        for (DonorKeys key : keys) {
+            DonorTaxImputation imputation = new DonorTaxImputation(key);
+            imputation.evaluate();
+            blackhole.consume(imputation.getDisposableIncomePerWeek());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package simpaths.data;
+
+import simpaths.model.enums.AlignmentVariable;
+import simpaths.model.enums.TimeSeriesVariable;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/**
+ *
+ * CLASS TO STORE THE ALIGNMENT ADJUSTMENTS OF ONE SIMULATION RUN
+ *
+ * ALIGNMENT SEARCHES UPDATE THE ADJUSTMENTS TO CARE PROVISION AND TO THE UTILITY OF LEISURE (TIME SERIES), AND THE
+ * PARTNERSHIP AND FERTILITY ALIGNMENT VALUES, AS EACH YEAR IS SIMULATED. WHERE RUNS ARE EXECUTED CONCURRENTLY IN ONE
+ * JVM, EACH RUN HOLDS ITS OWN ADJUSTMENTS IN ITS RunScope, SO THAT ADJUSTMENTS MADE BY ONE RUN ARE NOT SEEN BY ANOTHER.
+ * VALUES ARE COPIED FROM THOSE LOADED INTO Parameters ON FIRST USE BY THE RUN, AND ARE THEREAFTER READ AND WRITTEN
+ * ONLY BY THE RUN. Parameters RESOLVES THE ADJUSTMENTS OF THE RUN BOUND TO THE CURRENT THREAD (SEE
+ * Parameters.getTimeSeriesValue AND Parameters.getAlignmentValue)
+ *
+ */
+public class AlignmentAdjustments {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final Set<TimeSeriesVariable> TIME_SERIES = EnumSet.of(TimeSeriesVariable.CareProvisionAdjustment,
+            TimeSeriesVariable.UtilityAdjustmentSingleMales, TimeSeriesVariable.UtilityAdjustmentSingleFemales,
+            TimeSeriesVariable.UtilityAdjustmentCouples);     // time series updated by alignment
+
+    // keys are fixed on construction, so that the maps can be read concurrently by the threads of the run
+    private final EnumMap<TimeSeriesVariable, TimeSeriesTable> timeSeries = new EnumMap<>(TimeSeriesVariable.class);
+    private final EnumMap<AlignmentVariable, TimeSeriesTable> alignment = new EnumMap<>(AlignmentVariable.class);
+
+
+    /**
+     * CONSTRUCTOR
+     */
+    public AlignmentAdjustments() {
+        for (TimeSeriesVariable variable : TIME_SERIES) {
+            timeSeries.put(variable, new TimeSeriesTable());
+        }
+        for (AlignmentVariable variable : AlignmentVariable.values()) {
+            alignment.put(variable, new TimeSeriesTable());
+        }
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+    public double getTimeSeriesValue(int year, TimeSeriesVariable variable) {
+        TimeSeriesTable table = timeSeries.get(variable);
+        double value = table.get(year);
+        if (Double.isNaN(value)) {
+            value = Parameters.getSharedTimeSeriesValue(year, null, null, variable);
+            table.put(year, value);
+        }
+        return value;
+    }
+
+    public void putTimeSeriesValue(int year, double value, TimeSeriesVariable variable) {
+        timeSeries.get(variable).put(year, value);
+    }
+
+    public double getAlignmentValue(int year, AlignmentVariable variable) {
+        TimeSeriesTable table = alignment.get(variable);
+        double value = table.get(year);
+        if (Double.isNaN(value)) {
+            value = Parameters.getSharedAlignmentValue(year, variable);
+            table.put(year, value);
+        }
+        return value;
+    }
+
+    public void setAlignmentValue(int year, double value, AlignmentVariable variable) {
+        alignment.get(variable).put(year, value);
+    }
+}
@@ -0,0 +1,149 @@
+package simpaths.data;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+
+/**
+ *
+ * CLASS TO RECORD ALIGNMENT ADJUSTMENTS IN A DIRECTORY SHARED BY SIMULATION RUNS
+ *
+ * ADJUSTMENTS ARE STORED IN TEXT FILES OF A COMMON DIRECTORY (BY DEFAULT output/alignment_cache OF THE WORKING
+ * DIRECTORY, SEE defaultDirectory), WHICH IS NOT SPECIFIC TO ANY RUN. EACH FILE IS NAMED BY THE COUNTRY, POPULATION
+ * SIZE, RANDOM SEED CLASS AND A SHA-256 DIGEST OF THE MODEL CONFIGURATION, AND HOLDS ADJUSTMENTS KEYED BY ALIGNMENT
+ * NAME AND YEAR, SO THAT A RUN FINDS THE ADJUSTMENTS SAVED BY EARLIER RUNS OF THE SAME SIMULATION. STORED ADJUSTMENTS
+ * ARE ONLY USED AS STARTING POINTS FOR ALIGNMENT SEARCHES (SEE RootSearch.evaluateFrom), AND ARE THEREFORE ACCEPTED
+ * ONLY WHERE THESE SATISFY THE ALIGNMENT TOLERANCE FOR THE CURRENT SIMULATION
+ *
+ * ENTRIES ARE MERGED WITH THE FILE WHEN SAVED, UNDER A FILE LOCK, SO THAT RUNS EXECUTED CONCURRENTLY DO NOT
+ * OVERWRITE EACH OTHER
+ *
+ */
+public class AlignmentCache {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final String DIRECTORY_NAME = "alignment_cache";
+    public static final String FILE_EXTENSION = ".cache";
+
+    private final Path file;
+    private final Map<String, Double> entries = new TreeMap<>();
+
+
+    /**
+     * CONSTRUCTORS
+     * @param directory directory shared by runs
+     * @param country country simulated
+     * @param popSize simulated population size
+     * @param seedClass identifies random seed (or absence of fixed seed)
+     * @param configuration description of model configuration, digested to form part of the key
+     */
+    public AlignmentCache(Path directory, String country, int popSize, String seedClass, String configuration) {
+        this.file = directory.resolve(country + "_" + popSize + "_" + seedClass + "_" + digest(configuration) + FILE_EXTENSION);
+        read(entries);
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * @return directory shared by runs executed from the working directory
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(Parameters.WORKING_DIRECTORY, "output", DIRECTORY_NAME);
+    }
+
+    /**
+     * METHOD TO OBTAIN CACHED ADJUSTMENT
+     * @return null if no adjustment is cached
+     */
+    public synchronized Double get(String alignment, int year) {
+        return entries.get(key(alignment, year));
+    }
+
+    /**
+     * METHOD TO CACHE ADJUSTMENT, AND SAVE CACHE TO FILE
+     */
+    public synchronized void put(String alignment, int year, double value) {
+
+        String key = key(alignment, year);
+        Double previous = entries.put(key, value);
+        if (previous != null && previous == value)
+            return;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+
+                // merge with entries saved by other runs
+                Map<String, Double> merged = new TreeMap<>();
+                read(merged);
+                merged.put(key, value);
+                entries.putAll(merged);
+
+                Properties properties = new Properties();
+                for (Map.Entry<String, Double> entry : merged.entrySet()) {
+                    properties.setProperty(entry.getKey(), Double.toString(entry.getValue()));
+                }
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (Writer writer = Files.newBufferedWriter(temp)) {
+                    properties.store(writer, "SimPaths alignment adjustments: alignment|year");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to save alignment cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String digest(String configuration) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(configuration.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String key(String alignment, int year) {
+        return alignment + "|" + year;
+    }
+
+    private void read(Map<String, Double> target) {
+
+        if (!Files.exists(file))
+            return;
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.out.println("Failed to read alignment cache " + file + ": " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                target.put(key, Double.valueOf(properties.getProperty(key)));
+            } catch (NumberFormatException e) {
+                // ignore corrupt entry
+            }
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package simpaths.data;
+
+import jakarta.persistence.*;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ *
+ * CLASS TO EXPORT PANELS OF SIMULATED ENTITIES (PERSONS, BENEFIT UNITS, HOUSEHOLDS) AND STATISTICS TO COMPRESSED
+ * COLUMNAR FILES
+ *
+ * EACH FILE DESCRIBES ONE ENTITY TYPE. THE FILE HEADER LISTS THE EXPORTED COLUMNS, WHICH ARE THE PERSISTED FIELDS OF
+ * THE ENTITY (NON-STATIC FIELDS THAT ARE NOT TRANSIENT OR RELATIONSHIPS, WITH EMBEDDED KEYS STORED AS ONE COLUMN PER
+ * FIELD), OPTIONALLY RESTRICTED TO A SELECTION OF FIELD NAMES. EACH CALL TO export APPENDS A CHUNK FOR THE CURRENT
+ * TIME, IN WHICH EACH COLUMN IS STORED AS A SEPARATELY DEFLATED BLOCK. ENUMS ARE DICTIONARY-ENCODED WITH THE CONSTANTS
+ * LISTED IN THE HEADER, AND STRINGS WITH A DICTIONARY STORED IN EACH CHUNK
+ *
+ * FIELDS ARE READ THROUGH METHOD HANDLES RESOLVED WHEN THE EXPORT IS CONSTRUCTED. ON EACH CALL TO export, THE VALUES
+ * OF ALL COLUMNS ARE COPIED INTO PRIMITIVE ARRAYS ON THE CALLING THREAD, AND THESE ARE COMPRESSED AND WRITTEN BY AN
+ * ExportQueue WHILE THE SIMULATION CONTINUES. export WAITS WHERE THE QUEUE IS FULL
+ *
+ * FILES CAN BE CONVERTED TO CSV USING main (OR toCsv)
+ *
+ */
+public class ColumnarExport<T> {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final String FILE_SUFFIX = ".columnar";
+    private static final int MAGIC = 0x53504358;    // "SPCX"
+    private static final int VERSION = 1;
+
+    // column types
+    private static final int BOOLEAN = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 4;
+    private static final int STRING = 5;
+    private static final int ENUM = 6;
+
+    private final Path file;
+    private final List<Column> columns = new ArrayList<>();
+    private final DataOutputStream out;
+    private final ExportQueue queue;
+    private boolean closed;
+
+
+    /**
+     * CONSTRUCTORS
+     * @param entityClass class of entities exported
+     * @param directory directory of output file (file name is the simple name of entityClass)
+     * @param fields names of fields to export (all persisted fields if null or empty). Fields of embedded keys are
+     *               always exported
+     * @param queue queue used to write chunks, which may be shared by several exports
+     */
+    public ColumnarExport(Class<T> entityClass, String directory, Collection<String> fields, ExportQueue queue) {
+
+        file = Paths.get(directory, entityClass.getSimpleName() + FILE_SUFFIX);
+        this.queue = queue;
+        try {
+            columns.addAll(resolveColumns(entityClass, fields));
+
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(entityClass.getSimpleName());
+            out.writeInt(columns.size());
+            for (Column column : columns) {
+                out.writeUTF(column.name);
+                out.writeByte(column.type);
+                out.writeBoolean(column.nullable);
+                if (column.type == ENUM) {
+                    out.writeInt(column.constants.length);
+                    for (Object constant : column.constants) out.writeUTF(((Enum<?>) constant).name());
+                }
+            }
+            out.flush();
+        } catch (IOException | IllegalAccessException e) {
+            throw new RuntimeException("Unable to create columnar export " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO APPEND THE CURRENT STATE OF ENTITIES TO THE EXPORT
+     * @param entities entities to export, which are read on the calling thread only
+     * @param time simulated time of the chunk
+     */
+    public void export(Collection<? extends T> entities, double time) {
+
+        if (closed)
+            throw new IllegalStateException("columnar export " + file + " is closed");
+        Object[] rows = entities.toArray();
+        Object[] values = new Object[columns.size()];
+        boolean[][] nulls = new boolean[columns.size()][];
+        for (int cc=0; cc<columns.size(); cc++) {
+            nulls[cc] = columns.get(cc).nullable ? new boolean[rows.length] : null;
+            values[cc] = columns.get(cc).extract(rows, nulls[cc]);
+        }
+        queue.submit(() -> writeChunk(time, rows.length, values, nulls));
+    }
+
+    /**
+     * METHOD TO QUEUE CLOSURE OF FILE, AFTER ALL CHUNKS QUEUED PREVIOUSLY (SEE ExportQueue.flush)
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            queue.submitClose(out::close);
+        }
+    }
+
+    private void writeChunk(double time, int numberRows, Object[] values, boolean[][] nulls) throws IOException {
+
+        out.writeDouble(time);
+        out.writeInt(numberRows);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int cc=0; cc<columns.size(); cc++) {
+
+            bytes.reset();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DataOutputStream block = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes, deflater), 1 << 16))) {
+                if (nulls[cc] != null) {
+                    for (boolean isNull : nulls[cc]) block.writeBoolean(isNull);
+                }
+                switch (columns.get(cc).type) {
+                    case BOOLEAN -> {
+                        for (boolean value : (boolean[]) values[cc]) block.writeBoolean(value);
+                    }
+                    case INT, ENUM -> {
+                        for (int value : (int[]) values[cc]) block.writeInt(value);
+                    }
+                    case LONG -> {
+                        for (long value : (long[]) values[cc]) block.writeLong(value);
+                    }
+                    case DOUBLE -> {
+                        for (double value : (double[]) values[cc]) block.writeDouble(value);
+                    }
+                    case STRING -> {
+                        Map<String, Integer> dictionary = new LinkedHashMap<>();
+                        String[] strings = (String[]) values[cc];
+                        int[] codes = new int[strings.length];
+                        for (int ii=0; ii<strings.length; ii++) {
+                            codes[ii] = (strings[ii] == null) ? -1 : dictionary.computeIfAbsent(strings[ii], ss -> dictionary.size());
+                        }
+                        block.writeInt(dictionary.size());
+                        for (String value : dictionary.keySet()) writeString(block, value);
+                        for (int code : codes) block.writeInt(code);
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * METHOD TO RESOLVE EXPORTED COLUMNS OF ENTITY CLASS (SEE CONSTRUCTOR). ALSO USED BY CsvExport
+     */
+    static List<Column> resolveColumns(Class<?> entityClass, Collection<String> fields) throws IllegalAccessException {
+
+        List<Column> columns = new ArrayList<>();
+        for (Field field : getPersistedFields(entityClass)) {
+            if (field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToOne.class) ||
+                    field.isAnnotationPresent(OneToOne.class) || field.isAnnotationPresent(ManyToMany.class))
+                continue;
+            if (field.isAnnotationPresent(EmbeddedId.class) || field.isAnnotationPresent(Embedded.class) ||
+                    (field.isAnnotationPresent(Id.class) && Column.typeOf(field.getType()) == 0)) {
+                MethodHandle owner = getter(field);
+                for (Field embedded : getPersistedFields(field.getType())) {
+                    columns.add(new Column(field.getName() + "." + embedded.getName(), embedded.getType(),
+                            MethodHandles.filterReturnValue(owner, getter(embedded))));
+                }
+            } else if (fields == null || fields.isEmpty() || fields.contains(field.getName())) {
+                if (Column.typeOf(field.getType()) != 0)     // omits fields of unsupported types (e.g. collections)
+                    columns.add(new Column(field.getName(), field.getType(), getter(field)));
+            }
+        }
+        return columns;
+    }
+
+    private static MethodHandle getter(Field field) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectGetter(field);
+    }
+
+    private static List<Field> getPersistedFields(Class<?> type) {
+
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> cls = type; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isAnnotationPresent(Transient.class))
+                    fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * CLASS TO READ ONE COLUMN FROM ENTITIES
+     */
+    static final class Column {
+
+        final String name;
+        final int type;
+        final boolean nullable;     // boxed primitive, stored with a null flag for each row
+        final Object[] constants;   // enum constants, indexed by code
+        final MethodHandle getter;  // adapted to (Object) -> primitive of column type, or (Object) -> Object
+
+        Column(String name, Class<?> cls, MethodHandle getter) {
+
+            this.name = name;
+            type = typeOf(cls);
+            if (type == 0)
+                throw new IllegalArgumentException("unsupported type of field " + name);
+            nullable = !cls.isPrimitive() && type != STRING && type != ENUM;
+            constants = (type == ENUM) ? cls.getEnumConstants() : null;
+            Class<?> returnType = switch (type) {
+                case BOOLEAN -> boolean.class;
+                case INT -> int.class;
+                case LONG -> long.class;
+                case DOUBLE -> double.class;
+                default -> Object.class;
+            };
+            this.getter = getter.asType(MethodType.methodType(cls.isPrimitive() ? returnType : Object.class, Object.class));
+        }
+
+        /**
+         * METHOD TO IDENTIFY COLUMN TYPE OF FIELD CLASS
+         * @return 0 if class is not supported
+         */
+        static int typeOf(Class<?> cls) {
+            if (cls == boolean.class || cls == Boolean.class) return BOOLEAN;
+            if (cls == int.class || cls == Integer.class || cls == short.class || cls == Short.class || cls == byte.class || cls == Byte.class) return INT;
+            if (cls == long.class || cls == Long.class) return LONG;
+            if (cls == double.class || cls == Double.class || cls == float.class || cls == Float.class) return DOUBLE;
+            if (cls == String.class) return STRING;
+            if (cls.isEnum()) return ENUM;
+            return 0;
+        }
+
+        Object extract(Object[] rows, boolean[] nulls) {
+
+            try {
+                boolean primitive = !nullable && type != STRING && type != ENUM;
+                switch (type) {
+                    case BOOLEAN -> {
+                        boolean[] values = new boolean[rows.length];
+                        for (int ii=0; ii<rows.length; ii++) {
+                            if (primitive) values[ii] = (boolean) getter.invokeExact(rows[ii]);
+                            else {
+                                Object value = (Object) getter.invokeExact(rows[ii]);
+                                if (value == null) nulls[ii] = true;
+                                else values[ii] = (Boolean) value;
+                            }
+                        }
+                        return values;
+                    }
+                    case INT, ENUM -> {
+                        int[] values = new int[rows.length];
+                        for (int ii=0; ii<rows.length; ii++) {
+                            if (primitive) values[ii] = (int) getter.invokeExact(rows[ii]);
+                            else {
+                                Object value = (Object) getter.invokeExact(rows[ii]);
+                                if (type == ENUM) values[ii] = (value == null) ? -1 : ((Enum<?>) value).ordinal();
+                                else if (value == null) nulls[ii] = true;
+                                else values[ii] = ((Number) value).intValue();
+                            }
+                        }
+                        return values;
+                    }
+                    case LONG -> {
+                        long[] values = new long[rows.length];
+                        for (int ii=0; ii<rows.length; ii++) {
+                            if (primitive) values[ii] = (long) getter.invokeExact(rows[ii]);
+                            else {
+                                Object value = (Object) getter.invokeExact(rows[ii]);
+                                if (value == null) nulls[ii] = true;
+                                else values[ii] = (Long) value;
+                            }
+                        }
+                        return values;
+                    }
+                    case DOUBLE -> {
+                        double[] values = new double[rows.length];
+                        for (int ii=0; ii<rows.length; ii++) {
+                            if (primitive) values[ii] = (double) getter.invokeExact(rows[ii]);
+                            else {
+                                Object value = (Object) getter.invokeExact(rows[ii]);
+                                if (value == null) nulls[ii] = true;
+                                else values[ii] = ((Number) value).doubleValue();
+                            }
+                        }
+                        return values;
+                    }
+                    default -> {
+                        String[] values = new String[rows.length];
+                        for (int ii=0; ii<rows.length; ii++) {
+                            values[ii] = (String) (Object) getter.invokeExact(rows[ii]);
+                        }
+                        return values;
+                    }
+                }
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to read field " + name + " for columnar export: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * METHOD TO FORMAT ONE VALUE EXTRACTED BY extract AS A CSV CELL, AS toCsv
+         */
+        String format(Object values, boolean[] nulls, int ii) {
+
+            if (nulls != null && nulls[ii])
+                return "";
+            return switch (type) {
+                case BOOLEAN -> Boolean.toString(((boolean[]) values)[ii]);
+                case INT -> Integer.toString(((int[]) values)[ii]);
+                case LONG -> Long.toString(((long[]) values)[ii]);
+                case DOUBLE -> Double.toString(((double[]) values)[ii]);
+                case ENUM -> {
+                    int code = ((int[]) values)[ii];
+                    yield (code < 0) ? "" : ((Enum<?>) constants[code]).name();
+                }
+                default -> {
+                    String value = ((String[]) values)[ii];
+                    yield (value == null) ? "" : quote(value);
+                }
+            };
+        }
+    }
+
+
+    /**
+     * METHOD TO CONVERT COLUMNAR EXPORT TO CSV, WITH ONE ROW PER ENTITY AND CHUNK
+     * @param in columnar export file
+     * @param csv output file. The first column reports the simulated time of the chunk
+     */
+    public static void toCsv(Path in, Path csv) throws IOException {
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(in), 1 << 16));
+             PrintWriter output = new PrintWriter(Files.newBufferedWriter(csv))) {
+
+            if (input.readInt() != MAGIC || input.readInt() != VERSION)
+                throw new IOException("unrecognised columnar export " + in);
+            input.readUTF();
+            int numberColumns = input.readInt();
+            int[] types = new int[numberColumns];
+            boolean[] nullable = new boolean[numberColumns];
+            String[][] constants = new String[numberColumns][];
+            StringBuilder header = new StringBuilder("time");
+            for (int cc=0; cc<numberColumns; cc++) {
+                header.append(',').append(input.readUTF());
+                types[cc] = input.readByte();
+                nullable[cc] = input.readBoolean();
+                if (types[cc] == ENUM) {
+                    constants[cc] = new String[input.readInt()];
+                    for (int ii=0; ii<constants[cc].length; ii++) constants[cc][ii] = input.readUTF();
+                }
+            }
+            output.println(header);
+
+            while (true) {
+
+                double time;
+                try {
+                    time = input.readDouble();
+                } catch (EOFException e) {
+                    break;
+                }
+                int numberRows = input.readInt();
+                String[][] cells = new String[numberColumns][numberRows];
+                for (int cc=0; cc<numberColumns; cc++) {
+
+                    byte[] compressed = new byte[input.readInt()];
+                    input.readFully(compressed);
+                    try (DataInputStream block = new DataInputStream(new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed))))) {
+                        boolean[] nulls = new boolean[numberRows];
+                        if (nullable[cc]) {
+                            for (int ii=0; ii<numberRows; ii++) nulls[ii] = block.readBoolean();
+                        }
+                        String[] dictionary = null;
+                        if (types[cc] == STRING) {
+                            dictionary = new String[block.readInt()];
+                            for (int ii=0; ii<dictionary.length; ii++) dictionary[ii] = readString(block);
+                        }
+                        for (int ii=0; ii<numberRows; ii++) {
+                            String cell = switch (types[cc]) {
+                                case BOOLEAN -> Boolean.toString(block.readBoolean());
+                                case INT -> Integer.toString(block.readInt());
+                                case LONG -> Long.toString(block.readLong());
+                                case DOUBLE -> Double.toString(block.readDouble());
+                                case ENUM -> {
+                                    int code = block.readInt();
+                                    yield (code < 0) ? "" : constants[cc][code];
+                                }
+                                default -> {
+                                    int code = block.readInt();
+                                    yield (code < 0) ? "" : quote(dictionary[code]);
+                                }
+                            };
+                            cells[cc][ii] = nulls[ii] ? "" : cell;
+                        }
+                    }
+                }
+                for (int ii=0; ii<numberRows; ii++) {
+                    StringBuilder line = new StringBuilder(Double.toString(time));
+                    for (int cc=0; cc<numberColumns; cc++) {
+                        line.append(',').append(cells[cc][ii]);
+                    }
+                    output.println(line);
+                }
+            }
+        }
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            Path csv = Paths.get(arg.replace(FILE_SUFFIX, "") + ".csv");
+            toCsv(Paths.get(arg), csv);
+            System.out.println("Converted " + arg + " to " + csv);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package simpaths.data;
+
+import microsim.data.MultiKeyCoefficientMap;
+import microsim.statistics.IDoubleSource;
+import org.apache.commons.collections4.keyvalue.MultiKey;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import simpaths.model.enums.IntegerValuedEnum;
+
+import java.util.*;
+
+
+/**
+ *
+ * CLASS TO EVALUATE OUTCOME PROBABILITIES OF ORDERED PROBIT AND MULTINOMIAL LOGIT REGRESSIONS FROM COMPILED SCORES
+ *
+ * ORDERED PROBIT: P(k) = F(cut_k - score) - F(cut_(k-1) - score), WHERE OUTCOMES ARE ORDERED BY THEIR INTEGER VALUE,
+ * AND CUT POINTS ARE THE ENTRIES OF THE COEFFICIENT MAP NAMED "Cut1", "Cut2", ... (SEE CompiledRegression FOR
+ * EVALUATION OF SCORES)
+ *
+ * MULTINOMIAL LOGIT: P(k) = exp(score_k) / sum_j exp(score_j), WHERE THE SCORE OF ANY OUTCOME WITHOUT COEFFICIENTS
+ * (THE BASE OUTCOME) IS ZERO
+ *
+ * AS FOR CompiledRegression, COEFFICIENTS ARE RE-READ AFTER A CALL TO coefficientsModified
+ *
+ */
+public class CompiledMultinomialRegression<T extends Enum<T> & IntegerValuedEnum, E extends Enum<E>> {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final String CUT_PREFIX = "Cut";
+    private static final NormalDistribution standardNormal = new NormalDistribution();
+
+    private final String name;
+    private final T[] outcomes;                         // ordered by integer value
+    private final CompiledRegression<E>[] scores;       // score by outcome (null for base outcome of multinomial logit)
+    private final MultiKeyCoefficientMap cutMap;        // source of cut points for ordered probit (null for logit)
+    private volatile double[] cuts;                     // null until evaluated, and after coefficients modified
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    private CompiledMultinomialRegression(String name, Class<T> outcomeType, CompiledRegression<E>[] scores,
+                                          MultiKeyCoefficientMap cutMap) {
+        this.name = name;
+        this.outcomes = sortedOutcomes(outcomeType);
+        this.scores = scores;
+        this.cutMap = cutMap;
+    }
+
+    /**
+     * METHOD TO COMPILE ORDERED PROBIT REGRESSION
+     * @param coefficientMap coefficients and cut points
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T> & IntegerValuedEnum, E extends Enum<E>> CompiledMultinomialRegression<T,E> orderedProbit(
+            String name, MultiKeyCoefficientMap coefficientMap, Class<T> outcomeType, Class<E> regressorType) {
+
+        Set<String> cuts = new HashSet<>();
+        for (Object key : coefficientMap.keySet()) {
+            String regressor = ((MultiKey<?>) key).getKey(0).toString();
+            if (regressor.startsWith(CUT_PREFIX))
+                cuts.add(regressor);
+        }
+        CompiledRegression<E>[] scores = new CompiledRegression[]{new CompiledRegression<>(name, coefficientMap, regressorType, cuts)};
+        return new CompiledMultinomialRegression<>(name, outcomeType, scores, coefficientMap);
+    }
+
+    /**
+     * METHOD TO COMPILE MULTINOMIAL LOGIT REGRESSION
+     * @param coefficientMaps coefficients by outcome (omitting base outcome)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T> & IntegerValuedEnum, E extends Enum<E>> CompiledMultinomialRegression<T,E> multinomialLogit(
+            String name, Map<T, MultiKeyCoefficientMap> coefficientMaps, Class<T> outcomeType, Class<E> regressorType) {
+
+        T[] outcomes = sortedOutcomes(outcomeType);
+        CompiledRegression<E>[] scores = new CompiledRegression[outcomes.length];
+        for (int ii=0; ii<outcomes.length; ii++) {
+            MultiKeyCoefficientMap map = coefficientMaps.get(outcomes[ii]);
+            if (map != null)
+                scores[ii] = new CompiledRegression<>(name + "_" + outcomes[ii], map, regressorType);
+        }
+        return new CompiledMultinomialRegression<>(name, outcomeType, scores, null);
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO EVALUATE OUTCOME PROBABILITIES
+     * @param source object supplying regressor values
+     * @return probabilities by outcome, in order of the integer values of outcomes
+     */
+    public Map<T, Double> getProbabilities(IDoubleSource source) {
+        return (cutMap != null) ? orderedProbitProbabilities(source) : multinomialLogitProbabilities(source);
+    }
+
+    /**
+     * METHOD TO INVALIDATE COMPILED COEFFICIENTS AND CUT POINTS, SO THAT THESE ARE RE-READ ON NEXT EVALUATION
+     */
+    public void coefficientsModified() {
+        for (CompiledRegression<E> score : scores) {
+            if (score != null)
+                score.coefficientsModified();
+        }
+        cuts = null;
+    }
+
+    /**
+     * METHOD TO REPORT WHETHER REGRESSION WAS COMPILED FROM A COEFFICIENT MAP
+     */
+    public boolean isCompiledFrom(MultiKeyCoefficientMap map) {
+        for (CompiledRegression<E> score : scores) {
+            if (score != null && score.getCoefficientMap() == map)
+                return true;
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private Map<T, Double> orderedProbitProbabilities(IDoubleSource source) {
+
+        double[] cc = getCuts();
+        double score = scores[0].getScore(source);
+        Map<T, Double> probabilities = new LinkedHashMap<>();
+        double lower = 0.0;
+        for (int ii=0; ii<outcomes.length; ii++) {
+            double upper;
+            if (ii < outcomes.length - 1) {
+                upper = standardNormal.cumulativeProbability(cc[ii] - score);
+            } else {
+                upper = 1.0;
+            }
+            probabilities.put(outcomes[ii], upper - lower);
+            lower = upper;
+        }
+        return probabilities;
+    }
+
+    private double[] getCuts() {
+
+        double[] cc = cuts;
+        if (cc == null) {
+            cc = new double[outcomes.length - 1];
+            for (int ii=0; ii<cc.length; ii++) {
+                String cut = CUT_PREFIX + (ii + 1);
+                if (cutMap.getValue(cut) == null)
+                    throw new RuntimeException("unable to compile regression " + name + ": missing cut point " + cut);
+                cc[ii] = CompiledRegression.getCoefficient(cutMap, cut);
+            }
+            cuts = cc;
+        }
+        return cc;
+    }
+
+    private Map<T, Double> multinomialLogitProbabilities(IDoubleSource source) {
+
+        double[] exps = new double[outcomes.length];
+        double sum = 0.0;
+        for (int ii=0; ii<outcomes.length; ii++) {
+            exps[ii] = (scores[ii] == null) ? 1.0 : Math.exp(scores[ii].getScore(source));
+            sum += exps[ii];
+        }
+        Map<T, Double> probabilities = new LinkedHashMap<>();
+        for (int ii=0; ii<outcomes.length; ii++) {
+            probabilities.put(outcomes[ii], exps[ii] / sum);
+        }
+        return probabilities;
+    }
+
+    private static <T extends Enum<T> & IntegerValuedEnum> T[] sortedOutcomes(Class<T> outcomeType) {
+        T[] outcomes = outcomeType.getEnumConstants().clone();
+        Arrays.sort(outcomes, Comparator.comparingInt(IntegerValuedEnum::getValue));
+        return outcomes;
+    }
+}
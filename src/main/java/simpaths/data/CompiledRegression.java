@@ -0,0 +1,141 @@
+package simpaths.data;
+
+import microsim.data.MultiKeyCoefficientMap;
+import microsim.statistics.IDoubleSource;
+import org.apache.commons.collections4.keyvalue.MultiKey;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ *
+ * CLASS TO EVALUATE THE LINEAR INDEX (SCORE) OF A REGRESSION FROM A DENSE ARRAY OF COEFFICIENTS
+ *
+ * JAS-MINE REGRESSION OBJECTS RESOLVE THE NAME OF EACH REGRESSOR IN THEIR COEFFICIENT MAP TO AN ENUM CONSTANT ON
+ * EVERY EVALUATION. A COMPILED REGRESSION RESOLVES THE REGRESSORS ONCE, AND EVALUATES THE SCORE AS A DOT PRODUCT
+ * OVER THE COEFFICIENTS, IN THE ORDER IN WHICH THESE ARE STORED IN THE COEFFICIENT MAP
+ *
+ * THE COEFFICIENT MAP IS READ WHEN THE REGRESSION IS FIRST EVALUATED, AND AGAIN AFTER A CALL TO coefficientsModified,
+ * WHICH MUST FOLLOW ANY ADJUSTMENT TO THE COEFFICIENT MAP (SEE Parameters.coefficientsModified AND ActivityAlignment)
+ *
+ * EQUIVALENCE WITH THE JAS-MINE REGRESSION OBJECTS IS TESTED BY CompiledRegressionTest
+ *
+ */
+public class CompiledRegression<E extends Enum<E>> {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private final MultiKeyCoefficientMap coefficientMap;
+    private final Class<E> regressorType;
+    private final Set<String> excluded;                         // entries of coefficient map that are not regressors
+    private final String name;
+    private volatile Binding binding;                           // null until evaluated, and after coefficients modified
+
+
+    /**
+     * CONSTRUCTORS
+     * @param name label used for reporting
+     * @param coefficientMap regression coefficients (first value of each entry), keyed by regressor name
+     * @param regressorType enum of regressors evaluated by the IDoubleSource objects supplied to getScore
+     */
+    public CompiledRegression(String name, MultiKeyCoefficientMap coefficientMap, Class<E> regressorType) {
+        this(name, coefficientMap, regressorType, Collections.emptySet());
+    }
+    CompiledRegression(String name, MultiKeyCoefficientMap coefficientMap, Class<E> regressorType, Set<String> excluded) {
+        this.name = name;
+        this.coefficientMap = coefficientMap;
+        this.regressorType = regressorType;
+        this.excluded = excluded;
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO EVALUATE REGRESSION SCORE
+     * @param source object supplying regressor values
+     * @return sum of products of coefficients and regressor values
+     */
+    public double getScore(IDoubleSource source) {
+
+        Binding bb = getBinding();
+        double score = 0.0;
+        for (int ii=0; ii<bb.regressors.length; ii++) {
+            score += source.getDoubleValue(bb.regressors[ii]) * bb.coefficients[ii];
+        }
+        return score;
+    }
+
+    /**
+     * METHOD TO INVALIDATE COMPILED COEFFICIENTS, SO THAT THE COEFFICIENT MAP IS RE-READ ON NEXT EVALUATION
+     */
+    public void coefficientsModified() {
+        binding = null;
+    }
+
+    public MultiKeyCoefficientMap getCoefficientMap() {
+        return coefficientMap;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private Binding getBinding() {
+
+        Binding bb = binding;
+        if (bb == null) {
+            try {
+                bb = new Binding();
+            } catch (IllegalArgumentException | ClassCastException e) {
+                throw new RuntimeException("unable to compile regression " + name, e);
+            }
+            binding = bb;
+        }
+        return bb;
+    }
+
+
+    /**
+     * CLASS TO STORE COEFFICIENTS AND REGRESSORS READ FROM THE COEFFICIENT MAP
+     */
+    private final class Binding {
+
+        final double[] coefficients;
+        final E[] regressors;
+
+        @SuppressWarnings("unchecked")
+        Binding() {
+
+            List<E> regressorList = new ArrayList<>();
+            List<Double> coefficientList = new ArrayList<>();
+            for (Object key : coefficientMap.keySet()) {
+                String regressor = ((MultiKey<?>) key).getKey(0).toString();
+                if (excluded.contains(regressor))
+                    continue;
+                regressorList.add(Enum.valueOf(regressorType, regressor));
+                coefficientList.add(getCoefficient(coefficientMap, regressor));
+            }
+            regressors = regressorList.toArray((E[]) Array.newInstance(regressorType, 0));
+            coefficients = new double[coefficientList.size()];
+            for (int ii=0; ii<coefficients.length; ii++) {
+                coefficients[ii] = coefficientList.get(ii);
+            }
+        }
+    }
+
+    static double getCoefficient(MultiKeyCoefficientMap map, String regressor) {
+        Object value = map.getValue(regressor);
+        if (value instanceof Object[] values)
+            value = values[0];
+        return ((Number) value).doubleValue();
+    }
+}
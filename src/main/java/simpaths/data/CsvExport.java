@@ -0,0 +1,132 @@
+package simpaths.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ *
+ * CLASS TO EXPORT PANELS OF SIMULATED ENTITIES (PERSONS, BENEFIT UNITS, HOUSEHOLDS) AND STATISTICS TO .csv FILES
+ *
+ * FILES FOLLOW THE LAYOUT OF THE JAS-mine CSV EXPORT: ONE FILE PER ENTITY TYPE, NAMED BY THE SIMPLE NAME OF THE
+ * ENTITY CLASS, WITH COLUMNS run, time AND id_<entity> FOLLOWED BY THE PERSISTED FIELDS OF THE ENTITY (AS SELECTED
+ * FOR ColumnarExport). EACH CALL TO export APPENDS ONE ROW PER ENTITY
+ *
+ * AS FOR ColumnarExport, THE VALUES OF ALL COLUMNS ARE COPIED ON THE CALLING THREAD, AND ARE FORMATTED AND WRITTEN
+ * BY AN ExportQueue WHILE THE SIMULATION CONTINUES
+ *
+ */
+public class CsvExport<T> {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final String FILE_SUFFIX = ".csv";
+
+    private final Path file;
+    private final List<ColumnarExport.Column> columns;
+    private final int runColumn;                    // index of simulation run of entity key, or -1
+    private final List<Integer> rowColumns = new ArrayList<>();     // indices of columns written after time
+    private final BufferedWriter out;
+    private final ExportQueue queue;
+    private boolean closed;
+
+
+    /**
+     * CONSTRUCTORS
+     * @param entityClass class of entities exported
+     * @param directory directory of output file (file name is the simple name of entityClass)
+     * @param fields names of fields to export (all persisted fields if null or empty)
+     * @param queue queue used to write rows, which may be shared by several exports
+     */
+    public CsvExport(Class<T> entityClass, String directory, Collection<String> fields, ExportQueue queue) {
+
+        file = Paths.get(directory, entityClass.getSimpleName() + FILE_SUFFIX);
+        this.queue = queue;
+        try {
+            columns = ColumnarExport.resolveColumns(entityClass, fields);
+
+            int run = -1;
+            StringBuilder header = new StringBuilder("run,time");
+            for (int cc=0; cc<columns.size(); cc++) {
+                String name = columns.get(cc).name;
+                if (name.endsWith(".simulationRun")) {
+                    run = cc;
+                } else if (!name.endsWith(".simulationTime")) {
+                    rowColumns.add(cc);
+                    if (name.endsWith(".id"))
+                        header.append(",id_").append(entityClass.getSimpleName().toLowerCase());
+                    else
+                        header.append(',').append(name.replace('.', '_'));
+                }
+            }
+            runColumn = run;
+
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            out = Files.newBufferedWriter(file);
+            out.write(header.toString());
+            out.newLine();
+            out.flush();
+        } catch (IOException | IllegalAccessException e) {
+            throw new RuntimeException("Unable to create csv export " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO APPEND THE CURRENT STATE OF ENTITIES TO THE EXPORT
+     * @param entities entities to export, which are read on the calling thread only
+     * @param time simulated time of the rows
+     */
+    public void export(Collection<? extends T> entities, double time) {
+
+        if (closed)
+            throw new IllegalStateException("csv export " + file + " is closed");
+        Object[] rows = entities.toArray();
+        Object[] values = new Object[columns.size()];
+        boolean[][] nulls = new boolean[columns.size()][];
+        for (int cc=0; cc<columns.size(); cc++) {
+            nulls[cc] = columns.get(cc).nullable ? new boolean[rows.length] : null;
+            values[cc] = columns.get(cc).extract(rows, nulls[cc]);
+        }
+        queue.submit(() -> writeRows(time, rows.length, values, nulls));
+    }
+
+    /**
+     * METHOD TO QUEUE CLOSURE OF FILE, AFTER ALL ROWS QUEUED PREVIOUSLY (SEE ExportQueue.flush)
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            queue.submitClose(out::close);
+        }
+    }
+
+    private void writeRows(double time, int numberRows, Object[] values, boolean[][] nulls) throws IOException {
+
+        String timeCell = Double.toString(time);
+        StringBuilder line = new StringBuilder();
+        for (int ii=0; ii<numberRows; ii++) {
+            line.setLength(0);
+            line.append((runColumn < 0) ? "0" : columns.get(runColumn).format(values[runColumn], nulls[runColumn], ii));
+            line.append(',').append(timeCell);
+            for (int cc : rowColumns) {
+                line.append(',').append(columns.get(cc).format(values[cc], nulls[cc], ii));
+            }
+            out.write(line.toString());
+            out.newLine();
+        }
+        out.flush();
+    }
+}
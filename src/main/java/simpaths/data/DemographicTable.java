@@ -0,0 +1,90 @@
+package simpaths.data;
+
+import java.util.Arrays;
+
+
+/**
+ *
+ * CLASS TO STORE DEMOGRAPHIC PARAMETERS (E.G. MORTALITY PROBABILITIES, POPULATION PROJECTIONS) IN A DENSE ARRAY
+ *
+ * VALUES ARE INDEXED BY CATEGORY (E.G. GENDER, OR GENDER AND REGION, IDENTIFIED BY ENUM ORDINALS), AGE FROM 0 TO
+ * maxAge, AND YEAR FROM minYear TO maxYear. TABLES ARE COMPILED ONCE FROM THE COEFFICIENT MAPS LOADED FROM EXCEL
+ * (SEE Parameters.loadParameters), SO THAT LOOKUPS DURING THE SIMULATION DO NOT BUILD KEYS OR BOX VALUES. CELLS THAT
+ * ARE NOT DEFINED BY THE SOURCE MAP ARE STORED AS NaN
+ *
+ */
+public class DemographicTable {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private final int categories, maxAge, minYear, maxYear;
+    private final int ages, years;
+    private final double[] values;
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    private DemographicTable(int categories, int maxAge, int minYear, int maxYear) {
+        this.categories = categories;
+        this.maxAge = maxAge;
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+        ages = maxAge + 1;
+        years = maxYear - minYear + 1;
+        values = new double[categories * ages * years];
+        Arrays.fill(values, Double.NaN);
+    }
+
+    /**
+     * METHOD TO COMPILE TABLE FROM SOURCE
+     * @param categories number of categories
+     * @param maxAge maximum age stored
+     * @param minYear minimum year stored
+     * @param maxYear maximum year stored
+     * @param source source of values, returning null where undefined
+     */
+    public static DemographicTable compile(int categories, int maxAge, int minYear, int maxYear, Source source) {
+
+        DemographicTable table = new DemographicTable(categories, maxAge, minYear, maxYear);
+        for (int category=0; category<categories; category++) {
+            for (int age=0; age<=maxAge; age++) {
+                for (int year=minYear; year<=maxYear; year++) {
+                    Number value = source.get(category, age, year);
+                    if (value != null)
+                        table.values[table.index(category, age, year)] = value.doubleValue();
+                }
+            }
+        }
+        return table;
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO OBTAIN VALUE
+     * @return NaN if the value is undefined, or age or year are outside the bounds of the table
+     */
+    public double get(int category, int age, int year) {
+        if (category < 0 || category >= categories || age < 0 || age > maxAge || year < minYear || year > maxYear)
+            return Double.NaN;
+        return values[index(category, age, year)];
+    }
+
+    private int index(int category, int age, int year) {
+        return (category * ages + age) * years + (year - minYear);
+    }
+
+
+    /**
+     * INTERFACE FOR SOURCES OF VALUES
+     */
+    public interface Source {
+        Number get(int category, int age, int year);
+    }
+}
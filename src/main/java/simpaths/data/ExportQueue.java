@@ -0,0 +1,126 @@
+package simpaths.data;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+
+/**
+ *
+ * CLASS TO WRITE SIMULATED OUTPUT ON A BACKGROUND THREAD
+ *
+ * TASKS ARE EXECUTED IN THE ORDER SUBMITTED, ON A SINGLE THREAD. THE NUMBER OF TASKS QUEUED OR BEING EXECUTED IS
+ * BOUNDED BY THE CAPACITY OF THE QUEUE, AND submit WAITS FOR A TASK TO COMPLETE WHEN THE QUEUE IS FULL, SO THAT
+ * THE SIMULATION CANNOT RUN AHEAD OF THE OUTPUT BY MORE THAN capacity DUMPS. A CAPACITY OF 2 DOUBLE-BUFFERS OUTPUT:
+ * ONE DUMP IS WRITTEN WHILE THE NEXT IS PREPARED
+ *
+ * TASKS MUST NOT READ THE STATE OF THE SIMULATION (SEE ColumnarExport.export, WHICH SUBMITS A COPY OF EXPORTED VALUES).
+ * THE FIRST FAILURE OF A TASK IS REPORTED BY THE NEXT CALL TO submit OR flush, AND TASKS QUEUED BY submit ARE SKIPPED
+ * THEREAFTER. TASKS QUEUED BY submitClose (E.G. CLOSING FILES) ARE ALWAYS EXECUTED, SO THAT RESOURCES ARE RELEASED
+ * AFTER A FAILURE
+ *
+ */
+public class ExportQueue {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private final int capacity;
+    private final Semaphore permits;
+    private final ExecutorService writer;
+    private volatile Throwable failure;
+
+
+    /**
+     * CONSTRUCTORS
+     * @param capacity maximum number of tasks queued or being executed
+     */
+    public ExportQueue(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("export queue capacity must be at least 1");
+        this.capacity = capacity;
+        permits = new Semaphore(capacity);
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ExportQueue");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO QUEUE TASK, WAITING WHILE THE QUEUE IS FULL
+     */
+    public void submit(Task task) {
+        checkFailure();
+        queue(task, false);
+    }
+
+    /**
+     * METHOD TO QUEUE TASK THAT RELEASES RESOURCES, WAITING WHILE THE QUEUE IS FULL
+     * the task is executed even where an earlier task has failed, and that failure is reported by flush rather than here
+     */
+    public void submitClose(Task task) {
+        queue(task, true);
+    }
+
+    private void queue(Task task, boolean always) {
+
+        permits.acquireUninterruptibly();
+        try {
+            writer.execute(() -> {
+                try {
+                    if (always || failure == null)
+                        task.execute();
+                } catch (Throwable e) {
+                    if (failure == null)
+                        failure = e;
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * METHOD TO WAIT UNTIL ALL QUEUED TASKS HAVE COMPLETED
+     */
+    public void flush() {
+        permits.acquireUninterruptibly(capacity);
+        permits.release(capacity);
+        checkFailure();
+    }
+
+    /**
+     * METHOD TO COMPLETE QUEUED TASKS AND STOP BACKGROUND THREAD
+     */
+    public void shutdown() {
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null)
+            throw new RuntimeException("Failed to write output: " + failure.getMessage(), failure);
+    }
+
+
+    /**
+     * INTERFACE FOR TASKS
+     */
+    public interface Task {
+        void execute() throws IOException;
+    }
+}
@@ -0,0 +1,179 @@
+package simpaths.data;
+
+import simpaths.model.AgentStore;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ *
+ * CLASS TO REPORT MEASURED HEAP FOOTPRINT OF SIMULATED AGENTS
+ *
+ * THE FOOTPRINT OF AN AGENT OBJECT IS ITS SHALLOW SIZE PLUS THE BOXED VALUES HELD IN ITS FIELDS, MEASURED OVER THE
+ * AGENTS REPORTED. WHERE THE SIMULATION-TIME STATE OF AGENTS IS HELD IN AN AgentStore, THE REPORT COMPARES THE LAYOUT
+ * BEFORE THE STATE WAS MOVED TO THE STORE (ONE FIELD PER COLUMN OF THE STORE, HOLDING A BOXED VALUE FOR EACH NUMBER SET
+ * IN THE STORE, AND ONE OBJECT OF EACH CLASS OF STATE FORMERLY OWNED BY AN AGENT) WITH THE LAYOUT AFTER (THE AGENT
+ * OBJECTS PLUS THE ARRAYS ALLOCATED BY THE STORE). SIZES ASSUME A 64-BIT JVM WITH COMPRESSED REFERENCES (12 BYTE
+ * OBJECT HEADERS, 16 BYTE ARRAY HEADERS, 4 BYTE REFERENCES, 8 BYTE ALIGNMENT). BOXED VALUES CACHED BY THE JVM ARE
+ * SHARED BETWEEN AGENTS AND ARE NOT COUNTED; OTHER OBJECTS REFERENCED BY AGENTS ARE COUNTED BY REFERENCE ONLY
+ *
+ */
+public class HeapFootprint {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+    private static final int BOXED = 16;
+    private static final int PAGE = align(HEADER + 5 * REFERENCE) + 5 * ARRAY_HEADER;     // page object of AgentStore and its array headers
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO DESCRIBE MEASURED FOOTPRINT OF AGENTS
+     * @param type class of agents
+     * @param agents agents to evaluate
+     * @return report for printing
+     */
+    public static String report(Class<?> type, Collection<?> agents) {
+
+        long count = agents.size();
+        double perAgent = objectBytes(type, agents);
+        return String.format("Heap footprint of %d %s objects: %.0f bytes per agent, %.1f MB in total",
+                count, type.getSimpleName(), perAgent, perAgent * count / 1.0E6);
+    }
+
+    /**
+     * METHOD TO COMPARE MEASURED FOOTPRINT OF AGENTS BEFORE AND AFTER MOVING THEIR SIMULATION-TIME STATE TO A STORE
+     * @param type class of agents
+     * @param agents agents to evaluate
+     * @param store store holding the simulation-time state of the agents
+     * @param formerlyOwned classes of objects owned by each agent before its state was moved to the store
+     * @return report for printing
+     */
+    public static String report(Class<?> type, Collection<?> agents, AgentStore store, Class<?>... formerlyOwned) {
+
+        long count = agents.size();
+        long slots = store.getNumberSlotsAllocated();
+        double object = objectBytes(type, agents);
+        int columns = store.getNumberDoubleColumns() + store.getNumberIntColumns() + store.getNumberLongColumns() +
+                store.getNumberByteColumns();
+
+        // before: one reference field per column in place of the reference to the store and the slot, with boxed values
+        // for the numbers set, and the objects formerly owned
+        int shallowBefore = shallowSize(type) - REFERENCE - 4 + (columns + formerlyOwned.length) * REFERENCE;
+        double before = object - shallowSize(type) + align(shallowBefore);
+        for (Class<?> owned : formerlyOwned) {
+            before += shallowSize(owned);
+        }
+        if (slots > 0)
+            before += (double) store.countBoxedValues() * BOXED / slots;
+
+        // after: agent objects plus the arrays of the store, shared by the slots allocated
+        long[] lengths = store.getArrayLengths();
+        long storeBytes = 8 * lengths[8] + 4 * lengths[4] + lengths[1] + (long) store.getNumberPages() * PAGE;
+        double after = object + ((slots > 0) ? (double) storeBytes / slots : 0.0);
+
+        return String.format("Heap footprint of %d %s objects (%d columns in agent store, %d slots allocated):%n" +
+                        "    before agent store: %.0f bytes per agent, %.1f MB in total%n" +
+                        "    with agent store:   %.0f bytes per agent (%.0f object, %.0f store), %.1f MB in total (%.0f%% of before)",
+                count, type.getSimpleName(), columns, slots,
+                before, before * count / 1.0E6,
+                after, object, after - object, after * count / 1.0E6, (before > 0.0) ? 100.0 * after / before : 0.0);
+    }
+
+    /**
+     * @return shallow size of agent objects plus boxed values held in their fields, per agent
+     */
+    private static double objectBytes(Class<?> type, Collection<?> agents) {
+
+        List<Field> fields = instanceFields(type);
+        long boxedBytes = 0;
+        for (Object agent : agents) {
+            for (Field field : fields) {
+                if (unboxed(field.getType()) != null)
+                    boxedBytes += boxedSize(get(field, agent));
+            }
+        }
+        return shallowSize(type) + ((agents.isEmpty()) ? 0.0 : (double) boxedBytes / agents.size());
+    }
+
+    private static int shallowSize(Class<?> type) {
+
+        int bytes = HEADER;
+        for (Field field : instanceFields(type)) {
+            bytes += field.getType().isPrimitive() ? width(field.getType()) : REFERENCE;
+        }
+        return align(bytes);
+    }
+
+    private static List<Field> instanceFields(Class<?> type) {
+
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> cls = type; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static Object get(Field field, Object agent) {
+        try {
+            return field.get(agent);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("failed to access field " + field.getName() + " to report heap footprint", e);
+        }
+    }
+
+    private static Class<?> unboxed(Class<?> type) {
+        if (type == Double.class) return double.class;
+        if (type == Integer.class) return int.class;
+        if (type == Long.class) return long.class;
+        if (type == Boolean.class) return boolean.class;
+        if (type == Float.class) return float.class;
+        if (type == Short.class) return short.class;
+        if (type == Byte.class) return byte.class;
+        if (type == Character.class) return char.class;
+        return null;
+    }
+
+    private static int width(Class<?> type) {
+        if (type == double.class || type == long.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        return 1;
+    }
+
+    private static int boxedSize(Object value) {
+
+        // values cached by the JVM are shared between agents
+        if (value == null || value instanceof Boolean || value instanceof Byte)
+            return 0;
+        if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            long number = ((Number) value).longValue();
+            return (number >= -128 && number <= 127) ? 0 : BOXED;
+        }
+        if (value instanceof Character)
+            return ((Character) value <= 127) ? 0 : BOXED;
+        return BOXED;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -43,6 +43,20 @@ public class MahalanobisDistance {
         meanVector = calculateColumnMeans(matrix);
     }
 
+    // Restore from statistics obtained from a prior instance (see DonorPoolSnapshot)
+    public MahalanobisDistance(double[] mean, double[][] covarianceInverse) {
+        this.covarianceInverse = new Array2DRowRealMatrix(covarianceInverse);
+        meanVector = MatrixUtils.createRealVector(mean);
+    }
+
+    public double[] getMean() {
+        return meanVector.toArray();
+    }
+
+    public double[][] getCovarianceInverse() {
+        return covarianceInverse.getData();
+    }
+
     public double getMahalanobisDistance(double[] pointToEvaluate) {
         // Point for which Mahalanobis distance should be calculated
         RealVector dataPoint = MatrixUtils.createRealVector(pointToEvaluate);
@@ -20,6 +20,9 @@ import java.util.*;
  *
  * CLASS TO MANAGE EVALUATION OF SUPPLEMENTARY DATA FOR INTERACTING WITH JAS-MINE REGRESSION METHODS
  *
+ * SCORES AND PROBABILITIES ARE EVALUATED FROM THE COMPILED REGRESSIONS HELD BY Parameters (SEE CompiledRegression)
+ * WHERE THESE EXIST, AND OTHERWISE FROM THE JAS-MINE REGRESSION OBJECTS
+ *
  */
 public class ManagerRegressions {
 
@@ -153,6 +156,14 @@ public class ManagerRegressions {
 
     public static double getScore(IDoubleSource person, RegressionName regression) {
 
+        CompiledRegression<Person.DoublesVariables> compiled = getCompiledRegression(regression);
+        if (compiled != null)
+            return compiled.getScore(person);
+        return getReferenceScore(person, regression);
+    }
+
+    private static double getReferenceScore(IDoubleSource person, RegressionName regression) {
+
         if (RegressionType.Linear.equals(regression.getType())) {
 
             return getLinearRegression(regression).getScore(person, Person.DoublesVariables.class);
@@ -205,7 +216,10 @@ public class ManagerRegressions {
 
     public static double getProbability(IDoubleSource person, RegressionName regression) {
 
-        double probability = getProbitRegression(regression).getProbability(person, Person.DoublesVariables.class);
+        ProbitRegression probit = getProbitRegression(regression);
+        CompiledRegression<Person.DoublesVariables> compiled = getCompiledRegression(regression);
+        double probability = (compiled != null) ? probit.getProbability(compiled.getScore(person)) :
+                probit.getProbability(person, Person.DoublesVariables.class);
         if (probability > 1.0 || probability < 0.0) {
             throw new InvalidParameterException("Problem evaluating probability from probit regression equation");
         }
@@ -221,8 +235,17 @@ public class ManagerRegressions {
         return probability;
     }
 
+    @SuppressWarnings("unchecked")
     public static <E extends Enum<E> & IntegerValuedEnum> Map<E, Double> getMultinomialProbabilities(IDoubleSource obj, RegressionName regression) {
 
+        CompiledMultinomialRegression<?, Person.DoublesVariables> compiled = getCompiledMultinomialRegression(regression);
+        if (compiled != null)
+            return (Map<E, Double>) compiled.getProbabilities(obj);
+        return getReferenceMultinomialProbabilities(obj, regression);
+    }
+
+    private static <E extends Enum<E> & IntegerValuedEnum> Map<E, Double> getReferenceMultinomialProbabilities(IDoubleSource obj, RegressionName regression) {
+
         if (RegressionType.OrderedProbit.equals(regression.getType())) {
             return getOrderedProbitRegression(regression).getProbabilities(obj, Person.DoublesVariables.class);
         } else if (RegressionType.MultinomialLogit.equals(regression.getType())) {
@@ -231,6 +254,104 @@ public class ManagerRegressions {
             throw new InvalidParameterException("Probability requested for unrecognised multinomial regression equation");
     }
 
+    /**
+     * METHOD TO OBTAIN COMPILED FORM OF A LINEAR OR PROBIT REGRESSION
+     * @return null if regression is not compiled, in which case the JAS-mine regression object is evaluated
+     */
+    private static CompiledRegression<Person.DoublesVariables> getCompiledRegression(RegressionName regression) {
+
+        switch (regression) {
+            case EducationE1a -> {
+                return Parameters.getCompiledEducationE1a();
+            }
+            case EducationE1b -> {
+                return Parameters.getCompiledEducationE1b();
+            }
+            case HealthH2b -> {
+                return Parameters.getCompiledHealthH2b();
+            }
+            case UnemploymentU1a -> {
+                return Parameters.getCompiledUnemploymentMaleGraduateU1a();
+            }
+            case UnemploymentU1b -> {
+                return Parameters.getCompiledUnemploymentMaleNonGraduateU1b();
+            }
+            case UnemploymentU1c -> {
+                return Parameters.getCompiledUnemploymentFemaleGraduateU1c();
+            }
+            case UnemploymentU1d -> {
+                return Parameters.getCompiledUnemploymentFemaleNonGraduateU1d();
+            }
+            case SocialCareS2a -> {
+                return Parameters.getCompiledNeedCareS2a();
+            }
+            case SocialCareS2b -> {
+                return Parameters.getCompiledReceiveCareS2b();
+            }
+            case SocialCareS3c -> {
+                return Parameters.getCompiledNoPartnerProvCareToOtherS3c();
+            }
+            case PartnershipU1a -> {
+                return Parameters.getCompiledPartnershipU1a();
+            }
+            case PartnershipU1b -> {
+                return Parameters.getCompiledPartnershipU1b();
+            }
+            case PartnershipU2b -> {
+                return Parameters.getCompiledPartnershipU2b();
+            }
+            case FertilityF1a -> {
+                return Parameters.getCompiledFertilityF1a();
+            }
+            case FertilityF1b -> {
+                return Parameters.getCompiledFertilityF1b();
+            }
+            case WagesMalesE -> {
+                return Parameters.getCompiledWagesMalesE();
+            }
+            case WagesMalesNE -> {
+                return Parameters.getCompiledWagesMalesNE();
+            }
+            case WagesFemalesE -> {
+                return Parameters.getCompiledWagesFemalesE();
+            }
+            case WagesFemalesNE -> {
+                return Parameters.getCompiledWagesFemalesNE();
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * METHOD TO OBTAIN COMPILED FORM OF AN ORDERED PROBIT OR MULTINOMIAL LOGIT REGRESSION
+     * @return null if regression is not compiled, in which case the JAS-mine regression object is evaluated
+     */
+    private static CompiledMultinomialRegression<?, Person.DoublesVariables> getCompiledMultinomialRegression(RegressionName regression) {
+
+        switch (regression) {
+            case HealthH1a -> {
+                return Parameters.getCompiledHealthH1a();
+            }
+            case HealthH1b -> {
+                return Parameters.getCompiledHealthH1b();
+            }
+            case EducationE2a -> {
+                return Parameters.getCompiledEducationE2a();
+            }
+            case SocialCareS2c -> {
+                return Parameters.getCompiledSocialCareMarketS2c();
+            }
+            case SocialCareS3d -> {
+                return Parameters.getCompiledInformalCareToS3d();
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
     public static double getRegressionCoeff(Enum<?> regression, String coeff) {
         Object oo = getRegressionCoeffObject(regression, coeff, false);
         if (oo instanceof Double) {
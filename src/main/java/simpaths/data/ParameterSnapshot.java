@@ -0,0 +1,359 @@
+package simpaths.data;
+
+import microsim.data.MultiKeyCoefficientMap;
+import org.apache.commons.collections4.keyvalue.MultiKey;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ *
+ * CLASS TO MANAGE A BINARY SNAPSHOT OF THE COEFFICIENT MAPS LOADED FROM EXCEL WORKBOOKS BY Parameters
+ *
+ * EXCEL WORKBOOKS REMAIN THE FORMAT USED TO AUTHOR MODEL PARAMETERS. EACH SHEET LOADED FROM A WORKBOOK IS
+ * RECORDED IN THE SNAPSHOT TOGETHER WITH THE SHA-256 HASH OF THE WORKBOOK CONTENTS, SO THAT SUBSEQUENT LOADS CAN BE
+ * RESTORED WITHOUT PARSING THE WORKBOOK. AN ENTRY IS ONLY USED WHILE ITS SOURCE WORKBOOK HAS THE SAME HASH: ALL
+ * ENTRIES FROM A WORKBOOK WITH A DIFFERENT HASH ARE DISCARDED
+ *
+ * MAPS ARE STORED IN AN EXPLICIT FORMAT (KEY AND VALUE NAMES, FOLLOWED BY TYPED KEYS AND VALUES), RATHER THAN BY
+ * JAVA SERIALISATION, SO THAT SNAPSHOTS DO NOT DEPEND ON THE INTERNAL STRUCTURE OF MultiKeyCoefficientMap. SHEETS
+ * WITH KEYS OR VALUES OF OTHER TYPES ARE NOT RECORDED, AND CONTINUE TO BE LOADED FROM EXCEL. A NEW MAP IS RETURNED
+ * FOR EVERY REQUEST, SO THAT ADJUSTMENTS MADE TO LOADED MAPS (E.G. REBASING OF TIME SERIES INDICES) DO NOT AFFECT THE
+ * SNAPSHOT OR SUBSEQUENT MODEL BUILDS
+ *
+ */
+public class ParameterSnapshot {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final String FILE_NAME = "parameters.snapshot";
+    private static final int MAGIC = 0x53505053;    // "SPPS"
+    private static final int VERSION = 2;
+
+    // type tags for keys and values
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte ARRAY = 6;
+
+    private final Path path;
+    private final Map<String, String> sources = new HashMap<>();          // content hashes of source workbooks, keyed by file name
+    private final Map<String, Entry> entries = new LinkedHashMap<>();     // coefficient maps, keyed by workbook, sheet and columns
+    private boolean modified = false;
+    private int restored, parsed;
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    private ParameterSnapshot(Path path) {
+        this.path = path;
+    }
+
+
+    /**
+     * METHOD TO OPEN SNAPSHOT, RETURNING AN EMPTY SNAPSHOT IF NONE IS AVAILABLE OR IT CANNOT BE READ
+     * @param path location of snapshot file
+     */
+    public static ParameterSnapshot open(Path path) {
+
+        ParameterSnapshot snapshot = new ParameterSnapshot(path);
+        if (!Files.exists(path))
+            return snapshot;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path), 1 << 16)))) {
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                return snapshot;
+            int numberOfSources = in.readInt();
+            for (int ii=0; ii<numberOfSources; ii++) {
+                String hash = in.readUTF();
+                snapshot.sources.put(in.readUTF(), hash);
+            }
+            int numberOfEntries = in.readInt();
+            for (int ii=0; ii<numberOfEntries; ii++) {
+                String key = in.readUTF();
+                String file = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                snapshot.entries.put(key, new Entry(file, bytes));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Unable to read parameter snapshot " + path + " (" + e.getMessage() + "); parameters will be loaded from Excel");
+            snapshot.sources.clear();
+            snapshot.entries.clear();
+        }
+        return snapshot;
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO START A NEW PARAMETER LOAD
+     */
+    public synchronized void beginLoad() {
+        restored = 0;
+        parsed = 0;
+    }
+
+    /**
+     * METHOD TO OBTAIN COEFFICIENT MAP FROM SNAPSHOT
+     * @param hash content hash of workbook (see contentHash)
+     * @return copy of map stored in snapshot, or null if no valid entry is available
+     */
+    public synchronized MultiKeyCoefficientMap get(String file, String hash, String sheet, int keyColumns, int valueColumns) {
+
+        checkSource(file, hash);
+        Entry entry = entries.get(key(file, sheet, keyColumns, valueColumns));
+        if (entry == null)
+            return null;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry.bytes))) {
+            MultiKeyCoefficientMap map = readMap(in);
+            restored++;
+            return map;
+        } catch (IOException | RuntimeException e) {
+            entries.remove(key(file, sheet, keyColumns, valueColumns));
+            modified = true;
+            return null;
+        }
+    }
+
+    /**
+     * METHOD TO RECORD COEFFICIENT MAP LOADED FROM EXCEL
+     * Must be called before the map is adjusted
+     * @param hash content hash of workbook (see contentHash)
+     */
+    public synchronized void put(String file, String hash, String sheet, int keyColumns, int valueColumns, MultiKeyCoefficientMap map) {
+
+        parsed++;
+        if (map == null)
+            return;
+        checkSource(file, hash);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                writeMap(out, map);
+            }
+            entries.put(key(file, sheet, keyColumns, valueColumns), new Entry(file, bytes.toByteArray()));
+            modified = true;
+        } catch (IOException e) {
+            // map cannot be recorded - it will continue to be loaded from Excel
+            System.out.println("Unable to add sheet " + sheet + " of " + file + " to parameter snapshot (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * METHOD TO SAVE SNAPSHOT IF ANY ENTRIES HAVE BEEN ADDED OR DISCARDED SINCE IT WAS OPENED
+     */
+    public synchronized void saveIfModified() {
+
+        if (restored + parsed > 0)
+            System.out.println("Coefficient maps restored from parameter snapshot: " + restored + "; loaded from Excel: " + parsed);
+        if (!modified)
+            return;
+        Path temp = Paths.get(path + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(sources.size());
+                for (Map.Entry<String, String> source : sources.entrySet()) {
+                    out.writeUTF(source.getValue());
+                    out.writeUTF(source.getKey());
+                }
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue().file);
+                    out.writeInt(entry.getValue().bytes.length);
+                    out.write(entry.getValue().bytes);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            // snapshot is an optimisation only - report and continue
+            System.out.println("Unable to save parameter snapshot " + path + " (" + e.getMessage() + ")");
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ee) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * METHOD TO EVALUATE THE SHA-256 HASH OF A FILE'S CONTENTS
+     * @return hash in hexadecimal form
+     */
+    public static String contentHash(Path source) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(source))) {
+                byte[] buffer = new byte[1 << 16];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * METHOD TO DISCARD ALL ENTRIES RECORDED FOR A WORKBOOK IF ITS CONTENTS HAVE CHANGED
+     */
+    private void checkSource(String file, String hash) {
+
+        String recorded = sources.get(file);
+        if (hash.equals(recorded))
+            return;
+        if (recorded != null)
+            entries.values().removeIf(entry -> entry.file.equals(file));
+        sources.put(file, hash);
+        modified = true;
+    }
+
+    private static String key(String file, String sheet, int keyColumns, int valueColumns) {
+        return file + "|" + sheet + "|" + keyColumns + "|" + valueColumns;
+    }
+
+
+    /**
+     * METHODS TO WRITE AND READ COEFFICIENT MAPS
+     */
+    static void writeMap(DataOutputStream out, MultiKeyCoefficientMap map) throws IOException {
+
+        writeNames(out, map.getKeysNames());
+        writeNames(out, map.getValuesNames());
+        out.writeInt(map.size());
+        for (Object key : map.keySet()) {
+            MultiKey<?> multiKey = (MultiKey<?>) key;
+            out.writeInt(multiKey.size());
+            for (int ii=0; ii<multiKey.size(); ii++) {
+                writeObject(out, multiKey.getKey(ii), false);
+            }
+            writeObject(out, map.get(multiKey), true);
+        }
+    }
+
+    static MultiKeyCoefficientMap readMap(DataInputStream in) throws IOException {
+
+        MultiKeyCoefficientMap map = new MultiKeyCoefficientMap(readNames(in), readNames(in));
+        int size = in.readInt();
+        for (int ii=0; ii<size; ii++) {
+            Object[] keys = new Object[in.readInt()];
+            for (int jj=0; jj<keys.length; jj++) {
+                keys[jj] = readObject(in);
+            }
+            map.put(new MultiKey<>(keys), readObject(in));
+        }
+        return map;
+    }
+
+    private static void writeNames(DataOutputStream out, String[] names) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+
+    private static String[] readNames(DataInputStream in) throws IOException {
+        String[] names = new String[in.readInt()];
+        for (int ii=0; ii<names.length; ii++) {
+            names[ii] = in.readUTF();
+        }
+        return names;
+    }
+
+    private static void writeObject(DataOutputStream out, Object value, boolean allowArray) throws IOException {
+
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            out.writeUTF(string);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(INTEGER);
+            out.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(doubleValue);
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else if (allowArray && value instanceof Object[] array) {
+            out.writeByte(ARRAY);
+            out.writeInt(array.length);
+            for (Object element : array) {
+                writeObject(out, element, false);
+            }
+        } else {
+            throw new IOException("unsupported type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readObject(DataInputStream in) throws IOException {
+
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return in.readUTF();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case ARRAY:
+                Object[] array = new Object[in.readInt()];
+                for (int ii=0; ii<array.length; ii++) {
+                    array[ii] = readObject(in);
+                }
+                return array;
+            default:
+                throw new IOException("unrecognised type " + type);
+        }
+    }
+
+
+    /**
+     * CLASS TO STORE SNAPSHOT CONTENTS
+     */
+    private static final class Entry {
+        private final String file;
+        private final byte[] bytes;
+        Entry(String file, byte[] bytes) {
+            this.file = file;
+            this.bytes = bytes;
+        }
+    }
+}
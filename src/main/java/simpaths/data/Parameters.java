@@ -4,12 +4,19 @@ package simpaths.data;
 // import Java packages
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 // import plug-in packages
 import simpaths.data.startingpop.DataParser;
 import simpaths.model.AnnuityRates;
+import simpaths.model.BenefitUnit;
+import simpaths.model.Person;
+import simpaths.model.RunScope;
 import simpaths.model.enums.*;
 import org.apache.commons.collections4.keyvalue.MultiKey;
 import org.apache.commons.collections4.map.LinkedMap;
@@ -25,6 +32,7 @@ import microsim.data.MultiKeyCoefficientMap;
 import microsim.statistics.regression.*;
 
 // import LABOURsim packages
+import simpaths.model.taxes.DonorPoolIndex;
 import simpaths.model.taxes.DonorTaxUnit;
 import simpaths.model.decisions.Grids;
 import simpaths.model.taxes.MatchFeature;
@@ -156,6 +164,7 @@ public class Parameters {
     private static Map<MatchFeature, Map<Integer, Integer>> taxdbCounter = new HashMap<MatchFeature, Map<Integer, Integer>>();			// records, for each of the three donor keys (first Integer), the increments (second Integer) associated with one unit change in characteristic (String).  The properties of taxdbCounter are specific to the KeyFunction used (and are populated by the associated function)
     private static List<DonorTaxUnit> donorPool;													// list of donors for tax imputation, in ascending order by private (original) income
     private static Map<Triple<Integer,Integer,Integer>,List<Integer>> taxdbReferences = new HashMap<>();	    // for Triple <system year, matching regime, regime index> returns a list of indices to donorPool that describes members of grouping, in ascending order by private income
+    private static DonorPoolIndex donorPoolIndex;                                                    // columnar index of donor characteristics by taxdbReferences key, used for tax imputations
     private static MahalanobisDistance mdDualIncome;
     private static MahalanobisDistance mdChildcare;
     private static MahalanobisDistance mdDualIncomeChildcare;
@@ -260,6 +269,7 @@ public class Parameters {
     private static final int MAX_START_YEAR = 2021; //Maximum allowed starting point. Should correspond to the most recent initial population.
     public static int startYear;
     public static int endYear;
+    private static Country country;     // country for which parameters were last loaded
     private static final int MIN_START_YEAR_TRAINING = 2019;
     private static final int MAX_START_YEAR_TRAINING = 2019; //Maximum allowed starting point. Should correspond to the most recent initial population.
     public static final int MIN_AGE_MATERNITY = 18;  			// Min age a person can give birth
@@ -291,6 +301,9 @@ public class Parameters {
     public static final String WORKING_DIRECTORY = System.getProperty("user.dir");
     public static final String INPUT_DIRECTORY = WORKING_DIRECTORY + File.separator + "input" + File.separator;
     public static boolean trainingFlag = false;
+    public static boolean useParameterSnapshot = true;     // restore coefficient maps from binary snapshot of Excel workbooks where these are unchanged
+    private static ParameterSnapshot parameterSnapshot;
+    private static final Map<String, String> workbookHashes = new TreeMap<>();     // content hashes of workbooks loaded, keyed by file name
     public static final String INPUT_DIRECTORY_INITIAL_POPULATIONS = INPUT_DIRECTORY + "InitialPopulations" + File.separator; //Path to directory containing initial population for each year
     public static final String EUROMOD_OUTPUT_DIRECTORY = INPUT_DIRECTORY + "EUROMODoutput" + File.separator;
     public static final String EUROMOD_TRAINING_DIRECTORY = EUROMOD_OUTPUT_DIRECTORY + "training" + File.separator;
@@ -337,6 +350,8 @@ public class Parameters {
     private static int populationProjectionsMaxYear;
     private static int populationProjectionsMinYear;
     private static int populationProjectionsMaxAge;
+    private static DemographicTable populationProjectionsTable;      // populationProjections, indexed by gender and region
+    private static final int NUMBER_REGIONS = Region.values().length;
     private static MultiKeyCoefficientMap benefitUnitVariableNames;
 
     //RMSE for linear regressions
@@ -384,6 +399,19 @@ public class Parameters {
     private static int mortalityProbabilityMaxYear;
     private static int mortalityProbabilityMinYear;
     private static int mortalityProbabilityMaxAge;
+    private static DemographicTable mortalityProbabilityTable;       // mortalityProbabilityByGenderAgeYear, indexed by gender
+    private static final Set<TimeSeriesVariable> TIME_SERIES_BY_GENDER = EnumSet.of(TimeSeriesVariable.FixedRetirementAge,
+            TimeSeriesVariable.HighEducationRate, TimeSeriesVariable.LowEducationRate);   // series with values by gender (stringKey1)
+    private static final Set<TimeSeriesVariable> TIME_SERIES_WITHOUT_TABLES = EnumSet.of(TimeSeriesVariable.EmploymentAlignment);  // series with two string keys
+    private static final Gender[] TIME_SERIES_GENDERS = Gender.values();
+    private static final TimeSeriesTable[][] timeSeriesTables = new TimeSeriesTable[TimeSeriesVariable.values().length][1 + TIME_SERIES_GENDERS.length];   // by ordinal of series, and 0 or 1 + ordinal of gender
+    static {
+        for (TimeSeriesTable[] tables : timeSeriesTables) {
+            for (int ii=0; ii<tables.length; ii++) {
+                tables[ii] = new TimeSeriesTable();
+            }
+        }
+    }
     private static MultiKeyCoefficientMap fertilityProjectionsByYear; //NB: these currently only go up to 2043
     public static int fertilityProjectionsMaxYear;
     public static int fertilityProjectionsMinYear;
@@ -731,6 +759,65 @@ public class Parameters {
     private static LinearRegression regLabourSupplyUtilityACFemales;
     private static LinearRegression regLabourSupplyUtilityCouples;
 
+    // compiled forms of labour supply utility regressions, evaluated for every labour supply option of every benefit unit
+    private static CompiledRegression<BenefitUnit.Regressors> compiledLabourSupplyUtilityMales;
+    private static CompiledRegression<BenefitUnit.Regressors> compiledLabourSupplyUtilityFemales;
+    private static CompiledRegression<BenefitUnit.Regressors> compiledLabourSupplyUtilityMalesWithDependent;
+    private static CompiledRegression<BenefitUnit.Regressors> compiledLabourSupplyUtilityFemalesWithDependent;
+    private static CompiledRegression<BenefitUnit.Regressors> compiledLabourSupplyUtilityACMales;
+    private static CompiledRegression<BenefitUnit.Regressors> compiledLabourSupplyUtilityACFemales;
+    private static CompiledRegression<BenefitUnit.Regressors> compiledLabourSupplyUtilityCouples;
+
+    // compiled forms of regressions evaluated for persons (see CompiledRegression), re-compiled whenever parameters are loaded
+    private static List<CompiledRegression<?>> compiledRegressions = new ArrayList<>();    // all compiled regressions, for invalidation
+    private static List<CompiledMultinomialRegression<?,?>> compiledMultinomialRegressions = new ArrayList<>();
+    private static CompiledRegression<Person.DoublesVariables> compiledHealthH2b;
+    private static CompiledRegression<Person.DoublesVariables> compiledReceiveCareS1a;
+    private static CompiledRegression<Person.DoublesVariables> compiledCareHoursS1b;
+    private static CompiledRegression<Person.DoublesVariables> compiledNeedCareS2a;
+    private static CompiledRegression<Person.DoublesVariables> compiledReceiveCareS2b;
+    private static CompiledRegression<Person.DoublesVariables> compiledReceiveCarePartnerS2d;
+    private static CompiledRegression<Person.DoublesVariables> compiledPartnerCareHoursS2g;
+    private static CompiledRegression<Person.DoublesVariables> compiledDaughterCareHoursS2h;
+    private static CompiledRegression<Person.DoublesVariables> compiledSonCareHoursS2i;
+    private static CompiledRegression<Person.DoublesVariables> compiledOtherCareHoursS2j;
+    private static CompiledRegression<Person.DoublesVariables> compiledFormalCareHoursS2k;
+    private static CompiledRegression<Person.DoublesVariables> compiledCarePartnerProvCareToOtherS3a;
+    private static CompiledRegression<Person.DoublesVariables> compiledNoCarePartnerProvCareToOtherS3b;
+    private static CompiledRegression<Person.DoublesVariables> compiledNoPartnerProvCareToOtherS3c;
+    private static CompiledRegression<Person.DoublesVariables> compiledCareHoursProvS3e;
+    private static CompiledRegression<Person.DoublesVariables> compiledUnemploymentMaleGraduateU1a;
+    private static CompiledRegression<Person.DoublesVariables> compiledUnemploymentMaleNonGraduateU1b;
+    private static CompiledRegression<Person.DoublesVariables> compiledUnemploymentFemaleGraduateU1c;
+    private static CompiledRegression<Person.DoublesVariables> compiledUnemploymentFemaleNonGraduateU1d;
+    private static CompiledRegression<Person.DoublesVariables> compiledHealthHM1Level;
+    private static CompiledRegression<Person.DoublesVariables> compiledHealthHM2LevelMales;
+    private static CompiledRegression<Person.DoublesVariables> compiledHealthHM2LevelFemales;
+    private static CompiledRegression<Person.DoublesVariables> compiledHealthHM1Case;
+    private static CompiledRegression<Person.DoublesVariables> compiledHealthHM2CaseMales;
+    private static CompiledRegression<Person.DoublesVariables> compiledHealthHM2CaseFemales;
+    private static CompiledRegression<Person.DoublesVariables> compiledEducationE1a;
+    private static CompiledRegression<Person.DoublesVariables> compiledEducationE1b;
+    private static CompiledRegression<Person.DoublesVariables> compiledPartnershipU1a;
+    private static CompiledRegression<Person.DoublesVariables> compiledPartnershipU1b;
+    private static CompiledRegression<Person.DoublesVariables> compiledPartnershipU2b;
+    private static CompiledRegression<Person.DoublesVariables> compiledFertilityF1a;
+    private static CompiledRegression<Person.DoublesVariables> compiledFertilityF1b;
+    private static CompiledRegression<Person.DoublesVariables> compiledWagesMalesE;
+    private static CompiledRegression<Person.DoublesVariables> compiledWagesMalesNE;
+    private static CompiledRegression<Person.DoublesVariables> compiledWagesFemalesE;
+    private static CompiledRegression<Person.DoublesVariables> compiledWagesFemalesNE;
+    private static CompiledRegression<Person.DoublesVariables> compiledLeaveHomeP1a;
+    private static CompiledRegression<Person.DoublesVariables> compiledRetirementR1a;
+    private static CompiledRegression<Person.DoublesVariables> compiledRetirementR1b;
+    private static CompiledMultinomialRegression<Dhe, Person.DoublesVariables> compiledHealthH1a;
+    private static CompiledMultinomialRegression<Dhe, Person.DoublesVariables> compiledHealthH1b;
+    private static CompiledMultinomialRegression<Education, Person.DoublesVariables> compiledEducationE2a;
+    private static CompiledMultinomialRegression<SocialCareReceiptS2c, Person.DoublesVariables> compiledSocialCareMarketS2c;
+    private static CompiledMultinomialRegression<PartnerSupplementaryCarer, Person.DoublesVariables> compiledPartnerSupplementaryCareS2e;
+    private static CompiledMultinomialRegression<NotPartnerInformalCarer, Person.DoublesVariables> compiledNotPartnerInformalCareS2f;
+    private static CompiledMultinomialRegression<SocialCareProvision, Person.DoublesVariables> compiledInformalCareToS3d;
+
     // Covid-19 labour transitions regressions below
     // Initialisation
     private static ProbitRegression regC19LS_SE; // Assigns self-employed status in the simulated population
@@ -795,7 +882,10 @@ public class Parameters {
         // display a dialog box to let the user know what is happening
         System.out.println("Loading model parameters");
         System.out.flush();
+        clearWorkbookHashes();
+        getParameterSnapshot().beginLoad();
 
+        Parameters.country = country;
         maxAge = maxAgeModel;
         startYear = startYearModel;
         endYear = endYearModel;
@@ -831,7 +921,7 @@ public class Parameters {
 
 //		unemploymentRatesByRegion = new LinkedHashMap<>();
 //		unemploymentRates = ExcelAssistant.loadCoefficientMap("input/scenario_unemploymentRates.xlsx", countryString, 1, 46);
-        fixedRetireAge = ExcelAssistant.loadCoefficientMap("input/scenario_retirementAgeFixed.xlsx", countryString, 1, 2);
+        fixedRetireAge = loadCoefficientMap("input/scenario_retirementAgeFixed.xlsx", countryString, 1, 2);
         /*
         rawProbSick = ExcelAssistant.loadCoefficientMap("input/scenario_probSick.xls", country.toString(), 2, 1);
         for (Object o: rawProbSick.keySet()) {
@@ -857,46 +947,50 @@ public class Parameters {
         */
 
         // alignment parameters
-        populationProjections = ExcelAssistant.loadCoefficientMap("input/align_popProjections.xlsx", countryString, 3, 110);
+        populationProjections = loadCoefficientMap("input/align_popProjections.xlsx", countryString, 3, 110);
         setMapBounds(MapBounds.Population, countryString);
+        populationProjectionsTable = compilePopulationProjections(populationProjections, countryRegions,
+                populationProjectionsMaxAge, populationProjectionsMinYear, populationProjectionsMaxYear);
 
         //Alignment of education levels
-        projectionsHighEdu = ExcelAssistant.loadCoefficientMap("input/align_educLevel.xlsx", countryString + "_High", 1, 2);
-        projectionsLowEdu = ExcelAssistant.loadCoefficientMap("input/align_educLevel.xlsx", countryString + "_Low", 1, 2);
+        projectionsHighEdu = loadCoefficientMap("input/align_educLevel.xlsx", countryString + "_High", 1, 2);
+        projectionsLowEdu = loadCoefficientMap("input/align_educLevel.xlsx", countryString + "_Low", 1, 2);
 
-        studentShareProjections = ExcelAssistant.loadCoefficientMap("input/align_student_under30.xlsx", countryString, 1, 40);
+        studentShareProjections = loadCoefficientMap("input/align_student_under30.xlsx", countryString, 1, 40);
 
         //Employment alignment
-        employmentAlignment = ExcelAssistant.loadCoefficientMap("input/align_employment.xlsx", countryString, 2, 40);
+        employmentAlignment = loadCoefficientMap("input/align_employment.xlsx", countryString, 2, 40);
 
         //Marriage types frequencies:
-        marriageTypesFrequency = ExcelAssistant.loadCoefficientMap("input/marriageTypes2.xlsx", countryString, 2, 1);
+        marriageTypesFrequency = loadCoefficientMap("input/marriageTypes2.xlsx", countryString, 2, 1);
         marriageTypesFrequencyByGenderAndRegion = new LinkedHashMap<Gender, MultiKeyMap<Region, Double>>();	//Create a map of maps to store the frequencies
 
         //Mortality rates
-        mortalityProbabilityByGenderAgeYear = ExcelAssistant.loadCoefficientMap("input/projections_mortality.xlsx", countryString + "_MortalityByGenderAgeYear", 2, 120);
+        mortalityProbabilityByGenderAgeYear = loadCoefficientMap("input/projections_mortality.xlsx", countryString + "_MortalityByGenderAgeYear", 2, 120);
         setMapBounds(MapBounds.Mortality, countryString);
+        mortalityProbabilityTable = compileMortalityProbabilities(mortalityProbabilityByGenderAgeYear,
+                mortalityProbabilityMaxAge, mortalityProbabilityMinYear, mortalityProbabilityMaxYear);
 
         //Fertility rates:
-        fertilityProjectionsByYear = ExcelAssistant.loadCoefficientMap("input/projections_fertility.xlsx", countryString + "_FertilityByYear", 1, 71);
+        fertilityProjectionsByYear = loadCoefficientMap("input/projections_fertility.xlsx", countryString + "_FertilityByYear", 1, 71);
         setMapBounds(MapBounds.Fertility, countryString);
 
         //Unemployment rates
-        unemploymentRatesMaleGraduatesByAgeYear = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesMaleGraduates", 1, 49);
+        unemploymentRatesMaleGraduatesByAgeYear = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesMaleGraduates", 1, 49);
         setMapBounds(MapBounds.UnemploymentMaleGraduates, countryString);
-        unemploymentRatesMaleNonGraduatesByAgeYear = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesMaleNonGraduates", 1, 49);
+        unemploymentRatesMaleNonGraduatesByAgeYear = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesMaleNonGraduates", 1, 49);
         setMapBounds(MapBounds.UnemploymentMaleNonGraduates, countryString);
-        unemploymentRatesFemaleGraduatesByAgeYear = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesFemaleGraduates", 1, 49);
+        unemploymentRatesFemaleGraduatesByAgeYear = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesFemaleGraduates", 1, 49);
         setMapBounds(MapBounds.UnemploymentFemaleGraduates, countryString);
-        unemploymentRatesFemaleNonGraduatesByAgeYear = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesFemaleNonGraduates", 1, 49);
+        unemploymentRatesFemaleNonGraduatesByAgeYear = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_RatesFemaleNonGraduates", 1, 49);
         setMapBounds(MapBounds.UnemploymentFemaleNonGraduates, countryString);
 
         //RMSE
-        coefficientMapRMSE = ExcelAssistant.loadCoefficientMap("input/reg_RMSE.xlsx", countryString, 1, 1);
+        coefficientMapRMSE = loadCoefficientMap("input/reg_RMSE.xlsx", countryString, 1, 1);
 
         //Employments on furlough
-        employmentsFurloughedFull = ExcelAssistant.loadCoefficientMap("input/scenario_employments_furloughed.xlsx", countryString + "_FullFurlough", 2, 1);
-        employmentsFurloughedFlex = ExcelAssistant.loadCoefficientMap("input/scenario_employments_furloughed.xlsx", countryString + "_FlexibleFurlough", 2, 1);
+        employmentsFurloughedFull = loadCoefficientMap("input/scenario_employments_furloughed.xlsx", countryString + "_FullFurlough", 2, 1);
+        employmentsFurloughedFlex = loadCoefficientMap("input/scenario_employments_furloughed.xlsx", countryString + "_FlexibleFurlough", 2, 1);
 
         //Load country specific data
         int columnsWagesMales = -1;
@@ -1148,54 +1242,54 @@ public class Parameters {
 
         //Heckman model employment selection
         //coeffCovarianceEmploymentSelectionMales = ExcelAssistant.loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_Males", 1, columnsEmploymentSelectionMales);
-        coeffCovarianceEmploymentSelectionMalesE = ExcelAssistant.loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_MaleE", 1, columnsEmploymentSelectionMalesE);
-        coeffCovarianceEmploymentSelectionMalesNE = ExcelAssistant.loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_MaleNE", 1, columnsEmploymentSelectionMalesNE);
+        coeffCovarianceEmploymentSelectionMalesE = loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_MaleE", 1, columnsEmploymentSelectionMalesE);
+        coeffCovarianceEmploymentSelectionMalesNE = loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_MaleNE", 1, columnsEmploymentSelectionMalesNE);
         //coeffCovarianceEmploymentSelectionFemales = ExcelAssistant.loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_Females", 1, columnsEmploymentSelectionFemales);
-        coeffCovarianceEmploymentSelectionFemalesE = ExcelAssistant.loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_FemaleE", 1, columnsEmploymentSelectionFemalesE);
-        coeffCovarianceEmploymentSelectionFemalesNE = ExcelAssistant.loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_FemaleNE", 1, columnsEmploymentSelectionFemalesNE);
+        coeffCovarianceEmploymentSelectionFemalesE = loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_FemaleE", 1, columnsEmploymentSelectionFemalesE);
+        coeffCovarianceEmploymentSelectionFemalesNE = loadCoefficientMap("input/reg_employmentSelection.xlsx", countryString + "_EmploymentSelection_FemaleNE", 1, columnsEmploymentSelectionFemalesNE);
 
         // Wages
         //coeffCovarianceWagesMales = ExcelAssistant.loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_Males", 1, columnsWagesMales);
-        coeffCovarianceWagesMalesE = ExcelAssistant.loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_MalesE", 1, columnsWagesMalesE);
-        coeffCovarianceWagesMalesNE = ExcelAssistant.loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_MalesNE", 1, columnsWagesMalesNE);
+        coeffCovarianceWagesMalesE = loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_MalesE", 1, columnsWagesMalesE);
+        coeffCovarianceWagesMalesNE = loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_MalesNE", 1, columnsWagesMalesNE);
         //coeffCovarianceWagesFemales = ExcelAssistant.loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_Females", 1, columnsWagesFemales);
-        coeffCovarianceWagesFemalesE = ExcelAssistant.loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_FemalesE", 1, columnsWagesFemalesE);
-        coeffCovarianceWagesFemalesNE = ExcelAssistant.loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_FemalesNE", 1, columnsWagesFemalesNE);
+        coeffCovarianceWagesFemalesE = loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_FemalesE", 1, columnsWagesFemalesE);
+        coeffCovarianceWagesFemalesNE = loadCoefficientMap("input/reg_wages.xlsx", countryString + "_Wages_FemalesNE", 1, columnsWagesFemalesNE);
 
         //Labour Supply coefficients from Zhechun's estimates on the EM input data
-        coeffLabourSupplyUtilityMales = ExcelAssistant.loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Single_Males", 1, columnsLabourSupplyUtilityMales);
-        coeffLabourSupplyUtilityFemales = ExcelAssistant.loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Single_Females", 1, columnsLabourSupplyUtilityFemales);
-        coeffLabourSupplyUtilityMalesWithDependent = ExcelAssistant.loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Males_With_Dep", 1, columnsLabourSupplyUtilityMalesWithDependent);
-        coeffLabourSupplyUtilityFemalesWithDependent = ExcelAssistant.loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Females_With_Dep", 1, columnsLabourSupplyUtilityFemalesWithDependent);
-        coeffLabourSupplyUtilityACMales = ExcelAssistant.loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_SingleAC_Males", 1, columnsLabourSupplyUtilityACMales);
-        coeffLabourSupplyUtilityACFemales = ExcelAssistant.loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_SingleAC_Females", 1, columnsLabourSupplyUtilityACFemales);
-        coeffLabourSupplyUtilityCouples = ExcelAssistant.loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Couples", 1, columnsLabourSupplyUtilityCouples);
+        coeffLabourSupplyUtilityMales = loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Single_Males", 1, columnsLabourSupplyUtilityMales);
+        coeffLabourSupplyUtilityFemales = loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Single_Females", 1, columnsLabourSupplyUtilityFemales);
+        coeffLabourSupplyUtilityMalesWithDependent = loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Males_With_Dep", 1, columnsLabourSupplyUtilityMalesWithDependent);
+        coeffLabourSupplyUtilityFemalesWithDependent = loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Females_With_Dep", 1, columnsLabourSupplyUtilityFemalesWithDependent);
+        coeffLabourSupplyUtilityACMales = loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_SingleAC_Males", 1, columnsLabourSupplyUtilityACMales);
+        coeffLabourSupplyUtilityACFemales = loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_SingleAC_Females", 1, columnsLabourSupplyUtilityACFemales);
+        coeffLabourSupplyUtilityCouples = loadCoefficientMap("input/reg_labourSupplyUtility.xlsx", countryString + "_Couples", 1, columnsLabourSupplyUtilityCouples);
 
         // Load coefficients for Covid-19 labour supply models
         // Coefficients for process assigning simulated people to self-employment
-        coeffCovarianceC19LS_SE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_SE", 1, columnsLabourCovid19_SE);
+        coeffCovarianceC19LS_SE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_SE", 1, columnsLabourCovid19_SE);
         // Transitions from lagged state: employed
-        coeffC19LS_E1_NE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_NE", 1, 1);
-        coeffC19LS_E1_SE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_SE", 1, 1);
-        coeffC19LS_E1_FF = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_FF", 1, 1);
-        coeffC19LS_E1_FX = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_FX", 1, 1);
-        coeffC19LS_E1_SC = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_SC", 1, 1);
+        coeffC19LS_E1_NE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_NE", 1, 1);
+        coeffC19LS_E1_SE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_SE", 1, 1);
+        coeffC19LS_E1_FF = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_FF", 1, 1);
+        coeffC19LS_E1_FX = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_FX", 1, 1);
+        coeffC19LS_E1_SC = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E1_SC", 1, 1);
         // Transitions from lagged state: furloughed full
-        coeffC19LS_FF1_E = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_E", 1, 1);
-        coeffC19LS_FF1_FX = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_FX", 1, 1);
-        coeffC19LS_FF1_NE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_NE", 1, 1);
-        coeffC19LS_FF1_SE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_SE", 1, 1);
+        coeffC19LS_FF1_E = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_E", 1, 1);
+        coeffC19LS_FF1_FX = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_FX", 1, 1);
+        coeffC19LS_FF1_NE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_NE", 1, 1);
+        coeffC19LS_FF1_SE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FF1_SE", 1, 1);
         // Transitions from lagged state: furloughed flex
-        coeffC19LS_FX1_E = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_E", 1, 1);
-        coeffC19LS_FX1_FF = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_FF", 1, 1);
-        coeffC19LS_FX1_NE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_NE", 1, 1);
-        coeffC19LS_FX1_SE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_SE", 1, 1);
+        coeffC19LS_FX1_E = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_E", 1, 1);
+        coeffC19LS_FX1_FF = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_FF", 1, 1);
+        coeffC19LS_FX1_NE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_NE", 1, 1);
+        coeffC19LS_FX1_SE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_FX1_SE", 1, 1);
         // Transitions from lagged state: self-employed
-        coeffC19LS_S1_E = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S1_E", 1, 1);
-        coeffC19LS_S1_NE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S1_NE", 1, 1);
+        coeffC19LS_S1_E = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S1_E", 1, 1);
+        coeffC19LS_S1_NE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S1_NE", 1, 1);
         // Transitions from lagged state: not-employed
-        coeffC19LS_U1_E = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_U1_E", 1, 1);
-        coeffC19LS_U1_SE = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_U1_SE", 1, 1);
+        coeffC19LS_U1_E = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_U1_E", 1, 1);
+        coeffC19LS_U1_SE = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_U1_SE", 1, 1);
 
         // For multi logit regressions, put coefficients loaded below into maps
         coeffC19LS_E1Map = new LinkedHashMap<>(); //Add only categories from Les_transitions_E1 enum which are possible destinations for transitions from employment
@@ -1226,106 +1320,106 @@ public class Parameters {
         coeffC19LS_U1Map.put(Les_transitions_U1.SelfEmployed, coeffC19LS_U1_SE);
 
         // Coefficients for new working hours
-        coeffC19LS_E2a = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E2a", 1, columnsLabourCovid19_2a_processes);
-        coeffC19LS_E2b = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E2b", 1, columnsLabourCovid19_2a_processes);
-        coeffC19LS_F2a = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_F2a", 1, columnsLabourCovid19_2a_processes);
-        coeffC19LS_F2b = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_F2b", 1, columnsLabourCovid19_2a_processes);
-        coeffC19LS_F2c = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_F2c", 1, columnsLabourCovid19_2a_processes);
-        coeffC19LS_S2a = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S2a", 1, columnsLabourCovid19_2a_processes);
-        coeffC19LS_U2a = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_U2a", 1, columnsLabourCovid19_2a_processes);
+        coeffC19LS_E2a = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E2a", 1, columnsLabourCovid19_2a_processes);
+        coeffC19LS_E2b = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_E2b", 1, columnsLabourCovid19_2a_processes);
+        coeffC19LS_F2a = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_F2a", 1, columnsLabourCovid19_2a_processes);
+        coeffC19LS_F2b = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_F2b", 1, columnsLabourCovid19_2a_processes);
+        coeffC19LS_F2c = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_F2c", 1, columnsLabourCovid19_2a_processes);
+        coeffC19LS_S2a = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S2a", 1, columnsLabourCovid19_2a_processes);
+        coeffC19LS_U2a = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_U2a", 1, columnsLabourCovid19_2a_processes);
 
         // Coefficients for probability of SEISS
-        coeffC19LS_S3 = ExcelAssistant.loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S3", 1, 1);
+        coeffC19LS_S3 = loadCoefficientMap("input/reg_labourCovid19.xlsx", countryString + "_C19LS_S3", 1, 1);
 
         //Health
-        coeffCovarianceHealthH1a = ExcelAssistant.loadCoefficientMap("input/reg_health.xlsx", countryString + "_H1a", 1, columnsHealthH1a);
-        coeffCovarianceHealthH1b = ExcelAssistant.loadCoefficientMap("input/reg_health.xlsx", countryString + "_H1b", 1, columnsHealthH1b);
-        coeffCovarianceHealthH2b = ExcelAssistant.loadCoefficientMap("input/reg_health.xlsx", countryString + "_H2b", 1, columnsHealthH2b);
+        coeffCovarianceHealthH1a = loadCoefficientMap("input/reg_health.xlsx", countryString + "_H1a", 1, columnsHealthH1a);
+        coeffCovarianceHealthH1b = loadCoefficientMap("input/reg_health.xlsx", countryString + "_H1b", 1, columnsHealthH1b);
+        coeffCovarianceHealthH2b = loadCoefficientMap("input/reg_health.xlsx", countryString + "_H2b", 1, columnsHealthH2b);
 
         //Social care
-        coeffCovarianceSocialCareS1a = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S1a", 1, columnsSocialCareS1a);
-        coeffCovarianceSocialCareS1b = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S1b", 1, columnsSocialCareS1b);
-        coeffCovarianceSocialCareS2a = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2a", 1, columnsSocialCareS2a);
-        coeffCovarianceSocialCareS2b = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2b", 1, columnsSocialCareS2b);
-        coeffCovarianceSocialCareS2c = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2c", 1, columnsSocialCareS2c);
-        coeffCovarianceSocialCareS2d = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2d", 1, columnsSocialCareS2d);
-        coeffCovarianceSocialCareS2e = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2e", 1, columnsSocialCareS2e);
-        coeffCovarianceSocialCareS2f = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2f", 1, columnsSocialCareS2f);
-        coeffCovarianceSocialCareS2g = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2g", 1, columnsSocialCareS2g);
-        coeffCovarianceSocialCareS2h = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2h", 1, columnsSocialCareS2h);
-        coeffCovarianceSocialCareS2i = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2i", 1, columnsSocialCareS2i);
-        coeffCovarianceSocialCareS2j = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2j", 1, columnsSocialCareS2j);
-        coeffCovarianceSocialCareS2k = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2k", 1, columnsSocialCareS2k);
-        coeffCovarianceSocialCareS3a = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3a", 1, columnsSocialCareS3a);
-        coeffCovarianceSocialCareS3b = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3b", 1, columnsSocialCareS3b);
-        coeffCovarianceSocialCareS3c = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3c", 1, columnsSocialCareS3c);
-        coeffCovarianceSocialCareS3d = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3d", 1, columnsSocialCareS3d);
-        coeffCovarianceSocialCareS3e = ExcelAssistant.loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3e", 1, columnsSocialCareS3e);
+        coeffCovarianceSocialCareS1a = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S1a", 1, columnsSocialCareS1a);
+        coeffCovarianceSocialCareS1b = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S1b", 1, columnsSocialCareS1b);
+        coeffCovarianceSocialCareS2a = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2a", 1, columnsSocialCareS2a);
+        coeffCovarianceSocialCareS2b = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2b", 1, columnsSocialCareS2b);
+        coeffCovarianceSocialCareS2c = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2c", 1, columnsSocialCareS2c);
+        coeffCovarianceSocialCareS2d = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2d", 1, columnsSocialCareS2d);
+        coeffCovarianceSocialCareS2e = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2e", 1, columnsSocialCareS2e);
+        coeffCovarianceSocialCareS2f = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2f", 1, columnsSocialCareS2f);
+        coeffCovarianceSocialCareS2g = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2g", 1, columnsSocialCareS2g);
+        coeffCovarianceSocialCareS2h = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2h", 1, columnsSocialCareS2h);
+        coeffCovarianceSocialCareS2i = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2i", 1, columnsSocialCareS2i);
+        coeffCovarianceSocialCareS2j = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2j", 1, columnsSocialCareS2j);
+        coeffCovarianceSocialCareS2k = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S2k", 1, columnsSocialCareS2k);
+        coeffCovarianceSocialCareS3a = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3a", 1, columnsSocialCareS3a);
+        coeffCovarianceSocialCareS3b = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3b", 1, columnsSocialCareS3b);
+        coeffCovarianceSocialCareS3c = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3c", 1, columnsSocialCareS3c);
+        coeffCovarianceSocialCareS3d = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3d", 1, columnsSocialCareS3d);
+        coeffCovarianceSocialCareS3e = loadCoefficientMap("input/reg_socialcare.xlsx", countryString + "_S3e", 1, columnsSocialCareS3e);
 
         //Unemployment
-        coeffCovarianceUnemploymentU1a = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1a", 1, columnsUnemploymentU1a);
-        coeffCovarianceUnemploymentU1b = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1b", 1, columnsUnemploymentU1b);
-        coeffCovarianceUnemploymentU1c = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1c", 1, columnsUnemploymentU1c);
-        coeffCovarianceUnemploymentU1d = ExcelAssistant.loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1d", 1, columnsUnemploymentU1d);
+        coeffCovarianceUnemploymentU1a = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1a", 1, columnsUnemploymentU1a);
+        coeffCovarianceUnemploymentU1b = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1b", 1, columnsUnemploymentU1b);
+        coeffCovarianceUnemploymentU1c = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1c", 1, columnsUnemploymentU1c);
+        coeffCovarianceUnemploymentU1d = loadCoefficientMap("input/reg_unemployment.xlsx", countryString + "_U1d", 1, columnsUnemploymentU1d);
 
         //Health mental: level and case-based
-        coeffCovarianceHM1Level = ExcelAssistant.loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM1_L", 1, columnsHealthHM1);
-        coeffCovarianceHM2LevelMales = ExcelAssistant.loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Males_L", 1, columnsHealthHM2Males);
-        coeffCovarianceHM2LevelFemales = ExcelAssistant.loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Females_L", 1, columnsHealthHM2Females);
-        coeffCovarianceHM1Case = ExcelAssistant.loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM1_C", 1, columnsHealthHM1);
-        coeffCovarianceHM2CaseMales = ExcelAssistant.loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Males_C", 1, columnsHealthHM2Males);
-        coeffCovarianceHM2CaseFemales = ExcelAssistant.loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Females_C", 1, columnsHealthHM2Females);
+        coeffCovarianceHM1Level = loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM1_L", 1, columnsHealthHM1);
+        coeffCovarianceHM2LevelMales = loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Males_L", 1, columnsHealthHM2Males);
+        coeffCovarianceHM2LevelFemales = loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Females_L", 1, columnsHealthHM2Females);
+        coeffCovarianceHM1Case = loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM1_C", 1, columnsHealthHM1);
+        coeffCovarianceHM2CaseMales = loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Males_C", 1, columnsHealthHM2Males);
+        coeffCovarianceHM2CaseFemales = loadCoefficientMap("input/reg_health_mental.xlsx", countryString + "_HM2_Females_C", 1, columnsHealthHM2Females);
 
         //Education
-        coeffCovarianceEducationE1a = ExcelAssistant.loadCoefficientMap("input/reg_education.xlsx", countryString + "_E1a", 1, columnsEducationE1a);
-        coeffCovarianceEducationE1b = ExcelAssistant.loadCoefficientMap("input/reg_education.xlsx", countryString + "_E1b", 1, columnsEducationE1b);
-        coeffCovarianceEducationE2a = ExcelAssistant.loadCoefficientMap("input/reg_education.xlsx", countryString + "_E2a", 1, columnsEducationE2a);
+        coeffCovarianceEducationE1a = loadCoefficientMap("input/reg_education.xlsx", countryString + "_E1a", 1, columnsEducationE1a);
+        coeffCovarianceEducationE1b = loadCoefficientMap("input/reg_education.xlsx", countryString + "_E1b", 1, columnsEducationE1b);
+        coeffCovarianceEducationE2a = loadCoefficientMap("input/reg_education.xlsx", countryString + "_E2a", 1, columnsEducationE2a);
 
         //Partnership
         if (country.equals(Country.UK)) {
-            coeffCovariancePartnershipU1a = ExcelAssistant.loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U1a", 1, columnsPartnershipU1a);
-            coeffCovariancePartnershipU1b = ExcelAssistant.loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U1b", 1, columnsPartnershipU1b);
-            coeffCovariancePartnershipU2b = ExcelAssistant.loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U2b", 1, columnsPartnershipU2b);
+            coeffCovariancePartnershipU1a = loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U1a", 1, columnsPartnershipU1a);
+            coeffCovariancePartnershipU1b = loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U1b", 1, columnsPartnershipU1b);
+            coeffCovariancePartnershipU2b = loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U2b", 1, columnsPartnershipU2b);
         }
         else if (country.equals(Country.IT)) {
-            coeffCovariancePartnershipITU1 = ExcelAssistant.loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U1", 1, columnsPartnershipU1);
-            coeffCovariancePartnershipITU2 = ExcelAssistant.loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U2", 1, columnsPartnershipU2);
+            coeffCovariancePartnershipITU1 = loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U1", 1, columnsPartnershipU1);
+            coeffCovariancePartnershipITU2 = loadCoefficientMap("input/reg_partnership.xlsx", countryString + "_U2", 1, columnsPartnershipU2);
         }
 
         //Partnership - parameters for matching based on wage and age differential
-        meanCovarianceParametricMatching = ExcelAssistant.loadCoefficientMap("input/scenario_parametricMatching.xlsx", countryString, 1, 1);
+        meanCovarianceParametricMatching = loadCoefficientMap("input/scenario_parametricMatching.xlsx", countryString, 1, 1);
 
         //Fertility
         if (country.equals(Country.UK)) {
-            coeffCovarianceFertilityF1a = ExcelAssistant.loadCoefficientMap("input/reg_fertility.xlsx", countryString + "_F1a", 1, columnsFertilityF1a);
-            coeffCovarianceFertilityF1b = ExcelAssistant.loadCoefficientMap("input/reg_fertility.xlsx", countryString + "_F1b", 1, columnsFertilityF1b);
+            coeffCovarianceFertilityF1a = loadCoefficientMap("input/reg_fertility.xlsx", countryString + "_F1a", 1, columnsFertilityF1a);
+            coeffCovarianceFertilityF1b = loadCoefficientMap("input/reg_fertility.xlsx", countryString + "_F1b", 1, columnsFertilityF1b);
         }
         else if (country.equals(Country.IT)) {
-            coeffCovarianceFertilityF1 = ExcelAssistant.loadCoefficientMap("input/reg_fertility.xlsx", countryString + "_F1", 1, columnsFertilityF1);
+            coeffCovarianceFertilityF1 = loadCoefficientMap("input/reg_fertility.xlsx", countryString + "_F1", 1, columnsFertilityF1);
         }
 
         //Income
-        coeffCovarianceIncomeI3a = ExcelAssistant.loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3a", 1, columnsIncomeI3a);
-        coeffCovarianceIncomeI3b = ExcelAssistant.loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3b", 1, columnsIncomeI3b);
-        coeffCovarianceIncomeI4b = ExcelAssistant.loadCoefficientMap("input/reg_income.xlsx", countryString + "_I4b", 1, columnsIncomeI4b);
-        coeffCovarianceIncomeI5a_selection = ExcelAssistant.loadCoefficientMap("input/reg_income.xlsx", countryString + "_I5a", 1, columnsIncomeI5a);
-        coeffCovarianceIncomeI5b_amount = ExcelAssistant.loadCoefficientMap("input/reg_income.xlsx", countryString + "_I5b", 1, columnsIncomeI5b);
-        coeffCovarianceIncomeI3a_selection = ExcelAssistant.loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3a_selection", 1, columnsIncomeI3a_selection);
-        coeffCovarianceIncomeI3b_selection = ExcelAssistant.loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3b_selection", 1, columnsIncomeI3b_selection);
+        coeffCovarianceIncomeI3a = loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3a", 1, columnsIncomeI3a);
+        coeffCovarianceIncomeI3b = loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3b", 1, columnsIncomeI3b);
+        coeffCovarianceIncomeI4b = loadCoefficientMap("input/reg_income.xlsx", countryString + "_I4b", 1, columnsIncomeI4b);
+        coeffCovarianceIncomeI5a_selection = loadCoefficientMap("input/reg_income.xlsx", countryString + "_I5a", 1, columnsIncomeI5a);
+        coeffCovarianceIncomeI5b_amount = loadCoefficientMap("input/reg_income.xlsx", countryString + "_I5b", 1, columnsIncomeI5b);
+        coeffCovarianceIncomeI3a_selection = loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3a_selection", 1, columnsIncomeI3a_selection);
+        coeffCovarianceIncomeI3b_selection = loadCoefficientMap("input/reg_income.xlsx", countryString + "_I3b_selection", 1, columnsIncomeI3b_selection);
 
         //Leaving parental home
-        coeffCovarianceLeaveHomeP1a = ExcelAssistant.loadCoefficientMap("input/reg_leaveParentalHome.xlsx", countryString + "_P1a", 1, columnsLeaveHomeP1a);
+        coeffCovarianceLeaveHomeP1a = loadCoefficientMap("input/reg_leaveParentalHome.xlsx", countryString + "_P1a", 1, columnsLeaveHomeP1a);
 
         //Homeownership
-        coeffCovarianceHomeownership = ExcelAssistant.loadCoefficientMap("input/reg_home_ownership.xlsx", countryString + "_HO1a", 1, columnsHomeownership);
+        coeffCovarianceHomeownership = loadCoefficientMap("input/reg_home_ownership.xlsx", countryString + "_HO1a", 1, columnsHomeownership);
 
         //Retirement
-        coeffCovarianceRetirementR1a = ExcelAssistant.loadCoefficientMap("input/reg_retirement.xlsx", countryString + "_R1a", 1, columnsRetirementR1a);
-        coeffCovarianceRetirementR1b = ExcelAssistant.loadCoefficientMap("input/reg_retirement.xlsx", countryString + "_R1b", 1, columnsRetirementR1b);
+        coeffCovarianceRetirementR1a = loadCoefficientMap("input/reg_retirement.xlsx", countryString + "_R1a", 1, columnsRetirementR1a);
+        coeffCovarianceRetirementR1b = loadCoefficientMap("input/reg_retirement.xlsx", countryString + "_R1b", 1, columnsRetirementR1b);
 
         //Childcare
-        coeffCovarianceChildcareC1a = ExcelAssistant.loadCoefficientMap("input/reg_childcarecost.xlsx", countryString + "_C1a", 1, columnsChildcareC1a);
-        coeffCovarianceChildcareC1b = ExcelAssistant.loadCoefficientMap("input/reg_childcarecost.xlsx", countryString + "_C1b", 1, columnsChildcareC1b);
+        coeffCovarianceChildcareC1a = loadCoefficientMap("input/reg_childcarecost.xlsx", countryString + "_C1a", 1, columnsChildcareC1a);
+        coeffCovarianceChildcareC1b = loadCoefficientMap("input/reg_childcarecost.xlsx", countryString + "_C1b", 1, columnsChildcareC1b);
 
         //Bootstrap the coefficients
         if(bootstrapAll) {
@@ -1578,6 +1672,9 @@ public class Parameters {
         regChildcareC1a = new ProbitRegression(coeffCovarianceChildcareC1a);
         regChildcareC1b = new LinearRegression(coeffCovarianceChildcareC1b);
 
+        //Compiled forms of regressions
+        compileRegressions(country);
+
         //Create the age and wage differential MultivariateNormalDistribution for partnership formation, using means and var-cov matrix loaded from Excel
         targetMeanAgeDifferential = ((Number) meanCovarianceParametricMatching.getValue("mean_dag_diff")).doubleValue();
         targetMeanWageDifferential = ((Number) meanCovarianceParametricMatching.getValue("mean_wage_diff")).doubleValue();
@@ -1590,69 +1687,75 @@ public class Parameters {
 
         /////////////////////////////////////////////////POPULATE STATISTICS FOR VALIDATION/////////////////////////////
         //Students by Age
-        validationStudentsByAge = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_studentsByAge", 1, columnsValidationStudentsByAge);
+        validationStudentsByAge = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_studentsByAge", 1, columnsValidationStudentsByAge);
 
         //Students by Region
-        validationStudentsByRegion = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_studentsByRegion", 1, columnsValidationStudentsByRegion);
+        validationStudentsByRegion = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_studentsByRegion", 1, columnsValidationStudentsByRegion);
 
         //Education level of over 17 year olds
-        validationEducationLevel = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_educationLevel", 1, columnsValidationEducationLevel);
+        validationEducationLevel = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_educationLevel", 1, columnsValidationEducationLevel);
 
         //Education level by age group
-        validationEducationLevelByAge = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_educationLevelByAge", 1, columnsValidationEducationLevelByAge);
+        validationEducationLevelByAge = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_educationLevelByAge", 1, columnsValidationEducationLevelByAge);
 
         //Education level by region
-        validationEducationLevelByRegion = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_educationLevelByRegion", 1, columnsValidationEducationLevelByRegion);
+        validationEducationLevelByRegion = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_educationLevelByRegion", 1, columnsValidationEducationLevelByRegion);
 
         //Partnered BU share by region
-        validationPartneredShareByRegion = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_partneredBUShareByRegion", 1, columnsValidationPartneredBUShareByRegion);
+        validationPartneredShareByRegion = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_partneredBUShareByRegion", 1, columnsValidationPartneredBUShareByRegion);
 
         //Disabled by age
-        validationDisabledByAge = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_disabledByAgeGroup", 1, columnsValidationDisabledByAgeGroup);
+        validationDisabledByAge = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_disabledByAgeGroup", 1, columnsValidationDisabledByAgeGroup);
 
-        validationDisabledByGender = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_disabledByGender", 1, columnsValidationDisabledByGender);
+        validationDisabledByGender = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_disabledByGender", 1, columnsValidationDisabledByGender);
 
         //Health by age
-        validationHealthByAge = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_healthByAgeGroup", 1, columnsValidationHealthByAgeGroup);
+        validationHealthByAge = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_healthByAgeGroup", 1, columnsValidationHealthByAgeGroup);
 
         //Mental health by age and gender
-        validationMentalHealthByAge = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_mentalHealthByAgeGroup", 1, columnsValidationMentalHealthByAgeGroup);
+        validationMentalHealthByAge = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_mentalHealthByAgeGroup", 1, columnsValidationMentalHealthByAgeGroup);
 
         //Psychological distress by age and gender
-        validationPsychDistressByAge = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroup", 1, columnsValidationMentalHealthByAgeGroup);
-        validationPsychDistressByAgeLow = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroupLowED", 1, columnsValidationMentalHealthByAgeGroup);
-        validationPsychDistressByAgeMed = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroupMedED", 1, columnsValidationMentalHealthByAgeGroup);
-        validationPsychDistressByAgeHigh = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroupHiEd", 1, columnsValidationMentalHealthByAgeGroup);
+        validationPsychDistressByAge = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroup", 1, columnsValidationMentalHealthByAgeGroup);
+        validationPsychDistressByAgeLow = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroupLowED", 1, columnsValidationMentalHealthByAgeGroup);
+        validationPsychDistressByAgeMed = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroupMedED", 1, columnsValidationMentalHealthByAgeGroup);
+        validationPsychDistressByAgeHigh = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_psychDistressByAgeGroupHiEd", 1, columnsValidationMentalHealthByAgeGroup);
 
         //Employment by gender
-        validationEmploymentByGender = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByGender", 1, columnsValidationEmploymentByGender);
+        validationEmploymentByGender = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByGender", 1, columnsValidationEmploymentByGender);
 
         //Employment by age and gender
-        validationEmploymentByAgeAndGender = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByGenderAndAge", 1, columnsValidationEmploymentByGenderAndAge);
+        validationEmploymentByAgeAndGender = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByGenderAndAge", 1, columnsValidationEmploymentByGenderAndAge);
 
         //Employment by maternity
-        validationEmploymentByMaternity = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByMaternity", 1, columnsValidationEmploymentByMaternity);
+        validationEmploymentByMaternity = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByMaternity", 1, columnsValidationEmploymentByMaternity);
 
         //Employment by gender and region
-        validationEmploymentByGenderAndRegion = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByGenderAndRegion", 1, columnsValidationEmploymentByGenderAndRegion);
+        validationEmploymentByGenderAndRegion = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_employmentByGenderAndRegion", 1, columnsValidationEmploymentByGenderAndRegion);
 
         //Labour supply by education
-        validationLabourSupplyByEducation = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_labourSupplyByEducation", 1, columnsValidationLabourSupplyByEducation);
+        validationLabourSupplyByEducation = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_labourSupplyByEducation", 1, columnsValidationLabourSupplyByEducation);
 
         //Activity status
-        validationActivityStatus = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_activityStatus", 1, columnsValidationActivityStatus);
+        validationActivityStatus = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_activityStatus", 1, columnsValidationActivityStatus);
 
         //Homeownership status
-        validationHomeownershipBenefitUnits = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_homeownership", 1, columnsValidationHomeownership);
+        validationHomeownershipBenefitUnits = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_homeownership", 1, columnsValidationHomeownership);
 
         //Gross earnings yearly by education and gender (for employed persons)
-        validationGrossEarningsByGenderAndEducation = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_grossEarningsByGenderAndEdu", 1, columnsValidationByGenderAndEducation);
+        validationGrossEarningsByGenderAndEducation = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_grossEarningsByGenderAndEdu", 1, columnsValidationByGenderAndEducation);
 
         //Hourly wages by education and gender (for employed persons)
-        validationLhwByGenderAndEducation = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_lhwByGenderAndEdu", 1, 8);
+        validationLhwByGenderAndEducation = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_lhwByGenderAndEdu", 1, 8);
 
         //Hours worked weekly by education and gender (for employed persons)
-        hourlyWageByGenderAndEducation = ExcelAssistant.loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_hourlywageByGenderAndEdu", 1, columnsValidationByGenderAndEducation);
+        hourlyWageByGenderAndEducation = loadCoefficientMap("input/validation_statistics.xlsx", countryString + "_hourlywageByGenderAndEdu", 1, columnsValidationByGenderAndEducation);
+
+        // store any sheets loaded from Excel for subsequent runs
+        getParameterSnapshot().saveIfModified();
+
+        // time series maps may have been replaced above
+        loadTimeSeriesTables();
     }
 
     /**
@@ -1803,7 +1906,7 @@ public class Parameters {
 
     public static TreeMap<Integer, String> calculateEUROMODpolicySchedule(Country country) {
         //Load current values for policy description and initiation year
-        MultiKeyCoefficientMap currentEUROMODpolicySchedule = ExcelAssistant.loadCoefficientMap("input" + File.separator + EUROMODpolicyScheduleFilename + ".xlsx", country.toString(), 1, 3);
+        MultiKeyCoefficientMap currentEUROMODpolicySchedule = loadCoefficientMap("input" + File.separator + EUROMODpolicyScheduleFilename + ".xlsx", country.toString(), 1, 3);
         TreeMap<Integer, String> newEUROMODpolicySchedule = new TreeMap<>();
 
         for(Object o: currentEUROMODpolicySchedule.keySet()) {
@@ -1887,7 +1990,7 @@ public class Parameters {
     public static void setCountryBenefitUnitName() {
 
         //Benefit unit variable has different name in each country. This method loads the correct name of the benefit unit variable from Excel file system_bu_names.xlsx in the input folder.
-        benefitUnitVariableNames = ExcelAssistant.loadCoefficientMap("input/system_bu_names.xlsx", "Names", 1, 1);
+        benefitUnitVariableNames = loadCoefficientMap("input/system_bu_names.xlsx", "Names", 1, 1);
     }
 
     //-----------------------------------------------------------------------------------------------------
@@ -2150,6 +2253,182 @@ public class Parameters {
         return regLabourSupplyUtilityACFemales;
     }
 
+    public static CompiledRegression<BenefitUnit.Regressors> getCompiledLabourSupplyUtilityCouples() {
+        return compiledLabourSupplyUtilityCouples;
+    }
+
+    public static CompiledRegression<BenefitUnit.Regressors> getCompiledLabourSupplyUtilityFemales() {
+        return compiledLabourSupplyUtilityFemales;
+    }
+
+    public static CompiledRegression<BenefitUnit.Regressors> getCompiledLabourSupplyUtilityMales() {
+        return compiledLabourSupplyUtilityMales;
+    }
+
+    public static CompiledRegression<BenefitUnit.Regressors> getCompiledLabourSupplyUtilityFemalesWithDependent() {
+        return compiledLabourSupplyUtilityFemalesWithDependent;
+    }
+
+    public static CompiledRegression<BenefitUnit.Regressors> getCompiledLabourSupplyUtilityMalesWithDependent() {
+        return compiledLabourSupplyUtilityMalesWithDependent;
+    }
+
+    public static CompiledRegression<BenefitUnit.Regressors> getCompiledLabourSupplyUtilityACMales() {
+        return compiledLabourSupplyUtilityACMales;
+    }
+
+    public static CompiledRegression<BenefitUnit.Regressors> getCompiledLabourSupplyUtilityACFemales() {
+        return compiledLabourSupplyUtilityACFemales;
+    }
+
+    /**
+     * METHOD TO COMPILE REGRESSIONS EVALUATED FOR PERSONS, FROM THE COEFFICIENT MAPS OF THE CORRESPONDING JAS-MINE REGRESSIONS
+     */
+    private static void compileRegressions(Country country) {
+
+        compiledRegressions = new ArrayList<>();
+        compiledMultinomialRegressions = new ArrayList<>();
+        compiledLabourSupplyUtilityMales = compile("LabourSupplyUtilityMales", coeffLabourSupplyUtilityMales, BenefitUnit.Regressors.class);
+        compiledLabourSupplyUtilityFemales = compile("LabourSupplyUtilityFemales", coeffLabourSupplyUtilityFemales, BenefitUnit.Regressors.class);
+        compiledLabourSupplyUtilityMalesWithDependent = compile("LabourSupplyUtilityMalesWithDependent", coeffLabourSupplyUtilityMalesWithDependent, BenefitUnit.Regressors.class);
+        compiledLabourSupplyUtilityFemalesWithDependent = compile("LabourSupplyUtilityFemalesWithDependent", coeffLabourSupplyUtilityFemalesWithDependent, BenefitUnit.Regressors.class);
+        compiledLabourSupplyUtilityACMales = compile("LabourSupplyUtilityACMales", coeffLabourSupplyUtilityACMales, BenefitUnit.Regressors.class);
+        compiledLabourSupplyUtilityACFemales = compile("LabourSupplyUtilityACFemales", coeffLabourSupplyUtilityACFemales, BenefitUnit.Regressors.class);
+        compiledLabourSupplyUtilityCouples = compile("LabourSupplyUtilityCouples", coeffLabourSupplyUtilityCouples, BenefitUnit.Regressors.class);
+
+        compiledHealthH2b = compile("HealthH2b", coeffCovarianceHealthH2b, Person.DoublesVariables.class);
+        compiledReceiveCareS1a = compile("ReceiveCareS1a", coeffCovarianceSocialCareS1a, Person.DoublesVariables.class);
+        compiledCareHoursS1b = compile("CareHoursS1b", coeffCovarianceSocialCareS1b, Person.DoublesVariables.class);
+        compiledNeedCareS2a = compile("NeedCareS2a", coeffCovarianceSocialCareS2a, Person.DoublesVariables.class);
+        compiledReceiveCareS2b = compile("ReceiveCareS2b", coeffCovarianceSocialCareS2b, Person.DoublesVariables.class);
+        compiledReceiveCarePartnerS2d = compile("ReceiveCarePartnerS2d", coeffCovarianceSocialCareS2d, Person.DoublesVariables.class);
+        compiledPartnerCareHoursS2g = compile("PartnerCareHoursS2g", coeffCovarianceSocialCareS2g, Person.DoublesVariables.class);
+        compiledDaughterCareHoursS2h = compile("DaughterCareHoursS2h", coeffCovarianceSocialCareS2h, Person.DoublesVariables.class);
+        compiledSonCareHoursS2i = compile("SonCareHoursS2i", coeffCovarianceSocialCareS2i, Person.DoublesVariables.class);
+        compiledOtherCareHoursS2j = compile("OtherCareHoursS2j", coeffCovarianceSocialCareS2j, Person.DoublesVariables.class);
+        compiledFormalCareHoursS2k = compile("FormalCareHoursS2k", coeffCovarianceSocialCareS2k, Person.DoublesVariables.class);
+        compiledCarePartnerProvCareToOtherS3a = compile("CarePartnerProvCareToOtherS3a", coeffCovarianceSocialCareS3a, Person.DoublesVariables.class);
+        compiledNoCarePartnerProvCareToOtherS3b = compile("NoCarePartnerProvCareToOtherS3b", coeffCovarianceSocialCareS3b, Person.DoublesVariables.class);
+        compiledNoPartnerProvCareToOtherS3c = compile("NoPartnerProvCareToOtherS3c", coeffCovarianceSocialCareS3c, Person.DoublesVariables.class);
+        compiledCareHoursProvS3e = compile("CareHoursProvS3e", coeffCovarianceSocialCareS3e, Person.DoublesVariables.class);
+        compiledUnemploymentMaleGraduateU1a = compile("UnemploymentMaleGraduateU1a", coeffCovarianceUnemploymentU1a, Person.DoublesVariables.class);
+        compiledUnemploymentMaleNonGraduateU1b = compile("UnemploymentMaleNonGraduateU1b", coeffCovarianceUnemploymentU1b, Person.DoublesVariables.class);
+        compiledUnemploymentFemaleGraduateU1c = compile("UnemploymentFemaleGraduateU1c", coeffCovarianceUnemploymentU1c, Person.DoublesVariables.class);
+        compiledUnemploymentFemaleNonGraduateU1d = compile("UnemploymentFemaleNonGraduateU1d", coeffCovarianceUnemploymentU1d, Person.DoublesVariables.class);
+        compiledHealthHM1Level = compile("HealthHM1Level", coeffCovarianceHM1Level, Person.DoublesVariables.class);
+        compiledHealthHM2LevelMales = compile("HealthHM2LevelMales", coeffCovarianceHM2LevelMales, Person.DoublesVariables.class);
+        compiledHealthHM2LevelFemales = compile("HealthHM2LevelFemales", coeffCovarianceHM2LevelFemales, Person.DoublesVariables.class);
+        compiledHealthHM1Case = compile("HealthHM1Case", coeffCovarianceHM1Case, Person.DoublesVariables.class);
+        compiledHealthHM2CaseMales = compile("HealthHM2CaseMales", coeffCovarianceHM2CaseMales, Person.DoublesVariables.class);
+        compiledHealthHM2CaseFemales = compile("HealthHM2CaseFemales", coeffCovarianceHM2CaseFemales, Person.DoublesVariables.class);
+        compiledEducationE1a = compile("EducationE1a", coeffCovarianceEducationE1a, Person.DoublesVariables.class);
+        compiledEducationE1b = compile("EducationE1b", coeffCovarianceEducationE1b, Person.DoublesVariables.class);
+        compiledWagesMalesE = compile("WagesMalesE", coeffCovarianceWagesMalesE, Person.DoublesVariables.class);
+        compiledWagesMalesNE = compile("WagesMalesNE", coeffCovarianceWagesMalesNE, Person.DoublesVariables.class);
+        compiledWagesFemalesE = compile("WagesFemalesE", coeffCovarianceWagesFemalesE, Person.DoublesVariables.class);
+        compiledWagesFemalesNE = compile("WagesFemalesNE", coeffCovarianceWagesFemalesNE, Person.DoublesVariables.class);
+        compiledLeaveHomeP1a = compile("LeaveHomeP1a", coeffCovarianceLeaveHomeP1a, Person.DoublesVariables.class);
+        compiledRetirementR1a = compile("RetirementR1a", coeffCovarianceRetirementR1a, Person.DoublesVariables.class);
+        compiledRetirementR1b = compile("RetirementR1b", coeffCovarianceRetirementR1b, Person.DoublesVariables.class);
+        if (country.equals(Country.UK)) {
+            compiledPartnershipU1a = compile("PartnershipU1a", coeffCovariancePartnershipU1a, Person.DoublesVariables.class);
+            compiledPartnershipU1b = compile("PartnershipU1b", coeffCovariancePartnershipU1b, Person.DoublesVariables.class);
+            compiledPartnershipU2b = compile("PartnershipU2b", coeffCovariancePartnershipU2b, Person.DoublesVariables.class);
+            compiledFertilityF1a = compile("FertilityF1a", coeffCovarianceFertilityF1a, Person.DoublesVariables.class);
+            compiledFertilityF1b = compile("FertilityF1b", coeffCovarianceFertilityF1b, Person.DoublesVariables.class);
+        }
+
+        compiledHealthH1a = register(CompiledMultinomialRegression.orderedProbit("HealthH1a", coeffCovarianceHealthH1a, Dhe.class, Person.DoublesVariables.class));
+        compiledHealthH1b = register(CompiledMultinomialRegression.orderedProbit("HealthH1b", coeffCovarianceHealthH1b, Dhe.class, Person.DoublesVariables.class));
+        compiledEducationE2a = register(CompiledMultinomialRegression.orderedProbit("EducationE2a", coeffCovarianceEducationE2a, Education.class, Person.DoublesVariables.class));
+        compiledSocialCareMarketS2c = register(CompiledMultinomialRegression.multinomialLogit("SocialCareMarketS2c", coeffCovarianceSocialCareS2cMap, SocialCareReceiptS2c.class, Person.DoublesVariables.class));
+        compiledPartnerSupplementaryCareS2e = register(CompiledMultinomialRegression.multinomialLogit("PartnerSupplementaryCareS2e", coeffCovarianceSocialCareS2eMap, PartnerSupplementaryCarer.class, Person.DoublesVariables.class));
+        compiledNotPartnerInformalCareS2f = register(CompiledMultinomialRegression.multinomialLogit("NotPartnerInformalCareS2f", coeffCovarianceSocialCareS2fMap, NotPartnerInformalCarer.class, Person.DoublesVariables.class));
+        compiledInformalCareToS3d = register(CompiledMultinomialRegression.multinomialLogit("InformalCareToS3d", coeffCovarianceSocialCareS3dMap, SocialCareProvision.class, Person.DoublesVariables.class));
+    }
+
+    private static <E extends Enum<E>> CompiledRegression<E> compile(String name, MultiKeyCoefficientMap coefficientMap, Class<E> regressorType) {
+        CompiledRegression<E> compiled = new CompiledRegression<>(name, coefficientMap, regressorType);
+        compiledRegressions.add(compiled);
+        return compiled;
+    }
+
+    private static <T extends Enum<T> & IntegerValuedEnum> CompiledMultinomialRegression<T, Person.DoublesVariables> register(
+            CompiledMultinomialRegression<T, Person.DoublesVariables> compiled) {
+        compiledMultinomialRegressions.add(compiled);
+        return compiled;
+    }
+
+    /**
+     * METHOD TO INVALIDATE THE COMPILED REGRESSIONS EVALUATED FROM A COEFFICIENT MAP, WHICH MUST BE CALLED AFTER THE MAP
+     * IS ADJUSTED IN PLACE (SEE ActivityAlignment)
+     */
+    public static void coefficientsModified(MultiKeyCoefficientMap coefficientMap) {
+        for (CompiledRegression<?> compiled : compiledRegressions) {
+            if (compiled.getCoefficientMap() == coefficientMap)
+                compiled.coefficientsModified();
+        }
+        for (CompiledMultinomialRegression<?,?> compiled : compiledMultinomialRegressions) {
+            if (compiled.isCompiledFrom(coefficientMap))
+                compiled.coefficientsModified();
+        }
+    }
+
+    public static List<CompiledRegression<?>> getCompiledRegressions() {
+        return compiledRegressions;
+    }
+
+    public static List<CompiledMultinomialRegression<?,?>> getCompiledMultinomialRegressions() {
+        return compiledMultinomialRegressions;
+    }
+
+    public static CompiledRegression<Person.DoublesVariables> getCompiledHealthH2b() { return compiledHealthH2b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledReceiveCareS1a() { return compiledReceiveCareS1a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledCareHoursS1b() { return compiledCareHoursS1b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledNeedCareS2a() { return compiledNeedCareS2a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledReceiveCareS2b() { return compiledReceiveCareS2b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledReceiveCarePartnerS2d() { return compiledReceiveCarePartnerS2d; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledPartnerCareHoursS2g() { return compiledPartnerCareHoursS2g; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledDaughterCareHoursS2h() { return compiledDaughterCareHoursS2h; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledSonCareHoursS2i() { return compiledSonCareHoursS2i; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledOtherCareHoursS2j() { return compiledOtherCareHoursS2j; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledFormalCareHoursS2k() { return compiledFormalCareHoursS2k; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledCarePartnerProvCareToOtherS3a() { return compiledCarePartnerProvCareToOtherS3a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledNoCarePartnerProvCareToOtherS3b() { return compiledNoCarePartnerProvCareToOtherS3b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledNoPartnerProvCareToOtherS3c() { return compiledNoPartnerProvCareToOtherS3c; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledCareHoursProvS3e() { return compiledCareHoursProvS3e; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledUnemploymentMaleGraduateU1a() { return compiledUnemploymentMaleGraduateU1a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledUnemploymentMaleNonGraduateU1b() { return compiledUnemploymentMaleNonGraduateU1b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledUnemploymentFemaleGraduateU1c() { return compiledUnemploymentFemaleGraduateU1c; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledUnemploymentFemaleNonGraduateU1d() { return compiledUnemploymentFemaleNonGraduateU1d; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledHealthHM1Level() { return compiledHealthHM1Level; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledHealthHM2LevelMales() { return compiledHealthHM2LevelMales; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledHealthHM2LevelFemales() { return compiledHealthHM2LevelFemales; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledHealthHM1Case() { return compiledHealthHM1Case; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledHealthHM2CaseMales() { return compiledHealthHM2CaseMales; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledHealthHM2CaseFemales() { return compiledHealthHM2CaseFemales; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledEducationE1a() { return compiledEducationE1a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledEducationE1b() { return compiledEducationE1b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledPartnershipU1a() { return compiledPartnershipU1a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledPartnershipU1b() { return compiledPartnershipU1b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledPartnershipU2b() { return compiledPartnershipU2b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledFertilityF1a() { return compiledFertilityF1a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledFertilityF1b() { return compiledFertilityF1b; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledWagesMalesE() { return compiledWagesMalesE; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledWagesMalesNE() { return compiledWagesMalesNE; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledWagesFemalesE() { return compiledWagesFemalesE; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledWagesFemalesNE() { return compiledWagesFemalesNE; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledLeaveHomeP1a() { return compiledLeaveHomeP1a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledRetirementR1a() { return compiledRetirementR1a; }
+    public static CompiledRegression<Person.DoublesVariables> getCompiledRetirementR1b() { return compiledRetirementR1b; }
+    public static CompiledMultinomialRegression<Dhe, Person.DoublesVariables> getCompiledHealthH1a() { return compiledHealthH1a; }
+    public static CompiledMultinomialRegression<Dhe, Person.DoublesVariables> getCompiledHealthH1b() { return compiledHealthH1b; }
+    public static CompiledMultinomialRegression<Education, Person.DoublesVariables> getCompiledEducationE2a() { return compiledEducationE2a; }
+    public static CompiledMultinomialRegression<SocialCareReceiptS2c, Person.DoublesVariables> getCompiledSocialCareMarketS2c() { return compiledSocialCareMarketS2c; }
+    public static CompiledMultinomialRegression<PartnerSupplementaryCarer, Person.DoublesVariables> getCompiledPartnerSupplementaryCareS2e() { return compiledPartnerSupplementaryCareS2e; }
+    public static CompiledMultinomialRegression<NotPartnerInformalCarer, Person.DoublesVariables> getCompiledNotPartnerInformalCareS2f() { return compiledNotPartnerInformalCareS2f; }
+    public static CompiledMultinomialRegression<SocialCareProvision, Person.DoublesVariables> getCompiledInformalCareToS3d() { return compiledInformalCareToS3d; }
+
     public static LinearRegression getRegEmploymentSelectionMale() {
         return regEmploymentSelectionMale;
     }
@@ -2214,11 +2493,11 @@ public class Parameters {
         double mortalityProbability;
         int yearEval = Math.min(mortalityProbabilityMaxYear, Math.max(mortalityProbabilityMinYear, year));
         int ageEval = Math.min(mortalityProbabilityMaxAge, age);
-        Number prob = ((Number) mortalityProbabilityByGenderAgeYear.getValue(gender.toString(), ageEval, yearEval));
-        if (prob==null) {
+        double prob = mortalityProbabilityTable.get(gender.ordinal(), ageEval, yearEval);
+        if (Double.isNaN(prob)) {
             throw new IllegalAccessError("ERROR - problem evaluating mortality probability for year: " + yearEval + ", age: " + ageEval + " and gender " + gender.toString());
         }
-        mortalityProbability = prob.doubleValue() / 100000.0;
+        mortalityProbability = prob / 100000.0;
 
         return mortalityProbability;
     }
@@ -2228,14 +2507,41 @@ public class Parameters {
         double populationProjection;
         int yearEval = Math.min(populationProjectionsMaxYear, Math.max(populationProjectionsMinYear, year));
         int ageEval = Math.min(populationProjectionsMaxAge, age);
-        Number val = ((Number)populationProjections.getValue(gender.toString(), region.toString(), ageEval, yearEval));
-        if (val==null)
+        double val = populationProjectionsTable.get(populationProjectionsCategory(gender, region), ageEval, yearEval);
+        if (Double.isNaN(val))
             throw new IllegalAccessError("ERROR - problem evaluating population projection for year: " + yearEval + ", age: " + ageEval + ", region: " + region.toString() + " and gender: " + gender.toString());
-        populationProjection = val.doubleValue();
+        populationProjection = val;
 
         return populationProjection;
     }
 
+    /**
+     * METHODS TO COMPILE DENSE TABLES OF DEMOGRAPHIC PARAMETERS FROM COEFFICIENT MAPS LOADED FROM EXCEL
+     * (SEE DemographicTable). PACKAGE-PRIVATE TO PERMIT COMPARISON AGAINST THE MAPS (SEE DemographicTableTest)
+     */
+    static DemographicTable compileMortalityProbabilities(MultiKeyCoefficientMap map, int maxAge, int minYear, int maxYear) {
+        Gender[] genders = Gender.values();
+        return DemographicTable.compile(genders.length, maxAge, minYear, maxYear,
+                (category, age, year) -> (Number) map.getValue(genders[category].toString(), age, year));
+    }
+
+    static DemographicTable compilePopulationProjections(MultiKeyCoefficientMap map, Set<Region> regions, int maxAge,
+                                                         int minYear, int maxYear) {
+        Gender[] genders = Gender.values();
+        Region[] allRegions = Region.values();
+        return DemographicTable.compile(genders.length * NUMBER_REGIONS, maxAge, minYear, maxYear,
+                (category, age, year) -> {
+                    Region region = allRegions[category % NUMBER_REGIONS];
+                    if (!regions.contains(region))
+                        return null;
+                    return (Number) map.getValue(genders[category / NUMBER_REGIONS].toString(), region.toString(), age, year);
+                });
+    }
+
+    static int populationProjectionsCategory(Gender gender, Region region) {
+        return gender.ordinal() * NUMBER_REGIONS + region.ordinal();
+    }
+
     public static int getPopulationProjectionsMaxAge() { return populationProjectionsMaxAge; }
 
     public static int getPopulationProjectionsMaxYear() { return populationProjectionsMaxYear; }
@@ -2455,26 +2761,98 @@ public class Parameters {
         return regEmploymentSelectionFemaleNE;
     }
 
+    /**
+     * METHOD TO LOAD COEFFICIENT MAP FROM EXCEL WORKBOOK, USING THE PARAMETER SNAPSHOT WHERE THE WORKBOOK IS UNCHANGED
+     * Arguments are the same as for ExcelAssistant.loadCoefficientMap
+     */
+    private static MultiKeyCoefficientMap loadCoefficientMap(String file, String sheet, int keyColumns, int valueColumns) {
+
+        String hash = workbookHash(file);
+        if (!useParameterSnapshot || hash == null)
+            return ExcelAssistant.loadCoefficientMap(file, sheet, keyColumns, valueColumns);
+        ParameterSnapshot snapshot = getParameterSnapshot();
+        MultiKeyCoefficientMap map = snapshot.get(file, hash, sheet, keyColumns, valueColumns);
+        if (map == null) {
+            map = ExcelAssistant.loadCoefficientMap(file, sheet, keyColumns, valueColumns);
+            snapshot.put(file, hash, sheet, keyColumns, valueColumns, map);
+        }
+        return map;
+    }
+
+    private static synchronized ParameterSnapshot getParameterSnapshot() {
+        if (parameterSnapshot == null)
+            parameterSnapshot = ParameterSnapshot.open(Paths.get(INPUT_DIRECTORY + ParameterSnapshot.FILE_NAME));
+        return parameterSnapshot;
+    }
+
+    /**
+     * METHOD TO OBTAIN CONTENT HASH OF WORKBOOK, EVALUATED ONCE PER PARAMETER LOAD
+     * @return hash, or null if the workbook cannot be read (left to ExcelAssistant to report)
+     */
+    private static synchronized String workbookHash(String file) {
+
+        String hash = workbookHashes.get(file);
+        if (hash == null) {
+            try {
+                hash = ParameterSnapshot.contentHash(Paths.get(file));
+                workbookHashes.put(file, hash);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return hash;
+    }
+
+    private static synchronized void clearWorkbookHashes() {
+        workbookHashes.clear();
+    }
+
+    public static Country getCountry() {
+        return country;
+    }
+
+    /**
+     * METHOD TO OBTAIN A CONTENT HASH OF THE PARAMETERS LOADED FROM EXCEL
+     * Combines the hashes of all workbooks loaded since the start of the last call to loadParameters, so that
+     * results derived from the parameters (e.g. solutions to the intertemporal optimisation problem) can be
+     * identified with the workbooks that they depend on
+     * @return SHA-256 hash in hexadecimal form
+     */
+    public static synchronized String getParameterHash() {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, String> entry : workbookHashes.entrySet()) {
+                digest.update((entry.getKey() + "=" + entry.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static void loadTimeSeriesFactorMaps(Country country) {
 
+        clearTimeSeriesTables();
+
         // load time varying rates
-        priceMapRealSavingReturns = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_saving_returns", 1, 1);
-        priceMapRealDebtCostLow = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_debt_cost_low", 1, 1);
-        priceMapRealDebtCostHigh = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_debt_cost_hi", 1, 1);
+        priceMapRealSavingReturns = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_saving_returns", 1, 1);
+        priceMapRealDebtCostLow = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_debt_cost_low", 1, 1);
+        priceMapRealDebtCostHigh = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_debt_cost_hi", 1, 1);
 
         // load time varying wage rates
-        wageRateFormalSocialCare = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_carer_hourly_wage", 1, 1);
+        wageRateFormalSocialCare = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_carer_hourly_wage", 1, 1);
 
         // load time varying indices
-        upratingIndexMapRealGDP = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_gdp", 1, 1);
-        upratingIndexMapInflation = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_inflation", 1, 1);
-        upratingIndexMapRealWageGrowth = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_wage_growth", 1, 1);
-        socialCareProvisionTimeAdjustment = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_care_adjustment", 1, 1);
-        partnershipTimeAdjustment = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_cohabitation_adjustment", 1, 1);
-        fertilityTimeAdjustment = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_fertility_adjustment", 1, 1);
-        utilityTimeAdjustmentSingleMales = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_utility_adj_smales", 1, 1);
-        utilityTimeAdjustmentSingleFemales = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_utility_adj_sfemales", 1, 1);
-        utilityTimeAdjustmentCouples = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_utility_adj_couples", 1, 1);
+        upratingIndexMapRealGDP = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_gdp", 1, 1);
+        upratingIndexMapInflation = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_inflation", 1, 1);
+        upratingIndexMapRealWageGrowth = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_wage_growth", 1, 1);
+        socialCareProvisionTimeAdjustment = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_care_adjustment", 1, 1);
+        partnershipTimeAdjustment = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_cohabitation_adjustment", 1, 1);
+        fertilityTimeAdjustment = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_fertility_adjustment", 1, 1);
+        utilityTimeAdjustmentSingleMales = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_utility_adj_smales", 1, 1);
+        utilityTimeAdjustmentSingleFemales = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_utility_adj_sfemales", 1, 1);
+        utilityTimeAdjustmentCouples = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_utility_adj_couples", 1, 1);
 
         // rebase indices to base year defined by BASE_PRICE_YEAR
         rebaseIndexMap(TimeSeriesVariable.GDP);
@@ -2482,11 +2860,11 @@ public class Parameters {
         rebaseIndexMap(TimeSeriesVariable.WageGrowth);
 
         // load year-specific fiscal policy parameters
-        socialCarePolicy = ExcelAssistant.loadCoefficientMap("input/policy parameters.xlsx", "social care", 1, 8);
-        partneredShare = ExcelAssistant.loadCoefficientMap("input/policy parameters.xlsx", "partnership", 1, 1);
-        employedShareSingleMales = ExcelAssistant.loadCoefficientMap("input/policy parameters.xlsx", "employment_smales", 1, 1);
-        employedShareSingleFemales = ExcelAssistant.loadCoefficientMap("input/policy parameters.xlsx", "employment_sfemales", 1, 1);
-        employedShareCouples = ExcelAssistant.loadCoefficientMap("input/policy parameters.xlsx", "employment_couples", 1, 1);
+        socialCarePolicy = loadCoefficientMap("input/policy parameters.xlsx", "social care", 1, 8);
+        partneredShare = loadCoefficientMap("input/policy parameters.xlsx", "partnership", 1, 1);
+        employedShareSingleMales = loadCoefficientMap("input/policy parameters.xlsx", "employment_smales", 1, 1);
+        employedShareSingleFemales = loadCoefficientMap("input/policy parameters.xlsx", "employment_sfemales", 1, 1);
+        employedShareCouples = loadCoefficientMap("input/policy parameters.xlsx", "employment_couples", 1, 1);
 
     }
 
@@ -2504,15 +2882,15 @@ public class Parameters {
         TimeSeriesVariable index = getTimeSeriesVariable(UpratingCase.TaxDonor);
         switch (index) {
             case GDP -> {
-                upratingIndexMapRealGDP = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_gdp", 1, 1);
+                upratingIndexMapRealGDP = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_gdp", 1, 1);
                 rebaseIndexMap(TimeSeriesVariable.GDP);
             }
             case WageGrowth -> {
-                upratingIndexMapRealWageGrowth = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_wage_growth", 1, 1);
+                upratingIndexMapRealWageGrowth = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_wage_growth", 1, 1);
                 rebaseIndexMap(TimeSeriesVariable.WageGrowth);
             }
             case Inflation -> {
-                upratingIndexMapInflation = ExcelAssistant.loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_inflation", 1, 1);
+                upratingIndexMapInflation = loadCoefficientMap("input/time_series_factor.xlsx", country.toString() + "_inflation", 1, 1);
                 rebaseIndexMap(TimeSeriesVariable.Inflation);
             }
         }
@@ -2535,6 +2913,7 @@ public class Parameters {
                 map.replace(key, valueHere - valueBase);
             }
         }
+        loadTimeSeriesTables(timeSeriesVariable);
     }
 
     private static MultiKeyCoefficientMap getTimeSeriesValueMap(TimeSeriesVariable timeSeriesVariable) {
@@ -2641,11 +3020,91 @@ public class Parameters {
 
     public static double getTimeSeriesValue(int year, String stringKey1, String stringKey2, TimeSeriesVariable timeSeriesVariable) {
 
+        if (stringKey1 == null && AlignmentAdjustments.TIME_SERIES.contains(timeSeriesVariable)) {
+            AlignmentAdjustments adjustments = RunScope.adjustments();
+            if (adjustments != null)
+                return adjustments.getTimeSeriesValue(year, timeSeriesVariable);
+        }
+        return getSharedTimeSeriesValue(year, stringKey1, stringKey2, timeSeriesVariable);
+    }
+
+    /**
+     * METHOD TO OBTAIN A TIME SERIES VALUE FROM THE SERIES LOADED INTO Parameters, IGNORING ANY ALIGNMENT ADJUSTMENTS
+     * HELD BY THE RUN BOUND TO THE CURRENT THREAD (SEE AlignmentAdjustments)
+     */
+    static double getSharedTimeSeriesValue(int year, String stringKey1, String stringKey2, TimeSeriesVariable timeSeriesVariable) {
+
+        TimeSeriesTable table = (stringKey2 == null) ? getTimeSeriesTable(timeSeriesVariable, stringKey1) : null;
+        if (table != null) {
+            double value = table.get(year);
+            if (!Double.isNaN(value))
+                return value;
+        }
+
         MultiKeyCoefficientMap valueMap = getTimeSeriesValueMap(timeSeriesVariable);
         Object val = getObjectFromTimeSeriesValueMap(year, stringKey1, stringKey2, valueMap);
         if (val == null)
             val = extendValueTimeSeries(year, stringKey1, stringKey2, valueMap);
-        return ((Number) val).doubleValue();
+        double value = ((Number) val).doubleValue();
+        if (table != null)
+            table.put(year, value);
+        return value;
+    }
+
+    /**
+     * METHODS TO MANAGE DENSE TABLES OF TIME SERIES VALUES (SEE TimeSeriesTable)
+     * TABLES ARE ALLOCATED ONCE, FOR EACH SERIES AND FOR EACH GENDER (THE ONLY STRING KEY OF SERIES WITH ONE KEY), AND
+     * ARE POPULATED FROM THE UNDERLYING MAPS WHEN THESE ARE LOADED OR REBASED. TABLES ARE UPDATED IN PLACE WHEN VALUES
+     * ARE PUT TO THE MAPS, AND VALUES MISSING FROM THE TABLES (E.G. YEARS BEYOND THOSE LOADED) ARE OBTAINED FROM THE
+     * MAPS ON FIRST USE
+     * @return table, or null if stringKey1 is not the name of a gender
+     */
+    private static TimeSeriesTable getTimeSeriesTable(TimeSeriesVariable timeSeriesVariable, String stringKey1) {
+        TimeSeriesTable[] tables = timeSeriesTables[timeSeriesVariable.ordinal()];
+        if (stringKey1 == null)
+            return tables[0];
+        for (Gender gender : TIME_SERIES_GENDERS) {
+            if (gender.name().equals(stringKey1))
+                return tables[1 + gender.ordinal()];
+        }
+        return null;
+    }
+
+    private static void clearTimeSeriesTables(TimeSeriesVariable timeSeriesVariable) {
+        for (TimeSeriesTable table : timeSeriesTables[timeSeriesVariable.ordinal()]) {
+            table.clear();
+        }
+    }
+
+    private static void loadTimeSeriesTables(TimeSeriesVariable timeSeriesVariable) {
+
+        clearTimeSeriesTables(timeSeriesVariable);
+        MultiKeyCoefficientMap map = getTimeSeriesValueMap(timeSeriesVariable);
+        if (map == null || TIME_SERIES_WITHOUT_TABLES.contains(timeSeriesVariable))
+            return;
+        TimeSeriesTable[] tables = timeSeriesTables[timeSeriesVariable.ordinal()];
+        for (int year = TimeSeriesTable.MIN_YEAR; year <= TimeSeriesTable.MAX_YEAR; year++) {
+            if (TIME_SERIES_BY_GENDER.contains(timeSeriesVariable)) {
+                for (Gender gender : TIME_SERIES_GENDERS) {
+                    if (getObjectFromTimeSeriesValueMap(year, gender.name(), null, map) instanceof Number number)
+                        tables[1 + gender.ordinal()].put(year, number.doubleValue());
+                }
+            } else if (getObjectFromTimeSeriesValueMap(year, null, null, map) instanceof Number number) {
+                tables[0].put(year, number.doubleValue());
+            }
+        }
+    }
+
+    private static void loadTimeSeriesTables() {
+        for (TimeSeriesVariable timeSeriesVariable : TimeSeriesVariable.values()) {
+            loadTimeSeriesTables(timeSeriesVariable);
+        }
+    }
+
+    private static void clearTimeSeriesTables() {
+        for (TimeSeriesVariable timeSeriesVariable : TimeSeriesVariable.values()) {
+            clearTimeSeriesTables(timeSeriesVariable);
+        }
     }
 
     private static Object getObjectFromTimeSeriesValueMap(int year, String stringKey1, String stringKey2, MultiKeyCoefficientMap map) {
@@ -2658,6 +3117,14 @@ public class Parameters {
     }
 
     public static void putTimeSeriesValue(int year, Object valPut, TimeSeriesVariable variableType) {
+
+        if (AlignmentAdjustments.TIME_SERIES.contains(variableType) && valPut instanceof Number number) {
+            AlignmentAdjustments adjustments = RunScope.adjustments();
+            if (adjustments != null) {
+                adjustments.putTimeSeriesValue(year, number.doubleValue(), variableType);
+                return;
+            }
+        }
         putTimeSeriesValue(year, null, null, valPut, variableType);
     }
 
@@ -2689,6 +3156,15 @@ public class Parameters {
             else
                 valueMap.replaceValue(stringKey1, stringKey2, year, valPut);
         }
+
+        // update dense tables of series stored in map
+        if (stringKey2==null) {
+            for (TimeSeriesVariable timeSeriesVariable : TimeSeriesVariable.values()) {
+                TimeSeriesTable table = getTimeSeriesTable(timeSeriesVariable, stringKey1);
+                if (table != null && getTimeSeriesValueMap(timeSeriesVariable) == valueMap)
+                    table.put(year, (valPut instanceof Number number) ? number.doubleValue() : Double.NaN);
+            }
+        }
     }
 
     private synchronized static Object extendValueTimeSeries(int year, String stringKey1, String stringKey2, MultiKeyCoefficientMap mapToExtend) {
@@ -2981,6 +3457,12 @@ public class Parameters {
     public static void setDonorPool(List<DonorTaxUnit> list) {
         donorPool = list;
     }
+    public static DonorPoolIndex getDonorPoolIndex() {
+        return donorPoolIndex;
+    }
+    public static void setDonorPoolIndex(DonorPoolIndex index) {
+        donorPoolIndex = index;
+    }
     public static double asinh(double xx) {
         return Math.log(xx + Math.sqrt(xx * xx + 1.0));
     }
@@ -3205,6 +3687,13 @@ public class Parameters {
     }
 
     public static double getAlignmentValue(int year, AlignmentVariable variableType) {
+        AlignmentAdjustments adjustments = RunScope.adjustments();
+        if (adjustments != null)
+            return adjustments.getAlignmentValue(year, variableType);
+        return getSharedAlignmentValue(year, variableType);
+    }
+
+    static double getSharedAlignmentValue(int year, AlignmentVariable variableType) {
         switch (variableType) {
             case PartnershipAlignment -> {
                 Double val = partnershipAlignAdjustment.get(year);
@@ -3225,6 +3714,11 @@ public class Parameters {
     }
 
     public static void setAlignmentValue(int year, double val, AlignmentVariable variableType) {
+        AlignmentAdjustments adjustments = RunScope.adjustments();
+        if (adjustments != null) {
+            adjustments.setAlignmentValue(year, val, variableType);
+            return;
+        }
         switch (variableType) {
             case PartnershipAlignment -> {
                 partnershipAlignAdjustment.put(year, val);
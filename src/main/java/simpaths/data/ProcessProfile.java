@@ -0,0 +1,217 @@
+package simpaths.data;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *
+ * CLASS TO PROFILE THE COMPUTATIONAL COST OF SIMULATED PROCESSES
+ *
+ * EACH PROFILED PROCESS IS IDENTIFIED BY A COUNTER, WHICH ACCUMULATES THE NUMBER OF CALLS, THE NUMBER OF ITEMS
+ * PROCESSED (AGENTS FOR SCHEDULED PROCESSES, FUNCTION EVALUATIONS FOR ROOT SEARCHES), WALL TIME, AND BYTES
+ * ALLOCATED ON THE HEAP. COUNTERS ARE SAFE FOR CONCURRENT USE, AND TIMINGS ARE INCLUSIVE (SO THAT THE COST OF TAX
+ * IMPUTATIONS, FOR EXAMPLE, IS ALSO INCLUDED IN THE COST OF THE SCHEDULED PROCESS THAT CALLS FOR THEM)
+ *
+ * ALLOCATIONS ARE MEASURED FOR THE CALLING THREAD, EXCEPT FOR COUNTERS DECLARED FOR ALL THREADS (USED FOR SCHEDULED
+ * PROCESSES THAT MAY BE EXECUTED IN PARALLEL), WHICH SUM OVER LIVE THREADS AND SO OMIT ALLOCATIONS OF THREADS THAT
+ * TERMINATE DURING THE PROCESS. ALLOCATIONS ARE REPORTED AS ZERO WHERE NOT SUPPORTED BY THE JVM
+ *
+ * PROFILING IS DISABLED BY DEFAULT, IN WHICH CASE start() RETURNS NULL AND stop() RETURNS IMMEDIATELY. WHEN
+ * ENABLED, ACCUMULATED VALUES ARE WRITTEN TO JSON AND CSV FILES AND RESET BY write (SEE SimPathsModel.profileProcesses)
+ *
+ */
+public class ProcessProfile {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final String FILE_PREFIX = "process_profile_";
+
+    private static volatile boolean enabled = false;
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final List<Counter> registered = new CopyOnWriteArrayList<>();     // in order of registration
+    private static final com.sun.management.ThreadMXBean threads = threadBean();
+
+
+    /**
+     * GETTERS AND SETTERS
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    public static void setEnabled(boolean enabled) {
+        ProcessProfile.enabled = enabled;
+    }
+
+    /**
+     * METHOD TO OBTAIN COUNTER FOR PROCESS, REGISTERING IT ON FIRST REQUEST
+     * @param process name of process
+     * @param allThreads true if allocations are to be measured for all threads, rather than the calling thread
+     */
+    public static Counter counter(String process, boolean allThreads) {
+        return counters.computeIfAbsent(process, key -> {
+            Counter counter = new Counter(key, allThreads);
+            registered.add(counter);
+            return counter;
+        });
+    }
+    public static Counter counter(String process) {
+        return counter(process, false);
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO WRITE ACCUMULATED VALUES OF ALL COUNTERS TO FILES, AND RESET COUNTERS
+     * @param directory directory for profile files (created if necessary)
+     * @param year year reported
+     */
+    public static void write(String directory, int year) {
+
+        List<Counter> snapshot = List.copyOf(registered);
+        long[][] values = new long[snapshot.size()][];
+        for (int ii=0; ii<snapshot.size(); ii++) {
+            values[ii] = snapshot.get(ii).sumThenReset();
+        }
+        if (!enabled)
+            return;
+
+        new File(directory).mkdirs();
+        String path = directory + File.separator + FILE_PREFIX + year;
+        try (PrintWriter csv = new PrintWriter(new FileWriter(path + ".csv"));
+             PrintWriter json = new PrintWriter(new FileWriter(path + ".json"))) {
+
+            csv.println("year,process,calls,items,wall_ms,allocated_mb");
+            json.println("{");
+            json.println("  \"year\": " + year + ",");
+            json.println("  \"processes\": [");
+            boolean first = true;
+            for (int ii=0; ii<snapshot.size(); ii++) {
+
+                long[] vv = values[ii];
+                if (vv[0] == 0)
+                    continue;
+                String process = snapshot.get(ii).process;
+                double wallMillis = vv[2] / 1.0E6;
+                double allocatedMegabytes = vv[3] / 1.0E6;
+                csv.println(String.format(Locale.ROOT, "%d,%s,%d,%d,%.3f,%.3f", year, process, vv[0], vv[1], wallMillis, allocatedMegabytes));
+                if (!first)
+                    json.println(",");
+                json.print(String.format(Locale.ROOT, "    {\"process\": \"%s\", \"calls\": %d, \"items\": %d, \"wall_ms\": %.3f, \"allocated_mb\": %.3f}",
+                        process.replace("\\", "\\\\").replace("\"", "\\\""), vv[0], vv[1], wallMillis, allocatedMegabytes));
+                first = false;
+            }
+            if (!first)
+                json.println();
+            json.println("  ]");
+            json.println("}");
+        } catch (IOException e) {
+            throw new RuntimeException("failed to write process profile for year " + year + " to " + directory, e);
+        }
+    }
+
+    private static long allocatedBytes(boolean allThreads) {
+
+        if (threads == null)
+            return 0L;
+        if (!allThreads)
+            return threads.getCurrentThreadAllocatedBytes();
+        long total = 0L;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0L)
+                total += bytes;
+        }
+        return total;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean &&
+                    bean.isThreadAllocatedMemorySupported()) {
+                if (!bean.isThreadAllocatedMemoryEnabled())
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // allocations not reported
+        }
+        return null;
+    }
+
+
+    /**
+     * CLASS TO ACCUMULATE MEASUREMENTS FOR A PROCESS
+     */
+    public static class Counter {
+
+        private final String process;
+        private final boolean allThreads;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder items = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder allocated = new LongAdder();
+
+        private Counter(String process, boolean allThreads) {
+            this.process = process;
+            this.allThreads = allThreads;
+        }
+
+        public String getProcess() {
+            return process;
+        }
+
+        /**
+         * METHOD TO START MEASUREMENT
+         * @return sample to supply to stop, or null if profiling is disabled
+         */
+        public Sample start() {
+            if (!enabled)
+                return null;
+            return new Sample(System.nanoTime(), allocatedBytes(allThreads));
+        }
+
+        /**
+         * METHOD TO COMPLETE MEASUREMENT
+         * @param sample sample returned by start (no action taken if null)
+         * @param itemsProcessed number of agents processed (or other items, see class description)
+         */
+        public void stop(Sample sample, long itemsProcessed) {
+            if (sample == null)
+                return;
+            wallNanos.add(System.nanoTime() - sample.nanos);
+            allocated.add(Math.max(0L, allocatedBytes(allThreads) - sample.bytes));
+            items.add(itemsProcessed);
+            calls.increment();
+        }
+
+        private long[] sumThenReset() {
+            return new long[] {calls.sumThenReset(), items.sumThenReset(), wallNanos.sumThenReset(), allocated.sumThenReset()};
+        }
+    }
+
+    public static class Sample {
+
+        private final long nanos;
+        private final long bytes;
+
+        private Sample(long nanos, long bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+}
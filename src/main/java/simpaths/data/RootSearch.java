@@ -10,12 +10,18 @@ public class RootSearch {
     double[] target;                    // starting co-ordinates at entry and co-ordinates of root at exit
     IEvaluation function;               // function to find root for
     boolean targetAltered = false;      // indicates if target was altered from starting value
+    private int evaluations = 0;        // number of function evaluations
+    private final ProcessProfile.Counter counter;   // profile of searches for function (see ProcessProfile)
 
     public RootSearch(double[] lowerBounds, double[] upperBounds, double[] target, IEvaluation function, double epsOrdinates, double epsFunction) {
         this.lowerBounds = lowerBounds;
         this.upperBounds = upperBounds;
         this.target = target;
-        this.function = function;
+        this.function = args -> {
+            evaluations++;
+            return function.evaluate(args);
+        };
+        counter = ProcessProfile.counter("RootSearch." + function.getClass().getSimpleName());
         this.epsOrdinates = epsOrdinates;
         this.epsFunction = epsFunction;
         nn = lowerBounds.length;
@@ -25,6 +31,14 @@ public class RootSearch {
 
     public void evaluate() {
 
+        ProcessProfile.Sample sample = counter.start();
+        evaluations = 0;
+        search();
+        counter.stop(sample, evaluations);
+    }
+
+    private void search() {
+
         double[] xg, xn=null, xp=null;
         double fg, fn, fp;
 
@@ -53,6 +67,71 @@ public class RootSearch {
         }
     }
 
+    /**
+     * METHOD TO SEARCH FOR ROOT FROM A WARM START (E.G. THE SOLUTION OF A PREVIOUS YEAR OR RUN)
+     * THE FUNCTION IS FIRST EVALUATED AT start, WHICH IS ACCEPTED IF WITHIN TOLERANCE. OTHERWISE, UP TO
+     * MAX_SECANT_STEPS SECANT STEPS ARE TAKEN FROM start, STARTING WITH A STEP OF secantStep, UNTIL EITHER A POINT
+     * WITHIN TOLERANCE IS FOUND OR THE ROOT IS BRACKETED (IN WHICH CASE THE SEARCH IS COMPLETED BY zbrent). WHERE
+     * NEITHER OCCURS, THE SEARCH REVERTS TO evaluate()
+     *
+     * targetAltered INDICATES WHETHER THE SOLUTION DIFFERS FROM THE STARTING CO-ORDINATES SUPPLIED TO THE CONSTRUCTOR
+     *
+     * @param start co-ordinates at which to start search
+     * @param secantStep size of first secant step
+     */
+    public void evaluateFrom(double[] start, double secantStep) {
+
+        ProcessProfile.Sample sample = counter.start();
+        evaluations = 0;
+        final int MAX_SECANT_STEPS = 4;
+        double[] initial = target;
+        double[] x0 = clip(start);
+        double f0 = function.evaluate(x0);
+        if (Math.abs(f0) <= epsFunction) {
+            target = x0;
+        } else {
+
+            double[] x1 = new double[] {x0[0] + ((x0[0] + secantStep <= upperBounds[0]) ? secantStep : -secantStep)};
+            x1 = clip(x1);
+            double f1 = function.evaluate(x1);
+            boolean solved = false;
+            for (int ii=0; !solved; ii++) {
+
+                if (Math.abs(f1) <= epsFunction) {
+                    target = x1;
+                    solved = true;
+                } else if ((f0 < 0.0) != (f1 < 0.0)) {
+                    target = (f0 < 0.0) ? zbrent(x0, x1, f0, f1) : zbrent(x1, x0, f1, f0);
+                    solved = true;
+                } else {
+                    if (ii == MAX_SECANT_STEPS || f1 == f0 || x1[0] == x0[0])
+                        break;
+                    double[] x2 = clip(new double[] {x1[0] - f1 * (x1[0] - x0[0]) / (f1 - f0)});
+                    if (x2[0] == x1[0])
+                        break;      // secant step leaves bounds
+                    x0 = x1;
+                    f0 = f1;
+                    x1 = x2;
+                    f1 = function.evaluate(x1);
+                }
+            }
+            if (!solved) {
+                target = initial;
+                search();
+            }
+        }
+        targetAltered = (target[0] != initial[0]);
+        counter.stop(sample, evaluations);
+    }
+
+    private double[] clip(double[] xx) {
+        double[] xc = new double[nn];
+        for (int ii=0; ii<nn; ii++) {
+            xc[ii] = Math.max(lowerBounds[ii], Math.min(upperBounds[ii], xx[ii]));
+        }
+        return xc;
+    }
+
     private double[] bisection(double[] xn, double[] xg, double[] xp, double fn, double fg, double fp) {
 
         // search conditions
@@ -0,0 +1,58 @@
+package simpaths.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ *
+ * CLASS TO STORE VALUES OF A TIME SERIES (SEE Parameters.getTimeSeriesValue) IN A DENSE ARRAY INDEXED BY YEAR
+ *
+ * TABLES ARE POPULATED FROM THE COEFFICIENT MAP THAT STORES THE SERIES WHEN PARAMETERS ARE LOADED, AND ARE UPDATED
+ * IN PLACE AS VALUES ARE PUT TO THE MAP DURING THE SIMULATION (E.G. BY ALIGNMENT ADJUSTMENTS, AND BY EXTRAPOLATION OF
+ * SERIES BEYOND THE YEARS LOADED FROM EXCEL). EACH VALUE IS READ AND WRITTEN ATOMICALLY (AS THE BITS OF THE DOUBLE),
+ * SO THAT LOOKUPS ARE SAFE FOR CONCURRENT USE WITHOUT LOCKING. YEARS THAT HAVE NOT BEEN STORED ARE REPORTED AS NaN
+ *
+ */
+public class TimeSeriesTable {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final int MIN_YEAR = 1900;
+    public static final int MAX_YEAR = 2200;
+
+    private static final long EMPTY = Double.doubleToRawLongBits(Double.NaN);
+
+    private final AtomicLongArray values = new AtomicLongArray(MAX_YEAR - MIN_YEAR + 1);
+
+
+    /**
+     * CONSTRUCTOR
+     */
+    public TimeSeriesTable() {
+        clear();
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+    public double get(int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR)
+            return Double.NaN;
+        return Double.longBitsToDouble(values.get(year - MIN_YEAR));
+    }
+
+    public void put(int year, double value) {
+        if (year < MIN_YEAR || year > MAX_YEAR)
+            return;
+        values.set(year - MIN_YEAR, Double.doubleToRawLongBits(value));
+    }
+
+    public void clear() {
+        for (int ii=0; ii<values.length(); ii++) {
+            values.set(ii, EMPTY);
+        }
+    }
+}
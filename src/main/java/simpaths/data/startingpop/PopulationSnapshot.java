@@ -0,0 +1,465 @@
+package simpaths.data.startingpop;
+
+import jakarta.persistence.*;
+import simpaths.model.BenefitUnit;
+import simpaths.model.Household;
+import simpaths.model.Person;
+import simpaths.model.enums.Country;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.util.*;
+
+
+/**
+ *
+ * CLASS TO MANAGE BINARY SNAPSHOTS OF PROCESSED STARTING POPULATIONS
+ *
+ * A SNAPSHOT STORES THE HOUSEHOLDS, BENEFIT UNITS AND PERSONS OF A Processed DATASET IN A COLUMNAR FORMAT, WITH ONE
+ * TABLE PER ENTITY TYPE AND ONE COLUMN PER PERSISTED FIELD (INCLUDING THE FIELDS OF EMBEDDED KEYS). EACH BENEFIT UNIT
+ * AND PERSON ALSO STORES THE ROW OF ITS HOUSEHOLD OR BENEFIT UNIT, FROM WHICH THE OBJECT GRAPH IS RESTORED. SNAPSHOTS
+ * ARE READ USING MEMORY-MAPPED I/O, AND POPULATE ENTITIES IN THE SAME WAY AS HIBERNATE (NO-ARG CONSTRUCTOR AND FIELD
+ * ACCESS), SO THAT RESTORED ENTITIES ARE EQUIVALENT TO THOSE LOADED BY SimPathsModel.getProcessed
+ *
+ * SNAPSHOTS ARE SAVED NEXT TO THE INPUT DATABASE, AND ARE ONLY USED IF THE PERSISTED FIELDS OF THE ENTITY CLASSES
+ * ARE UNCHANGED, AND IF THE STAMP OF THE PROCESSED DATASET THAT THEY DESCRIBE IS UNCHANGED SINCE THE SNAPSHOT WAS
+ * SAVED. OTHERWISE THE STARTING POPULATION IS LOADED THROUGH HIBERNATE. A NEW STAMP IS RECORDED IN THE STAMP_TABLE OF
+ * THE DATABASE WHENEVER A DATASET IS PERSISTED (SEE recordStamp), SO THAT CHECKING A SNAPSHOT READS ONE ROW RATHER
+ * THAN THE ENTITY TABLES. DATASETS MUST THEREFORE ONLY BE ALTERED BY PERSISTING THEM AFRESH, OR BY REGENERATING THE
+ * INPUT DATABASE (WHICH DISCARDS STAMPS, SEE DataParser)
+ *
+ */
+public class PopulationSnapshot {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final String FILE_SUFFIX = ".snapshot";
+    private static final int MAGIC = 0x53505050;    // "SPPP"
+    private static final int VERSION = 3;
+    public static final String STAMP_TABLE = "POPULATIONSTAMP";    // stamps of processed datasets (see recordStamp)
+
+    // column types
+    private static final int BOOLEAN = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int FLOAT = 4;
+    private static final int DOUBLE = 5;
+    private static final int STRING = 6;
+    private static final int ENUM = 7;
+
+
+    /**
+     * METHOD TO RESTORE PROCESSED STARTING POPULATION FROM SNAPSHOT
+     * @param databaseUrl location of H2 input database (DatabaseUtils.databaseInputUrl)
+     * @return processed dataset, or null if no valid snapshot is available
+     */
+    public static Processed load(String databaseUrl, Country country, int startYear, int popSize, boolean noTargets) {
+
+        Path path = getPath(databaseUrl, country, startYear, popSize, noTargets);
+        if (!Files.exists(path))
+            return null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("file too large to map");
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                return null;
+            long processedId = buffer.getLong();
+            if (!country.name().equals(readString(buffer)) || buffer.getInt() != startYear || buffer.getInt() != popSize ||
+                    (buffer.get() != 0) != noTargets)
+                return null;
+            if (!readString(buffer).equals(getStamp(databaseUrl, processedId))) {
+                System.out.println("Population snapshot " + path + " does not match input database; loading starting population from database");
+                return null;
+            }
+
+            List<Household> households = readTable(buffer, Household.class, null);
+            List<BenefitUnit> benefitUnits = readTable(buffer, BenefitUnit.class, households);
+            readTable(buffer, Person.class, benefitUnits);
+
+            Processed processed = new Processed(processedId, country, startYear, popSize, noTargets);
+            for (Household household : households) {
+                household.setProcessed(processed);
+            }
+            processed.setHouseholds(new LinkedHashSet<>(households));
+            System.out.println("Restored starting population from snapshot " + path);
+            return processed;
+        } catch (IOException | SQLException | ReflectiveOperationException | RuntimeException e) {
+            System.out.println("Unable to read population snapshot " + path + " (" + e.getMessage() + "); loading starting population from database");
+            return null;
+        }
+    }
+
+    /**
+     * METHOD TO SAVE PROCESSED STARTING POPULATION
+     * @param databaseUrl location of H2 input database (DatabaseUtils.databaseInputUrl)
+     * @param processed processed dataset, as persisted to (or loaded from) the input database
+     */
+    public static void save(String databaseUrl, Processed processed) {
+
+        Path path = getPath(databaseUrl, processed.getCountry(), processed.getStartYear(), processed.getPopSize(), processed.isNoTargets());
+        Path temp = Paths.get(path + ".tmp");
+        try {
+
+            String stamp;
+            try (Connection conn = DriverManager.getConnection("jdbc:h2:file:" + databaseUrl, "sa", "");
+                 Statement stat = conn.createStatement()) {
+
+                try (ResultSet rs = stat.executeQuery("SELECT COUNT(*) FROM PROCESSED WHERE ID = " + processed.getId())) {
+                    if (!rs.next() || rs.getInt(1) != 1)
+                        throw new IOException("processed dataset " + processed.getId() + " not stored in database");
+                }
+                stamp = getStamp(stat, processed.getId());
+                if (stamp == null)
+                    stamp = recordStamp(stat, processed.getId());    // dataset persisted before stamps were recorded, as just loaded
+            }
+
+            // order entities as returned by SimPathsModel.getProcessed
+            List<Household> households = new ArrayList<>(processed.getHouseholds());
+            households.sort(Comparator.comparingLong(Household::getId));
+            List<BenefitUnit> benefitUnits = new ArrayList<>();
+            List<Person> persons = new ArrayList<>();
+            for (Household household : households) {
+                List<BenefitUnit> units = new ArrayList<>(household.getBenefitUnits());
+                units.sort(Comparator.comparingLong(BenefitUnit::getId));
+                benefitUnits.addAll(units);
+            }
+            int[] householdRows = new int[benefitUnits.size()];
+            Map<Household, Integer> householdIndex = index(households);
+            for (int ii=0; ii<benefitUnits.size(); ii++) {
+                householdRows[ii] = householdIndex.get(benefitUnits.get(ii).getHousehold());
+                persons.addAll(benefitUnits.get(ii).getMembers());
+            }
+            int[] benefitUnitRows = new int[persons.size()];
+            Map<BenefitUnit, Integer> benefitUnitIndex = index(benefitUnits);
+            for (int ii=0; ii<persons.size(); ii++) {
+                benefitUnitRows[ii] = benefitUnitIndex.get(persons.get(ii).getBenefitUnit());
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(processed.getId());
+                writeString(out, processed.getCountry().name());
+                out.writeInt(processed.getStartYear());
+                out.writeInt(processed.getPopSize());
+                out.writeBoolean(processed.isNoTargets());
+                writeString(out, stamp);
+                writeTable(out, Household.class, households, null);
+                writeTable(out, BenefitUnit.class, benefitUnits, householdRows);
+                writeTable(out, Person.class, persons, benefitUnitRows);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | SQLException | ReflectiveOperationException | RuntimeException e) {
+            // snapshot is an optimisation only - report and continue
+            System.out.println("Unable to save population snapshot " + path + " (" + e.getMessage() + ")");
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ee) {
+                // ignore
+            }
+        }
+    }
+
+    private static Path getPath(String databaseUrl, Country country, int startYear, int popSize, boolean noTargets) {
+        return Paths.get(databaseUrl + ".population_" + country + "_" + startYear + "_" + popSize +
+                (noTargets ? "_notargets" : "") + FILE_SUFFIX);
+    }
+
+    private static <T> Map<T, Integer> index(List<T> entities) {
+        Map<T, Integer> index = new IdentityHashMap<>();
+        for (int ii=0; ii<entities.size(); ii++) {
+            index.put(entities.get(ii), ii);
+        }
+        return index;
+    }
+
+    /**
+     * METHOD TO RECORD A NEW STAMP FOR A PROCESSED DATASET
+     * Called whenever the dataset is written to the input database (see SimPathsModel.persistProcessed), so that
+     * snapshots saved for earlier contents of the dataset are no longer used
+     * @param databaseUrl location of H2 input database
+     * @param processedId id of processed dataset
+     * @return stamp recorded
+     */
+    public static String recordStamp(String databaseUrl, long processedId) throws SQLException {
+
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:file:" + databaseUrl, "sa", "");
+             Statement stat = conn.createStatement()) {
+            return recordStamp(stat, processedId);
+        }
+    }
+
+    private static String recordStamp(Statement stat, long processedId) throws SQLException {
+
+        String stamp = UUID.randomUUID().toString();
+        stat.execute("CREATE TABLE IF NOT EXISTS " + STAMP_TABLE + " (PROCESSED_ID BIGINT NOT NULL PRIMARY KEY, STAMP VARCHAR(36) NOT NULL);"
+                + "DELETE FROM " + STAMP_TABLE + " WHERE PROCESSED_ID = " + processedId + ";"
+                + "INSERT INTO " + STAMP_TABLE + " VALUES (" + processedId + ", '" + stamp + "');");
+        return stamp;
+    }
+
+    /**
+     * METHOD TO OBTAIN THE STAMP OF A PROCESSED DATASET, READING A SINGLE ROW OF THE INPUT DATABASE
+     * @return stamp, or null if none is recorded (e.g. databases generated before stamps were introduced)
+     */
+    private static String getStamp(String databaseUrl, long processedId) throws SQLException {
+
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:file:" + databaseUrl + ";ACCESS_MODE_DATA=r", "sa", "");
+             Statement stat = conn.createStatement()) {
+            return getStamp(stat, processedId);
+        }
+    }
+
+    private static String getStamp(Statement stat, long processedId) throws SQLException {
+
+        try (ResultSet rs = stat.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = '" + STAMP_TABLE + "'")) {
+            if (!rs.next() || rs.getInt(1) == 0)
+                return null;
+        }
+        try (ResultSet rs = stat.executeQuery("SELECT STAMP FROM " + STAMP_TABLE + " WHERE PROCESSED_ID = " + processedId)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+
+    /**
+     * METHODS TO WRITE AND READ ENTITY TABLES
+     */
+    private static void writeTable(DataOutputStream out, Class<?> entityClass, List<?> rows, int[] parentRows)
+            throws IOException, IllegalAccessException {
+
+        List<Column> columns = getColumns(entityClass);
+        writeString(out, entityClass.getSimpleName());
+        out.writeInt(rows.size());
+        out.writeInt(columns.size());
+        for (Column column : columns) {
+            writeString(out, column.name);
+            out.writeByte(column.type);
+            if (column.type == ENUM) {
+                Object[] constants = column.field.getType().getEnumConstants();
+                out.writeInt(constants.length);
+                for (Object constant : constants) writeString(out, ((Enum<?>) constant).name());
+            }
+        }
+        if (parentRows != null) {
+            for (int row : parentRows) out.writeInt(row);
+        }
+        for (Column column : columns) {
+
+            Object[] values = new Object[rows.size()];
+            for (int ii=0; ii<values.length; ii++) {
+                values[ii] = column.get(rows.get(ii));
+            }
+            if (column.nullable) {
+                for (Object value : values) out.writeBoolean(value == null);
+            }
+            for (Object value : values) {
+                switch (column.type) {
+                    case BOOLEAN -> out.writeBoolean(value != null && (Boolean) value);
+                    case INT -> out.writeInt((value == null) ? 0 : (Integer) value);
+                    case LONG -> out.writeLong((value == null) ? 0L : (Long) value);
+                    case FLOAT -> out.writeFloat((value == null) ? 0.0f : (Float) value);
+                    case DOUBLE -> out.writeDouble((value == null) ? 0.0 : (Double) value);
+                    case STRING -> writeString(out, (String) value);
+                    case ENUM -> out.writeInt((value == null) ? -1 : ((Enum<?>) value).ordinal());
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> List<T> readTable(ByteBuffer buffer, Class<T> entityClass, List<?> parents)
+            throws IOException, ReflectiveOperationException {
+
+        List<Column> columns = getColumns(entityClass);
+        if (!entityClass.getSimpleName().equals(readString(buffer)))
+            throw new IOException("unexpected table");
+        int numberRows = buffer.getInt();
+        if (buffer.getInt() != columns.size())
+            throw new IOException("fields of " + entityClass.getSimpleName() + " have changed");
+        Object[][] dictionaries = new Object[columns.size()][];
+        for (int cc=0; cc<columns.size(); cc++) {
+            Column column = columns.get(cc);
+            if (!column.name.equals(readString(buffer)) || buffer.get() != column.type)
+                throw new IOException("fields of " + entityClass.getSimpleName() + " have changed");
+            if (column.type == ENUM) {
+                dictionaries[cc] = new Object[buffer.getInt()];
+                for (int ii=0; ii<dictionaries[cc].length; ii++) {
+                    dictionaries[cc][ii] = Enum.valueOf((Class<Enum>) column.field.getType(), readString(buffer));
+                }
+            }
+        }
+
+        // instantiate entities
+        List<T> rows = new ArrayList<>(numberRows);
+        for (int ii=0; ii<numberRows; ii++) {
+            rows.add(entityClass.getDeclaredConstructor().newInstance());
+        }
+        int[] parentRows = null;
+        if (parents != null) {
+            parentRows = new int[numberRows];
+            for (int ii=0; ii<numberRows; ii++) parentRows[ii] = buffer.getInt();
+        }
+
+        // populate fields
+        for (int cc=0; cc<columns.size(); cc++) {
+
+            Column column = columns.get(cc);
+            boolean[] nulls = null;
+            if (column.nullable) {
+                nulls = new boolean[numberRows];
+                for (int ii=0; ii<numberRows; ii++) nulls[ii] = (buffer.get() != 0);
+            }
+            for (int ii=0; ii<numberRows; ii++) {
+                Object value = switch (column.type) {
+                    case BOOLEAN -> buffer.get() != 0;
+                    case INT -> buffer.getInt();
+                    case LONG -> buffer.getLong();
+                    case FLOAT -> buffer.getFloat();
+                    case DOUBLE -> buffer.getDouble();
+                    case STRING -> readString(buffer);
+                    case ENUM -> {
+                        int ordinal = buffer.getInt();
+                        yield (ordinal < 0) ? null : dictionaries[cc][ordinal];
+                    }
+                    default -> throw new IOException("unrecognised column type");
+                };
+                if (nulls != null && nulls[ii])
+                    value = null;
+                column.set(rows.get(ii), value);
+            }
+        }
+
+        // restore object graph, once keys are populated
+        if (parents != null) {
+            for (int ii=0; ii<numberRows; ii++) {
+                Object parent = parents.get(parentRows[ii]);
+                if (rows.get(ii) instanceof Person person) {
+                    setField(Person.class, "benefitUnit", person, parent);
+                    ((BenefitUnit) parent).getMembers().add(person);
+                } else if (rows.get(ii) instanceof BenefitUnit benefitUnit) {
+                    setField(BenefitUnit.class, "household", benefitUnit, parent);
+                    ((Household) parent).getBenefitUnits().add(benefitUnit);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void setField(Class<?> entityClass, String name, Object entity, Object value) throws ReflectiveOperationException {
+        Field field = entityClass.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(entity, value);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0)
+            return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * METHODS TO IDENTIFY PERSISTED FIELDS
+     * RELATIONSHIPS ARE EXCLUDED (THESE ARE STORED AS PARENT ROWS), AND EMBEDDED OBJECTS ARE STORED AS ONE COLUMN
+     * PER FIELD
+     */
+    private static List<Column> getColumns(Class<?> entityClass) {
+
+        List<Column> columns = new ArrayList<>();
+        for (Field field : getPersistedFields(entityClass)) {
+            if (field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToOne.class) ||
+                    field.isAnnotationPresent(OneToOne.class) || field.isAnnotationPresent(ManyToMany.class))
+                continue;
+            if (field.isAnnotationPresent(EmbeddedId.class) || field.isAnnotationPresent(Embedded.class)) {
+                for (Field embedded : getPersistedFields(field.getType())) {
+                    columns.add(new Column(field.getName() + "." + embedded.getName(), field, embedded));
+                }
+            } else {
+                columns.add(new Column(field.getName(), null, field));
+            }
+        }
+        return columns;
+    }
+
+    private static List<Field> getPersistedFields(Class<?> type) {
+
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> cls = type; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isAnnotationPresent(Transient.class))
+                    continue;
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static final class Column {
+
+        final String name;
+        final Field owner;      // embedded object holding field (null if field is declared by entity)
+        final Field field;
+        final int type;
+        final boolean nullable; // boxed primitive, stored with a null flag for each row
+
+        Column(String name, Field owner, Field field) {
+
+            this.name = name;
+            this.owner = owner;
+            this.field = field;
+            Class<?> cls = field.getType();
+            if (cls == boolean.class || cls == Boolean.class) type = BOOLEAN;
+            else if (cls == int.class || cls == Integer.class) type = INT;
+            else if (cls == long.class || cls == Long.class) type = LONG;
+            else if (cls == float.class || cls == Float.class) type = FLOAT;
+            else if (cls == double.class || cls == Double.class) type = DOUBLE;
+            else if (cls == String.class) type = STRING;
+            else if (cls.isEnum()) type = ENUM;
+            else throw new IllegalStateException("unsupported type of persisted field " + name);
+            nullable = !cls.isPrimitive() && type != STRING && type != ENUM;
+        }
+
+        Object get(Object entity) throws IllegalAccessException {
+            Object target = (owner == null) ? entity : owner.get(entity);
+            return (target == null) ? null : field.get(target);
+        }
+
+        void set(Object entity, Object value) throws IllegalAccessException {
+            Object target = (owner == null) ? entity : owner.get(entity);
+            if (target == null)
+                throw new IllegalStateException("embedded field " + name + " not instantiated");
+            if (value != null || !field.getType().isPrimitive())
+                field.set(target, value);
+        }
+    }
+}
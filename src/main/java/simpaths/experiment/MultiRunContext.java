@@ -0,0 +1,91 @@
+package simpaths.experiment;
+
+
+/**
+ *
+ * CLASS TO STORE THE SETTINGS THAT DISTINGUISH ONE RUN OF A MULTI-RUN EXPERIMENT FROM ANOTHER
+ *
+ * CONTEXTS ARE IMMUTABLE. THE CONTEXT OF EACH RUN IS OBTAINED FROM THE CONTEXT OF THE PRECEDING RUN VIA next(),
+ * SO THAT RUNS EXECUTED CONCURRENTLY (SEE MultiRunThreads) USE THE SAME SETTINGS AS RUNS EXECUTED SEQUENTIALLY
+ * BY SimPathsMultiRun
+ *
+ */
+public class MultiRunContext {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private final long counter;                             // index of run, starting from 0
+    private final Long randomSeed;
+    private final double interestRateInnov;
+    private final double disposableIncomeFromLabourInnov;
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    public MultiRunContext(long counter, Long randomSeed, double interestRateInnov, double disposableIncomeFromLabourInnov) {
+        this.counter = counter;
+        this.randomSeed = randomSeed;
+        this.interestRateInnov = interestRateInnov;
+        this.disposableIncomeFromLabourInnov = disposableIncomeFromLabourInnov;
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO OBTAIN CONTEXT OF THE FOLLOWING RUN
+     * @param randomSeedInnov increment random seed between runs
+     * @param intertemporalElasticityInnov perturb interest rate in runs 1 and 2
+     * @param labourSupplyElasticityInnov perturb disposable income from labour in runs 1 and 2
+     */
+    public MultiRunContext next(boolean randomSeedInnov, boolean intertemporalElasticityInnov, boolean labourSupplyElasticityInnov) {
+
+        long nextCounter = counter + 1;
+        Long nextRandomSeed = randomSeed;
+        double nextInterestRateInnov = interestRateInnov;
+        double nextDisposableIncomeFromLabourInnov = disposableIncomeFromLabourInnov;
+        if (randomSeedInnov) {
+            nextRandomSeed = randomSeed + 1;
+        }
+        if (intertemporalElasticityInnov) {
+            if (nextCounter==1)
+                nextInterestRateInnov = 0.0075;
+            else if (nextCounter==2)
+                nextInterestRateInnov = -0.0075;
+        }
+        if (labourSupplyElasticityInnov) {
+            if (nextCounter==1)
+                nextDisposableIncomeFromLabourInnov = 0.01;
+            else if (nextCounter==2)
+                nextDisposableIncomeFromLabourInnov = -0.01;
+        }
+        return new MultiRunContext(nextCounter, nextRandomSeed, nextInterestRateInnov, nextDisposableIncomeFromLabourInnov);
+    }
+
+    /**
+     * GETTERS
+     */
+    public long getCounter() {
+        return counter;
+    }
+    public boolean isFirstRun() {
+        return counter == 0;
+    }
+    public Long getRandomSeed() {
+        return randomSeed;
+    }
+    public double getInterestRateInnov() {
+        return interestRateInnov;
+    }
+    public double getDisposableIncomeFromLabourInnov() {
+        return disposableIncomeFromLabourInnov;
+    }
+    public String getRunLabel() {
+        return randomSeed.toString() + "_" + counter;
+    }
+}
@@ -0,0 +1,321 @@
+package simpaths.experiment;
+
+import microsim.data.db.DatabaseUtils;
+import org.apache.log4j.FileAppender;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.spi.Filter;
+import org.apache.log4j.spi.LoggingEvent;
+import simpaths.data.Parameters;
+import simpaths.model.RunScope;
+import simpaths.model.SimPathsModel;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+
+/**
+ *
+ * CLASS TO EXECUTE THE RUNS OF A MULTI-RUN EXPERIMENT CONCURRENTLY, ON SEPARATE THREADS OF ONE JVM
+ *
+ * EACH RUN IS CONFIGURED BY ITS MultiRunContext, AND IS BOUND TO THE THREAD THAT EXECUTES IT BY A RunScope, WHICH
+ * SUPPLIES THE EVENT QUEUE, OUTPUT FOLDER, RANDOM NUMBER GENERATOR AND AGENT ID COUNTERS OF THE RUN IN PLACE OF
+ * THOSE OF THE JAS-MINE SIMULATION ENGINE, AND HOLDS THE ALIGNMENT ADJUSTMENTS OF THE RUN (SEE AlignmentAdjustments)
+ * IN PLACE OF THOSE STORED IN Parameters. AT MOST parallelRuns RUNS EXECUTE AT ANY TIME
+ *
+ * PARAMETERS, TAX DONOR REFERENCES (INCLUDING THE DONOR POOL) AND DECISION GRIDS ARE STATIC, AND ARE LOADED ONCE BY
+ * THE FIRST RUN OF EACH GROUP OF RUNS THAT SHARE THE SAME INNOVATIONS. REMAINING RUNS OF THE GROUP START ONCE THAT
+ * RUN REPORTS THAT THE SHARED STATE IS READY, AND THEN USE IT WITHOUT RELOADING (SEE SimPathsModel.useSharedParameters).
+ * GROUPS ARE EXECUTED IN TURN, AS THE INNOVATIONS AFFECT THE SHARED STATE. THE FIRST RUN OF THE EXPERIMENT PREPARES THE
+ * INPUT DATABASE, WHICH IS ONLY READ BY SUBSEQUENT RUNS. EMPLOYMENT ALIGNMENT ADJUSTS THE (SHARED) COEFFICIENTS OF THE
+ * LABOUR SUPPLY UTILITY FUNCTION, AND SO IS ONLY PERMITTED WHERE RUNS ARE EXECUTED ONE AT A TIME
+ *
+ * THE ENGINE EXPORTS DATA TO THE OUTPUT FOLDER OF ITS OWN EXPERIMENT, SO THE COLLECTOR OF EACH RUN WRITES ITS .csv (OR
+ * COLUMNAR) FILES TO THE OUTPUT FOLDER OF THE RUN, THROUGH ITS OWN EXPORT QUEUE. EXPORT TO THE OUTPUT DATABASE OF THE
+ * ENGINE IS NOT SUPPORTED, AS IT IS SHARED BY ALL RUNS
+ *
+ */
+public class MultiRunThreads {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private final List<MultiRunContext> contexts;
+    private final int parallelRuns;
+    private final Function<MultiRunContext, SimPathsModel> builder;    // builds model and collector of each run
+    private final boolean outputToFile;                                 // write console output and log of each run to output/logs
+    private final String started = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+    private final RunConsole runConsole = new RunConsole(System.out);
+
+
+    /**
+     * CONSTRUCTOR
+     * @param contexts contexts of runs to execute, starting from the first run
+     * @param parallelRuns maximum number of runs to execute concurrently
+     * @param builder function that builds the model (and its collector) of the run described by a context
+     * @param outputToFile true to write the console output and log of each run to files labelled by the run
+     */
+    public MultiRunThreads(List<MultiRunContext> contexts, int parallelRuns, Function<MultiRunContext, SimPathsModel> builder,
+                           boolean outputToFile) {
+        this.contexts = contexts;
+        this.parallelRuns = parallelRuns;
+        this.builder = builder;
+        this.outputToFile = outputToFile;
+    }
+
+
+    /*
+     * WORKING METHODS
+     */
+
+
+    /**
+     * METHOD TO EXECUTE ALL RUNS, RETURNING WHEN ALL RUNS HAVE TERMINATED
+     * @return number of runs that failed
+     */
+    public int run() {
+
+        // runs that share innovations share the state loaded by the first of them
+        Map<String, List<MultiRunContext>> groups = new LinkedHashMap<>();
+        for (MultiRunContext context : contexts) {
+            String innovations = context.getInterestRateInnov() + ":" + context.getDisposableIncomeFromLabourInnov();
+            groups.computeIfAbsent(innovations, key -> new ArrayList<>()).add(context);
+        }
+        if (DatabaseUtils.databaseInputUrl == null)
+            DatabaseUtils.databaseInputUrl = Parameters.INPUT_DIRECTORY + "input";    // otherwise set up by the engine
+
+        System.out.println("Executing " + contexts.size() + " runs with up to " + parallelRuns + " concurrent threads");
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(runConsole, true));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelRuns);
+        int failed = 0;
+        try {
+            for (List<MultiRunContext> group : groups.values()) {
+
+                CountDownLatch released = new CountDownLatch(1);
+                AtomicBoolean shared = new AtomicBoolean(false);
+                List<Future<Boolean>> results = new ArrayList<>();
+                results.add(executor.submit(() -> execute(group.get(0), false, () -> {
+                    shared.set(true);
+                    released.countDown();
+                }, released)));
+                released.await();
+                for (int ii=1; ii<group.size(); ii++) {
+                    MultiRunContext context = group.get(ii);
+                    if (shared.get()) {
+                        results.add(executor.submit(() -> execute(context, true, null, null)));
+                    } else {
+                        console.println("[run " + context.getRunLabel() + "] not executed, as run " +
+                                group.get(0).getRunLabel() + " failed to load the state that it shares");
+                        failed++;
+                    }
+                }
+                for (Future<Boolean> result : results) {
+                    if (!result.get())
+                        failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting for runs to complete", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("problem executing runs", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            System.setOut(console);
+        }
+        System.out.println("Completed " + (contexts.size() - failed) + " of " + contexts.size() + " runs");
+        return failed;
+    }
+
+    /**
+     * METHOD TO EXECUTE A SINGLE RUN ON THE CURRENT THREAD
+     * @param context settings of run
+     * @param useSharedState true if the run uses the state loaded by an earlier run
+     * @param onSharedStateReady called once the run has loaded the state that it shares (may be null)
+     * @param released released when the run terminates (may be null)
+     * @return true if the run completed normally
+     */
+    private boolean execute(MultiRunContext context, boolean useSharedState, Runnable onSharedStateReady,
+                            CountDownLatch released) {
+
+        String label = context.getRunLabel();
+        String outputFolder = Parameters.WORKING_DIRECTORY + File.separator + "output" + File.separator + started + "_" + label;
+        new File(outputFolder).mkdirs();
+        Thread.currentThread().setName("run " + label);
+        RunScope scope = new RunScope(label, outputFolder, context.getRandomSeed());
+        RunScope previous = RunScope.bind(scope);
+        FileAppender appender = null;
+        try (PrintStream output = openOutput(label)) {
+
+            runConsole.bind(output);
+            if (outputToFile)
+                appender = openLog(label);
+
+            SimPathsModel model = builder.apply(context);
+            if (parallelRuns > 1 && model.isAlignEmployment())
+                throw new IllegalStateException("employment alignment adjusts regression coefficients shared by all runs, and so cannot be used with concurrent runs");
+            SimPathsCollector collector = model.getCollector();
+            model.setUseSharedParameters(useSharedState);
+            model.setOnSharedStateReady(onSharedStateReady);
+            collector.setExportToDatabase(false);
+            collector.setExportCsvInBackground(true);
+            scope.setManagers(model, collector);
+
+            // build in the order of the managers added to the engine by SimPathsMultiRun.buildExperiment
+            model.buildObjects();
+            model.buildSchedule();
+            collector.buildObjects();
+            collector.buildSchedule();
+            while (!scope.isComplete()) {
+                scope.getEventQueue().step();
+            }
+            System.out.println("Run " + label + " completed");
+            return true;
+        } catch (Exception e) {
+            System.out.println("Run " + label + " failed (" + e + ")");
+            e.printStackTrace(System.out);
+            return false;
+        } finally {
+            runConsole.bind(null);
+            if (appender != null) {
+                Logger.getRootLogger().removeAppender(appender);
+                appender.close();
+            }
+            RunScope.bind(previous);
+            if (released != null) released.countDown();
+        }
+    }
+
+    /**
+     * METHOD TO OPEN CONSOLE OUTPUT OF RUN: FILE output/logs/run_[seed]_[run index].txt IF outputToFile, AND
+     * OTHERWISE THE CONSOLE, WITH EACH LINE PREFIXED BY THE RUN LABEL
+     */
+    private PrintStream openOutput(String label) throws IOException {
+
+        if (outputToFile) {
+            File logDir = new File("output/logs");
+            logDir.mkdirs();
+            return new PrintStream(new BufferedOutputStream(new FileOutputStream(logDir.getPath() + "/run_" + label + ".txt")), true);
+        }
+        return new PrintStream(new PrefixedLines("[run " + label + "] ", runConsole.console), true);
+    }
+
+    /**
+     * METHOD TO OPEN LOG OF RUN, output/logs/run_[seed]_[run index].log, WHICH RECORDS EVENTS LOGGED BY THE THREAD
+     * EXECUTING THE RUN
+     */
+    private static FileAppender openLog(String label) {
+
+        String threadName = Thread.currentThread().getName();
+        FileAppender appender = new FileAppender();
+        appender.setName("Run logging " + label);
+        appender.setFile("output/logs/run_" + label + ".log");
+        appender.setAppend(false);
+        appender.setLayout(new PatternLayout("%d{yyyy MMM dd HH:mm:ss} - %m%n"));
+        appender.addFilter(new Filter() {
+            @Override
+            public int decide(LoggingEvent event) {
+                return threadName.equals(event.getThreadName()) ? Filter.NEUTRAL : Filter.DENY;
+            }
+        });
+        appender.activateOptions();
+        Logger.getRootLogger().setLevel(Level.DEBUG);
+        Logger.getRootLogger().addAppender(appender);
+        return appender;
+    }
+
+
+    /**
+     * CLASS TO DIRECT OUTPUT WRITTEN TO System.out BY EACH THREAD TO THE OUTPUT OF THE RUN THAT IT EXECUTES
+     * output of threads that do not execute a run is written to the console
+     */
+    private static class RunConsole extends OutputStream {
+
+        private final PrintStream console;
+        private final ThreadLocal<PrintStream> output = new ThreadLocal<>();
+
+        RunConsole(PrintStream console) {
+            this.console = console;
+        }
+
+        void bind(PrintStream stream) {
+            if (stream == null)
+                output.remove();
+            else
+                output.set(stream);
+        }
+
+        private PrintStream target() {
+            PrintStream stream = output.get();
+            return (stream != null) ? stream : console;
+        }
+
+        @Override
+        public void write(int b) {
+            target().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            target().write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            target().flush();
+        }
+    }
+
+
+    /**
+     * CLASS TO WRITE COMPLETE LINES TO THE CONSOLE, EACH PREFIXED BY THE LABEL OF A RUN
+     */
+    private static class PrefixedLines extends OutputStream {
+
+        private final String prefix;
+        private final PrintStream console;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        PrefixedLines(String prefix, PrintStream console) {
+            this.prefix = prefix;
+            this.console = console;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                console.println(prefix + line.toString().stripTrailing());
+                line.reset();
+            } else {
+                line.write(b);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (line.size() > 0)
+                write('\n');
+        }
+    }
+}
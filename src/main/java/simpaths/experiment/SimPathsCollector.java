@@ -2,13 +2,18 @@
 package simpaths.experiment;
 
 // import Java packages
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import simpaths.data.filters.FlexibleInLabourSupplyFilter;
 import simpaths.model.BenefitUnit;
+import simpaths.model.Household;
 import simpaths.model.SimPathsModel;
 import simpaths.model.enums.Quintiles;
 import microsim.statistics.Series;
@@ -21,18 +26,22 @@ import org.apache.log4j.Logger;
 import microsim.annotation.GUIparameter;
 import microsim.data.DataExport;
 import microsim.engine.AbstractSimulationCollectorManager;
-import microsim.engine.SimulationEngine;
 import microsim.engine.SimulationManager;
 import microsim.event.EventListener;
 import microsim.event.SingleTargetEvent;
 import microsim.statistics.CrossSection;
 import microsim.statistics.IDoubleSource;
 // import LABOURsim packages
+import simpaths.data.ColumnarExport;
+import simpaths.data.CsvExport;
+import simpaths.data.ExportQueue;
 import simpaths.data.Parameters;
+import simpaths.data.ProcessProfile;
 import simpaths.data.statistics.Statistics;
 import simpaths.data.statistics.Statistics2;
 import simpaths.data.statistics.Statistics3;
 import simpaths.model.Person;
+import simpaths.model.RunScope;
 import simpaths.model.enums.Region;
 
 import static simpaths.model.Person.DoublesVariables.GrossLabourIncomeMonthly;
@@ -63,6 +72,18 @@ public class SimPathsCollector extends AbstractSimulationCollectorManager implem
     @GUIparameter(description="Toggle to turn export to .csv files on/off")
     private boolean exportToCSV = true;
 
+    @GUIparameter(description="Toggle to write .csv files on a background thread to the output folder of the run, in place of the JAS-mine exporter")
+    private boolean exportCsvInBackground = false;
+
+    @GUIparameter(description="Toggle to export persons, benefit units and households to compressed columnar files in place of .csv files (statistics remain in .csv files)")
+    private boolean exportToColumnar = false;
+
+    @GUIparameter(description="Fields of persons, benefit units and households to export to columnar files, or to .csv files written in the background (comma separated; all if empty)")
+    private String columnarExportFields = "";
+
+    @GUIparameter(description="Number of columnar exports, or .csv exports written in the background, that may be queued for writing before the simulation waits")
+    private int exportQueueCapacity = 2;
+
     @GUIparameter(description="Toggle to turn persistence of statistics on/off")
     private boolean persistStatistics = true;
 
@@ -115,6 +136,26 @@ public class SimPathsCollector extends AbstractSimulationCollectorManager implem
 
     private DataExport exportStatistics3;
 
+    private ExportQueue exportQueue;
+
+    private CsvExport<Person> csvPersons;
+
+    private CsvExport<BenefitUnit> csvBenefitUnits;
+
+    private CsvExport<Household> csvHouseholds;
+
+    private CsvExport<Statistics> csvStatistics;
+
+    private CsvExport<Statistics2> csvStatistics2;
+
+    private CsvExport<Statistics3> csvStatistics3;
+
+    private ColumnarExport<Person> columnarPersons;
+
+    private ColumnarExport<BenefitUnit> columnarBenefitUnits;
+
+    private ColumnarExport<Household> columnarHouseholds;
+
     protected MultiTraceFunction.Double fGiniPersonalGrossEarningsNational;
 
     protected Map<Region, MultiTraceFunction.Double> fGiniPersonalGrossEarningsRegionalMap;
@@ -160,7 +201,29 @@ public class SimPathsCollector extends AbstractSimulationCollectorManager implem
      */
     @Override
     public void onEvent(Enum<?> type) {
-        switch ((Processes) type) {
+
+        if (ProcessProfile.isEnabled()) {
+
+            ProcessProfile.Counter counter = ProcessProfile.counter("SimPathsCollector." + type.name(), true);
+            ProcessProfile.Sample sample = counter.start();
+            evaluate((Processes) type);
+            counter.stop(sample, agentsProcessed((Processes) type));
+        } else {
+            evaluate((Processes) type);
+        }
+    }
+
+    private int agentsProcessed(Processes type) {
+        return switch (type) {
+            case DumpPersons -> model.getPersons().size();
+            case DumpBenefitUnits -> model.getBenefitUnits().size();
+            case DumpHouseholds -> model.getHouseholds().size();
+            default -> 0;
+        };
+    }
+
+    private void evaluate(Processes type) {
+        switch (type) {
 
         case CalculateSIndex:
             calculateSIndex();
@@ -175,52 +238,45 @@ public class SimPathsCollector extends AbstractSimulationCollectorManager implem
             break;
         //To output data:
         case DumpPersons:
-            try {
-                exportPersons.export();
-            } catch (Exception e) {
-                log.error(e.getMessage());
-            }
+            export(model.getPersons(), csvPersons, columnarPersons, exportPersons);
             break;
         case DumpBenefitUnits:
-            try {
-                exportBenefitUnits.export();
-            } catch (Exception e) {
-                log.error(e.getMessage());
-            }
+            export(model.getBenefitUnits(), csvBenefitUnits, columnarBenefitUnits, exportBenefitUnits);
             break;
         case DumpHouseholds:
-            try {
-                exportHouseholds.export();
-            } catch (Exception e) {
-                log.error(e.getMessage());
-            }
+            export(model.getHouseholds(), csvHouseholds, columnarHouseholds, exportHouseholds);
             break;
         case DumpStatistics:
-            try {
-                exportStatistics.export();
-            } catch (Exception e) {
-                log.error(e.getMessage());
-            }
+            export(List.of(stats), csvStatistics, null, exportStatistics);
             break;
         case DumpStatistics2:
             stats2.update(model);
-            try {
-                exportStatistics2.export();
-            } catch (Exception e) {
-                log.error(e.getMessage());
-            }
+            export(List.of(stats2), csvStatistics2, null, exportStatistics2);
             break;
 		case DumpStatistics3:
 			stats3.update(model);
-			try {
-				exportStatistics3.export();
-			} catch (Exception e) {
-				log.error(e.getMessage());
-			}
+			export(List.of(stats3), csvStatistics3, null, exportStatistics3);
 			break;
         }
     }
 
+    /**
+     * METHOD TO EXPORT ENTITIES AT THE CURRENT YEAR. VALUES ARE COPIED HERE, ON THE SIMULATION THREAD, AND WRITTEN TO
+     * .csv AND COLUMNAR FILES BY THE EXPORT QUEUE
+     */
+    private <T> void export(Collection<T> entities, CsvExport<T> csv, ColumnarExport<T> columnar, DataExport database) {
+        try {
+            if (csv != null)
+                csv.export(entities, model.getYear());
+            if (columnar != null)
+                columnar.export(entities, model.getYear());
+            if (database != null)
+                database.export();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+        }
+    }
+
 
     // ---------------------------------------------------------------------
     // Manager
@@ -235,19 +291,61 @@ public class SimPathsCollector extends AbstractSimulationCollectorManager implem
         stats2 = new Statistics2();
         stats3 = new Statistics3();
 
-        //For export to database or .csv files.
-        if(persistPersons)
-            exportPersons = new DataExport(model.getPersons(), exportToDatabase, exportToCSV);
-        if(persistBenefitUnits)
-            exportBenefitUnits = new DataExport(model.getBenefitUnits(), exportToDatabase, exportToCSV);
-        if (persistHouseholds)
-            exportHouseholds = new DataExport(model.getHouseholds(), exportToDatabase, exportToCSV);
-        if (persistStatistics)
-            exportStatistics = new DataExport(stats, exportToDatabase, exportToCSV);
-        if (persistStatistics2)
-            exportStatistics2 = new DataExport(stats2, exportToDatabase, exportToCSV);
-        if (persistStatistics3)
-            exportStatistics3 = new DataExport(stats3, exportToDatabase, exportToCSV);
+        //For export to database, .csv or columnar files. Statistics are exported to .csv files alongside columnar files.
+        //By default, .csv files are written by the JAS-mine exporter (DataExport), and otherwise by CsvExport in the
+        //same layout
+        List<String> fields = new ArrayList<>();
+        for (String field : columnarExportFields.split(",")) {
+            if (!field.isBlank())
+                fields.add(field.trim());
+        }
+        boolean csvInBackground = exportToCSV && exportCsvInBackground;
+        if (csvInBackground || exportToColumnar) {
+            String csvDirectory = RunScope.outputFolder() + File.separator + "csv";
+            exportQueue = new ExportQueue(exportQueueCapacity);
+            if (exportToColumnar) {
+                String directory = RunScope.outputFolder() + File.separator + "columnar";
+                if (persistPersons)
+                    columnarPersons = new ColumnarExport<>(Person.class, directory, fields, exportQueue);
+                if (persistBenefitUnits)
+                    columnarBenefitUnits = new ColumnarExport<>(BenefitUnit.class, directory, fields, exportQueue);
+                if (persistHouseholds)
+                    columnarHouseholds = new ColumnarExport<>(Household.class, directory, fields, exportQueue);
+            } else {
+                if (persistPersons)
+                    csvPersons = new CsvExport<>(Person.class, csvDirectory, fields, exportQueue);
+                if (persistBenefitUnits)
+                    csvBenefitUnits = new CsvExport<>(BenefitUnit.class, csvDirectory, fields, exportQueue);
+                if (persistHouseholds)
+                    csvHouseholds = new CsvExport<>(Household.class, csvDirectory, fields, exportQueue);
+            }
+            if (csvInBackground) {
+                if (persistStatistics)
+                    csvStatistics = new CsvExport<>(Statistics.class, csvDirectory, null, exportQueue);
+                if (persistStatistics2)
+                    csvStatistics2 = new CsvExport<>(Statistics2.class, csvDirectory, null, exportQueue);
+                if (persistStatistics3)
+                    csvStatistics3 = new CsvExport<>(Statistics3.class, csvDirectory, null, exportQueue);
+            }
+        }
+        boolean statisticsToCsv = exportToCSV && !exportCsvInBackground;
+        boolean entitiesToCsv = statisticsToCsv && !exportToColumnar;
+        if (exportToDatabase || entitiesToCsv) {
+            if(persistPersons)
+                exportPersons = new DataExport(model.getPersons(), exportToDatabase, entitiesToCsv);
+            if(persistBenefitUnits)
+                exportBenefitUnits = new DataExport(model.getBenefitUnits(), exportToDatabase, entitiesToCsv);
+            if (persistHouseholds)
+                exportHouseholds = new DataExport(model.getHouseholds(), exportToDatabase, entitiesToCsv);
+        }
+        if (exportToDatabase || statisticsToCsv) {
+            if (persistStatistics)
+                exportStatistics = new DataExport(stats, exportToDatabase, statisticsToCsv);
+            if (persistStatistics2)
+                exportStatistics2 = new DataExport(stats2, exportToDatabase, statisticsToCsv);
+            if (persistStatistics3)
+                exportStatistics3 = new DataExport(stats3, exportToDatabase, statisticsToCsv);
+        }
 
 
         if (calculateGiniCoefficients) {
@@ -280,45 +378,46 @@ public class SimPathsCollector extends AbstractSimulationCollectorManager implem
     @Override
     public void buildSchedule() {
 
-        SimPathsModel model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        SimPathsModel model = (SimPathsModel) getManager();
 
-        getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.CalculateHouseholdsGrossIncome), model.getStartYear(), ordering, dataDumpTimePeriod);
+        RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.CalculateHouseholdsGrossIncome), model.getStartYear(), ordering, dataDumpTimePeriod);
 
 //		getEngine().getEventQueue().scheduleRepeat(new CollectionTargetEvent(model.getHouseholds(), BenefitUnit.Processes.CalculateEquivalisedDisposableIncome, true), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
 //		getEngine().getEventQueue().scheduleOnce(new SingleTargetEvent(this, Processes.CalculateEquivalisedHouseholdDisposableIncome), model.getStartYear(), Order.BEFORE_ALL.getOrdering());
 //		getEngine().getEventQueue().scheduleOnce(new SingleTargetEvent(this, Processes.CalculateEquivalisedHouseholdDisposableIncome), model.getStartYear(), -2); //Run once in the start year, before the model?
 //		getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.CalculateEquivalisedHouseholdDisposableIncome), model.getStartYear(), ordering, dataDumpTimePeriod);
 //		getEngine().getEventQueue().scheduleOnce(new SingleTargetEvent(this, Processes.CalculateEquivalisedHouseholdDisposableIncome), model.getEndYear(), -2);
-        getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.CalculateSIndex), model.getStartYear(), ordering, dataDumpTimePeriod);
+        RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.CalculateSIndex), model.getStartYear(), ordering, dataDumpTimePeriod);
 
         if (calculateGiniCoefficients) {
-            getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.CalculateGiniCoefficients), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
+            RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.CalculateGiniCoefficients), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
         }
 
         if (persistStatistics) {
-            getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpStatistics), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
+            RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpStatistics), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
 //			getEngine().getEventQueue().scheduleOnce(new SingleTargetEvent(this, Processes.DumpStatistics), model.getEndYear(), -2);		//Ensures the database is persisted on the last time-step
         }
 
         if (persistStatistics2) {
-            getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpStatistics2), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
+            RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpStatistics2), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
         }
 
 		if (persistStatistics3) {
-			getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpStatistics3), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
+			RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpStatistics3), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
 		}
 
         if (persistPersons) {
-            getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpPersons), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
+            RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpPersons), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
         }
 
         if (persistBenefitUnits) {
-            getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpBenefitUnits), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
+            RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpBenefitUnits), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
         }
 
         if (persistHouseholds) {
-            getEngine().getEventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpHouseholds), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
+            RunScope.eventQueue().scheduleRepeat(new SingleTargetEvent(this, Processes.DumpHouseholds), model.getStartYear() + dataDumpStartTime, ordering, dataDumpTimePeriod);
         }
+
     }
 
     // ---------------------------------------------------------------------
@@ -933,6 +1032,62 @@ public class SimPathsCollector extends AbstractSimulationCollectorManager implem
         this.exportToCSV = exportToCSV;
     }
 
+    /**
+     * METHOD TO CLOSE .csv AND COLUMNAR EXPORTS, WAITING FOR QUEUED OUTPUT TO BE WRITTEN
+     * CALLED BY THE MODEL AT CLEAN UP
+     */
+    public void flushExports() {
+
+        if (exportQueue == null)
+            return;
+        for (CsvExport<?> export : Arrays.asList(csvPersons, csvBenefitUnits, csvHouseholds, csvStatistics,
+                csvStatistics2, csvStatistics3)) {
+            if (export != null)
+                export.close();
+        }
+        for (ColumnarExport<?> export : Arrays.asList(columnarPersons, columnarBenefitUnits, columnarHouseholds)) {
+            if (export != null)
+                export.close();
+        }
+        try {
+            exportQueue.shutdown();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    public boolean isExportCsvInBackground() {
+        return exportCsvInBackground;
+    }
+
+    public void setExportCsvInBackground(boolean exportCsvInBackground) {
+        this.exportCsvInBackground = exportCsvInBackground;
+    }
+
+    public boolean isExportToColumnar() {
+        return exportToColumnar;
+    }
+
+    public void setExportToColumnar(boolean exportToColumnar) {
+        this.exportToColumnar = exportToColumnar;
+    }
+
+    public String getColumnarExportFields() {
+        return columnarExportFields;
+    }
+
+    public void setColumnarExportFields(String columnarExportFields) {
+        this.columnarExportFields = columnarExportFields;
+    }
+
+    public int getExportQueueCapacity() {
+        return exportQueueCapacity;
+    }
+
+    public void setExportQueueCapacity(int exportQueueCapacity) {
+        this.exportQueueCapacity = exportQueueCapacity;
+    }
+
     public boolean isPersistStatistics() {
         return persistStatistics;
     }
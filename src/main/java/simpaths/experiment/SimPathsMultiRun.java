@@ -8,6 +8,8 @@ import org.yaml.snakeyaml.Yaml;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import simpaths.data.Parameters;
@@ -36,6 +38,7 @@ public class SimPathsMultiRun extends MultiRun {
 	private static int maxNumberOfRuns = 25;
 	private static Long randomSeed = 615L;
 	public static boolean executeWithGui = true;
+	private static int parallelRuns = 1;			// number of runs to execute concurrently, on separate threads
 
 	// innovation args
 	private static boolean randomSeedInnov = true;
@@ -53,9 +56,14 @@ public class SimPathsMultiRun extends MultiRun {
 	private static Country country;
 	private static double interestRateInnov = 0.0;
 	private static double disposableIncomeFromLabourInnov = 0.0;
-	private Long counter = 0L;
+	private static boolean outputToFile = false;		// write console output and log to output/logs
+	private MultiRunContext context;
 	public static Logger log = Logger.getLogger(SimPathsMultiRun.class);
 
+	public SimPathsMultiRun() {
+		context = new MultiRunContext(0L, randomSeed, interestRateInnov, disposableIncomeFromLabourInnov);
+	}
+
 	/**
 	 *
 	 * 	MAIN PROGRAM ENTRY FOR MULTI-SIMULATION
@@ -92,9 +100,24 @@ public class SimPathsMultiRun extends MultiRun {
 		if (flagDatabaseSetup) {
 
 			Parameters.databaseSetup(country, executeWithGui, startYear);
+		} else if (parallelRuns > 1 && !executeWithGui) {
+			// concurrent simulations, each executed on a separate thread
+
+			List<MultiRunContext> contexts = new ArrayList<>();
+			MultiRunContext context = new MultiRunContext(0L, randomSeed, interestRateInnov, disposableIncomeFromLabourInnov);
+			for (int ii=0; ii<maxNumberOfRuns; ii++) {
+				contexts.add(context);
+				context = context.next(randomSeedInnov, intertemporalElasticityInnov, labourSupplyElasticityInnov);
+			}
+			int failed = new MultiRunThreads(contexts, Math.min(parallelRuns, maxNumberOfRuns), SimPathsMultiRun::buildModel,
+					outputToFile).run();
+			if (failed > 0)
+				System.exit(1);
 		} else {
 			// standard simulation
 
+			if (outputToFile)
+				redirectOutputToFile();
 			log.info("Starting run with seed = " + randomSeed);
 
 			SimulationEngine engine = SimulationEngine.getInstance();
@@ -141,6 +164,10 @@ public class SimPathsMultiRun extends MultiRun {
 		guiOption.setArgName("true/false");
 		options.addOption(guiOption);
 
+		Option parallelOption = new Option("P", "parallelRuns", true, "Number of runs to execute concurrently (requires -g false)");
+		parallelOption.setArgName("int");
+		options.addOption(parallelOption);
+
 		Option configOption = new Option("config", true, "Specify custom config file (default: default.yml)");
 		configOption.setArgName("file");
 		options.addOption(configOption);
@@ -166,6 +193,10 @@ public class SimPathsMultiRun extends MultiRun {
 				maxNumberOfRuns = Integer.parseInt(cmd.getOptionValue("n"));
 			}
 
+			if (cmd.hasOption("P")) {
+				parallelRuns = Integer.parseInt(cmd.getOptionValue("P"));
+			}
+
 			if (cmd.hasOption("g")) {
 				executeWithGui = Boolean.parseBoolean(cmd.getOptionValue("g"));
 			}
@@ -189,27 +220,9 @@ public class SimPathsMultiRun extends MultiRun {
 			if (cmd.hasOption("p")) {
 				popSize = Integer.parseInt(cmd.getOptionValue("p"));
 			}
+
 			if (cmd.hasOption("f")) {
-				try {
-					File logDir = new File("output/logs");
-					if (!logDir.exists()) {
-						logDir.mkdirs();
-					}
-					// Writing console outputs to `run_[seed].txt
-					System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(logDir.getPath() + "/run_" + randomSeed + ".txt")), true));
-
-					// Writing logs to `run_[seed].log`
-					FileAppender appender = new FileAppender();
-					appender.setName("Run logging");
-					appender.setFile(logDir.getPath() + "/run_" + randomSeed + ".log");
-					appender.setAppend(false);
-					appender.setLayout(new PatternLayout("%d{yyyy MMM dd HH:mm:ss} - %m%n"));
-					appender.activateOptions();
-					Logger.getRootLogger().setLevel(Level.DEBUG);
-					Logger.getRootLogger().addAppender(appender);
-				} catch (FileNotFoundException e) {
-					throw new RuntimeException(e);
-				}
+				outputToFile = true;
 			}
 		} catch (ParseException e) {
 			System.err.println("Error parsing command line arguments: " + e.getMessage());
@@ -220,11 +233,40 @@ public class SimPathsMultiRun extends MultiRun {
 		return true;
 	}
 
+	/**
+	 * METHOD TO WRITE CONSOLE OUTPUT TO output/logs/run_[seed].txt AND LOGS TO output/logs/run_[seed].log
+	 * runs executed concurrently write to files labelled by run (see MultiRunThreads)
+	 */
+	private static void redirectOutputToFile() {
+
+		try {
+			File logDir = new File("output/logs");
+			if (!logDir.exists()) {
+				logDir.mkdirs();
+			}
+			// Writing console outputs to `run_[seed].txt
+			System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(logDir.getPath() + "/run_" + randomSeed + ".txt")), true));
+
+			// Writing logs to `run_[seed].log`
+			FileAppender appender = new FileAppender();
+			appender.setName("Run logging");
+			appender.setFile(logDir.getPath() + "/run_" + randomSeed + ".log");
+			appender.setAppend(false);
+			appender.setLayout(new PatternLayout("%d{yyyy MMM dd HH:mm:ss} - %m%n"));
+			appender.activateOptions();
+			Logger.getRootLogger().setLevel(Level.DEBUG);
+			Logger.getRootLogger().addAppender(appender);
+		} catch (FileNotFoundException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	private static void printHelpMessage(HelpFormatter formatter, Options options) {
 		String header = "SimPathsMultiRun can run multiple sequential runs, " +
 				"resetting the population to the start year and iterating from the start seed. " +
 				"It takes the following options:";
-		String footer = "When running with no display, `-g` must be set to `false`.";
+		String footer = "When running with no display, `-g` must be set to `false`. " +
+				"Runs are executed concurrently on separate threads when `-P` exceeds 1 and `-g` is `false`.";
 		formatter.printHelp("SimPathsMultiRun", header, options, footer, true);
 	}
 
@@ -360,56 +402,45 @@ public class SimPathsMultiRun extends MultiRun {
 	@Override
 	public void buildExperiment(SimulationEngine engine) {
 
+		SimPathsModel model = buildModel(context);
+		engine.addSimulationManager(model);
+		engine.addSimulationManager(model.getCollector());
+	}
+
+	/**
+	 * METHOD TO BUILD THE MODEL AND COLLECTOR OF THE RUN DESCRIBED BY A CONTEXT
+	 * used for runs executed by the engine (buildExperiment), and runs executed concurrently (MultiRunThreads)
+	 */
+	static SimPathsModel buildModel(MultiRunContext context) {
+
 		SimPathsModel model = new SimPathsModel(Country.getCountryFromNameString(countryString), startYear);
-		updateLocalParameters(model);
+		updateLocalParameters(model, context);
 		if (modelArgs != null)
 			updateParameters(model, modelArgs);
 
-		engine.addSimulationManager(model);
-
 		SimPathsCollector collector = new SimPathsCollector(model);
 		if (collectorArgs != null)
 			updateParameters(collector, collectorArgs);
-		engine.addSimulationManager(collector);
 		model.setCollector(collector);
-
+		return model;
 	}
 
-	private void updateLocalParameters(SimPathsModel model) {
+	private static void updateLocalParameters(SimPathsModel model, MultiRunContext context) {
 		model.setEndYear(endYear);
-		model.setFirstRun(counter == 0);
+		model.setFirstRun(context.isFirstRun());
 //		SimPathsModel model = new SimPathsModel();
 		model.setPopSize(popSize);
-		model.setRandomSeedIfFixed(randomSeed);
-		model.setInterestRateInnov(interestRateInnov);
-		model.setDisposableIncomeFromLabourInnov(disposableIncomeFromLabourInnov);
+		model.setRandomSeedIfFixed(context.getRandomSeed());
+		model.setInterestRateInnov(context.getInterestRateInnov());
+		model.setDisposableIncomeFromLabourInnov(context.getDisposableIncomeFromLabourInnov());
 	}
 
-	private void iterateParameters(Long counter) {
-
-		if (randomSeedInnov) {
-			randomSeed++;
-			System.out.println("Random seed " + randomSeed);
-		}
-		if (intertemporalElasticityInnov) {
-			if (counter==1)
-				interestRateInnov = 0.0075;
-			else if (counter==2)
-				interestRateInnov = -0.0075;
-		}
-		if (labourSupplyElasticityInnov) {
-			if (counter==1)
-				disposableIncomeFromLabourInnov = 0.01;
-			else if (counter==2)
-				disposableIncomeFromLabourInnov = -0.01;
-		}
-	}
-	
 	@Override
 	public boolean nextModel() {
-		counter++;
-		if (counter < maxNumberOfRuns) {
-			iterateParameters(counter);
+		if (context.getCounter() + 1 < maxNumberOfRuns) {
+			context = context.next(randomSeedInnov, intertemporalElasticityInnov, labourSupplyElasticityInnov);
+			if (randomSeedInnov)
+				System.out.println("Random seed " + context.getRandomSeed());
 			return true;
 		} else {
 			return false;
@@ -418,6 +449,6 @@ public class SimPathsMultiRun extends MultiRun {
 
 	@Override
 	public String setupRunLabel() {
-		return randomSeed.toString() + "_" + counter.toString();
+		return context.getRunLabel();
 	}
 }
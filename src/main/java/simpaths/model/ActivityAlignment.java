@@ -1,7 +1,6 @@
 package simpaths.model;
 
 import microsim.data.MultiKeyCoefficientMap;
-import microsim.engine.SimulationEngine;
 import simpaths.data.IEvaluation;
 import simpaths.data.Parameters;
 import simpaths.model.enums.Occupancy;
@@ -34,9 +33,10 @@ public class ActivityAlignment implements IEvaluation {
     private Set<Person> persons;
     private Set<BenefitUnit> benefitUnits;
     private SimPathsModel model;
+    private AlignmentPopulation<BenefitUnit> population;  // benefit units partitioned by type
 
     public ActivityAlignment(Set<Person> persons, Set<BenefitUnit> benefitUnits, MultiKeyCoefficientMap originalRegressionCoefficientsMap, String[] regressorsToModify, Occupancy benefitUnitType, double utilityAdjustment) {
-        this.model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        this.model = RunScope.model();
         this.persons = persons;
         this.benefitUnits = benefitUnits;
         this.utilityAdjustment = utilityAdjustment;
@@ -47,6 +47,9 @@ public class ActivityAlignment implements IEvaluation {
         Object[] valuesOriginalCopy = (Object[]) originalRegressionCoefficientsMap.getValue(regressorToModify);
         this.originalRegressionCoefficient = ((Number) valuesOriginalCopy[0]).doubleValue();
         this.benefitUnitType = benefitUnitType;
+        population = AlignmentPopulation.counting(benefitUnits,
+                benefitUnit -> benefitUnit.getOccupancy().equals(benefitUnitType),
+                BenefitUnit::isEmployed, model.isParallelAgentProcesses());
 
         // Share of employed benefit unit of a particular type (Single man / single woman / couple). Couple BU counts as employed if either of the responsible persons works.
         switch (benefitUnitType) {
@@ -86,14 +89,8 @@ public class ActivityAlignment implements IEvaluation {
      * @return The aggregate share of employed persons among those eligible, or 0.0 if no eligible persons are found.
      */
     private double evalAggregateShareOfEmployedBU() {
-        long numBU = benefitUnits.stream()
-                .filter(benefitUnit -> benefitUnit.getOccupancy().equals(benefitUnitType))
-                .count();
-
-        long numBUEmployed = benefitUnits.stream()
-                .filter(benefitUnit -> benefitUnit.getOccupancy().equals(benefitUnitType))
-                .filter(BenefitUnit::isEmployed)
-                .count();
+        int numBU = population.getNumberEligible();
+        int numBUEmployed = population.getEligibleCount();
 
         return numBU > 0
                 ? (double) numBUEmployed / numBU
@@ -121,16 +118,15 @@ public class ActivityAlignment implements IEvaluation {
             currentValues2[0] = newValue2;
             map.replaceValue(regressionCoefficientKey2, currentValues2); // Put adjusted value back in the map
         }
+        Parameters.coefficientsModified(map); // Re-read adjusted coefficients in compiled regressions
 
-        benefitUnits.parallelStream()
-                .filter(BenefitUnit::getAtRiskOfWork)
-                .filter(benefitUnit -> benefitUnit.getOccupancy().equals(benefitUnitType))
-                .forEach(benefitUnit -> benefitUnit.updateLabourSupplyAndIncome()); // Update labour supply and income
+        population.apply(benefitUnit -> {
+            if (benefitUnit.getAtRiskOfWork())
+                benefitUnit.updateLabourSupplyAndIncome(); // Update labour supply and income
 
-        // Update les_c4 variable before (re)calculating share of employed persons
-        benefitUnits.parallelStream()
-                .filter(benefitUnit -> benefitUnit.getOccupancy().equals(benefitUnitType))
-                .forEach(BenefitUnit::updateActivityOfPersonsWithinBenefitUnit);
+            // Update les_c4 variable before (re)calculating share of employed persons
+            benefitUnit.updateActivityOfPersonsWithinBenefitUnit();
+        });
 
         utilityAdjustment = newUtilityAdjustment;
         utilityAdjustmentChanged = true;
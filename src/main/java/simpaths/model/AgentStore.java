@@ -0,0 +1,354 @@
+package simpaths.model;
+
+import java.util.Arrays;
+
+
+/**
+ *
+ * CLASS TO STORE THE SIMULATION-TIME STATE OF A POPULATION OF AGENTS AS PRIMITIVE COLUMNS, INDEXED BY AGENT SLOT
+ *
+ * EACH AGENT OCCUPIES ONE SLOT, ALLOCATED WHEN THE AGENT IS CREATED AND RELEASED WHEN IT EXITS THE POPULATION, AND
+ * READS AND WRITES ITS STATE THROUGH THE COLUMN INDICES DECLARED BY ITS CLASS (SEE Person). COLUMNS ARE OF FOUR KINDS:
+ * DOUBLE, INT AND LONG COLUMNS HOLD NUMBERS, WITH ONE BIT PER COLUMN AND SLOT FLAGGING WHETHER A VALUE IS SET (SO
+ * THAT NULL IS PRESERVED); BYTE COLUMNS HOLD BOOLEANS AND ENUMS AS CODES, WITH 0 FOR NULL. NEW SLOTS HOLD NULL IN EVERY
+ * COLUMN. NUMBERS ARE READ AND WRITTEN EITHER BOXED (WITH NULL WHERE NO VALUE IS SET) OR, ON HOT PATHS, AS PRIMITIVES
+ * (SEE getDoubleValue). ACCESS THROUGH A NEGATIVE SLOT, AS HELD BY AN AGENT AFTER ITS SLOT IS RELEASED, THROWS
+ * IllegalStateException
+ *
+ * SLOTS ARE GROUPED IN PAGES THAT ARE NEVER MOVED ONCE ALLOCATED, SO THAT AGENTS MAY BE CREATED WHILE OTHER THREADS
+ * READ AND WRITE THE STATE OF EXISTING AGENTS. EACH PAGE HOLDS ONE ARRAY PER KIND OF COLUMN, IN WHICH THE VALUES OF A
+ * COLUMN ARE CONTIGUOUS
+ *
+ */
+public class AgentStore {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final int PAGE_SIZE = 1 << 12;
+
+    private final int pageShift, pageMask;
+    private final int nDoubles, nInts, nLongs, nBytes, nWords;
+    private final Object[][] constants;         // enum constants of byte columns, indexed by code - 1 (null for booleans)
+    private volatile Page[] pages = new Page[0];
+    private int nSlots;                         // slots ever allocated
+    private int[] free = new int[64];           // released slots available for reuse
+    private int nFree;
+
+
+    /**
+     * CONSTRUCTORS
+     * @param pageSize number of slots per page (rounded up to a power of 2)
+     * @param nDoubles number of double columns
+     * @param nInts number of int columns
+     * @param nLongs number of long columns
+     * @param byteTypes type of each byte column, Boolean or an enum with fewer than 255 constants
+     */
+    public AgentStore(int pageSize, int nDoubles, int nInts, int nLongs, Class<?>... byteTypes) {
+
+        pageShift = 32 - Integer.numberOfLeadingZeros(Math.max(pageSize, 1) - 1);
+        pageMask = (1 << pageShift) - 1;
+        this.nDoubles = nDoubles;
+        this.nInts = nInts;
+        this.nLongs = nLongs;
+        nBytes = byteTypes.length;
+        nWords = (nDoubles + nInts + nLongs + 63) / 64;
+        constants = new Object[nBytes][];
+        for (int cc=0; cc<nBytes; cc++) {
+            if (byteTypes[cc].isEnum()) {
+                constants[cc] = byteTypes[cc].getEnumConstants();
+                if (constants[cc].length > 254)
+                    throw new IllegalArgumentException("too many constants to store " + byteTypes[cc].getSimpleName() + " in a byte column");
+            } else if (byteTypes[cc] != Boolean.class) {
+                throw new IllegalArgumentException("unsupported type of byte column " + byteTypes[cc].getSimpleName());
+            }
+        }
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO ALLOCATE SLOT FOR NEW AGENT
+     * @return slot, holding null in every column
+     */
+    public synchronized int allocate() {
+
+        if (nFree > 0)
+            return free[--nFree];
+        int slot = nSlots++;
+        int page = slot >>> pageShift;
+        if (page == pages.length) {
+            Page[] grown = Arrays.copyOf(pages, page + 1);
+            grown[page] = new Page(1 << pageShift);
+            pages = grown;
+        }
+        return slot;
+    }
+
+    /**
+     * METHOD TO RELEASE SLOT OF AGENT THAT HAS EXITED THE POPULATION, FOR REUSE BY A NEW AGENT
+     */
+    public synchronized void release(int slot) {
+
+        Page page = page(slot);
+        int ii = slot & pageMask, size = pageMask + 1;
+        for (int cc=0; cc<nDoubles; cc++) page.doubles[cc * size + ii] = 0.0;
+        for (int cc=0; cc<nInts; cc++) page.ints[cc * size + ii] = 0;
+        for (int cc=0; cc<nLongs; cc++) page.longs[cc * size + ii] = 0L;
+        for (int cc=0; cc<nBytes; cc++) page.bytes[cc * size + ii] = 0;
+        for (int ww=0; ww<nWords; ww++) page.set[ii * nWords + ww] = 0L;
+        if (nFree == free.length)
+            free = Arrays.copyOf(free, 2 * nFree);
+        free[nFree++] = slot;
+    }
+
+    public Double getDouble(int slot, int column) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        return isSet(page, ii, column) ? page.doubles[column * (pageMask + 1) + ii] : null;
+    }
+
+    public void setDouble(int slot, int column, Double value) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        if (value != null)
+            page.doubles[column * (pageMask + 1) + ii] = value;
+        flag(page, ii, column, value != null);
+    }
+
+    public Integer getInt(int slot, int column) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        return isSet(page, ii, nDoubles + column) ? page.ints[column * (pageMask + 1) + ii] : null;
+    }
+
+    public void setInt(int slot, int column, Integer value) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        if (value != null)
+            page.ints[column * (pageMask + 1) + ii] = value;
+        flag(page, ii, nDoubles + column, value != null);
+    }
+
+    public Long getLong(int slot, int column) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        return isSet(page, ii, nDoubles + nInts + column) ? page.longs[column * (pageMask + 1) + ii] : null;
+    }
+
+    public void setLong(int slot, int column, Long value) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        if (value != null)
+            page.longs[column * (pageMask + 1) + ii] = value;
+        flag(page, ii, nDoubles + nInts + column, value != null);
+    }
+
+    /**
+     * METHODS TO READ AND WRITE DOUBLE, INT AND LONG COLUMNS AS PRIMITIVES, WITHOUT BOXING
+     * getters throw NullPointerException where no value is set (as on unboxing null), which callers may avoid by
+     * testing whether the value is set
+     */
+    public boolean isDoubleSet(int slot, int column) {
+        return isSet(page(slot), slot & pageMask, column);
+    }
+
+    public double getDoubleValue(int slot, int column) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        if (!isSet(page, ii, column))
+            throw new NullPointerException("no value set in double column " + column);
+        return page.doubles[column * (pageMask + 1) + ii];
+    }
+
+    public void setDoubleValue(int slot, int column, double value) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        page.doubles[column * (pageMask + 1) + ii] = value;
+        flag(page, ii, column, true);
+    }
+
+    /**
+     * METHOD TO COPY VALUE (OR NULL) BETWEEN DOUBLE COLUMNS OF A SLOT, AS WHEN LAGGED VALUES ARE UPDATED
+     */
+    public void copyDouble(int slot, int fromColumn, int toColumn) {
+        Page page = page(slot);
+        int ii = slot & pageMask, size = pageMask + 1;
+        page.doubles[toColumn * size + ii] = page.doubles[fromColumn * size + ii];
+        flag(page, ii, toColumn, isSet(page, ii, fromColumn));
+    }
+
+    public boolean isIntSet(int slot, int column) {
+        return isSet(page(slot), slot & pageMask, nDoubles + column);
+    }
+
+    public int getIntValue(int slot, int column) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        if (!isSet(page, ii, nDoubles + column))
+            throw new NullPointerException("no value set in int column " + column);
+        return page.ints[column * (pageMask + 1) + ii];
+    }
+
+    public void setIntValue(int slot, int column, int value) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        page.ints[column * (pageMask + 1) + ii] = value;
+        flag(page, ii, nDoubles + column, true);
+    }
+
+    public boolean isLongSet(int slot, int column) {
+        return isSet(page(slot), slot & pageMask, nDoubles + nInts + column);
+    }
+
+    public long getLongValue(int slot, int column) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        if (!isSet(page, ii, nDoubles + nInts + column))
+            throw new NullPointerException("no value set in long column " + column);
+        return page.longs[column * (pageMask + 1) + ii];
+    }
+
+    public void setLongValue(int slot, int column, long value) {
+        Page page = page(slot);
+        int ii = slot & pageMask;
+        page.longs[column * (pageMask + 1) + ii] = value;
+        flag(page, ii, nDoubles + nInts + column, true);
+    }
+
+    public Boolean getBoolean(int slot, int column) {
+        byte code = page(slot).bytes[column * (pageMask + 1) + (slot & pageMask)];
+        return (code == 0) ? null : (code == 2);
+    }
+
+    public void setBoolean(int slot, int column, Boolean value) {
+        page(slot).bytes[column * (pageMask + 1) + (slot & pageMask)] = (byte) ((value == null) ? 0 : (value ? 2 : 1));
+    }
+
+    public Object getEnum(int slot, int column) {
+        byte code = page(slot).bytes[column * (pageMask + 1) + (slot & pageMask)];
+        return (code == 0) ? null : constants[column][code - 1];
+    }
+
+    public void setEnum(int slot, int column, Enum<?> value) {
+        page(slot).bytes[column * (pageMask + 1) + (slot & pageMask)] = (byte) ((value == null) ? 0 : value.ordinal() + 1);
+    }
+
+    /**
+     * @return code held in byte column (0 for null, otherwise 1 + ordinal, with false and true as ordinals 0 and 1)
+     */
+    public byte getCode(int slot, int column) {
+        return page(slot).bytes[column * (pageMask + 1) + (slot & pageMask)];
+    }
+
+    private Page page(int slot) {
+        if (slot < 0)
+            throw new IllegalStateException("attempt to access state of agent after its slot in the agent store has been released");
+        return pages[slot >>> pageShift];
+    }
+
+    private boolean isSet(Page page, int ii, int bit) {
+        return (page.set[ii * nWords + (bit >>> 6)] & (1L << bit)) != 0L;
+    }
+
+    private void flag(Page page, int ii, int bit, boolean isSet) {
+        int word = ii * nWords + (bit >>> 6);
+        if (isSet)
+            page.set[word] |= (1L << bit);
+        else
+            page.set[word] &= ~(1L << bit);
+    }
+
+
+    /**
+     * METHODS TO DESCRIBE STORE (SEE simpaths.data.HeapFootprint)
+     */
+    public int getNumberDoubleColumns() {
+        return nDoubles;
+    }
+
+    public int getNumberIntColumns() {
+        return nInts;
+    }
+
+    public int getNumberLongColumns() {
+        return nLongs;
+    }
+
+    public int getNumberByteColumns() {
+        return nBytes;
+    }
+
+    public synchronized int getNumberSlotsAllocated() {
+        return nSlots - nFree;
+    }
+
+    /**
+     * @return lengths of the arrays allocated to the store, by element width in bytes (index 1, 4 and 8)
+     */
+    public long[] getArrayLengths() {
+
+        long[] lengths = new long[9];
+        for (Page page : pages) {
+            lengths[8] += page.doubles.length + page.longs.length + page.set.length;
+            lengths[4] += page.ints.length;
+            lengths[1] += page.bytes.length;
+        }
+        return lengths;
+    }
+
+    public int getNumberPages() {
+        return pages.length;
+    }
+
+    /**
+     * @return number of values set in double, int and long columns that would be held as separate boxed objects (that
+     * is, excluding Integer and Long values cached by the JVM)
+     */
+    public synchronized long countBoxedValues() {
+
+        long count = 0;
+        int size = pageMask + 1;
+        for (int slot=0; slot<nSlots; slot++) {
+            Page page = pages[slot >>> pageShift];
+            int ii = slot & pageMask;
+            for (int cc=0; cc<nDoubles; cc++) {
+                if (isSet(page, ii, cc)) count++;
+            }
+            for (int cc=0; cc<nInts; cc++) {
+                int value = page.ints[cc * size + ii];
+                if (isSet(page, ii, nDoubles + cc) && (value < -128 || value > 127)) count++;
+            }
+            for (int cc=0; cc<nLongs; cc++) {
+                long value = page.longs[cc * size + ii];
+                if (isSet(page, ii, nDoubles + nInts + cc) && (value < -128 || value > 127)) count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * CLASS FOR PAGE OF SLOTS
+     */
+    private final class Page {
+
+        final double[] doubles;
+        final int[] ints;
+        final long[] longs;
+        final byte[] bytes;
+        final long[] set;
+
+        Page(int size) {
+            doubles = new double[nDoubles * size];
+            ints = new int[nInts * size];
+            longs = new long[nLongs * size];
+            bytes = new byte[nBytes * size];
+            set = new long[nWords * size];
+        }
+    }
+}
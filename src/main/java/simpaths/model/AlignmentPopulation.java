@@ -0,0 +1,236 @@
+package simpaths.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+
+/**
+ *
+ * CLASS TO MAINTAIN THE AGGREGATE OUTCOME OF A POPULATION OF AGENTS ACROSS THE ITERATIONS OF AN ALIGNMENT ROOT SEARCH
+ *
+ * AGENTS ARE PARTITIONED ONCE INTO THOSE ELIGIBLE FOR ALIGNMENT AND THE REMAINDER, AND THE ELIGIBLE AGENTS ARE
+ * STORED IN A CONTIGUOUS ARRAY, ALONG WITH THE OUTCOME LAST EVALUATED FOR EACH. ON EACH ITERATION, BEHAVIOUR IS
+ * RE-EVALUATED FOR ELIGIBLE AGENTS ONLY, RATHER THAN BY FILTERING THE WHOLE POPULATION, AND THE OUTCOME OF EACH AGENT
+ * IS STORED IMMEDIATELY AFTER ITS BEHAVIOUR
+ *
+ * THE AGGREGATE IS RE-COMPUTED FROM THE STORED OUTCOMES ON EACH ITERATION, SUMMING IN THE ORDER OF THE AGENTS, SO THAT
+ * IT DOES NOT ACCUMULATE ROUNDING ERRORS ACROSS ITERATIONS AND IS THE SAME HOWEVER THE AGENTS ARE PROCESSED. WHERE THE
+ * AGGREGATE IS A COUNT OF AGENTS (SEE counting), IT IS MAINTAINED AS AN INTEGER
+ *
+ * BEHAVIOUR IS EVALUATED IN PARALLEL CHUNKS ONLY WHERE REQUESTED ON CONSTRUCTION (SEE SimPathsModel.parallelAgentProcesses),
+ * AND OTHERWISE SEQUENTIALLY. OUTCOMES OF AGENTS THAT ARE NOT ELIGIBLE ARE ASSUMED NOT TO DEPEND ON THE ALIGNMENT
+ * ADJUSTMENT, AND ARE EVALUATED ONCE (SEE applyToIneligible)
+ *
+ */
+public class AlignmentPopulation<T> {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final T[] eligible;
+    private final T[] ineligible;
+    private final boolean parallel;             // evaluate behaviour of eligible agents in parallel chunks
+    private final ToDoubleFunction<T> outcome;  // outcome of agent (null where agents are counted)
+    private final Predicate<T> counted;         // agents counted (null where outcomes are summed)
+    private final double[] outcomes;            // outcome of each eligible agent, as last evaluated (null where agents are counted)
+    private final boolean[] counts;             // whether each eligible agent is counted, as last evaluated (null where outcomes are summed)
+    private double eligibleTotal;
+    private double ineligibleTotal;
+    private int eligibleCount;
+    private int ineligibleCount;
+
+
+    /**
+     * CONSTRUCTORS
+     * @param population agents to align
+     * @param isEligible identifies agents for which behaviour is re-evaluated on each iteration
+     * @param outcome outcome of agent, summed over agents to obtain aggregate
+     * @param parallel true to evaluate behaviour of eligible agents in parallel chunks, where the conditions described
+     *                 in ParallelCollectionProcess are satisfied
+     */
+    public AlignmentPopulation(Collection<T> population, Predicate<T> isEligible, ToDoubleFunction<T> outcome, boolean parallel) {
+        this(population, isEligible, outcome, null, parallel);
+    }
+
+    /**
+     * CONSTRUCTOR FOR BINARY OUTCOMES, WHERE THE AGGREGATE IS THE NUMBER OF AGENTS FOR WHICH counted IS TRUE
+     */
+    public static <T> AlignmentPopulation<T> counting(Collection<T> population, Predicate<T> isEligible, Predicate<T> counted, boolean parallel) {
+        return new AlignmentPopulation<>(population, isEligible, null, counted, parallel);
+    }
+
+    @SuppressWarnings("unchecked")
+    private AlignmentPopulation(Collection<T> population, Predicate<T> isEligible, ToDoubleFunction<T> outcome,
+                                Predicate<T> counted, boolean parallel) {
+
+        this.outcome = outcome;
+        this.counted = counted;
+        this.parallel = parallel;
+        List<T> eligibleList = new ArrayList<>();
+        List<T> ineligibleList = new ArrayList<>();
+        for (T agent : population) {
+            if (isEligible.test(agent))
+                eligibleList.add(agent);
+            else
+                ineligibleList.add(agent);
+        }
+        eligible = (T[]) eligibleList.toArray();
+        ineligible = (T[]) ineligibleList.toArray();
+        outcomes = (counted == null) ? new double[eligible.length] : null;
+        counts = (counted == null) ? null : new boolean[eligible.length];
+        for (int ii=0; ii<eligible.length; ii++) {
+            evaluate(ii);
+        }
+        aggregateEligible();
+        aggregateIneligible();
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO RE-EVALUATE BEHAVIOUR OF ELIGIBLE AGENTS AND UPDATE AGGREGATE OUTCOME
+     * the outcome of each agent is evaluated immediately after its behaviour
+     * @param behaviour process to execute for each eligible agent, which (with the outcome of the agent) may depend only
+     *                  on the state of that agent
+     */
+    public void apply(Consumer<T> behaviour) {
+        forEachIndex(ii -> {
+            behaviour.accept(eligible[ii]);
+            evaluate(ii);
+        });
+        aggregateEligible();
+    }
+
+    /**
+     * METHOD TO RE-EVALUATE BEHAVIOUR OF ELIGIBLE AGENTS, WITHOUT UPDATING AGGREGATE OUTCOME
+     * FOR USE WHERE OUTCOMES DEPEND ON A SUBSEQUENT PROCESS (E.G. UNION MATCHING), AFTER WHICH refresh IS CALLED
+     */
+    public void forEachEligible(Consumer<T> behaviour) {
+        forEachIndex(ii -> behaviour.accept(eligible[ii]));
+    }
+
+    /**
+     * METHOD TO UPDATE AGGREGATE OUTCOME FROM CURRENT OUTCOMES OF ALL ELIGIBLE AGENTS
+     * OUTCOMES ARE EVALUATED AFTER ALL BEHAVIOUR HAS BEEN UPDATED, SO THAT THESE MAY DEPEND ON THE STATE OF OTHER
+     * AGENTS (E.G. PARTNERS)
+     */
+    public void refresh() {
+        forEachIndex(this::evaluate);
+        aggregateEligible();
+    }
+
+    /**
+     * METHOD TO EVALUATE BEHAVIOUR OF AGENTS THAT ARE NOT ELIGIBLE, AND UPDATE THEIR CONTRIBUTION TO THE AGGREGATE
+     * OUTCOME. CALLED (AT MOST) ONCE, WHERE BEHAVIOUR RESETS STATE OF AGENTS THAT ARE NOT ELIGIBLE
+     */
+    public void applyToIneligible(Consumer<T> behaviour) {
+        for (T agent : ineligible) {
+            behaviour.accept(agent);
+        }
+        aggregateIneligible();
+    }
+
+    private void evaluate(int ii) {
+        if (counts != null)
+            counts[ii] = counted.test(eligible[ii]);
+        else
+            outcomes[ii] = outcome.applyAsDouble(eligible[ii]);
+    }
+
+    private void aggregateEligible() {
+        if (counts != null) {
+            int count = 0;
+            for (boolean isCounted : counts) {
+                if (isCounted) count++;
+            }
+            eligibleCount = count;
+        } else {
+            double total = 0.0;
+            for (double value : outcomes) {
+                total += value;
+            }
+            eligibleTotal = total;
+        }
+    }
+
+    private void aggregateIneligible() {
+        if (counts != null) {
+            int count = 0;
+            for (T agent : ineligible) {
+                if (counted.test(agent)) count++;
+            }
+            ineligibleCount = count;
+        } else {
+            double total = 0.0;
+            for (T agent : ineligible) {
+                total += outcome.applyAsDouble(agent);
+            }
+            ineligibleTotal = total;
+        }
+    }
+
+    /**
+     * METHOD TO EVALUATE A PROCESS FOR EACH ELIGIBLE AGENT, BY INDEX, SEQUENTIALLY OR IN PARALLEL CHUNKS
+     * worker threads act for the run of the calling thread (see RunScope)
+     */
+    private void forEachIndex(IntConsumer process) {
+
+        int numberOfChunks = (eligible.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (!parallel || numberOfChunks <= 1) {
+            for (int ii=0; ii<eligible.length; ii++) {
+                process.accept(ii);
+            }
+            return;
+        }
+        RunScope scope = RunScope.current();
+        IntStream.range(0, numberOfChunks).parallel().forEach(cc -> {
+            RunScope previous = RunScope.bind(scope);
+            try {
+                int end = Math.min(eligible.length, (cc + 1) * CHUNK_SIZE);
+                for (int ii = cc * CHUNK_SIZE; ii < end; ii++) {
+                    process.accept(ii);
+                }
+            } finally {
+                RunScope.bind(previous);
+            }
+        });
+    }
+
+
+    /**
+     * GETTERS
+     */
+    public int getNumberEligible() {
+        return eligible.length;
+    }
+
+    // for populations of summed outcomes
+    public double getEligibleTotal() {
+        return eligibleTotal;
+    }
+
+    public double getTotal() {
+        return eligibleTotal + ineligibleTotal;
+    }
+
+    // for populations that count agents (see counting)
+    public int getEligibleCount() {
+        return eligibleCount;
+    }
+
+    public int getCount() {
+        return eligibleCount + ineligibleCount;
+    }
+}
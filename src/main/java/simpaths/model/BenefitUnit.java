@@ -10,8 +10,6 @@ import simpaths.data.MultiValEvent;
 import simpaths.data.filters.ValidHomeownersCSfilter;
 import simpaths.model.enums.*;
 import org.apache.commons.collections4.keyvalue.MultiKey;
-import org.apache.commons.collections4.map.LinkedMap;
-import org.apache.commons.collections4.map.MultiKeyMap;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.tuple.Triple;
@@ -22,7 +20,6 @@ import simpaths.model.decisions.DecisionParams;
 import simpaths.model.decisions.States;
 import simpaths.experiment.SimPathsCollector;
 import microsim.agent.Weight;
-import microsim.engine.SimulationEngine;
 import microsim.event.EventListener;
 import microsim.statistics.IDoubleSource;
 import simpaths.model.enums.Les_c4;
@@ -82,6 +79,11 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
     private Integer socialCareProvision;
     private Long taxDbDonorId;
     @Transient private Match taxDbMatch;
+    @Transient private Labour labourOptionMale;         // labour supply options under evaluation in labour supply module (null otherwise)
+    @Transient private Labour labourOptionFemale;
+    @Transient private int labourOptionHoursMale;
+    @Transient private int labourOptionHoursFemale;
+    @Transient private static final ThreadLocal<LabourSupplyOptions> labourSupplyOptions = ThreadLocal.withInitial(LabourSupplyOptions::new);
     @Enumerated(EnumType.STRING) private Region region;        //Region of household.  Also used in findDonorHouseholdsByLabour method
     @Enumerated(EnumType.STRING) private Ydses_c5 ydses_c5;
     @Transient private Ydses_c5 ydses_c5_lag1;
@@ -105,15 +107,15 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
      * CONSTRUCTOR FOR OBJECT USED ONLY TO INTERACT WITH REGRESSION MODELS
      ********************************************************************/
     public BenefitUnit() {
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-        collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
+        model = RunScope.model();
+        collector = RunScope.collector();
         key  = new PanelEntityKey();        //Sets up key
         createdByConstructor = "Empty";
     }
 
     public BenefitUnit(long id) {
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-        collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
+        model = RunScope.model();
+        collector = RunScope.collector();
         key  = new PanelEntityKey(id);        //Sets up key
         createdByConstructor = "Empty";
     }
@@ -146,12 +148,12 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
     // USED BY OTHER CONSTRUCTORS
     public BenefitUnit(Long id, long seed) {
         super();
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-        collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
+        model = RunScope.model();
+        collector = RunScope.collector();
         key  = new PanelEntityKey(id);        //Sets up key
 
         this.seed = seed;
-        innovations = new Innovations(9, seed);
+        innovations = new Innovations(9, model.getInnovationsSeed(), id);
 
         this.numberChildrenAll_lag1 = 0;
         this.numberChildren02_lag1 = 0;
@@ -174,7 +176,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
     public BenefitUnit(Person person, long seed) {
 
         // initialise benefit unit
-        this(benefitUnitIdCounter++, seed);
+        this(nextBenefitUnitId(), seed);
         region = person.getRegion();
         if (Parameters.projectLiquidWealth) {
             // transfer wealth between benefit units
@@ -193,7 +195,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
     public BenefitUnit(Person p1, Person p2) {
 
         // initialise benefit unit
-        this(benefitUnitIdCounter++, (long)(p1.getBenefitUnitRandomUniform()*100000));
+        this(nextBenefitUnitId(), (long)(p1.getBenefitUnitRandomUniform()*100000));
         region = p1.getRegion();
         if (region != p2.getRegion())
             throw new RuntimeException("ERROR - region of responsible male and female must match!");
@@ -219,7 +221,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
     // the rest of the benefit unit's properties, and creates a new benefit unit.
     public BenefitUnit(BenefitUnit originalBenefitUnit, long benefitUnitInnov, SampleEntry sampleEntry) {
 
-        this(benefitUnitIdCounter++, benefitUnitInnov);
+        this(nextBenefitUnitId(), benefitUnitInnov);
         switch (sampleEntry) {
             case ProcessedInputData -> {
                 key.setId(originalBenefitUnit.getId());
@@ -349,7 +351,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
         ydses_c5_lag1 = getYdses_c5();
 
         // random draws
-        innovations.getNewDoubleDraws();
+        innovations.setYear(model.getYear());
     }
 
     protected void updateWealth() {
@@ -423,6 +425,59 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
         return combinationsToReturn;
     }
 
+    /**
+     * As findPossibleLabourCombinations(), storing combinations in options
+     */
+    private void findPossibleLabourCombinations(LabourSupplyOptions options) {
+        options.clear();
+        Person male = getMale();
+        Person female = getFemale();
+        if (male!=null && female!=null) {
+            Labour[] labourMaleValues = (male.atRiskOfWork()) ? LabourSupplyOptions.LABOUR : new Labour[]{Labour.ZERO};
+            Labour[] labourFemaleValues = (female.atRiskOfWork()) ? LabourSupplyOptions.LABOUR : new Labour[]{Labour.ZERO};
+            for (Labour labourMale: labourMaleValues) {
+                for(Labour labourFemale: labourFemaleValues) {
+                    options.add(labourMale, labourFemale);
+                }
+            }
+        } else if (male!=null) {
+            for (Labour labour : LabourSupplyOptions.LABOUR) {
+                options.add(labour, Labour.ZERO);
+            }
+        } else {
+            for (Labour labour : LabourSupplyOptions.LABOUR) {
+                options.add(Labour.ZERO, labour);
+            }
+        }
+    }
+
+    private void setLabourOption(Person male, Labour labourMale, Person female, Labour labourFemale) {
+        labourOptionMale = labourMale;
+        labourOptionHoursMale = (labourMale != null) ? labourMale.getHours(male) : 0;
+        labourOptionFemale = labourFemale;
+        labourOptionHoursFemale = (labourFemale != null) ? labourFemale.getHours(female) : 0;
+    }
+
+    /*
+     * Labour supply of responsible adults referenced by regressors: the option under evaluation in the labour supply
+     * module where one is set (see updateLabourSupplyAndIncome), and otherwise the labour supply of each person
+     */
+    private Labour getMaleLabourSupply() {
+        return (labourOptionMale != null) ? labourOptionMale : getMale().getLabourSupplyWeekly();
+    }
+
+    private Labour getFemaleLabourSupply() {
+        return (labourOptionFemale != null) ? labourOptionFemale : getFemale().getLabourSupplyWeekly();
+    }
+
+    private int getMaleLabourHoursWeekly() {
+        return (labourOptionMale != null) ? labourOptionHoursMale : getMale().getLabourSupplyHoursWeekly();
+    }
+
+    private int getFemaleLabourHoursWeekly() {
+        return (labourOptionFemale != null) ? labourOptionHoursFemale : getFemale().getLabourSupplyHoursWeekly();
+    }
+
 
     public void setReceivesBenefitsFlag() {
 
@@ -526,7 +581,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
         // update disposable income
         TaxEvaluation evaluatedTransfers;
         double taxInnov = (Parameters.donorPoolAveraging) ? -1.0 : innovations.getDoubleDraw(8);
-        evaluatedTransfers = new TaxEvaluation(model.getYear(), getRefPersonForDecisions().getDag(), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), hoursWorkedPerWeekM, hoursWorkedPerWeekF, dlltsdM, dlltsdF, socialCareProvision, originalIncomePerMonth, secondIncomePerMonth, childcareCostPerMonth, socialCareCostPerMonth, getLiquidWealth(Parameters.enableIntertemporalOptimisations), taxInnov);
+        evaluatedTransfers = new TaxEvaluation(model.getYear(), getRefPersonForDecisions().getDag(), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), hoursWorkedPerWeekM, hoursWorkedPerWeekF, dlltsdM, dlltsdF, socialCareProvision, originalIncomePerMonth, secondIncomePerMonth, childcareCostPerMonth, socialCareCostPerMonth, getLiquidWealth(Parameters.enableIntertemporalOptimisations), taxInnov, model.getTaxImputationSurface());
 
         return evaluatedTransfers;
     }
@@ -594,7 +649,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
                         TaxEvaluation evaluatedTransfers;
 
                         double taxInnov = (Parameters.donorPoolAveraging) ? -1.0 : taxRandomUniform;
-                        evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov);
+                        evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov, model.getTaxImputationSurface());
 
                         disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
                         benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
@@ -619,7 +674,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
                         MultiKey<? extends Labour> labourKey = new MultiKey<>(male.getLabourSupplyWeekly(), Labour.ZERO);
                         TaxEvaluation evaluatedTransfers;
                         double taxInnov = (Parameters.donorPoolAveraging) ? -1.0 : taxRandomUniform;
-                        evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov);
+                        evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov, model.getTaxImputationSurface());
                         disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
                         benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
                         grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
@@ -645,7 +700,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
                     TaxEvaluation evaluatedTransfers;
                     double taxInnov = (Parameters.donorPoolAveraging) ? -1.0 : taxRandomUniform;
-                    evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov);
+                    evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov, model.getTaxImputationSurface());
                     disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
                     benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
                     grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
@@ -668,7 +723,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
                 TaxEvaluation evaluatedTransfers;
                 double taxInnov = (Parameters.donorPoolAveraging) ? -1.0 : taxRandomUniform;
-                evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), -1, 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov);
+                evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), -1, 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov, model.getTaxImputationSurface());
                 disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
                 benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
                 grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
@@ -688,7 +743,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
                 TaxEvaluation evaluatedTransfers;
                 double taxInnov = (Parameters.donorPoolAveraging) ? -1.0 : taxRandomUniform;
-                evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), -1, female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov);
+                evaluatedTransfers = new TaxEvaluation(model.getYear(), getIntValue(Regressors.MaximumAge), getIntValue(Regressors.NumberMembersOver17), getIntValue(Regressors.NumberChildren04), getIntValue(Regressors.NumberChildren59), getIntValue(Regressors.NumberChildren1017), labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), -1, female.getDisability(), 0, simulatedIncomeToConvertPerMonth, 0.0, 0.0, taxInnov, model.getTaxImputationSurface());
                 disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
                 benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
                 grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
@@ -942,124 +997,99 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
             updateNonLabourIncome();
 
-            // prepare temporary storage variables
-            MultiKey<? extends Labour> labourSupplyChoice = null;
-            MultiKeyMap<Labour, Double> disposableIncomeMonthlyByLabourPairs = MultiKeyMap.multiKeyMap(new LinkedMap<>());
-            MultiKeyMap<Labour, Double> benefitsReceivedMonthlyByLabourPairs = MultiKeyMap.multiKeyMap(new LinkedMap<>());
-            MultiKeyMap<Labour, Double> grossIncomeMonthlyByLabourPairs = MultiKeyMap.multiKeyMap(new LinkedMap<>());
-            MultiKeyMap<Labour, Match> taxDbMatchByLabourPairs = MultiKeyMap.multiKeyMap(new LinkedMap<>());
-            LinkedHashSet<MultiKey<Labour>> possibleLabourCombinations = findPossibleLabourCombinations(); // Find possible labour combinations for this benefit unit
-            MultiKeyMap<Labour, Double> labourSupplyUtilityRegressionScoresByLabourPairs = MultiKeyMap.multiKeyMap(new LinkedMap<>());
-
+            // prepare temporary storage variables (re-used by each thread, see LabourSupplyOptions)
+            LabourSupplyOptions options = labourSupplyOptions.get();
+            findPossibleLabourCombinations(options); // Find possible labour combinations for this benefit unit
 
             //Sometimes one of the occupants of the couple will be retired (or even under the age to work, which is currently the age to leave home).  For this case, the person (not at risk of work)'s labour supply will always be zero, while the other person at risk of work has a choice over the single person Labour Supply set.
-            if(Occupancy.Couple.equals(occupancy)) {
+            //Regressors refer to the labour supply option under evaluation (see getMaleLabourSupply), so that persons are not altered until an option is selected
+            try {
+                for (int ii=0; ii<options.numberOptions; ii++) {
 
-                for(MultiKey<? extends Labour> labourKey : possibleLabourCombinations) { //PB: for each possible discrete number of hours
+                    int slot = options.slots[ii];
+                    TaxEvaluation evaluatedTransfers;
+                    double regressionScore = 0.;
+                    if(Occupancy.Couple.equals(occupancy)) {
 
-                    //Sets values for regression score calculation
-                    male.setLabourSupplyWeekly(labourKey.getKey(0));
-                    female.setLabourSupplyWeekly(labourKey.getKey(1));
+                        //Sets values for regression score calculation
+                        setLabourOption(male, LabourSupplyOptions.male(slot), female, LabourSupplyOptions.female(slot));
 
-                    //Earnings are composed of the labour income and non-benefit non-employment income Yptciihs_dv() (this is monthly, so no need to multiply by WEEKS_PER_MONTH_RATIO)
-                    double maleIncome = Parameters.WEEKS_PER_MONTH * male.getEarningsWeekly() + Math.sinh(male.getYptciihs_dv());
-                    double femaleIncome = Parameters.WEEKS_PER_MONTH * female.getEarningsWeekly() + Math.sinh(female.getYptciihs_dv());
-                    double originalIncomePerMonth = maleIncome + femaleIncome;
-                    double secondIncomePerMonth = Math.min(maleIncome, femaleIncome);
+                        //Earnings are composed of the labour income and non-benefit non-employment income Yptciihs_dv() (this is monthly, so no need to multiply by WEEKS_PER_MONTH_RATIO)
+                        double maleIncome = Parameters.WEEKS_PER_MONTH * male.getEarningsWeekly(labourOptionHoursMale) + Math.sinh(male.getYptciihs_dv());
+                        double femaleIncome = Parameters.WEEKS_PER_MONTH * female.getEarningsWeekly(labourOptionHoursFemale) + Math.sinh(female.getYptciihs_dv());
+                        double originalIncomePerMonth = maleIncome + femaleIncome;
+                        double secondIncomePerMonth = Math.min(maleIncome, femaleIncome);
 
-                    TaxEvaluation evaluatedTransfers = taxWrapper(labourKey.getKey(0).getHours(male), labourKey.getKey(1).getHours(female), male.getDisability(), female.getDisability(), originalIncomePerMonth, secondIncomePerMonth);
+                        evaluatedTransfers = taxWrapper(labourOptionHoursMale, labourOptionHoursFemale, male.getDisability(), female.getDisability(), originalIncomePerMonth, secondIncomePerMonth);
 
-                    disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
-                    benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
-                    grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
+                        disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
+                        benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
+                        grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
 
-                    //Note that only benefitUnits at risk of work are considered, so at least one partner is at risk of work
-                    double regressionScore = 0.;
-                    if (male.atRiskOfWork()) { //If male has flexible labour supply
-                        if (female.atRiskOfWork()) { //And female has flexible labour supply
-                            //Follow utility process for couples
-                            regressionScore = Parameters.getRegLabourSupplyUtilityCouples().getScore(this, BenefitUnit.Regressors.class);
-                        } else if (!female.atRiskOfWork()) { //Male has flexible labour supply, female doesn't
-                            //Follow utility process for single males for the UK
-                            regressionScore = Parameters.getRegLabourSupplyUtilityMalesWithDependent().getScore(this, BenefitUnit.Regressors.class);
-                            //In Italy, this should follow a separate set of estimates. One way is to differentiate between countries here; another would be to add a set of estimates for both countries, but for the UK have the same number as for singles
-                            //Introduced a new category of estimates, Males/Females with Dependent to be used when only one of the couple is flexible in labour supply. In Italy, these have a separate set of estimates; in the UK they use the same estimates as "independent" singles
+                        //Note that only benefitUnits at risk of work are considered, so at least one partner is at risk of work
+                        if (male.atRiskOfWork()) { //If male has flexible labour supply
+                            if (female.atRiskOfWork()) { //And female has flexible labour supply
+                                //Follow utility process for couples
+                                regressionScore = Parameters.getCompiledLabourSupplyUtilityCouples().getScore(this);
+                            } else { //Male has flexible labour supply, female doesn't
+                                //Introduced a new category of estimates, Males/Females with Dependent to be used when only one of the couple is flexible in labour supply. In Italy, these have a separate set of estimates; in the UK they use the same estimates as "independent" singles
+                                regressionScore = Parameters.getCompiledLabourSupplyUtilityMalesWithDependent().getScore(this);
+                            }
+                        } else if (female.atRiskOfWork()) { //Male not at risk of work - female must be at risk of work since only benefitUnits at risk are considered here
+                            //Follow utility process for single female
+                            regressionScore = Parameters.getCompiledLabourSupplyUtilityFemalesWithDependent().getScore(this);
+                        } else throw new IllegalArgumentException("None of the partners are at risk of work! HHID " + getKey().getId());
+                        if (Double.isNaN(regressionScore) || Double.isInfinite(regressionScore)) {
+                            throw new RuntimeException("problem evaluating exponential regression score in labour supply module (1)");
                         }
-                    } else if (female.atRiskOfWork() && !male.atRiskOfWork()) { //Male not at risk of work - female must be at risk of work since only benefitUnits at risk are considered here
-                        //Follow utility process for single female
-                        regressionScore = Parameters.getRegLabourSupplyUtilityFemalesWithDependent().getScore(this, BenefitUnit.Regressors.class);
-                    } else throw new IllegalArgumentException("None of the partners are at risk of work! HHID " + getKey().getId());
-                    if (Double.isNaN(regressionScore) || Double.isInfinite(regressionScore)) {
-                        throw new RuntimeException("problem evaluating exponential regression score in labour supply module (1)");
-                    }
-
-                    disposableIncomeMonthlyByLabourPairs.put(labourKey, getDisposableIncomeMonthly());
-                    benefitsReceivedMonthlyByLabourPairs.put(labourKey, getBenefitsReceivedPerMonth());
-                    grossIncomeMonthlyByLabourPairs.put(labourKey, getGrossIncomeMonthly());
-                    taxDbMatchByLabourPairs.put(labourKey, evaluatedTransfers.getMatch());
-                    labourSupplyUtilityRegressionScoresByLabourPairs.put(labourKey, regressionScore); //XXX: Adult children could contribute their income to the hh, but then utility would have to be joint for a household with adult children, and they couldn't be treated separately as they are at the moment?
-                }
-            } else {
-                // single adult
+                    } else if(Occupancy.Single_Male.equals(occupancy)) {
 
-                if(Occupancy.Single_Male.equals(occupancy)) {
-
-                    for(MultiKey<? extends Labour> labourKey : possibleLabourCombinations) {
-
-                        male.setLabourSupplyWeekly(labourKey.getKey(0));
-                        double originalIncomePerMonth = Parameters.WEEKS_PER_MONTH * male.getEarningsWeekly() + Math.sinh(male.getYptciihs_dv());
-                        TaxEvaluation evaluatedTransfers = taxWrapper(labourKey.getKey(0).getHours(male), 0.0, male.getDisability(), -1, originalIncomePerMonth, 0.0);
+                        setLabourOption(male, LabourSupplyOptions.male(slot), null, null);
+                        double originalIncomePerMonth = Parameters.WEEKS_PER_MONTH * male.getEarningsWeekly(labourOptionHoursMale) + Math.sinh(male.getYptciihs_dv());
+                        evaluatedTransfers = taxWrapper(labourOptionHoursMale, 0.0, male.getDisability(), -1, originalIncomePerMonth, 0.0);
 
                         disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
                         benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
                         grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
 
-                        double regressionScore = 0.;
                         if (male.getAdultChildFlag() == 1) { //If adult children use labour supply estimates for male adult children
-                            regressionScore = Parameters.getRegLabourSupplyUtilityACMales().getScore(this, Regressors.class);
+                            regressionScore = Parameters.getCompiledLabourSupplyUtilityACMales().getScore(this);
                         } else {
-                            regressionScore = Parameters.getRegLabourSupplyUtilityMales().getScore(this, Regressors.class);
+                            regressionScore = Parameters.getCompiledLabourSupplyUtilityMales().getScore(this);
                         }
                         if (Double.isNaN(regressionScore) || Double.isInfinite(regressionScore)) {
                             throw new RuntimeException("problem evaluating exponential regression score in labour supply module (2)");
                         }
+                    } else {        //Occupant must be a single female
 
-                        disposableIncomeMonthlyByLabourPairs.put(labourKey, getDisposableIncomeMonthly());
-                        benefitsReceivedMonthlyByLabourPairs.put(labourKey, getBenefitsReceivedPerMonth());
-                        grossIncomeMonthlyByLabourPairs.put(labourKey, getGrossIncomeMonthly());
-                        taxDbMatchByLabourPairs.put(labourKey, evaluatedTransfers.getMatch());
-                        labourSupplyUtilityRegressionScoresByLabourPairs.put(labourKey, regressionScore);
-                    }
-                } else if (Occupancy.Single_Female.equals(occupancy)) {        //Occupant must be a single female
-
-                    for(MultiKey<? extends Labour> labourKey : possibleLabourCombinations) {
-
-                        female.setLabourSupplyWeekly(labourKey.getKey(1));
-                        double originalIncomePerMonth = Parameters.WEEKS_PER_MONTH * female.getEarningsWeekly() + Math.sinh(female.getYptciihs_dv());
-                        TaxEvaluation evaluatedTransfers = taxWrapper(0.0, labourKey.getKey(1).getHours(female), -1, female.getDisability(), originalIncomePerMonth, 0.0);
+                        setLabourOption(null, null, female, LabourSupplyOptions.female(slot));
+                        double originalIncomePerMonth = Parameters.WEEKS_PER_MONTH * female.getEarningsWeekly(labourOptionHoursFemale) + Math.sinh(female.getYptciihs_dv());
+                        evaluatedTransfers = taxWrapper(0.0, labourOptionHoursFemale, -1, female.getDisability(), originalIncomePerMonth, 0.0);
 
                         disposableIncomeMonthly = evaluatedTransfers.getDisposableIncomePerMonth();
                         benefitsReceivedPerMonth = evaluatedTransfers.getBenefitsReceivedPerMonth();
                         grossIncomeMonthly = evaluatedTransfers.getGrossIncomePerMonth();
 
-                        double regressionScore = 0.;
                         if (female.getAdultChildFlag() == 1) { //If adult children use labour supply estimates for female adult children
-                            regressionScore = Parameters.getRegLabourSupplyUtilityACFemales().getScore(this, BenefitUnit.Regressors.class);
+                            regressionScore = Parameters.getCompiledLabourSupplyUtilityACFemales().getScore(this);
                         } else {
-                            regressionScore = Parameters.getRegLabourSupplyUtilityFemales().getScore(this, BenefitUnit.Regressors.class);
+                            regressionScore = Parameters.getCompiledLabourSupplyUtilityFemales().getScore(this);
                         }
                         if (Double.isNaN(regressionScore) || Double.isInfinite(regressionScore)) {
                             throw new RuntimeException("problem evaluating exponential regression score in labour supply module (3)");
                         }
-                        disposableIncomeMonthlyByLabourPairs.put(labourKey, getDisposableIncomeMonthly());
-                        benefitsReceivedMonthlyByLabourPairs.put(labourKey, getBenefitsReceivedPerMonth());
-                        grossIncomeMonthlyByLabourPairs.put(labourKey, getGrossIncomeMonthly());
-                        taxDbMatchByLabourPairs.put(labourKey, evaluatedTransfers.getMatch());
-                        labourSupplyUtilityRegressionScoresByLabourPairs.put(labourKey, regressionScore);
                     }
+
+                    options.disposableIncomeMonthly[slot] = getDisposableIncomeMonthly();
+                    options.benefitsReceivedMonthly[slot] = getBenefitsReceivedPerMonth();
+                    options.grossIncomeMonthly[slot] = getGrossIncomeMonthly();
+                    options.taxDbMatches[slot] = evaluatedTransfers.getMatch();
+                    options.scores[slot] = regressionScore; //XXX: Adult children could contribute their income to the hh, but then utility would have to be joint for a household with adult children, and they couldn't be treated separately as they are at the moment?
                 }
+            } finally {
+                setLabourOption(null, null, null, null);
             }
-            if(labourSupplyUtilityRegressionScoresByLabourPairs.isEmpty()) {
+            if(options.numberOptions == 0) {
                 // error check
 
                 System.out.print("\nlabourSupplyUtilityExponentialRegressionScoresByLabourPairs for household " + key.getId() + " with occupants ");
@@ -1074,25 +1104,25 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
             //Sample labour supply from possible labour (pairs of) values
             double labourInnov = innovations.getDoubleDraw(5);
+            int labourSupplyChoice;
             try {
-                MultiKeyMap<Labour, Double> labourSupplyUtilityRegressionProbabilitiesByLabourPairs = convertRegressionScoresToProbabilities(labourSupplyUtilityRegressionScoresByLabourPairs);
-                labourSupplyChoice = ManagerRegressions.multiEvent(labourSupplyUtilityRegressionProbabilitiesByLabourPairs, labourInnov);
+                labourSupplyChoice = options.sample(labourInnov);
                 // labourRandomUniform is not updated here to avoid issues with search routine for labour market alignment
             } catch (RuntimeException e) {
-                System.out.print("Could not determine labour supply choice for BU with ID: " + getKey().getId());
+                throw new RuntimeException("Could not determine labour supply choice for BU with ID: " + getKey().getId(), e);
             }
             // populate labour supply
-            if(model.debugCommentsOn && labourSupplyChoice!=null) {
-                log.trace("labour supply choice " + labourSupplyChoice);
+            if(model.debugCommentsOn) {
+                log.trace("labour supply choice " + LabourSupplyOptions.male(labourSupplyChoice) + ", " + LabourSupplyOptions.female(labourSupplyChoice));
             }
             if(Occupancy.Couple.equals(occupancy)) {
-                male.setLabourSupplyWeekly(labourSupplyChoice.getKey(0));
-                female.setLabourSupplyWeekly(labourSupplyChoice.getKey(1));
+                male.setLabourSupplyWeekly(LabourSupplyOptions.male(labourSupplyChoice));
+                female.setLabourSupplyWeekly(LabourSupplyOptions.female(labourSupplyChoice));
             } else {
                 if(Occupancy.Single_Male.equals(occupancy)) {
-                    male.setLabourSupplyWeekly(labourSupplyChoice.getKey(0));
+                    male.setLabourSupplyWeekly(LabourSupplyOptions.male(labourSupplyChoice));
                 } else {        //Occupant must be single female
-                    female.setLabourSupplyWeekly(labourSupplyChoice.getKey(1));
+                    female.setLabourSupplyWeekly(LabourSupplyOptions.female(labourSupplyChoice));
                 }
             }
 
@@ -1105,10 +1135,10 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
             }
 
             // populate disposable income
-            disposableIncomeMonthly = disposableIncomeMonthlyByLabourPairs.get(labourSupplyChoice);
-            benefitsReceivedPerMonth = benefitsReceivedMonthlyByLabourPairs.get(labourSupplyChoice);
-            grossIncomeMonthly = grossIncomeMonthlyByLabourPairs.get(labourSupplyChoice);
-            taxDbMatch = taxDbMatchByLabourPairs.get(labourSupplyChoice);
+            disposableIncomeMonthly = options.disposableIncomeMonthly[labourSupplyChoice];
+            benefitsReceivedPerMonth = options.benefitsReceivedMonthly[labourSupplyChoice];
+            grossIncomeMonthly = options.grossIncomeMonthly[labourSupplyChoice];
+            taxDbMatch = options.taxDbMatches[labourSupplyChoice];
             taxDbDonorId = taxDbMatch.getCandidateID();
         }
 
@@ -1116,42 +1146,6 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
         calculateBUIncome();
     }
 
-    private MultiKeyMap<Labour, Double> convertRegressionScoresToProbabilities(MultiKeyMap<Labour, Double> regressionScoresMap) {
-        MultiKeyMap<Labour, Double> labourSupplyUtilityRegressionProbabilitiesByLabourPairs = MultiKeyMap.multiKeyMap(new LinkedMap<>()); // Output map to update and return
-        double logSumExp = getLogSumExp(regressionScoresMap);
-
-        // Transform using the log-sum-exp
-        for (MultiKey<? extends Labour> key : regressionScoresMap.keySet()) {
-            double regressionScore = regressionScoresMap.get(key);
-            double regressionProbability = Math.exp(regressionScore - logSumExp);
-            labourSupplyUtilityRegressionProbabilitiesByLabourPairs.put(key, regressionProbability);
-        }
-
-        return labourSupplyUtilityRegressionProbabilitiesByLabourPairs;
-    }
-
-    private static double getLogSumExp(MultiKeyMap<Labour, Double> regressionScoresMap) {
-        double maxRegressionScore = Double.NEGATIVE_INFINITY;
-        double sumExpRegScoreMinusMax = 0.;
-        double logSumExp = 0.;
-
-        // Find maximum of regression scores
-        for (double val : regressionScoresMap.values()) {
-            if(val > maxRegressionScore){
-                maxRegressionScore = val;
-            }
-        }
-
-        // Calculate sum of exp() differences between each element and max
-        for (double val : regressionScoresMap.values()) {
-            sumExpRegScoreMinusMax += Math.exp(val - maxRegressionScore);
-        }
-
-        // Calculate log sum exp
-        logSumExp = maxRegressionScore + Math.log(sumExpRegScoreMinusMax);
-        return logSumExp;
-    }
-
     /////////////////////////////////////////////////////////////////////////////////
     //
     //	Other Methods
@@ -1660,326 +1654,326 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
                         getNonDiscretionaryExpenditureMonthlyUpratedToBasePriceYear()) * getIndicatorChildren(0,2).ordinal() * 1.e-2;
             }
             case MaleLeisure -> {                            //24*7 - labour supply weekly for male
-                return Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly();
+                return Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly();
             }
             case MaleLeisureSq -> {
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
             }
             case MaleLeisure_IncomeDiv100 -> {
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-2;
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-2;
             }
             case MaleLeisure_MaleAgeDiv100 -> {                //Male Leisure interacted with age of male
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getMale().getDag() * 1.e-2;
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getMale().getDag() * 1.e-2;
             }
             case MaleLeisure_MaleAgeSqDiv10000 -> {
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getMale().getDag() * getMale().getDag() * 1.e-4;
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getMale().getDag() * getMale().getDag() * 1.e-4;
             }
             case MaleLeisure_NChildren017, MaleLeisure_dnc -> {
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * (double)getNumberChildren(0,17);
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * (double)getNumberChildren(0,17);
             }
             case MaleLeisure_DChildren2Under -> {
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(0,2).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getIndicatorChildren(0,2).ordinal();
             }
             case MaleLeisure_MaleDeh_c3_Low -> {
                 if(getMale().getDeh_c3().equals(Education.Low)) {
-                    return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                    return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                 } else return 0.;
             }
             case MaleLeisure_MaleDeh_c3_Medium -> {
                 if(getMale().getDeh_c3().equals(Education.Medium)) {
-                    return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                    return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                 } else return 0.;
             }
             case MaleLeisure_UKC -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKC)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKD -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKD)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKE -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKE)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKF -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKF)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKG -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKG)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKH -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKH)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKJ -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKJ)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKK -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKK)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKL -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKL)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKM -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKM)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_UKN -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKN)) {
-                        return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case MaleLeisure_MaleAge50Above -> {
                 if (getMale().getDag() >= 50) {
-                    return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly());
+                    return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly());
                 } else return 0.;
             }
             case MaleLeisure_FemaleLeisure -> {            //Male leisure interacted with female leisure
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
             }
             case FemaleLeisure -> {                            //24*7 - labour supply weekly for Female
-                return Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly();
+                return Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly();
             }
             case FemaleLeisureSq -> {
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
             }
             case FemaleLeisure_IncomeDiv100 -> {
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-2;
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-2;
             }
             case FemaleLeisure_FemaleAgeDiv100 -> {                //Female Leisure interacted with age of Female
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getFemale().getDag() * 1.e-2;
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getFemale().getDag() * 1.e-2;
             }
             case FemaleLeisure_FemaleAgeSqDiv10000 -> {
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getFemale().getDag() * getFemale().getDag() * 1.e-4;
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getFemale().getDag() * getFemale().getDag() * 1.e-4;
             }
             case FemaleLeisure_NChildren017, FemaleLeisure_dnc -> {
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * (double)getNumberChildren(0,17);
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * (double)getNumberChildren(0,17);
             }
             case FemaleLeisure_DChildren2Under -> {
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(0,2).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getIndicatorChildren(0,2).ordinal();
             }
             case FemaleLeisure_FemaleDeh_c3_Low -> {
                 if(getFemale().getDeh_c3().equals(Education.Low)) {
-                    return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                    return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                 } else return 0.;
             }
             case FemaleLeisure_FemaleDeh_c3_Medium -> {
                 if(getFemale().getDeh_c3().equals(Education.Medium)) {
-                    return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                    return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                 } else return 0.;
             }
             case FemaleLeisure_UKC -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKC)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKD -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKD)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKE -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKE)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKF -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKF)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKG -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKG)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKH -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKH)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKJ -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKJ)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKK -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKK)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKL -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKL)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKM -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKM)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_UKN -> {
                 if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKN)) {
-                        return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                        return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - the region used in regression doesn't match the country in the simulation!");
             }
             case FemaleLeisure_FemaleAge50Above -> {
                 if (getFemale().getDag() >= 50) {
-                    return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly());
+                    return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly());
                 } else return 0.;
                 //Note: In the previous version of the model, Fixed Cost was returning -1 to match the regression coefficients
             }
             case FixedCostMale, FixedCost_Male -> {
-                if(getMale() != null && getMale().getLabourSupplyHoursWeekly() > 0) {
+                if(getMale() != null && getMaleLabourHoursWeekly() > 0) {
                     return 1.;
                 } else return 0.;
             }
             case FixedCost_Female -> {
-                if(getFemale() != null && getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemale() != null && getFemaleLabourHoursWeekly() > 0) {
                     return 1.;
                 } else return 0.;
             }
             case FixedCostMale_NorthernRegions -> {
-                if(getMale().getLabourSupplyHoursWeekly() > 0 && (region.equals(Region.ITC) || region.equals(Region.ITH))) {
+                if(getMaleLabourHoursWeekly() > 0 && (region.equals(Region.ITC) || region.equals(Region.ITH))) {
                     return 1.;
                 } else return 0.;
             }
             case FixedCostMale_SouthernRegions -> {
-                if(getMale().getLabourSupplyHoursWeekly() > 0 && (region.equals(Region.ITF) || region.equals(Region.ITG))) {
+                if(getMaleLabourHoursWeekly() > 0 && (region.equals(Region.ITF) || region.equals(Region.ITG))) {
                     return 1.;
                 } else return 0.;
             }
             case FixedCostFemale -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemaleLabourHoursWeekly() > 0) {
                     return 1.;
                 } else return 0.;
             }
             case FixedCostFemale_NorthernRegions -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0 && (region.equals(Region.ITC) || region.equals(Region.ITH))) {
+                if(getFemaleLabourHoursWeekly() > 0 && (region.equals(Region.ITC) || region.equals(Region.ITH))) {
                     return 1.;
                 } else return 0.;
             }
             case FixedCostFemale_SouthernRegions -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0 && (region.equals(Region.ITF) || region.equals(Region.ITG))) {
+                if(getFemaleLabourHoursWeekly() > 0 && (region.equals(Region.ITF) || region.equals(Region.ITG))) {
                     return 1.;
                 } else return 0.;
             }
             case FixedCostMale_NChildren017 -> {
-                if(getMale().getLabourSupplyHoursWeekly() > 0) {
+                if(getMaleLabourHoursWeekly() > 0) {
                     return getNumberChildren(0,17);
                 } else return 0.;
             }
             case FixedCostMale_DChildren2Under -> {
-                if(getMale().getLabourSupplyHoursWeekly() > 0) {
+                if(getMaleLabourHoursWeekly() > 0) {
                     return getIndicatorChildren(0,2).ordinal();
                 } else return 0.;
             }
             case FixedCostFemale_NChildren017 -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemaleLabourHoursWeekly() > 0) {
                     return getNumberChildren(0,17);
                 } else return 0.;
             }
             case FixedCostFemale_DChildren2Under -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemaleLabourHoursWeekly() > 0) {
                     return getIndicatorChildren(0,2).ordinal();
                 } else return 0.;
             }
             case MaleHoursAbove40 -> {
-                if (getMale().getLabourSupplyHoursWeekly() >= 40) {
+                if (getMaleLabourHoursWeekly() >= 40) {
                     return 1.;
                 } else return 0.;
             }
             case FemaleHoursAbove40 -> {
-                if (getFemale().getLabourSupplyHoursWeekly() >= 40) {
+                if (getFemaleLabourHoursWeekly() >= 40) {
                     return 1.;
                 } else return 0.;
                 //Additional regressors for single female or single male benefitUnits:
                 //Note: couples in which one person is not at risk of work have utility set according to the process for singles
             }
             case MaleLeisure_DChildren1317 -> { //Male leisure interacted with dummy for presence of children aged 13-17
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(13,17).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getIndicatorChildren(13,17).ordinal();
             }
             case MaleLeisure_DChildren712 -> {  //Male leisure interacted with dummy for presence of children aged 7 - 12
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(7,12).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getIndicatorChildren(7,12).ordinal();
             }
             case MaleLeisure_DChildren36 -> {   //Male leisure interacted with dummy for presence of children aged 3 - 6
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(3,6).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getIndicatorChildren(3,6).ordinal();
             }
             case MaleLeisure_DChildren017 -> {  //Male leisure interacted with dummy for presence of children aged 0 - 17
                 if(getNumberChildren(0,17) > 0) { //Instead of creating a new variable, use number of children aged 0 - 17
-                    return Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly();
+                    return Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly();
                 } else return 0.;
                 //The following two regressors refer to a partner in single LS model - this is for those with an inactive partner, but not everyone will have a partner so check for nulls
             }
             case FixedCostMale_Dlltsdsp -> {    //Fixed cost interacted with dummy for partner being long-term sick or disabled
-                if(getMale().getLabourSupplyHoursWeekly() > 0) {
+                if(getMaleLabourHoursWeekly() > 0) {
                     if(getFemale() != null) {
                         return getFemale().getDlltsd().ordinal(); //==1 if partner is long-term sick or disabled
                     } else return 0.;
                 } else return 0.;
             }
             case FixedCostMale_Lesspc3_Student -> { //Fixed cost interacted with dummy for partner being a student
-                if(getMale().getLabourSupplyHoursWeekly() > 0) {
+                if(getMaleLabourHoursWeekly() > 0) {
                     if(getFemale() != null && getFemale().getLes_c4().equals(Les_c4.Student)) {
                         return 1.; //Partner must be female - if a student, return 1
                     } else return 0.;
@@ -1987,28 +1981,28 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
             }
             case FemaleLeisure_DChildren1317 -> { //Male leisure interacted with dummy for presence of children aged 13-17
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(13,17).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getIndicatorChildren(13,17).ordinal();
             }
             case FemaleLeisure_DChildren712 -> {  //Male leisure interacted with dummy for presence of children aged 7 - 12
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(7,12).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getIndicatorChildren(7,12).ordinal();
             }
             case FemaleLeisure_DChildren36 -> {   //Male leisure interacted with dummy for presence of children aged 3 - 6
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(3,6).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getIndicatorChildren(3,6).ordinal();
             }
             case FemaleLeisure_DChildren017 -> {  //Male leisure interacted with dummy for presence of children aged 0 - 17
                 if(getNumberChildren(0,17) > 0) { //Instead of creating a new variable, use number of children aged 0 - 17
-                    return Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly();
+                    return Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly();
                 } else return 0.;
             }
             case FixedCostFemale_Dlltsdsp -> {    //Fixed cost interacted with dummy for partner being long-term sick or disabled
-                if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemaleLabourHoursWeekly() > 0) {
                     if(getMale() != null) {
                         return getMale().getDlltsd().ordinal(); //==1 if partner is long-term sick or disabled
                     } else return 0.;
                 } else return 0.;
             }
             case FixedCostFemale_Lesspc3_Student -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemaleLabourHoursWeekly() > 0) {
                     if(getMale() != null && getMale().getLes_c4().equals(Les_c4.Student)) {
                         return 1.; //Partner must be male - if a student, return 1
                     } else return 0.;
@@ -2021,19 +2015,19 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
                 return getDisposableIncomeMonthlyUpratedToBasePriceYear() * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-4;
             }
             case HoursMaleSquared -> {
-                return getMale().getLabourSupplyHoursWeekly() * getMale().getLabourSupplyHoursWeekly();
+                return getMaleLabourHoursWeekly() * getMaleLabourHoursWeekly();
             }
             case HoursFemaleSquared -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getFemale().getLabourSupplyHoursWeekly();
+                return getFemaleLabourHoursWeekly() * getFemaleLabourHoursWeekly();
             }
             case HoursMaleByIncome -> {
-                return getMale().getLabourSupplyHoursWeekly() * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-3;
+                return getMaleLabourHoursWeekly() * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-3;
             }
             case HoursFemaleByIncome -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-3;
+                return getFemaleLabourHoursWeekly() * getDisposableIncomeMonthlyUpratedToBasePriceYear() * 1.e-3;
             }
             case HoursMaleByHoursFemale -> {
-                return getMale().getLabourSupplyHoursWeekly() * getFemale().getLabourSupplyHoursWeekly() * 1.e-3;
+                return getMaleLabourHoursWeekly() * getFemaleLabourHoursWeekly() * 1.e-3;
             }
             case Income -> {
                 return getDisposableIncomeMonthlyUpratedToBasePriceYear();
@@ -2062,16 +2056,16 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
                 return getDisposableIncomeMonthlyUpratedToBasePriceYear() * getNumberChildrenAll();
             }
             case HoursMale -> {
-                return getMale().getLabourSupplyHoursWeekly();
+                return getMaleLabourHoursWeekly();
             }
             case HoursMaleByAgeMale -> {
-                return getMale().getLabourSupplyHoursWeekly() * getMale().getDag() * 1.e-1;
+                return getMaleLabourHoursWeekly() * getMale().getDag() * 1.e-1;
             }
             case HoursMaleByAgeMaleSquared -> {
-                return getMale().getLabourSupplyHoursWeekly() * getMale().getDag() * getMale().getDag() * 1.e-2;
+                return getMaleLabourHoursWeekly() * getMale().getDag() * getMale().getDag() * 1.e-2;
             }
             case HoursMaleByNumberChildren -> {
-                return getMale().getLabourSupplyHoursWeekly() * getNumberChildrenAll();
+                return getMaleLabourHoursWeekly() * getNumberChildrenAll();
             }
             case HoursMaleByDelderly -> {        //Appears only in Single Males regression, not Couple.
                 return 0.;        //Our model doesn't take account of elderly (as people move out of parental home when 18 years old, and we do not provide a mechanism for parents to move back in.
@@ -2079,35 +2073,35 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
             case HoursMaleByDregion -> {
                 if(model.getCountry().equals(Country.IT)) {
                     if(getRegion().equals(Region.ITF) || getRegion().equals(Region.ITG)) {        //For South Italy (Sud) and Islands (Isole)
-                        return getMale().getLabourSupplyHoursWeekly();
+                        return getMaleLabourHoursWeekly();
                     } else return 0.;
                 } else if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKI)) {        //For London
-                        return getMale().getLabourSupplyHoursWeekly();
+                        return getMaleLabourHoursWeekly();
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - household " + this.getId() + " has region " + getRegion() + " which is not yet handled in DonorHousehold.getDoubleValue()!");
 
             }
             case HoursFemale -> {
-                return getFemale().getLabourSupplyHoursWeekly();
+                return getFemaleLabourHoursWeekly();
             }
             case HoursFemaleByAgeFemale -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getFemale().getDag() * 1.e-1;
+                return getFemaleLabourHoursWeekly() * getFemale().getDag() * 1.e-1;
             }
             case HoursFemaleByAgeFemaleSquared -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getFemale().getDag() * getFemale().getDag() * 1.e-2;
+                return getFemaleLabourHoursWeekly() * getFemale().getDag() * getFemale().getDag() * 1.e-2;
             }
             case HoursFemaleByDchildren2under -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getIndicatorChildren(0,2).ordinal();
+                return getFemaleLabourHoursWeekly() * getIndicatorChildren(0,2).ordinal();
             }
             case HoursFemaleByDchildren3_6 -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getIndicatorChildren(3,6).ordinal();
+                return getFemaleLabourHoursWeekly() * getIndicatorChildren(3,6).ordinal();
             }
             case HoursFemaleByDchildren7_12 -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getIndicatorChildren(7,12).ordinal();
+                return getFemaleLabourHoursWeekly() * getIndicatorChildren(7,12).ordinal();
             }
             case HoursFemaleByDchildren13_17 -> {
-                return getFemale().getLabourSupplyHoursWeekly() * getIndicatorChildren(13,17).ordinal();
+                return getFemaleLabourHoursWeekly() * getIndicatorChildren(13,17).ordinal();
             }
             case HoursFemaleByDelderly -> {
                 return 0.;        //Our model doesn't take account of elderly (as people move out of parental home when 18 years old, and we do not provide a mechanism for parents to move back in.
@@ -2115,11 +2109,11 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
             case HoursFemaleByDregion -> {        //Value of hours are already taken into account by multiplying regression coefficients in Parameters class
                 if(model.getCountry().equals(Country.IT)) {
                     if(getRegion().equals(Region.ITF) || getRegion().equals(Region.ITG)) {        //For South Italy (Sud) and Islands (Isole)
-                        return getFemale().getLabourSupplyHoursWeekly();
+                        return getFemaleLabourHoursWeekly();
                     } else return 0.;
                 } else if(model.getCountry().equals(Country.UK)) {
                     if(getRegion().equals(Region.UKI)) {        //For London
-                        return getFemale().getLabourSupplyHoursWeekly();
+                        return getFemaleLabourHoursWeekly();
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - household " + this.getKey().getId() + " has region " + getRegion() + " which is not yet handled in DonorHousehold.getDoubleValue()!");
 
@@ -2128,13 +2122,13 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
             }
             case FixedCostMaleByNumberChildren -> {
-                if(getMale().getLabourSupplyHoursWeekly() > 0) {
+                if(getMaleLabourHoursWeekly() > 0) {
                     return - getNumberChildrenAll();        //Return negative as costs appear negative in utility function equation
                 } else return 0.;
 
             }
             case FixedCostMaleByDchildren2under -> {
-                if(getMale().getLabourSupplyHoursWeekly() > 0) {
+                if(getMaleLabourHoursWeekly() > 0) {
                     return - getIndicatorChildren(0,2).ordinal();        //Return negative as costs appear negative in utility function equation
                 } else return 0.;
 
@@ -2142,13 +2136,13 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
             }
             case FixedCostFemaleByNumberChildren -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemaleLabourHoursWeekly() > 0) {
                     return - getNumberChildrenAll();        //Return negative as costs appear negative in utility function equation
                 } else return 0.;
 
             }
             case FixedCostFemaleByDchildren2under -> {
-                if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                if(getFemaleLabourHoursWeekly() > 0) {
                     return - getIndicatorChildren(0,2).ordinal();        //Return negative as costs appear negative in utility function equation
                 } else return 0.;
 
@@ -2156,11 +2150,11 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
             }
             case FixedCostByHighEducation -> {
                 if(getFemale() == null) {        //For single males
-                    if(getMale().getLabourSupplyHoursWeekly() > 0) {
+                    if(getMaleLabourHoursWeekly() > 0) {
                         return getMale().getDeh_c3().equals(Education.High) ? -1. : 0.;
                     } else return 0.;
                 } else if (getMale() == null) {    //For single females
-                    if(getFemale().getLabourSupplyHoursWeekly() > 0) {
+                    if(getFemaleLabourHoursWeekly() > 0) {
                         return getFemale().getDeh_c3().equals(Education.High) ? -1. : 0.;
                     } else return 0.;
                 } else throw new IllegalArgumentException("Error - FixedCostByHighEducation regressor should only be called for Households containing single people (with or without children), however household " + key.getId() + " has a couple, with male " + getMale().getKey().getId() + " and female " + getFemale().getKey().getId());
@@ -2190,202 +2184,202 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
             case L1_lhw_1 -> {
                 // Coefficient to be applied to lagged hours of work of female member of BU interacted with "alternative 1" of hours of labour supply
                 // Note: labour supply value for person under evaluation is set to the alternative being considered in the update labour supply process
-                return (getFemale() != null && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getFemale() != null && getFemaleLabourSupply().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_10 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_2 -> {
-                return (getFemale() != null && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getFemale() != null && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_20 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_3 -> {
-                return (getFemale() != null && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getFemale() != null && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_30 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_4 -> {
-                return (getFemale() != null && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getFemale() != null && getFemaleLabourSupply().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_40 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_1 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_1 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_2 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_2 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_3 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_3 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_4 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_4 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.ZERO) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.ZERO) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_10 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_10 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_11 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_11 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_12 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_12 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_13 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_13 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_14 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_14 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TEN) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_20 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_20 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_21 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_21 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_22 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_22 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_23 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_23 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_24 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_24 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_30 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_30 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_31 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_31 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_32 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_32 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_33 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_33 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_34 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_34 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_40 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_40 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.ZERO)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_41 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.TEN)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_41 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.TEN)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_42 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_42 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.TWENTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_43 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_43 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.THIRTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Male_44 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getMale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case L1_lhw_Female_44 -> {
-                return (getMale() != null && getFemale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getFemale().getLabourSupplyWeekly().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
+                return (getMale() != null && getFemale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getFemaleLabourSupply().equals(Labour.FORTY)) ? getFemale().getL1LabourSupplyHoursWeekly() : 0.;
             }
             case MaleEduM_10 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.TEN) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
             }
             case MaleEduH_10 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TEN) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.TEN) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
             }
             case MaleEduM_20 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
             }
             case MaleEduH_20 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.TWENTY) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.TWENTY) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
             }
             case MaleEduM_30 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
             }
             case MaleEduH_30 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.THIRTY) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.THIRTY) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
             }
             case MaleEduM_40 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getMale().getDeh_c3().equals(Education.Medium)) ? 1. : 0.;
             }
             case MaleEduH_40 -> {
-                return (getMale() != null && getMale().getLabourSupplyWeekly().equals(Labour.FORTY) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
+                return (getMale() != null && getMaleLabourSupply().equals(Labour.FORTY) && getMale().getDeh_c3().equals(Education.High)) ? 1. : 0.;
             }
             case MaleLeisure_dnc02 -> {
-                return (Parameters.HOURS_IN_WEEK - getMale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(0,1).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getMaleLabourHoursWeekly()) * getIndicatorChildren(0,1).ordinal();
             }
             case FemaleLeisure_dnc02 -> {
-                return (Parameters.HOURS_IN_WEEK - getFemale().getLabourSupplyHoursWeekly()) * getIndicatorChildren(0,1).ordinal();
+                return (Parameters.HOURS_IN_WEEK - getFemaleLabourHoursWeekly()) * getIndicatorChildren(0,1).ordinal();
 
             }
             case Homeownership_D -> {
@@ -2828,6 +2822,11 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
 
     public void setRegion(Region region) {
         this.region = region;
+        if (model != null) {
+            for (Person member : members) {
+                model.updatePopulationCell(member);
+            }
+        }
     }
 
     public double getWeight() {
@@ -3457,13 +3456,13 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
             if (male != null || female != null) {
 
                 if (male != null) {
-                    val = male.getLabourSupplyHoursWeekly();
+                    val = getMaleLabourHoursWeekly();
                 }
                 if (female != null) {
                     if (val != null) {
-                        val = Math.min(val, female.getLabourSupplyHoursWeekly());
+                        val = Math.min(val, getFemaleLabourHoursWeekly());
                     } else {
-                        val = female.getLabourSupplyHoursWeekly();
+                        val = getFemaleLabourHoursWeekly();
                     }
                 }
             } else
@@ -3481,13 +3480,13 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
         if (male != null || female != null) {
 
             if (male != null) {
-                val = male.getLabourSupplyHoursWeekly();
+                val = getMaleLabourHoursWeekly();
             }
             if (female != null) {
                 if (val != null) {
-                    val = Math.max(val, female.getLabourSupplyHoursWeekly());
+                    val = Math.max(val, getFemaleLabourHoursWeekly());
                 } else {
-                    val = female.getLabourSupplyHoursWeekly();
+                    val = getFemaleLabourHoursWeekly();
                 }
             }
         } else {
@@ -3586,6 +3585,7 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
                 for (Person orphan : members) {
                     System.out.println("WARNING: Removed orphan aged " + orphan.getDag() + " in benefit unit without reference adult");
                     model.getPersons().remove(orphan);
+                    model.removeFromPopulationCells(orphan);
                 }
             }
             household.removeBenefitUnit(this);
@@ -3593,5 +3593,15 @@ public class BenefitUnit implements EventListener, IDoubleSource, Weight, Compar
         }
     }
 
-    public static void setBenefitUnitIdCounter(long id) {benefitUnitIdCounter = id;}
+    public static void setBenefitUnitIdCounter(long id) {
+        RunScope scope = RunScope.current();
+        if (scope != null) scope.benefitUnitIdCounter = id;
+        else benefitUnitIdCounter = id;
+    }
+
+    // ids are counted separately by each run bound to a RunScope
+    private static long nextBenefitUnitId() {
+        RunScope scope = RunScope.current();
+        return (scope != null) ? scope.benefitUnitIdCounter++ : benefitUnitIdCounter++;
+    }
 }
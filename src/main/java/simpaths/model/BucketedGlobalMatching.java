@@ -0,0 +1,294 @@
+package simpaths.model;
+
+import microsim.matching.MatchingClosure;
+import microsim.matching.MatchingScoreClosure;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+
+/**
+ *
+ * CLASS TO MATCH MEMBERS OF TWO COLLECTIONS BY GLOBAL (GREEDY) MATCHING, WITHOUT SCORING EVERY PAIR
+ *
+ * GLOBAL MATCHING REPEATEDLY MATCHES THE UNMATCHED PAIR WITH THE LOWEST SCORE, IGNORING PAIRS WITH INFINITE SCORES.
+ * THIS CLASS APPLIES WHERE THE SCORE OF A PAIR IS THE SQUARED EUCLIDEAN DISTANCE BETWEEN TWO POINTS - ONE DEFINED
+ * FOR EACH MEMBER OF THE PAIR - OR IS INFINITE WHERE THE POINTS DIFFER IN EITHER DIMENSION BY MORE THAN A BOUND
+ *
+ * MEMBERS OF THE SECOND COLLECTION ARE INDEXED IN A GRID OF SQUARE BUCKETS. THE NEAREST UNMATCHED CANDIDATE OF
+ * EACH MEMBER OF THE FIRST COLLECTION IS FOUND BY SEARCHING OUTWARD FROM ITS BUCKET, AND CANDIDATE PAIRS ARE
+ * PROCESSED FROM A PRIORITY QUEUE ORDERED BY SCORE. WHERE THE CANDIDATE OF A PAIR DRAWN FROM THE QUEUE HAS ALREADY
+ * BEEN MATCHED, THE NEXT NEAREST CANDIDATE IS SOUGHT AND RETURNED TO THE QUEUE. THE RESULTING MATCHES ARE THOSE
+ * OBTAINED BY SCORING EVERY PAIR, WITH TIES RESOLVED BY THE ITERATION ORDER OF THE TWO COLLECTIONS
+ *
+ * SCORES ARE OBTAINED FROM THE SUPPLIED MatchingScoreClosure, WHICH MAY EXCLUDE PAIRS (BY RETURNING AN INFINITE
+ * SCORE) FOR REASONS OTHER THAN DISTANCE
+ *
+ */
+public class BucketedGlobalMatching<T> {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final int TARGET_PER_BUCKET = 4;
+
+    private final double bound1;        // pairs differing in first dimension by bound1 or more are not matched
+    private final double bound2;        // pairs differing in second dimension by bound2 or more are not matched
+    private final ToDoubleFunction<T> coordinate1Set1, coordinate2Set1, coordinate1Set2, coordinate2Set2;
+
+    // grid of second collection
+    private List<T> set2;
+    private double[] xx2, yy2;
+    private boolean[] matched2;
+    private double minX, minY, bucketSize;
+    private int bucketsX, bucketsY;
+    private int[][] buckets;            // indices of unmatched members of second collection, by bucket
+    private int[] bucketSizes;
+    private int allocated;              // number of members allocated to buckets by last layout
+    private int unmatched;              // number of members allocated to buckets and not since matched
+
+
+    /**
+     * CONSTRUCTOR
+     * @param bound1 bound on (absolute) difference between points in first dimension
+     * @param bound2 bound on (absolute) difference between points in second dimension
+     * @param coordinate1Set1 first coordinate of members of first collection
+     * @param coordinate2Set1 second coordinate of members of first collection
+     * @param coordinate1Set2 first coordinate of members of second collection
+     * @param coordinate2Set2 second coordinate of members of second collection
+     */
+    public BucketedGlobalMatching(double bound1, double bound2, ToDoubleFunction<T> coordinate1Set1, ToDoubleFunction<T> coordinate2Set1,
+                                  ToDoubleFunction<T> coordinate1Set2, ToDoubleFunction<T> coordinate2Set2) {
+        this.bound1 = bound1;
+        this.bound2 = bound2;
+        this.coordinate1Set1 = coordinate1Set1;
+        this.coordinate2Set1 = coordinate2Set1;
+        this.coordinate1Set2 = coordinate1Set2;
+        this.coordinate2Set2 = coordinate2Set2;
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO MATCH MEMBERS OF TWO COLLECTIONS
+     * @param collection1 first collection
+     * @param collection2 second collection
+     * @param scoreClosure score of pair (lower scores are matched first); must equal the squared distance between
+     *                     points, or be infinite
+     * @param matchingClosure called for each match, in order of matching
+     */
+    public void matching(Collection<T> collection1, Collection<T> collection2, MatchingScoreClosure<T> scoreClosure,
+                         MatchingClosure<T> matchingClosure) {
+
+        if (collection1.isEmpty() || collection2.isEmpty() || !(bound1 > 0.0) || !(bound2 > 0.0))
+            return;
+        List<T> set1 = new ArrayList<>(collection1);
+        buildGrid(collection2);
+
+        // nearest candidate of each member of first collection
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        for (int ii=0; ii<set1.size(); ii++) {
+            Candidate candidate = nearest(set1.get(ii), ii, scoreClosure);
+            if (candidate != null)
+                queue.add(candidate);
+        }
+
+        // global matching
+        while (!queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (matched2[candidate.index2]) {
+                candidate = nearest(set1.get(candidate.index1), candidate.index1, scoreClosure);
+                if (candidate != null)
+                    queue.add(candidate);
+            } else {
+                remove(candidate.index2);
+                matchingClosure.match(set1.get(candidate.index1), set2.get(candidate.index2));
+            }
+        }
+    }
+
+    private void buildGrid(Collection<T> collection2) {
+
+        set2 = new ArrayList<>(collection2);
+        int nn = set2.size();
+        xx2 = new double[nn];
+        yy2 = new double[nn];
+        matched2 = new boolean[nn];
+        for (int ii=0; ii<nn; ii++) {
+            xx2[ii] = coordinate1Set2.applyAsDouble(set2.get(ii));
+            yy2[ii] = coordinate2Set2.applyAsDouble(set2.get(ii));
+            if (!Double.isFinite(xx2[ii]) || !Double.isFinite(yy2[ii]))
+                matched2[ii] = true;    // cannot be matched
+        }
+        layoutBuckets();
+    }
+
+    /**
+     * METHOD TO ALLOCATE UNMATCHED MEMBERS OF SECOND COLLECTION TO BUCKETS
+     * CALLED INITIALLY, AND WHENEVER HALF OF THE MEMBERS ALLOCATED HAVE SINCE BEEN MATCHED, TO LIMIT THE NUMBER OF
+     * EMPTY BUCKETS SEARCHED
+     */
+    private void layoutBuckets() {
+
+        int nn = 0;
+        minX = Double.POSITIVE_INFINITY;
+        minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int ii=0; ii<matched2.length; ii++) {
+            if (!matched2[ii]) {
+                nn++;
+                minX = Math.min(minX, xx2[ii]);
+                maxX = Math.max(maxX, xx2[ii]);
+                minY = Math.min(minY, yy2[ii]);
+                maxY = Math.max(maxY, yy2[ii]);
+            }
+        }
+        allocated = nn;
+        unmatched = nn;
+        if (nn == 0) {
+            bucketsX = 0;
+            bucketsY = 0;
+            bucketSize = 1.0;
+            buckets = new int[0][];
+            bucketSizes = new int[0];
+            return;
+        }
+
+        // square buckets, sized to hold TARGET_PER_BUCKET members on average
+        double rangeX = Math.max(maxX - minX, 1.0E-9);
+        double rangeY = Math.max(maxY - minY, 1.0E-9);
+        bucketSize = Math.sqrt(rangeX * rangeY * TARGET_PER_BUCKET / nn);
+        bucketSize = Math.max(bucketSize, Math.max(rangeX, rangeY) / nn);
+        bucketsX = (int) Math.min(nn, Math.floor(rangeX / bucketSize) + 1);
+        bucketsY = (int) Math.min(nn, Math.floor(rangeY / bucketSize) + 1);
+        bucketSizes = new int[bucketsX * bucketsY];
+        for (int ii=0; ii<matched2.length; ii++) {
+            if (!matched2[ii])
+                bucketSizes[bucket(xx2[ii], yy2[ii])]++;
+        }
+        buckets = new int[bucketsX * bucketsY][];
+        for (int bb=0; bb<buckets.length; bb++) {
+            buckets[bb] = new int[bucketSizes[bb]];
+            bucketSizes[bb] = 0;
+        }
+        for (int ii=0; ii<matched2.length; ii++) {
+            if (!matched2[ii]) {
+                int bb = bucket(xx2[ii], yy2[ii]);
+                buckets[bb][bucketSizes[bb]++] = ii;
+            }
+        }
+    }
+
+    private int bucket(double xx, double yy) {
+        int bx = Math.min(bucketsX - 1, (int) ((xx - minX) / bucketSize));
+        int by = Math.min(bucketsY - 1, (int) ((yy - minY) / bucketSize));
+        return bx * bucketsY + by;
+    }
+
+    private void remove(int index2) {
+        matched2[index2] = true;
+        int bb = bucket(xx2[index2], yy2[index2]);
+        int[] bucket = buckets[bb];
+        for (int ii=0; ii<bucketSizes[bb]; ii++) {
+            if (bucket[ii] == index2) {
+                // preserve order within bucket, so that ties are resolved by iteration order
+                System.arraycopy(bucket, ii + 1, bucket, ii, bucketSizes[bb] - ii - 1);
+                bucketSizes[bb]--;
+                break;
+            }
+        }
+        unmatched--;
+        if (unmatched * 2 <= allocated)
+            layoutBuckets();
+    }
+
+    /**
+     * METHOD TO IDENTIFY NEAREST UNMATCHED CANDIDATE IN SECOND COLLECTION
+     * @return null if no candidate has finite score
+     */
+    private Candidate nearest(T member, int index1, MatchingScoreClosure<T> scoreClosure) {
+
+        if (bucketsX == 0)
+            return null;
+        double xx = coordinate1Set1.applyAsDouble(member);
+        double yy = coordinate2Set1.applyAsDouble(member);
+        if (!Double.isFinite(xx) || !Double.isFinite(yy))
+            return null;
+
+        // bucket of member (may lie outside grid)
+        long cx = (long) Math.floor((xx - minX) / bucketSize);
+        long cy = (long) Math.floor((yy - minY) / bucketSize);
+        long maxRing = Math.max(Math.max(Math.abs(cx), Math.abs(cx - bucketsX + 1)), Math.max(Math.abs(cy), Math.abs(cy - bucketsY + 1)));
+        double boundRing = Math.ceil(Math.max(bound1, bound2) / bucketSize) + 1.0;
+        if (boundRing < maxRing)
+            maxRing = (long) boundRing;
+
+        double bestScore = Double.POSITIVE_INFINITY;
+        int bestIndex = -1;
+        long minRing = Math.max(Math.max(-cx, cx - bucketsX + 1), Math.max(-cy, cy - bucketsY + 1));    // first ring to intersect grid
+        for (long ring=Math.max(0, minRing); ring<=maxRing; ring++) {
+
+            // members of buckets in this ring (and beyond) are at least (ring - 1) * bucketSize away
+            double lowerBound = (ring - 1) * bucketSize;
+            if (bestIndex >= 0 && ring > 0 && bestScore < lowerBound * lowerBound * (1.0 - 1.0E-9))
+                break;
+            long x0 = Math.max(0, cx - ring), x1 = Math.min(bucketsX - 1, cx + ring);
+            long y0 = Math.max(0, cy - ring), y1 = Math.min(bucketsY - 1, cy + ring);
+            for (long bx=x0; bx<=x1; bx++) {
+                boolean edgeX = (bx == cx - ring || bx == cx + ring);
+                for (long by=y0; by<=y1; by++) {
+                    if (!edgeX && by != cy - ring && by != cy + ring)
+                        continue;   // interior buckets were searched in earlier rings
+                    int bb = (int) (bx * bucketsY + by);
+                    int[] bucket = buckets[bb];
+                    for (int ii=0; ii<bucketSizes[bb]; ii++) {
+                        int index2 = bucket[ii];
+                        if (Math.abs(xx - xx2[index2]) >= bound1 || Math.abs(yy - yy2[index2]) >= bound2)
+                            continue;
+                        Double score = scoreClosure.getValue(member, set2.get(index2));
+                        if (score == null || score.isNaN() || score.isInfinite())
+                            continue;
+                        if (score < bestScore || (score == bestScore && index2 < bestIndex)) {
+                            bestScore = score;
+                            bestIndex = index2;
+                        }
+                    }
+                }
+            }
+        }
+        return (bestIndex < 0) ? null : new Candidate(bestScore, index1, bestIndex);
+    }
+
+
+    /**
+     * CLASS TO STORE CANDIDATE PAIR, ORDERED BY SCORE AND THEN BY ITERATION ORDER
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        final double score;
+        final int index1;
+        final int index2;
+
+        Candidate(double score, int index1, int index2) {
+            this.score = score;
+            this.index1 = index1;
+            this.index2 = index2;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int cc = Double.compare(score, other.score);
+            if (cc != 0) return cc;
+            cc = Integer.compare(index1, other.index1);
+            if (cc != 0) return cc;
+            return Integer.compare(index2, other.index2);
+        }
+    }
+}
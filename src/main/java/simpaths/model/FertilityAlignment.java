@@ -1,6 +1,5 @@
 package simpaths.model;
 
-import microsim.engine.SimulationEngine;
 import simpaths.data.IEvaluation;
 import simpaths.data.Parameters;
 import simpaths.data.filters.FertileFilter;
@@ -25,13 +24,18 @@ public class FertilityAlignment implements IEvaluation {
     private double targetFertilityRate;
     private Set<Person> persons;
     private SimPathsModel model;
+    private AlignmentPopulation<Person> population;   // persons partitioned by fertility
 
 
     // CONSTRUCTOR
     public FertilityAlignment(Set<Person> persons) {
-        this.model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        this.model = RunScope.model();
         this.persons = persons;
         targetFertilityRate = Parameters.getFertilityRateByYear(model.getYear());
+        FertileFilter<Person> filter = new FertileFilter<>();
+        population = AlignmentPopulation.counting(persons, filter::evaluate, Person::isToGiveBirth,
+                model.isParallelAgentProcesses());
+        population.applyToIneligible(person -> person.fertility(0.0));   // persons who are not fertile do not give birth
     }
 
 
@@ -50,8 +54,7 @@ public class FertilityAlignment implements IEvaluation {
     public double evaluate(double[] args) {
 
         double newAlignAdjustment = args[0] + Parameters.getTimeSeriesValue(model.getYear(), TimeSeriesVariable.FertilityAdjustment);
-        persons.parallelStream()
-                .forEach(person -> person.fertility(newAlignAdjustment));
+        population.apply(person -> person.fertility(newAlignAdjustment));
 
         return targetFertilityRate - evalFertilityRate();
     }
@@ -68,13 +71,8 @@ public class FertilityAlignment implements IEvaluation {
      */
     private double evalFertilityRate() {
 
-        FertileFilter filter = new FertileFilter();
-        long numFertilePersons = model.getPersons().stream()
-                .filter(person -> filter.evaluate(person))
-                .count();
-        long numBirths = model.getPersons().stream()
-                .filter(person -> (person.isToGiveBirth()))
-                .count();
+        int numFertilePersons = population.getNumberEligible();
+        int numBirths = population.getCount();
 
         return (numFertilePersons > 0) ? (double) numBirths / numFertilePersons : 0.0;
     }
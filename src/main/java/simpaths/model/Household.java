@@ -5,7 +5,6 @@ import microsim.data.db.PanelEntityKey;
 import simpaths.data.Parameters;
 import simpaths.data.startingpop.Processed;
 import simpaths.experiment.SimPathsCollector;
-import microsim.engine.SimulationEngine;
 import microsim.event.EventListener;
 import microsim.statistics.IDoubleSource;
 import org.apache.log4j.Logger;
@@ -49,32 +48,32 @@ public class Household implements EventListener, IDoubleSource {
      */
 
     public Household() {
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-        collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
-        key  = new PanelEntityKey(householdIdCounter++);
+        model = RunScope.model();
+        collector = RunScope.collector();
+        key  = new PanelEntityKey(nextHouseholdId());
     }
 
     public Household(Household originalHousehold, SampleEntry sampleEntry) {
 
         switch (sampleEntry) {
             case ProcessedInputData -> {
-                model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-                collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
+                model = RunScope.model();
+                collector = RunScope.collector();
                 key  = new PanelEntityKey(originalHousehold.getId());
                 this.idOriginalHH = originalHousehold.getIdOriginalHH();
             }
             default -> {
-                model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-                collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
-                key  = new PanelEntityKey(householdIdCounter++);
+                model = RunScope.model();
+                collector = RunScope.collector();
+                key  = new PanelEntityKey(nextHouseholdId());
                 idOriginalHH = originalHousehold.key.getId();
             }
         }
     }
 
     public Household(long householdId) {
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-        collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
+        model = RunScope.model();
+        collector = RunScope.collector();
         key  = new PanelEntityKey(householdId);
     }
 
@@ -140,5 +139,15 @@ public class Household implements EventListener, IDoubleSource {
         key.setWorkingId(processed.getId());
     }
 
-    public static void setHouseholdIdCounter(long id) {householdIdCounter = id;}
+    public static void setHouseholdIdCounter(long id) {
+        RunScope scope = RunScope.current();
+        if (scope != null) scope.householdIdCounter = id;
+        else householdIdCounter = id;
+    }
+
+    // ids are counted separately by each run bound to a RunScope
+    private static long nextHouseholdId() {
+        RunScope scope = RunScope.current();
+        return (scope != null) ? scope.householdIdCounter++ : householdIdCounter++;
+    }
 }
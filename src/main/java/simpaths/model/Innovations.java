@@ -1,47 +1,89 @@
 package simpaths.model;
 
-import java.util.Random;
-import java.util.random.RandomGenerator;
+import java.util.Objects;
 
+
+/**
+ *
+ * CLASS TO SUPPLY RANDOM DRAWS TO AGENTS
+ *
+ * DRAWS ARE COMPUTED ON DEMAND BY HASHING (SPLITMIX64 FINALISER) A COUNTER DEFINED BY THE RUN SEED, THE AGENT ID, THE
+ * SIMULATED YEAR (SET BY setYear WHEN THE AGENT IS UPDATED AT THE START OF EACH YEAR) AND THE DRAW INDEX, SO THAT NO
+ * GENERATOR STATE IS SHARED OR LOCKED, AND THE DRAWS OF AN AGENT DO NOT DEPEND ON THE ORDER IN WHICH AGENTS ARE
+ * CREATED, CLONED OR EVALUATED. DRAWS TAKEN BEFORE THE FIRST CALL TO setYear (WHEN THE AGENT IS INITIALISED) AND DRAWS
+ * THAT ARE FIXED OVER AGENT LIFE ARE KEYED BY RESERVED YEARS
+ *
+ * AGENTS THAT HOLD THEIR STATE IN AN AgentStore (SEE Person) KEEP THE STREAM AND YEAR THERE, AND DRAW THROUGH THE
+ * STATIC METHODS OF THIS CLASS
+ *
+ */
 public class Innovations {
 
-    RandomGenerator generator;
-    double[] doubleInnovs;
-    double[] singleDrawDoubleInnovs;
-    long[] singleDrawLongInnovs;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    static final int INITIALISATION_YEAR = -1;          // years reserved for draws that are not year specific
+    private static final int SINGLE_DRAW_DOUBLE_YEAR = -2;
+    private static final int SINGLE_DRAW_LONG_YEAR = -3;
+
+    private final long stream;
+    private final int nDoubleInnovs, nSingleDrawDoubleInnovs, nSingleDrawLongInnovs;
+    private int year = INITIALISATION_YEAR;
 
-    public Innovations(int nmbr, long seed) {
-        generator = new Random(seed);
-        doubleInnovs = new double[nmbr];
-        getNewDoubleDraws();
+    public Innovations(int nmbr, long runSeed, long agentId) {
+        this(nmbr, 0, 0, runSeed, agentId);
     }
 
-    public Innovations(int nDoubleInnovs, int nSingleDrawDoubleInnovs, int nSingleDrawLongInnovs, long seed) {
-        this(nDoubleInnovs, seed);
-        singleDrawDoubleInnovs = new double[nSingleDrawDoubleInnovs];
-        for (int ii = 0; ii < nSingleDrawDoubleInnovs; ii++) {
-            singleDrawDoubleInnovs[ii] = generator.nextDouble();
-        }
-        singleDrawLongInnovs = new long[nSingleDrawLongInnovs];
-        for (int ii = 0; ii < nSingleDrawLongInnovs; ii++) {
-            singleDrawLongInnovs[ii] = generator.nextLong();
-        }
+    public Innovations(int nDoubleInnovs, int nSingleDrawDoubleInnovs, int nSingleDrawLongInnovs, long runSeed, long agentId) {
+        stream = stream(runSeed, agentId);
+        this.nDoubleInnovs = nDoubleInnovs;
+        this.nSingleDrawDoubleInnovs = nSingleDrawDoubleInnovs;
+        this.nSingleDrawLongInnovs = nSingleDrawLongInnovs;
     }
 
-    public void getNewDoubleDraws() {
-        for (int ii = 0; ii < doubleInnovs.length; ii++) {
-            doubleInnovs[ii] = generator.nextDouble();
-        }
+    public void setYear(int year) {
+        if (year < 0)
+            throw new IllegalArgumentException("innovations are not defined for year " + year);
+        this.year = year;
     }
 
     public double getDoubleDraw(int ii) {
-        return doubleInnovs[ii];
+        return doubleDraw(stream, year, Objects.checkIndex(ii, nDoubleInnovs));
     }
 
     public double getSingleDrawDoubleInnov(int ii) {
-        return singleDrawDoubleInnovs[ii];
+        return singleDrawDouble(stream, Objects.checkIndex(ii, nSingleDrawDoubleInnovs));
     }
     public long getSingleDrawLongInnov(int ii) {
-        return singleDrawLongInnovs[ii];
+        return singleDrawLong(stream, Objects.checkIndex(ii, nSingleDrawLongInnovs));
+    }
+
+    static long stream(long runSeed, long agentId) {
+        return mix(mix(runSeed * GOLDEN_GAMMA + GOLDEN_GAMMA) ^ (agentId * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    static double doubleDraw(long stream, int year, int ii) {
+        return toDouble(draw(stream, year, ii));
+    }
+
+    static double singleDrawDouble(long stream, int ii) {
+        return toDouble(draw(stream, SINGLE_DRAW_DOUBLE_YEAR, ii));
+    }
+
+    static long singleDrawLong(long stream, int ii) {
+        return draw(stream, SINGLE_DRAW_LONG_YEAR, ii);
+    }
+
+    private static long draw(long stream, int year, int ii) {
+        long counter = ((long) year << 32) | (ii & 0xFFFFFFFFL);
+        return mix(stream ^ mix(counter * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    private static double toDouble(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 }
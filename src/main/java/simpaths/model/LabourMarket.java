@@ -10,7 +10,6 @@ import simpaths.model.enums.*;
 import simpaths.data.Parameters;
 //import experiment.SimPathsObserver;
 //import microsim.data.MultiKeyCoefficientMap;
-import microsim.engine.SimulationEngine;
 //import microsim.statistics.IDoubleSource;
 //import microsim.statistics.ILongSource;
 
@@ -42,7 +41,7 @@ public class LabourMarket {
     //Constructor:
     LabourMarket(Set<BenefitUnit> benefitUnits) {
 
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        model = RunScope.model();
 //		observer = (SimPathsObserver) SimulationEngine.getInstance().getManager(SimPathsObserver.class.getCanonicalName());	//To allow intra-time-step updates of convergence plots
         this.benefitUnits = benefitUnits;
         EUROMODpolicyNameForThisYear = Parameters.getEUROMODpolicyForThisYear(model.getYear());
@@ -55,7 +54,7 @@ public class LabourMarket {
             benefitUnitsByRegion.put(region, new LinkedHashSet<BenefitUnit>());
         }
 
-        labourInnov = new Random(SimulationEngine.getRnd().nextLong());
+        labourInnov = new Random(RunScope.nextLong());
     }
 
 
@@ -297,7 +296,7 @@ public class LabourMarket {
         for (Person person : personsInBenefitUnit) {
             if (person != null && person.getCovidModuleGrossLabourIncomeBaseline_Xt5() == null) {
                 double covidModuleGrossLabourIncomeBaseline = person.getCovidModuleGrossLabourIncome_Baseline();
-                Statistics stats = ((SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName())).getStats();
+                Statistics stats = RunScope.collector().getStats();
                 if (covidModuleGrossLabourIncomeBaseline <= stats.getGrossLabourIncome_p20()) {
                     person.setCovidModuleGrossLabourIncomeBaseline_Xt5(Quintiles.Q1);
                 } else if (covidModuleGrossLabourIncomeBaseline <= stats.getGrossLabourIncome_p40()) {
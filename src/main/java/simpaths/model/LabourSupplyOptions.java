@@ -0,0 +1,100 @@
+package simpaths.model;
+
+import simpaths.model.enums.Labour;
+import simpaths.model.taxes.Match;
+
+
+/**
+ *
+ * CLASS TO STORE THE LABOUR SUPPLY OPTIONS EVALUATED FOR A BENEFIT UNIT IN THE LABOUR SUPPLY MODULE
+ * (SEE BenefitUnit.updateLabourSupplyAndIncome)
+ *
+ * OPTIONS ARE STORED IN FIXED-SIZE PRIMITIVE ARRAYS, INDEXED BY SLOT = ORDINAL(FEMALE LABOUR) * N + ORDINAL(MALE LABOUR),
+ * WHERE N IS THE NUMBER OF LABOUR CATEGORIES. ASCENDING SLOT ORDER THEREFORE CORRESPONDS TO THE ORDER IN WHICH
+ * OUTCOMES ARE SAMPLED BY ManagerRegressions.multiEvent. ONE INSTANCE IS RE-USED BY EACH THREAD
+ *
+ */
+final class LabourSupplyOptions {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    static final Labour[] LABOUR = Labour.values();
+    static final int N = LABOUR.length;
+
+    final int[] slots = new int[N * N];                 // slots of options, in order of evaluation
+    int numberOptions;
+    final double[] scores = new double[N * N];          // regression scores by slot
+    final double[] disposableIncomeMonthly = new double[N * N];
+    final double[] benefitsReceivedMonthly = new double[N * N];
+    final double[] grossIncomeMonthly = new double[N * N];
+    final Match[] taxDbMatches = new Match[N * N];
+    private final boolean[] evaluated = new boolean[N * N];
+
+
+    /**
+     * WORKER METHODS
+     */
+    static Labour male(int slot) {
+        return LABOUR[slot % N];
+    }
+
+    static Labour female(int slot) {
+        return LABOUR[slot / N];
+    }
+
+    void clear() {
+        for (int ii=0; ii<numberOptions; ii++) {
+            evaluated[slots[ii]] = false;
+            taxDbMatches[slots[ii]] = null;
+        }
+        numberOptions = 0;
+    }
+
+    void add(Labour male, Labour female) {
+        int slot = female.ordinal() * N + male.ordinal();
+        if (!evaluated[slot]) {
+            evaluated[slot] = true;
+            slots[numberOptions++] = slot;
+        }
+    }
+
+    /**
+     * METHOD TO SAMPLE OPTION FROM MULTINOMIAL LOGIT PROBABILITIES IMPLIED BY SCORES
+     * PROBABILITIES ARE OBTAINED BY THE LOG-SUM-EXP TRANSFORMATION OF SCORES, AND SAMPLED AS IN ManagerRegressions.multiEvent,
+     * INCLUDING THE ORDER OF FLOATING POINT OPERATIONS, SO THAT THE SAME OPTION IS SELECTED FOR ANY GIVEN DRAW
+     * @param rand uniform draw
+     * @return slot of option selected
+     */
+    int sample(double rand) {
+
+        // log-sum-exp, in order of evaluation
+        double maxScore = Double.NEGATIVE_INFINITY;
+        for (int ii=0; ii<numberOptions; ii++) {
+            if (scores[slots[ii]] > maxScore)
+                maxScore = scores[slots[ii]];
+        }
+        double sumExp = 0.0;
+        for (int ii=0; ii<numberOptions; ii++) {
+            sumExp += Math.exp(scores[slots[ii]] - maxScore);
+        }
+        double logSumExp = maxScore + Math.log(sumExp);
+
+        double cprob = 0.0;
+        for (int ii=0; ii<numberOptions; ii++) {
+            cprob += Math.exp(scores[slots[ii]] - logSumExp);
+        }
+
+        // sample, in ascending order of slot
+        double prob = 0.0;
+        for (int slot=0; slot<N*N; slot++) {
+            if (evaluated[slot]) {
+                prob += Math.exp(scores[slot] - logSumExp) / cprob;
+                if (rand < prob)
+                    return slot;
+            }
+        }
+        throw new RuntimeException("failed to identify new enumerator for multi-event (3)");
+    }
+}
@@ -0,0 +1,93 @@
+package simpaths.model;
+
+import microsim.event.EventListener;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+
+/**
+ *
+ * CLASS TO EXECUTE A PROCESS OVER A COLLECTION OF AGENTS (PERSONS OR BENEFIT UNITS) IN PARALLEL
+ *
+ * THE COLLECTION IS DIVIDED INTO CONTIGUOUS CHUNKS, WHICH ARE PROCESSED USING A FORK-JOIN POOL (BY DEFAULT THE COMMON
+ * POOL). THIS IS
+ * ONLY SUITABLE FOR PROCESSES THAT:
+ *  - DO NOT ADD OR REMOVE AGENTS FROM THE COLLECTION
+ *  - UPDATE ONLY THE STATE OF THE AGENT BEING PROCESSED (AND, FOR BENEFIT UNITS, THEIR MEMBERS)
+ *  - READ THE STATE OF OTHER AGENTS ONLY WHERE THAT STATE IS NOT UPDATED BY THE SAME PROCESS (E.G. LAGGED VALUES)
+ *  - DRAW RANDOM NUMBERS ONLY FROM THE AGENT'S OWN Innovations
+ * IN WHICH CASE RESULTS ARE IDENTICAL TO SEQUENTIAL EXECUTION (EventGroup.addCollectionEvent) FOR THE SAME SEED
+ *
+ * PROCESSES ARE SCHEDULED VIA SimPathsModel.addParallelCollectionEvent
+ *
+ */
+public class ParallelCollectionProcess implements EventListener {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public enum Processes {
+        Execute,
+    }
+
+    private static final int MIN_CHUNK_SIZE = 256;      // smaller collections are processed sequentially
+    private static final int CHUNKS_PER_THREAD = 4;     // to balance load where agents differ in processing time
+
+    private final Collection<? extends EventListener> agents;
+    private final Enum<?> process;
+    private final ForkJoinPool pool;
+
+
+    /**
+     * CONSTRUCTOR
+     * @param agents collection of agents, which may change between executions (but not during an execution)
+     * @param process process to execute for each agent
+     */
+    public ParallelCollectionProcess(Collection<? extends EventListener> agents, Enum<?> process) {
+        this(agents, process, ForkJoinPool.commonPool());
+    }
+
+    // pool may be specified to control the number of threads (used by tests)
+    ParallelCollectionProcess(Collection<? extends EventListener> agents, Enum<?> process, ForkJoinPool pool) {
+        this.agents = agents;
+        this.process = process;
+        this.pool = pool;
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+    @Override
+    public void onEvent(Enum<?> type) {
+
+        if (type != Processes.Execute)
+            throw new RuntimeException("unrecognised ParallelCollectionProcess event: " + type);
+
+        EventListener[] array = agents.toArray(new EventListener[0]);
+        int threads = pool.getParallelism();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (array.length + threads * CHUNKS_PER_THREAD - 1) / (threads * CHUNKS_PER_THREAD));
+        int numberOfChunks = (array.length + chunkSize - 1) / chunkSize;
+        if (numberOfChunks <= 1 || threads <= 1) {
+            for (EventListener agent : array) {
+                agent.onEvent(process);
+            }
+        } else {
+            RunScope scope = RunScope.current();     // worker threads act for the run of the calling thread
+            pool.submit(() -> IntStream.range(0, numberOfChunks).parallel().forEach(cc -> {
+                RunScope previous = RunScope.bind(scope);
+                try {
+                    int end = Math.min(array.length, (cc + 1) * chunkSize);
+                    for (int ii = cc * chunkSize; ii < end; ii++) {
+                        array[ii].onEvent(process);
+                    }
+                } finally {
+                    RunScope.bind(previous);
+                }
+            })).join();
+        }
+    }
+}
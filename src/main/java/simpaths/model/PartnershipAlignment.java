@@ -1,6 +1,5 @@
 package simpaths.model;
 
-import microsim.engine.SimulationEngine;
 import simpaths.data.IEvaluation;
 import simpaths.data.Parameters;
 import simpaths.model.enums.Dcpst;
@@ -25,13 +24,20 @@ public class PartnershipAlignment implements IEvaluation {
     private double targetAggregateShareOfPartneredPersons;
     private Set<Person> persons;
     private SimPathsModel model;
+    private AlignmentPopulation<Person> population;   // persons partitioned by eligibility for partnership
 
 
     // CONSTRUCTOR
     public PartnershipAlignment(Set<Person> persons) {
-        this.model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        this.model = RunScope.model();
         this.persons = persons;
         targetAggregateShareOfPartneredPersons = Parameters.getTargetShare(model.getYear(), TargetShares.Partnership);
+        population = AlignmentPopulation.counting(persons,
+                person -> person.getDag() >= Parameters.MIN_AGE_COHABITATION,
+                person -> (person.getTestPartner() ||
+                        (person.getPartner()!=null &&
+                                !person.getLeavePartner() && !person.getPartner().getLeavePartner())),
+                model.isParallelAgentProcesses());
     }
 
 
@@ -52,13 +58,12 @@ public class PartnershipAlignment implements IEvaluation {
 
         model.clearPersonsToMatch();
         double newAlignAdjustment = args[0] + Parameters.getTimeSeriesValue(model.getYear(), TimeSeriesVariable.PartnershipAdjustment);
-        persons.parallelStream()
-                .filter(person -> person.getDag() >= Parameters.MIN_AGE_COHABITATION)
-                .forEach(person -> person.cohabitation(newAlignAdjustment));
+        population.forEachEligible(person -> person.cohabitation(newAlignAdjustment));
 
         // "Fake" union matching (not modifying household structure) here
         model.unionMatching(true);
         model.unionMatchingNoRegion(true);
+        population.refresh();
 
         return targetAggregateShareOfPartneredPersons - evalAggregateShareOfPartneredPersons();
     }
@@ -67,23 +72,16 @@ public class PartnershipAlignment implements IEvaluation {
     /**
      * Evaluates the aggregate share of persons with partners assigned in a test run of union matching among those eligible for partnership.
      *
-     * This method uses Java streams to count the number of persons who meet the age criteria for cohabitation
-     * and the number of persons who currently have a test partner. The aggregate share is calculated as the
-     * ratio of successfully partnered persons to those eligible for partnership, with consideration for potential division by zero.
+     * Persons with a (continuing or test) partner are counted by the AlignmentPopulation, which is updated
+     * following each test run of union matching. The aggregate share is calculated as the ratio of partnered
+     * persons to those eligible for partnership, with consideration for potential division by zero.
      *
      * @return The aggregate share of partnered persons among those eligible, or 0.0 if no eligible persons are found.
      */
     private double evalAggregateShareOfPartneredPersons() {
 
-        long numPersonsWhoCanHavePartner = persons.stream()
-                .filter(person -> person.getDag() >= Parameters.MIN_AGE_COHABITATION)
-                .count();
-
-        long numPersonsPartnered = persons.stream()
-                .filter(person -> (person.getTestPartner() ||
-                        (person.getPartner()!=null &&
-                                !person.getLeavePartner() && !person.getPartner().getLeavePartner())))
-                .count();
+        int numPersonsWhoCanHavePartner = population.getNumberEligible();
+        int numPersonsPartnered = population.getCount();
 
         return numPersonsWhoCanHavePartner > 0 ?
                 (double) numPersonsPartnered / numPersonsWhoCanHavePartner : 0.0;
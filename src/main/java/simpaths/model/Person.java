@@ -21,7 +21,6 @@ import org.apache.log4j.Logger;
 import simpaths.data.Parameters;
 import simpaths.model.decisions.DecisionParams;
 import microsim.agent.Weight;
-import microsim.engine.SimulationEngine;
 import microsim.event.EventListener;
 import microsim.statistics.IDoubleSource;
 import microsim.statistics.IIntSource;
@@ -63,20 +62,17 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     private int dag; //Age
     @Enumerated(EnumType.STRING) private Indicator adultchildflag;
     @Transient private boolean ioFlag;         // true if a dummy person instantiated for IO decision solution
+    @Transient private int populationCell = -1;     // cell of PopulationCellIndex occupied by person (-1 if not indexed)
+    @Transient private int populationCellSlot = -1; // position of person in populationCell
     @Enumerated(EnumType.STRING) private Gender dgn;             // gender
     @Enumerated(EnumType.STRING) private Education deh_c3;       //Education level
-    @Transient private Education deh_c3_lag1;  //Lag(1) of education level
     @Enumerated(EnumType.STRING) private Education dehm_c3;      //Mother's education level
     @Enumerated(EnumType.STRING) private Education dehf_c3;      //Father's education level
     @Enumerated(EnumType.STRING) private Indicator ded;          // in continuous education
     @Enumerated(EnumType.STRING) private Indicator der;          // return to education
     @Enumerated(EnumType.STRING) private Les_c4 les_c4;      //Activity (employment) status
     @Enumerated(EnumType.STRING) private Les_c7_covid les_c7_covid; //Activity (employment) status used in the Covid-19 models
-    @Transient private Les_c4 les_c4_lag1;		//Lag(1) of activity_status
-    @Transient private Les_c7_covid les_c7_covid_lag1;     //Lag(1) of 7-category activity status
-    @Transient private Integer liwwh;                  //Work history in months (number of months in employment) (Note: this is monthly in EM, but simulation updates annually so increment by 12 months).
     @Enumerated(EnumType.STRING) private Indicator dlltsd;	//Long-term sick or disabled if = 1
-    @Transient private Indicator dlltsd_lag1; //Lag(1) of long-term sick or disabled
     @Enumerated(EnumType.STRING) @Column(name="need_socare") private Indicator needSocialCare;
     @Column(name="formal_socare_hrs") private Double careHoursFromFormalWeekly;
     @Column(name="formal_socare_cost") private Double careFormalExpenditureWeekly;
@@ -86,53 +82,17 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     @Column(name="son_socare_hrs") private Double careHoursFromSonWeekly;
     @Column(name="other_socare_hrs") private Double careHoursFromOtherWeekly;
     private Boolean lowWageOffer;
-    @Transient private Boolean lowWageOffer_lag1;
-    @Transient private SocialCareReceipt socialCareReceipt;
-    @Transient private Boolean socialCareFromFormal;
-    @Transient private Boolean socialCareFromPartner;
-    @Transient private Boolean socialCareFromDaughter;
-    @Transient private Boolean socialCareFromSon;
-    @Transient private Boolean socialCareFromOther;
     @Column(name="socare_provided_hrs") private Double careHoursProvidedWeekly;
     @Enumerated(EnumType.STRING) @Column(name="socare_provided_to") private SocialCareProvision socialCareProvision;
-    @Transient private SocialCareProvision socialCareProvision_lag1;
-    @Transient private Indicator needSocialCare_lag1;
-    @Transient private Double careHoursFromFormalWeekly_lag1;
-    @Transient private Double careHoursFromPartnerWeekly_lag1;
-    @Transient private Double careHoursFromParentWeekly_lag1;
-    @Transient private Double careHoursFromDaughterWeekly_lag1;
-    @Transient private Double careHoursFromSonWeekly_lag1;
-    @Transient private Double careHoursFromOtherWeekly_lag1;
-
-    // partner lags
-    @Transient private Dcpst dcpst_lag1;            // lag partnership status
-    @Transient private Education dehsp_c3_lag1;     //Lag(1) of partner's education
-    @Transient private Dhe dhesp_lag1;
-    @Transient private Lesdf_c4 lesdf_c4_lag1;      //Lag(1) of own and partner's activity status
-    @Transient private Long idPartnerLag1;
-    @Transient private HouseholdStatus household_status_lag;		//Lag(1) of household_status
-    @Transient private Integer dcpagdf_lag1;        //Lag(1) of difference between ages of partners in union
-    @Transient private Double ynbcpdf_dv_lag1;      //Lag(1) of difference between own and partner's gross personal non-benefit income
 
     @Enumerated(EnumType.STRING) private Indicator sedex;    // year left education
-    @Transient private Boolean toGiveBirth;
-    @Transient private Boolean toLeaveSchool;
-    @Transient private Boolean toBePartnered;
-    @Transient private Boolean hasTestPartner;
-    @Transient private Boolean leavePartner; // Used in partnership alignment process. Indicates that this person has found partner in a test run of union matching.
     @Column(name="person_weight") private Double weight;
     @Column(name="dhm_ghq") private Boolean dhmGhq; //Psychological distress case-based
-    @Transient private Boolean dhmGhq_lag1;
-    @Transient private Dhe dhe_lag1;
     @Enumerated(EnumType.STRING) private Dhe dhe;
     private Double dhm; //Psychological distress GHQ-12 Likert scale
-    @Transient private Double dhm_lag1; //Lag(1) of dhm
     @Column(name="dhh_owned") private Boolean dhhOwned; // Person is a homeowner, true / false
-    @Transient private Boolean receivesBenefitsFlag_L1; // Lag(1) of whether person receives benefits
-    @Transient private Boolean receivesBenefitsFlag; // Does person receive benefits
 
     @Enumerated(EnumType.STRING) private Labour labourSupplyWeekly;			//Number of hours of labour supplied each week
-    @Transient private Labour labourSupplyWeekly_L1; // Lag(1) (previous year's value) of weekly labour supply
     private Integer hoursWorkedWeekly;
 
 //	Potential earnings is the gross hourly wage an individual can earn while working
@@ -142,64 +102,108 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 //	individual in the simulated population, in each simulated period.
     @Column(name="potential_earnings_hourly") private Double fullTimeHourlyEarningsPotential;		//Is hourly rate.  Initialised with value: ils_earns / (4.34 * lhw), where lhw is the weekly hours a person worked in EUROMOD input data
     @Column(name="l1_potential_earnings_hourly") private Double L1_fullTimeHourlyEarningsPotential; // Lag(1) of potentialHourlyEarnings
-    @Transient private Series.Double yearlyEquivalisedDisposableIncomeSeries;
+    @Transient private Series.Double yearlyEquivalisedDisposableIncomeSeries;    // allocated on first access
     private Double yearlyEquivalisedConsumption;
     @Transient private Series.Double yearlyEquivalisedConsumptionSeries;
     private Double sIndex;
     private Double sIndexNormalised;
-    @Transient private LinkedHashMap<Integer, Double> sIndexYearMap;
+    @Transient private LinkedHashMap<Integer, Double> sIndexYearMap;   // allocated on first access
     private Integer dcpyy; //Number of years in partnership
-    @Transient private Integer dcpyy_lag1; //Lag(1) of number of years in partnership
     private Double ypnbihs_dv; // asinh of personal non-benefit income per month
-    @Transient private Double ypnbihs_dv_lag1; //Lag(1) of gross personal non-benefit income
     private Double yptciihs_dv; // asinh of non-employment non-benefit income per month (capital and pension)
     private Double ypncp; // asinh of capital income per month
     private Double ypnoab; // asinh of pension income per month
-    @Transient private Double ypncp_lag1; //Lag(1) of ypncp
-    @Transient private Double ypncp_lag2; //Lag(2) of capital income
-    @Transient private Double ypnoab_lag1; //Lag(1) of pension income
-    @Transient private Double ypnoab_lag2; //Lag(2) of pension income
-    @Transient private Double yptciihs_dv_lag1; //Lag(1) of gross personal non-benefit non-employment income
-    @Transient private Double yptciihs_dv_lag2; //Lag(2) of gross personal non-benefit non-employment income
-    @Transient private Double yptciihs_dv_lag3; //Lag(3) of gross personal non-benefit non-employment income
     private Double yplgrs_dv;       // asinh transform of personal labour income per month
-    @Transient private Double yplgrs_dv_lag1; //Lag(1) of gross personal employment income
-    @Transient private Double yplgrs_dv_lag2; //Lag(2) of gross personal employment income
-    @Transient private Double yplgrs_dv_lag3; //Lag(3) of gross personal employment income
-
-    //For matching process
-    @Transient private Double desiredAgeDiff;
-    @Transient private Double desiredEarningsPotentialDiff;
-    @Transient private Integer ageGroup;
-
-    //This is set to true at the point when individual leaves education and never reset. So if true, individual has not always been in continuous education.
-    @Transient private Boolean leftEducation;
-
-    //This is set to true at the point when individual leaves partnership and never reset. So if true, individual has been / is in a partnership
-    @Transient private Boolean leftPartnership;
-    @Transient private Integer newWorkHours_lag1; // Define a variable to keep previous month's value of work hours to be used in the Covid-19 module
-    @Transient private Double covidModuleGrossLabourIncome_lag1;
-    @Transient private Indicator covidModuleReceivesSEISS = Indicator.False;
-    @Transient private Double covidModuleGrossLabourIncome_Baseline;
     private Quintiles covidModuleGrossLabourIncomeBaseline_Xt5;
-    @Transient private Double wageRegressionRandomComponentE;
-    @Transient private Double wageRegressionRandomComponentNE;
-    @Transient private Map<Labour, Integer> personContinuousHoursLabourSupplyMap = new EnumMap<>(Labour.class);
-
-    // local variables interact with regression models
-    @Transient private Integer yearLocal;
-    @Transient private Region regionLocal;
-    @Transient private Dhhtp_c4 dhhtp_c4_lag1Local;
-    @Transient private Ydses_c5 ydses_c5_lag1Local;
-    @Transient private Integer numberChildrenAllLocal_lag1;
-    @Transient private Integer numberChildrenAllLocal;
-    @Transient private Integer numberChildren02Local_lag1;
-    @Transient private Integer numberChildren017Local;
-    @Transient private Indicator indicatorChildren02Local;
-    @Transient private Dcpst dcpstLocal;
-
-    // innovations
-    @Transient Innovations innovations;
+    @Transient private Map<Labour, Integer> personContinuousHoursLabourSupplyMap;    // allocated on first access
+
+    // simulation-time state, held in the agent store of the population by slot (see AgentStore)
+    private static final int NUMBER_DOUBLE_INNOVATIONS = 32;
+    @Transient private final AgentStore store;
+    @Transient private int slot;                   // -1 once released (see releaseState)
+
+    // double columns of agent store
+    private static final int CARE_HOURS_FROM_FORMAL_WEEKLY_LAG1 = 0;
+    private static final int CARE_HOURS_FROM_PARTNER_WEEKLY_LAG1 = 1;
+    private static final int CARE_HOURS_FROM_PARENT_WEEKLY_LAG1 = 2;
+    private static final int CARE_HOURS_FROM_DAUGHTER_WEEKLY_LAG1 = 3;
+    private static final int CARE_HOURS_FROM_SON_WEEKLY_LAG1 = 4;
+    private static final int CARE_HOURS_FROM_OTHER_WEEKLY_LAG1 = 5;
+    private static final int YNBCPDF_DV_LAG1 = 6;                      //Lag(1) of difference between own and partner's gross personal non-benefit income
+    private static final int DHM_LAG1 = 7;                             //Lag(1) of dhm
+    private static final int YPNBIHS_DV_LAG1 = 8;                      //Lag(1) of gross personal non-benefit income
+    private static final int YPNCP_LAG1 = 9;                           //Lag(1) of ypncp
+    private static final int YPNCP_LAG2 = 10;                          //Lag(2) of capital income
+    private static final int YPNOAB_LAG1 = 11;                         //Lag(1) of pension income
+    private static final int YPNOAB_LAG2 = 12;                         //Lag(2) of pension income
+    private static final int YPTCIIHS_DV_LAG1 = 13;                    //Lag(1) of gross personal non-benefit non-employment income
+    private static final int YPTCIIHS_DV_LAG2 = 14;                    //Lag(2) of gross personal non-benefit non-employment income
+    private static final int YPTCIIHS_DV_LAG3 = 15;                    //Lag(3) of gross personal non-benefit non-employment income
+    private static final int YPLGRS_DV_LAG1 = 16;                      //Lag(1) of gross personal employment income
+    private static final int YPLGRS_DV_LAG2 = 17;                      //Lag(2) of gross personal employment income
+    private static final int YPLGRS_DV_LAG3 = 18;                      //Lag(3) of gross personal employment income
+    private static final int DESIRED_AGE_DIFF = 19;                    // for matching process
+    private static final int DESIRED_EARNINGS_POTENTIAL_DIFF = 20;     // for matching process
+    private static final int COVID_MODULE_GROSS_LABOUR_INCOME_LAG1 = 21;
+    private static final int COVID_MODULE_GROSS_LABOUR_INCOME_BASELINE = 22;
+    private static final int WAGE_REGRESSION_RANDOM_COMPONENT_E = 23;
+    private static final int WAGE_REGRESSION_RANDOM_COMPONENT_NE = 24;
+
+    // int columns of agent store
+    private static final int LIWWH = 0;                                //Work history in months (number of months in employment) (Note: this is monthly in EM, but simulation updates annually so increment by 12 months).
+    private static final int DCPAGDF_LAG1 = 1;                         //Lag(1) of difference between ages of partners in union
+    private static final int DCPYY_LAG1 = 2;                           //Lag(1) of number of years in partnership
+    private static final int AGE_GROUP = 3;
+    private static final int NEW_WORK_HOURS_LAG1 = 4;                  // Define a variable to keep previous month's value of work hours to be used in the Covid-19 module
+    private static final int YEAR_LOCAL = 5;                           // local variables interact with regression models
+    private static final int NUMBER_CHILDREN_ALL_LOCAL_LAG1 = 6;
+    private static final int NUMBER_CHILDREN_ALL_LOCAL = 7;
+    private static final int NUMBER_CHILDREN02_LOCAL_LAG1 = 8;
+    private static final int NUMBER_CHILDREN017_LOCAL = 9;
+    private static final int INNOVATIONS_YEAR = 10;                    // year of innovations (see Innovations), null before first update
+
+
+    // long columns of agent store
+    private static final int ID_PARTNER_LAG1 = 0;
+    private static final int INNOVATIONS_STREAM = 1;                   // stream of innovations (see Innovations)
+
+    // byte columns of agent store
+    private static final int DEH_C3_LAG1 = 0;                          //Lag(1) of education level
+    private static final int LES_C4_LAG1 = 1;                          //Lag(1) of activity_status
+    private static final int LES_C7_COVID_LAG1 = 2;                    //Lag(1) of 7-category activity status
+    private static final int DLLTSD_LAG1 = 3;                          //Lag(1) of long-term sick or disabled
+    private static final int LOW_WAGE_OFFER_LAG1 = 4;
+    private static final int SOCIAL_CARE_RECEIPT = 5;
+    private static final int SOCIAL_CARE_FROM_FORMAL = 6;
+    private static final int SOCIAL_CARE_FROM_PARTNER = 7;
+    private static final int SOCIAL_CARE_FROM_DAUGHTER = 8;
+    private static final int SOCIAL_CARE_FROM_SON = 9;
+    private static final int SOCIAL_CARE_FROM_OTHER = 10;
+    private static final int SOCIAL_CARE_PROVISION_LAG1 = 11;
+    private static final int NEED_SOCIAL_CARE_LAG1 = 12;
+    private static final int DCPST_LAG1 = 13;                          // partner lags: lag partnership status
+    private static final int DEHSP_C3_LAG1 = 14;                       //Lag(1) of partner's education
+    private static final int DHESP_LAG1 = 15;
+    private static final int LESDF_C4_LAG1 = 16;                       //Lag(1) of own and partner's activity status
+    private static final int HOUSEHOLD_STATUS_LAG = 17;                //Lag(1) of household_status
+    private static final int TO_GIVE_BIRTH = 18;
+    private static final int TO_LEAVE_SCHOOL = 19;
+    private static final int TO_BE_PARTNERED = 20;
+    private static final int HAS_TEST_PARTNER = 21;
+    private static final int LEAVE_PARTNER = 22;                       // Used in partnership alignment process. Indicates that this person has found partner in a test run of union matching.
+    private static final int DHM_GHQ_LAG1 = 23;
+    private static final int DHE_LAG1 = 24;
+    private static final int RECEIVES_BENEFITS_FLAG_L1 = 25;           // Lag(1) of whether person receives benefits
+    private static final int RECEIVES_BENEFITS_FLAG = 26;              // Does person receive benefits
+    private static final int LABOUR_SUPPLY_WEEKLY_L1 = 27;             // Lag(1) (previous year's value) of weekly labour supply
+    private static final int LEFT_EDUCATION = 28;                      // set to true when individual leaves education and never reset
+    private static final int LEFT_PARTNERSHIP = 29;                    // set to true when individual leaves partnership and never reset
+    private static final int COVID_MODULE_RECEIVES_SEISS = 30;
+    private static final int REGION_LOCAL = 31;                        // local variables interact with regression models
+    private static final int DHHTP_C4_LAG1_LOCAL = 32;
+    private static final int YDSES_C5_LAG1_LOCAL = 33;
+    private static final int INDICATOR_CHILDREN02_LOCAL = 34;
+    private static final int DCPST_LOCAL = 35;
 
     //TODO: Remove when no longer needed.  Used to calculate mean score of employment selection regression.
     @Transient public static Double scoreMale;
@@ -216,17 +220,23 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     // Constructors
     // ---------------------------------------------------------------------
     public Person() {
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        model = RunScope.model();
         key = new PanelEntityKey();
+        store = storeOf(model);
+        initialiseState();
     }
 
     public Person(long id) {
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        model = RunScope.model();
         key = new PanelEntityKey(id);
+        store = storeOf(model);
+        initialiseState();
     }
 
     // used by expectations object when creating dummy person to interact with regression functions
     public Person(boolean regressionModel) {
+        store = storeOf(null);
+        initialiseState();
         if (regressionModel) {
             model = null;
             key = null;
@@ -239,7 +249,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     // used to create new people who enter the simulation during UpdateMaternityStatus
     public Person(Gender gender, Person mother) {
 
-        this(personIdCounter++, (long)(100000*mother.getFertilityRandomUniform2()));
+        this(nextPersonId(), (long)(100000*mother.getFertilityRandomUniform2()));
 
         sampleEntry = SampleEntry.Birth;
         dgn = gender;
@@ -253,7 +263,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             dehf_c3 = mother.getPartner().getDeh_c3();
         }
 
-        liwwh = 0;
+        liwwh(0);
         yptciihs_dv = 0.0;
         ypncp = 0.0;
         ypnoab = 0.0;
@@ -270,19 +280,17 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         dhmGhq = false;
         deh_c3 = Education.Low;
         les_c4 = Les_c4.Student;				//Set lag activity status as Student, i.e. in education from birth
-        leftEducation = false;
+        leftEducation(false);
         les_c7_covid = Les_c7_covid.Student;
         labourSupplyWeekly = Labour.ZERO;			//Will be updated in Labour Market Module when the person stops being a student
         hoursWorkedWeekly = getLabourSupplyWeekly().getHours(this);
         idHousehold = mother.getBenefitUnit().getHousehold().getId();
 //		setDeviationFromMeanRetirementAge();			//This would normally be done within initialisation, but the line above has been commented out for reasons given...
-        yearlyEquivalisedDisposableIncomeSeries = new Series.Double(this, DoublesVariables.EquivalisedIncomeYearly);
         yearlyEquivalisedConsumptionSeries = new Series.Double(this, DoublesVariables.EquivalisedConsumptionYearly);
         yearlyEquivalisedConsumption = 0.;
-        sIndexYearMap = new LinkedHashMap<Integer, Double>();
         bornInSimulation = true;
         dhhOwned = false;
-        receivesBenefitsFlag = false;
+        receivesBenefitsFlag(false);
         updateVariables(false);
     }
 
@@ -290,7 +298,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     // used to generate clones both at population load (to un-weight data) and to generate international immigrants
     public Person (Person originalPerson, long seed, SampleEntry sampleEntry) {
 
-        this(personIdCounter++, seed);
+        this(nextPersonId(), seed);
         switch (sampleEntry) {
             case ProcessedInputData -> {
                 key.setId(originalPerson.getId());
@@ -308,19 +316,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         this.sampleEntry = sampleEntry;
 
         dag = originalPerson.dag;
-        ageGroup = originalPerson.ageGroup;
+        ageGroup(originalPerson.ageGroup());
         dgn = originalPerson.dgn;
         deh_c3 = originalPerson.deh_c3;
 
-        if (originalPerson.deh_c3_lag1 != null) { //If original person misses lagged level of education, assign current level of education
-            deh_c3_lag1 = originalPerson.deh_c3_lag1;
+        if (originalPerson.deh_c3_lag1() != null) { //If original person misses lagged level of education, assign current level of education
+            deh_c3_lag1(originalPerson.deh_c3_lag1());
         } else {
-            deh_c3_lag1 = deh_c3;
+            deh_c3_lag1(deh_c3);
         }
 
         dehf_c3 = originalPerson.dehf_c3;
         dehm_c3 = originalPerson.dehm_c3;
-        dehsp_c3_lag1 = originalPerson.deh_c3_lag1;
+        dehsp_c3_lag1(originalPerson.deh_c3_lag1());
 
         if (originalPerson.dag < Parameters.MIN_AGE_TO_LEAVE_EDUCATION) { //If under age to leave education, set flag for being in education to true
             ded = Indicator.True;
@@ -330,9 +338,9 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
         der = originalPerson.der;
         dcpyy = Objects.requireNonNullElse(originalPerson.dcpyy,0);
-        dcpyy_lag1 = Objects.requireNonNullElseGet(originalPerson.dcpyy_lag1, () -> Math.max(0, this.dcpyy - 1));
-        dcpagdf_lag1 = originalPerson.dcpagdf_lag1;
-        household_status_lag = originalPerson.household_status_lag;
+        dcpyy_lag1(Objects.requireNonNullElseGet(originalPerson.dcpyy_lag1(), () -> Math.max(0, this.dcpyy - 1)));
+        dcpagdf_lag1(originalPerson.dcpagdf_lag1());
+        household_status_lag(originalPerson.household_status_lag());
         if (originalPerson.les_c4 != null) {
             les_c4 = originalPerson.les_c4;
         } else if (originalPerson.dag < Parameters.MIN_AGE_TO_LEAVE_EDUCATION) {
@@ -345,45 +353,45 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             les_c4 = Les_c4.NotEmployed;
         }
         if (dag < Parameters.MIN_AGE_TO_LEAVE_EDUCATION)
-            leftEducation = false;
+            leftEducation(false);
         else if (dag > Parameters.MAX_AGE_TO_LEAVE_CONTINUOUS_EDUCATION)
-            leftEducation = true;
+            leftEducation(true);
         else
-            leftEducation = (!Les_c4.Student.equals(les_c4));
+            leftEducation((!Les_c4.Student.equals(les_c4)));
 
-        if (originalPerson.les_c4_lag1 != null) { //If original persons misses lagged activity status, assign current activity status
-            les_c4_lag1 = originalPerson.les_c4_lag1;
+        if (originalPerson.les_c4_lag1() != null) { //If original persons misses lagged activity status, assign current activity status
+            les_c4_lag1(originalPerson.les_c4_lag1());
         } else {
-            les_c4_lag1 = les_c4;
+            les_c4_lag1(les_c4);
         }
 
         les_c7_covid = originalPerson.les_c7_covid;
-        if (originalPerson.les_c7_covid_lag1 != null) { //If original persons misses lagged activity status, assign current activity status
-            les_c7_covid_lag1 = originalPerson.les_c7_covid_lag1;
+        if (originalPerson.les_c7_covid_lag1() != null) { //If original persons misses lagged activity status, assign current activity status
+            les_c7_covid_lag1(originalPerson.les_c7_covid_lag1());
         } else {
-            les_c7_covid_lag1 = les_c7_covid;
+            les_c7_covid_lag1(les_c7_covid);
         }
 
-        lesdf_c4_lag1 = originalPerson.lesdf_c4_lag1;
-        dcpst_lag1 = originalPerson.dcpst_lag1;
+        lesdf_c4_lag1(originalPerson.lesdf_c4_lag1());
+        dcpst_lag1(originalPerson.dcpst_lag1());
         ypnbihs_dv = originalPerson.getYpnbihs_dv();
-        ypnbihs_dv_lag1 = originalPerson.ypnbihs_dv_lag1;
+        ypnbihs_dv_lag1(originalPerson.ypnbihs_dv_lag1());
         yptciihs_dv = Objects.requireNonNullElse(originalPerson.yptciihs_dv, 0.0);
         yplgrs_dv = originalPerson.getYplgrs_dv();
-        yplgrs_dv_lag1 = originalPerson.yplgrs_dv_lag1;
-        yplgrs_dv_lag2 = originalPerson.yplgrs_dv_lag2;
-        yplgrs_dv_lag3 = originalPerson.yplgrs_dv_lag3;
-        ynbcpdf_dv_lag1 = originalPerson.ynbcpdf_dv_lag1;
+        yplgrs_dv_lag1(originalPerson.yplgrs_dv_lag1());
+        yplgrs_dv_lag2(originalPerson.yplgrs_dv_lag2());
+        yplgrs_dv_lag3(originalPerson.yplgrs_dv_lag3());
+        ynbcpdf_dv_lag1(originalPerson.ynbcpdf_dv_lag1());
         ypncp = Objects.requireNonNullElse(originalPerson.ypncp,0.0);
-        ypncp_lag1 = originalPerson.ypncp_lag1;
-        ypncp_lag2 = originalPerson.ypncp_lag2;
+        ypncp_lag1(originalPerson.ypncp_lag1());
+        ypncp_lag2(originalPerson.ypncp_lag2());
         ypnoab = Objects.requireNonNullElse(originalPerson.ypnoab, 0.0);
-        ypnoab_lag1 = originalPerson.ypnoab_lag1;
-        ypnoab_lag2 = originalPerson.ypnoab_lag2;
+        ypnoab_lag1(originalPerson.ypnoab_lag1());
+        ypnoab_lag2(originalPerson.ypnoab_lag2());
 
-        liwwh = Objects.requireNonNullElseGet(originalPerson.liwwh, () -> ((Les_c4.EmployedOrSelfEmployed.equals(les_c4)) ? 12 : 0));
+        liwwh(Objects.requireNonNullElseGet(originalPerson.liwwh(), () -> ((Les_c4.EmployedOrSelfEmployed.equals(les_c4)) ? 12 : 0)));
         dlltsd = originalPerson.dlltsd;
-        dlltsd_lag1 = originalPerson.dlltsd_lag1;
+        dlltsd_lag1(originalPerson.dlltsd_lag1());
         needSocialCare = Objects.requireNonNullElse(originalPerson.needSocialCare, Indicator.False);
         careHoursFromFormalWeekly = Objects.requireNonNullElse(originalPerson.careHoursFromFormalWeekly, 0.0);
         careFormalExpenditureWeekly = Objects.requireNonNullElse(originalPerson.careFormalExpenditureWeekly, 0.0);
@@ -392,24 +400,24 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         careHoursFromDaughterWeekly = Objects.requireNonNullElse(originalPerson.careHoursFromDaughterWeekly, 0.0);
         careHoursFromSonWeekly = Objects.requireNonNullElse(originalPerson.careHoursFromSonWeekly, 0.0);
         careHoursFromOtherWeekly = Objects.requireNonNullElse(originalPerson.careHoursFromOtherWeekly, 0.0);
-        socialCareFromFormal = Objects.requireNonNullElseGet(originalPerson.socialCareFromFormal, () -> (careHoursFromFormalWeekly > 0.0));
-        socialCareFromPartner = Objects.requireNonNullElseGet(originalPerson.socialCareFromPartner, () -> (careHoursFromPartnerWeekly > 0.0));
-        socialCareFromDaughter = Objects.requireNonNullElseGet(originalPerson.socialCareFromDaughter, () -> (careHoursFromDaughterWeekly > 0.0));
-        socialCareFromSon = Objects.requireNonNullElseGet(originalPerson.socialCareFromSon, () -> (careHoursFromSonWeekly > 0.0));
-        socialCareFromOther = Objects.requireNonNullElseGet(originalPerson.socialCareFromOther, () -> (careHoursFromOtherWeekly > 0.0));
-        if (originalPerson.socialCareReceipt!=null)
-            socialCareReceipt = originalPerson.socialCareReceipt;
+        socialCareFromFormal(Objects.requireNonNullElseGet(originalPerson.socialCareFromFormal(), () -> (careHoursFromFormalWeekly > 0.0)));
+        socialCareFromPartner(Objects.requireNonNullElseGet(originalPerson.socialCareFromPartner(), () -> (careHoursFromPartnerWeekly > 0.0)));
+        socialCareFromDaughter(Objects.requireNonNullElseGet(originalPerson.socialCareFromDaughter(), () -> (careHoursFromDaughterWeekly > 0.0)));
+        socialCareFromSon(Objects.requireNonNullElseGet(originalPerson.socialCareFromSon(), () -> (careHoursFromSonWeekly > 0.0)));
+        socialCareFromOther(Objects.requireNonNullElseGet(originalPerson.socialCareFromOther(), () -> (careHoursFromOtherWeekly > 0.0)));
+        if (originalPerson.socialCareReceipt()!=null)
+            socialCareReceipt(originalPerson.socialCareReceipt());
         else {
-            if (socialCareFromFormal) {
-                if (socialCareFromPartner || socialCareFromDaughter || socialCareFromSon || socialCareFromOther)
-                    socialCareReceipt = SocialCareReceipt.Mixed;
+            if (socialCareFromFormal()) {
+                if (socialCareFromPartner() || socialCareFromDaughter() || socialCareFromSon() || socialCareFromOther())
+                    socialCareReceipt(SocialCareReceipt.Mixed);
                 else
-                    socialCareReceipt = SocialCareReceipt.Formal;
+                    socialCareReceipt(SocialCareReceipt.Formal);
             } else {
-                if (socialCareFromPartner || socialCareFromDaughter || socialCareFromSon || socialCareFromOther)
-                    socialCareReceipt = SocialCareReceipt.Informal;
+                if (socialCareFromPartner() || socialCareFromDaughter() || socialCareFromSon() || socialCareFromOther())
+                    socialCareReceipt(SocialCareReceipt.Informal);
                 else
-                    socialCareReceipt = SocialCareReceipt.None;
+                    socialCareReceipt(SocialCareReceipt.None);
             }
         }
 
@@ -417,50 +425,50 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         socialCareProvision = Objects.requireNonNullElseGet(originalPerson.socialCareProvision, () ->
                 (careHoursProvidedWeekly > 0.01) ? SocialCareProvision.OnlyOther : SocialCareProvision.None);
 
-        needSocialCare_lag1 = Objects.requireNonNullElse(originalPerson.needSocialCare_lag1, needSocialCare);
-        careHoursFromFormalWeekly_lag1 = Objects.requireNonNullElse(originalPerson.careHoursFromFormalWeekly_lag1, careHoursFromFormalWeekly);
-        careHoursFromPartnerWeekly_lag1 = Objects.requireNonNullElse(originalPerson.careHoursFromPartnerWeekly_lag1, careHoursFromPartnerWeekly);
-        careHoursFromDaughterWeekly_lag1 = Objects.requireNonNullElse(originalPerson.careHoursFromDaughterWeekly_lag1, careHoursFromDaughterWeekly);
-        careHoursFromSonWeekly_lag1 = Objects.requireNonNullElse(originalPerson.careHoursFromSonWeekly_lag1, careHoursFromSonWeekly);
-        careHoursFromOtherWeekly_lag1 = Objects.requireNonNullElse(originalPerson.careHoursFromOtherWeekly_lag1, careHoursFromOtherWeekly);
-        socialCareProvision_lag1 = Objects.requireNonNullElse(originalPerson.socialCareProvision_lag1, socialCareProvision);
+        needSocialCare_lag1(Objects.requireNonNullElse(originalPerson.needSocialCare_lag1(), needSocialCare));
+        careHoursFromFormalWeekly_lag1(Objects.requireNonNullElse(originalPerson.careHoursFromFormalWeekly_lag1(), careHoursFromFormalWeekly));
+        careHoursFromPartnerWeekly_lag1(Objects.requireNonNullElse(originalPerson.careHoursFromPartnerWeekly_lag1(), careHoursFromPartnerWeekly));
+        careHoursFromDaughterWeekly_lag1(Objects.requireNonNullElse(originalPerson.careHoursFromDaughterWeekly_lag1(), careHoursFromDaughterWeekly));
+        careHoursFromSonWeekly_lag1(Objects.requireNonNullElse(originalPerson.careHoursFromSonWeekly_lag1(), careHoursFromSonWeekly));
+        careHoursFromOtherWeekly_lag1(Objects.requireNonNullElse(originalPerson.careHoursFromOtherWeekly_lag1(), careHoursFromOtherWeekly));
+        socialCareProvision_lag1(Objects.requireNonNullElse(originalPerson.socialCareProvision_lag1(), socialCareProvision));
 
         lowWageOffer = originalPerson.lowWageOffer;
-        lowWageOffer_lag1 = originalPerson.lowWageOffer_lag1;
+        lowWageOffer_lag1(originalPerson.lowWageOffer_lag1());
         sedex = originalPerson.sedex;
-        toGiveBirth = originalPerson.toGiveBirth;
-        toLeaveSchool = originalPerson.toLeaveSchool;
+        toGiveBirth(originalPerson.toGiveBirth());
+        toLeaveSchool(originalPerson.toLeaveSchool());
         weight = originalPerson.weight;
         dhe = originalPerson.dhe;
         dhm = originalPerson.dhm;
 
-        if (originalPerson.dhe_lag1 != null) { //If original person misses lagged level of health, assign current level of health as lagged value
-            dhe_lag1 = originalPerson.dhe_lag1;
+        if (originalPerson.dhe_lag1() != null) { //If original person misses lagged level of health, assign current level of health as lagged value
+            dhe_lag1(originalPerson.dhe_lag1());
         } else {
-            dhe_lag1 = originalPerson.dhe;
+            dhe_lag1(originalPerson.dhe);
         }
 
-        if (originalPerson.dhm_lag1 != null) {
-            dhm_lag1 = originalPerson.dhm_lag1;
+        if (originalPerson.dhm_lag1() != null) {
+            dhm_lag1(originalPerson.dhm_lag1());
         } else {
-            dhm_lag1 = originalPerson.dhm;
+            dhm_lag1(originalPerson.dhm);
         }
 
         dhmGhq = Objects.requireNonNullElse(originalPerson.dhmGhq, false);
-        dhmGhq_lag1 = Objects.requireNonNullElse(originalPerson.dhmGhq_lag1, dhmGhq);
+        dhmGhq_lag1(Objects.requireNonNullElse(originalPerson.dhmGhq_lag1(), dhmGhq));
 
-        if (originalPerson.labourSupplyWeekly_L1 != null) {
-            labourSupplyWeekly_L1 = originalPerson.labourSupplyWeekly_L1;
+        if (originalPerson.labourSupplyWeekly_L1() != null) {
+            labourSupplyWeekly_L1(originalPerson.labourSupplyWeekly_L1());
         } else {
-            labourSupplyWeekly_L1 = originalPerson.getLabourSupplyWeekly();
+            labourSupplyWeekly_L1(originalPerson.getLabourSupplyWeekly());
         }
 
-        dhesp_lag1 = originalPerson.dhesp_lag1;
+        dhesp_lag1(originalPerson.dhesp_lag1());
         hoursWorkedWeekly = originalPerson.hoursWorkedWeekly;
         labourSupplyWeekly = originalPerson.getLabourSupplyWeekly();
         double[] sampleDifferentials = setMarriageTargets();
-        desiredAgeDiff = Objects.requireNonNullElseGet(originalPerson.desiredAgeDiff, () -> sampleDifferentials[0]);
-        desiredEarningsPotentialDiff = Objects.requireNonNullElseGet(originalPerson.desiredEarningsPotentialDiff, () -> sampleDifferentials[1]);
+        desiredAgeDiff(Objects.requireNonNullElseGet(originalPerson.desiredAgeDiff(), () -> sampleDifferentials[0]));
+        desiredEarningsPotentialDiff(Objects.requireNonNullElseGet(originalPerson.desiredEarningsPotentialDiff(), () -> sampleDifferentials[1]));
 
         scoreMale = originalPerson.scoreMale;
         scoreFemale = originalPerson.scoreFemale;
@@ -472,13 +480,11 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         inverseMillsRatioMinFemale = originalPerson.inverseMillsRatioMinFemale;
 
         adultchildflag = originalPerson.adultchildflag;
-        yearlyEquivalisedDisposableIncomeSeries = new Series.Double(this, DoublesVariables.EquivalisedIncomeYearly);
         yearlyEquivalisedConsumptionSeries = new Series.Double(this, DoublesVariables.EquivalisedConsumptionYearly);
         yearlyEquivalisedConsumption = originalPerson.yearlyEquivalisedConsumption;
-        sIndexYearMap = new LinkedHashMap<Integer, Double>();
         dhhOwned = originalPerson.dhhOwned;
-        receivesBenefitsFlag = originalPerson.receivesBenefitsFlag;
-        receivesBenefitsFlag_L1 = originalPerson.receivesBenefitsFlag_L1;
+        receivesBenefitsFlag(originalPerson.receivesBenefitsFlag());
+        receivesBenefitsFlag_L1(originalPerson.receivesBenefitsFlag_L1());
 
         if (originalPerson.fullTimeHourlyEarningsPotential > Parameters.MIN_HOURLY_WAGE_RATE) {
             fullTimeHourlyEarningsPotential = Math.min(Parameters.MAX_HOURLY_WAGE_RATE, Math.max(Parameters.MIN_HOURLY_WAGE_RATE, originalPerson.fullTimeHourlyEarningsPotential));
@@ -486,7 +492,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             if (Les_c4.EmployedOrSelfEmployed.equals(les_c4)) {
                 les_c4 = Les_c4.NotEmployed;
             }
-            les_c4_lag1 = les_c4;
+            les_c4_lag1(les_c4);
             fullTimeHourlyEarningsPotential = -9.0;
         }
         if (originalPerson.L1_fullTimeHourlyEarningsPotential!=null && originalPerson.L1_fullTimeHourlyEarningsPotential>Parameters.MIN_HOURLY_WAGE_RATE) {
@@ -500,17 +506,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     public Person(Long id, long seed) {
         super();
         key = new PanelEntityKey(id);
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        model = RunScope.model();
+        store = storeOf(model);
+        initialiseState();
         clonedFlag = false;
 
         // initialise random draws
         this.seed = seed;
-        innovations = new Innovations(32, 1, 1, seed);
+        innovationsStream(Innovations.stream(model.getInnovationsSeed(), id));
 
         //Draw desired age and wage differential for parametric partnership formation for people above age to get married:
         double[] sampleDifferentials = setMarriageTargets();
-        desiredAgeDiff = sampleDifferentials[0];
-        desiredEarningsPotentialDiff = sampleDifferentials[1];
+        desiredAgeDiff(sampleDifferentials[0]);
+        desiredEarningsPotentialDiff(sampleDifferentials[1]);
     }
 
 
@@ -533,7 +541,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             sampleDifferentials[0] = Parameters.targetMeanAgeDifferential;
             sampleDifferentials[1] = Parameters.targetMeanWageDifferential;
         } else {
-            sampleDifferentials = Parameters.getWageAndAgeDifferentialMultivariateNormalDistribution(innovations.getSingleDrawLongInnov(0));
+            sampleDifferentials = Parameters.getWageAndAgeDifferentialMultivariateNormalDistribution(getSingleDrawLongInnov(0));
         }
         return sampleDifferentials;
     }
@@ -548,29 +556,29 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         careHoursFromOtherWeekly = -9.0;
         careHoursProvidedWeekly = -9.0;
         careFormalExpenditureWeekly = -9.0;
-        socialCareReceipt = SocialCareReceipt.None;
-        socialCareFromFormal = false;
-        socialCareFromPartner = false;
-        socialCareFromDaughter = false;
-        socialCareFromSon = false;
-        socialCareFromOther = false;
+        socialCareReceipt(SocialCareReceipt.None);
+        socialCareFromFormal(false);
+        socialCareFromPartner(false);
+        socialCareFromDaughter(false);
+        socialCareFromSon(false);
+        socialCareFromOther(false);
         socialCareProvision = SocialCareProvision.None;
-        needSocialCare_lag1 = Indicator.False;
-        careHoursFromFormalWeekly_lag1 = -9.0;
-        careHoursFromPartnerWeekly_lag1 = -9.0;
-        careHoursFromParentWeekly_lag1 = -9.0;
-        careHoursFromDaughterWeekly_lag1 = -9.0;
-        careHoursFromSonWeekly_lag1 = -9.0;
-        careHoursFromOtherWeekly_lag1 = -9.0;
-        socialCareProvision_lag1 = SocialCareProvision.None;
+        needSocialCare_lag1(Indicator.False);
+        careHoursFromFormalWeekly_lag1(-9.0);
+        careHoursFromPartnerWeekly_lag1(-9.0);
+        careHoursFromParentWeekly_lag1(-9.0);
+        careHoursFromDaughterWeekly_lag1(-9.0);
+        careHoursFromSonWeekly_lag1(-9.0);
+        careHoursFromOtherWeekly_lag1(-9.0);
+        socialCareProvision_lag1(SocialCareProvision.None);
     }
 
     public void setAdditionalFieldsInInitialPopulation() {
 
         if (labourSupplyWeekly==null)
             labourSupplyWeekly = Labour.convertHoursToLabour(model.getInitialHoursWorkedWeekly().get(key.getId()).intValue());
-        receivesBenefitsFlag_L1 = receivesBenefitsFlag;
-        labourSupplyWeekly_L1 = getLabourSupplyWeekly();
+        receivesBenefitsFlag_L1(receivesBenefitsFlag());
+        labourSupplyWeekly_L1(getLabourSupplyWeekly());
 
         if(UnionMatchingMethod.SBAM.equals(model.getUnionMatchingMethod())) {
             updateAgeGroup();
@@ -583,40 +591,40 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     //This method assign people to age groups used to define types in the SBAM matching procedure
     private void updateAgeGroup() {
         if (dag < 18) {
-            ageGroup = 0;
+            ageGroup(0);
             model.tmpPeopleAssigned++;
         } else if(dag >= 18 && dag < 21) {
-            ageGroup = 1;
+            ageGroup(1);
             model.tmpPeopleAssigned++;
         } else if(dag >= 21 && dag < 24) {
-            ageGroup = 2;
+            ageGroup(2);
             model.tmpPeopleAssigned++;
         } else if(dag >= 24 && dag < 27) {
-            ageGroup = 3;
+            ageGroup(3);
             model.tmpPeopleAssigned++;
         } else if(dag >= 27 && dag < 30) {
-            ageGroup = 4;
+            ageGroup(4);
             model.tmpPeopleAssigned++;
         } else if(dag >= 30 && dag < 33) {
-            ageGroup = 5;
+            ageGroup(5);
             model.tmpPeopleAssigned++;
         } else if(dag >= 33 && dag < 36) {
-            ageGroup = 6;
+            ageGroup(6);
             model.tmpPeopleAssigned++;
         } else if(dag >= 36 && dag < 40) {
-            ageGroup = 7;
+            ageGroup(7);
             model.tmpPeopleAssigned++;
         } else if(dag >= 40 && dag < 45) {
-            ageGroup = 8;
+            ageGroup(8);
             model.tmpPeopleAssigned++;
         } else if(dag >= 45 && dag < 55) {
-            ageGroup = 9;
+            ageGroup(9);
             model.tmpPeopleAssigned++;
         } else if(dag >= 55 && dag < 65) {
-            ageGroup = 10;
+            ageGroup(10);
             model.tmpPeopleAssigned++;
         } else if(dag >= 65) {
-            ageGroup = 11;
+            ageGroup(11);
             model.tmpPeopleAssigned++;
         } else {
             System.out.println("Could not assign age group!");
@@ -733,7 +741,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     public void fertility(double probitAdjustment) {
 
-        toGiveBirth = false;
+        toGiveBirth(false);
         FertileFilter filter = new FertileFilter();
         if (filter.evaluate(this)) {
 
@@ -742,11 +750,11 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
                 if (getDag() <= 29 && getLes_c4().equals(Les_c4.Student) && !isLeftEducation()) {
                     //If age below or equal to 29 and in continuous education follow process F1a
-                    double score = Parameters.getRegFertilityF1a().getScore(this, Person.DoublesVariables.class);
+                    double score = Parameters.getCompiledFertilityF1a().getScore(this);
                     prob = Parameters.getRegFertilityF1a().getProbability(score + probitAdjustment);
                 } else {
                     //Otherwise if not in continuous education, follow process F1b
-                    double score = Parameters.getRegFertilityF1b().getScore(this, Person.DoublesVariables.class);
+                    double score = Parameters.getCompiledFertilityF1b().getScore(this);
                     prob = Parameters.getRegFertilityF1b().getProbability(score + probitAdjustment);
                 }
             } else if (model.getCountry().equals(Country.IT)) {
@@ -755,8 +763,8 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             } else
                 throw new RuntimeException("Country not recognised when evaluating fertility status");
 
-            if (innovations.getDoubleDraw(29)<prob)
-                toGiveBirth = true;
+            if (getDoubleDraw(29)<prob)
+                toGiveBirth(true);
         }
     }
 
@@ -770,18 +778,18 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 double prob;
                 if (dgn.equals(Gender.Male)) {
                     if (deh_c3.equals(Education.High)) {
-                        prob = Parameters.getRegUnemploymentMaleGraduateU1a().getProbability(this, Person.DoublesVariables.class);
+                        prob = Parameters.getRegUnemploymentMaleGraduateU1a().getProbability(Parameters.getCompiledUnemploymentMaleGraduateU1a().getScore(this));
                     } else {
-                        prob = Parameters.getRegUnemploymentMaleNonGraduateU1b().getProbability(this, Person.DoublesVariables.class);
+                        prob = Parameters.getRegUnemploymentMaleNonGraduateU1b().getProbability(Parameters.getCompiledUnemploymentMaleNonGraduateU1b().getScore(this));
                     }
                 } else {
                     if (deh_c3.equals(Education.High)) {
-                        prob = Parameters.getRegUnemploymentFemaleGraduateU1c().getProbability(this, Person.DoublesVariables.class);
+                        prob = Parameters.getRegUnemploymentFemaleGraduateU1c().getProbability(Parameters.getCompiledUnemploymentFemaleGraduateU1c().getScore(this));
                     } else {
-                        prob = Parameters.getRegUnemploymentFemaleNonGraduateU1d().getProbability(this, Person.DoublesVariables.class);
+                        prob = Parameters.getRegUnemploymentFemaleNonGraduateU1d().getProbability(Parameters.getCompiledUnemploymentFemaleNonGraduateU1d().getScore(this));
                     }
                 }
-                lowWageOffer = (innovations.getDoubleDraw(22) < prob);
+                lowWageOffer = (getDoubleDraw(22) < prob);
             }
         }
     }
@@ -794,7 +802,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         // iterate years in cohabiting partnership
         Person partner = getPartner();
         if (partner != null) {
-            if (Objects.equals(partner.getId(), idPartnerLag1)) {
+            if (Objects.equals(partner.getId(), idPartnerLag1())) {
                 if (dcpyy==null)
                     throw new RuntimeException("problem identifying dcpyy");
                 dcpyy++;
@@ -805,11 +813,12 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
         // iterate employment history
         if (Les_c4.EmployedOrSelfEmployed.equals(les_c4)) {
-            liwwh = liwwh+12;
+            liwwh(liwwh()+12);
         }
 
         // iterate age and update for maturity
         dag++;
+        model.updatePopulationCell(this);
         if (dag == Parameters.AGE_TO_BECOME_RESPONSIBLE) {
             setupNewBenefitUnit(true);
             considerLeavingHome();
@@ -828,13 +837,15 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 // exclude single parents with dependent children from death
 
                 double mortalityProbability = Parameters.getMortalityProbability(dgn, dag, model.getYear());
-                if (innovations.getDoubleDraw(0) < mortalityProbability) {
+                if (getDoubleDraw(0) < mortalityProbability) {
                     flagDies = true;
                 }
             }
         }
-        if (flagDies || dag > Parameters.maxAge)
+        if (flagDies || dag > Parameters.maxAge) {
             sampleExit = SampleExit.Death;
+            model.updatePopulationCell(this);
+        }
     }
 
     //This process should be applied to those at the age to become responsible / leave home OR above if they have the adultChildFlag set to True (i.e. people can move out, but not move back in).
@@ -842,8 +853,8 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
         //For those who are moving out, evaluate whether they should have stayed with parents and if yes, set the adultchildflag to true
 
-        double prob = Parameters.getRegLeaveHomeP1a().getProbability(this, Person.DoublesVariables.class);
-        boolean toLeaveHome = (innovations.getDoubleDraw(21) < prob);
+        double prob = Parameters.getRegLeaveHomeP1a().getProbability(Parameters.getCompiledLeaveHomeP1a().getScore(this));
+        boolean toLeaveHome = (getDoubleDraw(21) < prob);
         if (Les_c4.Student.equals(les_c4)) {
 
             adultchildflag = Indicator.True; //Students not allowed to leave home to match filtering conditon
@@ -862,19 +873,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     public boolean considerRetirement() {
         boolean toRetire = false;
-        if (dag >= Parameters.MIN_AGE_TO_RETIRE && !Les_c4.Retired.equals(les_c4) && !Les_c4.Retired.equals(les_c4_lag1)) {
+        if (dag >= Parameters.MIN_AGE_TO_RETIRE && !Les_c4.Retired.equals(les_c4) && !Les_c4.Retired.equals(les_c4_lag1())) {
             if (Parameters.enableIntertemporalOptimisations && DecisionParams.flagRetirement) {
-                if (Labour.ZERO.equals(labourSupplyWeekly_L1)) {
+                if (Labour.ZERO.equals(labourSupplyWeekly_L1())) {
                     toRetire = true;
                 }
            } else {
                 double prob;
                 if (getPartner() != null) {
-                    prob = Parameters.getRegRetirementR1b().getProbability(this, Person.DoublesVariables.class);
+                    prob = Parameters.getRegRetirementR1b().getProbability(Parameters.getCompiledRetirementR1b().getScore(this));
                 } else {
-                    prob = Parameters.getRegRetirementR1a().getProbability(this, Person.DoublesVariables.class);
+                    prob = Parameters.getRegRetirementR1a().getProbability(Parameters.getCompiledRetirementR1a().getScore(this));
                 }
-                toRetire = (innovations.getDoubleDraw(23) < prob);
+                toRetire = (getDoubleDraw(23) < prob);
             }
             if (toRetire) {
                 setLes_c4(Les_c4.Retired);
@@ -888,9 +899,9 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
      */
     protected void healthMentalHM1Level() {
         if (dag >= 16) {
-            double score = Parameters.getRegHealthHM1Level().getScore(this, Person.DoublesVariables.class);
+            double score = Parameters.getCompiledHealthHM1Level().getScore(this);
             double rmse = Parameters.getRMSEForRegression("HM1");
-            double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(innovations.getDoubleDraw(1));
+            double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(getDoubleDraw(1));
             dhm = constrainDhmEstimate(score + rmse*gauss);
         }
     }
@@ -904,10 +915,10 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         double dhmPrediction;
         if (dag >= 25 && dag <= 64) {
             if (Gender.Male.equals(getDgn())) {
-                dhmPrediction = Parameters.getRegHealthHM2LevelMales().getScore(this, Person.DoublesVariables.class);
+                dhmPrediction = Parameters.getCompiledHealthHM2LevelMales().getScore(this);
                 dhm = constrainDhmEstimate(dhmPrediction+dhm);
             } else if (Gender.Female.equals(getDgn())) {
-                dhmPrediction = Parameters.getRegHealthHM2LevelFemales().getScore(this, Person.DoublesVariables.class);
+                dhmPrediction = Parameters.getCompiledHealthHM2LevelFemales().getScore(this);
                 dhm = constrainDhmEstimate(dhmPrediction+dhm);
             } else System.out.println("healthMentalHM2 method in Person class: Person has no gender!");
         }
@@ -922,13 +933,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             double tmp_step1_score = 0, tmp_step2_score = 0, tmp_total_score = 0, tmp_probability = 0;
             boolean tmp_outcome;
 
-            tmp_step1_score = Parameters.getRegHealthHM1Case().getScore(this, Person.DoublesVariables.class); // Obtain score from Step 1 of case-based psychological distress model
+            tmp_step1_score = Parameters.getCompiledHealthHM1Case().getScore(this); // Obtain score from Step 1 of case-based psychological distress model
 
             if (dag >= 25 && dag <= 64) {
                 if (Gender.Male.equals(getDgn())) {
-                    tmp_step2_score = Parameters.getRegHealthHM2CaseMales().getScore(this, Person.DoublesVariables.class); // Obtain score from Step 2 of case-based psychological distress model
+                    tmp_step2_score = Parameters.getCompiledHealthHM2CaseMales().getScore(this); // Obtain score from Step 2 of case-based psychological distress model
                 } else if (Gender.Female.equals(getDgn())) {
-                    tmp_step2_score = Parameters.getRegHealthHM2CaseFemales().getScore(this, Person.DoublesVariables.class); // Obtain score from Step 2 of case-based psychological distress model
+                    tmp_step2_score = Parameters.getCompiledHealthHM2CaseFemales().getScore(this); // Obtain score from Step 2 of case-based psychological distress model
                 } else System.out.println("healthMentalHM2 method in Person class: Person has no gender!");
             }
 
@@ -938,7 +949,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             // 2. Convert to probability
             tmp_probability = 1.0 / (1.0 + Math.exp(-tmp_total_score));
             // 3. Get event outcome
-            tmp_outcome = (innovations.getDoubleDraw(2) < tmp_probability);
+            tmp_outcome = (getDoubleDraw(2) < tmp_probability);
             // 4. Set dhm_ghq dummy
             setDhmGhq(tmp_outcome);
         }
@@ -959,17 +970,17 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     //Health process defines health using H1a or H1b process
     protected void health() {
 
-        double healthInnov1 = innovations.getDoubleDraw(3);
-        double healthInnov2 = innovations.getDoubleDraw(4);
-        if((dag >= 16 && dag <= 29) && Les_c4.Student.equals(les_c4) && leftEducation == false) {
+        double healthInnov1 = getDoubleDraw(3);
+        double healthInnov2 = getDoubleDraw(4);
+        if((dag >= 16 && dag <= 29) && Les_c4.Student.equals(les_c4) && leftEducation() == false) {
             //If age is between 16 - 29 and individual has always been in education, follow process H1a:
 
-            Map<Dhe,Double> probs = Parameters.getRegHealthH1a().getProbabilities(this, Person.DoublesVariables.class);
+            Map<Dhe,Double> probs = Parameters.getCompiledHealthH1a().getProbabilities(this);
             MultiValEvent event = new MultiValEvent(probs, healthInnov1);
             dhe = (Dhe) event.eval();
         } else if (dag >= 16) {
 
-            Map<Dhe,Double> probs = Parameters.getRegHealthH1b().getProbabilities(this, Person.DoublesVariables.class);
+            Map<Dhe,Double> probs = Parameters.getCompiledHealthH1b().getProbabilities(this);
             MultiValEvent event = new MultiValEvent(probs, healthInnov1);
             dhe = (Dhe) event.eval();
 
@@ -977,7 +988,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             boolean becomeLTSickDisabled = false;
             if (!Parameters.enableIntertemporalOptimisations || DecisionParams.flagDisability) {
 
-                double prob = Parameters.getRegHealthH2b().getProbability(this, Person.DoublesVariables.class);
+                double prob = Parameters.getRegHealthH2b().getProbability(Parameters.getCompiledHealthH2b().getScore(this));
                 becomeLTSickDisabled = (healthInnov2 < prob);
             }
             if (becomeLTSickDisabled) {
@@ -1000,12 +1011,12 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             careHoursFromDaughterWeekly = 0.0;
             careHoursFromSonWeekly = 0.0;
             careHoursFromOtherWeekly = 0.0;
-            socialCareReceipt = SocialCareReceipt.None;
-            socialCareFromFormal = false;
-            socialCareFromPartner = false;
-            socialCareFromDaughter = false;
-            socialCareFromSon = false;
-            socialCareFromOther = false;
+            socialCareReceipt(SocialCareReceipt.None);
+            socialCareFromFormal(false);
+            socialCareFromPartner(false);
+            socialCareFromDaughter(false);
+            socialCareFromSon(false);
+            socialCareFromOther(false);
         }
         if (careHoursFromParentWeekly==null)
             careHoursFromParentWeekly = 0.0;
@@ -1015,10 +1026,10 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
             needSocialCare = Indicator.True;
             double probRecCare;
-            if (Indicator.False.equals(dlltsd_lag1) || getYear()==getStartYear()) {
+            if (Indicator.False.equals(dlltsd_lag1()) || getYear()==getStartYear()) {
                 // need to identify receipt of social care
 
-                probRecCare = Parameters.getRegReceiveCareS1a().getProbability(this, Person.DoublesVariables.class);
+                probRecCare = Parameters.getRegReceiveCareS1a().getProbability(Parameters.getCompiledReceiveCareS1a().getScore(this));
             } else {
                 // persist preceding receipt
 
@@ -1029,22 +1040,22 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 }
             }
 
-            if (innovations.getDoubleDraw(5) < probRecCare) {
+            if (getDoubleDraw(5) < probRecCare) {
                 // receive social care
 
-                double score = Parameters.getRegCareHoursS1b().getScore(this,Person.DoublesVariables.class);
+                double score = Parameters.getCompiledCareHoursS1b().getScore(this);
                 double rmse = Parameters.getRMSEForRegression("S1b");
-                double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(innovations.getDoubleDraw(6));
+                double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(getDoubleDraw(6));
                 double careHours = Math.min(Parameters.MAX_HOURS_WEEKLY_INFORMAL_CARE, Math.exp(score + rmse * gauss));
                 Person partner = getPartner();
                 if (partner!=null && partner.getDag() < 75) {
-                    socialCareFromPartner = true;
+                    socialCareFromPartner(true);
                     careHoursFromPartnerWeekly = careHours;
                 } else if (dag < 50) {
-                    socialCareFromOther = true;
+                    socialCareFromOther(true);
                     careHoursFromParentWeekly = careHours;
                 } else {
-                    socialCareFromOther = true;
+                    socialCareFromOther(true);
                     careHoursFromOtherWeekly = careHours;
                 }
             }
@@ -1053,93 +1064,93 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         if (dag >= Parameters.MIN_AGE_FORMAL_SOCARE && getYear()>getStartYear()) {
             // need care only projected for 65 and over due to limitations of data used for parameterisation
 
-            double probNeedCare = Parameters.getRegNeedCareS2a().getProbability(this, Person.DoublesVariables.class);
-            double recCareInnov = innovations.getDoubleDraw(7);
+            double probNeedCare = Parameters.getRegNeedCareS2a().getProbability(Parameters.getCompiledNeedCareS2a().getScore(this));
+            double recCareInnov = getDoubleDraw(7);
             if (recCareInnov < probNeedCare) {
                 // need care
                 needSocialCare = Indicator.True;
             }
 
-            double probRecCare = Parameters.getRegReceiveCareS2b().getProbability(this, Person.DoublesVariables.class);
+            double probRecCare = Parameters.getRegReceiveCareS2b().getProbability(Parameters.getCompiledReceiveCareS2b().getScore(this));
             if (recCareInnov < probRecCare) {
                 // receive care
 
-                Map<SocialCareReceiptS2c,Double> probs1 = Parameters.getRegSocialCareMarketS2c().getProbabilites(this, Person.DoublesVariables.class);
-                MultiValEvent event = new MultiValEvent(probs1, innovations.getDoubleDraw(8));
+                Map<SocialCareReceiptS2c,Double> probs1 = Parameters.getCompiledSocialCareMarketS2c().getProbabilities(this);
+                MultiValEvent event = new MultiValEvent(probs1, getDoubleDraw(8));
                 SocialCareReceiptS2c socialCareReceiptS2c = (SocialCareReceiptS2c) event.eval();
-                socialCareReceipt = SocialCareReceipt.getCode(socialCareReceiptS2c);
-                if (SocialCareReceipt.Mixed.equals(socialCareReceipt) || SocialCareReceipt.Formal.equals(socialCareReceipt))
-                    socialCareFromFormal = true;
+                socialCareReceipt(SocialCareReceipt.getCode(socialCareReceiptS2c));
+                if (SocialCareReceipt.Mixed.equals(socialCareReceipt()) || SocialCareReceipt.Formal.equals(socialCareReceipt()))
+                    socialCareFromFormal(true);
 
-                if (SocialCareReceipt.Mixed.equals(socialCareReceipt) || SocialCareReceipt.Informal.equals(socialCareReceipt)) {
+                if (SocialCareReceipt.Mixed.equals(socialCareReceipt()) || SocialCareReceipt.Informal.equals(socialCareReceipt())) {
                     // some informal care received
 
                     if (getPartner()!=null) {
                         // check if receive care from partner
 
-                        double probPartnerCare = Parameters.getRegReceiveCarePartnerS2d().getProbability(this, Person.DoublesVariables.class);
-                        if (innovations.getDoubleDraw(9) < probPartnerCare) {
+                        double probPartnerCare = Parameters.getRegReceiveCarePartnerS2d().getProbability(Parameters.getCompiledReceiveCarePartnerS2d().getScore(this));
+                        if (getDoubleDraw(9) < probPartnerCare) {
                             // receive care from partner - check for supplementary carers
 
-                            socialCareFromPartner = true;
+                            socialCareFromPartner(true);
                             Map<PartnerSupplementaryCarer,Double> probs2 =
-                                    Parameters.getRegPartnerSupplementaryCareS2e().getProbabilites(this, Person.DoublesVariables.class);
-                            event = new MultiValEvent(probs2, innovations.getDoubleDraw(10));
+                                    Parameters.getCompiledPartnerSupplementaryCareS2e().getProbabilities(this);
+                            event = new MultiValEvent(probs2, getDoubleDraw(10));
                             PartnerSupplementaryCarer cc = (PartnerSupplementaryCarer) event.eval();
                             if (PartnerSupplementaryCarer.Daughter.equals(cc))
-                                socialCareFromDaughter = true;
+                                socialCareFromDaughter(true);
                             if (PartnerSupplementaryCarer.Son.equals(cc))
-                                socialCareFromSon = true;
+                                socialCareFromSon(true);
                             if (PartnerSupplementaryCarer.Other.equals(cc))
-                                socialCareFromOther = true;
+                                socialCareFromOther(true);
                         }
                     }
-                    if (!socialCareFromPartner) {
+                    if (!socialCareFromPartner()) {
                         // no care from partner - identify who supplies informal care
 
                         Map<NotPartnerInformalCarer,Double> probs2 =
-                                Parameters.getRegNotPartnerInformalCareS2f().getProbabilites(this, Person.DoublesVariables.class);
-                        event = new MultiValEvent(probs2, innovations.getDoubleDraw(11));
+                                Parameters.getCompiledNotPartnerInformalCareS2f().getProbabilities(this);
+                        event = new MultiValEvent(probs2, getDoubleDraw(11));
                         NotPartnerInformalCarer cc = (NotPartnerInformalCarer) event.eval();
                         if (NotPartnerInformalCarer.DaughterOnly.equals(cc) || NotPartnerInformalCarer.DaughterAndSon.equals(cc) || NotPartnerInformalCarer.DaughterAndOther.equals(cc))
-                            socialCareFromDaughter = true;
+                            socialCareFromDaughter(true);
                         if (NotPartnerInformalCarer.SonOnly.equals(cc) || NotPartnerInformalCarer.DaughterAndSon.equals(cc) || NotPartnerInformalCarer.SonAndOther.equals(cc))
-                            socialCareFromSon = true;
+                            socialCareFromSon(true);
                         if (NotPartnerInformalCarer.OtherOnly.equals(cc) || NotPartnerInformalCarer.SonAndOther.equals(cc) || NotPartnerInformalCarer.DaughterAndOther.equals(cc))
-                            socialCareFromOther = true;
+                            socialCareFromOther(true);
                     }
                 }
-                double careHoursInnov = innovations.getDoubleDraw(12);
-                if (socialCareFromPartner) {
-                    double score = Parameters.getRegPartnerCareHoursS2g().getScore(this,Person.DoublesVariables.class);
+                double careHoursInnov = getDoubleDraw(12);
+                if (socialCareFromPartner()) {
+                    double score = Parameters.getCompiledPartnerCareHoursS2g().getScore(this);
                     double rmse = Parameters.getRMSEForRegression("S2g");
                     double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(careHoursInnov);
                     careHoursFromPartnerWeekly = Math.min(Parameters.MAX_HOURS_WEEKLY_INFORMAL_CARE, Math.exp(score + rmse * gauss));
                 }
                 careHoursInnov = Parameters.updateProbability(careHoursInnov);
-                if (socialCareFromDaughter) {
-                    double score = Parameters.getRegDaughterCareHoursS2h().getScore(this,Person.DoublesVariables.class);
+                if (socialCareFromDaughter()) {
+                    double score = Parameters.getCompiledDaughterCareHoursS2h().getScore(this);
                     double rmse = Parameters.getRMSEForRegression("S2h");
                     double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(careHoursInnov);
                     careHoursFromDaughterWeekly = Math.min(Parameters.MAX_HOURS_WEEKLY_INFORMAL_CARE, Math.exp(score + rmse * gauss));
                 }
                 careHoursInnov = Parameters.updateProbability(careHoursInnov);
-                if (socialCareFromSon) {
-                    double score = Parameters.getRegSonCareHoursS2i().getScore(this,Person.DoublesVariables.class);
+                if (socialCareFromSon()) {
+                    double score = Parameters.getCompiledSonCareHoursS2i().getScore(this);
                     double rmse = Parameters.getRMSEForRegression("S2i");
                     double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(careHoursInnov);
                     careHoursFromSonWeekly = Math.min(Parameters.MAX_HOURS_WEEKLY_INFORMAL_CARE, Math.exp(score + rmse * gauss));
                 }
                 careHoursInnov = Parameters.updateProbability(careHoursInnov);
-                if (socialCareFromOther) {
-                    double score = Parameters.getRegOtherCareHoursS2j().getScore(this,Person.DoublesVariables.class);
+                if (socialCareFromOther()) {
+                    double score = Parameters.getCompiledOtherCareHoursS2j().getScore(this);
                     double rmse = Parameters.getRMSEForRegression("S2j");
                     double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(careHoursInnov);
                     careHoursFromOtherWeekly = Math.min(Parameters.MAX_HOURS_WEEKLY_INFORMAL_CARE, Math.exp(score + rmse * gauss));
                 }
                 careHoursInnov = Parameters.updateProbability(careHoursInnov);
-                if (socialCareFromFormal) {
-                    double score = Parameters.getRegFormalCareHoursS2k().getScore(this,Person.DoublesVariables.class);
+                if (socialCareFromFormal()) {
+                    double score = Parameters.getCompiledFormalCareHoursS2k().getScore(this);
                     double rmse = Parameters.getRMSEForRegression("S2k");
                     double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(careHoursInnov);
                     careHoursFromFormalWeekly = Math.min(Parameters.MAX_HOURS_WEEKLY_FORMAL_CARE, Math.exp(score + rmse * gauss));
@@ -1167,7 +1178,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             // check if care provided to partner
             // identified in method evaluateSocialCareReceipt
             Person partner = getPartner();
-            if (partner!=null && partner.socialCareFromPartner) {
+            if (partner!=null && partner.socialCareFromPartner()) {
                 careToPartner = true;
                 careHoursToPartner = partner.getCareHoursFromPartnerWeekly();
             }
@@ -1175,13 +1186,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             // check if care provided to "other"
             double prob;
             if (careToPartner) {
-                double score = Parameters.getRegCarePartnerProvCareToOtherS3a().getScore(this, Person.DoublesVariables.class);
+                double score = Parameters.getCompiledCarePartnerProvCareToOtherS3a().getScore(this);
                 prob = Parameters.getRegCarePartnerProvCareToOtherS3a().getProbability(score + probitAdjustment);
             } else {
-                double score = Parameters.getRegNoCarePartnerProvCareToOtherS3b().getScore(this, Person.DoublesVariables.class);
+                double score = Parameters.getCompiledNoCarePartnerProvCareToOtherS3b().getScore(this);
                 prob = Parameters.getRegNoCarePartnerProvCareToOtherS3b().getProbability(score + probitAdjustment);
             }
-            careToOther = (innovations.getDoubleDraw(13) < prob);
+            careToOther = (getDoubleDraw(13) < prob);
 
             // update care provision states
             if (careToPartner || careToOther) {
@@ -1197,9 +1208,9 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                     if (SocialCareProvision.OnlyPartner.equals(socialCareProvision)) {
                         careHoursProvidedWeekly = careHoursToPartner;
                     } else {
-                        double score = Parameters.getRegCareHoursProvS3e().getScore(this,Person.DoublesVariables.class);
+                        double score = Parameters.getCompiledCareHoursProvS3e().getScore(this);
                         double rmse = Parameters.getRMSEForRegression("S3e");
-                        double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(innovations.getDoubleDraw(14));
+                        double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(getDoubleDraw(14));
                         careHoursProvidedWeekly = Math.min(Parameters.MAX_HOURS_WEEKLY_INFORMAL_CARE,
                                 Math.max(careHoursToPartner + 1.0, Math.exp(score + rmse * gauss)));
                     }
@@ -1220,10 +1231,10 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         if (probitAdjustment>(4.0+1.0E-5) || probitAdjustment<(-4.0-1.0E-5))
             throw new RuntimeException("odd value for probit adjustment supplied to considerCohabitation method: " + probitAdjustment);
 
-        toBePartnered = false;
-        leavePartner = false;
-        hasTestPartner = false;
-        double cohabitInnov = innovations.getDoubleDraw(25);
+        toBePartnered(false);
+        leavePartner(false);
+        hasTestPartner(false);
+        double cohabitInnov = getDoubleDraw(25);
         Person partner = getPartner();
         if (dag >= Parameters.MIN_AGE_COHABITATION) {
             // cohabitation possible
@@ -1234,42 +1245,42 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 if (partner == null) {
                     // partnership formation
 
-                    if (dag <= 29 && les_c4 == Les_c4.Student && !leftEducation) {
+                    if (dag <= 29 && les_c4 == Les_c4.Student && !leftEducation()) {
 
-                        double score = Parameters.getRegPartnershipU1a().getScore(this, Person.DoublesVariables.class);
+                        double score = Parameters.getCompiledPartnershipU1a().getScore(this);
                         prob = Parameters.getRegPartnershipU1a().getProbability(score + probitAdjustment);
                     } else {
 
-                        double score = Parameters.getRegPartnershipU1b().getScore(this, Person.DoublesVariables.class);
+                        double score = Parameters.getCompiledPartnershipU1b().getScore(this);
                         prob = Parameters.getRegPartnershipU1b().getProbability(score + probitAdjustment);
                     }
-                    toBePartnered = (cohabitInnov < prob);
-                    if (toBePartnered)
+                    toBePartnered((cohabitInnov < prob));
+                    if (toBePartnered())
                         model.getPersonsToMatch().get(dgn).get(getRegion()).add(this);
-                } else if (dgn == Gender.Female && (dag > 29 || !Les_c4.Student.equals(les_c4) || leftEducation)) {
+                } else if (dgn == Gender.Female && (dag > 29 || !Les_c4.Student.equals(les_c4) || leftEducation())) {
                     // partnership dissolution
 
-                    double score = Parameters.getRegPartnershipU2b().getScore(this, Person.DoublesVariables.class);
+                    double score = Parameters.getCompiledPartnershipU2b().getScore(this);
                     prob = Parameters.getRegPartnershipU2b().getProbability(score - probitAdjustment);
                     if (cohabitInnov < prob) {
-                        leavePartner = true;
+                        leavePartner(true);
                     }
                 }
             } else if (model.getCountry() == Country.IT) {
 
                 if (partner == null) {
-                    if ((les_c4 == Les_c4.Student && leftEducation) || !les_c4.equals(Les_c4.Student)) {
+                    if ((les_c4 == Les_c4.Student && leftEducation()) || !les_c4.equals(Les_c4.Student)) {
 
                         double prob = Parameters.getRegPartnershipITU1().getProbability(this, Person.DoublesVariables.class);
-                        toBePartnered = (cohabitInnov < prob);
-                        if (toBePartnered)
+                        toBePartnered((cohabitInnov < prob));
+                        if (toBePartnered())
                             model.getPersonsToMatch().get(dgn).get(getRegion()).add(this);
                     }
-                } else if (partner != null && dgn == Gender.Female && ((les_c4 == Les_c4.Student && leftEducation) || !les_c4.equals(Les_c4.Student))) {
+                } else if (partner != null && dgn == Gender.Female && ((les_c4 == Les_c4.Student && leftEducation()) || !les_c4.equals(Les_c4.Student))) {
 
                     double prob = Parameters.getRegPartnershipITU2().getProbability(this, Person.DoublesVariables.class);
                     if (cohabitInnov < prob) {
-                        leavePartner = true;
+                        leavePartner(true);
                     }
                 }
             }
@@ -1278,7 +1289,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     protected void partnershipDissolution() {
 
-        if (leavePartner) {
+        if (leavePartner()) {
 
             // update partner's variables first
             Person partner = getPartner();
@@ -1295,26 +1306,26 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     protected void inSchool() {
 
-        double labourInnov = innovations.getDoubleDraw(24);
+        double labourInnov = getDoubleDraw(24);
         //Min age to leave education set to 16 (from 18 previously) but note that age to leave home is 18.
         if (Les_c4.Retired.equals(les_c4) || dag < Parameters.MIN_AGE_TO_LEAVE_EDUCATION || dag > Parameters.MAX_AGE_TO_ENTER_EDUCATION) {		//Only apply module for persons who are old enough to consider leaving education, but not retired
             return;
-        } else if (Les_c4.Student.equals(les_c4) && !leftEducation && dag >= Parameters.MIN_AGE_TO_LEAVE_EDUCATION) { //leftEducation is initialised to false and updated to true when individual leaves education (and never reset).
+        } else if (Les_c4.Student.equals(les_c4) && !leftEducation() && dag >= Parameters.MIN_AGE_TO_LEAVE_EDUCATION) { //leftEducation is initialised to false and updated to true when individual leaves education (and never reset).
             //If age is between 16 - 29 and individual has always been in education, follow process E1a:
 
             if (dag <= Parameters.MAX_AGE_TO_LEAVE_CONTINUOUS_EDUCATION) {
 
-                double prob = Parameters.getRegEducationE1a().getProbability(this, Person.DoublesVariables.class);
-                toLeaveSchool = (labourInnov >= prob); //If event is true, stay in school.  If event is false, leave school.
+                double prob = Parameters.getRegEducationE1a().getProbability(Parameters.getCompiledEducationE1a().getScore(this));
+                toLeaveSchool((labourInnov >= prob)); //If event is true, stay in school.  If event is false, leave school.
             } else {
-                toLeaveSchool = true; //Hasn't left education until 30 - force out
+                toLeaveSchool(true); //Hasn't left education until 30 - force out
             }
-        } else if (dag <= 45 && (!Les_c4.Student.equals(les_c4) || leftEducation)) { //leftEducation is initialised to false and updated to true when individual leaves education for the first time (and never reset).
+        } else if (dag <= 45 && (!Les_c4.Student.equals(les_c4) || leftEducation())) { //leftEducation is initialised to false and updated to true when individual leaves education for the first time (and never reset).
             //If age is between 16 - 45 and individual has not continuously been in education, follow process E1b:
             //Either individual is currently a student and has left education at some point in the past (so returned) or individual is not a student so has not been in continuous education:
             //TODO: If regression outcome of process E1b is true, set activity status to student and der (return to education indicator) to true?
 
-            double prob = Parameters.getRegEducationE1b().getProbability(this, Person.DoublesVariables.class);
+            double prob = Parameters.getRegEducationE1b().getProbability(Parameters.getCompiledEducationE1b().getScore(this));
             if (labourInnov < prob) {
                 //If event is true, re-enter education.  If event is false, leave school
 
@@ -1326,7 +1337,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
                 setLes_c4(Les_c4.NotEmployed);
                 setDed(Indicator.False);
-                toLeaveSchool = true; //Test what happens if people who returned to education leave again
+                toLeaveSchool(true); //Test what happens if people who returned to education leave again
             }
         } else if (dag > 45 && les_c4.equals(Les_c4.Student)) {
             //People above 45 shouldn't be in education, so if someone re-entered at 45 in previous step, force out
@@ -1338,7 +1349,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     protected void leavingSchool() {
 
-        if (toLeaveSchool) {
+        if (toLeaveSchool()) {
 
             setEducationLevel(); //If individual leaves school follow process E2a to assign level of education
             setSedex(Indicator.True); //Set variable left education (sedex) if leaving school
@@ -1352,21 +1363,22 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     private void giveBirth() {				//To be called once per year after fertility alignment
 
-        if (toGiveBirth) {		//toGiveBirth is determined by fertility process
+        if (toGiveBirth()) {		//toGiveBirth is determined by fertility process
 
-            Gender babyGender = (innovations.getDoubleDraw(27) < Parameters.PROB_NEWBORN_IS_MALE) ? Gender.Male : Gender.Female;
+            Gender babyGender = (getDoubleDraw(27) < Parameters.PROB_NEWBORN_IS_MALE) ? Gender.Male : Gender.Female;
 
             //Give birth to new person and add them to benefitUnit.
             Person child = new Person(babyGender, this);
             model.getPersons().add(child);
             benefitUnit.getMembers().add(child);
+            model.updatePopulationCell(child);
         }
     }
 
 
     protected void initialisePotentialHourlyEarnings() {
 
-        double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(innovations.getDoubleDraw(15));
+        double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(getDoubleDraw(15));
         double logPotentialHourlyEarnings, score, rmse;
         if (dgn.equals(Gender.Male)) {
             score = Parameters.getRegWagesMales().getScore(this, Person.DoublesVariables.class);
@@ -1384,41 +1396,41 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     protected void updateFullTimeHourlyEarnings() {
 
-        double rmse, wagesInnov = innovations.getDoubleDraw(16);
-        if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1)) {
-            if (wageRegressionRandomComponentE == null || !model.fixRegressionStochasticComponent) {
+        double rmse, wagesInnov = getDoubleDraw(16);
+        if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1())) {
+            if (wageRegressionRandomComponentE() == null || !model.fixRegressionStochasticComponent) {
                 if (Gender.Male.equals(dgn)) {
                     rmse = Parameters.getRMSEForRegression("Wages_MalesE");
                 } else {
                     rmse = Parameters.getRMSEForRegression("Wages_FemalesE");
                 }
                 double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(wagesInnov);
-                wageRegressionRandomComponentE = rmse * gauss;
+                wageRegressionRandomComponentE(rmse * gauss);
             }
         } else {
-            if (wageRegressionRandomComponentNE == null || !model.fixRegressionStochasticComponent) {
+            if (wageRegressionRandomComponentNE() == null || !model.fixRegressionStochasticComponent) {
                 if (Gender.Male.equals(dgn)) {
                     rmse = Parameters.getRMSEForRegression("Wages_MalesNE");
                 } else {
                     rmse = Parameters.getRMSEForRegression("Wages_FemalesNE");
                 }
                 double gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(wagesInnov);
-                wageRegressionRandomComponentNE = rmse * gauss;
+                wageRegressionRandomComponentNE(rmse * gauss);
             }
         }
 
         double logFullTimeHourlyEarnings;
         if(Gender.Male.equals(dgn)) {
-            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1)) {
-                logFullTimeHourlyEarnings = Parameters.getRegWagesMalesE().getScore(this, Person.DoublesVariables.class) + wageRegressionRandomComponentE;
+            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1())) {
+                logFullTimeHourlyEarnings = Parameters.getCompiledWagesMalesE().getScore(this) + wageRegressionRandomComponentE();
             } else {
-                logFullTimeHourlyEarnings = Parameters.getRegWagesMalesNE().getScore(this, Person.DoublesVariables.class) + wageRegressionRandomComponentNE;
+                logFullTimeHourlyEarnings = Parameters.getCompiledWagesMalesNE().getScore(this) + wageRegressionRandomComponentNE();
             }
         } else {
-            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1)) {
-                logFullTimeHourlyEarnings = Parameters.getRegWagesFemalesE().getScore(this, Person.DoublesVariables.class) + wageRegressionRandomComponentE;
+            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1())) {
+                logFullTimeHourlyEarnings = Parameters.getCompiledWagesFemalesE().getScore(this) + wageRegressionRandomComponentE();
             } else {
-                logFullTimeHourlyEarnings = Parameters.getRegWagesFemalesNE().getScore(this, Person.DoublesVariables.class) + wageRegressionRandomComponentNE;
+                logFullTimeHourlyEarnings = Parameters.getCompiledWagesFemalesNE().getScore(this) + wageRegressionRandomComponentNE();
             }
         }
 
@@ -1457,7 +1469,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
             throw new RuntimeException("source not recognised for setting income");
         }
-        double capitalInnov = innovations.getDoubleDraw(17);
+        double capitalInnov = getDoubleDraw(17);
         while (redraw) {
 
             gauss = Parameters.getStandardNormalDistribution().inverseCumulativeProbability(capitalInnov);
@@ -1489,8 +1501,8 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         // variables updated with labour supply when enableIntertemporalOptimisations (as retirement can affect wealth and pension income)
         if (dag >= Parameters.MIN_AGE_TO_HAVE_INCOME) {
 
-            double capitalInnov = innovations.getDoubleDraw(18);
-            if (dag <= 29 && Les_c4.Student.equals(les_c4) && !leftEducation) {
+            double capitalInnov = getDoubleDraw(18);
+            if (dag <= 29 && Les_c4.Student.equals(les_c4) && !leftEducation()) {
                 // full-time students
 
                 double prob = Parameters.getRegIncomeI3a_selection().getProbability(this, Person.DoublesVariables.class);
@@ -1503,7 +1515,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                     ypncp = Parameters.asinh(capinclevel); //Capital income amount
                 }
                 else ypncp = 0.; //If no capital income, set amount to 0
-            } else if (leftEducation || !Les_c4.Student.equals(les_c4)) {
+            } else if (leftEducation() || !Les_c4.Student.equals(les_c4)) {
 
                 double prob = Parameters.getRegIncomeI3b_selection().getProbability(this, Person.DoublesVariables.class);
                 boolean hasCapitalIncome = (capitalInnov < prob);
@@ -1527,7 +1539,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 */
 
                 double score, rmse, pensionIncLevel = 0.;
-                if (Les_c4.Retired.equals(les_c4_lag1)) {
+                if (Les_c4.Retired.equals(les_c4_lag1())) {
                     // If person was retired in the previous period (and the simulation is not in its initial year), use process I4b
 
                     score = Parameters.getRegIncomeI4b().getScore(this, Person.DoublesVariables.class);
@@ -1537,7 +1549,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                     // For individuals in the first year of retirement, use processes I5a_selection and I5b_amount
 
                     double prob = Parameters.getRegIncomeI5a_selection().getProbability(this, Person.DoublesVariables.class);
-                    boolean hasPrivatePensionIncome = (innovations.getDoubleDraw(19) < prob);
+                    boolean hasPrivatePensionIncome = (getDoubleDraw(19) < prob);
                     if (hasPrivatePensionIncome) {
 
                         score = Parameters.getRegIncomeI5b_amount().getScore(this, Person.DoublesVariables.class);
@@ -1602,8 +1614,8 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     // The module only applies to students who are leaving school (activityStatus == Student and toLeaveSchool == true) - see inSchool()
     private void setEducationLevel() {
 
-        Map<Education,Double> probs = Parameters.getRegEducationE2a().getProbabilities(this, Person.DoublesVariables.class);
-        MultiValEvent event = new MultiValEvent(probs, innovations.getDoubleDraw(30));
+        Map<Education,Double> probs = Parameters.getCompiledEducationE2a().getProbabilities(this);
+        MultiValEvent event = new MultiValEvent(probs, getDoubleDraw(30));
         Education newEducationLevel = (Education) event.eval();
 
         //Education has been set to Low by default for all new born babies, so it should never be null.
@@ -1657,10 +1669,10 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     protected void updateVariables(boolean initialUpdate) {
 
         //Reset flags to default values
-        toLeaveSchool = false;
-        toGiveBirth = false;
-        toBePartnered = false;
-        leavePartner = false;
+        toLeaveSchool(false);
+        toGiveBirth(false);
+        toBePartnered(false);
+        leavePartner(false);
         ded = (Les_c4.Student.equals(les_c4)) ? Indicator.True : Indicator.False;
         if (initialUpdate && careHoursFromParentWeekly==null)
             careHoursFromParentWeekly = 0.0;
@@ -1684,86 +1696,86 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         if (!initialUpdate) {
             if (Parameters.enableIntertemporalOptimisations && !DecisionParams.flagDisability) {
                 dlltsd = Indicator.False;
-                dlltsd_lag1 = Indicator.False;
+                dlltsd_lag1(Indicator.False);
             }
             if (!Parameters.flagSocialCare) {
                 setAllSocialCareVariablesToFalse();
             }
-            innovations.getNewDoubleDraws();
+            innovationsYear(model.getYear());
         }
     }
 
     private void updateLaggedVariables(boolean initialUpdate) {
 
-        les_c4_lag1 = les_c4;
-        les_c7_covid_lag1 = les_c7_covid;
-        household_status_lag = getHouseholdStatus();
-        dhe_lag1 = dhe; //Update lag(1) of health
-        dhm_lag1 = dhm; //Update lag(1) of mental health
-        dhmGhq_lag1 = dhmGhq;
-        dlltsd_lag1 = dlltsd; //Update lag(1) of long-term sick or disabled status
-        needSocialCare_lag1 = needSocialCare;
-        careHoursFromFormalWeekly_lag1 = careHoursFromFormalWeekly;
-        careHoursFromPartnerWeekly_lag1 = careHoursFromPartnerWeekly;
-        careHoursFromParentWeekly_lag1 = careHoursFromParentWeekly;
-        careHoursFromDaughterWeekly_lag1 = careHoursFromDaughterWeekly;
-        careHoursFromSonWeekly_lag1 = careHoursFromSonWeekly;
-        careHoursFromOtherWeekly_lag1 = careHoursFromOtherWeekly;
-        socialCareProvision_lag1 = socialCareProvision;
-        lowWageOffer_lag1 = getLowWageOffer();
-        deh_c3_lag1 = deh_c3; //Update lag(1) of education level
-        ypnbihs_dv_lag1 = getYpnbihs_dv(); //Update lag(1) of gross personal non-benefit income
-        labourSupplyWeekly_L1 = getLabourSupplyWeekly(); // Lag(1) of labour supply
-        receivesBenefitsFlag_L1 = receivesBenefitsFlag; // Lag(1) of flag indicating if individual receives benefits
+        les_c4_lag1(les_c4);
+        les_c7_covid_lag1(les_c7_covid);
+        household_status_lag(getHouseholdStatus());
+        dhe_lag1(dhe); //Update lag(1) of health
+        dhm_lag1(dhm); //Update lag(1) of mental health
+        dhmGhq_lag1(dhmGhq);
+        dlltsd_lag1(dlltsd); //Update lag(1) of long-term sick or disabled status
+        needSocialCare_lag1(needSocialCare);
+        careHoursFromFormalWeekly_lag1(careHoursFromFormalWeekly);
+        careHoursFromPartnerWeekly_lag1(careHoursFromPartnerWeekly);
+        careHoursFromParentWeekly_lag1(careHoursFromParentWeekly);
+        careHoursFromDaughterWeekly_lag1(careHoursFromDaughterWeekly);
+        careHoursFromSonWeekly_lag1(careHoursFromSonWeekly);
+        careHoursFromOtherWeekly_lag1(careHoursFromOtherWeekly);
+        socialCareProvision_lag1(socialCareProvision);
+        lowWageOffer_lag1(getLowWageOffer());
+        deh_c3_lag1(deh_c3); //Update lag(1) of education level
+        ypnbihs_dv_lag1(getYpnbihs_dv()); //Update lag(1) of gross personal non-benefit income
+        labourSupplyWeekly_L1(getLabourSupplyWeekly()); // Lag(1) of labour supply
+        receivesBenefitsFlag_L1(receivesBenefitsFlag()); // Lag(1) of flag indicating if individual receives benefits
         L1_fullTimeHourlyEarningsPotential = fullTimeHourlyEarningsPotential; // Lag(1) of potential hourly earnings
 
         if (initialUpdate) {
-            yplgrs_dv_lag1 = getYplgrs_dv(); //Lag(1) of gross personal employment income
-            yplgrs_dv_lag2 = getYplgrs_dv();
-            yplgrs_dv_lag3 = getYplgrs_dv();
+            yplgrs_dv_lag1(getYplgrs_dv()); //Lag(1) of gross personal employment income
+            yplgrs_dv_lag2(getYplgrs_dv());
+            yplgrs_dv_lag3(getYplgrs_dv());
 
-            yptciihs_dv_lag1 = getYptciihs_dv();
-            yptciihs_dv_lag2 = getYptciihs_dv();
-            yptciihs_dv_lag3 = getYptciihs_dv();
+            yptciihs_dv_lag1(getYptciihs_dv());
+            yptciihs_dv_lag2(getYptciihs_dv());
+            yptciihs_dv_lag3(getYptciihs_dv());
 
-            ypncp_lag1 = getYpncp();
-            ypncp_lag2 = getYpncp();
+            ypncp_lag1(getYpncp());
+            ypncp_lag2(getYpncp());
 
-            ypnoab_lag1 = getYpnoab();
-            ypnoab_lag2 = getYpnoab();
+            ypnoab_lag1(getYpnoab());
+            ypnoab_lag2(getYpnoab());
         } else {
-            yplgrs_dv_lag3 = yplgrs_dv_lag2; //Lag(3) of gross personal employment income
-            yplgrs_dv_lag2 = yplgrs_dv_lag1; //Lag(2) of gross personal employment income
-            yplgrs_dv_lag1 = getYplgrs_dv(); //Lag(1) of gross personal employment income
+            store.copyDouble(slot, YPLGRS_DV_LAG2, YPLGRS_DV_LAG3); //Lag(3) of gross personal employment income
+            store.copyDouble(slot, YPLGRS_DV_LAG1, YPLGRS_DV_LAG2); //Lag(2) of gross personal employment income
+            store.setDoubleValue(slot, YPLGRS_DV_LAG1, getYplgrs_dv()); //Lag(1) of gross personal employment income
 
-            yptciihs_dv_lag3 = yptciihs_dv_lag2; //Lag(3) of gross personal non-employment non-benefit income
-            yptciihs_dv_lag2 = yptciihs_dv_lag1; //Lag(2) of gross personal non-employment non-benefit income
-            yptciihs_dv_lag1 = getYptciihs_dv(); //Lag(1) of gross personal non-employment non-benefit income
+            store.copyDouble(slot, YPTCIIHS_DV_LAG2, YPTCIIHS_DV_LAG3); //Lag(3) of gross personal non-employment non-benefit income
+            store.copyDouble(slot, YPTCIIHS_DV_LAG1, YPTCIIHS_DV_LAG2); //Lag(2) of gross personal non-employment non-benefit income
+            store.setDoubleValue(slot, YPTCIIHS_DV_LAG1, getYptciihs_dv()); //Lag(1) of gross personal non-employment non-benefit income
 
-            ypncp_lag2 = ypncp_lag1;
-            ypncp_lag1 = getYpncp();
+            store.copyDouble(slot, YPNCP_LAG1, YPNCP_LAG2);
+            store.setDoubleValue(slot, YPNCP_LAG1, getYpncp());
 
-            ypnoab_lag2 = ypnoab_lag1;
-            ypnoab_lag1 = getYpnoab();
+            store.copyDouble(slot, YPNOAB_LAG1, YPNOAB_LAG2);
+            store.setDoubleValue(slot, YPNOAB_LAG1, getYpnoab());
         }
 
         // partner variables
         Person partner = getPartner();
         if (partner!=null) {
-            dehsp_c3_lag1 = partner.deh_c3;
-            dhesp_lag1 = partner.dhe;
-            dcpst_lag1 = Dcpst.Partnered;
-            dcpagdf_lag1 = dag - partner.dag;
-            idPartnerLag1 = partner.getId();
+            dehsp_c3_lag1(partner.deh_c3);
+            dhesp_lag1(partner.dhe);
+            dcpst_lag1(Dcpst.Partnered);
+            dcpagdf_lag1(dag - partner.dag);
+            idPartnerLag1(partner.getId());
         } else {
-            dehsp_c3_lag1 = null;
-            dhesp_lag1 = null;
-            dcpagdf_lag1 = null;
-            dcpst_lag1 = getDcpst();
-            idPartnerLag1 = null;
+            dehsp_c3_lag1(null);
+            dhesp_lag1(null);
+            dcpagdf_lag1(null);
+            dcpst_lag1(getDcpst());
+            idPartnerLag1(null);
         }
-        ynbcpdf_dv_lag1 = getYnbcpdf_dv(); //Lag(1) of difference between own and partner's gross personal non-benefit income
-        lesdf_c4_lag1 = getLesdf_c4(); //Lag(1) of own and partner's activity status
+        ynbcpdf_dv_lag1(getYnbcpdf_dv()); //Lag(1) of difference between own and partner's gross personal non-benefit income
+        lesdf_c4_lag1(getLesdf_c4()); //Lag(1) of own and partner's activity status
     }
 
     // used when children leave home
@@ -1910,8 +1922,8 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         }
 
         //In the first period the lagged value will be equal to the contemporaneous value
-        if (les_c7_covid_lag1 == null) {
-            les_c7_covid_lag1 = les_c7_covid;
+        if (les_c7_covid_lag1() == null) {
+            les_c7_covid_lag1(les_c7_covid);
         }
     }
 
@@ -2397,7 +2409,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (dag >= 68) ? 1. : 0.;
             }
             case NeedCare_L1 -> {
-                return (Indicator.True.equals(needSocialCare_lag1)) ? 1. : 0.;
+                return (Indicator.True.equals(needSocialCare_lag1())) ? 1. : 0.;
             }
             case CareToPartnerOnly -> {
                 return (SocialCareProvision.OnlyPartner.equals(socialCareProvision)) ? 1. : 0.;
@@ -2409,13 +2421,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (SocialCareProvision.OnlyOther.equals(socialCareProvision)) ? 1. : 0.;
             }
             case CareToPartnerOnly_L1 -> {
-                return (SocialCareProvision.OnlyPartner.equals(socialCareProvision_lag1)) ? 1. : 0.;
+                return (SocialCareProvision.OnlyPartner.equals(socialCareProvision_lag1())) ? 1. : 0.;
             }
             case CareToPartnerAndOther_L1 -> {
-                return (SocialCareProvision.PartnerAndOther.equals(socialCareProvision_lag1)) ? 1. : 0.;
+                return (SocialCareProvision.PartnerAndOther.equals(socialCareProvision_lag1())) ? 1. : 0.;
             }
             case CareToOtherOnly_L1 -> {
-                return (SocialCareProvision.OnlyOther.equals(socialCareProvision_lag1)) ? 1. : 0.;
+                return (SocialCareProvision.OnlyOther.equals(socialCareProvision_lag1())) ? 1. : 0.;
             }
             case ReceiveCare_L1 -> {
                 return (getTotalHoursSocialCare_L1() > 0.01) ? 1. : 0.;
@@ -2460,31 +2472,31 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (getCareHoursFromOther_L1() > 0.01 && Math.abs(getHoursInformalSocialCare_L1() - getCareHoursFromOther_L1()) < 0.01) ? 1. : 0.;
             }
             case CareFromFormal -> {
-                return (socialCareFromFormal) ? 1. : 0.;
+                return (socialCareFromFormal()) ? 1. : 0.;
             }
             case CareFromInformal -> {
-                return (socialCareFromPartner || socialCareFromDaughter || socialCareFromSon || socialCareFromOther) ? 1. : 0.;
+                return (socialCareFromPartner() || socialCareFromDaughter() || socialCareFromSon() || socialCareFromOther()) ? 1. : 0.;
             }
             case CareFromPartner -> {
-                return (socialCareFromPartner) ? 1. : 0.;
+                return (socialCareFromPartner()) ? 1. : 0.;
             }
             case CareFromDaughter -> {
-                return (socialCareFromDaughter) ? 1. : 0.;
+                return (socialCareFromDaughter()) ? 1. : 0.;
             }
             case CareFromSon -> {
-                return (socialCareFromSon) ? 1. : 0.;
+                return (socialCareFromSon()) ? 1. : 0.;
             }
             case CareFromOther -> {
-                return (socialCareFromOther) ? 1. : 0.;
+                return (socialCareFromOther()) ? 1. : 0.;
             }
             case Constant -> {
                 return 1.;
             }
             case Dcpyy_L1 -> {
-                return (dcpyy_lag1 != null) ? (double) dcpyy_lag1 : 0.0;
+                return store.isIntSet(slot, DCPYY_LAG1) ? store.getIntValue(slot, DCPYY_LAG1) : 0.0;
             }
             case Dcpagdf_L1 -> {
-                return (dcpagdf_lag1 != null) ? (double) dcpagdf_lag1 : 0.0;
+                return store.isIntSet(slot, DCPAGDF_LAG1) ? store.getIntValue(slot, DCPAGDF_LAG1) : 0.0;
             }
             case Dcpst_Single -> {
                 return (Dcpst.SingleNeverMarried.equals(getDcpst())) ? 1.0 : 0.0;
@@ -2496,13 +2508,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (Dcpst.PreviouslyPartnered.equals(getDcpst())) ? 1.0 : 0.0;
             }
             case Dcpst_Single_L1 -> {
-                if (dcpst_lag1 != null) {
-                    return dcpst_lag1.equals(Dcpst.SingleNeverMarried) ? 1. : 0.;
+                if (dcpst_lag1() != null) {
+                    return dcpst_lag1().equals(Dcpst.SingleNeverMarried) ? 1. : 0.;
                 } else return 0.;
             }
             case Dcpst_PreviouslyPartnered_L1 -> {
-                if (dcpst_lag1 != null) {
-                    return dcpst_lag1.equals(Dcpst.PreviouslyPartnered) ? 1. : 0.;
+                if (dcpst_lag1() != null) {
+                    return dcpst_lag1().equals(Dcpst.PreviouslyPartnered) ? 1. : 0.;
                 } else return 0.;
             }
             case D_children_2under -> {
@@ -2539,7 +2551,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (double) dhe.getValue();
             }
             case Dhe_L1 -> {
-                return (double) dhe_lag1.getValue();
+                return (double) dhe_lag1().getValue();
             }
             case Dhe_Excellent -> {
                 return (Dhe.Excellent.equals(dhe)) ? 1. : 0.;
@@ -2557,34 +2569,34 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (Dhe.Poor.equals(dhe)) ? 1. : 0.;
             }
             case Dhe_Excellent_L1 -> {
-                return (Dhe.Excellent.equals(dhe_lag1)) ? 1. : 0.;
+                return (Dhe.Excellent.equals(dhe_lag1())) ? 1. : 0.;
             }
             case Dhe_VeryGood_L1 -> {
-                return (Dhe.VeryGood.equals(dhe_lag1)) ? 1. : 0.;
+                return (Dhe.VeryGood.equals(dhe_lag1())) ? 1. : 0.;
             }
             case Dhe_Good_L1 -> {
-                return (Dhe.Good.equals(dhe_lag1)) ? 1. : 0.;
+                return (Dhe.Good.equals(dhe_lag1())) ? 1. : 0.;
             }
             case Dhe_Fair_L1 -> {
-                return (Dhe.Fair.equals(dhe_lag1)) ? 1. : 0.;
+                return (Dhe.Fair.equals(dhe_lag1())) ? 1. : 0.;
             }
             case Dhe_Poor_L1 -> {
-                return (Dhe.Poor.equals(dhe_lag1)) ? 1. : 0.;
+                return (Dhe.Poor.equals(dhe_lag1())) ? 1. : 0.;
             }
             case Dhesp_Excellent_L1 -> {
-                return (Dhe.Excellent.equals(dhesp_lag1)) ? 1. : 0.;
+                return (Dhe.Excellent.equals(dhesp_lag1())) ? 1. : 0.;
             }
             case Dhesp_VeryGood_L1 -> {
-                return (Dhe.VeryGood.equals(dhesp_lag1)) ? 1. : 0.;
+                return (Dhe.VeryGood.equals(dhesp_lag1())) ? 1. : 0.;
             }
             case Dhesp_Good_L1 -> {
-                return (Dhe.Good.equals(dhesp_lag1)) ? 1. : 0.;
+                return (Dhe.Good.equals(dhesp_lag1())) ? 1. : 0.;
             }
             case Dhesp_Fair_L1 -> {
-                return (Dhe.Fair.equals(dhesp_lag1)) ? 1. : 0.;
+                return (Dhe.Fair.equals(dhesp_lag1())) ? 1. : 0.;
             }
             case Dhesp_Poor_L1 -> {
-                return (Dhe.Poor.equals(dhesp_lag1)) ? 1. : 0.;
+                return (Dhe.Poor.equals(dhesp_lag1())) ? 1. : 0.;
             }
             case Dhe_2 -> {
                 return (Dhe.Fair.equals(dhe)) ? 1. : 0.;
@@ -2599,33 +2611,33 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (Dhe.Excellent.equals(dhe)) ? 1. : 0.;
             }
             case Dhe_c5_1_L1 -> {
-                return (Dhe.Poor.equals(dhe_lag1)) ? 1.0 : 0.0;
+                return (Dhe.Poor.equals(dhe_lag1())) ? 1.0 : 0.0;
             }
             case Dhe_c5_2_L1 -> {
-                return (Dhe.Fair.equals(dhe_lag1)) ? 1.0 : 0.0;
+                return (Dhe.Fair.equals(dhe_lag1())) ? 1.0 : 0.0;
             }
             case Dhe_c5_3_L1 -> {
-                return (Dhe.Good.equals(dhe_lag1)) ? 1.0 : 0.0;
+                return (Dhe.Good.equals(dhe_lag1())) ? 1.0 : 0.0;
             }
             case Dhe_c5_4_L1 -> {
-                return (Dhe.VeryGood.equals(dhe_lag1)) ? 1.0 : 0.0;
+                return (Dhe.VeryGood.equals(dhe_lag1())) ? 1.0 : 0.0;
             }
             case Dhe_c5_5_L1 -> {
-                return (Dhe.Excellent.equals(dhe_lag1)) ? 1.0 : 0.0;
+                return (Dhe.Excellent.equals(dhe_lag1())) ? 1.0 : 0.0;
             }
             case Dhm -> {
                 return dhm;
             }
             case Dhm_L1 -> {
-                if (dhm_lag1 != null && dhm_lag1 >= 0.) {
-                    return dhm_lag1;
+                if (store.isDoubleSet(slot, DHM_LAG1) && store.getDoubleValue(slot, DHM_LAG1) >= 0.) {
+                    return store.getDoubleValue(slot, DHM_LAG1);
                 } else return 0.;
             }
             case Dhmghq_L1 -> {
                 return (getDhmGhq_lag1()) ? 1. : 0.;
             }
             case Dhesp_L1 -> {
-                return (dhesp_lag1 != null) ? (double) dhesp_lag1.getValue() : 0.0;
+                return (dhesp_lag1() != null) ? (double) dhesp_lag1().getValue() : 0.0;
             }
             case Ded -> {
                 return (Indicator.True.equals(ded)) ? 1.0 : 0.0;
@@ -2637,13 +2649,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (Education.Medium.equals(deh_c3)) ? 1.0 : 0.0;
             }
             case Deh_c3_Medium_L1 -> {
-                return (Education.Medium.equals(deh_c3_lag1)) ? 1.0 : 0.0;
+                return (Education.Medium.equals(deh_c3_lag1())) ? 1.0 : 0.0;
             }
             case Deh_c3_Low -> {
                 return (Education.Low.equals(deh_c3)) ? 1.0 : 0.0;
             }
             case Deh_c3_Low_L1 -> {
-                return (Education.Low.equals(deh_c3_lag1)) ? 1.0 : 0.0;
+                return (Education.Low.equals(deh_c3_lag1())) ? 1.0 : 0.0;
             }
             case Dehm_c3_High -> {
                 return (Education.High.equals(dehm_c3)) ? 1.0 : 0.0;
@@ -2673,10 +2685,10 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (checkHighestParentalEducationEquals(Education.Low)) ? 1.0 : 0.0;
             }
             case Dehsp_c3_Medium_L1 -> {
-                return (Education.Medium.equals(dehsp_c3_lag1)) ? 1. : 0.;
+                return (Education.Medium.equals(dehsp_c3_lag1())) ? 1. : 0.;
             }
             case Dehsp_c3_Low_L1 -> {
-                return (Education.Low.equals(dehsp_c3_lag1)) ? 1. : 0.;
+                return (Education.Low.equals(dehsp_c3_lag1())) ? 1. : 0.;
             }
             case Dhhtp_c4_CoupleChildren_L1 -> {
                 return (Dhhtp_c4.CoupleChildren.equals(getDhhtp_c4_lag1())) ? 1.0 : 0.0;
@@ -2694,7 +2706,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return Indicator.True.equals(dlltsd) ? 1. : 0.;
             }
             case Dlltsd_L1 -> {
-                return Indicator.True.equals(dlltsd_lag1) ? 1. : 0.;
+                return Indicator.True.equals(dlltsd_lag1()) ? 1. : 0.;
             }
             case FertilityRate -> {
                 if (ioFlag)
@@ -2724,55 +2736,55 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return benefitUnit.getIndicatorChildren412_lag1().ordinal();
             }
             case Lemployed -> {
-                if (les_c4_lag1 != null)        //Problem will null pointer exceptions for those who are inactive and then become active as their lagged employment status is null!
-                    return les_c4_lag1.equals(Les_c4.EmployedOrSelfEmployed) ? 1. : 0.;
+                if (les_c4_lag1() != null)        //Problem will null pointer exceptions for those who are inactive and then become active as their lagged employment status is null!
+                    return les_c4_lag1().equals(Les_c4.EmployedOrSelfEmployed) ? 1. : 0.;
                 else
                     return 0.;
             }            //A person who was not active but has become active in this year should have an employment_status_lag == null.  In this case, we assume this means 0 for the Employment regression, where Lemployed is used.
             case Lnonwork -> {
-                return (les_c4_lag1.equals(Les_c4.NotEmployed) || les_c4_lag1.equals(Les_c4.Retired)) ? 1. : 0.;
+                return (les_c4_lag1().equals(Les_c4.NotEmployed) || les_c4_lag1().equals(Les_c4.Retired)) ? 1. : 0.;
             }
             case Lstudent -> {
                 //			log.debug("Lstudent");
-                return les_c4_lag1.equals(Les_c4.Student) ? 1. : 0.;
+                return les_c4_lag1().equals(Les_c4.Student) ? 1. : 0.;
             }
             case Lunion -> {
                 //			log.debug("Lunion");
-                return household_status_lag.equals(HouseholdStatus.Couple) ? 1. : 0.;
+                return household_status_lag().equals(HouseholdStatus.Couple) ? 1. : 0.;
             }
             case Les_c3_Student_L1 -> {
-                return (Les_c4.Student.equals(les_c4_lag1)) ? 1.0 : 0.0;
+                return (Les_c4.Student.equals(les_c4_lag1())) ? 1.0 : 0.0;
             }
             case Les_c3_NotEmployed_L1 -> {
-                return ((Les_c4.NotEmployed.equals(les_c4_lag1)) || (Les_c4.Retired.equals(les_c4_lag1))) ? 1.0 : 0.0;
+                return ((Les_c4.NotEmployed.equals(les_c4_lag1())) || (Les_c4.Retired.equals(les_c4_lag1()))) ? 1.0 : 0.0;
             }
             case Les_c3_Employed_L1 -> {
-                return (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1)) ? 1.0 : 0.0;
+                return (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1())) ? 1.0 : 0.0;
             }
             case Les_c3_Sick_L1 -> {
-                if (dlltsd_lag1 != null)
-                    return dlltsd_lag1.equals(Indicator.True) ? 1. : 0.;
+                if (dlltsd_lag1() != null)
+                    return dlltsd_lag1().equals(Indicator.True) ? 1. : 0.;
                 else
                     return 0.0;
             }
             case Lessp_c3_Student_L1 -> {
                 Person partner = getPartner();
-                if (partner != null && partner.les_c4_lag1 != null)
-                    return partner.les_c4_lag1.equals(Les_c4.Student) ? 1. : 0.;
+                if (partner != null && partner.les_c4_lag1() != null)
+                    return partner.les_c4_lag1().equals(Les_c4.Student) ? 1. : 0.;
                 else
                     return 0.;
             }
             case Lessp_c3_NotEmployed_L1 -> {
                 Person partner = getPartner();
-                if (partner != null && partner.les_c4_lag1 != null)
-                    return (partner.les_c4_lag1.equals(Les_c4.NotEmployed) || partner.les_c4_lag1.equals(Les_c4.Retired)) ? 1. : 0.;
+                if (partner != null && partner.les_c4_lag1() != null)
+                    return (partner.les_c4_lag1().equals(Les_c4.NotEmployed) || partner.les_c4_lag1().equals(Les_c4.Retired)) ? 1. : 0.;
                 else
                     return 0.;
             }
             case Lessp_c3_Sick_L1 -> {
                 Person partner = getPartner();
-                if (partner != null && partner.dlltsd_lag1 != null)
-                    return partner.dlltsd_lag1.equals(Indicator.True) ? 1. : 0.;
+                if (partner != null && partner.dlltsd_lag1() != null)
+                    return partner.dlltsd_lag1().equals(Indicator.True) ? 1. : 0.;
                 else
                     return 0.;
             }
@@ -2780,22 +2792,22 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return Les_c4.Retired.equals(les_c4) ? 1. : 0.;
             }
             case Lesdf_c4_EmployedSpouseNotEmployed_L1 -> {                    //Own and partner's activity status lag(1)
-                return (Lesdf_c4.EmployedSpouseNotEmployed.equals(lesdf_c4_lag1)) ? 1. : 0.;
+                return (Lesdf_c4.EmployedSpouseNotEmployed.equals(lesdf_c4_lag1())) ? 1. : 0.;
             }
             case Lesdf_c4_NotEmployedSpouseEmployed_L1 -> {
-                return (Lesdf_c4.NotEmployedSpouseEmployed.equals(lesdf_c4_lag1)) ? 1. : 0.;
+                return (Lesdf_c4.NotEmployedSpouseEmployed.equals(lesdf_c4_lag1())) ? 1. : 0.;
             }
             case Lesdf_c4_BothNotEmployed_L1 -> {
-                if (lesdf_c4_lag1 != null)
-                    return lesdf_c4_lag1.equals(Lesdf_c4.BothNotEmployed) ? 1. : 0.;
+                if (lesdf_c4_lag1() != null)
+                    return lesdf_c4_lag1().equals(Lesdf_c4.BothNotEmployed) ? 1. : 0.;
                 else
                     return 0.;
             }
             case Liwwh -> {
-                return (double) liwwh;
+                return store.getIntValue(slot, LIWWH);
             }
             case NotEmployed_L1 -> {
-                return (les_c4_lag1.equals(Les_c4.NotEmployed)) ? 1. : 0.;
+                return (les_c4_lag1().equals(Les_c4.NotEmployed)) ? 1. : 0.;
             }
             case NumberChildren -> {
                 return (double) benefitUnit.getNumberChildrenAll();
@@ -2812,7 +2824,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             case ResStanDev -> {        //Draw from standard normal distribution will be multiplied by the value in the .xls file, which represents the standard deviation
                 //If model.addRegressionStochasticComponent set to true, return a draw from standard normal distribution, if false return 0.
                 return (model.addRegressionStochasticComponent) ?
-                        Parameters.getStandardNormalDistribution().inverseCumulativeProbability(innovations.getDoubleDraw(20)) : 0.0;
+                        Parameters.getStandardNormalDistribution().inverseCumulativeProbability(getDoubleDraw(20)) : 0.0;
             }
             case Single -> {
                 return HouseholdStatus.Single.equals(getHouseholdStatus()) ? 1. : 0.;
@@ -2861,51 +2873,52 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return (Ydses_c5.Q5.equals(getYdses_c5_lag1())) ? 1.0 : 0.0;
             }
             case Ypnbihs_dv_L1 -> {
-                if (ypnbihs_dv_lag1 != null) {
-                    return ypnbihs_dv_lag1;
+                if (store.isDoubleSet(slot, YPNBIHS_DV_LAG1)) {
+                    return store.getDoubleValue(slot, YPNBIHS_DV_LAG1);
                 } else {
                     throw new RuntimeException("call to uninitialised ypnbihs_dv_lag1 in Person");
                 }
             }
             case Ypnbihs_dv_L1_sq -> {
-                if (ypnbihs_dv_lag1 != null) {
+                if (store.isDoubleSet(slot, YPNBIHS_DV_LAG1)) {
+                    double ypnbihs_dv_lag1 = store.getDoubleValue(slot, YPNBIHS_DV_LAG1);
                     return ypnbihs_dv_lag1 * ypnbihs_dv_lag1;
                 } else {
                     throw new RuntimeException("call to uninitialised ypnbihs_dv_lag1 in Person");
                 }
             }
             case Ynbcpdf_dv_L1 -> {
-                return (ynbcpdf_dv_lag1 != null) ? ynbcpdf_dv_lag1 : 0.0;
+                return store.isDoubleSet(slot, YNBCPDF_DV_LAG1) ? store.getDoubleValue(slot, YNBCPDF_DV_LAG1) : 0.0;
             }
             case Yptciihs_dv_L1 -> {
-                return yptciihs_dv_lag1;
+                return store.getDoubleValue(slot, YPTCIIHS_DV_LAG1);
             }
             case Yptciihs_dv_L2 -> {
-                return yptciihs_dv_lag2;
+                return store.getDoubleValue(slot, YPTCIIHS_DV_LAG2);
             }
             case Yptciihs_dv_L3 -> {
-                return yptciihs_dv_lag3;
+                return store.getDoubleValue(slot, YPTCIIHS_DV_LAG3);
             }
             case Ypncp_L1 -> {
-                return ypncp_lag1;
+                return store.getDoubleValue(slot, YPNCP_LAG1);
             }
             case Ypncp_L2 -> {
-                return ypncp_lag2;
+                return store.getDoubleValue(slot, YPNCP_LAG2);
             }
             case Ypnoab_L1 -> {
-                return ypnoab_lag1;
+                return store.getDoubleValue(slot, YPNOAB_LAG1);
             }
             case Ypnoab_L2 -> {
-                return ypnoab_lag2;
+                return store.getDoubleValue(slot, YPNOAB_LAG2);
             }
             case Yplgrs_dv_L1 -> {
-                return yplgrs_dv_lag1;
+                return store.getDoubleValue(slot, YPLGRS_DV_LAG1);
             }
             case Yplgrs_dv_L2 -> {
-                return yplgrs_dv_lag2;
+                return store.getDoubleValue(slot, YPLGRS_DV_LAG2);
             }
             case Yplgrs_dv_L3 -> {
-                return yplgrs_dv_lag3;
+                return store.getDoubleValue(slot, YPLGRS_DV_LAG3);
             }
             case Ld_children_3underIT -> {
                 return model.getCountry().equals(Country.IT) ? benefitUnit.getIndicatorChildren03_lag1().ordinal() : 0.;
@@ -2914,7 +2927,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 return model.getCountry().equals(Country.IT) ? benefitUnit.getIndicatorChildren412_lag1().ordinal() : 0.;
             }
             case LunionIT -> {
-                return (household_status_lag.equals(HouseholdStatus.Couple) && (getRegion().toString().startsWith(Country.IT.toString()))) ? 1. : 0.;
+                return (household_status_lag().equals(HouseholdStatus.Couple) && (getRegion().toString().startsWith(Country.IT.toString()))) ? 1. : 0.;
             }
             case EduMediumIT -> {
                 return (deh_c3.equals(Education.Medium) && (getRegion().toString().startsWith(Country.IT.toString()))) ? 1. : 0.;
@@ -2953,7 +2966,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 } else {
                     retirementAge = (int) Parameters.getTimeSeriesValue(getYear(), Gender.Male.toString(), TimeSeriesVariable.FixedRetirementAge);
                 }
-                return ((dag >= retirementAge) && (les_c4_lag1.equals(Les_c4.NotEmployed) || les_c4_lag1.equals(Les_c4.Retired))) ? 1. : 0.;
+                return ((dag >= retirementAge) && (les_c4_lag1().equals(Les_c4.NotEmployed) || les_c4_lag1().equals(Les_c4.Retired))) ? 1. : 0.;
             }
             case EquivalisedIncomeYearly -> {
                 return getBenefitUnit().getEquivalisedDisposableIncomeYearly();
@@ -2972,13 +2985,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
             //New enums for the mental health Step 1 and 2:
             case EmployedToUnemployed -> {
-                return (les_c4_lag1.equals(Les_c4.EmployedOrSelfEmployed) && les_c4.equals(Les_c4.NotEmployed) && dlltsd.equals(Indicator.False)) ? 1. : 0.;
+                return (les_c4_lag1().equals(Les_c4.EmployedOrSelfEmployed) && les_c4.equals(Les_c4.NotEmployed) && dlltsd.equals(Indicator.False)) ? 1. : 0.;
             }
             case UnemployedToEmployed -> {
-                return (les_c4_lag1.equals(Les_c4.NotEmployed) && dlltsd_lag1.equals(Indicator.False) && les_c4.equals(Les_c4.EmployedOrSelfEmployed)) ? 1. : 0.;
+                return (les_c4_lag1().equals(Les_c4.NotEmployed) && dlltsd_lag1().equals(Indicator.False) && les_c4.equals(Les_c4.EmployedOrSelfEmployed)) ? 1. : 0.;
             }
             case PersistentUnemployed -> {
-                return (les_c4.equals(Les_c4.NotEmployed) && les_c4_lag1.equals(Les_c4.NotEmployed) && dlltsd.equals(Indicator.False) && dlltsd_lag1.equals(Indicator.False)) ? 1. : 0.;
+                return (les_c4.equals(Les_c4.NotEmployed) && les_c4_lag1().equals(Les_c4.NotEmployed) && dlltsd.equals(Indicator.False) && dlltsd_lag1().equals(Indicator.False)) ? 1. : 0.;
             }
             case NonPovertyToPoverty -> {
                 if (benefitUnit.getAtRiskOfPoverty_lag1() != null) {
@@ -3288,13 +3301,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     public Les_c7_covid getLes_c7_covid() { return les_c7_covid; }
 
     public Les_c4 getLes_c4_lag1() {
-        return les_c4_lag1;
+        return les_c4_lag1();
     }
 
-    public Les_c7_covid getLes_c7_covid_lag1() { return les_c7_covid_lag1; }
+    public Les_c7_covid getLes_c7_covid_lag1() { return les_c7_covid_lag1(); }
 
     public void setLes_c7_covid_lag1(Les_c7_covid les_c7_covid_lag1) {
-         this.les_c7_covid_lag1 = les_c7_covid_lag1;
+         this.les_c7_covid_lag1(les_c7_covid_lag1);
     }
 
     public HouseholdStatus getHouseholdStatus() {
@@ -3330,7 +3343,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
      }
 
     public void setDeh_c3_lag1(Education deh_c3_lag1) {
-         this.deh_c3_lag1 = deh_c3_lag1;
+         this.deh_c3_lag1(deh_c3_lag1);
      }
 
     public Education getDehm_c3() {
@@ -3425,14 +3438,14 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public void setRegionLocal(Region region) {
-        regionLocal = region;
+        regionLocal(region);
     }
 
     public Region getRegion() {
         if (benefitUnit == null) {
-            if (regionLocal==null)
+            if (regionLocal()==null)
                 throw new RuntimeException("attempt to access regionLocal before it has been assigned");
-            return regionLocal;
+            return regionLocal();
         } else {
             return benefitUnit.getRegion();
         }
@@ -3443,7 +3456,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public HouseholdStatus getHousehold_status_lag() {
-        return household_status_lag;
+        return household_status_lag();
     }
 
 //	public double getDeviationFromMeanRetirementAge() {
@@ -3451,19 +3464,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 //	}
 
     public boolean isToGiveBirth() {
-        return toGiveBirth;
+        return toGiveBirth();
     }
 
     public void setToGiveBirth(boolean toGiveBirth_) {
-            toGiveBirth = toGiveBirth_;
+            toGiveBirth(toGiveBirth_);
     }
 
     public boolean isToLeaveSchool() {
-        return toLeaveSchool;
+        return toLeaveSchool();
     }
 
     public void setToLeaveSchool(boolean toLeaveSchool) {
-        this.toLeaveSchool = toLeaveSchool;
+        this.toLeaveSchool(toLeaveSchool);
     }
 
     public double getWeight() {
@@ -3498,6 +3511,8 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             idHousehold = newBenefitUnit.getHousehold().getId();
             benefitUnit.getMembers().add(this);
         }
+        if (model != null)
+            model.updatePopulationCell(this);
     }
 
     public Person getPartner() {
@@ -3537,9 +3552,9 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public int getL1LabourSupplyHoursWeekly() {
-        if (labourSupplyWeekly_L1==null)
+        if (labourSupplyWeekly_L1()==null)
             throw new RuntimeException("request for labourSupplyWeekly_L1 before it has been initialised");
-        return labourSupplyWeekly_L1.getHours(this);
+        return labourSupplyWeekly_L1().getHours(this);
     }
 
     public int getLabourSupplyHoursWeekly() {
@@ -3587,11 +3602,11 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public double getDesiredAgeDiff() {
-        return desiredAgeDiff;
+        return desiredAgeDiff();
     }
 
     public double getDesiredEarningsPotentialDiff() {
-        return desiredEarningsPotentialDiff;
+        return desiredEarningsPotentialDiff();
     }
 
     public Dhe getDhe() {
@@ -3618,53 +3633,53 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     public void populateSocialCareReceipt(SocialCareReceiptState state) {
         if (SocialCareReceiptState.NoFormal.equals(state)) {
             needSocialCare = Indicator.True;
-            socialCareReceipt = SocialCareReceipt.Informal;
+            socialCareReceipt(SocialCareReceipt.Informal);
             careHoursFromOtherWeekly = 10.0;
-            socialCareFromOther = true;
+            socialCareFromOther(true);
         } else if (SocialCareReceiptState.Mixed.equals(state)) {
             needSocialCare = Indicator.True;
-            socialCareReceipt = SocialCareReceipt.Mixed;
+            socialCareReceipt(SocialCareReceipt.Mixed);
             careHoursFromOtherWeekly = 10.0;
             careHoursFromFormalWeekly = 10.0;
             careFormalExpenditureWeekly = 100.0;
-            socialCareFromFormal = true;
-            socialCareFromOther = true;
+            socialCareFromFormal(true);
+            socialCareFromOther(true);
         } else if (SocialCareReceiptState.Formal.equals(state)) {
             needSocialCare = Indicator.True;
-            socialCareReceipt = SocialCareReceipt.Formal;
+            socialCareReceipt(SocialCareReceipt.Formal);
             careHoursFromFormalWeekly = 10.0;
             careFormalExpenditureWeekly = 100.0;
-            socialCareFromFormal = true;
+            socialCareFromFormal(true);
         }
     }
 
     public void populateSocialCareReceipt_lag1(SocialCareReceiptState state) {
         if (SocialCareReceiptState.NoFormal.equals(state)) {
-            needSocialCare_lag1 = Indicator.True;
-            careHoursFromOtherWeekly_lag1 = 10.0;
+            needSocialCare_lag1(Indicator.True);
+            careHoursFromOtherWeekly_lag1(10.0);
         } else if (SocialCareReceiptState.Mixed.equals(state)) {
-            needSocialCare_lag1 = Indicator.True;
-            careHoursFromOtherWeekly_lag1 = 10.0;
-            careHoursFromFormalWeekly_lag1 = 10.0;
+            needSocialCare_lag1(Indicator.True);
+            careHoursFromOtherWeekly_lag1(10.0);
+            careHoursFromFormalWeekly_lag1(10.0);
         } else if (SocialCareReceiptState.Formal.equals(state)) {
-            needSocialCare_lag1 = Indicator.True;
-            careHoursFromFormalWeekly_lag1 = 10.0;
+            needSocialCare_lag1(Indicator.True);
+            careHoursFromFormalWeekly_lag1(10.0);
         }
     }
 
     public void setSocialCareFromOther(boolean val) {
-        socialCareFromOther = val;
+        socialCareFromOther(val);
     }
 
     public void setCareHoursFromOtherWeekly_lag1(double val) {
-        careHoursFromOtherWeekly_lag1 = val;
+        careHoursFromOtherWeekly_lag1(val);
     }
 
     public void setCareHoursFromFormalWeekly_lag1(double val) {
-        careHoursFromFormalWeekly_lag1 = val;
+        careHoursFromFormalWeekly_lag1(val);
     }
     public void setSocialCareProvision_lag1(SocialCareProvision careProvision) {
-        socialCareProvision_lag1 = careProvision;
+        socialCareProvision_lag1(careProvision);
     }
 
     public void setDhm(Double dhm) {
@@ -3672,11 +3687,11 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public void setDhe_lag1(Dhe health) {
-        this.dhe_lag1 = health;
+        this.dhe_lag1(health);
     }
 
     public void setDhm_lag1(Double dhm) {
-        this.dhm_lag1 = dhm;
+        this.dhm_lag1(dhm);
     }
 
     public boolean getDhmGhq() {
@@ -3712,7 +3727,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public int getAgeGroup() {
-        return ageGroup;
+        return ageGroup();
     }
 
     public boolean isClonedFlag() {
@@ -3725,19 +3740,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
     public Dcpst getDcpst() {
         if (benefitUnit==null) {
-            if (dcpstLocal==null)
+            if (dcpstLocal()==null)
                 throw new RuntimeException("attempt to access unassigned value for dcpstLocal");
-            return dcpstLocal;
+            return dcpstLocal();
         }
         if (getPartner()!=null)
             return Dcpst.Partnered;
-        if (Dcpst.Partnered.equals(dcpst_lag1))
+        if (Dcpst.Partnered.equals(dcpst_lag1()))
             return Dcpst.PreviouslyPartnered;
         return Dcpst.SingleNeverMarried;
     }
 
     public void setDcpstLocal(Dcpst dcpst) {
-        this.dcpstLocal = dcpst;
+        this.dcpstLocal(dcpst);
     }
 
     public Indicator getDlltsd() {
@@ -3748,7 +3763,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public void setSocialCareReceipt(SocialCareReceipt who) {
-        socialCareReceipt = who;
+        socialCareReceipt(who);
     }
 
     public void setSocialCareProvision(SocialCareProvision who) {
@@ -3756,11 +3771,11 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public Indicator getDlltsd_lag1() {
-        return dlltsd_lag1;
+        return dlltsd_lag1();
     }
 
     public void setDlltsd_lag1(Indicator dlltsd_lag1) {
-        this.dlltsd_lag1 = dlltsd_lag1;
+        this.dlltsd_lag1(dlltsd_lag1);
     }
 
     public void setSedex(Indicator sedex) {
@@ -3768,19 +3783,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public boolean isLeftEducation() {
-        return leftEducation;
+        return leftEducation();
     }
 
     public void setLeftEducation(boolean leftEducation) {
-        this.leftEducation = leftEducation;
+        this.leftEducation(leftEducation);
     }
 
     public boolean isLeftPartnership() {
-        return leftPartnership;
+        return leftPartnership();
     }
 
     public void setLeftPartnership(boolean leftPartnership) {
-        this.leftPartnership = leftPartnership;
+        this.leftPartnership(leftPartnership);
     }
 
     public Integer getDcpyy() {
@@ -3808,7 +3823,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public Double getYpnbihs_dv_lag1() {
-        return ypnbihs_dv_lag1;
+        return ypnbihs_dv_lag1();
     }
 
     public double getYptciihs_dv() {
@@ -3829,7 +3844,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public double getYptciihs_dv_lag1() {
-        return yptciihs_dv_lag1;
+        return yptciihs_dv_lag1();
     }
 
     public double getYplgrs_dv() {
@@ -3841,19 +3856,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public double getYplgrs_dv_lag1() {
-        return yplgrs_dv_lag1;
+        return yplgrs_dv_lag1();
     }
 
     public double getYplgrs_dv_lag2() {
-        return yplgrs_dv_lag2;
+        return yplgrs_dv_lag2();
     }
 
     public double getYplgrs_dv_lag3() {
-        return yplgrs_dv_lag3;
+        return yplgrs_dv_lag3();
     }
 
     public Double getYnbcpdf_dv_lag1() {
-        return ynbcpdf_dv_lag1;
+        return ynbcpdf_dv_lag1();
     }
 
     public Lesdf_c4 getLesdf_c4() {
@@ -3873,43 +3888,43 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public Lesdf_c4 getLesdf_c4_lag1() {
-        return lesdf_c4_lag1;
+        return lesdf_c4_lag1();
     }
 
     public void setLes_c4_lag1(Les_c4 les_c4_lag1) {
-        this.les_c4_lag1 = les_c4_lag1;
+        this.les_c4_lag1(les_c4_lag1);
     }
 
     public void setLesdf_c4_lag1(Lesdf_c4 lesdf_c4_lag1) {
-        this.lesdf_c4_lag1 = lesdf_c4_lag1;
+        this.lesdf_c4_lag1(lesdf_c4_lag1);
     }
 
     public void setYpnbihs_dv_lag1(Double val) {
-        ypnbihs_dv_lag1 = val;
+        ypnbihs_dv_lag1(val);
     }
 
     public void setDehsp_c3_lag1(Education dehsp_c3_lag1) {
-        this.dehsp_c3_lag1 = dehsp_c3_lag1;
+        this.dehsp_c3_lag1(dehsp_c3_lag1);
     }
 
     public void setDhesp_lag1(Dhe dhesp_lag1) {
-        this.dhesp_lag1 = dhesp_lag1;
+        this.dhesp_lag1(dhesp_lag1);
     }
 
     public void setYnbcpdf_dv_lag1(Double val) {
-        ynbcpdf_dv_lag1 = val;
+        ynbcpdf_dv_lag1(val);
     }
 
     public void setDcpyy_lag1(Integer dcpyy_lag1) {
-        this.dcpyy_lag1 = dcpyy_lag1;
+        this.dcpyy_lag1(dcpyy_lag1);
     }
 
     public void setDcpagdf_lag1(Integer dcpagdf_lag1) {
-        this.dcpagdf_lag1 = dcpagdf_lag1;
+        this.dcpagdf_lag1(dcpagdf_lag1);
     }
 
     public void setDcpst_lag1(Dcpst dcpst_lag1) {
-        this.dcpst_lag1 = dcpst_lag1;
+        this.dcpst_lag1(dcpst_lag1);
     }
 
     public void setFullTimeHourlyEarningsPotential(double potentialHourlyEarnings) {
@@ -3926,7 +3941,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
 
     public void setLiwwh(Integer liwwh) {
-        this.liwwh = liwwh;
+        this.liwwh(liwwh);
     }
 
     public void setIoFlag(boolean ioFlag) {
@@ -3934,11 +3949,11 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public boolean isToBePartnered() {
-        return toBePartnered != null && toBePartnered;
+        return toBePartnered() != null && toBePartnered();
     }
 
     public void setToBePartnered(boolean toBePartnered) {
-        this.toBePartnered = toBePartnered;
+        this.toBePartnered(toBePartnered);
     }
 
     public int getAdultChildFlag() {
@@ -3961,6 +3976,8 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public Series.Double getYearlyEquivalisedDisposableIncomeSeries() {
+        if (yearlyEquivalisedDisposableIncomeSeries == null)
+            yearlyEquivalisedDisposableIncomeSeries = new Series.Double(this, DoublesVariables.EquivalisedIncomeYearly);
         return yearlyEquivalisedDisposableIncomeSeries;
     }
 
@@ -4022,39 +4039,41 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public Map<Integer, Double> getsIndexYearMap() {
+        if (sIndexYearMap == null)
+            sIndexYearMap = new LinkedHashMap<>();
         return sIndexYearMap;
     }
 
     public Integer getNewWorkHours_lag1() {
-        return newWorkHours_lag1;
+        return newWorkHours_lag1();
     }
 
     public void setNewWorkHours_lag1(Integer newWorkHours_lag1) {
-        this.newWorkHours_lag1 = newWorkHours_lag1;
+        this.newWorkHours_lag1(newWorkHours_lag1);
     }
 
     public double getCovidModuleGrossLabourIncome_lag1() {
-        return covidModuleGrossLabourIncome_lag1;
+        return covidModuleGrossLabourIncome_lag1();
     }
 
     public void setCovidModuleGrossLabourIncome_lag1(double covidModuleGrossLabourIncome_lag1) {
-        this.covidModuleGrossLabourIncome_lag1 = covidModuleGrossLabourIncome_lag1;
+        this.covidModuleGrossLabourIncome_lag1(covidModuleGrossLabourIncome_lag1);
     }
 
     public Indicator getCovidModuleReceivesSEISS() {
-        return covidModuleReceivesSEISS;
+        return covidModuleReceivesSEISS();
     }
 
     public void setCovidModuleReceivesSEISS(Indicator covidModuleReceivesSEISS) {
-        this.covidModuleReceivesSEISS = covidModuleReceivesSEISS;
+        this.covidModuleReceivesSEISS(covidModuleReceivesSEISS);
     }
 
     public double getCovidModuleGrossLabourIncome_Baseline() {
-        return (covidModuleGrossLabourIncome_Baseline!=null) ? covidModuleGrossLabourIncome_Baseline : 0.0;
+        return (covidModuleGrossLabourIncome_Baseline()!=null) ? covidModuleGrossLabourIncome_Baseline() : 0.0;
     }
 
     public void setCovidModuleGrossLabourIncome_Baseline(double val) {
-        covidModuleGrossLabourIncome_Baseline = val;
+        covidModuleGrossLabourIncome_Baseline(val);
     }
 
     public Quintiles getCovidModuleGrossLabourIncomeBaseline_Xt5() {
@@ -4074,19 +4093,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public boolean isReceivesBenefitsFlag() {
-        return receivesBenefitsFlag;
+        return receivesBenefitsFlag();
     }
 
     public void setReceivesBenefitsFlag(boolean receivesBenefitsFlag) {
-        this.receivesBenefitsFlag = receivesBenefitsFlag;
+        this.receivesBenefitsFlag(receivesBenefitsFlag);
     }
 
     public boolean isReceivesBenefitsFlag_L1() {
-        return (receivesBenefitsFlag_L1!=null) ? receivesBenefitsFlag_L1 : false;
+        return (receivesBenefitsFlag_L1()!=null) ? receivesBenefitsFlag_L1() : false;
     }
 
     public void setReceivesBenefitsFlag_L1(boolean receivesBenefitsFlag_L1) {
-        this.receivesBenefitsFlag_L1 = receivesBenefitsFlag_L1;
+        this.receivesBenefitsFlag_L1(receivesBenefitsFlag_L1);
     }
 
     public double getEquivalisedDisposableIncomeYearly() {
@@ -4153,17 +4172,17 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public void setYearLocal(Integer yearLocal) {
-        this.yearLocal = yearLocal;
+        this.yearLocal(yearLocal);
     }
 
     public int getYear() {
         if (model != null) {
             return model.getYear();
         } else {
-            if (yearLocal == null) {
+            if (yearLocal() == null) {
                 throw new RuntimeException("call to get uninitialised year in benefit unit");
             }
-            return yearLocal;
+            return yearLocal();
         }
     }
     private int getStartYear() {
@@ -4175,10 +4194,10 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public void setNumberChildren017Local(Integer nbr) {
-        numberChildren017Local = nbr;
+        numberChildren017Local(nbr);
     }
     public void setIndicatorChildren02Local(Indicator idctr) {
-        indicatorChildren02Local = idctr;
+        indicatorChildren02Local(idctr);
     }
 
     private Ydses_c5 getYdses_c5_lag1() {
@@ -4187,14 +4206,14 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 throw new RuntimeException("attempt to access unassigned benefit unit");
             return benefitUnit.getYdses_c5_lag1();
         } else {
-            if (ydses_c5_lag1Local==null)
+            if (ydses_c5_lag1Local()==null)
                 throw new RuntimeException("attempt to access unassigned ydses_c5_lag1Local");
-            return ydses_c5_lag1Local;
+            return ydses_c5_lag1Local();
         }
     }
 
     public void setYdses_c5_lag1Local(Ydses_c5 ydses_c5_lag1) {
-        ydses_c5_lag1Local = ydses_c5_lag1;
+        ydses_c5_lag1Local(ydses_c5_lag1);
     }
 
     private Dhhtp_c4 getDhhtp_c4_lag1() {
@@ -4203,26 +4222,26 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 throw new RuntimeException("attempt to access unassigned benefit unit");
             return benefitUnit.getDhhtp_c4_lag1();
         } else {
-            if (dhhtp_c4_lag1Local==null)
+            if (dhhtp_c4_lag1Local()==null)
                 throw new RuntimeException("attempt to access unassigned dhhtp_c4_lag1Local");
-            return dhhtp_c4_lag1Local;
+            return dhhtp_c4_lag1Local();
         }
     }
 
     public void setDhhtp_c4_lag1Local(Dhhtp_c4 dhhtp_c4_lag1) {
-        dhhtp_c4_lag1Local = dhhtp_c4_lag1;
+        dhhtp_c4_lag1Local(dhhtp_c4_lag1);
     }
 
     private Integer getNumberChildrenAll_lag1() {
         if (benefitUnit != null) {
             return (benefitUnit.getNumberChildrenAll_lag1() != null) ? benefitUnit.getNumberChildrenAll_lag1() : 0;
         } else {
-            return (numberChildrenAllLocal_lag1==null) ? 0 : numberChildrenAllLocal_lag1;
+            return (numberChildrenAllLocal_lag1()==null) ? 0 : numberChildrenAllLocal_lag1();
         }
     }
 
     public void setNumberChildrenAllLocal(Integer nbr) {
-        numberChildrenAllLocal = nbr;
+        numberChildrenAllLocal(nbr);
     }
 
     private Integer getNumberChildrenAll() {
@@ -4231,18 +4250,18 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 throw new RuntimeException("attempt to access unassigned benefit unit");
             return benefitUnit.getNumberChildrenAll();
         } else {
-            if (numberChildrenAllLocal==null)
+            if (numberChildrenAllLocal()==null)
                 throw new RuntimeException("attempt to access unassigned numberChildrenAllLocal");
-            return numberChildrenAllLocal;
+            return numberChildrenAllLocal();
         }
     }
 
     public void setNumberChildrenAllLocal_lag1(Integer nbr) {
-        numberChildrenAllLocal_lag1 = nbr;
+        numberChildrenAllLocal_lag1(nbr);
     }
 
     public void setNumberChildren02Local_lag1(Integer nbr) {
-        numberChildren02Local_lag1 = nbr;
+        numberChildren02Local_lag1(nbr);
     }
 
     private Integer getNumberChildren02_lag1() {
@@ -4251,9 +4270,9 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 throw new RuntimeException("attempt to access unassigned benefit unit");
             return benefitUnit.getNumberChildren02_lag1();
         } else {
-            if (numberChildren02Local_lag1==null)
+            if (numberChildren02Local_lag1()==null)
                 throw new RuntimeException("attempt to access unassigned numberChildren02Local_lag1");
-            return numberChildren02Local_lag1;
+            return numberChildren02Local_lag1();
         }
     }
 
@@ -4263,9 +4282,9 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
                 throw new RuntimeException("attempt to access unassigned benefit unit");
             return benefitUnit.getNumberChildren(0,17);
         } else {
-            if (numberChildren017Local==null)
+            if (numberChildren017Local()==null)
                 throw new RuntimeException("attempt to access unassigned numberChildren017Local");
-            return numberChildren017Local;
+            return numberChildren017Local();
         }
     }
 
@@ -4273,14 +4292,14 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
 
         double score;
         if(Gender.Male.equals(dgn)) {
-            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1)) {
+            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1())) {
                 score = Parameters.getRegEmploymentSelectionMaleE().getScore(this, Person.DoublesVariables.class);
             } else {
                 score = Parameters.getRegEmploymentSelectionMaleNE().getScore(this, Person.DoublesVariables.class);
             }
         } else {
             // for females
-            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1)) {
+            if (Les_c4.EmployedOrSelfEmployed.equals(les_c4_lag1())) {
                 score = Parameters.getRegEmploymentSelectionFemaleE().getScore(this, Person.DoublesVariables.class);
             } else {
                 score = Parameters.getRegEmploymentSelectionFemaleNE().getScore(this, Person.DoublesVariables.class);
@@ -4337,7 +4356,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             return fullTimeHourlyEarningsPotential;
         } else {
             double ptPremium;
-            if (les_c4_lag1.equals(Les_c4.EmployedOrSelfEmployed)) {
+            if (les_c4_lag1().equals(Les_c4.EmployedOrSelfEmployed)) {
                 if (Gender.Male.equals(dgn)) {
                     ptPremium = ManagerRegressions.getRegressionCoeff(RegressionName.WagesMalesE, "Pt");
                 } else {
@@ -4365,27 +4384,30 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         return getHourlyWageRate(labourHoursWeekly) * (double) labourHoursWeekly;
     }
     public Integer getNumberChildren017Local() {
-        return numberChildren017Local;
+        return numberChildren017Local();
     }
     public Integer getNumberChildrenAllLocal() {
-        return numberChildrenAllLocal;
+        return numberChildrenAllLocal();
     }
     public Indicator getIndicatorChildren02Local() {
-        return indicatorChildren02Local;
+        return indicatorChildren02Local();
     }
     public Map<Labour, Integer> getPersonContinuousHoursLabourSupplyMap() {
+        if (personContinuousHoursLabourSupplyMap == null)
+            personContinuousHoursLabourSupplyMap = new EnumMap<>(Labour.class);
         return personContinuousHoursLabourSupplyMap;
     }
     public void setPersonContinuousHoursLabourSupplyMap(Map<Labour, Integer> personContinuousHoursLabourSupplyMap) {
         this.personContinuousHoursLabourSupplyMap = personContinuousHoursLabourSupplyMap;
     }
     public double getLabourSupplySingleDraw() {
-        return innovations.getSingleDrawDoubleInnov(0);
+        return getSingleDrawDoubleInnov(0);
     }
-    public double getBenefitUnitRandomUniform() {return innovations.getDoubleDraw(31);}
+    public double getBenefitUnitRandomUniform() {return getDoubleDraw(31);}
 
     public double getHoursFormalSocialCare_L1() {
-        return (careHoursFromFormalWeekly_lag1 > 0.0) ? careHoursFromFormalWeekly_lag1 : 0.0;
+        double hours = store.getDoubleValue(slot, CARE_HOURS_FROM_FORMAL_WEEKLY_LAG1);
+        return (hours > 0.0) ? hours : 0.0;
     }
 
     public double getHoursFormalSocialCare() {
@@ -4460,23 +4482,28 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public double getCareHoursFromParent_L1() {
-        return (careHoursFromParentWeekly_lag1 >0.0) ? careHoursFromParentWeekly_lag1 : 0.0;
+        double hours = store.getDoubleValue(slot, CARE_HOURS_FROM_PARENT_WEEKLY_LAG1);
+        return (hours > 0.0) ? hours : 0.0;
     }
 
     public double getCareHoursFromPartner_L1() {
-        return (careHoursFromPartnerWeekly_lag1 > 0.0) ? careHoursFromPartnerWeekly_lag1 : 0.0;
+        double hours = store.getDoubleValue(slot, CARE_HOURS_FROM_PARTNER_WEEKLY_LAG1);
+        return (hours > 0.0) ? hours : 0.0;
     }
 
     public double getCareHoursFromDaughter_L1() {
-        return (careHoursFromDaughterWeekly_lag1 >0.0) ? careHoursFromDaughterWeekly_lag1 : 0.0;
+        double hours = store.getDoubleValue(slot, CARE_HOURS_FROM_DAUGHTER_WEEKLY_LAG1);
+        return (hours > 0.0) ? hours : 0.0;
     }
 
     public double getCareHoursFromSon_L1() {
-        return (careHoursFromSonWeekly_lag1 >0.0) ? careHoursFromSonWeekly_lag1 : 0.0;
+        double hours = store.getDoubleValue(slot, CARE_HOURS_FROM_SON_WEEKLY_LAG1);
+        return (hours > 0.0) ? hours : 0.0;
     }
 
     public double getCareHoursFromOther_L1() {
-        return (careHoursFromOtherWeekly_lag1 >0.0) ? careHoursFromOtherWeekly_lag1 : 0.0;
+        double hours = store.getDoubleValue(slot, CARE_HOURS_FROM_OTHER_WEEKLY_LAG1);
+        return (hours > 0.0) ? hours : 0.0;
     }
 
     public double getSocialCareCostWeekly() {
@@ -4488,19 +4515,19 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     }
 
     public boolean getTestPartner() {
-        return (hasTestPartner!=null) && hasTestPartner;
+        return (hasTestPartner()!=null) && hasTestPartner();
     }
 
     public void setHasTestPartner(boolean hasTestPartner) {
-        this.hasTestPartner = hasTestPartner;
+        this.hasTestPartner(hasTestPartner);
     }
 
     public boolean getLeavePartner() {
-        return (leavePartner!=null) && leavePartner;
+        return (leavePartner()!=null) && leavePartner();
     }
 
     public void setLeavePartner(boolean leavePartner) {
-        this.leavePartner = leavePartner;
+        this.leavePartner(leavePartner);
     }
 
     public boolean getLowWageOffer() {
@@ -4540,10 +4567,25 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         if (!SampleExit.NotYet.equals(this.sampleExit))
             throw new RuntimeException("Attempt to exit person from the simulated sample twice");
         this.sampleExit = sampleExit;
+        if (model != null)
+            model.updatePopulationCell(this);
     }
     public SampleExit getSampleExit() {return sampleExit;}
-    public double getFertilityRandomUniform2() { return innovations.getDoubleDraw(28); }
-    public double getCohabitRandomUniform2() { return innovations.getDoubleDraw(26); }
+
+    int getPopulationCell() {
+        return populationCell;
+    }
+
+    int getPopulationCellSlot() {
+        return populationCellSlot;
+    }
+
+    void setPopulationCell(int cell, int slot) {
+        populationCell = cell;
+        populationCellSlot = slot;
+    }
+    public double getFertilityRandomUniform2() { return getDoubleDraw(28); }
+    public double getCohabitRandomUniform2() { return getDoubleDraw(26); }
     public RegressionName getRegressionName(Axis axis) {
         switch (axis) {
             case Student -> {return RegressionName.EducationE1a;}
@@ -4551,7 +4593,7 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             case Health -> {return RegressionName.HealthH1b;}
             case Disability -> {return RegressionName.HealthH2b;}
             case Cohabitation -> {
-                if (Dcpst.Partnered.equals(dcpst_lag1))
+                if (Dcpst.Partnered.equals(dcpst_lag1()))
                     return RegressionName.PartnershipU2b;
                 else if (getStudent()==0)
                     return RegressionName.PartnershipU1b;
@@ -4572,13 +4614,13 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
             }
             case WageOffer1 -> {
                 if (Gender.Male.equals(dgn)) {
-                    if (Education.High.equals(deh_c3_lag1)) {
+                    if (Education.High.equals(deh_c3_lag1())) {
                         return RegressionName.UnemploymentU1a;
                     } else {
                         return RegressionName.UnemploymentU1b;
                     }
                 } else {
-                    if (Education.High.equals(deh_c3_lag1)) {
+                    if (Education.High.equals(deh_c3_lag1())) {
                         return RegressionName.UnemploymentU1c;
                     } else {
                         return RegressionName.UnemploymentU1d;
@@ -4598,9 +4640,9 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
     public long getSeed() {return (seed!=null) ? seed : 0L;}
 
     private boolean getDhmGhq_lag1() {
-        if (dhmGhq_lag1 == null)
+        if (dhmGhq_lag1() == null)
             throw new RuntimeException("attempt to access dhmGhq_lag1 before it has been initialised");
-        return dhmGhq_lag1;
+        return dhmGhq_lag1();
     }
 
     public Double getYnbcpdf_dv() {
@@ -4624,7 +4666,213 @@ public class Person implements EventListener, IDoubleSource, IIntSource, Weight,
         return idFather;
     }
 
-    public boolean getToBePartnered() {return toBePartnered;}
+    public boolean getToBePartnered() {return toBePartnered();}
+
+    public static void setPersonIdCounter(long id) {
+        RunScope scope = RunScope.current();
+        if (scope != null) scope.personIdCounter = id;
+        else personIdCounter = id;
+    }
+
+    // ids are counted separately by each run bound to a RunScope
+    private static long nextPersonId() {
+        RunScope scope = RunScope.current();
+        return (scope != null) ? scope.personIdCounter++ : personIdCounter++;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Simulation-time state held in agent store
+    // ---------------------------------------------------------------------
+
+    /**
+     * METHOD TO CREATE AGENT STORE FOR THE SIMULATION-TIME STATE OF A POPULATION OF PERSONS
+     * @param pageSize number of persons per page of the store
+     */
+    static AgentStore newStore(int pageSize) {
+        return new AgentStore(pageSize, 25, 11, 2,
+                Education.class, Les_c4.class, Les_c7_covid.class, Indicator.class, Boolean.class, SocialCareReceipt.class, Boolean.class, Boolean.class, Boolean.class, Boolean.class, Boolean.class, SocialCareProvision.class, Indicator.class, Dcpst.class, Education.class, Dhe.class, Lesdf_c4.class, HouseholdStatus.class, Boolean.class, Boolean.class, Boolean.class, Boolean.class, Boolean.class, Boolean.class, Dhe.class, Boolean.class, Boolean.class, Labour.class, Boolean.class, Boolean.class, Indicator.class, Region.class, Dhhtp_c4.class, Ydses_c5.class, Indicator.class, Dcpst.class);
+    }
+
+    private static AgentStore storeOf(SimPathsModel model) {
+        return (model != null) ? model.getPersonStore() : newStore(1);     // persons outside a population hold their own store
+    }
+
+    private void initialiseState() {
+        slot = store.allocate();
+        covidModuleReceivesSEISS(Indicator.False);
+    }
+
+    /**
+     * METHOD TO RELEASE THE SLOT OF A PERSON THAT HAS EXITED THE POPULATION. THE STATE HELD IN THE AGENT STORE IS NOT
+     * ACCESSIBLE THEREAFTER: ACCESS THROWS IllegalStateException (SEE AgentStore)
+     */
+    void releaseState() {
+        if (slot >= 0) {
+            store.release(slot);
+            slot = -1;
+        }
+    }
 
-    public static void setPersonIdCounter(long id) {personIdCounter=id;}
-}
\ No newline at end of file
+    private Education deh_c3_lag1() { return (Education) store.getEnum(slot, DEH_C3_LAG1); }
+    private void deh_c3_lag1(Education value) { store.setEnum(slot, DEH_C3_LAG1, value); }
+    private Les_c4 les_c4_lag1() { return (Les_c4) store.getEnum(slot, LES_C4_LAG1); }
+    private void les_c4_lag1(Les_c4 value) { store.setEnum(slot, LES_C4_LAG1, value); }
+    private Les_c7_covid les_c7_covid_lag1() { return (Les_c7_covid) store.getEnum(slot, LES_C7_COVID_LAG1); }
+    private void les_c7_covid_lag1(Les_c7_covid value) { store.setEnum(slot, LES_C7_COVID_LAG1, value); }
+    private Integer liwwh() { return store.getInt(slot, LIWWH); }
+    private void liwwh(Integer value) { store.setInt(slot, LIWWH, value); }
+    private Indicator dlltsd_lag1() { return (Indicator) store.getEnum(slot, DLLTSD_LAG1); }
+    private void dlltsd_lag1(Indicator value) { store.setEnum(slot, DLLTSD_LAG1, value); }
+    private Boolean lowWageOffer_lag1() { return store.getBoolean(slot, LOW_WAGE_OFFER_LAG1); }
+    private void lowWageOffer_lag1(Boolean value) { store.setBoolean(slot, LOW_WAGE_OFFER_LAG1, value); }
+    private SocialCareReceipt socialCareReceipt() { return (SocialCareReceipt) store.getEnum(slot, SOCIAL_CARE_RECEIPT); }
+    private void socialCareReceipt(SocialCareReceipt value) { store.setEnum(slot, SOCIAL_CARE_RECEIPT, value); }
+    private Boolean socialCareFromFormal() { return store.getBoolean(slot, SOCIAL_CARE_FROM_FORMAL); }
+    private void socialCareFromFormal(Boolean value) { store.setBoolean(slot, SOCIAL_CARE_FROM_FORMAL, value); }
+    private Boolean socialCareFromPartner() { return store.getBoolean(slot, SOCIAL_CARE_FROM_PARTNER); }
+    private void socialCareFromPartner(Boolean value) { store.setBoolean(slot, SOCIAL_CARE_FROM_PARTNER, value); }
+    private Boolean socialCareFromDaughter() { return store.getBoolean(slot, SOCIAL_CARE_FROM_DAUGHTER); }
+    private void socialCareFromDaughter(Boolean value) { store.setBoolean(slot, SOCIAL_CARE_FROM_DAUGHTER, value); }
+    private Boolean socialCareFromSon() { return store.getBoolean(slot, SOCIAL_CARE_FROM_SON); }
+    private void socialCareFromSon(Boolean value) { store.setBoolean(slot, SOCIAL_CARE_FROM_SON, value); }
+    private Boolean socialCareFromOther() { return store.getBoolean(slot, SOCIAL_CARE_FROM_OTHER); }
+    private void socialCareFromOther(Boolean value) { store.setBoolean(slot, SOCIAL_CARE_FROM_OTHER, value); }
+    private SocialCareProvision socialCareProvision_lag1() { return (SocialCareProvision) store.getEnum(slot, SOCIAL_CARE_PROVISION_LAG1); }
+    private void socialCareProvision_lag1(SocialCareProvision value) { store.setEnum(slot, SOCIAL_CARE_PROVISION_LAG1, value); }
+    private Indicator needSocialCare_lag1() { return (Indicator) store.getEnum(slot, NEED_SOCIAL_CARE_LAG1); }
+    private void needSocialCare_lag1(Indicator value) { store.setEnum(slot, NEED_SOCIAL_CARE_LAG1, value); }
+    private Double careHoursFromFormalWeekly_lag1() { return store.getDouble(slot, CARE_HOURS_FROM_FORMAL_WEEKLY_LAG1); }
+    private void careHoursFromFormalWeekly_lag1(Double value) { store.setDouble(slot, CARE_HOURS_FROM_FORMAL_WEEKLY_LAG1, value); }
+    private Double careHoursFromPartnerWeekly_lag1() { return store.getDouble(slot, CARE_HOURS_FROM_PARTNER_WEEKLY_LAG1); }
+    private void careHoursFromPartnerWeekly_lag1(Double value) { store.setDouble(slot, CARE_HOURS_FROM_PARTNER_WEEKLY_LAG1, value); }
+    private Double careHoursFromParentWeekly_lag1() { return store.getDouble(slot, CARE_HOURS_FROM_PARENT_WEEKLY_LAG1); }
+    private void careHoursFromParentWeekly_lag1(Double value) { store.setDouble(slot, CARE_HOURS_FROM_PARENT_WEEKLY_LAG1, value); }
+    private Double careHoursFromDaughterWeekly_lag1() { return store.getDouble(slot, CARE_HOURS_FROM_DAUGHTER_WEEKLY_LAG1); }
+    private void careHoursFromDaughterWeekly_lag1(Double value) { store.setDouble(slot, CARE_HOURS_FROM_DAUGHTER_WEEKLY_LAG1, value); }
+    private Double careHoursFromSonWeekly_lag1() { return store.getDouble(slot, CARE_HOURS_FROM_SON_WEEKLY_LAG1); }
+    private void careHoursFromSonWeekly_lag1(Double value) { store.setDouble(slot, CARE_HOURS_FROM_SON_WEEKLY_LAG1, value); }
+    private Double careHoursFromOtherWeekly_lag1() { return store.getDouble(slot, CARE_HOURS_FROM_OTHER_WEEKLY_LAG1); }
+    private void careHoursFromOtherWeekly_lag1(Double value) { store.setDouble(slot, CARE_HOURS_FROM_OTHER_WEEKLY_LAG1, value); }
+    private Dcpst dcpst_lag1() { return (Dcpst) store.getEnum(slot, DCPST_LAG1); }
+    private void dcpst_lag1(Dcpst value) { store.setEnum(slot, DCPST_LAG1, value); }
+    private Education dehsp_c3_lag1() { return (Education) store.getEnum(slot, DEHSP_C3_LAG1); }
+    private void dehsp_c3_lag1(Education value) { store.setEnum(slot, DEHSP_C3_LAG1, value); }
+    private Dhe dhesp_lag1() { return (Dhe) store.getEnum(slot, DHESP_LAG1); }
+    private void dhesp_lag1(Dhe value) { store.setEnum(slot, DHESP_LAG1, value); }
+    private Lesdf_c4 lesdf_c4_lag1() { return (Lesdf_c4) store.getEnum(slot, LESDF_C4_LAG1); }
+    private void lesdf_c4_lag1(Lesdf_c4 value) { store.setEnum(slot, LESDF_C4_LAG1, value); }
+    private Long idPartnerLag1() { return store.getLong(slot, ID_PARTNER_LAG1); }
+    private void idPartnerLag1(Long value) { store.setLong(slot, ID_PARTNER_LAG1, value); }
+    private HouseholdStatus household_status_lag() { return (HouseholdStatus) store.getEnum(slot, HOUSEHOLD_STATUS_LAG); }
+    private void household_status_lag(HouseholdStatus value) { store.setEnum(slot, HOUSEHOLD_STATUS_LAG, value); }
+    private Integer dcpagdf_lag1() { return store.getInt(slot, DCPAGDF_LAG1); }
+    private void dcpagdf_lag1(Integer value) { store.setInt(slot, DCPAGDF_LAG1, value); }
+    private Double ynbcpdf_dv_lag1() { return store.getDouble(slot, YNBCPDF_DV_LAG1); }
+    private void ynbcpdf_dv_lag1(Double value) { store.setDouble(slot, YNBCPDF_DV_LAG1, value); }
+    private Boolean toGiveBirth() { return store.getBoolean(slot, TO_GIVE_BIRTH); }
+    private void toGiveBirth(Boolean value) { store.setBoolean(slot, TO_GIVE_BIRTH, value); }
+    private Boolean toLeaveSchool() { return store.getBoolean(slot, TO_LEAVE_SCHOOL); }
+    private void toLeaveSchool(Boolean value) { store.setBoolean(slot, TO_LEAVE_SCHOOL, value); }
+    private Boolean toBePartnered() { return store.getBoolean(slot, TO_BE_PARTNERED); }
+    private void toBePartnered(Boolean value) { store.setBoolean(slot, TO_BE_PARTNERED, value); }
+    private Boolean hasTestPartner() { return store.getBoolean(slot, HAS_TEST_PARTNER); }
+    private void hasTestPartner(Boolean value) { store.setBoolean(slot, HAS_TEST_PARTNER, value); }
+    private Boolean leavePartner() { return store.getBoolean(slot, LEAVE_PARTNER); }
+    private void leavePartner(Boolean value) { store.setBoolean(slot, LEAVE_PARTNER, value); }
+    private Boolean dhmGhq_lag1() { return store.getBoolean(slot, DHM_GHQ_LAG1); }
+    private void dhmGhq_lag1(Boolean value) { store.setBoolean(slot, DHM_GHQ_LAG1, value); }
+    private Dhe dhe_lag1() { return (Dhe) store.getEnum(slot, DHE_LAG1); }
+    private void dhe_lag1(Dhe value) { store.setEnum(slot, DHE_LAG1, value); }
+    private Double dhm_lag1() { return store.getDouble(slot, DHM_LAG1); }
+    private void dhm_lag1(Double value) { store.setDouble(slot, DHM_LAG1, value); }
+    private Boolean receivesBenefitsFlag_L1() { return store.getBoolean(slot, RECEIVES_BENEFITS_FLAG_L1); }
+    private void receivesBenefitsFlag_L1(Boolean value) { store.setBoolean(slot, RECEIVES_BENEFITS_FLAG_L1, value); }
+    private Boolean receivesBenefitsFlag() { return store.getBoolean(slot, RECEIVES_BENEFITS_FLAG); }
+    private void receivesBenefitsFlag(Boolean value) { store.setBoolean(slot, RECEIVES_BENEFITS_FLAG, value); }
+    private Labour labourSupplyWeekly_L1() { return (Labour) store.getEnum(slot, LABOUR_SUPPLY_WEEKLY_L1); }
+    private void labourSupplyWeekly_L1(Labour value) { store.setEnum(slot, LABOUR_SUPPLY_WEEKLY_L1, value); }
+    private Integer dcpyy_lag1() { return store.getInt(slot, DCPYY_LAG1); }
+    private void dcpyy_lag1(Integer value) { store.setInt(slot, DCPYY_LAG1, value); }
+    private Double ypnbihs_dv_lag1() { return store.getDouble(slot, YPNBIHS_DV_LAG1); }
+    private void ypnbihs_dv_lag1(Double value) { store.setDouble(slot, YPNBIHS_DV_LAG1, value); }
+    private Double ypncp_lag1() { return store.getDouble(slot, YPNCP_LAG1); }
+    private void ypncp_lag1(Double value) { store.setDouble(slot, YPNCP_LAG1, value); }
+    private Double ypncp_lag2() { return store.getDouble(slot, YPNCP_LAG2); }
+    private void ypncp_lag2(Double value) { store.setDouble(slot, YPNCP_LAG2, value); }
+    private Double ypnoab_lag1() { return store.getDouble(slot, YPNOAB_LAG1); }
+    private void ypnoab_lag1(Double value) { store.setDouble(slot, YPNOAB_LAG1, value); }
+    private Double ypnoab_lag2() { return store.getDouble(slot, YPNOAB_LAG2); }
+    private void ypnoab_lag2(Double value) { store.setDouble(slot, YPNOAB_LAG2, value); }
+    private Double yptciihs_dv_lag1() { return store.getDouble(slot, YPTCIIHS_DV_LAG1); }
+    private void yptciihs_dv_lag1(Double value) { store.setDouble(slot, YPTCIIHS_DV_LAG1, value); }
+    private Double yptciihs_dv_lag2() { return store.getDouble(slot, YPTCIIHS_DV_LAG2); }
+    private void yptciihs_dv_lag2(Double value) { store.setDouble(slot, YPTCIIHS_DV_LAG2, value); }
+    private Double yptciihs_dv_lag3() { return store.getDouble(slot, YPTCIIHS_DV_LAG3); }
+    private void yptciihs_dv_lag3(Double value) { store.setDouble(slot, YPTCIIHS_DV_LAG3, value); }
+    private Double yplgrs_dv_lag1() { return store.getDouble(slot, YPLGRS_DV_LAG1); }
+    private void yplgrs_dv_lag1(Double value) { store.setDouble(slot, YPLGRS_DV_LAG1, value); }
+    private Double yplgrs_dv_lag2() { return store.getDouble(slot, YPLGRS_DV_LAG2); }
+    private void yplgrs_dv_lag2(Double value) { store.setDouble(slot, YPLGRS_DV_LAG2, value); }
+    private Double yplgrs_dv_lag3() { return store.getDouble(slot, YPLGRS_DV_LAG3); }
+    private void yplgrs_dv_lag3(Double value) { store.setDouble(slot, YPLGRS_DV_LAG3, value); }
+    private Double desiredAgeDiff() { return store.getDouble(slot, DESIRED_AGE_DIFF); }
+    private void desiredAgeDiff(Double value) { store.setDouble(slot, DESIRED_AGE_DIFF, value); }
+    private Double desiredEarningsPotentialDiff() { return store.getDouble(slot, DESIRED_EARNINGS_POTENTIAL_DIFF); }
+    private void desiredEarningsPotentialDiff(Double value) { store.setDouble(slot, DESIRED_EARNINGS_POTENTIAL_DIFF, value); }
+    private Integer ageGroup() { return store.getInt(slot, AGE_GROUP); }
+    private void ageGroup(Integer value) { store.setInt(slot, AGE_GROUP, value); }
+    private Boolean leftEducation() { return store.getBoolean(slot, LEFT_EDUCATION); }
+    private void leftEducation(Boolean value) { store.setBoolean(slot, LEFT_EDUCATION, value); }
+    private Boolean leftPartnership() { return store.getBoolean(slot, LEFT_PARTNERSHIP); }
+    private void leftPartnership(Boolean value) { store.setBoolean(slot, LEFT_PARTNERSHIP, value); }
+    private Integer newWorkHours_lag1() { return store.getInt(slot, NEW_WORK_HOURS_LAG1); }
+    private void newWorkHours_lag1(Integer value) { store.setInt(slot, NEW_WORK_HOURS_LAG1, value); }
+    private Double covidModuleGrossLabourIncome_lag1() { return store.getDouble(slot, COVID_MODULE_GROSS_LABOUR_INCOME_LAG1); }
+    private void covidModuleGrossLabourIncome_lag1(Double value) { store.setDouble(slot, COVID_MODULE_GROSS_LABOUR_INCOME_LAG1, value); }
+    private Indicator covidModuleReceivesSEISS() { return (Indicator) store.getEnum(slot, COVID_MODULE_RECEIVES_SEISS); }
+    private void covidModuleReceivesSEISS(Indicator value) { store.setEnum(slot, COVID_MODULE_RECEIVES_SEISS, value); }
+    private Double covidModuleGrossLabourIncome_Baseline() { return store.getDouble(slot, COVID_MODULE_GROSS_LABOUR_INCOME_BASELINE); }
+    private void covidModuleGrossLabourIncome_Baseline(Double value) { store.setDouble(slot, COVID_MODULE_GROSS_LABOUR_INCOME_BASELINE, value); }
+    private Double wageRegressionRandomComponentE() { return store.getDouble(slot, WAGE_REGRESSION_RANDOM_COMPONENT_E); }
+    private void wageRegressionRandomComponentE(Double value) { store.setDouble(slot, WAGE_REGRESSION_RANDOM_COMPONENT_E, value); }
+    private Double wageRegressionRandomComponentNE() { return store.getDouble(slot, WAGE_REGRESSION_RANDOM_COMPONENT_NE); }
+    private void wageRegressionRandomComponentNE(Double value) { store.setDouble(slot, WAGE_REGRESSION_RANDOM_COMPONENT_NE, value); }
+    private Integer yearLocal() { return store.getInt(slot, YEAR_LOCAL); }
+    private void yearLocal(Integer value) { store.setInt(slot, YEAR_LOCAL, value); }
+    private Region regionLocal() { return (Region) store.getEnum(slot, REGION_LOCAL); }
+    private void regionLocal(Region value) { store.setEnum(slot, REGION_LOCAL, value); }
+    private Dhhtp_c4 dhhtp_c4_lag1Local() { return (Dhhtp_c4) store.getEnum(slot, DHHTP_C4_LAG1_LOCAL); }
+    private void dhhtp_c4_lag1Local(Dhhtp_c4 value) { store.setEnum(slot, DHHTP_C4_LAG1_LOCAL, value); }
+    private Ydses_c5 ydses_c5_lag1Local() { return (Ydses_c5) store.getEnum(slot, YDSES_C5_LAG1_LOCAL); }
+    private void ydses_c5_lag1Local(Ydses_c5 value) { store.setEnum(slot, YDSES_C5_LAG1_LOCAL, value); }
+    private Integer numberChildrenAllLocal_lag1() { return store.getInt(slot, NUMBER_CHILDREN_ALL_LOCAL_LAG1); }
+    private void numberChildrenAllLocal_lag1(Integer value) { store.setInt(slot, NUMBER_CHILDREN_ALL_LOCAL_LAG1, value); }
+    private Integer numberChildrenAllLocal() { return store.getInt(slot, NUMBER_CHILDREN_ALL_LOCAL); }
+    private void numberChildrenAllLocal(Integer value) { store.setInt(slot, NUMBER_CHILDREN_ALL_LOCAL, value); }
+    private Integer numberChildren02Local_lag1() { return store.getInt(slot, NUMBER_CHILDREN02_LOCAL_LAG1); }
+    private void numberChildren02Local_lag1(Integer value) { store.setInt(slot, NUMBER_CHILDREN02_LOCAL_LAG1, value); }
+    private Integer numberChildren017Local() { return store.getInt(slot, NUMBER_CHILDREN017_LOCAL); }
+    private void numberChildren017Local(Integer value) { store.setInt(slot, NUMBER_CHILDREN017_LOCAL, value); }
+    private Indicator indicatorChildren02Local() { return (Indicator) store.getEnum(slot, INDICATOR_CHILDREN02_LOCAL); }
+    private void indicatorChildren02Local(Indicator value) { store.setEnum(slot, INDICATOR_CHILDREN02_LOCAL, value); }
+    private Dcpst dcpstLocal() { return (Dcpst) store.getEnum(slot, DCPST_LOCAL); }
+    private void dcpstLocal(Dcpst value) { store.setEnum(slot, DCPST_LOCAL, value); }
+    private void innovationsYear(int value) { store.setIntValue(slot, INNOVATIONS_YEAR, value); }
+    private void innovationsStream(long value) { store.setLongValue(slot, INNOVATIONS_STREAM, value); }
+
+    // random draws read the stream and year of innovations as primitives, so that no draw allocates
+    private double getDoubleDraw(int ii) {
+        int year = store.isIntSet(slot, INNOVATIONS_YEAR) ? store.getIntValue(slot, INNOVATIONS_YEAR) : Innovations.INITIALISATION_YEAR;
+        return Innovations.doubleDraw(store.getLongValue(slot, INNOVATIONS_STREAM), year,
+                Objects.checkIndex(ii, NUMBER_DOUBLE_INNOVATIONS));
+    }
+
+    private double getSingleDrawDoubleInnov(int ii) {
+        return Innovations.singleDrawDouble(store.getLongValue(slot, INNOVATIONS_STREAM), Objects.checkIndex(ii, 1));
+    }
+
+    private long getSingleDrawLongInnov(int ii) {
+        return Innovations.singleDrawLong(store.getLongValue(slot, INNOVATIONS_STREAM), Objects.checkIndex(ii, 1));
+    }
+}
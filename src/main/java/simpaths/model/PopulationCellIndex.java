@@ -0,0 +1,180 @@
+package simpaths.model;
+
+import simpaths.model.enums.Gender;
+import simpaths.model.enums.Region;
+import simpaths.model.enums.SampleExit;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+
+/**
+ *
+ * CLASS TO ORGANISE SIMULATED POPULATION INTO CELLS FOR POPULATION ALIGNMENT
+ *
+ * CELLS ARE IDENTIFIED BY GENDER, REGION AND AGE (CAPPED AT maxAge), AND ARE STORED IN ARRAYS INDEXED BY ENUM
+ * ORDINALS. EACH PERSON RECORDS THE CELL AND POSITION (SLOT) THAT IT OCCUPIES, SO THAT PERSONS CAN BE ADDED,
+ * REMOVED, AND MOVED BETWEEN CELLS IN CONSTANT TIME. ONLY PERSONS THAT HAVE NOT EXITED THE SAMPLE AND THAT BELONG
+ * TO A BENEFIT UNIT ARE INDEXED
+ *
+ * THE INDEX IS MAINTAINED BY THE MODEL AS PERSONS ARE BORN, AGE, CHANGE BENEFIT UNIT OR REGION, AND EXIT THE
+ * SAMPLE (SEE SimPathsModel.updatePopulationCell). IT IS NOT THREAD SAFE, AND SO MUST ONLY BE UPDATED FROM
+ * PROCESSES THAT ARE EVALUATED SEQUENTIALLY
+ *
+ */
+public class PopulationCellIndex {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final int INITIAL_CELL_CAPACITY = 16;
+
+    private final int maxAge;
+    private final int ages, regions;
+    private final Person[][] members;       // members of each cell, in slots 0 to sizes[cell]-1
+    private final int[] sizes;
+
+
+    /**
+     * CONSTRUCTORS
+     * @param maxAge maximum age distinguished by the index (older persons are allocated to cells of maxAge)
+     */
+    public PopulationCellIndex(int maxAge) {
+        this.maxAge = maxAge;
+        ages = maxAge + 1;
+        regions = Region.values().length;
+        int cells = Gender.values().length * regions * ages;
+        members = new Person[cells][];
+        sizes = new int[cells];
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO ALLOCATE PERSON TO THE CELL IMPLIED BY ITS CURRENT CHARACTERISTICS
+     * ADDS THE PERSON IF NOT INDEXED, AND REMOVES IT IF IT HAS EXITED THE SAMPLE OR HAS NO BENEFIT UNIT
+     */
+    public void update(Person person) {
+
+        int cell = cellOf(person);
+        int current = person.getPopulationCell();
+        if (cell == current)
+            return;
+        if (current >= 0)
+            removeFromCell(person, current);
+        if (cell >= 0)
+            addToCell(person, cell);
+    }
+
+    public void remove(Person person) {
+
+        int current = person.getPopulationCell();
+        if (current >= 0)
+            removeFromCell(person, current);
+    }
+
+    public int size(Gender gender, Region region, int age) {
+        return sizes[cell(gender, region, age)];
+    }
+
+    /**
+     * METHOD TO OBTAIN READ-ONLY VIEW OF CELL MEMBERS
+     * the view must not be used after the index is updated
+     */
+    public List<Person> getMembers(Gender gender, Region region, int age) {
+
+        int cell = cell(gender, region, age);
+        if (sizes[cell] == 0)
+            return Collections.emptyList();
+        return Collections.unmodifiableList(Arrays.asList(members[cell]).subList(0, sizes[cell]));
+    }
+
+    /**
+     * METHOD TO DRAW CELL MEMBERS IN RANDOM ORDER WITHOUT REPLACEMENT
+     * iterates over the members of the cell at the time of the call, so that the index may be updated while
+     * iterating. Each draw takes constant time
+     */
+    public Iterator<Person> draw(Gender gender, Region region, int age, Random random) {
+
+        int cell = cell(gender, region, age);
+        int size = sizes[cell];
+        Person[] pool = (size == 0) ? new Person[0] : Arrays.copyOf(members[cell], size);
+        return new Iterator<>() {
+
+            private int drawn = 0;
+
+            @Override
+            public boolean hasNext() {
+                return drawn < pool.length;
+            }
+
+            @Override
+            public Person next() {
+                if (drawn >= pool.length)
+                    throw new NoSuchElementException();
+                int ii = drawn + random.nextInt(pool.length - drawn);
+                Person person = pool[ii];
+                pool[ii] = pool[drawn];
+                pool[drawn] = person;
+                drawn++;
+                return person;
+            }
+        };
+    }
+
+    private int cell(Gender gender, Region region, int age) {
+        return (gender.ordinal() * regions + region.ordinal()) * ages + Math.min(age, maxAge);
+    }
+
+    private int cellOf(Person person) {
+
+        if (!SampleExit.NotYet.equals(person.getSampleExit()) || person.getBenefitUnit() == null)
+            return -1;
+        Region region = person.getBenefitUnit().getRegion();
+        if (person.getDgn() == null || region == null)
+            return -1;
+        return cell(person.getDgn(), region, person.getDag());
+    }
+
+    private void addToCell(Person person, int cell) {
+
+        Person[] cellMembers = members[cell];
+        int size = sizes[cell];
+        if (cellMembers == null) {
+            cellMembers = new Person[INITIAL_CELL_CAPACITY];
+            members[cell] = cellMembers;
+        } else if (size == cellMembers.length) {
+            cellMembers = Arrays.copyOf(cellMembers, 2 * size);
+            members[cell] = cellMembers;
+        }
+        cellMembers[size] = person;
+        sizes[cell] = size + 1;
+        person.setPopulationCell(cell, size);
+    }
+
+    private void removeFromCell(Person person, int cell) {
+
+        // move last member of cell into vacated slot
+        Person[] cellMembers = members[cell];
+        int slot = person.getPopulationCellSlot();
+        int last = sizes[cell] - 1;
+        if (cellMembers[slot] != person)
+            throw new RuntimeException("inconsistent allocation of person to population cell");
+        if (slot != last) {
+            Person moved = cellMembers[last];
+            cellMembers[slot] = moved;
+            moved.setPopulationCell(cell, slot);
+        }
+        cellMembers[last] = null;
+        sizes[cell] = last;
+        person.setPopulationCell(-1, -1);
+    }
+}
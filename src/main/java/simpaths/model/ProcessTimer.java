@@ -0,0 +1,77 @@
+package simpaths.model;
+
+import microsim.event.EventListener;
+import simpaths.data.ProcessProfile;
+
+import java.util.Collection;
+
+
+/**
+ *
+ * CLASS TO PROFILE A SCHEDULED PROCESS
+ *
+ * THE TIMER IS SCHEDULED IMMEDIATELY BEFORE (Start) AND AFTER (Stop) THE PROCESS THAT IT PROFILES, SO THAT THE
+ * PROCESS ITSELF IS EXECUTED BY THE SIMULATION ENGINE AS IT WOULD BE WITHOUT PROFILING. MEASUREMENTS ARE RECORDED
+ * IN THE ProcessProfile COUNTER FOR THE PROCESS
+ *
+ * TIMERS ARE SCHEDULED VIA SimPathsModel.addEvent AND SimPathsModel.addCollectionEvent
+ *
+ */
+public class ProcessTimer implements EventListener {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public enum Processes {
+        Start,
+        Stop,
+    }
+
+    private final ProcessProfile.Counter counter;
+    private final Collection<?> agents;     // agents processed (null for processes of the model)
+    private ProcessProfile.Sample sample;
+    private int agentsProcessed;
+
+
+    /**
+     * CONSTRUCTOR
+     * @param process process to profile
+     * @param agents collection of agents that the process is applied to, or null
+     */
+    public ProcessTimer(Enum<?> process, Collection<?> agents) {
+        counter = ProcessProfile.counter(processName(process), true);
+        this.agents = agents;
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+    @Override
+    public void onEvent(Enum<?> type) {
+
+        switch ((Processes) type) {
+            case Start -> {
+                agentsProcessed = (agents == null) ? 0 : agents.size();
+                sample = counter.start();
+            }
+            case Stop -> {
+                counter.stop(sample, agentsProcessed);
+                sample = null;
+            }
+        }
+    }
+
+    /**
+     * METHOD TO NAME PROCESS BY THE CLASS THAT DEFINES IT
+     * e.g. Person.Health for Person.Processes.Health
+     */
+    static String processName(Enum<?> process) {
+
+        Class<?> type = process.getDeclaringClass();
+        if (type.getEnclosingClass() != null)
+            type = type.getEnclosingClass();
+        return type.getSimpleName() + "." + process.name();
+    }
+}
@@ -0,0 +1,156 @@
+package simpaths.model;
+
+import microsim.engine.SimulationEngine;
+import microsim.event.EventQueue;
+import simpaths.data.AlignmentAdjustments;
+import simpaths.experiment.SimPathsCollector;
+
+import java.util.Random;
+
+
+/**
+ *
+ * CLASS TO IDENTIFY THE SIMULATION RUN TO WHICH THE CURRENT THREAD BELONGS
+ *
+ * THE JAS-MINE SIMULATION ENGINE IS A SINGLETON, WITH ONE EVENT QUEUE, ONE EXPERIMENT (OUTPUT FOLDER), AND ONE RANDOM
+ * NUMBER GENERATOR. WHERE RUNS ARE EXECUTED CONCURRENTLY IN ONE JVM (SEE simpaths.experiment.MultiRunThreads), EACH
+ * RUN IS BOUND TO THE THREAD THAT EXECUTES IT VIA A RunScope, WHICH SUPPLIES THE MANAGERS, EVENT QUEUE, OUTPUT
+ * FOLDER, RANDOM NUMBER GENERATOR, AGENT ID COUNTERS AND ALIGNMENT ADJUSTMENTS OF THAT RUN. WHERE NO RunScope IS
+ * BOUND, THESE ARE OBTAINED FROM THE SIMULATION ENGINE AS FOR A SINGLE RUN, AND ALIGNMENT ADJUSTMENTS ARE STORED IN
+ * Parameters
+ *
+ * THE MODEL AND ITS AGENTS OBTAIN ALL OF THE ABOVE VIA THE STATIC METHODS OF THIS CLASS
+ *
+ */
+public class RunScope {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final ThreadLocal<RunScope> bound = new ThreadLocal<>();
+
+    private final String label;
+    private final String outputFolder;
+    private final EventQueue eventQueue = new EventQueue();
+    private final Random random;
+    private final AlignmentAdjustments adjustments = new AlignmentAdjustments();
+    private SimPathsModel model;
+    private SimPathsCollector collector;
+    private volatile boolean complete;          // set when the model has cleaned up at the end of the run
+
+    long personIdCounter = 1L;
+    long benefitUnitIdCounter = 1L;
+    long householdIdCounter = 1L;
+
+
+    /**
+     * CONSTRUCTOR
+     * @param label label of run
+     * @param outputFolder folder to which outputs of run are written
+     * @param randomSeed seed of random number generator of run (in place of that of the simulation engine)
+     */
+    public RunScope(String label, String outputFolder, long randomSeed) {
+        this.label = label;
+        this.outputFolder = outputFolder;
+        random = new Random(randomSeed);
+    }
+
+
+    /**
+     * METHODS TO BIND RUN TO THE CURRENT THREAD
+     * bind returns the scope previously bound to the thread, which should be restored when the thread leaves the run
+     */
+    public static RunScope bind(RunScope scope) {
+        RunScope previous = bound.get();
+        if (scope == null)
+            bound.remove();
+        else
+            bound.set(scope);
+        return previous;
+    }
+    public static RunScope current() {
+        return bound.get();
+    }
+
+
+    /**
+     * METHODS TO RESOLVE THE STATE OF THE CURRENT RUN
+     */
+    public static SimPathsModel model() {
+        RunScope scope = bound.get();
+        if (scope != null)
+            return scope.model;
+        return (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+    }
+    public static SimPathsCollector collector() {
+        RunScope scope = bound.get();
+        if (scope != null)
+            return scope.collector;
+        return (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
+    }
+    public static EventQueue eventQueue() {
+        RunScope scope = bound.get();
+        if (scope != null)
+            return scope.eventQueue;
+        return SimulationEngine.getInstance().getEventQueue();
+    }
+    public static String outputFolder() {
+        RunScope scope = bound.get();
+        if (scope != null)
+            return scope.outputFolder;
+        return SimulationEngine.getInstance().getCurrentExperiment().getOutputFolder();
+    }
+    public static AlignmentAdjustments adjustments() {
+        RunScope scope = bound.get();
+        return (scope != null) ? scope.adjustments : null;
+    }
+    public static void setSeed(long seed) {
+        RunScope scope = bound.get();
+        if (scope != null)
+            scope.random.setSeed(seed);
+        else
+            SimulationEngine.getRnd().setSeed(seed);
+    }
+    public static long nextLong() {
+        RunScope scope = bound.get();
+        return (scope != null) ? scope.random.nextLong() : SimulationEngine.getRnd().nextLong();
+    }
+    public static double nextDouble() {
+        RunScope scope = bound.get();
+        return (scope != null) ? scope.random.nextDouble() : SimulationEngine.getRnd().nextDouble();
+    }
+
+    /**
+     * METHOD TO REPORT THAT THE MODEL OF THE CURRENT RUN HAS CLEANED UP (IN PLACE OF THE END EVENT OF THE ENGINE)
+     */
+    public static void completeRun() {
+        RunScope scope = bound.get();
+        if (scope != null)
+            scope.complete = true;
+    }
+
+
+    /**
+     * GETTERS AND SETTERS
+     */
+    public String getLabel() {
+        return label;
+    }
+    public String getOutputFolder() {
+        return outputFolder;
+    }
+    public EventQueue getEventQueue() {
+        return eventQueue;
+    }
+    public SimPathsModel getModel() {
+        return model;
+    }
+    public void setManagers(SimPathsModel model, SimPathsCollector collector) {
+        this.model = model;
+        this.collector = collector;
+    }
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -18,9 +18,13 @@ import jakarta.persistence.Persistence;
 import jakarta.persistence.Transient;
 import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
+import simpaths.data.AlignmentCache;
+import simpaths.data.HeapFootprint;
 import simpaths.data.IEvaluation;
 import simpaths.data.MahalanobisDistance;
+import simpaths.data.ProcessProfile;
 import simpaths.data.RootSearch;
+import simpaths.data.startingpop.PopulationSnapshot;
 import simpaths.data.startingpop.Processed;
 import simpaths.experiment.SimPathsCollector;
 import simpaths.model.decisions.DecisionParams;
@@ -51,6 +55,9 @@ import microsim.matching.MatchingScoreClosure;
 import simpaths.data.Parameters;
 import simpaths.model.decisions.ManagerPopulateGrids;
 import simpaths.model.enums.*;
+import simpaths.model.taxes.DonorPoolIndex;
+import simpaths.model.taxes.DonorPoolSnapshot;
+import simpaths.model.taxes.DonorTaxImputationSurface;
 import simpaths.model.taxes.DonorTaxUnit;
 import simpaths.model.taxes.DonorTaxUnitPolicy;
 import simpaths.model.taxes.Match;
@@ -75,6 +82,20 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     }
 
     private boolean isFirstRun = true;		// set default to true - this is required to support single run simulations
+    private boolean useSharedParameters = false;		// parameters, tax donor references and decision grids loaded by an earlier run in the same JVM (see simpaths.experiment.MultiRunThreads)
+    private Runnable onSharedStateReady;		// called once parameters, tax donor references and any decision grids are loaded
+
+    public boolean isUseSharedParameters() {
+        return useSharedParameters;
+    }
+
+    public void setUseSharedParameters(boolean useSharedParameters) {
+        this.useSharedParameters = useSharedParameters;
+    }
+
+    public void setOnSharedStateReady(Runnable onSharedStateReady) {
+        this.onSharedStateReady = onSharedStateReady;
+    }
 
     // default simulation parameters
     private static Logger log = Logger.getLogger(SimPathsModel.class);
@@ -294,11 +315,71 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     @GUIparameter(description = "whether to include geographic region in state space for IO behavioural solutions")
     private boolean responsesToRegion = false;
 
+    // number of local worker processes used to solve for IO behavioural solutions (0 = solve within current process)
+    private int solveWorkers = 0;
+
+    // save IO behavioural solutions after each age, so that interrupted solutions can be resumed
+    private boolean checkpointSolutions = true;
+
+    // execute processes that only affect the state of each agent in parallel, including re-evaluation of behaviour in
+    // alignment searches (see ParallelCollectionProcess and AlignmentPopulation)
+    private boolean parallelAgentProcesses = false;
+
+    // start alignment searches from the adjustments of the previous simulated year (see getAlignmentSearch)
+    private boolean warmStartAlignment = true;
+
+    // start alignment searches from adjustments saved by earlier runs of the same simulation (see AlignmentCache)
+    private boolean useAlignmentCache = false;
+
+    // interpolate tax and benefit imputations from lookup surfaces of original income (see DonorTaxImputationSurface)
+    private boolean useTaxImputationSurfaces = false;
+    private DonorTaxImputationSurface taxImputationSurface;
+
+    // restore processed starting population from binary snapshot, where available (see PopulationSnapshot)
+    private boolean usePopulationSnapshot = true;
+
+    // processed starting population supplied in place of that loaded from the input database (used by benchmarks)
+    private Processed startingPopulation;
+
+    // report measured heap footprint of agents after creating initial population (see HeapFootprint)
+    private boolean reportHeapFootprint = false;
+
+    // write wall time, calls, agents processed and heap allocations of each scheduled process, alignment search, tax
+    // imputation and collector export to a profile for each simulated year (see ProcessProfile)
+    private boolean profileProcesses = false;
+
+    // model attributes that identify alignment adjustments saved to the alignment cache
+    private static final String[] ALIGNMENT_CACHE_SETTINGS = {"startYear", "maxAge", "fixTimeTrend", "timeTrendStopsIn",
+            "timeTrendStopsInMonetaryProcesses", "flagDefaultToTimeSeriesAverages", "savingRate", "interestRateInnov",
+            "disposableIncomeFromLabourInnov", "initialisePotentialEarningsFromDatabase", "useWeights", "unionMatchingMethod",
+            "projectMortality", "alignPopulation", "alignFertility", "alignEducation", "alignInSchool", "alignCohabitation",
+            "alignEmployment", "addRegressionStochasticComponent", "fixRegressionStochasticComponent", "labourMarketCovid19On",
+            "projectFormalChildcare", "projectSocialCare", "donorPoolAveraging", "useTaxImputationSurfaces", "flagSuppressChildcareCosts",
+            "flagSuppressSocialCareCosts", "enableIntertemporalOptimisations", "useSavedBehaviour", "readGrid",
+            "employmentOptionsOfPrincipalWorker", "employmentOptionsOfSecondaryWorker", "responsesToHealth",
+            "minAgeForPoorHealth", "responsesToDisability", "responsesToRegion", "responsesToEducation",
+            "responsesToPension", "responsesToLowWageOffer", "responsesToRetirement"};
+
+    private AlignmentCache alignmentCache;
+    private final Map<String, Double> previousAlignments = new HashMap<>();    // alignment adjustments of the last simulated year
+
+    // model attributes passed to worker processes used to solve for IO behavioural solutions
+    private static final String[] DECISION_WORKER_SETTINGS = {"country", "startYear", "endYear", "maxAge", "fixTimeTrend",
+            "timeTrendStopsIn", "flagDefaultToTimeSeriesAverages", "saveImperfectTaxDBMatches", "interestRateInnov",
+            "disposableIncomeFromLabourInnov", "projectFormalChildcare", "projectSocialCare", "donorPoolAveraging",
+            "flagSuppressChildcareCosts", "flagSuppressSocialCareCosts", "enableIntertemporalOptimisations",
+            "employmentOptionsOfPrincipalWorker", "employmentOptionsOfSecondaryWorker", "responsesToHealth",
+            "minAgeForPoorHealth", "responsesToDisability", "responsesToRegion", "responsesToEducation",
+            "responsesToPension", "responsesToLowWageOffer", "responsesToRetirement", "saveBehaviour", "readGrid"};
+
     RandomGenerator cohabitInnov;
     Random initialiseInnov1;
     Random initialiseInnov2;
     Random popAlignInnov;
+    private PopulationCellIndex populationCellIndex;    // simulated population by alignment group (see getPopulationCellIndex)
     Random educationInnov;
+    private long innovationsSeed;                       // run seed of agent innovations (see Innovations)
+    private final AgentStore personStore = Person.newStore(AgentStore.PAGE_SIZE);  // simulation-time state of persons
 
 
     /**
@@ -335,40 +416,32 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         // time check
         elapsedTime0 = System.currentTimeMillis();
         timerStartSim = elapsedTime0;
+        ProcessProfile.setEnabled(profileProcesses);
 
         // set seed for random number generator
-        if (fixRandomSeed) SimulationEngine.getRnd().setSeed(randomSeedIfFixed);
-        cohabitInnov = new Random(SimulationEngine.getRnd().nextLong());
-        initialiseInnov1 = new Random(SimulationEngine.getRnd().nextLong());
-        initialiseInnov2 = new Random(SimulationEngine.getRnd().nextLong());
-        educationInnov = new Random(SimulationEngine.getRnd().nextLong());
-        popAlignInnov = new Random(SimulationEngine.getRnd().nextLong());
+        if (fixRandomSeed) RunScope.setSeed(randomSeedIfFixed);
+        cohabitInnov = new Random(RunScope.nextLong());
+        initialiseInnov1 = new Random(RunScope.nextLong());
+        initialiseInnov2 = new Random(RunScope.nextLong());
+        educationInnov = new Random(RunScope.nextLong());
+        popAlignInnov = new Random(RunScope.nextLong());
+        innovationsSeed = RunScope.nextLong();
 
         // load model parameters
-        Parameters.loadParameters(country, maxAge, enableIntertemporalOptimisations, projectFormalChildcare,
-                projectSocialCare, donorPoolAveraging, fixTimeTrend, flagDefaultToTimeSeriesAverages, saveImperfectTaxDBMatches,
-                timeTrendStopsIn, startYear, endYear, interestRateInnov, disposableIncomeFromLabourInnov, flagSuppressChildcareCosts,
-                flagSuppressSocialCareCosts);
-        if (enableIntertemporalOptimisations) {
-
-            alignEmployment = false;
-            DecisionParams.loadParameters(employmentOptionsOfPrincipalWorker, employmentOptionsOfSecondaryWorker,
-                    responsesToHealth, minAgeForPoorHealth, responsesToDisability, responsesToRegion, responsesToEducation,
-                    responsesToPension, responsesToLowWageOffer, responsesToRetirement, saveBehaviour,
-                    readGrid, getEngine().getCurrentExperiment().getOutputFolder(), startYear, endYear);
-            //DecisionTests.compareGrids();
-            //DatabaseExtension.extendInputData();
-        }
+        loadParameters(RunScope.outputFolder());
         long elapsedTime1 = System.currentTimeMillis();
         System.out.println("Time to load parameters: " + (elapsedTime1 - elapsedTime0)/1000. + " seconds.");
         elapsedTime0 = elapsedTime1;
 
         // populate tax donor references
-        if (flagUpdateCountry) {
-            taxDatabaseUpdate();
-            TaxDonorDataParser.populateDonorTaxUnitTables(country, false); // Populate tax unit donor tables from person data
+        if (!useSharedParameters) {
+            if (flagUpdateCountry) {
+                taxDatabaseUpdate();
+                TaxDonorDataParser.populateDonorTaxUnitTables(country, false); // Populate tax unit donor tables from person data
+            }
+            populateTaxdbReferences();
         }
-        populateTaxdbReferences();
+        taxImputationSurface = (useTaxImputationSurfaces && donorPoolAveraging) ? new DonorTaxImputationSurface() : null;
         //TestTaxRoutine.run();
         elapsedTime1 = System.currentTimeMillis();
         System.out.println("Time to load tax database references: " + (elapsedTime1 - elapsedTime0)/1000. + " seconds.");
@@ -387,10 +460,22 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         elapsedTime1 = System.currentTimeMillis();
         System.out.println("Time to create initial population structures: " + (elapsedTime1 - elapsedTime0)/1000. + " seconds.");
         elapsedTime0 = elapsedTime1;
+        if (reportHeapFootprint) {
+            System.out.println(HeapFootprint.report(Person.class, persons, personStore, Innovations.class));
+            System.out.println(HeapFootprint.report(BenefitUnit.class, benefitUnits));
+            System.out.println(HeapFootprint.report(Household.class, households));
+        }
 
         // initialise variables used to match marriage unions
         createDataStructuresForMarriageMatching();
 
+        // alignment adjustments saved by earlier runs
+        if (useAlignmentCache) {
+            String seedClass = fixRandomSeed ? randomSeedIfFixed.toString() : "unfixed";
+            alignmentCache = new AlignmentCache(AlignmentCache.defaultDirectory(), country.toString(), popSize, seedClass,
+                    getAlignmentCacheSettings());
+        }
+
         // earnings potential
         labourMarket = new LabourMarket(benefitUnits);
         if (!initialisePotentialEarningsFromDatabase) initialisePotentialEarningsByWageEquationAndEmployerSocialInsurance();
@@ -421,6 +506,111 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         log.debug("Time to build objects: " + (elapsedTime1 - timerStartSim)/1000. + " seconds.");
         System.out.println("Time to complete initialisation " + (System.currentTimeMillis() - timerStartSim)/1000.0/60.0 + " minutes.");
         elapsedTime0 = elapsedTime1;
+        if (!enableIntertemporalOptimisations)
+            sharedStateReady();
+    }
+
+    private void sharedStateReady() {
+        if (onSharedStateReady != null) {
+            onSharedStateReady.run();
+            onSharedStateReady = null;
+        }
+    }
+
+
+    /**
+     *
+     * METHOD TO LOAD MODEL PARAMETERS
+     * @param outputFolder output folder of the current experiment
+     *
+     */
+    private void loadParameters(String outputFolder) {
+
+        if (enableIntertemporalOptimisations)
+            alignEmployment = false;
+        if (useSharedParameters)
+            return;
+        Parameters.loadParameters(country, maxAge, enableIntertemporalOptimisations, projectFormalChildcare,
+                projectSocialCare, donorPoolAveraging, fixTimeTrend, flagDefaultToTimeSeriesAverages, saveImperfectTaxDBMatches,
+                timeTrendStopsIn, startYear, endYear, interestRateInnov, disposableIncomeFromLabourInnov, flagSuppressChildcareCosts,
+                flagSuppressSocialCareCosts);
+        if (enableIntertemporalOptimisations) {
+
+            DecisionParams.loadParameters(employmentOptionsOfPrincipalWorker, employmentOptionsOfSecondaryWorker,
+                    responsesToHealth, minAgeForPoorHealth, responsesToDisability, responsesToRegion, responsesToEducation,
+                    responsesToPension, responsesToLowWageOffer, responsesToRetirement, saveBehaviour,
+                    readGrid, outputFolder, startYear, endYear);
+            DecisionParams.solveWorkers = solveWorkers;
+            DecisionParams.checkpointSolutions = checkpointSolutions;
+            //DecisionTests.compareGrids();
+            //DatabaseExtension.extendInputData();
+        }
+    }
+
+
+    /**
+     *
+     * METHODS TO CONFIGURE WORKER PROCESSES USED TO SOLVE FOR INTERTEMPORAL OPTIMISATION DECISIONS
+     *
+     * getDecisionWorkerSettings describes the current model, and buildDecisionWorker recreates the parameters
+     * of that model in a worker process (see simpaths.model.decisions.ManagerSolveWorkers)
+     *
+     */
+    public Properties getDecisionWorkerSettings() {
+
+        Properties settings = new Properties();
+        try {
+            for (String name : DECISION_WORKER_SETTINGS) {
+                Object value = SimPathsModel.class.getDeclaredField(name).get(this);
+                if (value instanceof Enum<?> enumValue)
+                    settings.setProperty(name, enumValue.name());
+                else if (value != null)
+                    settings.setProperty(name, value.toString());
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException("problem describing model settings for worker processes", e);
+        }
+        settings.setProperty("outputFolder", RunScope.outputFolder());
+        settings.setProperty("databaseInputUrl", DatabaseUtils.databaseInputUrl);
+        return settings;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static SimPathsModel buildDecisionWorker(Properties settings) {
+
+        SimPathsModel model = new SimPathsModel(Country.valueOf(settings.getProperty("country")));
+        try {
+            for (String name : DECISION_WORKER_SETTINGS) {
+
+                String value = settings.getProperty(name);
+                if (value == null)
+                    continue;
+                java.lang.reflect.Field field = SimPathsModel.class.getDeclaredField(name);
+                Class<?> type = field.getType();
+                Object converted;
+                if (type.isEnum()) {
+                    converted = Enum.valueOf((Class<Enum>) type, value);
+                } else if (int.class.equals(type) || Integer.class.equals(type)) {
+                    converted = Integer.valueOf(value);
+                } else if (long.class.equals(type) || Long.class.equals(type)) {
+                    converted = Long.valueOf(value);
+                } else if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+                    converted = Boolean.valueOf(value);
+                } else if (double.class.equals(type) || Double.class.equals(type)) {
+                    converted = Double.valueOf(value);
+                } else {
+                    converted = value;
+                }
+                field.set(model, converted);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException("problem applying model settings in worker process", e);
+        }
+        DatabaseUtils.databaseInputUrl = settings.getProperty("databaseInputUrl");
+        model.loadParameters(settings.getProperty("outputFolder"));
+        populateTaxdbReferences();
+        model.addRegressionStochasticComponent = false;
+        return model;
     }
 
 
@@ -451,16 +641,16 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         addEventToAllYears(Processes.StartYear);
 
         if (enableIntertemporalOptimisations)
-            firstYearSched.addEvent(this, Processes.RationalOptimisation);
+            addEvent(firstYearSched, this, Processes.RationalOptimisation);
 
         addEventToAllYears(Processes.UpdateParameters);
         addEventToAllYears(Processes.GarbageCollection);
         if (enableIntertemporalOptimisations)
-            yearlySchedule.addCollectionEvent(benefitUnits, BenefitUnit.Processes.UpdateWealth);
+            addCollectionEvent(yearlySchedule, benefitUnits, BenefitUnit.Processes.UpdateWealth);
         addCollectionEventToAllYears(benefitUnits, BenefitUnit.Processes.Update);
         addCollectionEventToAllYears(persons, Person.Processes.Update);
 
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.Aging);
+        addCollectionEvent(yearlySchedule, persons, Person.Processes.Aging);
 
         // Health Alignment - redrawing alignment used adjust state of individuals to projections by Gender and Age
         //Turned off for now as health determined below based on individual characteristics
@@ -472,7 +662,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
 
         // EDUCATION MODULE
         // Check In School - check whether still in education, and if leaving school, reset Education Level
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.InSchool);
+        addCollectionEvent(yearlySchedule, persons, Person.Processes.InSchool);
 
         // In School alignment
         addEventToAllYears(Processes.InSchoolAlignment);
@@ -482,34 +672,34 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         addEventToAllYears(Processes.EducationLevelAlignment);
 
         // Homeownership status
-        yearlySchedule.addCollectionEvent(benefitUnits, BenefitUnit.Processes.Homeownership);
+        addCollectionEvent(yearlySchedule, benefitUnits, BenefitUnit.Processes.Homeownership);
 
         // HEALTH MODULE
         // Update Health - determine health (continuous) based on regression models: done here because health depends on education
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.Health);
+        addParallelCollectionEvent(yearlySchedule, persons, Person.Processes.Health);
 
         // Update mental health - determine (continuous) mental health level based on regression models
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.HealthMentalHM1); //Step 1 of mental health
+        addParallelCollectionEvent(yearlySchedule, persons, Person.Processes.HealthMentalHM1); //Step 1 of mental health
 
         // HOUSEHOLD COMPOSITION MODULE: Decide whether to enter into a union (marry / cohabit), and then perform union matching (marriage) between a male and female
 
         // Update potential earnings so that as up to date as possible to decide partner in union matching.
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.UpdatePotentialHourlyEarnings);
+        addCollectionEvent(yearlySchedule, persons, Person.Processes.UpdatePotentialHourlyEarnings);
 
         // Consider whether in consensual union (cohabiting)
-        yearlySchedule.addEvent(this, Processes.CohabitationAlignment);
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.Cohabitation);
+        addEvent(yearlySchedule, this, Processes.CohabitationAlignment);
+        addCollectionEvent(yearlySchedule, persons, Person.Processes.Cohabitation);
 
         // partnership variation
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.PartnershipDissolution);
-        yearlySchedule.addEvent(this, Processes.UnionMatching);
+        addCollectionEvent(yearlySchedule, persons, Person.Processes.PartnershipDissolution);
+        addEvent(yearlySchedule, this, Processes.UnionMatching);
         //yearlySchedule.addEvent(this, Processes.CheckForEmptyHouseholds);
         //yearlySchedule.addEvent(this, Processes.Timer);
 
         // Fertility
-        yearlySchedule.addEvent(this, Processes.FertilityAlignment);        //Align to fertility rates implied by projected population statistics.
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.Fertility);
-        yearlySchedule.addCollectionEvent(persons, Person.Processes.GiveBirth, false);        //Cannot use read-only collection schedule as newborn children cause concurrent modification exception.  Need to specify false in last argument of Collection event.
+        addEvent(yearlySchedule, this, Processes.FertilityAlignment);        //Align to fertility rates implied by projected population statistics.
+        addCollectionEvent(yearlySchedule, persons, Person.Processes.Fertility);
+        addCollectionEvent(yearlySchedule, persons, Person.Processes.GiveBirth, false);        //Cannot use read-only collection schedule as newborn children cause concurrent modification exception.  Need to specify false in last argument of Collection event.
 
         // TIME USE MODULE
         // Social care
@@ -520,7 +710,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         }
 
         // Unemployment
-        addCollectionEventToAllYears(persons, Person.Processes.Unemployment);
+        addParallelCollectionEventToAllYears(persons, Person.Processes.Unemployment);
 
         // update references for optimising behaviour
         // needs to be positioned after all decision states for the current period have been simulated
@@ -530,23 +720,23 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         addEventToAllYears(Processes.LabourMarketAndIncomeUpdate);
 
         // Assign benefit status to individuals in benefit units, from donors. Based on donor tax unit status.
-        addCollectionEventToAllYears(benefitUnits, BenefitUnit.Processes.ReceivesBenefits);
+        addParallelCollectionEventToAllYears(benefitUnits, BenefitUnit.Processes.ReceivesBenefits);
 
         // CONSUMPTION AND SAVINGS MODULE
         if (enableIntertemporalOptimisations)
             addCollectionEventToAllYears(benefitUnits, BenefitUnit.Processes.ProjectDiscretionaryConsumption);
-        addCollectionEventToAllYears(persons, Person.Processes.ProjectEquivConsumption);
+        addParallelCollectionEventToAllYears(persons, Person.Processes.ProjectEquivConsumption);
 
         // equivalised disposable income
         addCollectionEventToAllYears(benefitUnits, BenefitUnit.Processes.CalculateChangeInEDI);
 
         // MENTAL HEALTH MODULE
         // Update mental health - determine (continuous) mental health level based on regression models + caseness
-        addCollectionEventToAllYears(persons, Person.Processes.HealthMentalHM1); //Step 1 of mental health
+        addParallelCollectionEventToAllYears(persons, Person.Processes.HealthMentalHM1); //Step 1 of mental health
         // modify the outcome of Step 1 depending on individual's exposures + caseness
-        addCollectionEventToAllYears(persons, Person.Processes.HealthMentalHM2); //Step 2 of mental health.
+        addParallelCollectionEventToAllYears(persons, Person.Processes.HealthMentalHM2); //Step 2 of mental health.
         // update case-based measure
-        addCollectionEventToAllYears(persons, Person.Processes.HealthMentalHM1HM2Cases);
+        addParallelCollectionEventToAllYears(persons, Person.Processes.HealthMentalHM1HM2Cases);
 
         // mortality (migration) and population alignment at year's end
         addCollectionEventToAllYears(persons, Person.Processes.ConsiderMortality);
@@ -561,40 +751,101 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         addEventToAllYears(Processes.UpdateYear);
 
         // UPDATE EVENT QUEUE
-        getEngine().getEventQueue().scheduleOnce(firstYearSched, startYear, ordering);
-        getEngine().getEventQueue().scheduleRepeat(yearlySchedule, startYear+1, ordering, 1.);
+        RunScope.eventQueue().scheduleOnce(firstYearSched, startYear, ordering);
+        RunScope.eventQueue().scheduleRepeat(yearlySchedule, startYear+1, ordering, 1.);
 
         // at termination of simulation
         int orderEarlier = -1;            //Set less than order so that this is called before the yearlySchedule in the endYear.
-        getEngine().getEventQueue().scheduleOnce(new SingleTargetEvent(this, Processes.CleanUp), endYear+1, orderEarlier);
-        SystemEvent end = new SystemEvent(SimulationEngine.getInstance(), SystemEventType.End);
-        getEngine().getEventQueue().scheduleOnce(end, endYear+1, orderEarlier);
+        RunScope.eventQueue().scheduleOnce(new SingleTargetEvent(this, Processes.CleanUp), endYear+1, orderEarlier);
+        if (RunScope.current() == null) {
+            // runs bound to a RunScope end once cleaned up (see RunScope.completeRun)
+            SystemEvent end = new SystemEvent(SimulationEngine.getInstance(), SystemEventType.End);
+            RunScope.eventQueue().scheduleOnce(end, endYear+1, orderEarlier);
+        }
 
         log.debug("Time to build schedule " + (System.currentTimeMillis() - elapsedTime0)/1000. + " seconds.");
         elapsedTime0 = System.currentTimeMillis();
     }
     private void addEventToAllYears(Tests tt, Enum ee) {
-        firstYearSched.addEvent(tt, ee);
-        yearlySchedule.addEvent(tt, ee);
+        addEvent(firstYearSched, tt, ee);
+        addEvent(yearlySchedule, tt, ee);
     }
     private void addEventToAllYears(SimPathsCollector cc, Enum ee) {
-        firstYearSched.addEvent(cc, ee);
-        yearlySchedule.addEvent(cc, ee);
+        addEvent(firstYearSched, cc, ee);
+        addEvent(yearlySchedule, cc, ee);
     }
     void addEventToAllYears(Enum ee) {
 
-        firstYearSched.addEvent(this, ee);
-        yearlySchedule.addEvent(this, ee);
+        addEvent(firstYearSched, this, ee);
+        addEvent(yearlySchedule, this, ee);
     }
     private void addCollectionEventToAllYears(Set set, Enum ee, boolean readOnly) {
 
-        firstYearSched.addCollectionEvent(set, ee, readOnly);
-        yearlySchedule.addCollectionEvent(set, ee, readOnly);
+        addCollectionEvent(firstYearSched, set, ee, readOnly);
+        addCollectionEvent(yearlySchedule, set, ee, readOnly);
     }
     private void addCollectionEventToAllYears(Set set, Enum ee) {
 
-        firstYearSched.addCollectionEvent(set, ee);
-        yearlySchedule.addCollectionEvent(set, ee);
+        addCollectionEvent(firstYearSched, set, ee);
+        addCollectionEvent(yearlySchedule, set, ee);
+    }
+
+    /**
+     * METHODS TO ADD PROCESSES TO AN EVENT GROUP
+     * If profileProcesses, each process is bracketed by a ProcessTimer, so that its cost is reported in the
+     * process profile of each simulated year (see ProcessProfile)
+     */
+    private void addEvent(EventGroup group, EventListener target, Enum ee) {
+
+        ProcessTimer timer = startTimer(group, ee, null);
+        group.addEvent(target, ee);
+        stopTimer(group, timer);
+    }
+    private void addCollectionEvent(EventGroup group, Set set, Enum ee) {
+
+        ProcessTimer timer = startTimer(group, ee, set);
+        group.addCollectionEvent(set, ee);
+        stopTimer(group, timer);
+    }
+    private void addCollectionEvent(EventGroup group, Set set, Enum ee, boolean readOnly) {
+
+        ProcessTimer timer = startTimer(group, ee, set);
+        group.addCollectionEvent(set, ee, readOnly);
+        stopTimer(group, timer);
+    }
+    private ProcessTimer startTimer(EventGroup group, Enum ee, Set set) {
+
+        if (!profileProcesses)
+            return null;
+        ProcessTimer timer = new ProcessTimer(ee, set);
+        group.addEvent(timer, ProcessTimer.Processes.Start);
+        return timer;
+    }
+    private void stopTimer(EventGroup group, ProcessTimer timer) {
+
+        if (timer != null)
+            group.addEvent(timer, ProcessTimer.Processes.Stop);
+    }
+
+    /**
+     * METHODS TO SCHEDULE PROCESSES THAT MAY BE EXECUTED OVER A COLLECTION IN PARALLEL
+     * Restricted to processes that satisfy the conditions described in ParallelCollectionProcess; otherwise
+     * equivalent to the read-only collection events scheduled above
+     */
+    private void addParallelCollectionEvent(EventGroup group, Set set, Enum ee) {
+
+        if (parallelAgentProcesses) {
+            ProcessTimer timer = startTimer(group, ee, set);
+            group.addEvent(new ParallelCollectionProcess(set, ee), ParallelCollectionProcess.Processes.Execute);
+            stopTimer(group, timer);
+        } else {
+            addCollectionEvent(group, set, ee);
+        }
+    }
+    private void addParallelCollectionEventToAllYears(Set set, Enum ee) {
+
+        addParallelCollectionEvent(firstYearSched, set, ee);
+        addParallelCollectionEvent(yearlySchedule, set, ee);
     }
 
     private void saveRunParameters() {
@@ -707,6 +958,24 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             pw.println(line);
             line = "responsesToRetirement: " + responsesToRetirement;
             pw.println(line);
+            line = "solveWorkers: " + solveWorkers;
+            pw.println(line);
+            line = "checkpointSolutions: " + checkpointSolutions;
+            pw.println(line);
+            line = "parallelAgentProcesses: " + parallelAgentProcesses;
+            pw.println(line);
+            line = "warmStartAlignment: " + warmStartAlignment;
+            pw.println(line);
+            line = "useAlignmentCache: " + useAlignmentCache;
+            pw.println(line);
+            line = "useTaxImputationSurfaces: " + useTaxImputationSurfaces;
+            pw.println(line);
+            line = "usePopulationSnapshot: " + usePopulationSnapshot;
+            pw.println(line);
+            line = "reportHeapFootprint: " + reportHeapFootprint;
+            pw.println(line);
+            line = "profileProcesses: " + profileProcesses;
+            pw.println(line);
             line = "interestRateInnov: " + interestRateInnov;
             pw.println(line);
             line = "disposableIncomeInnov: " + disposableIncomeFromLabourInnov;
@@ -755,6 +1024,8 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             case StartYear -> {
 
                 elapsedTime0 = System.currentTimeMillis();
+                if (profileProcesses && year > startYear)
+                    writeProcessProfile(year - 1);
                 System.out.println("Starting year " + year);
                 if (commentsOn) log.info("Starting year " + year);
             }
@@ -841,7 +1112,9 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
                 printElapsedTime();
             }
             case RationalOptimisation -> {
-                Parameters.grids = ManagerPopulateGrids.run(this, useSavedBehaviour, saveBehaviour);
+                if (!useSharedParameters)
+                    Parameters.grids = ManagerPopulateGrids.run(this, useSavedBehaviour, saveBehaviour);
+                sharedStateReady();
             }
             case UpdateParameters -> {
                 updateParameters();
@@ -870,8 +1143,16 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             }
             case CleanUp -> {
 
+                if (collector != null)
+                    collector.flushExports();
+
+                if (profileProcesses)
+                    writeProcessProfile(year - 1);
+
                 if (Parameters.saveImperfectTaxDBMatches)
-                    DatabaseExtension.extendInputData(getEngine().getCurrentExperiment().getOutputFolder());
+                    DatabaseExtension.extendInputData(RunScope.outputFolder());
+
+                RunScope.completeRun();
             }
             default -> {
                 throw new RuntimeException("failed to identify process type in SimPathsModel.onEvent");
@@ -880,6 +1161,17 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     }
 
 
+    /**
+     * METHOD TO WRITE PROFILE OF PROCESSES EVALUATED FOR A SIMULATED YEAR
+     * the profile for each year is written when the following year starts (or the simulation is cleaned up), so
+     * that it includes the exports of the collector, which are scheduled after the processes of the model. The
+     * profile of the first simulated year includes the cost of building the model
+     */
+    private void writeProcessProfile(int profileYear) {
+        ProcessProfile.write(RunScope.outputFolder() + File.separator + "profile", profileYear);
+    }
+
+
     /**
      *
      * METHODS IMPLEMENTING PROCESS LEVEL COMPUTATIONS
@@ -890,7 +1182,12 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     private void screenForExitingObjects() {
 
         // screen for persons exiting the sample
-        persons.removeIf(person -> (!SampleExit.NotYet.equals(person.getSampleExit())));
+        persons.removeIf(person -> {
+            if (SampleExit.NotYet.equals(person.getSampleExit()))
+                return false;
+            person.releaseState();
+            return true;
+        });
         for (BenefitUnit benefitUnit: benefitUnits) {
             benefitUnit.getMembers().removeIf(person -> !persons.contains(person));
         }
@@ -908,7 +1205,13 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         benefitUnits.removeIf(benefitUnit -> (!households.contains(benefitUnit.getHousehold())));
 
         // screen for persons not associated with a valid benefit unit
-        persons.removeIf(person -> (!benefitUnits.contains(person.getBenefitUnit())));
+        persons.removeIf(person -> {
+            if (benefitUnits.contains(person.getBenefitUnit()))
+                return false;
+            removeFromPopulationCells(person);
+            person.releaseState();
+            return true;
+        });
 
         // screen for residual problems
         for (Person person : persons) {
@@ -960,7 +1263,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             }
         }
         if (!imperfectMatches.isEmpty()) {
-            String dir = getEngine().getCurrentExperiment().getOutputFolder() + File.separator + "csv";
+            String dir = RunScope.outputFolder() + File.separator + "csv";
             imperfectMatches.write(dir, "poor_taxmatch_year_" + year + ".csv");
         }
     }
@@ -975,14 +1278,14 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
 
         int maxAlignAge = Math.min(maxAge, Parameters.getPopulationProjectionsMaxAge());
         MultiKeyMap<Object, Double> weightsByGenderRegionAndAge = MultiKeyMap.multiKeyMap(new LinkedMap<>());
-        MultiKeyMap<Object, List<Person>> personsByGenderRegionAndAge = personsByAlignmentGroupInit(maxAlignAge);
+        PopulationCellIndex personsByGenderRegionAndAge = getPopulationCellIndex();
 
         //Calculate Weights
         for (Gender gender : Gender.values()) {
             for (Region region: Parameters.getCountryRegions()) {
                 for (int age = 0; age <= maxAlignAge; age++) {
                     double weight = 0.0;
-                    for ( Person person : personsByGenderRegionAndAge.get(gender, region, age) ) {
+                    for ( Person person : personsByGenderRegionAndAge.getMembers(gender, region, age) ) {
                         weight += person.getWeight();
                     }
                     weight = Parameters.getPopulationProjections(gender, region, age, year) / weight;
@@ -1021,20 +1324,22 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
      * 			at least one benefit has a youngest member of the consiered age
      * 		death otherwise
      *
+     * Persons are organised by gender, region and age in the population cell index maintained by the model, which
+     * is updated as persons migrate, exit, or are cloned during alignment
+     *
      **************************************************************/
     private void populationAlignmentUnweighted() {
 
         int maxAlignAge = Math.min(maxAge, Parameters.getPopulationProjectionsMaxAge());
-        MultiKeyMap<Object, List<Person>> personsByAlignmentGroup = personsByAlignmentGroupInit(maxAlignAge);
-        MultiKeyMap<Object, List<Person>> migrantPoolByAlignmentGroup = migrantPoolByAlignmentGroupInit(maxAlignAge, personsByAlignmentGroup);
+        PopulationCellIndex personsByAlignmentGroup = getPopulationCellIndex();
 
         //Align to targets
         for (int age = 0; age <= maxAlignAge; age++) {
 
             for (Gender gender : Gender.values()) {
 
-                boolean flagSufficientMigrants = populationAlignmentDomesticMigration(age, gender, maxAlignAge, personsByAlignmentGroup, migrantPoolByAlignmentGroup);
-                populationAlignmentResidual(age, gender, maxAlignAge, personsByAlignmentGroup, flagSufficientMigrants, migrantPoolByAlignmentGroup);
+                boolean flagSufficientMigrants = populationAlignmentDomesticMigration(age, gender, personsByAlignmentGroup);
+                populationAlignmentResidual(age, gender, personsByAlignmentGroup, flagSufficientMigrants);
             }
         }
     }
@@ -1042,87 +1347,53 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
 
     /**************************************************************
      *
-     * METHOD TO ORGANISE SIMULATED POPULATION INTO SUBSETS FOR ALIGNMENT
+     * METHOD TO OBTAIN INDEX OF SIMULATED POPULATION BY ALIGNMENT GROUP
      *
-     * @param maxAlignAge upper age for population alignment (lesser of maximum simulation age and age of supplied population projections)
-     * @return Mapping of subsets and population maps
+     * The index is populated from the simulated population when first requested, and is then maintained
+     * incrementally (see updatePopulationCell)
      *
      **************************************************************/
-    private MultiKeyMap<Object, List<Person>> personsByAlignmentGroupInit(int maxAlignAge) {
+    private PopulationCellIndex getPopulationCellIndex() {
 
-        MultiKeyMap<Object, List<Person>> personsByAlignmentGroup = MultiKeyMap.multiKeyMap(new LinkedMap<>());
+        if (populationCellIndex == null) {
 
-        //identify simulated personsByGenderRegionAndAge
-        for (Gender gender : Gender.values()) {
-            for (Region region: Parameters.getCountryRegions()) {
-                for (int age = 0; age <= maxAlignAge; age++) {
-                    personsByAlignmentGroup.put(gender, region, age, new LinkedList<>());
-                }
-            }
-        }
-        for (Person person : persons) {
-
-            if (SampleExit.NotYet.equals(person.getSampleExit())) {
-
-                int age = Math.min(person.getDag(), maxAlignAge);
-                List<Person> listHere = personsByAlignmentGroup.get(person.getDgn(), person.getRegion(), age);
-                if (listHere==null)
-                    throw new RuntimeException("failed to identify requested person alignment list");
-                listHere.add(person);
+            int maxAlignAge = Math.min(maxAge, Parameters.getPopulationProjectionsMaxAge());
+            populationCellIndex = new PopulationCellIndex(maxAlignAge);
+            List<Person> sortedPersons = new ArrayList<>(persons);
+            Collections.sort(sortedPersons);    // ensures that simulated populations are replicable
+            for (Person person : sortedPersons) {
+                populationCellIndex.update(person);
             }
         }
+        return populationCellIndex;
+    }
 
-        // order subgroup lists by id
-        // NOTE: lists are used to ensure that simulated populations are replicable
-        for (Gender gender : Gender.values()) {
-            for (Region region : Parameters.getCountryRegions()) {
-                for (int age = 0; age <= maxAlignAge; age++) {
-                    Collections.sort(personsByAlignmentGroup.get(gender, region, age));
-                    Collections.shuffle(personsByAlignmentGroup.get(gender, region, age), popAlignInnov);
-                }
-            }
-        }
+    void updatePopulationCell(Person person) {
+        if (populationCellIndex != null)
+            populationCellIndex.update(person);
+    }
 
-        return personsByAlignmentGroup;
+    void removeFromPopulationCells(Person person) {
+        if (populationCellIndex != null)
+            populationCellIndex.remove(person);
     }
 
 
     /**************************************************************
      *
-     * METHOD TO ORGANISE SIMULATED POPULATION OF POTENTIAL MIGRANTS INTO SUBGROUPS FOR POPULATION ALIGNMENT
-     * 	as for personsByAlignmentGroup, but limited to population of individuals who are the exclusive youngest member of
-     * 	their respective benefit units and are in households comprised of a single benefit unit
+     * METHOD TO IDENTIFY POTENTIAL MIGRANTS FOR POPULATION ALIGNMENT
+     * 	limited to individuals who are the exclusive youngest member of their respective benefit units and are in
+     * 	households comprised of a single benefit unit
      *
      **************************************************************/
-    private MultiKeyMap<Object, List<Person>> migrantPoolByAlignmentGroupInit(int maxAlignAge, MultiKeyMap<Object,
-            List<Person>> personsByAlignmentGroup) {
-
-        MultiKeyMap<Object, List<Person>> migrantsByAlignmentGroup;
-
-        //identify simulated personsByGenderRegionAndAge
-        migrantsByAlignmentGroup = MultiKeyMap.multiKeyMap(new LinkedMap<>());
-        for (Gender gender : Gender.values()) {
-            for (Region region: Parameters.getCountryRegions()) {
-                for (int age = 0; age <= maxAlignAge; age++) {
-                    migrantsByAlignmentGroup.put(gender, region, age, new LinkedList<>());
-                    List<Person> personsInGroup = personsByAlignmentGroup.get(gender, region, age);
-                    for (Person person : personsInGroup) {
+    private boolean isAlignmentMigrant(Person person) {
 
-                        boolean flagAccept = true;
-                        if ( person.getBenefitUnit().getHousehold().getBenefitUnits().size() != 1) {
-                            flagAccept = false;
-                        } else {
-                            for (Person member : person.getBenefitUnit().getMembers()) {
-                                if ( member.getDag() <= person.getDag() && member != person ) flagAccept = false;
-                            }
-                        }
-                        if (flagAccept) migrantsByAlignmentGroup.get(gender, region, age).add(person);
-                    }
-                }
-            }
+        if ( person.getBenefitUnit().getHousehold().getBenefitUnits().size() != 1)
+            return false;
+        for (Person member : person.getBenefitUnit().getMembers()) {
+            if ( member.getDag() <= person.getDag() && member != person ) return false;
         }
-
-        return migrantsByAlignmentGroup;
+        return true;
     }
 
 
@@ -1132,26 +1403,22 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
      *
      * @param age the currently considered age (in annual years)
      * @param gender the currently considered gender
-     * @param maxAlignAge the upper age bound considered for population alignment
-     * @param personsByAlignmentGroup a mapping organising current simulated population by gender region and age
-     * @param migrantPoolByAlignmentGroup as for personsByAlignment group, but limited to youngest benefit unit members
+     * @param personsByAlignmentGroup an index organising current simulated population by gender region and age
      *
      *********************************************/
-    private boolean populationAlignmentDomesticMigration(int age, Gender gender, int maxAlignAge,
-                                                         MultiKeyMap<Object, List<Person>> personsByAlignmentGroup,
-                                                         MultiKeyMap<Object, List<Person>> migrantPoolByAlignmentGroup) {
+    private boolean populationAlignmentDomesticMigration(int age, Gender gender, PopulationCellIndex personsByAlignmentGroup) {
 
         boolean flagSufficientMigrants = true;
 
         // identify to and from regions
-        List<Region> immigrantRegions = new LinkedList<>();
-        List<Region> regions = new LinkedList<>(Parameters.getCountryRegions());
+        List<Region> immigrantRegions = new ArrayList<>();
+        List<Region> regions = new ArrayList<>(Parameters.getCountryRegions());
         Collections.sort(regions);
-        List<Person> emigrantPool = new LinkedList<>();
+        List<Person> emigrantPool = new ArrayList<>();
         for (Region region : regions) {
 
             int targetNumber = (int) Math.round(Parameters.getPopulationProjections(gender, region, age, year) / scalingFactor);
-            int simulatedNumber = personsByAlignmentGroup.get(gender, region, age).size();
+            int simulatedNumber = personsByAlignmentGroup.size(gender, region, age);
             if (targetNumber > simulatedNumber) {
 
                 for(int ii=0; ii<targetNumber-simulatedNumber; ii++) {
@@ -1160,49 +1427,25 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             }
             if (targetNumber < simulatedNumber) {
 
-                for (Person person : migrantPoolByAlignmentGroup.get(gender, region, age)) {
-                    emigrantPool.add(person);
-                    simulatedNumber--;
-                    if (targetNumber == simulatedNumber) break;
+                Iterator<Person> candidates = personsByAlignmentGroup.draw(gender, region, age, popAlignInnov);
+                while (targetNumber < simulatedNumber && candidates.hasNext()) {
+                    Person person = candidates.next();
+                    if (isAlignmentMigrant(person)) {
+                        emigrantPool.add(person);
+                        simulatedNumber--;
+                    }
                 }
                 if (targetNumber < simulatedNumber) flagSufficientMigrants = false;
             }
         }
         Collections.shuffle(emigrantPool, popAlignInnov);
         Collections.shuffle(immigrantRegions, popAlignInnov);
-        Iterator<Region> immigrantRegionsIterator = immigrantRegions.iterator();
-        Iterator<Person> emigrantPoolIterator = emigrantPool.iterator();
-        while ( immigrantRegionsIterator.hasNext() && emigrantPoolIterator.hasNext() ) {
-
-            // simulate domestic migration
-            Person migrant = emigrantPoolIterator.next();
-            BenefitUnit migrantBU = migrant.getBenefitUnit();
-            Set<Person> migrants = migrantBU.getMembers();
-            Region fromRegion = migrantBU.getRegion();
-            Region toRegion = immigrantRegionsIterator.next();
-            migrantBU.setRegion(toRegion);
-
-            // update working references
-            for (Person person : migrants) {
-
-                if (SampleExit.NotYet.equals(person.getSampleExit())) {
+        int migrations = Math.min(immigrantRegions.size(), emigrantPool.size());
+        for (int ii=0; ii<migrations; ii++) {
 
-                    int ageHere = Math.min(person.getDag(), maxAlignAge);
-                    Gender genderHere = person.getDgn();
-
-                    personsByAlignmentGroup.get(genderHere, fromRegion, ageHere).remove(person);
-                    personsByAlignmentGroup.get(genderHere, toRegion, ageHere).add(person);
-                    if (ageHere == age) {
-
-                        migrantPoolByAlignmentGroup.get(genderHere, fromRegion, age).remove(person);
-                        migrantPoolByAlignmentGroup.get(genderHere, toRegion, age).add(person);
-                    }
-                }
-            }
-
-            // update counters and references
-            emigrantPoolIterator.remove();
-            immigrantRegionsIterator.remove();
+            // simulate domestic migration - population cells of benefit unit members are updated with region
+            Person migrant = emigrantPool.get(ii);
+            migrant.getBenefitUnit().setRegion(immigrantRegions.get(ii));
         }
 
         return flagSufficientMigrants;
@@ -1215,23 +1458,20 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
      *
      * @param age the currently considered age (in annual years)
      * @param gender the currently considered gender
-     * @param personsByAlignmentGroup a mapping organising current simulated population by gender region and age
+     * @param personsByAlignmentGroup an index organising current simulated population by gender region and age
      * @param flagSufficientMigrants flag to indicate that internal emigration in all regions covered by available pools
-     * @param migrantPoolByAlignmentGroup as for personsByAlignmentGroup, but limited to youngest benefit unit members
      *
      *********************************************/
-    private void populationAlignmentResidual(int age, Gender gender, int maxAlignAge,
-                                             MultiKeyMap<Object, List<Person>> personsByAlignmentGroup,
-                                             boolean flagSufficientMigrants,
-                                             MultiKeyMap<Object, List<Person>> migrantPoolByAlignmentGroup) {
+    private void populationAlignmentResidual(int age, Gender gender, PopulationCellIndex personsByAlignmentGroup,
+                                             boolean flagSufficientMigrants) {
 
         int indicatorError = 0;
-        List<Region> regions = new LinkedList<>(Parameters.getCountryRegions());
+        List<Region> regions = new ArrayList<>(Parameters.getCountryRegions());
         Collections.sort(regions);
         for (Region region : regions) {
 
             int targetNumber = (int) Math.round(Parameters.getPopulationProjections(gender, region, age, year) / scalingFactor);
-            int simulatedNumber = personsByAlignmentGroup.get(gender, region, age).size();
+            int simulatedNumber = personsByAlignmentGroup.size(gender, region, age);
             if (targetNumber < simulatedNumber) {
                 // emigration or death
 
@@ -1244,36 +1484,26 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
                 if (age < Parameters.ALIGN_MIN_AGE_ASSUME_DEATH) {
                     // simulate emigration
 
-                    Iterator<Person> migrantPoolByAlignmentGroupIterator = migrantPoolByAlignmentGroup.get(gender, region, age).iterator();
-                    while (targetNumber < simulatedNumber && migrantPoolByAlignmentGroupIterator.hasNext()) {
-
-                        Person emigrant = migrantPoolByAlignmentGroupIterator.next();
-                        BenefitUnit emigrantBU = emigrant.getBenefitUnit();
-                        Set<Person> emigrants = emigrantBU.getMembers();
+                    Iterator<Person> candidates = personsByAlignmentGroup.draw(gender, region, age, popAlignInnov);
+                    while (targetNumber < simulatedNumber && candidates.hasNext()) {
 
-                        // update working references
-                        for (Person person : emigrants) {
+                        Person emigrant = candidates.next();
+                        if (isAlignmentMigrant(emigrant)) {
 
-                            if (SampleExit.NotYet.equals(person.getSampleExit())) {
-
-                                int ageHere = Math.min(person.getDag(), maxAlignAge);
-                                Gender genderHere = person.getDgn();
-                                personsByAlignmentGroup.get(genderHere, region, ageHere).remove(person);
-                                if (ageHere == age && person!=emigrant) {
-                                    migrantPoolByAlignmentGroup.get(genderHere, region, age).remove(person);
-                                }
-                                person.setSampleExit(SampleExit.EmigrationAlignment);
+                            // population cells of benefit unit members are updated on exit
+                            for (Person person : emigrant.getBenefitUnit().getMembers()) {
+                                if (SampleExit.NotYet.equals(person.getSampleExit()))
+                                    person.setSampleExit(SampleExit.EmigrationAlignment);
                             }
+                            simulatedNumber --;
                         }
-                        migrantPoolByAlignmentGroupIterator.remove();
-                        simulatedNumber --;
                     }
                 }
-                Iterator<Person> personIterator = personsByAlignmentGroup.get(gender, region, age).iterator();
-                while (targetNumber < simulatedNumber && personIterator.hasNext()) {
+                Iterator<Person> candidates = personsByAlignmentGroup.draw(gender, region, age, popAlignInnov);
+                while (targetNumber < simulatedNumber && candidates.hasNext()) {
                     // simulate death - may be of any age
 
-                    Person candidate = personIterator.next();
+                    Person candidate = candidates.next();
                     BenefitUnit benefitUnit = candidate.getBenefitUnit();
                     if ( benefitUnit == null ) {
                         throw new RuntimeException("Missing benefit unit for candidate to kill in population alignment.");
@@ -1283,12 +1513,6 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
                         // death of person should not affect existence of any other person in model
 
                         candidate.setSampleExit(SampleExit.DeathAlignment);
-
-                        // update counters and references
-                        personIterator.remove();
-                        if (migrantPoolByAlignmentGroup.get(gender, region,age).contains(candidate)) {
-                            migrantPoolByAlignmentGroup.get(gender, region,age).remove(candidate);
-                        }
                         simulatedNumber --;
                     }
                 }
@@ -1302,34 +1526,36 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
                     throw new RuntimeException("Inconsistent treatment of population alignment across regions");
                 }
 
-                List<Person> migrantPool = migrantPoolByAlignmentGroup.get(gender, region, age);
+                List<Person> migrantPool = new ArrayList<>();
+                addAlignmentMigrants(migrantPool, personsByAlignmentGroup.draw(gender, region, age, popAlignInnov));
                 for (Region region1 : regions) {
                     if (region1 != region) {
-                        migrantPool.addAll(migrantPoolByAlignmentGroup.get(gender, region1, age));
+                        addAlignmentMigrants(migrantPool, personsByAlignmentGroup.draw(gender, region1, age, popAlignInnov));
                     }
                 }
                 Iterator<Person> migrantPoolIterator = migrantPool.iterator();
                 while (targetNumber>simulatedNumber && migrantPoolIterator.hasNext()) {
 
+                    // population cells of cloned persons are updated with region
                     Person immigrant = migrantPoolIterator.next();
                     Household newHousehold = new Household();
                     households.add(newHousehold);
                     BenefitUnit immigrantBU = cloneBenefitUnit(immigrant.getBenefitUnit(), newHousehold, SampleEntry.ImmigrationAlignment);
                     immigrantBU.setRegion(region);
-
-                    // update counters and references
-                    for (Person person : immigrantBU.getMembers()) {
-
-                        int ageHere = Math.min(person.getDag(), maxAlignAge);
-                        Gender genderHere = person.getDgn();
-                        personsByAlignmentGroup.get(genderHere, region, ageHere).add(person);
-                    }
                     simulatedNumber ++;
                 }
             }
         }
     }
 
+    private void addAlignmentMigrants(List<Person> migrantPool, Iterator<Person> candidates) {
+        while (candidates.hasNext()) {
+            Person person = candidates.next();
+            if (isAlignmentMigrant(person))
+                migrantPool.add(person);
+        }
+    }
+
 
     /**********************************************************
      *
@@ -1358,7 +1584,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
 
         // initialise objects
 
-        double seed0 = SimulationEngine.getRnd().nextDouble();
+        double seed0 = RunScope.nextDouble();
         long seed = (SampleEntry.ProcessedInputData.equals(sampleEntry)) ? originalBenefitUnit.getSeed() : (long)(seed0*100000);
 
         BenefitUnit newBenefitUnit = new BenefitUnit(originalBenefitUnit, seed, sampleEntry);
@@ -1370,7 +1596,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         Set<Person> originalPersons = originalBenefitUnit.getMembers();
         for (Person originalPerson : originalPersons) {
 
-            seed0 = SimulationEngine.getRnd().nextDouble();
+            seed0 = RunScope.nextDouble();
             seed = (SampleEntry.ProcessedInputData.equals(sampleEntry)) ? originalPerson.getSeed() : (long)(seed0*100000);
             Person newPerson = new Person(originalPerson, seed, sampleEntry);
             newPerson.setBenefitUnit(newBenefitUnit);
@@ -1855,7 +2081,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     public void activityAlignmentSingleMales() {
         double utilityAdjustment = Parameters.getTimeSeriesValue(getYear(), TimeSeriesVariable.UtilityAdjustmentSingleMales);
         ActivityAlignment activityAlignmentSingleMales = new ActivityAlignment(persons, benefitUnits, Parameters.getCoeffLabourSupplyUtilityMales(), new String[]{"MaleLeisure"}, Occupancy.Single_Male, utilityAdjustment);
-        RootSearch search = getRootSearch(utilityAdjustment, activityAlignmentSingleMales, 1.0E-2, 1.0E-2, 0.5); // epsOrdinates and epsFunction determine the stopping condition for the search.
+        RootSearch search = getAlignmentSearch("UtilityAdjustmentSingleMales", utilityAdjustment, utilityAdjustment - 0.5, utilityAdjustment + 0.5, activityAlignmentSingleMales, 1.0E-2, 1.0E-2); // epsOrdinates and epsFunction determine the stopping condition for the search.
         if (search.isTargetAltered()) {
             Parameters.putTimeSeriesValue(getYear(), search.getTarget()[0], TimeSeriesVariable.UtilityAdjustmentSingleMales); // If adjustment is altered from the initial value, update the map
             System.out.println("Utility adjustment for single males was " + search.getTarget()[0]);
@@ -1865,7 +2091,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     public void activityAlignmentSingleFemales() {
         double utilityAdjustment = Parameters.getTimeSeriesValue(getYear(), TimeSeriesVariable.UtilityAdjustmentSingleFemales);
         ActivityAlignment activityAlignmentSingleFemales = new ActivityAlignment(persons, benefitUnits, Parameters.getCoeffLabourSupplyUtilityFemales(), new String[]{"FemaleLeisure"}, Occupancy.Single_Female, utilityAdjustment);
-        RootSearch search = getRootSearch(utilityAdjustment, activityAlignmentSingleFemales, 1.0E-2, 1.0E-2, 2); // epsOrdinates and epsFunction determine the stopping condition for the search.
+        RootSearch search = getAlignmentSearch("UtilityAdjustmentSingleFemales", utilityAdjustment, utilityAdjustment - 2, utilityAdjustment + 2, activityAlignmentSingleFemales, 1.0E-2, 1.0E-2); // epsOrdinates and epsFunction determine the stopping condition for the search.
         if (search.isTargetAltered()) {
             Parameters.putTimeSeriesValue(getYear(), search.getTarget()[0], TimeSeriesVariable.UtilityAdjustmentSingleFemales); // If adjustment is altered from the initial value, update the map
             System.out.println("Utility adjustment for single females was " + search.getTarget()[0]);
@@ -1875,7 +2101,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     public void activityAlignmentCouples() {
         double utilityAdjustment = Parameters.getTimeSeriesValue(getYear(), TimeSeriesVariable.UtilityAdjustmentCouples);
         ActivityAlignment activityAlignmentCouples = new ActivityAlignment(persons, benefitUnits, Parameters.getCoeffLabourSupplyUtilityCouples(), new String[]{"MaleLeisure","FemaleLeisure"}, Occupancy.Couple, utilityAdjustment);
-        RootSearch search = getRootSearch(utilityAdjustment, activityAlignmentCouples, 1.0E-2, 1.0E-2, 2); // epsOrdinates and epsFunction determine the stopping condition for the search.
+        RootSearch search = getAlignmentSearch("UtilityAdjustmentCouples", utilityAdjustment, utilityAdjustment - 2, utilityAdjustment + 2, activityAlignmentCouples, 1.0E-2, 1.0E-2); // epsOrdinates and epsFunction determine the stopping condition for the search.
         if (search.isTargetAltered()) {
             Parameters.putTimeSeriesValue(getYear(), search.getTarget()[0], TimeSeriesVariable.UtilityAdjustmentCouples); // If adjustment is altered from the initial value, update the map
             System.out.println("Utility adjustment for couples was " + search.getTarget()[0]);
@@ -1893,7 +2119,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         double maxVal = Math.min(4.0, - partnershipAdjustment + 4.0);
 
         // run search
-        RootSearch search = getRootSearch(0.0, minVal, maxVal, partnershipAlignment, 5.0E-3, 5.0E-3); // epsOrdinates and epsFunction determine the stopping condition for the search. For partnershipAlignment error term is the difference between target and observed share of partnered individuals.
+        RootSearch search = getAlignmentSearch("PartnershipAlignment", 0.0, minVal, maxVal, partnershipAlignment, 5.0E-3, 5.0E-3); // epsOrdinates and epsFunction determine the stopping condition for the search. For partnershipAlignment error term is the difference between target and observed share of partnered individuals.
 
         // check result
         //double val = partnershipAlignment.evaluate(search.getTarget());
@@ -1922,6 +2148,45 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         return search;
     }
 
+    /**
+     * METHOD TO SEARCH FOR ALIGNMENT ADJUSTMENT, STARTING FROM THE ADJUSTMENT SAVED FOR THE CURRENT YEAR BY AN
+     * EARLIER RUN WHERE THE ALIGNMENT CACHE IS USED AND HOLDS ONE, AND OTHERWISE (WHERE warmStartAlignment) FROM THE
+     * ADJUSTMENT OF THE PREVIOUS SIMULATED YEAR. THE WARM START DOES NOT DEPEND ON THE ALIGNMENT CACHE
+     * STARTING POINTS ARE ONLY ACCEPTED WHERE THESE SATISFY epsFunction (SEE RootSearch.evaluateFrom), AND
+     * isTargetAltered() REPORTS WHETHER THE SOLUTION DIFFERS FROM initialAdjustment
+     */
+    private RootSearch getAlignmentSearch(String alignment, double initialAdjustment, double minVal, double maxVal, IEvaluation alignmentClass, double epsOrdinates, double epsFunction) {
+
+        if (!warmStartAlignment && alignmentCache == null)
+            return getRootSearch(initialAdjustment, minVal, maxVal, alignmentClass, epsOrdinates, epsFunction);
+
+        Double start = (alignmentCache == null) ? null : alignmentCache.get(alignment, getYear());
+        if (start == null && warmStartAlignment)
+            start = previousAlignments.get(alignment);
+        if (start == null)
+            start = initialAdjustment;
+        RootSearch search = new RootSearch(new double[] {minVal}, new double[] {maxVal}, new double[] {initialAdjustment},
+                alignmentClass, epsOrdinates, epsFunction);
+        search.evaluateFrom(new double[] {start}, (maxVal - minVal) / 16.0);
+        previousAlignments.put(alignment, search.getTarget()[0]);
+        if (alignmentCache != null)
+            alignmentCache.put(alignment, getYear(), search.getTarget()[0]);
+        return search;
+    }
+
+    private String getAlignmentCacheSettings() {
+
+        StringBuilder settings = new StringBuilder();
+        try {
+            for (String name : ALIGNMENT_CACHE_SETTINGS) {
+                settings.append(name).append('=').append(SimPathsModel.class.getDeclaredField(name).get(this)).append(';');
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException("problem describing model settings for alignment cache", e);
+        }
+        return settings.toString();
+    }
+
 
     /**
      *
@@ -2231,7 +2496,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         double maxVal = Math.min(4.0, - fertiityAdjustment + 4.0);
 
         // run search
-        RootSearch search = getRootSearch(0.0, minVal, maxVal, fertilityAlignment, 5.0E-3, 5.0E-3); // epsOrdinates and epsFunction determine the stopping condition for the search. For partnershipAlignment error term is the difference between target and observed share of partnered individuals.
+        RootSearch search = getAlignmentSearch("FertilityAlignment", 0.0, minVal, maxVal, fertilityAlignment, 5.0E-3, 5.0E-3); // epsOrdinates and epsFunction determine the stopping condition for the search. For partnershipAlignment error term is the difference between target and observed share of partnered individuals.
 
         // update and exit
         if (search.isTargetAltered()) {
@@ -2286,6 +2551,14 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
     }
 
 
+    /**
+     * settings of connections to the input database: the database is prepared by the first run, and only read by
+     * subsequent runs, which may execute concurrently (see simpaths.experiment.MultiRunThreads)
+     */
+    private String inputDatabaseAccess() {
+        return isFirstRun ? "" : ";ACCESS_MODE_DATA=r";
+    }
+
     private void inputDatabaseInteraction() {
 
         Connection conn = null;
@@ -2294,7 +2567,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             Class.forName("org.h2.Driver");
             System.out.println("Reading from database at " + DatabaseUtils.databaseInputUrl);
             try {
-                conn = DriverManager.getConnection("jdbc:h2:"+DatabaseUtils.databaseInputUrl + ";TRACE_LEVEL_FILE=0;TRACE_LEVEL_SYSTEM_OUT=0;AUTO_SERVER=TRUE", "sa", "");
+                conn = DriverManager.getConnection("jdbc:h2:"+DatabaseUtils.databaseInputUrl + ";TRACE_LEVEL_FILE=0;TRACE_LEVEL_SYSTEM_OUT=0;AUTO_SERVER=TRUE" + inputDatabaseAccess(), "sa", "");
             }
             catch (SQLException e) {
                 log.info(e.getMessage());
@@ -2394,12 +2667,13 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         persons = new LinkedHashSet<Person>();
         benefitUnits = new LinkedHashSet<BenefitUnit>();
         households = new LinkedHashSet<Household>(); //Also initialise set of families to which benefitUnits belong
+        populationCellIndex = null;
 
         double aggregatePersonsWeight = 0.;            //Aggregate Weight of simulated individuals (a weighted sum of the simulated individuals)
         double aggregateHouseholdsWeight = 0.;        //Aggregate Weight of simulated benefitUnits (a weighted sum of the simulated households)
 
         //TODO: Slight differences between otherwise identical simulations arise when loading "processed" vs "unprocessed" data (distinguished by the if statement below)
-        Processed processed = getProcessed();
+        Processed processed = (startingPopulation != null) ? startingPopulation : getProcessed();
         if (processed!=null) {
             Set<Household> households = processed.getHouseholds();
             if (households.isEmpty())
@@ -2679,6 +2953,22 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         return year;
     }
 
+    public AgentStore getPersonStore() {
+        return personStore;
+    }
+
+    public long getInnovationsSeed() {
+        return innovationsSeed;
+    }
+
+    public void setInnovationsSeed(long innovationsSeed) {
+        this.innovationsSeed = innovationsSeed;
+    }
+
+    public void setStartingPopulation(Processed startingPopulation) {
+        this.startingPopulation = startingPopulation;
+    }
+
 //	public Integer getMinRetireAgeMales() {
 //		return minRetireAgeMales;
 //	}
@@ -2771,6 +3061,10 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         this.randomSeedIfFixed = randomSeedIfFixed;
     }
 
+    public DonorTaxImputationSurface getTaxImputationSurface() {
+        return taxImputationSurface;
+    }
+
     public void setInterestRateInnov(double innov) {
         interestRateInnov = innov;
     }
@@ -3121,18 +3415,29 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         return alignEmployment;
     }
 
+    public boolean isParallelAgentProcesses() {
+        return parallelAgentProcesses;
+    }
+
 
     /**
      *
      * POPULATE PARAMETERS.taxdbReferences FOR EVALUATING TAX AND BENEFIT PAYMENTS
      *
      */
-    private static void populateTaxdbReferences() {
+    static void populateTaxdbReferences() {
 
         Map<Triple<Integer,Integer,Integer>,List<Integer>> taxdbReferences = Parameters.getTaxdbReferences();
         if (taxdbReferences.size() == 0) {
             // Checks if the map is already populated; if not proceed with the code below. This should happen only on the first run of the model.
 
+            // restore indices from snapshot saved by a prior run, if donor data are unchanged
+            String snapshotSignature = DonorPoolSnapshot.signature(DatabaseUtils.databaseInputUrl);
+            if (DonorPoolSnapshot.load(DatabaseUtils.databaseInputUrl, snapshotSignature)) {
+                System.out.println("Restored donor database indices from snapshot");
+                return;
+            }
+
             System.out.println("Populating donor database indices");
 
             //------------------------------------------------------------
@@ -3225,6 +3530,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
                 // instantiate Parameters for retrieval
                 Parameters.setTaxdbReferences(taxdbReferences);
                 Parameters.setDonorPool(donorPool);
+                Parameters.setDonorPoolIndex(new DonorPoolIndex(taxdbReferences, donorPool));
                 Parameters.setMdDualIncome(mdDualIncome);
                 Parameters.setMdChildcare(mdChildcare);
                 Parameters.setMdDualIncomeChildcare(mdDualIncomeChildcare);
@@ -3232,6 +3538,9 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
                 // close database connection
                 txn.commit();
                 em.close();
+
+                // save snapshot for subsequent runs
+                DonorPoolSnapshot.save(DatabaseUtils.databaseInputUrl, snapshotSignature);
             } catch (Exception e) {
                 if (txn != null && txn.isActive()) {
                     txn.rollback();
@@ -3266,13 +3575,22 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
 
     private Processed getProcessed(Country country, int startYear, int popSize, boolean ignoreTargetsAtPopulationLoad) {
 
+        if (usePopulationSnapshot) {
+            Processed processed = PopulationSnapshot.load(DatabaseUtils.databaseInputUrl, country, startYear, popSize, ignoreTargetsAtPopulationLoad);
+            if (processed != null)
+                return processed;
+        }
+
         Processed processed = null;
 
         EntityTransaction txn = null;
         try {
 
             // query database
-            EntityManager em = Persistence.createEntityManagerFactory("starting-population").createEntityManager();
+            Map propertyMap = new HashMap();
+            if (!isFirstRun)
+                propertyMap.put("hibernate.connection.url", "jdbc:h2:file:" + DatabaseUtils.databaseInputUrl + inputDatabaseAccess());
+            EntityManager em = Persistence.createEntityManagerFactory("starting-population", propertyMap).createEntityManager();
             txn = em.getTransaction();
             txn.begin();
             String query = "SELECT processed FROM Processed processed LEFT JOIN FETCH processed.households households LEFT JOIN FETCH households.benefitUnits benefitUnits LEFT JOIN FETCH benefitUnits.members members WHERE processed.startYear = " + startYear + " AND processed.popSize = " + popSize + " AND processed.country = " + country + " AND processed.noTargets = " + ignoreTargetsAtPopulationLoad + " ORDER BY households.key.id";
@@ -3295,6 +3613,8 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             e.printStackTrace();
             throw new RuntimeException("Problem sourcing data for starting population");
         }
+        if (usePopulationSnapshot && processed != null)
+            PopulationSnapshot.save(DatabaseUtils.databaseInputUrl, processed);
 
         return processed;
     }
@@ -3307,7 +3627,7 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
         try {
 
             Map propertyMap = new HashMap();
-            propertyMap.put("hibernate.connection.url", "jdbc:h2:file:" + DatabaseUtils.databaseInputUrl);
+            propertyMap.put("hibernate.connection.url", "jdbc:h2:file:" + DatabaseUtils.databaseInputUrl + inputDatabaseAccess());
             EntityManager em = Persistence.createEntityManagerFactory("starting-population", propertyMap).createEntityManager();
             txn = em.getTransaction();
             txn.begin();
@@ -3357,6 +3677,9 @@ public class SimPathsModel extends AbstractSimulationManager implements EventLis
             em.persist(processed);
             txn.commit();
             em.close();
+            PopulationSnapshot.recordStamp(DatabaseUtils.databaseInputUrl, processed.getId());   // invalidates snapshots of earlier contents
+            if (usePopulationSnapshot)
+                PopulationSnapshot.save(DatabaseUtils.databaseInputUrl, processed);
         } catch (Exception e) {
             if (txn != null) {
                 txn.rollback();
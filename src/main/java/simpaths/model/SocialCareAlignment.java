@@ -14,11 +14,15 @@ public class SocialCareAlignment implements IEvaluation {
     boolean careProvisionAdjustmentChanged;
     private int maturePopulation;
     Set<Person> persons;
+    private AlignmentPopulation<Person> population;   // persons partitioned by eligibility to provide care
 
     public SocialCareAlignment(Set<Person> persons, double careProvisionAdjustment) {
         this.persons = persons;
         this.careProvisionAdjustment = careProvisionAdjustment;
         aggregateCareReceived = evalAggregateCareReceived();
+        population = new AlignmentPopulation<>(persons,
+                person -> person.getDag() >= Parameters.AGE_TO_BECOME_RESPONSIBLE,
+                Person::getCareHoursProvidedWeekly, RunScope.model().isParallelAgentProcesses());
     }
 
     @Override
@@ -48,17 +52,15 @@ public class SocialCareAlignment implements IEvaluation {
     }
 
     private double evalAggregateCareProvided() {
-        double careProvided = 0.0;
-        for (Person person : persons) {
-            careProvided += person.getCareHoursProvidedWeekly();
-        }
-        return careProvided;
+        return population.getTotal();
     }
 
     private void adjustCareProvision(double newCareProvisionAdjustment) {
-        for (Person person : persons) {
-            person.evaluateSocialCareProvision(newCareProvisionAdjustment);
-        }
+        if (!careProvisionAdjustmentChanged)   // first adjustment: persons below age of responsibility provide no care
+            population.applyToIneligible(person -> person.evaluateSocialCareProvision(newCareProvisionAdjustment));
+        // evaluated in parallel: evaluateSocialCareProvision writes only the care provision of the person, and reads the
+        // care receipt of the partner, which is not modified by this process
+        population.apply(person -> person.evaluateSocialCareProvision(newCareProvisionAdjustment));
         careProvisionAdjustment = newCareProvisionAdjustment;
         careProvisionAdjustmentChanged = true;
     }
@@ -1,6 +1,7 @@
 package simpaths.model;
 
 import simpaths.data.Parameters;
+import simpaths.data.ProcessProfile;
 import simpaths.model.taxes.*;
 
 /**
@@ -21,6 +22,7 @@ public class TaxEvaluation {
     private DonorKeys keys;
     private Match match;
     private double socialCareSupportPerMonth = 0.0;
+    private static final ProcessProfile.Counter IMPUTATION_PROFILE = ProcessProfile.counter("TaxEvaluation.Imputation");
 
 
     /**
@@ -31,6 +33,15 @@ public class TaxEvaluation {
                          int numberChildren10To17, double hoursWorkedPerWeekMan, double hoursWorkedPerWeekWoman,
                          int disabilityMan, int disabilityWoman, int careProvision, double originalIncomePerMonth, double secondIncomePerMonth,
                          double childcareCostPerMonth, double randomDraw) {
+        this(simYear, age, numberMembersOver17, numberChildrenUnder5, numberChildren5To9, numberChildren10To17, hoursWorkedPerWeekMan,
+                hoursWorkedPerWeekWoman, disabilityMan, disabilityWoman, careProvision, originalIncomePerMonth, secondIncomePerMonth,
+                childcareCostPerMonth, randomDraw, null);
+    }
+    // drawing on imputer (e.g. lookup surfaces) if not null
+    public TaxEvaluation(int simYear, int age, int numberMembersOver17, int numberChildrenUnder5, int numberChildren5To9,
+                         int numberChildren10To17, double hoursWorkedPerWeekMan, double hoursWorkedPerWeekWoman,
+                         int disabilityMan, int disabilityWoman, int careProvision, double originalIncomePerMonth, double secondIncomePerMonth,
+                         double childcareCostPerMonth, double randomDraw, DonorTaxImputer imputer) {
 
         // evaluate imputed transfer payments
         keys = new DonorKeys(randomDraw);
@@ -41,7 +52,7 @@ public class TaxEvaluation {
         // evaluate transfer payments
         evaluateImputedTaxes(simYear, priceYear, age, numberMembersOver17, numberChildrenUnder5, numberChildren5To9, numberChildren10To17,
                 hoursWorkedPerWeekMan, hoursWorkedPerWeekWoman, disabilityMan, disabilityWoman, careProvision, originalIncomePerMonth,
-                secondIncomePerMonth, childcareCostPerMonth);
+                secondIncomePerMonth, childcareCostPerMonth, imputer);
 
     }
     // used for expectations and benefit unit evaluations
@@ -49,9 +60,18 @@ public class TaxEvaluation {
                          double hoursWorkedPerWeekMan, double hoursWorkedPerWeekWoman, int disabilityMan, int disabilityWoman, int careProvision,
                          double originalIncomePerMonth, double secondIncomePerMonth, double childcareCostPerMonth, double socialCareCostPerMonth,
                          Double liquidWealth, double randomDraw) {
+        this(year, age, numberMembersOver17, numberChildrenUnder5, numberChildren5To9, numberChildren10To17, hoursWorkedPerWeekMan,
+                hoursWorkedPerWeekWoman, disabilityMan, disabilityWoman, careProvision, originalIncomePerMonth, secondIncomePerMonth,
+                childcareCostPerMonth, socialCareCostPerMonth, liquidWealth, randomDraw, null);
+    }
+    // used for expectations and benefit unit evaluations, drawing on imputer (e.g. cached imputations) if not null
+    public TaxEvaluation(int year, int age, int numberMembersOver17, int numberChildrenUnder5, int numberChildren5To9, int numberChildren10To17,
+                         double hoursWorkedPerWeekMan, double hoursWorkedPerWeekWoman, int disabilityMan, int disabilityWoman, int careProvision,
+                         double originalIncomePerMonth, double secondIncomePerMonth, double childcareCostPerMonth, double socialCareCostPerMonth,
+                         Double liquidWealth, double randomDraw, DonorTaxImputer imputer) {
 
         this(year, age, numberMembersOver17, numberChildrenUnder5, numberChildren5To9, numberChildren10To17, hoursWorkedPerWeekMan,
-                hoursWorkedPerWeekWoman, disabilityMan, disabilityWoman, careProvision, originalIncomePerMonth, secondIncomePerMonth, childcareCostPerMonth, randomDraw);
+                hoursWorkedPerWeekWoman, disabilityMan, disabilityWoman, careProvision, originalIncomePerMonth, secondIncomePerMonth, childcareCostPerMonth, randomDraw, imputer);
 
         if (Parameters.flagSocialCare) {
 
@@ -71,7 +91,7 @@ public class TaxEvaluation {
     private void evaluateImputedTaxes(int simYear, int priceYear, int age, int numberMembersOver17, int numberChildrenUnder5, int numberChildren5To9,
                                       int numberChildren10To17, double hoursWorkedPerWeekMan, double hoursWorkedPerWeekWoman,
                                       int disabilityMan, int disabilityWoman, int careProvision, double originalIncomePerMonth, double secondIncomePerMonth,
-                                      double childcareCostPerMonth) {
+                                      double childcareCostPerMonth, DonorTaxImputer imputer) {
 
         double originalIncomePerWeek = originalIncomePerMonth / Parameters.WEEKS_PER_MONTH;  // can be negative
         double secondIncomePerWeek = secondIncomePerMonth / Parameters.WEEKS_PER_MONTH;
@@ -80,8 +100,14 @@ public class TaxEvaluation {
                 numberChildren5To9, numberChildren10To17, hoursWorkedPerWeekMan, hoursWorkedPerWeekWoman, disabilityMan,
                 disabilityWoman, careProvision, originalIncomePerWeek, secondIncomePerWeek, childcareCostPerWeek);
         keys.evaluate(keyFunction);
-        imputedTransfers = new DonorTaxImputation(keys);
-        imputedTransfers.evaluate();
+        ProcessProfile.Sample sample = IMPUTATION_PROFILE.start();
+        if (imputer != null) {
+            imputedTransfers = imputer.evaluate(keys);
+        } else {
+            imputedTransfers = new DonorTaxImputation(keys);
+            imputedTransfers.evaluate();
+        }
+        IMPUTATION_PROFILE.stop(sample, 1);
         match = new Match(keys, imputedTransfers.getDonorID(), imputedTransfers.getMatchCriterion(), Math.sinh(imputedTransfers.getTargetNormalisedOriginalIncome()));
         if (numberChildren5To9+numberChildren10To17+numberChildrenUnder5==0 && childcareCostPerMonth>0.0)
             throw new RuntimeException("call for childcare with no children");
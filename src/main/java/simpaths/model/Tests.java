@@ -1,6 +1,5 @@
 package simpaths.model;
 
-import microsim.engine.SimulationEngine;
 import microsim.event.EventListener;
 
 import jakarta.persistence.Transient;
@@ -20,7 +19,7 @@ public class Tests implements EventListener {
      */
 
     public Tests() {
-        model =  (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
+        model =  RunScope.model();
     }
 
     public void runTests() {
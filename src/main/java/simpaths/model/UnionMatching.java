@@ -1,6 +1,5 @@
 package simpaths.model;
 
-import microsim.matching.GlobalMatching;
 import microsim.matching.IterativeRandomMatching;
 import microsim.matching.MatchingClosure;
 import microsim.matching.MatchingScoreClosure;
@@ -100,13 +99,18 @@ public class UnionMatching {
     // EVALUATE MATCHES BY GLOBAL MATCHING
     public void evaluateGM() {
 
-        // unmatched = IterativeSimpleMatching.getInstance().matching(
-        unmatched = GlobalMatching.getInstance().matching(
+        // scores are the squared distance between (age - desired age difference, earnings potential) of males and
+        // (age, earnings potential + desired earnings potential difference) of females - see localGetValue
+        BucketedGlobalMatching<Person> globalMatching = new BucketedGlobalMatching<>(
+                Parameters.AGE_DIFFERENCE_INITIAL_BOUND, Parameters.POTENTIAL_EARNINGS_DIFFERENCE_INITIAL_BOUND,
+                male -> male.getDag() - male.getDesiredAgeDiff(),
+                Person::getFullTimeHourlyEarningsPotential,
+                female -> female.getDag(),
+                female -> female.getFullTimeHourlyEarningsPotential() + female.getDesiredEarningsPotentialDiff());
+        globalMatching.matching(
 
             unmatched.getFirst(),
-            null,
             unmatched.getSecond(),
-            null,
             new MatchingScoreClosure<Person>() {
                 @Override
                 public Double getValue(Person male, Person female) {
@@ -120,6 +124,7 @@ public class UnionMatching {
                 }
             }
         );
+        unmatched = new Pair<>(unmatchedMales, unmatchedFemales);
     }
 
 
@@ -23,8 +23,8 @@ public class Validator implements IDoubleSource {
     // ---------------------------------------------------------------------
     public Validator() {
         super();
-        model = (SimPathsModel) SimulationEngine.getInstance().getManager(SimPathsModel.class.getCanonicalName());
-        collector = (SimPathsCollector) SimulationEngine.getInstance().getManager(SimPathsCollector.class.getCanonicalName());
+        model = RunScope.model();
+        collector = RunScope.collector();
         observer = (SimPathsObserver) SimulationEngine.getInstance().getManager(SimPathsObserver.class.getCanonicalName());
     }
 
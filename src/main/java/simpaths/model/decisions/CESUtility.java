@@ -16,6 +16,7 @@ public class CESUtility implements IEvaluation {
      */
     Expectations expectations;      // expectations initialised and updated to account for discrete control variables
     Grid valueFunction;            // storage of preceding solutions for value function
+    double[] expectedValues;        // working storage for value function evaluated at anticipated states
 
     // CES utility options
     public static final double ANNUAL_CONSUMPTION_NORMALISATION_FACTOR = 15600.0;   // used to improve the curvature of the utility function with respect to consumption
@@ -104,14 +105,20 @@ public class CESUtility implements IEvaluation {
         else
             probThreshold = 1.0E-12;
         Double expectedUtility = 0.0;
+        boolean survival = 1.0 - expectations.mortalityProbability > probThreshold;
+        if (survival && expectations.anticipated.length>0) {
+            if (expectedValues == null || expectedValues.length < expectations.anticipated.length)
+                expectedValues = new double[expectations.anticipated.length];
+            valueFunction.interpolateAll(expectations.anticipated, expectations.probability, probThreshold, true, expectedValues);
+        }
         if (expectations.anticipated.length>0) {
             for (int ii=0; ii<expectations.anticipated.length; ii++) {
                 if (expectations.probability[ii] > probThreshold) {
                     sumProb += expectations.probability[ii];
                     Double expectedV=0.0, utilBequest=0.0;
                     double bequest;
-                    if ( 1.0 - expectations.mortalityProbability > probThreshold ) {
-                        expectedV = valueFunction.interpolateAll(expectations.anticipated[ii], true);
+                    if ( survival ) {
+                        expectedV = expectedValues[ii];
                         if (expectedV.isNaN())
                             throw new RuntimeException("expected utility expected utility 1");
                     }
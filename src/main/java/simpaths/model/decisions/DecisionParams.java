@@ -16,13 +16,23 @@ public class DecisionParams {
     public static boolean saveGridSlicesToCSV = false;
     public static boolean saveIntermediateSolutions = false;
     public static boolean saveImperfectTaxDbMatches = false;
+    public static boolean mapSavedGrids = true;                       // map saved grids from disk (paged in on demand and shared between simultaneous runs), rather than loading them to the heap (see GridFile.load)
+    public static boolean mapSolvedGrids = false;                     // store grids off-heap in files mapped to memory while solving
+    public static boolean saveGridFile = true;                        // save grids in versioned file format (GridFile), which supports validation and loading by age slice, rather than as raw files of each grid (.uft)
+    public static boolean compressGridFile = false;                   // compress age slices of GridFile (compressed grid files are read to the heap, rather than mapped)
+    public static boolean floatPolicyGrids = false;                   // store policy grids (consumption and employment) at float precision in GridFile (grid files at float precision are read to the heap, rather than mapped)
 
     public static final boolean FILTER_LOCAL_EXPECTATIONS = true;    // screens expectations to omit low probability events
     public static final double MIN_STATE_PROBABILITY = 0.01;          // if FILTER_LOCAL_EXPECTATIONS, omits state-specific events with probability under this threshold
     public static final double MIN_FACTOR_PROBABILITY = 0.05;         // if FILTER_LOCAL_EXPECTATIONS, omits events with probability less than mean probability multiplied by this threshold
 
-    public static final boolean SOLVE_FROM_INTERMEDIATE = false;
-    public static final int SOLVE_FROM_AGE = 74;                     // if SOLVE_FROM_INTERMEDIATE
+    public static boolean checkpointSolutions = true;                 // save solutions after each age, so that interrupted solutions can be resumed
+    public static int solveWorkers = 0;                               // number of local worker processes used to solve grids (0 = solve in current JVM only)
+    public static final int SOLVE_UNITS_PER_WORKER = 4;               // number of work units per worker process, into which outer states of each age are split
+    public static boolean cacheTaxBenefitEvaluations = false;         // memoise tax and benefit imputations while solving grids (see DonorTaxImputationCache) - imputations are evaluated at quantised financial statistics, so solutions are close to but not identical with those obtained without the cache
+    public static final int TAX_CACHE_MAX_ENTRIES = 1000000;          // maximum size of cache of tax and benefit imputations, beyond which least recently used entries are discarded
+    public static final double TAX_CACHE_INCOME_FLOOR = 10.0;         // financial statistics (per week) quantised for tax and benefit cache with absolute precision below this value...
+    public static final double TAX_CACHE_INCOME_PRECISION = 0.002;    // ...and relative precision above it
 
     // MODEL SETTINGS
     public static final double GRID_DEFAULT_VALUE = 999.0;
@@ -49,6 +59,8 @@ public class DecisionParams {
     // DIRECTORIES
     public static String gridsOutputDirectory;                        // directory to read/write grids data
     public static String gridsInputDirectory;                         // directory to read/write grids data
+    public static String gridsCheckpointRootDirectory;                // directory shared by runs to store checkpoints of partially solved grids
+    public static String gridsCheckpointDirectory;                    // sub-directory of gridsCheckpointRootDirectory for the grids being solved (see ManagerSolveCheckpoint)
 
     // GAUSSIAN QUADRATURE
     public static final int PTS_IN_QUADRATURE = 5;                    // number of points used to approximate expectations for normally distributed wage expectations
@@ -159,6 +171,7 @@ public class DecisionParams {
         // directory structure
         setGridsInputDirectory(readGrid);
         gridsOutputDirectory = outputDir + File.separator + "grids";
+        gridsCheckpointRootDirectory = Parameters.WORKING_DIRECTORY + File.separator + "output" + File.separator + "grids_checkpoint";
 
         // set-up behavioural parameters
         optionsEmployment1 = employmentOptionsOfPrincipalWorker;
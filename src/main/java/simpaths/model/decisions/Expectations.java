@@ -563,7 +563,7 @@ public class Expectations {
         double originalIncomePerMonth = originalIncomePerWeek * Parameters.WEEKS_PER_MONTH;
         TaxEvaluation evaluatedTransfers = new TaxEvaluation(year, ageYearsNextPeriod, numberAdults, numberChildrenUnder5, numberChildrenAged5To9,
                 numberChildrenAged10To17, hoursWorkPerWeek1, hoursWorkPerWeek2, disability1, disability2, careProvision, originalIncomePerMonth, secondIncomePerMonth,
-                childcareCostPerMonth, socialCareCostPerMonth, liquidWealth, -1.0);
+                childcareCostPerMonth, socialCareCostPerMonth, liquidWealth, -1.0, ManagerSolveGrids.taxBenefitCache);
 
         Match match = evaluatedTransfers.getMatch();
         if (match.getMatchCriterion()>Parameters.IMPERFECT_THRESHOLD) {
@@ -1,7 +1,10 @@
 package simpaths.model.decisions;
 
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
 import java.security.InvalidParameterException;
-import simpaths.model.decisions.DecisionParams;
+import java.util.Arrays;
 
 
 /**
@@ -19,44 +22,79 @@ public class Grid {
     // MAX_LEN defines the maximum array length permitted for the grid object.  The limits imposed by Java
     // vary by JVM, and are currently due to use of int (4 byte) indexing used for arrays.  The "16" buffer
     // assumed here is arbitrary, accounting for sporadic reports about varying array length constraints.
+    static final int MAPPED_SEGMENT_SHIFT = 27;
+    static final long MAPPED_SEGMENT_LENGTH = 1L << MAPPED_SEGMENT_SHIFT;
+    // MAPPED_SEGMENT_LENGTH defines the number of grid values stored in each memory-mapped segment (1 GiB).
+    // Mapped buffers are limited to int indexing, and a power of two permits indices to be resolved by bit shifts.
 
     long size;              // length of grid array stored here
     GridScale scale;        // object describing dimensionality of grid
     double[] grid;          // array to store variable values at grid ordinates
     double[][] gridLong;    // array to store variable values at grid ordinates, if grid dimensions extend beyond int(4)
+    MappedByteBuffer[] mappedSegments;  // memory-mapped segments to store variable values off-heap, if grid is mapped to file
+    DoubleBuffer[] gridMapped;          // views of mapped segments used to access variable values
+    Path mappedFile;        // file that grid is mapped to, if stored off-heap
+    GridFile source;        // file from which age slices are loaded on first use, if grid is populated lazily
+    private static final ThreadLocal<InterpolationWorkspace> WORKSPACE = ThreadLocal.withInitial(InterpolationWorkspace::new);
 
 
     /**
-     * CONSTRUCTOR
+     * CONSTRUCTORS
      */
     public Grid(GridScale scale, long size) {
+        this(scale, size, true);
+    }
+
+    /**
+     * CONSTRUCTOR FOR GRIDS STORED ON THE HEAP
+     * @param scale object describing dimensionality of grid
+     * @param size length of grid
+     * @param fill true to fill the grid with DecisionParams.GRID_DEFAULT_VALUE, and false where every value will be
+     *             populated elsewhere (see GridFile.load)
+     */
+    Grid(GridScale scale, long size, boolean fill) {
 
         this.scale = scale;
         this.size = size;
         if (size <= MAX_LEN) {
             grid = new double[(int)size];
-            for (int jj=0; jj<(int)size; jj++) {
-                grid[jj] = DecisionParams.GRID_DEFAULT_VALUE;
-            }
+            if (fill) Arrays.fill(grid, DecisionParams.GRID_DEFAULT_VALUE);
         } else {
             int slices = 1 + (int)((double)size / (double)MAX_LEN);
             gridLong = new double[slices][];
             for (int ii=0; ii<slices; ii++) {
                 if (ii==slices-1) {
                     gridLong[ii] = new double[(int)(size%MAX_LEN)];
-                    for (int jj=0; jj<(int)(size%MAX_LEN); jj++) {
-                        grid[jj] = DecisionParams.GRID_DEFAULT_VALUE;
-                    }
                 } else {
                     gridLong[ii] = new double[MAX_LEN];
-                    for (int jj=0; jj<MAX_LEN; jj++) {
-                        grid[jj] = DecisionParams.GRID_DEFAULT_VALUE;
-                    }
                 }
+                if (fill) Arrays.fill(gridLong[ii], DecisionParams.GRID_DEFAULT_VALUE);
             }
         }
     }
 
+    /**
+     * CONSTRUCTOR FOR GRIDS STORED OFF-HEAP, IN MEMORY-MAPPED SEGMENTS OF A FILE
+     * See ManagerFileGrids.mapGrid
+     * @param scale object describing dimensionality of grid
+     * @param size length of grid
+     * @param segments mapped segments, each of MAPPED_SEGMENT_LENGTH grid values except the last
+     * @param mappedFile file that the segments are mapped to
+     */
+    Grid(GridScale scale, long size, MappedByteBuffer[] segments, Path mappedFile) {
+
+        if (segments.length != (int)((size + MAPPED_SEGMENT_LENGTH - 1) >>> MAPPED_SEGMENT_SHIFT))
+            throw new InvalidParameterException("number of mapped segments inconsistent with grid size");
+        this.scale = scale;
+        this.size = size;
+        this.mappedSegments = segments;
+        this.mappedFile = mappedFile;
+        gridMapped = new DoubleBuffer[segments.length];
+        for (int ii=0; ii<segments.length; ii++) {
+            gridMapped[ii] = segments[ii].asDoubleBuffer();
+        }
+    }
+
 
     /*
      * WORKING METHODS
@@ -72,6 +110,8 @@ public class Grid {
 
         if (grid!=null) {
             grid[(int)index] = value;
+        } else if (gridMapped!=null) {
+            gridMapped[(int)(index >>> MAPPED_SEGMENT_SHIFT)].put((int)(index & (MAPPED_SEGMENT_LENGTH - 1)), value);
         } else {
             int slice = (int)((double)index / (double)MAX_LEN);
             int ii = (int)(index%MAX_LEN);
@@ -88,6 +128,8 @@ public class Grid {
         double value;
         if (grid!=null) {
             value = grid[(int)index];
+        } else if (gridMapped!=null) {
+            value = gridMapped[(int)(index >>> MAPPED_SEGMENT_SHIFT)].get((int)(index & (MAPPED_SEGMENT_LENGTH - 1)));
         } else {
             int slice = (int)((double)index / (double)MAX_LEN);
             int ii = (int)(index%MAX_LEN);
@@ -95,6 +137,25 @@ public class Grid {
         }
         return value;
     }
+    /**
+     * METHOD TO REPORT WHETHER GRID IS STORED OFF-HEAP IN THE SPECIFIED FILE
+     */
+    public boolean isMappedTo(Path file) {
+        return mappedFile != null && mappedFile.toAbsolutePath().normalize().equals(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * METHOD TO FLUSH CHANGES TO A MEMORY-MAPPED GRID TO ITS FILE
+     */
+    public void force() {
+        if (mappedSegments != null) {
+            for (MappedByteBuffer segment : mappedSegments) {
+                if (!segment.isReadOnly())
+                    segment.force();
+            }
+        }
+    }
+
     public double getChecked(States supplied, long index) {
 
         double value = get(index);
@@ -120,30 +181,47 @@ public class Grid {
      */
     public double interpolateAll(States supplied, boolean solutionCall) {
 
+        // ensure that age slice is available
+        if (source != null) source.ensureLoaded(supplied.ageIndex);
+
         // find references to control for discrete state variables
-        States copy = new States(supplied);
-        int noStates = (int)scale.gridDimensions[supplied.ageIndex][4] + (int)scale.gridDimensions[supplied.ageIndex][5];
-        double continuousCutoff = 0.3;
-        if (solutionCall) continuousCutoff += 0.3;
-        boolean flagAllContinuous = true;
-        int numberContinuous = 0;
-        for (int ii=0; ii<noStates; ii++) {
-            if (scale.axes[supplied.ageIndex][ii][3] > continuousCutoff) {
-                // treat as continuous
-                numberContinuous++;
-                copy.states[ii] = scale.axes[supplied.ageIndex][ii][1];    // set copy value to lower bound
-                if (!flagAllContinuous) {
-                    throw new InvalidParameterException("continuous states do not appear to have been organised contiguously");
-                }
+        InterpolationPlan plan = scale.getInterpolationPlan(supplied.ageIndex, solutionCall);
+        long startingIndex = plan.startingIndex(supplied);
+
+        // return result
+        return interpolateContinuous(supplied, plan, plan.numberContinuous, startingIndex, WORKSPACE.get());
+    }
+
+    /**
+     * METHOD TO RETURN NUMERICAL APPROXIMATIONS FOR THE GRID VALUES ASSOCIATED WITH AN ARRAY OF STATE COMBINATIONS
+     *
+     * Batched equivalent of interpolateAll, used to evaluate expectations over anticipated states. All state
+     * combinations are assumed to refer to the same age
+     *
+     * @param supplied array of full state combinations (continuous and discrete)
+     * @param probability probability associated with each state combination
+     * @param probThreshold state combinations with probability not exceeding this threshold are omitted (result 0)
+     * @param solutionCall see interpolateAll
+     * @param results array to store numerical approximations of grid values, of length at least supplied.length
+     */
+    public void interpolateAll(States[] supplied, double[] probability, double probThreshold, boolean solutionCall, double[] results) {
+
+        if (supplied.length == 0)
+            return;
+        int ageIndex = supplied[0].ageIndex;
+        if (source != null) source.ensureLoaded(ageIndex);
+        InterpolationPlan plan = scale.getInterpolationPlan(ageIndex, solutionCall);
+        InterpolationWorkspace workspace = WORKSPACE.get();
+        for (int ii=0; ii<supplied.length; ii++) {
+            if (probability[ii] > probThreshold) {
+                if (supplied[ii].ageIndex != ageIndex)
+                    throw new InvalidParameterException("batched interpolation supplied with states for different ages");
+                long startingIndex = plan.startingIndex(supplied[ii]);
+                results[ii] = interpolateContinuous(supplied[ii], plan, plan.numberContinuous, startingIndex, workspace);
             } else {
-                // treat as discrete
-                flagAllContinuous = false;
+                results[ii] = 0.0;
             }
         }
-        long startingIndex = copy.returnGridIndex();
-
-        // return result
-        return interpolateContinuous(supplied, numberContinuous, startingIndex);
     }
 
     /**
@@ -159,36 +237,27 @@ public class Grid {
      * @return  numerical approximation of grid value
      */
     public double interpolateContinuous(States supplied, int dimensions, long startingIndex) {
+        InterpolationPlan plan = scale.getInterpolationPlan(supplied.ageIndex, false);
+        return interpolateContinuous(supplied, plan, dimensions, startingIndex, WORKSPACE.get());
+    }
+
+    private double interpolateContinuous(States supplied, InterpolationPlan plan, int dimensions, long startingIndex,
+                                         InterpolationWorkspace workspace) {
 
         //  working variables
         final double TOL = Math.ulp(1.0);
-        long indexHere;
-        double valueHere, weightTotal;
-        int[] dims = new int[dimensions];
-        int[] offset = new int[dimensions];
-        int[] mm = new int[dimensions];
-        int[] nn = new int[dimensions];
-        int[] dd = new int[dimensions];
-        double[] ss = new double[dimensions];
-        double[] weight = new double[(int)Math.pow(2,dimensions)];
-
-        //  evaluate interpolation offsets;
-        dims[0] = (int)(scale.axes[supplied.ageIndex][0][0]+TOL);
-        offset[0] = 1;
-        if (dimensions > 1) {
-            for (int ii=1; ii<dimensions; ii++) {
-                dims[ii] = (int)(scale.axes[supplied.ageIndex][ii][0]+TOL);
-                offset[ii] = offset[ii-1] * dims[ii-1];
-            }
-        }
+        workspace.ensureCapacity(dimensions);
+        int[] mm = workspace.mm;
+        int[] dd = workspace.dd;
+        double[] ss = workspace.ss;
+        int corners = 1 << dimensions;
+        double weightThreshold = 1.0E-3 / corners;
 
         // identify reference points
         for (int ii = 0; ii<dimensions; ii++) {
-            ss[ii] = (supplied.states[ii] - scale.axes[supplied.ageIndex][ii][1]) *
-                    (scale.axes[supplied.ageIndex][ii][0]-1) /
-                    (scale.axes[supplied.ageIndex][ii][2] - scale.axes[supplied.ageIndex][ii][1]);
+            ss[ii] = (supplied.states[ii] - plan.lower[ii]) * plan.inverseStep[ii];
             mm[ii] = (int)(ss[ii] + TOL);
-            if ( mm[ii] == (dims[ii]-1) ) {
+            if ( mm[ii] == (plan.points[ii]-1) ) {
                 // at upper bound - step one backward
                 mm[ii] -= 1;
             }
@@ -197,53 +266,71 @@ public class Grid {
 
         // check that point is internal to grid
         for (int ii=0; ii<dimensions; ii++) {
-            double err = Math.ulp(scale.axes[supplied.ageIndex][ii][2]);
-            if (supplied.states[ii] < scale.axes[supplied.ageIndex][ii][1]-err) {
+            if (supplied.states[ii] < plan.lower[ii]-plan.boundTolerance[ii]) {
                 supplied.systemReportError();
                 throw new InvalidParameterException("interpolation point below minimum described by grid");
-            } else if (supplied.states[ii] > scale.axes[supplied.ageIndex][ii][2]+err) {
+            } else if (supplied.states[ii] > plan.upper[ii]+plan.boundTolerance[ii]) {
                 supplied.systemReportError();
                 throw new InvalidParameterException("interpolation point above maximum described by grid");
             }
         }
 
         // interpolate states
-        dd[0] = -1;
-        double result = 0;
-        weightTotal = 0;
-        for (int ii=0; ii<Math.pow(2, dimensions); ii++) {
+        for (int jj=0; jj<dimensions; jj++) {
+            dd[jj] = 0;
+        }
+        if (dimensions > 0) dd[0] = -1;
+        double result = 0, weightTotal = 0;
+        for (int ii=0; ii<corners; ii++) {
             // loop over each test point
 
             // update counter
-            dd[0] += 1;
-            int jj = 0;
-            while (dd[jj] > 1) {
-                dd[jj] = 0;
-                jj++;
-                dd[jj] += 1;
+            if (dimensions > 0) {
+                dd[0] += 1;
+                int jj = 0;
+                while (dd[jj] > 1) {
+                    dd[jj] = 0;
+                    jj++;
+                    dd[jj] += 1;
+                }
             }
 
-            // calculate weights and indices
-            weight[ii] = 1.0;
-            for (jj=0; jj<dimensions; jj++) {
-                nn[jj] = mm[jj] + dd[jj];
-                weight[ii] *= (1 - Math.abs(dd[jj]-ss[jj]));
+            // calculate weight and index
+            double weight = 1.0;
+            long indexHere = startingIndex;
+            for (int jj=0; jj<dimensions; jj++) {
+                weight *= (1 - Math.abs(dd[jj]-ss[jj]));
+                indexHere += (mm[jj] + dd[jj]) * plan.strides[jj];
             }
-            if ( weight[ii] > (1.0/Math.pow(2,dimensions)*1.0E-3)) {
+            if ( weight > weightThreshold) {
                 // take point into consideration
 
-                indexHere = 0;
-                for (jj = 0; jj<dimensions; jj++) {
-                    indexHere += (long)nn[jj] * offset[jj];
-                }
-                indexHere += startingIndex;
-                valueHere = getChecked(supplied, indexHere);
-                result += valueHere * weight[ii];
-                weightTotal += weight[ii];
+                result += getChecked(supplied, indexHere) * weight;
+                weightTotal += weight;
             }
         }
 
         result /= weightTotal;
         return result;
     }
+
+
+    /**
+     * CLASS TO STORE THREAD-SPECIFIC WORKING ARRAYS FOR INTERPOLATION, SO THAT CALLS TO interpolateAll DO NOT
+     * ALLOCATE MEMORY
+     */
+    private static final class InterpolationWorkspace {
+
+        int[] mm = new int[0];         // index of grid point below interpolation point in each dimension
+        int[] dd = new int[0];         // counter for vertices of interpolation hypercube
+        double[] ss = new double[0];   // position of interpolation point relative to mm, in units of step size
+
+        void ensureCapacity(int dimensions) {
+            if (mm.length < dimensions) {
+                mm = new int[dimensions];
+                dd = new int[dimensions];
+                ss = new double[dimensions];
+            }
+        }
+    }
 }
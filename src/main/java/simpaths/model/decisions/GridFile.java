@@ -0,0 +1,599 @@
+package simpaths.model.decisions;
+
+import simpaths.data.Parameters;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+
+/**
+ *
+ * CLASS TO MANAGE THE VERSIONED BINARY FILE FORMAT USED TO SAVE INTERTEMPORAL OPTIMISATION GRIDS
+ *
+ * THE FILE COMPRISES A HEADER, TABLES OF GRIDS AND AGE SLICES, AND THE GRID DATA:
+ *      HEADER      - magic number and format version
+ *                  - description of the decision parameters under which the grids were solved
+ *                  - GridScale (simLifeSpan, numberOfStates, gridDimensions and axes)
+ *                  - size and storage precision (bytes per value) of each grid
+ *                  - flag indicating whether slice data are compressed
+ *      GRID TABLE  - for each grid: file offset of grid data (uncompressed files only)
+ *      SLICE TABLE - for each age: file offset (compressed files only), stored length, raw length, and CRC32
+ *                    checksum of stored bytes
+ *      DATA        - uncompressed files: for each grid, the values of every grid point in grid order, so that each
+ *                    grid is contiguous and can be mapped to memory directly. The stored bytes of an age slice are
+ *                    the ranges of each grid that extends to the age, in grid order
+ *                  - compressed files: for each age, the deflated values of each grid that extends to the age
+ *
+ * THE GRID SCALE STORED IN THE HEADER IS CHECKED AGAINST THE SCALE OF THE CURRENT SIMULATION WHEN A FILE IS
+ * OPENED, SO THAT GRIDS SAVED UNDER DIFFERENT DecisionParams FLAGS ARE REPORTED RATHER THAN MIS-LOADED. UNCOMPRESSED
+ * FILES STORED AT DOUBLE PRECISION ARE MAPPED READ-ONLY TO MEMORY (see load), SO THAT GRID VALUES ARE PAGED IN ON
+ * DEMAND AND SHARED BETWEEN RUNS; OTHERWISE AGE SLICES ARE READ TO THE HEAP. IN EITHER CASE AGE SLICES ARE CHECKED
+ * INDEPENDENTLY, EITHER ON REQUEST (loadAges) OR ON FIRST USE BY Grid.interpolateAll (ensureLoaded)
+ *
+ */
+public class GridFile {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final String FILE_NAME = "grids.spg";
+    static final int MAGIC = 0x53504752;         // "SPGR"
+    static final int VERSION = 2;
+    static final int NUMBER_OF_GRIDS = 4;        // valueFunction, consumption, employment1, employment2
+    private static final int COPY_BUFFER_BYTES = 1 << 20;
+
+    // grids mapped from files, shared by all runs in the JVM that load the same file
+    private static final Map<Path, GridFile> mappedFiles = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final long fileSize;
+    private final long fileModified;
+    private final GridScale scale;
+    private final int[] bytesPerValue = new int[NUMBER_OF_GRIDS];
+    private final boolean[] present = new boolean[NUMBER_OF_GRIDS];
+    private final long[] gridSize = new long[NUMBER_OF_GRIDS];
+    private final long[] gridOffset = new long[NUMBER_OF_GRIDS];
+    private boolean compressed;
+    private long[] sliceOffset;
+    private int[] sliceStoredLength;
+    private int[] sliceRawLength;
+    private long[] sliceChecksum;
+    private final AtomicIntegerArray loaded;
+    private int loadedCount;
+    private Grids grids;                         // grids populated from file
+    private boolean mapped;                      // true if grids are mapped to file, rather than read to the heap
+    private FileChannel channel;                 // channel used to read age slices to the heap, closed once all are read
+
+
+    /**
+     * CONSTRUCTOR - READS HEADER AND TABLES OF FILE
+     * @param path path of grid file
+     * @param scale grid scale of the current simulation
+     * @throws IOException if file cannot be read or is inconsistent with the grid scale of the current simulation
+     */
+    private GridFile(Path path, GridScale scale) throws IOException {
+
+        this.path = path;
+        this.scale = scale;
+        fileSize = Files.size(path);
+        fileModified = Files.getLastModifiedTime(path).toMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+
+            if (in.readInt() != MAGIC)
+                throw new IOException("file is not a grid file: " + path);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("unsupported grid file version " + version + " in " + path);
+            String description = in.readUTF();
+
+            // grid scale
+            int simLifeSpan = in.readInt();
+            int numberOfStates = in.readInt();
+            boolean consistent = (simLifeSpan == scale.simLifeSpan && numberOfStates == scale.numberOfStates);
+            long[][] gridDimensions = new long[simLifeSpan][scale.gridDimensions[0].length];
+            double[][][] axes = new double[simLifeSpan][numberOfStates][scale.axes[0][0].length];
+            for (long[] row : gridDimensions) {
+                for (int jj=0; jj<row.length; jj++) row[jj] = in.readLong();
+            }
+            for (double[][] slice : axes) {
+                for (double[] row : slice) {
+                    for (int jj=0; jj<row.length; jj++) row[jj] = in.readDouble();
+                }
+            }
+            consistent = consistent && Arrays.deepEquals(gridDimensions, scale.gridDimensions) && Arrays.deepEquals(axes, scale.axes);
+            if (!consistent)
+                throw new IOException("grids in " + path + " were saved under decision parameters that are inconsistent with the current simulation (" +
+                        description + " saved, " + describe() + " current)");
+
+            // grids
+            if (in.readInt() != NUMBER_OF_GRIDS)
+                throw new IOException("unexpected number of grids in " + path);
+            for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+                present[gg] = in.readBoolean();
+                gridSize[gg] = in.readLong();
+                bytesPerValue[gg] = in.readByte();
+            }
+            compressed = in.readBoolean();
+            for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+                gridOffset[gg] = in.readLong();
+            }
+
+            // slice table
+            sliceOffset = new long[simLifeSpan];
+            sliceStoredLength = new int[simLifeSpan];
+            sliceRawLength = new int[simLifeSpan];
+            sliceChecksum = new long[simLifeSpan];
+            for (int aa=0; aa<simLifeSpan; aa++) {
+                sliceOffset[aa] = in.readLong();
+                sliceStoredLength[aa] = in.readInt();
+                sliceRawLength[aa] = in.readInt();
+                sliceChecksum[aa] = in.readLong();
+            }
+        }
+        loaded = new AtomicIntegerArray(scale.simLifeSpan);
+    }
+
+
+    /*
+     * WORKING METHODS
+     */
+
+
+    /**
+     * METHOD TO REPORT WHETHER A GRID FILE EXISTS IN THE SPECIFIED DIRECTORY
+     */
+    public static boolean exists(String directory) {
+        return Files.exists(Paths.get(directory, FILE_NAME));
+    }
+
+    /**
+     * METHOD TO LOAD GRIDS FROM A GRID FILE
+     *
+     * UNCOMPRESSED FILES STORED AT DOUBLE PRECISION ARE MAPPED READ-ONLY TO MEMORY WHERE map IS TRUE. MAPPED GRIDS
+     * ARE SHARED BY ALL LOADS OF THE SAME (UNMODIFIED) FILE IN THE JVM, AND THE OPERATING SYSTEM SHARES THEIR PAGES
+     * WITH ANY OTHER PROCESS THAT MAPS THE FILE. OTHER FILES ARE READ TO THE HEAP BY AGE SLICE ON FIRST USE
+     *
+     * @param directory directory of grid file
+     * @param map true to map grids to the file where the file permits
+     * @return grids populated from file
+     */
+    public static Grids load(String directory, boolean map) {
+
+        Path path = Paths.get(directory, FILE_NAME).toAbsolutePath().normalize();
+        GridScale scale = new GridScale();
+        try {
+            if (map) {
+                GridFile shared = mappedFiles.get(path);
+                if (shared != null && shared.isCurrent(scale))
+                    return shared.grids;
+            }
+            GridFile file = new GridFile(path, scale);
+            if (map && file.isMappable()) {
+                file.mapGrids();
+                mappedFiles.put(path, file);
+            } else {
+                file.register(new Grids(file.present));
+            }
+            return file.grids;
+        } catch (IOException e) {
+            throw new RuntimeException("problem opening grid file in " + directory, e);
+        }
+    }
+
+    /**
+     * METHOD TO OPEN A GRID FILE FOR LOADING OF AGE SLICES INTO THE SUPPLIED GRIDS
+     * The grids are registered to load each age slice on first use by Grid.interpolateAll
+     *
+     * @param directory directory of grid file
+     * @param grids grids to populate from file
+     * @return grid file, from which age slices can be loaded
+     */
+    public static GridFile open(String directory, Grids grids) {
+
+        try {
+            GridFile file = new GridFile(Paths.get(directory, FILE_NAME), grids.scale);
+            file.register(grids);
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("problem opening grid file in " + directory, e);
+        }
+    }
+
+    private void register(Grids grids) throws IOException {
+
+        Grid[] gridArray = grids.toArray();
+        for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+            if (present[gg] && (gridArray[gg] == null || gridArray[gg].size != gridSize[gg]))
+                throw new IOException("dimensions of grid " + gg + " in " + path + " inconsistent with current simulation");
+        }
+        this.grids = grids;
+        for (Grid grid : gridArray) {
+            if (grid != null)
+                grid.source = this;
+        }
+    }
+
+    private boolean isMappable() {
+        for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+            if (present[gg] && bytesPerValue[gg] != 8)
+                return false;
+        }
+        return !compressed;
+    }
+
+    private void mapGrids() throws IOException {
+
+        Grid[] gridArray = new Grid[NUMBER_OF_GRIDS];
+        try (FileChannel mapChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+                if (present[gg]) {
+                    MappedByteBuffer[] segments = ManagerFileGrids.mapSegments(mapChannel, FileChannel.MapMode.READ_ONLY, gridOffset[gg], gridSize[gg]);
+                    gridArray[gg] = new Grid(scale, gridSize[gg], segments, path);
+                    gridArray[gg].source = this;
+                }
+            }
+        }
+        mapped = true;
+        grids = new Grids(scale, gridArray);
+    }
+
+    private boolean isCurrent(GridScale current) throws IOException {
+        return Files.exists(path) && Files.size(path) == fileSize && Files.getLastModifiedTime(path).toMillis() == fileModified &&
+                Arrays.deepEquals(scale.gridDimensions, current.gridDimensions) && Arrays.deepEquals(scale.axes, current.axes);
+    }
+
+    /**
+     * METHOD TO LOAD A RANGE OF AGE SLICES
+     * @param fromAgeYears first age to load (inclusive)
+     * @param toAgeYears last age to load (inclusive)
+     */
+    public void loadAges(int fromAgeYears, int toAgeYears) {
+
+        int from = Math.max(0, fromAgeYears - Parameters.AGE_TO_BECOME_RESPONSIBLE);
+        int to = Math.min(scale.simLifeSpan - 1, toAgeYears - Parameters.AGE_TO_BECOME_RESPONSIBLE);
+        for (int aa=from; aa<=to; aa++) {
+            ensureLoaded(aa);
+        }
+    }
+
+    /**
+     * METHOD TO ENSURE THAT AN AGE SLICE HAS BEEN LOADED INTO THE GRIDS
+     * Slices of mapped grids are checked against their checksums on first use
+     * @param aa age index of slice
+     */
+    public void ensureLoaded(int aa) {
+
+        if (aa < 0 || aa >= loaded.length() || loaded.get(aa) == 1)
+            return;
+        synchronized (this) {
+            if (loaded.get(aa) == 0) {
+                try {
+                    if (mapped)
+                        verifyMappedSlice(aa);
+                    else
+                        readSlice(aa);
+                } catch (IOException | DataFormatException e) {
+                    throw new RuntimeException("problem loading age index " + aa + " from grid file " + path, e);
+                }
+                loaded.set(aa, 1);
+                loadedCount++;
+                if (loadedCount == loaded.length())
+                    closeChannel();
+            }
+        }
+    }
+
+    private boolean includes(int gg, int aa) {
+        return present[gg] && scale.gridDimensions[aa][3] + scale.gridDimensions[aa][2] <= gridSize[gg];
+    }
+
+    private void verifyMappedSlice(int aa) throws IOException {
+
+        long start = scale.gridDimensions[aa][3];
+        long length = scale.gridDimensions[aa][2];
+        Grid[] gridArray = grids.toArray();
+        CRC32 crc = new CRC32();
+        for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+            if (includes(gg, aa)) {
+                long index = start;
+                while (index < start + length) {
+                    int segment = (int)(index >>> Grid.MAPPED_SEGMENT_SHIFT);
+                    long offset = index & (Grid.MAPPED_SEGMENT_LENGTH - 1);
+                    long count = Math.min(start + length - index, Grid.MAPPED_SEGMENT_LENGTH - offset);
+                    ByteBuffer view = gridArray[gg].mappedSegments[segment].duplicate();
+                    view.position((int)(8 * offset));
+                    view.limit((int)(8 * (offset + count)));
+                    crc.update(view);
+                    index += count;
+                }
+            }
+        }
+        if (crc.getValue() != sliceChecksum[aa])
+            throw new IOException("checksum failure for age index " + aa + " in grid file " + path);
+    }
+
+    private void readSlice(int aa) throws IOException, DataFormatException {
+
+        // read and verify stored bytes
+        long start = scale.gridDimensions[aa][3];
+        long length = scale.gridDimensions[aa][2];
+        ByteBuffer stored = ByteBuffer.allocate(sliceStoredLength[aa]);
+        if (compressed) {
+            readFully(stored, sliceOffset[aa]);
+        } else {
+            for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+                if (includes(gg, aa)) {
+                    stored.limit(stored.position() + (int)(length * bytesPerValue[gg]));
+                    readFully(stored, gridOffset[gg] + start * bytesPerValue[gg]);
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(stored.array());
+        if (crc.getValue() != sliceChecksum[aa])
+            throw new IOException("checksum failure for age index " + aa + " in grid file " + path);
+
+        // decompress
+        byte[] raw;
+        if (compressed) {
+            Inflater inflater = new Inflater();
+            inflater.setInput(stored.array());
+            raw = new byte[sliceRawLength[aa]];
+            int count = inflater.inflate(raw);
+            inflater.end();
+            if (count != sliceRawLength[aa])
+                throw new IOException("failed to decompress age index " + aa + " in grid file " + path);
+        } else {
+            raw = stored.array();
+        }
+
+        // populate grids
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        Grid[] gridArray = grids.toArray();
+        for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+            if (includes(gg, aa)) {
+                for (long jj=start; jj<start+length; jj++) {
+                    gridArray[gg].put(jj, (bytesPerValue[gg] == 4) ? buffer.getFloat() : buffer.getDouble());
+                }
+            }
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+
+        if (channel == null)
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        long offset = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, offset + buffer.position());
+            if (count < 0)
+                throw new IOException("unexpected end of grid file " + path);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * METHOD TO WRITE GRIDS TO FILE
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param directory directory of grid file
+     * @param compress true to compress age slices
+     * @param floatPolicies true to store policy grids (consumption and employment) at float precision
+     * @throws IOException exception encountered while writing file
+     */
+    public static void write(Grids grids, String directory, boolean compress, boolean floatPolicies) throws IOException {
+
+        GridScale scale = grids.scale;
+        Grid[] gridArray = grids.toArray();
+        int[] bytesPerValue = new int[NUMBER_OF_GRIDS];
+        for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+            bytesPerValue[gg] = (gg > 0 && floatPolicies) ? 4 : 8;
+        }
+
+        new File(directory).mkdirs();
+        Path target = Paths.get(directory, FILE_NAME);
+        Path temp = Paths.get(directory, FILE_NAME + ".tmp");
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            // header
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(headerBytes);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeUTF(describe());
+            header.writeInt(scale.simLifeSpan);
+            header.writeInt(scale.numberOfStates);
+            for (long[] row : scale.gridDimensions) {
+                for (long val : row) header.writeLong(val);
+            }
+            for (double[][] slice : scale.axes) {
+                for (double[] row : slice) {
+                    for (double val : row) header.writeDouble(val);
+                }
+            }
+            header.writeInt(NUMBER_OF_GRIDS);
+            for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+                header.writeBoolean(gridArray[gg] != null);
+                header.writeLong((gridArray[gg] != null) ? gridArray[gg].size : 0L);
+                header.writeByte(bytesPerValue[gg]);
+            }
+            header.writeBoolean(compress);
+            header.flush();
+            int tableBytes = 8 * NUMBER_OF_GRIDS + (8 + 4 + 4 + 8) * scale.simLifeSpan;
+            long dataPosition = headerBytes.size() + tableBytes;
+            dataPosition = (dataPosition + 7) & ~7L;    // align grid data to the size of a double
+
+            // grid data
+            long[] gridOffset = new long[NUMBER_OF_GRIDS];
+            long[] sliceOffset = new long[scale.simLifeSpan];
+            int[] sliceStoredLength = new int[scale.simLifeSpan];
+            int[] sliceRawLength = new int[scale.simLifeSpan];
+            long[] sliceChecksum = new long[scale.simLifeSpan];
+            if (compress) {
+                writeCompressedSlices(file, dataPosition, gridArray, scale, bytesPerValue, sliceOffset, sliceStoredLength, sliceRawLength, sliceChecksum);
+            } else {
+                writeGrids(file, dataPosition, gridArray, scale, bytesPerValue, gridOffset, sliceStoredLength, sliceRawLength, sliceChecksum);
+            }
+
+            // tables
+            for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+                header.writeLong(gridOffset[gg]);
+            }
+            for (int aa=0; aa<scale.simLifeSpan; aa++) {
+                header.writeLong(sliceOffset[aa]);
+                header.writeInt(sliceStoredLength[aa]);
+                header.writeInt(sliceRawLength[aa]);
+                header.writeLong(sliceChecksum[aa]);
+            }
+            header.flush();
+            ByteBuffer buffer = ByteBuffer.wrap(headerBytes.toByteArray());
+            long position = 0;
+            while (buffer.hasRemaining()) {
+                position += file.write(buffer, position);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long rawSliceLength(Grid[] gridArray, GridScale scale, int[] bytesPerValue, int aa) throws IOException {
+
+        long start = scale.gridDimensions[aa][3];
+        long length = scale.gridDimensions[aa][2];
+        long rawLength = 0;
+        for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+            if (gridArray[gg] != null && start + length <= gridArray[gg].size)
+                rawLength += length * bytesPerValue[gg];
+        }
+        if (rawLength > Integer.MAX_VALUE - 16)
+            throw new IOException("age slice " + aa + " too large for grid file format");
+        return rawLength;
+    }
+
+    private static void put(ByteBuffer buffer, Grid grid, long index, int bytesPerValue) {
+        if (bytesPerValue == 4)
+            buffer.putFloat((float)grid.get(index));
+        else
+            buffer.putDouble(grid.get(index));
+    }
+
+    private static void writeCompressedSlices(FileChannel file, long position, Grid[] gridArray, GridScale scale, int[] bytesPerValue,
+                                              long[] sliceOffset, int[] sliceStoredLength, int[] sliceRawLength, long[] sliceChecksum) throws IOException {
+
+        for (int aa=0; aa<scale.simLifeSpan; aa++) {
+
+            long start = scale.gridDimensions[aa][3];
+            long length = scale.gridDimensions[aa][2];
+            long rawLength = rawSliceLength(gridArray, scale, bytesPerValue, aa);
+            ByteBuffer buffer = ByteBuffer.allocate((int)rawLength);
+            for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+                if (gridArray[gg] != null && start + length <= gridArray[gg].size) {
+                    for (long jj=start; jj<start+length; jj++) {
+                        put(buffer, gridArray[gg], jj, bytesPerValue[gg]);
+                    }
+                }
+            }
+            byte[] stored = deflate(buffer.array());
+            CRC32 crc = new CRC32();
+            crc.update(stored);
+            sliceOffset[aa] = position;
+            sliceStoredLength[aa] = stored.length;
+            sliceRawLength[aa] = (int)rawLength;
+            sliceChecksum[aa] = crc.getValue();
+            ByteBuffer out = ByteBuffer.wrap(stored);
+            while (out.hasRemaining()) {
+                position += file.write(out, position);
+            }
+        }
+    }
+
+    private static void writeGrids(FileChannel file, long position, Grid[] gridArray, GridScale scale, int[] bytesPerValue,
+                                   long[] gridOffset, int[] sliceStoredLength, int[] sliceRawLength, long[] sliceChecksum) throws IOException {
+
+        // the checksum of each age slice is accumulated over the grids in grid order
+        CRC32[] crc = new CRC32[scale.simLifeSpan];
+        for (int aa=0; aa<scale.simLifeSpan; aa++) {
+            crc[aa] = new CRC32();
+            sliceRawLength[aa] = (int)rawSliceLength(gridArray, scale, bytesPerValue, aa);
+            sliceStoredLength[aa] = sliceRawLength[aa];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_BYTES);
+        for (int gg=0; gg<NUMBER_OF_GRIDS; gg++) {
+            if (gridArray[gg] == null)
+                continue;
+            gridOffset[gg] = position;
+            for (int aa=0; aa<scale.simLifeSpan; aa++) {
+                long start = scale.gridDimensions[aa][3];
+                long length = scale.gridDimensions[aa][2];
+                if (start + length > gridArray[gg].size)
+                    break;
+                for (long jj=start; jj<start+length; jj++) {
+                    put(buffer, gridArray[gg], jj, bytesPerValue[gg]);
+                    if (buffer.remaining() < 8 || jj == start + length - 1) {
+                        buffer.flip();
+                        crc[aa].update(buffer.duplicate());
+                        while (buffer.hasRemaining()) {
+                            position += file.write(buffer, position);
+                        }
+                        buffer.clear();
+                    }
+                }
+            }
+        }
+        for (int aa=0; aa<scale.simLifeSpan; aa++) {
+            sliceChecksum[aa] = crc[aa].getValue();
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+        byte[] chunk = new byte[1 << 16];
+        while (!deflater.finished()) {
+            int count = deflater.deflate(chunk);
+            out.write(chunk, 0, count);
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    /**
+     * METHOD TO DESCRIBE THE DECISION PARAMETERS THAT DEFINE THE GRID STRUCTURE
+     * Used to report inconsistencies between saved grids and the current simulation
+     */
+    static String describe() {
+        return "health=" + DecisionParams.flagHealth + ", disability=" + DecisionParams.flagDisability +
+                ", region=" + DecisionParams.flagRegion + ", education=" + DecisionParams.flagEducation +
+                ", pension=" + DecisionParams.flagPrivatePension + ", retirement=" + DecisionParams.flagRetirement +
+                ", lowWageOffer=" + DecisionParams.flagLowWageOffer1 + ", socialCare=" + Parameters.flagSocialCare +
+                ", minAgeForPoorHealth=" + DecisionParams.minAgeForPoorHealth + ", maxAge=" + DecisionParams.maxAge +
+                ", birthYears=" + DecisionParams.minBirthYear + "-" + DecisionParams.maxBirthYear;
+    }
+}
@@ -18,6 +18,7 @@ public class GridScale {
     int numberOfStates;        // number of state variables
     long[][] gridDimensions;   // vector storing summary references for grid dimensions - see constructor for definition
     double[][][] axes;         // vector storing detailed description of grid axes - see constructor for definition
+    private InterpolationPlan[][] interpolationPlans;   // cached interpolation references by age, for search and simulation calls
 
 
     /**
@@ -318,6 +319,28 @@ public class GridScale {
      */
 
 
+    /**
+     * METHOD TO RETURN THE INTERPOLATION PLAN FOR AGE AA
+     * Plans are immutable, so that concurrent construction of the same plan is benign
+     * @param aa age index
+     * @param solutionCall true if plan is for calls from the search routine for a maximum to the IO problem
+     * @return interpolation plan
+     */
+    InterpolationPlan getInterpolationPlan(int aa, boolean solutionCall) {
+        InterpolationPlan[][] plans = interpolationPlans;
+        if (plans == null) {
+            plans = new InterpolationPlan[simLifeSpan][2];
+            interpolationPlans = plans;
+        }
+        int call = solutionCall ? 1 : 0;
+        InterpolationPlan plan = plans[aa][call];
+        if (plan == null) {
+            plan = new InterpolationPlan(this, aa, solutionCall);
+            plans[aa][call] = plan;
+        }
+        return plan;
+    }
+
     /**
      * METHOD TO EVALUATE THE NUMBER OF STATES CONSIDERED IN THE INNER LOOP FOR GRID SOLUTIONS AT AGE AA
      * @param aa defines the age index of interest (age = aa + simpaths.data.Parameters.AGE_TO_BECOME_RESPONSIBLE)
@@ -2,6 +2,7 @@ package simpaths.model.decisions;
 
 import simpaths.data.Parameters;
 
+import java.io.IOException;
 import java.security.InvalidParameterException;
 
 
@@ -31,9 +32,18 @@ public class Grids {
 
 
     /**
-     * CONSTRUCTOR
+     * CONSTRUCTORS
      */
     public Grids() {
+        this(new boolean[GridFile.NUMBER_OF_GRIDS]);
+    }
+
+    /**
+     * CONSTRUCTOR FOR GRIDS STORED ON THE HEAP, TO BE POPULATED FROM A GRID FILE (see GridFile.load)
+     * grids populated from file are not filled with the default grid value, which would be overwritten
+     * @param populated flags, in storage order, for grids that are populated in full from file
+     */
+    Grids(boolean[] populated) {
 
         // constructor variables
         scale = new GridScale();
@@ -41,12 +51,52 @@ public class Grids {
         /*
          * INITIALISE GRID VECTORS
          */
-        long gridSize = scale.gridDimensions[scale.simLifeSpan-1][3] + scale.gridDimensions[scale.simLifeSpan-1][2];
-        valueFunction = new Grid(scale, gridSize);
-        consumption = new Grid(scale, gridSize);
-        gridSize = scale.gridDimensions[DecisionParams.maxAgeFlexibleLabourSupply - Parameters.AGE_TO_BECOME_RESPONSIBLE + 1][3];
-        if (DecisionParams.FLAG_IO_EMPLOYMENT1) employment1 = new Grid(scale, gridSize);
-        if (DecisionParams.FLAG_IO_EMPLOYMENT2) employment2 = new Grid(scale, gridSize);
+        valueFunction = new Grid(scale, getFullGridSize(), !populated[0]);
+        consumption = new Grid(scale, getFullGridSize(), !populated[1]);
+        if (DecisionParams.FLAG_IO_EMPLOYMENT1) employment1 = new Grid(scale, getEmploymentGridSize(), !populated[2]);
+        if (DecisionParams.FLAG_IO_EMPLOYMENT2) employment2 = new Grid(scale, getEmploymentGridSize(), !populated[3]);
+    }
+
+    /**
+     * CONSTRUCTOR FOR GRIDS STORED OFF-HEAP, IN FILES MAPPED TO MEMORY
+     * @param directory directory of grid files
+     * @param readOnly true to map grids saved by a previous simulation, and false to map new grids for solution
+     */
+    public Grids(String directory, boolean readOnly) {
+
+        scale = new GridScale();
+        try {
+            valueFunction = ManagerFileGrids.mapGrid(scale, getFullGridSize(), directory, ManagerFileGrids.VALUE_FUNCTION_FILE, readOnly);
+            consumption = ManagerFileGrids.mapGrid(scale, getFullGridSize(), directory, ManagerFileGrids.CONSUMPTION_FILE, readOnly);
+            if (DecisionParams.FLAG_IO_EMPLOYMENT1)
+                employment1 = ManagerFileGrids.mapGrid(scale, getEmploymentGridSize(), directory, ManagerFileGrids.EMPLOYMENT1_FILE, readOnly);
+            if (DecisionParams.FLAG_IO_EMPLOYMENT2)
+                employment2 = ManagerFileGrids.mapGrid(scale, getEmploymentGridSize(), directory, ManagerFileGrids.EMPLOYMENT2_FILE, readOnly);
+        } catch (IOException e) {
+            throw new RuntimeException("problem mapping grids in directory " + directory, e);
+        }
+    }
+
+    /**
+     * CONSTRUCTOR FOR GRIDS POPULATED ELSEWHERE (see GridFile.load)
+     * @param scale object describing dimensionality of grids
+     * @param gridArray grids in storage order (elements may be null)
+     */
+    Grids(GridScale scale, Grid[] gridArray) {
+
+        this.scale = scale;
+        valueFunction = gridArray[0];
+        consumption = gridArray[1];
+        employment1 = gridArray[2];
+        employment2 = gridArray[3];
+    }
+
+    private long getFullGridSize() {
+        return scale.gridDimensions[scale.simLifeSpan-1][3] + scale.gridDimensions[scale.simLifeSpan-1][2];
+    }
+
+    private long getEmploymentGridSize() {
+        return scale.gridDimensions[DecisionParams.maxAgeFlexibleLabourSupply - Parameters.AGE_TO_BECOME_RESPONSIBLE + 1][3];
     }
 
 
@@ -55,6 +105,21 @@ public class Grids {
      */
     public GridScale getScale() { return scale; }
 
+    /**
+     * METHOD TO ENSURE THAT ALL AGE SLICES OF GRIDS POPULATED LAZILY FROM A GridFile HAVE BEEN LOADED
+     */
+    public void loadAllSlices() {
+        if (valueFunction.source != null)
+            valueFunction.source.loadAges(Parameters.AGE_TO_BECOME_RESPONSIBLE, Parameters.AGE_TO_BECOME_RESPONSIBLE + scale.simLifeSpan - 1);
+    }
+
+    /**
+     * METHOD TO REPORT GRIDS IN STORAGE ORDER (elements may be null)
+     */
+    Grid[] toArray() {
+        return new Grid[]{valueFunction, consumption, employment1, employment2};
+    }
+
 
     /*
      * WORKING METHODS
@@ -102,18 +167,21 @@ public class Grids {
 
         // evaluate state index
         long gridIndex = states.returnGridIndex();
+        if (valueFunction.source != null) valueFunction.source.ensureLoaded(states.ageIndex);
         return valueFunction.get(gridIndex);
     }
     public double getConsumptionShare(States states) {
 
         // evaluate state index
         long gridIndex = states.returnGridIndex();
+        if (consumption.source != null) consumption.source.ensureLoaded(states.ageIndex);
         return consumption.get(gridIndex);
     }
     public double getEmployment1(States states) {
 
         if (states.ageYears <= DecisionParams.maxAgeFlexibleLabourSupply && DecisionParams.FLAG_IO_EMPLOYMENT1) {
             long gridIndex = states.returnGridIndex();
+            if (employment1.source != null) employment1.source.ensureLoaded(states.ageIndex);
             return employment1.get(gridIndex);
         } else {
             return 0.0;
@@ -123,6 +191,7 @@ public class Grids {
 
         if (states.ageYears <= DecisionParams.maxAgeFlexibleLabourSupply && DecisionParams.FLAG_IO_EMPLOYMENT2 && states.getCohabitation()) {
             long gridIndex = states.returnGridIndex();
+            if (employment2.source != null) employment2.source.ensureLoaded(states.ageIndex);
             return employment2.get(gridIndex);
         } else {
             return 0.0;
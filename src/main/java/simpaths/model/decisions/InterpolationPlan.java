@@ -0,0 +1,116 @@
+package simpaths.model.decisions;
+
+import java.security.InvalidParameterException;
+
+
+/**
+ *
+ * CLASS TO STORE AGE-SPECIFIC REFERENCES USED TO INTERPOLATE OVER THE DECISION GRIDS
+ *
+ * THE PLAN RECORDS, FOR EACH STATE AT A GIVEN AGE, THE GRID STRIDE, BOUNDS AND INVERSE STEP SIZE, SO THAT
+ * Grid.interpolateAll DOES NOT NEED TO RE-DERIVE THESE FROM GridScale.axes (OR COPY THE SUPPLIED STATES)
+ * ON EVERY CALL. PLANS ARE IMMUTABLE, AND ARE CACHED BY GridScale.getInterpolationPlan
+ *
+ */
+final class InterpolationPlan {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final double TOL = Math.ulp(1.0);
+
+    final int numberOfStates;           // number of states (inner and outer) at age
+    final int numberContinuous;         // number of states treated as continuous - always the first states
+    final long sliceStartIndex;         // grid index of first point in age slice
+    final int[] points;                 // number of grid points in each dimension
+    final long[] strides;               // index offset between adjacent grid points in each dimension
+    final double[] lower;               // lower bound of each dimension
+    final double[] upper;               // upper bound of each dimension
+    final double[] range;               // upper less lower bound of each dimension
+    final double[] intervals;           // number of intervals in each dimension (points - 1)
+    final double[] inverseStep;         // inverse of step size between grid points in each dimension
+    final double[] boundTolerance;      // tolerance used to test whether continuous states are internal to grid
+
+
+    /**
+     * CONSTRUCTOR
+     * @param scale dimensional specifications of grids
+     * @param aa age index
+     * @param solutionCall true if plan is for calls from the search routine for a maximum to the IO problem
+     *                     (see Grid.interpolateAll)
+     */
+    InterpolationPlan(GridScale scale, int aa, boolean solutionCall) {
+
+        numberOfStates = (int)scale.gridDimensions[aa][4] + (int)scale.gridDimensions[aa][5];
+        sliceStartIndex = scale.gridDimensions[aa][3];
+        points = new int[numberOfStates];
+        strides = new long[numberOfStates];
+        lower = new double[numberOfStates];
+        upper = new double[numberOfStates];
+        range = new double[numberOfStates];
+        intervals = new double[numberOfStates];
+        inverseStep = new double[numberOfStates];
+        boundTolerance = new double[numberOfStates];
+
+        double continuousCutoff = 0.3;
+        if (solutionCall) continuousCutoff += 0.3;
+        boolean flagAllContinuous = true;
+        int continuous = 0;
+        long stride = 1;
+        for (int ii=0; ii<numberOfStates; ii++) {
+
+            double[] axis = scale.axes[aa][ii];
+            points[ii] = (int)(axis[0]+TOL);
+            strides[ii] = stride;
+            lower[ii] = axis[1];
+            upper[ii] = axis[2];
+            range[ii] = axis[2] - axis[1];
+            intervals[ii] = axis[0] - 1.0;
+            inverseStep[ii] = intervals[ii] / range[ii];
+            boundTolerance[ii] = Math.ulp(axis[2]);
+            stride *= points[ii];
+
+            if (axis[3] > continuousCutoff) {
+                // treat as continuous
+                continuous++;
+                if (!flagAllContinuous) {
+                    throw new InvalidParameterException("continuous states do not appear to have been organised contiguously");
+                }
+            } else {
+                // treat as discrete
+                flagAllContinuous = false;
+            }
+        }
+        numberContinuous = continuous;
+    }
+
+
+    /*
+     * WORKER METHODS
+     */
+
+
+    /**
+     * METHOD TO EVALUATE THE STARTING GRID INDEX FOR INTERPOLATION OVER THE CONTINUOUS STATES
+     * Equivalent to States.returnGridIndex evaluated with all continuous states set to their lower bounds
+     * @param supplied full state combination (continuous and discrete)
+     * @return grid index
+     */
+    long startingIndex(States supplied) {
+
+        long index = sliceStartIndex;
+        for (int ii=numberContinuous; ii<numberOfStates; ii++) {
+            double value = supplied.states[ii];
+            if (value > upper[ii] + supplied.eps) {
+                supplied.systemReportError();
+                throw new InvalidParameterException("call to interpolate state above grid maximum");
+            } else if (value < lower[ii] - supplied.eps) {
+                supplied.systemReportError();
+                throw new InvalidParameterException("call to interpolate state under grid minimum");
+            }
+            index += strides[ii] * (long)((value - lower[ii]) / range[ii] * intervals[ii] + supplied.eps);
+        }
+        return index;
+    }
+}
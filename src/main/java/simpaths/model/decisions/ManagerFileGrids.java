@@ -10,6 +10,8 @@ import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +24,15 @@ import java.util.List;
 public class ManagerFileGrids {
 
 
+    /**
+     * ATTRIBUTES
+     */
+    public static final String VALUE_FUNCTION_FILE = "value_function.uft";
+    public static final String CONSUMPTION_FILE = "consumption.uft";
+    public static final String EMPLOYMENT1_FILE = "employment1.uft";
+    public static final String EMPLOYMENT2_FILE = "employment2.uft";
+
+
     /**
      * METHOD TO READ IN DATA TO GRIDS
      *
@@ -36,9 +47,16 @@ public class ManagerFileGrids {
         File grFile = new File(DecisionParams.gridsInputDirectory);
         if (!grFile.exists()) throw new RuntimeException("Directory to read in grids not found: " + DecisionParams.gridsInputDirectory);
 
+        // read versioned grid file where saved, and otherwise raw files of each grid
+        if (GridFile.exists(DecisionParams.gridsInputDirectory)) {
+            GridFile.open(DecisionParams.gridsInputDirectory, grids);
+            grids.loadAllSlices();
+            return;
+        }
+
         // read in valueFunction
         try {
-            unformattedReadWrite(grids.valueFunction, "read", DecisionParams.gridsInputDirectory, "value_function.uft");
+            unformattedReadWrite(grids.valueFunction, "read", DecisionParams.gridsInputDirectory, VALUE_FUNCTION_FILE);
         } catch (IOException e) {
             e.printStackTrace();
         } catch (Throwable e) {
@@ -48,7 +66,7 @@ public class ManagerFileGrids {
 
         // read in consumption
         try {
-            unformattedReadWrite(grids.consumption, "read", DecisionParams.gridsInputDirectory, "consumption.uft");
+            unformattedReadWrite(grids.consumption, "read", DecisionParams.gridsInputDirectory, CONSUMPTION_FILE);
         } catch (IOException e) {
             e.printStackTrace();
         } catch (Throwable e) {
@@ -59,7 +77,7 @@ public class ManagerFileGrids {
         if (grids.employment1!=null) {
             // read in employment 1
             try {
-                unformattedReadWrite(grids.employment1, "read", DecisionParams.gridsInputDirectory, "employment1.uft");
+                unformattedReadWrite(grids.employment1, "read", DecisionParams.gridsInputDirectory, EMPLOYMENT1_FILE);
             } catch (IOException e) {
                 e.printStackTrace();
             } catch (Throwable e) {
@@ -71,7 +89,7 @@ public class ManagerFileGrids {
         if (grids.employment2!=null) {
             // read in employment 2
             try {
-                unformattedReadWrite(grids.employment2, "read", DecisionParams.gridsInputDirectory, "employment2.uft");
+                unformattedReadWrite(grids.employment2, "read", DecisionParams.gridsInputDirectory, EMPLOYMENT2_FILE);
             } catch (IOException e) {
                 e.printStackTrace();
             } catch (Throwable e) {
@@ -98,10 +116,21 @@ public class ManagerFileGrids {
 
         File grFile = new File(DecisionParams.gridsOutputDirectory);
         if (!grFile.exists()) grFile.mkdir();
+        grids.loadAllSlices();
+
+        // write versioned grid file, or raw files of each grid
+        if (DecisionParams.saveGridFile) {
+            try {
+                GridFile.write(grids, DecisionParams.gridsOutputDirectory, DecisionParams.compressGridFile, DecisionParams.floatPolicyGrids);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
 
         // write valueFunction
         try {
-            unformattedReadWrite(grids.valueFunction, "write", DecisionParams.gridsOutputDirectory, "value_function.uft");
+            unformattedReadWrite(grids.valueFunction, "write", DecisionParams.gridsOutputDirectory, VALUE_FUNCTION_FILE);
         } catch (IOException e) {
             e.printStackTrace();
         } catch (Throwable e) {
@@ -111,7 +140,7 @@ public class ManagerFileGrids {
 
         // write consumption
         try {
-            unformattedReadWrite(grids.consumption, "write", DecisionParams.gridsOutputDirectory, "consumption.uft");
+            unformattedReadWrite(grids.consumption, "write", DecisionParams.gridsOutputDirectory, CONSUMPTION_FILE);
         } catch (IOException e) {
             e.printStackTrace();
         } catch (Throwable e) {
@@ -122,7 +151,7 @@ public class ManagerFileGrids {
         if (grids.employment1!=null) {
             // write employment 1
             try {
-                unformattedReadWrite(grids.employment1, "write", DecisionParams.gridsOutputDirectory, "employment1.uft");
+                unformattedReadWrite(grids.employment1, "write", DecisionParams.gridsOutputDirectory, EMPLOYMENT1_FILE);
             } catch (IOException e) {
                 e.printStackTrace();
             } catch (Throwable e) {
@@ -134,7 +163,7 @@ public class ManagerFileGrids {
         if (grids.employment2!=null) {
             // write employment 2
             try {
-                unformattedReadWrite(grids.employment2, "write", DecisionParams.gridsOutputDirectory, "employment2.uft");
+                unformattedReadWrite(grids.employment2, "write", DecisionParams.gridsOutputDirectory, EMPLOYMENT2_FILE);
             } catch (IOException e) {
                 e.printStackTrace();
             } catch (Throwable e) {
@@ -243,6 +272,13 @@ public class ManagerFileGrids {
      */
     public static void unformattedReadWrite(Grid grid, String method, String directory, String fileName) throws IOException {
 
+        // grids mapped to the target file require no transfer
+        if (grid.isMappedTo(Paths.get(directory, fileName))) {
+            if (method.equals("write"))
+                grid.force();
+            return;
+        }
+
         // initialise file reference
         String filePath = directory + File.separator + fileName;
         if (method.equals("write")) {
@@ -284,6 +320,143 @@ public class ManagerFileGrids {
         }
     }
 
+    /**
+     * METHOD TO MAP A GRID TO A FILE, SO THAT GRID VALUES ARE STORED OFF-HEAP
+     *
+     * GRIDS MAPPED READ-ONLY TO SAVED SOLUTIONS ARE PAGED INTO MEMORY ON DEMAND, AND SHARE PHYSICAL MEMORY
+     * WITH ANY OTHER PROCESS THAT MAPS THE SAME FILE. THE FILE LAYOUT IS THAT WRITTEN BY unformattedReadWrite
+     *
+     * @param scale object describing dimensionality of grid
+     * @param size length of grid
+     * @param directory directory of file to map
+     * @param fileName name of file to map
+     * @param readOnly true to map an existing file of saved solutions, false to create a new file initialised
+     *                 to DecisionParams.GRID_DEFAULT_VALUE
+     * @return grid stored in the mapped file
+     * @throws IOException exception encountered while mapping file
+     */
+    public static Grid mapGrid(GridScale scale, long size, String directory, String fileName, boolean readOnly) throws IOException {
+
+        Path path = Paths.get(directory, fileName);
+        long bytes = 8 * size;
+        FileChannel.MapMode mode;
+        FileChannel channel;
+        if (readOnly) {
+            if (!validateFileExists(path.toString())) throw new IOException("file not found: " + path);
+            if (Files.size(path) != bytes)
+                throw new IOException("size of file " + path + " inconsistent with grid dimensions (" + Files.size(path) + " bytes found, " + bytes + " expected)");
+            mode = FileChannel.MapMode.READ_ONLY;
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } else {
+            validateDirectory(directory);
+            mode = FileChannel.MapMode.READ_WRITE;
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        // map segments (mapping remains valid after the channel is closed)
+        Grid grid;
+        try (channel) {
+            grid = new Grid(scale, size, mapSegments(channel, mode, 0L, size), path);
+        }
+        if (!readOnly) {
+            for (long jj=0; jj<size; jj++) {
+                grid.put(jj, DecisionParams.GRID_DEFAULT_VALUE);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * METHOD TO MAP A CONTIGUOUS RUN OF GRID VALUES IN A FILE TO MEMORY, IN SEGMENTS OF Grid.MAPPED_SEGMENT_LENGTH
+     *
+     * @param channel open channel of file to map
+     * @param mode mapping mode
+     * @param position file offset (bytes) of the first grid value
+     * @param size number of grid values to map
+     * @return mapped segments, as required by the off-heap Grid constructor
+     * @throws IOException exception encountered while mapping file
+     */
+    static MappedByteBuffer[] mapSegments(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IOException {
+
+        int numberOfSegments = (int)((size + Grid.MAPPED_SEGMENT_LENGTH - 1) >>> Grid.MAPPED_SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[numberOfSegments];
+        for (int ii=0; ii<numberOfSegments; ii++) {
+            long first = (long)ii * Grid.MAPPED_SEGMENT_LENGTH;
+            long length = Math.min(Grid.MAPPED_SEGMENT_LENGTH, size - first);
+            segments[ii] = channel.map(mode, position + 8 * first, 8 * length);
+        }
+        return segments;
+    }
+
+    /**
+     * METHOD TO WRITE A CONTIGUOUS SLICE OF ALL GRIDS TO A SINGLE FILE
+     *
+     * USED TO CHECKPOINT AGE SLICES AND TO PASS WORK UNIT SOLUTIONS BETWEEN PROCESSES. THE FILE IS WRITTEN
+     * TO A TEMPORARY LOCATION AND THEN MOVED INTO PLACE, SO THAT AN INTERRUPTED WRITE DOES NOT LEAVE A
+     * PARTIAL SLICE BEHIND
+     *
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param directory directory of file to write
+     * @param fileName name of file to write
+     * @param start first grid index of slice
+     * @param length number of grid points in slice
+     * @throws IOException exception encountered while executing write routine
+     */
+    public static void sliceWrite(Grids grids, String directory, String fileName, long start, long length) throws IOException {
+
+        validateDirectory(directory);
+        Path target = Paths.get(directory, fileName);
+        Path temp = Paths.get(directory, fileName + ".tmp");
+        Grid[] gridArray = {grids.valueFunction, grids.consumption, grids.employment1, grids.employment2};
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeLong(start);
+            out.writeLong(length);
+            out.writeInt(gridArray.length);
+            for (Grid grid : gridArray) {
+                boolean include = (grid != null && start + length <= grid.size);
+                out.writeBoolean(include);
+                if (include) {
+                    for (long jj=start; jj<start+length; jj++) {
+                        out.writeDouble(grid.get(jj));
+                    }
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * METHOD TO READ A SLICE OF ALL GRIDS WRITTEN BY sliceWrite
+     *
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param directory directory of file to read
+     * @param fileName name of file to read
+     * @throws IOException exception encountered while executing read routine
+     */
+    public static void sliceRead(Grids grids, String directory, String fileName) throws IOException {
+
+        String filePath = directory + File.separator + fileName;
+        if (!validateFileExists(filePath)) throw new IOException("file not found: " + filePath);
+        Grid[] gridArray = {grids.valueFunction, grids.consumption, grids.employment1, grids.employment2};
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(filePath))))) {
+            long start = in.readLong();
+            long length = in.readLong();
+            int numberOfGrids = in.readInt();
+            if (numberOfGrids != gridArray.length)
+                throw new IOException("unexpected number of grids in slice file: " + filePath);
+            for (Grid grid : gridArray) {
+                boolean include = in.readBoolean();
+                if (include) {
+                    if (grid == null || start + length > grid.size)
+                        throw new IOException("slice file inconsistent with grid dimensions: " + filePath);
+                    for (long jj=start; jj<start+length; jj++) {
+                        grid.put(jj, in.readDouble());
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * METHOD TO CLOSE FILE
      * @param file File object to close
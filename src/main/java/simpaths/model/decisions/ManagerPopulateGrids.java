@@ -27,20 +27,33 @@ public class ManagerPopulateGrids {
         Instant beforeTotal = Instant.now();
 
         // initiate the decision grids
-        Grids grids = new Grids();
+        // saved grids are loaded from the versioned GridFile format where available, and otherwise mapped or read
+        // from the raw files of earlier versions. Where mapSavedGrids, grid files are mapped to memory so that
+        // simultaneous runs share the same pages (see GridFile.load)
+        Grids grids;
+        boolean useGridFile = useSavedGrids && GridFile.exists(DecisionParams.gridsInputDirectory);
+        if (useGridFile) {
+            System.out.println("Opening optimised decisions saved in " + DecisionParams.gridsInputDirectory);
+            grids = GridFile.load(DecisionParams.gridsInputDirectory, DecisionParams.mapSavedGrids);
+        } else if (useSavedGrids && DecisionParams.mapSavedGrids) {
+            System.out.println("Mapping optimised decisions from disk");
+            grids = new Grids(DecisionParams.gridsInputDirectory, true);
+        } else if (!useSavedGrids && DecisionParams.mapSolvedGrids) {
+            grids = new Grids(DecisionParams.gridsOutputDirectory, false);
+        } else {
+            grids = new Grids();
+        }
 
         // populate the decision grids
         if (useSavedGrids) {
-            ManagerFileGrids.read(grids);
+            if (!useGridFile && !DecisionParams.mapSavedGrids)
+                ManagerFileGrids.read(grids);
         } else {
-            if (DecisionParams.SOLVE_FROM_INTERMEDIATE)
-                throw new RuntimeException("cannot solve from intermediate solutions without loading intermediate solutions");
-        }
-        if (!useSavedGrids || DecisionParams.SOLVE_FROM_INTERMEDIATE) {
             // need to solve for intertemporal optimisations
+            // solutions resume from any checkpoint saved by an interrupted prior call (see ManagerSolveCheckpoint)
 
             model.addRegressionStochasticComponent = false;
-            ManagerSolveGrids.run(grids);
+            ManagerSolveGrids.run(grids, model);
             model.addRegressionStochasticComponent = true;
         }
 
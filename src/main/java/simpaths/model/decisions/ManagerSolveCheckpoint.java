@@ -0,0 +1,270 @@
+package simpaths.model.decisions;
+
+import org.apache.commons.math3.util.Pair;
+import simpaths.data.MahalanobisDistance;
+import simpaths.data.Parameters;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+
+/**
+ *
+ * CLASS TO MANAGE CHECKPOINTS OF PARTIALLY SOLVED INTERTEMPORAL OPTIMISATION GRIDS
+ *
+ * A CHECKPOINT COMPRISES ONE SLICE FILE PER SOLVED AGE, WRITTEN TO DecisionParams.gridsCheckpointDirectory
+ * AS SOON AS THE AGE IS COMPLETE, AND A SIGNATURE FILE IDENTIFYING THE GRID SCALE AND ALL PARAMETERS FOR WHICH
+ * THE SLICES WERE SOLVED (SEE signature). AS THE GRIDS ARE SOLVED BY BACKWARD INDUCTION, THE SOLVED AGES ARE
+ * ALWAYS CONTIGUOUS FROM THE LAST PERIOD OF LIFE, SO THAT A SOLUTION CAN BE RESUMED FROM THE YOUNGEST
+ * AGE FOR WHICH A SLICE EXISTS
+ *
+ * CHECKPOINTS ARE STORED IN A SUB-DIRECTORY OF DecisionParams.gridsCheckpointRootDirectory NAMED BY THE SIGNATURE,
+ * WHICH DOES NOT DEPEND ON THE OUTPUT FOLDER OF THE RUN. A RUN RESTARTED AFTER BEING KILLED THEREFORE FINDS THE
+ * CHECKPOINT OF THE INTERRUPTED SOLUTION, WHILE RUNS THAT SOLVE FOR DIFFERENT PARAMETERS USE DIFFERENT DIRECTORIES.
+ * A CHECKPOINT IS LOCKED WHILE ITS SOLUTION IS IN PROGRESS (THE LOCK IS RELEASED IF THE PROCESS IS KILLED), AND A
+ * CONCURRENT SOLUTION OF THE SAME GRIDS IN ANOTHER PROCESS USES A DIRECTORY SUFFIXED BY ITS PROCESS ID. THE SAME SLICE FILES ARE USED BY WORKER PROCESSES TO OBTAIN THE VALUE FUNCTION FOR THE FOLLOWING AGE
+ *
+ */
+public class ManagerSolveCheckpoint {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final String SIGNATURE_FILE = "checkpoint.txt";
+    private static final String LOCK_FILE = "checkpoint.lock";
+    private static final Set<String> SIGNATURE_EXCLUSIONS = Set.of(     // settings of DecisionParams that do not affect solutions
+            "saveGridSlicesToCSV", "saveIntermediateSolutions", "saveImperfectTaxDbMatches", "mapSavedGrids", "mapSolvedGrids",
+            "saveGridFile", "compressGridFile", "floatPolicyGrids", "checkpointSolutions", "solveWorkers");
+
+    private static FileChannel lockChannel;     // holds the lock on the checkpoint of the solution in progress, released if the process is killed
+
+
+    /**
+     * METHOD TO LOAD ANY VALID CHECKPOINT INTO THE GRIDS
+     * sets DecisionParams.gridsCheckpointDirectory to the sub-directory of the checkpoint root for the signature
+     * of the grids, which is used by all subsequent calls to save, load and clear
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @return age index from which solutions need to be obtained
+     */
+    public static int resume(Grids grids) {
+
+        String signature = signature(grids.scale);
+        String directory = Paths.get(DecisionParams.gridsCheckpointRootDirectory, signature).toString();
+        int solveFromAgeIndex = grids.scale.simLifeSpan - 1;
+        try {
+
+            release();
+            Files.createDirectories(Paths.get(directory));
+            if (!lock(directory)) {
+                // checkpoint in use by a solution in progress in another process
+                directory = directory + "_" + ProcessHandle.current().pid();
+                System.out.println("Grid checkpoint " + signature + " is in use by another process: solving optimised decisions using checkpoint in " + directory);
+                Files.createDirectories(Paths.get(directory));
+                lock(directory);
+            }
+            DecisionParams.gridsCheckpointDirectory = directory;
+
+            Path signaturePath = Paths.get(directory, SIGNATURE_FILE);
+            if (Files.exists(signaturePath) && signature.equals(Files.readString(signaturePath).trim())) {
+
+                deleteFiles(directory, "unit_");
+                while (solveFromAgeIndex >= 0 && Files.exists(Paths.get(directory, getAgeFileName(solveFromAgeIndex)))) {
+                    ManagerFileGrids.sliceRead(grids, directory, getAgeFileName(solveFromAgeIndex));
+                    solveFromAgeIndex--;
+                }
+                if (solveFromAgeIndex < grids.scale.simLifeSpan - 1)
+                    System.out.println("Resuming solution of optimised decisions from age " +
+                            (solveFromAgeIndex + Parameters.AGE_TO_BECOME_RESPONSIBLE) + " using checkpoint in " + directory);
+            } else {
+
+                deleteFiles(directory, "unit_");
+                deleteFiles(directory, "age_");
+                Files.writeString(signaturePath, signature);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("problem accessing grid checkpoint in " + directory, e);
+        }
+        return solveFromAgeIndex;
+    }
+
+    /**
+     * METHOD TO SAVE SOLUTIONS FOR A COMPLETED AGE SLICE
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param aa age index of completed grid slice
+     */
+    public static void save(Grids grids, int aa) {
+
+        try {
+            ManagerFileGrids.sliceWrite(grids, DecisionParams.gridsCheckpointDirectory, getAgeFileName(aa),
+                    grids.scale.gridDimensions[aa][3], grids.scale.gridDimensions[aa][2]);
+        } catch (IOException e) {
+            throw new RuntimeException("problem saving grid checkpoint for age index " + aa, e);
+        }
+    }
+
+    /**
+     * METHOD TO LOAD SOLUTIONS FOR A SINGLE AGE SLICE FROM THE CHECKPOINT
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param aa age index of grid slice
+     */
+    public static void load(Grids grids, int aa) {
+
+        try {
+            ManagerFileGrids.sliceRead(grids, DecisionParams.gridsCheckpointDirectory, getAgeFileName(aa));
+        } catch (IOException e) {
+            throw new RuntimeException("problem loading grid checkpoint for age index " + aa, e);
+        }
+    }
+
+    /**
+     * METHOD TO REMOVE CHECKPOINT, CALLED ONCE ALL AGES HAVE BEEN SOLVED
+     */
+    public static void clear() {
+        try {
+            release();
+            deleteFiles(DecisionParams.gridsCheckpointDirectory, "");
+            Files.deleteIfExists(Paths.get(DecisionParams.gridsCheckpointDirectory));
+        } catch (IOException e) {
+            throw new RuntimeException("problem clearing grid checkpoint in " + DecisionParams.gridsCheckpointDirectory, e);
+        }
+    }
+
+    /**
+     * METHOD TO DESCRIBE THE CONFIGURATION UNDER WHICH GRIDS ARE SOLVED
+     * Checkpoints are only resumed if the signature is unchanged. The signature is a SHA-256 hash of everything
+     * that the solutions depend on: the grid axes; the numerical settings of DecisionParams (other than those that
+     * only affect how solutions are stored or distributed) and the preference parameters of CESUtility; the country,
+     * simulated years, innovations and model flags recorded in Parameters; the content of the parameter workbooks
+     * (Parameters.getParameterHash); the tax policy schedule; and the donor pool used to impute taxes and benefits
+     */
+    static String signature(GridScale scale) {
+
+        StringBuilder settings = new StringBuilder();
+        settings.append("scale=").append(Arrays.deepToString(scale.axes)).append(Arrays.deepToString(scale.gridDimensions));
+        appendStaticFields(settings, DecisionParams.class);
+        appendStaticFields(settings, CESUtility.class);
+        settings.append(";country=").append(Parameters.getCountry())
+                .append(";years=").append(Parameters.startYear).append(':').append(Parameters.endYear).append(':').append(Parameters.maxAge)
+                .append(";innovations=").append(Parameters.realInterestRateInnov).append(':').append(Parameters.disposableIncomeFromLabourInnov)
+                .append(";flags=").append(Parameters.flagFormalChildcare).append(':').append(Parameters.flagSocialCare)
+                .append(':').append(Parameters.flagSuppressChildcareCosts).append(':').append(Parameters.flagSuppressSocialCareCosts)
+                .append(':').append(Parameters.flagUnemployment).append(':').append(Parameters.donorPoolAveraging)
+                .append(":").append(Parameters.isFixTimeTrend).append(':').append(Parameters.timeTrendStopsIn)
+                .append(";parameters=").append(Parameters.getParameterHash());
+        for (Map.Entry<Integer, Pair<String, Integer>> entry : Parameters.EUROMODpolicyScheduleSystemYearMap.entrySet()) {
+            settings.append(";policy=").append(entry.getKey()).append(':').append(entry.getValue().getFirst())
+                    .append(':').append(entry.getValue().getSecond());
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(settings.toString().getBytes(StandardCharsets.UTF_8));
+            try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+                if (Parameters.getDonorPoolIndex() != null)
+                    Parameters.getDonorPoolIndex().write(out);
+                for (MahalanobisDistance md : new MahalanobisDistance[]{Parameters.getMdDualIncome(), Parameters.getMdChildcare(), Parameters.getMdDualIncomeChildcare()}) {
+                    if (md == null)
+                        continue;
+                    for (double value : md.getMean()) out.writeDouble(value);
+                    for (double[] row : md.getCovarianceInverse()) {
+                        for (double value : row) out.writeDouble(value);
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new RuntimeException("problem evaluating signature of grid solutions", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * METHOD TO DESCRIBE THE VALUES OF ALL STATIC FIELDS OF A CLASS WITH PRIMITIVE, ENUM OR ARRAY TYPE
+     */
+    private static void appendStaticFields(StringBuilder settings, Class<?> type) {
+
+        for (Field field : type.getDeclaredFields()) {
+
+            Class<?> fieldType = field.getType();
+            if (!Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || SIGNATURE_EXCLUSIONS.contains(field.getName()))
+                continue;
+            if (!fieldType.isPrimitive() && !fieldType.isEnum() && !fieldType.isArray())
+                continue;
+            try {
+                field.setAccessible(true);
+                settings.append(';').append(type.getSimpleName()).append('.').append(field.getName()).append('=')
+                        .append(Arrays.deepToString(new Object[]{field.get(null)}));
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new RuntimeException("problem describing " + type.getSimpleName() + "." + field.getName() + " for grid checkpoint", e);
+            }
+        }
+    }
+
+    static String getAgeFileName(int aa) {
+        return "age_" + aa + ".slice";
+    }
+
+    /**
+     * METHOD TO LOCK A CHECKPOINT DIRECTORY AGAINST USE BY SOLUTIONS IN OTHER PROCESSES
+     * @return false if the directory is locked by another process
+     */
+    private static boolean lock(String directory) throws IOException {
+
+        FileChannel channel = FileChannel.open(Paths.get(directory, LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            return false;
+        }
+        lockChannel = channel;
+        return true;
+    }
+
+    private static void release() throws IOException {
+        if (lockChannel != null) {
+            lockChannel.close();
+            lockChannel = null;
+        }
+    }
+
+    private static void deleteFiles(String directory, String prefix) throws IOException {
+
+        Path path = Paths.get(directory);
+        if (!Files.isDirectory(path))
+            return;
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(path)) {
+            files = stream.filter(pp -> pp.getFileName().toString().startsWith(prefix)).toList();
+        }
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
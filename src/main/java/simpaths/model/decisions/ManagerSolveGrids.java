@@ -1,6 +1,8 @@
 package simpaths.model.decisions;
 
 import simpaths.data.Parameters;
+import simpaths.model.SimPathsModel;
+import simpaths.model.taxes.DonorTaxImputationCache;
 import simpaths.model.taxes.Matches;
 
 import java.time.Duration;
@@ -31,10 +33,19 @@ import java.util.stream.IntStream;
  * THE FOURTH (INNER-MOST) LOOP IS SEPARATED FROM THE THIRD LOOP ONLY TO ECONOMISE
  * THE OVER-HEAD ASSOCIATED WITH PARALLELISATIONS
  *
+ * WHERE DecisionParams.solveWorkers > 0, THE SECOND LOOP IS SPLIT INTO WORK UNITS (SolveWorkUnit)
+ * THAT ARE SHARED BETWEEN THE CURRENT JVM AND LOCAL WORKER PROCESSES (ManagerSolveWorkers)
+ *
  */
 public class ManagerSolveGrids {
 
 
+    /**
+     * ATTRIBUTES
+     */
+    static DonorTaxImputationCache taxBenefitCache;     // memoised tax and benefit imputations, if DecisionParams.cacheTaxBenefitEvaluations
+
+
     /**
      * ENTRY POINT FOR MANAGER
      * @param grids refers to the look-up table that stores IO solutions (the 'grids')
@@ -42,84 +53,86 @@ public class ManagerSolveGrids {
      * THE MANAGER IS 'run' FROM ManagerPopulateGrids
      */
     public static void run(Grids grids) {
+        run(grids, null);
+    }
+
+    /**
+     * ENTRY POINT FOR MANAGER
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param model simulation model, used to configure worker processes if DecisionParams.solveWorkers > 0
+     *
+     * SOLUTIONS ARE CHECKPOINTED AFTER EACH AGE SLICE IF DecisionParams.checkpointSolutions, SO THAT AN
+     * INTERRUPTED SOLUTION RESUMES FROM THE LAST AGE COMPLETED BY A PRIOR CALL WITH THE SAME SIGNATURE (see ManagerSolveCheckpoint)
+     */
+    public static void run(Grids grids, SimPathsModel model) {
 
 
         System.out.println("Obtaining numerical solutions for optimised decisions");
 
-        // solve grids using backward-induction, working from the last potential period in life
+        // identify starting point for backward-induction, working from the last potential period in life
+        boolean useWorkers = (DecisionParams.solveWorkers > 0 && model != null);
+        boolean useCheckpoint = (DecisionParams.checkpointSolutions || useWorkers);
+        int solveFromAgeIndex = grids.scale.simLifeSpan - 1;
+        if (useCheckpoint)
+            solveFromAgeIndex = ManagerSolveCheckpoint.resume(grids);
+
+        // start worker processes
+        initialiseTaxBenefitCache();
+        ManagerSolveWorkers workers = null;
+        if (useWorkers && solveFromAgeIndex >= 0)
+            workers = new ManagerSolveWorkers(model, DecisionParams.solveWorkers);
+
+        // solve grids
         Instant beforeTotal = null, afterTotal = null;
-        int solveFromAgeIndex;
-        if (DecisionParams.SOLVE_FROM_INTERMEDIATE)
-            solveFromAgeIndex = DecisionParams.SOLVE_FROM_AGE - Parameters.AGE_TO_BECOME_RESPONSIBLE;
-        else
-            solveFromAgeIndex = grids.scale.simLifeSpan - 1;
-        for (int aa=solveFromAgeIndex; aa>=0; aa--) {
-
-            Instant before = Instant.now();
-            if (aa==solveFromAgeIndex) beforeTotal = before;
-
-            // set age specific working variables
-            int innerDimension = (int)grids.scale.gridDimensions[aa][0];
-            int outerDimension = (int)grids.scale.gridDimensions[aa][1];
-            int ageYears = aa + Parameters.AGE_TO_BECOME_RESPONSIBLE;
-            Matches imperfectMatches = new Matches();
-            List<Matches> imperfectMatchStore = newImperfectMatchStore((int)grids.scale.gridDimensions[aa][2]);
-
-            // loop over outer dimensions, for which expectations are independent of IO decisions (controls)
-            for (int iiOuter=0; iiOuter<outerDimension; iiOuter++) {
-
-                // identify current state combination for outer states
-                States outerStates = new States(grids.scale, ageYears);
-                outerStates.populateOuterGridStates(iiOuter);
-                boolean loopConsider = outerStates.checkOuterStateCombination();
-                if (loopConsider) {
-
-                    // define expectations for outer states not affected by agent decisions
-                    Expectations outerExpectations = new Expectations(outerStates);
-
-                    // loop over inner dimensions
-                    if (DecisionParams.PARALLELISE_SOLUTIONS) {
-                        IntStream.range(0, innerDimension).parallel().forEach(iiInner -> {
-                            // identify current state combination and copy expectations
-                            States currentStates = new States(outerStates);
-                            currentStates.populateInnerGridStates(iiInner);
-                            boolean stateConsider = currentStates.checkStateCombination();
-                            if (stateConsider) {
-                                ManagerSolveState.run(grids, currentStates, outerExpectations, imperfectMatchStore);
-                            }
-                        });
-                    } else {
-                        for (int iiInner=0; iiInner<innerDimension; iiInner++) {
-                            // identify current state combination and copy expectations
-                            States currentStates = new States(outerStates);
-                            currentStates.populateInnerGridStates(iiInner);
-                            boolean stateConsider = currentStates.checkStateCombination();
-                            if (stateConsider) {
-                                ManagerSolveState.run(grids, currentStates, outerExpectations, imperfectMatchStore);
-                            }
+        try {
+            for (int aa=solveFromAgeIndex; aa>=0; aa--) {
+
+                Instant before = Instant.now();
+                if (aa==solveFromAgeIndex) beforeTotal = before;
+
+                // set age specific working variables
+                int outerDimension = (int)grids.scale.gridDimensions[aa][1];
+                int ageYears = aa + Parameters.AGE_TO_BECOME_RESPONSIBLE;
+                Matches imperfectMatches = new Matches();
+                List<Matches> imperfectMatchStore = newImperfectMatchStore((int)grids.scale.gridDimensions[aa][2]);
+
+                // loop over outer dimensions, for which expectations are independent of IO decisions (controls)
+                if (workers != null) {
+                    workers.solve(grids, SolveWorkUnit.partition(aa, outerDimension, DecisionParams.solveWorkers * DecisionParams.SOLVE_UNITS_PER_WORKER), imperfectMatchStore);
+                } else {
+                    solveOuterRange(grids, aa, 0, outerDimension, imperfectMatchStore);
+                }
+                if (DecisionParams.saveImperfectTaxDbMatches) {
+                    for (Matches mm : imperfectMatchStore) {
+                        if (!mm.isEmpty()) {
+                            imperfectMatches.addSet(mm.getSet());
                         }
                     }
-                }
-            }
-            if (DecisionParams.saveImperfectTaxDbMatches) {
-                for (Matches mm : imperfectMatchStore) {
-                    if (!mm.isEmpty()) {
-                        imperfectMatches.addSet(mm.getSet());
+                    if (!imperfectMatches.isEmpty()) {
+                        imperfectMatches.write(DecisionParams.gridsOutputDirectory, "poor_taxmatch_age_" + ageYears + ".csv");
                     }
                 }
-                if (!imperfectMatches.isEmpty()) {
-                    imperfectMatches.write(DecisionParams.gridsOutputDirectory, "poor_taxmatch_age_" + ageYears + ".csv");
-                }
+                if (useCheckpoint)
+                    ManagerSolveCheckpoint.save(grids, aa);
+                if (DecisionParams.saveIntermediateSolutions && (ageYears<80) && ((ageYears % 5)==0))
+                    ManagerFileGrids.unformattedWrite(grids, true);
+                if (DecisionParams.saveGridSlicesToCSV)
+                    ManagerFileGrids.formattedWrite(grids, aa);
+                Instant after = Instant.now();
+                if (aa == 0) afterTotal = after;
+                Duration duration = Duration.between(before, after);
+                System.out.println("Calculations for age " + ageYears + " completed in " + String.format("%.3f", (double)duration.toMillis()/1000.0) + " seconds");
+            }
+        } finally {
+            if (workers != null)
+                workers.close();
+            if (taxBenefitCache != null) {
+                System.out.println("Solutions obtained using " + taxBenefitCache.reportMetrics());
+                taxBenefitCache = null;
             }
-            if (DecisionParams.saveIntermediateSolutions && (ageYears<80) && ((ageYears % 5)==0))
-                ManagerFileGrids.unformattedWrite(grids, true);
-            if (DecisionParams.saveGridSlicesToCSV)
-                ManagerFileGrids.formattedWrite(grids, aa);
-            Instant after = Instant.now();
-            if (aa == 0) afterTotal = after;
-            Duration duration = Duration.between(before, after);
-            System.out.println("Calculations for age " + ageYears + " completed in " + String.format("%.3f", (double)duration.toMillis()/1000.0) + " seconds");
         }
+        if (useCheckpoint)
+            ManagerSolveCheckpoint.clear();
         if (beforeTotal != null && afterTotal != null) {
 
             Duration durationTotal = Duration.between(beforeTotal, afterTotal);
@@ -127,7 +140,66 @@ public class ManagerSolveGrids {
         }
     }
 
-    private static List<Matches> newImperfectMatchStore(int size) {
+    /**
+     * METHOD TO SOLVE A CONTIGUOUS RANGE OF OUTER STATE COMBINATIONS FOR A GIVEN AGE SLICE
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param aa age index of grid slice
+     * @param outerFrom first outer index to solve (inclusive)
+     * @param outerTo last outer index to solve (exclusive)
+     * @param imperfectMatchStore storage for imperfect tax database matches, indexed by age specific index
+     *
+     * CALLED FOR THE COMPLETE OUTER RANGE BY run, AND FOR WORK UNITS BY ManagerSolveWorkers AND ManagerSolveWorker
+     */
+    static void solveOuterRange(Grids grids, int aa, int outerFrom, int outerTo, List<Matches> imperfectMatchStore) {
+
+        int innerDimension = (int)grids.scale.gridDimensions[aa][0];
+        int ageYears = aa + Parameters.AGE_TO_BECOME_RESPONSIBLE;
+        for (int iiOuter=outerFrom; iiOuter<outerTo; iiOuter++) {
+
+            // identify current state combination for outer states
+            States outerStates = new States(grids.scale, ageYears);
+            outerStates.populateOuterGridStates(iiOuter);
+            boolean loopConsider = outerStates.checkOuterStateCombination();
+            if (loopConsider) {
+
+                // define expectations for outer states not affected by agent decisions
+                Expectations outerExpectations = new Expectations(outerStates);
+
+                // loop over inner dimensions
+                if (DecisionParams.PARALLELISE_SOLUTIONS) {
+                    IntStream.range(0, innerDimension).parallel().forEach(iiInner -> {
+                        // identify current state combination and copy expectations
+                        States currentStates = new States(outerStates);
+                        currentStates.populateInnerGridStates(iiInner);
+                        boolean stateConsider = currentStates.checkStateCombination();
+                        if (stateConsider) {
+                            ManagerSolveState.run(grids, currentStates, outerExpectations, imperfectMatchStore);
+                        }
+                    });
+                } else {
+                    for (int iiInner=0; iiInner<innerDimension; iiInner++) {
+                        // identify current state combination and copy expectations
+                        States currentStates = new States(outerStates);
+                        currentStates.populateInnerGridStates(iiInner);
+                        boolean stateConsider = currentStates.checkStateCombination();
+                        if (stateConsider) {
+                            ManagerSolveState.run(grids, currentStates, outerExpectations, imperfectMatchStore);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * METHOD TO INSTANTIATE CACHE OF TAX AND BENEFIT IMPUTATIONS USED BY Expectations.taxBenefitFunction
+     * The cache depends on the tax database references, and so is instantiated for each solution
+     */
+    static void initialiseTaxBenefitCache() {
+        taxBenefitCache = (DecisionParams.cacheTaxBenefitEvaluations) ? new DonorTaxImputationCache() : null;
+    }
+
+    static List<Matches> newImperfectMatchStore(int size) {
         List<Matches> list = new ArrayList<>();
         for (int ii=0; ii<size; ii++) {
             list.add(new Matches());
@@ -0,0 +1,103 @@
+package simpaths.model.decisions;
+
+import simpaths.data.Parameters;
+import simpaths.model.SimPathsModel;
+import simpaths.model.taxes.Matches;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+
+
+/**
+ *
+ * ENTRY POINT FOR WORKER PROCESSES LAUNCHED BY ManagerSolveWorkers
+ *
+ * THE WORKER LOADS MODEL PARAMETERS FROM THE SETTINGS FILE SUPPLIED AS ITS ONLY ARGUMENT, AND THEN SOLVES
+ * WORK UNITS RECEIVED VIA STANDARD INPUT UNTIL INSTRUCTED TO EXIT. THE VALUE FUNCTION FOR THE AGE FOLLOWING
+ * EACH WORK UNIT IS READ FROM THE CHECKPOINT SAVED BY THE PARENT PROCESS (ManagerSolveCheckpoint)
+ *
+ */
+public class ManagerSolveWorker {
+
+
+    public static void main(String[] args) {
+
+        if (args.length != 1)
+            throw new IllegalArgumentException("worker process requires path to settings file");
+
+        int status = 0;
+        try {
+
+            // initialise model parameters
+            Properties settings = new Properties();
+            try (InputStream in = Files.newInputStream(Paths.get(args[0]))) {
+                settings.load(in);
+            }
+            SimPathsModel.buildDecisionWorker(settings);
+            DecisionParams.gridsCheckpointDirectory = Paths.get(args[0]).toAbsolutePath().getParent().toString();     // settings are saved in the checkpoint of the parent process
+            Grids grids = new Grids();
+            ManagerSolveGrids.initialiseTaxBenefitCache();
+            reply(ManagerSolveWorkers.READY);
+
+            // solve work units
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+            int loadedAgeIndex = -1;
+            String line;
+            while ((line = in.readLine()) != null) {
+
+                line = line.trim();
+                if (ManagerSolveWorkers.EXIT.equals(line))
+                    break;
+                if (!line.startsWith(ManagerSolveWorkers.SOLVE))
+                    continue;
+                SolveWorkUnit unit = SolveWorkUnit.fromMessage(line.substring(ManagerSolveWorkers.SOLVE.length()));
+                try {
+
+                    int nextAgeIndex = unit.ageIndex + 1;
+                    if (nextAgeIndex < grids.scale.simLifeSpan && nextAgeIndex != loadedAgeIndex) {
+                        ManagerSolveCheckpoint.load(grids, nextAgeIndex);
+                        loadedAgeIndex = nextAgeIndex;
+                    }
+                    List<Matches> imperfectMatchStore = ManagerSolveGrids.newImperfectMatchStore((int)grids.scale.gridDimensions[unit.ageIndex][2]);
+                    ManagerSolveGrids.solveOuterRange(grids, unit.ageIndex, unit.outerFrom, unit.outerTo, imperfectMatchStore);
+                    ManagerFileGrids.sliceWrite(grids, DecisionParams.gridsCheckpointDirectory, unit.getFileName(),
+                            unit.getStartIndex(grids.scale), unit.getLength(grids.scale));
+                    if (DecisionParams.saveImperfectTaxDbMatches)
+                        writeImperfectMatches(unit, imperfectMatchStore);
+                    reply(ManagerSolveWorkers.DONE + " " + unit.toMessage());
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    reply(ManagerSolveWorkers.FAILED + " " + unit.toMessage());
+                }
+            }
+        } catch (Throwable e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        System.exit(status);    // terminate any threads left by database and simulation engine resources
+    }
+
+    private static void reply(String message) {
+        System.out.println(message);
+        System.out.flush();
+    }
+
+    private static void writeImperfectMatches(SolveWorkUnit unit, List<Matches> imperfectMatchStore) {
+
+        Matches imperfectMatches = new Matches();
+        for (Matches mm : imperfectMatchStore) {
+            if (!mm.isEmpty()) {
+                imperfectMatches.addSet(mm.getSet());
+            }
+        }
+        if (!imperfectMatches.isEmpty()) {
+            int ageYears = unit.ageIndex + Parameters.AGE_TO_BECOME_RESPONSIBLE;
+            imperfectMatches.write(DecisionParams.gridsOutputDirectory, "poor_taxmatch_age_" + ageYears + "_unit_" + unit.outerFrom + ".csv");
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package simpaths.model.decisions;
+
+import simpaths.data.Parameters;
+import simpaths.model.SimPathsModel;
+import simpaths.model.taxes.Matches;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *
+ * CLASS TO MANAGE LOCAL WORKER PROCESSES USED TO SOLVE THE INTERTEMPORAL OPTIMISATION GRIDS
+ *
+ * WORKER PROCESSES (ManagerSolveWorker) ARE LAUNCHED ONCE, AT THE START OF THE SOLUTION PROCEDURE, AND ARE
+ * SENT WORK UNITS FOR EACH AGE VIA THEIR STANDARD INPUT. EACH WORKER SAVES THE SOLUTIONS FOR A WORK UNIT
+ * TO THE CHECKPOINT DIRECTORY AND REPORTS COMPLETION VIA ITS STANDARD OUTPUT, AFTER WHICH THE PARTIAL GRID
+ * SLICE IS MERGED INTO THE GRIDS OF THE CURRENT JVM
+ *
+ * THE CURRENT JVM SOLVES WORK UNITS ALONGSIDE THE WORKERS, AND TAKES OVER ANY WORK UNIT ASSIGNED TO A
+ * WORKER THAT FAILS
+ *
+ */
+public class ManagerSolveWorkers {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    static final String MESSAGE_PREFIX = "@@";
+    static final String READY = MESSAGE_PREFIX + "solve-worker-ready";
+    static final String DONE = MESSAGE_PREFIX + "solve-worker-done";
+    static final String FAILED = MESSAGE_PREFIX + "solve-worker-failed";
+    static final String END_OF_STREAM = MESSAGE_PREFIX + "solve-worker-eos";
+    static final String SOLVE = "solve";
+    static final String EXIT = "exit";
+    static final String SETTINGS_FILE = "worker.properties";
+
+    private final List<WorkerProcess> workers = new ArrayList<>();
+
+
+    /**
+     * CONSTRUCTOR
+     * @param model simulation model, used to configure the worker processes
+     * @param numberOfWorkers number of worker processes to launch
+     */
+    public ManagerSolveWorkers(SimPathsModel model, int numberOfWorkers) {
+
+        System.out.println("Launching " + numberOfWorkers + " worker processes to solve for optimised decisions");
+        String settingsPath = DecisionParams.gridsCheckpointDirectory + File.separator + SETTINGS_FILE;
+        try (OutputStream out = Files.newOutputStream(Paths.get(settingsPath))) {
+            model.getDecisionWorkerSettings().store(out, "settings for solution of optimised decisions by worker processes");
+        } catch (IOException e) {
+            throw new RuntimeException("problem writing settings for worker processes to " + settingsPath, e);
+        }
+        for (int ii=0; ii<numberOfWorkers; ii++) {
+            workers.add(new WorkerProcess(ii, settingsPath));
+        }
+    }
+
+
+    /*
+     * WORKING METHODS
+     */
+
+
+    /**
+     * METHOD TO SOLVE A SET OF WORK UNITS, SHARED BETWEEN THE WORKER PROCESSES AND THE CURRENT JVM
+     * @param grids refers to the look-up table that stores IO solutions (the 'grids')
+     * @param units work units to solve
+     * @param imperfectMatchStore storage for imperfect tax database matches of work units solved in the current JVM
+     */
+    public void solve(Grids grids, List<SolveWorkUnit> units, List<Matches> imperfectMatchStore) {
+
+        ConcurrentLinkedQueue<SolveWorkUnit> queue = new ConcurrentLinkedQueue<>(units);
+        List<SolveWorkUnit> solvedByWorkers = Collections.synchronizedList(new ArrayList<>());
+
+        // dispatch work units to worker processes
+        List<Thread> dispatchers = new ArrayList<>();
+        for (WorkerProcess worker : workers) {
+            if (worker.isAlive()) {
+                Thread dispatcher = new Thread(() -> {
+                    SolveWorkUnit unit;
+                    while ((unit = queue.poll()) != null) {
+                        if (worker.solve(unit)) {
+                            solvedByWorkers.add(unit);
+                        } else {
+                            queue.add(unit);
+                            break;
+                        }
+                    }
+                }, "solve-dispatcher-" + worker.id);
+                dispatcher.setDaemon(true);
+                dispatcher.start();
+                dispatchers.add(dispatcher);
+            }
+        }
+
+        // solve work units in current JVM
+        solveLocally(grids, queue, imperfectMatchStore);
+        for (Thread dispatcher : dispatchers) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("interrupted while waiting for worker processes", e);
+            }
+        }
+        solveLocally(grids, queue, imperfectMatchStore);   // work units returned by workers that failed
+
+        // merge partial grid slices
+        for (SolveWorkUnit unit : solvedByWorkers) {
+            try {
+                ManagerFileGrids.sliceRead(grids, DecisionParams.gridsCheckpointDirectory, unit.getFileName());
+                Files.deleteIfExists(Paths.get(DecisionParams.gridsCheckpointDirectory, unit.getFileName()));
+            } catch (IOException e) {
+                throw new RuntimeException("problem merging solutions for work unit: " + unit, e);
+            }
+        }
+    }
+
+    /**
+     * METHOD TO TERMINATE ALL WORKER PROCESSES
+     */
+    public void close() {
+        for (WorkerProcess worker : workers) {
+            worker.close();
+        }
+    }
+
+    private static void solveLocally(Grids grids, Queue<SolveWorkUnit> queue, List<Matches> imperfectMatchStore) {
+        SolveWorkUnit unit;
+        while ((unit = queue.poll()) != null) {
+            ManagerSolveGrids.solveOuterRange(grids, unit.ageIndex, unit.outerFrom, unit.outerTo, imperfectMatchStore);
+        }
+    }
+
+
+    /**
+     * CLASS TO MANAGE COMMUNICATION WITH A SINGLE WORKER PROCESS
+     */
+    private static class WorkerProcess {
+
+        final int id;
+        private Process process;
+        private BufferedWriter toWorker;
+        private final BlockingQueue<String> replies = new LinkedBlockingQueue<>();
+        private volatile boolean alive = true;
+        private boolean ready = false;
+
+        WorkerProcess(int id, String settingsPath) {
+
+            this.id = id;
+            List<String> command = new ArrayList<>();
+            command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+            for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+                if (arg.startsWith("-Xmx") || arg.startsWith("-Xss") || arg.startsWith("-D"))
+                    command.add(arg);
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ManagerSolveWorker.class.getName());
+            command.add(settingsPath);
+            try {
+                process = new ProcessBuilder(command)
+                        .directory(new File(Parameters.WORKING_DIRECTORY))
+                        .redirectErrorStream(true)
+                        .start();
+            } catch (IOException e) {
+                fail("failed to launch: " + e.getMessage());
+                return;
+            }
+            toWorker = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+
+            // relay worker output, separating protocol messages from console reporting
+            Thread reader = new Thread(() -> {
+                try (BufferedReader fromWorker = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                    String line;
+                    while ((line = fromWorker.readLine()) != null) {
+                        if (line.startsWith(MESSAGE_PREFIX)) {
+                            replies.add(line.trim());
+                        } else {
+                            System.out.println("[solve worker " + id + "] " + line);
+                        }
+                    }
+                } catch (IOException e) {
+                    // treated as end of stream
+                }
+                replies.add(END_OF_STREAM);
+            }, "solve-worker-reader-" + id);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        boolean isAlive() {
+            return alive;
+        }
+
+        boolean solve(SolveWorkUnit unit) {
+
+            if (!alive)
+                return false;
+            try {
+                if (!ready) {
+                    String reply = replies.take();
+                    if (!READY.equals(reply)) {
+                        fail("failed to initialise");
+                        return false;
+                    }
+                    ready = true;
+                }
+                toWorker.write(SOLVE + " " + unit.toMessage());
+                toWorker.newLine();
+                toWorker.flush();
+                String reply = replies.take();
+                if ((DONE + " " + unit.toMessage()).equals(reply))
+                    return true;
+                fail("unexpected reply for work unit " + unit + ": " + reply);
+            } catch (IOException e) {
+                fail(e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+            return false;
+        }
+
+        void close() {
+
+            if (process == null)
+                return;
+            try {
+                if (alive && process.isAlive()) {
+                    toWorker.write(EXIT);
+                    toWorker.newLine();
+                    toWorker.flush();
+                    process.waitFor(30, TimeUnit.SECONDS);
+                }
+            } catch (IOException e) {
+                // process has already terminated
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            process.destroy();
+            alive = false;
+        }
+
+        private void fail(String reason) {
+            alive = false;
+            System.out.println("Solve worker " + id + " unavailable (" + reason + "); its work will be completed by the current process");
+            if (process != null)
+                process.destroy();
+        }
+    }
+}
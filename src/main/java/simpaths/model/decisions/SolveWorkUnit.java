@@ -0,0 +1,104 @@
+package simpaths.model.decisions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ *
+ * CLASS TO DEFINE A UNIT OF WORK FOR SOLUTION OF THE INTERTEMPORAL OPTIMISATION GRIDS
+ *
+ * A WORK UNIT COMPRISES A CONTIGUOUS RANGE OF OUTER STATE COMBINATIONS (iiOuter IN ManagerSolveGrids)
+ * FOR A GIVEN AGE SLICE. AS INNER STATES ARE INDEXED FIRST IN THE GRIDS, EACH WORK UNIT MAPS TO A
+ * CONTIGUOUS BLOCK OF GRID INDICES, WHICH FACILITATES MERGING OF PARTIAL SOLUTIONS
+ *
+ */
+public class SolveWorkUnit {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    final int ageIndex;         // age index of grid slice
+    final int outerFrom;        // first outer index of unit (inclusive)
+    final int outerTo;          // last outer index of unit (exclusive)
+
+
+    /**
+     * CONSTRUCTOR
+     */
+    public SolveWorkUnit(int ageIndex, int outerFrom, int outerTo) {
+        if (outerTo < outerFrom)
+            throw new IllegalArgumentException("work unit range is not well defined: " + outerFrom + " to " + outerTo);
+        this.ageIndex = ageIndex;
+        this.outerFrom = outerFrom;
+        this.outerTo = outerTo;
+    }
+
+
+    /*
+     * WORKING METHODS
+     */
+
+
+    /**
+     * METHOD TO PARTITION THE OUTER STATES OF AN AGE SLICE INTO WORK UNITS
+     * @param ageIndex age index of grid slice
+     * @param outerDimension number of outer state combinations at age
+     * @param units target number of work units
+     * @return list of work units, ordered by outer index
+     */
+    public static List<SolveWorkUnit> partition(int ageIndex, int outerDimension, int units) {
+
+        List<SolveWorkUnit> list = new ArrayList<>();
+        int nn = Math.max(1, Math.min(units, outerDimension));
+        int from = 0;
+        for (int ii=0; ii<nn; ii++) {
+            int to = (int)((long)outerDimension * (ii + 1) / nn);
+            if (to > from)
+                list.add(new SolveWorkUnit(ageIndex, from, to));
+            from = to;
+        }
+        return list;
+    }
+
+    /**
+     * METHOD TO REPORT THE FIRST GRID INDEX COVERED BY THE WORK UNIT
+     */
+    public long getStartIndex(GridScale scale) {
+        return scale.gridDimensions[ageIndex][3] + (long)outerFrom * scale.gridDimensions[ageIndex][0];
+    }
+
+    /**
+     * METHOD TO REPORT THE NUMBER OF GRID POINTS COVERED BY THE WORK UNIT
+     */
+    public long getLength(GridScale scale) {
+        return (long)(outerTo - outerFrom) * scale.gridDimensions[ageIndex][0];
+    }
+
+    /**
+     * METHODS TO TRANSLATE WORK UNITS TO AND FROM MESSAGES PASSED TO WORKER PROCESSES
+     */
+    public String toMessage() {
+        return ageIndex + " " + outerFrom + " " + outerTo;
+    }
+    public static SolveWorkUnit fromMessage(String message) {
+        String[] parts = message.trim().split("\\s+");
+        if (parts.length != 3)
+            throw new IllegalArgumentException("failed to parse work unit message: " + message);
+        return new SolveWorkUnit(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+    }
+
+    public String getFileName() {
+        return "unit_" + ageIndex + "_" + outerFrom + "_" + outerTo + ".slice";
+    }
+
+    public int getAgeIndex() { return ageIndex; }
+    public int getOuterFrom() { return outerFrom; }
+    public int getOuterTo() { return outerTo; }
+
+    @Override
+    public String toString() {
+        return "age index " + ageIndex + ", outer states " + outerFrom + " to " + (outerTo - 1);
+    }
+}
@@ -1,18 +1,18 @@
 package simpaths.model.taxes;
 
 public class CandidateList {
-    private DonorTaxUnit candidate;
+    private int position;
     private double sampleWeight;
     private double distance;
 
     public CandidateList(){}
-    public CandidateList(DonorTaxUnit ind, double weight, double dist) {
-        candidate = ind;
+    public CandidateList(int position, double weight, double dist) {
+        this.position = position;
         sampleWeight = weight;
         distance = dist;
     }
-    public DonorTaxUnit getCandidate() {
-        return candidate;
+    public int getPosition() {
+        return position;
     }
     public double getWeight() {
         return sampleWeight/(0.1 + distance);
@@ -20,4 +20,4 @@ public class CandidateList {
     public double getDistance() {
         return distance;
     }
-}
\ No newline at end of file
+}
@@ -35,6 +35,35 @@ public class DonorKeys {
         this.randomDraw = randomDraw;
     }
 
+    /**
+     * COPY CONSTRUCTOR, SUBSTITUTING FINANCIAL STATISTICS
+     * Used by DonorTaxImputationCache to impute taxes and benefits for representative incomes
+     */
+    DonorKeys(DonorKeys original, double originalIncomePerWeek, double secondIncomePerWeek, double childcareCostPerWeek) {
+        this(original.keys, original.simYear, original.priceYear, original.lowIncome, original.hoursWorkedPerWeekMan,
+                original.hoursWorkedPerWeekWoman, originalIncomePerWeek, secondIncomePerWeek, childcareCostPerWeek,
+                original.randomDraw);
+    }
+
+    /**
+     * CONSTRUCTOR FOR KEYS EVALUATED ELSEWHERE
+     * Used to impute taxes and benefits for keys that are not evaluated by a KeyFunction (e.g. test fixtures)
+     */
+    DonorKeys(Integer[] keys, Integer simYear, Integer priceYear, boolean[] lowIncome, double hoursWorkedPerWeekMan,
+              double hoursWorkedPerWeekWoman, Double originalIncomePerWeek, Double secondIncomePerWeek,
+              Double childcareCostPerWeek, double randomDraw) {
+        this.keys = keys;
+        this.simYear = simYear;
+        this.priceYear = priceYear;
+        this.lowIncome = lowIncome;
+        this.hoursWorkedPerWeekMan = hoursWorkedPerWeekMan;
+        this.hoursWorkedPerWeekWoman = hoursWorkedPerWeekWoman;
+        this.originalIncomePerWeek = originalIncomePerWeek;
+        this.secondIncomePerWeek = secondIncomePerWeek;
+        this.childcareCostPerWeek = childcareCostPerWeek;
+        this.randomDraw = randomDraw;
+    }
+
 
     /**
      * GETTERS AND SETTERS
@@ -61,6 +90,8 @@ public class DonorKeys {
     public double getHoursWorkedPerWeekWoman() { return hoursWorkedPerWeekWoman; }
 
     public double getRandomDraw() { return randomDraw; }
+    Integer[] getKeys() { return keys; }
+    boolean[] getLowIncome() { return lowIncome; }
     public boolean isLowIncome(int regime) {
         if (regime<0)
             throw new RuntimeException("attempt to retrieve low income identifier for null regime");
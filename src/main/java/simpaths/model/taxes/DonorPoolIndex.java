@@ -0,0 +1,336 @@
+package simpaths.model.taxes;
+
+import org.apache.commons.lang3.tuple.Triple;
+import simpaths.data.Parameters;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ *
+ * CLASS TO STORE A READ-ONLY, COLUMNAR INDEX OF THE DONOR POOL USED FOR TAX IMPUTATIONS
+ *
+ * THE INDEX IS ORGANISED BY CELL, WHERE EACH CELL DESCRIBES THE DONORS THAT SHARE A (SYSTEM YEAR, MATCHING REGIME,
+ * REGIME KEY) COMBINATION, IN THE SAME (ASCENDING ORIGINAL INCOME) ORDER AS Parameters.getTaxdbReferences().
+ * DONOR CHARACTERISTICS REQUIRED BY DonorTaxImputation ARE STORED IN PARALLEL PRIMITIVE ARRAYS, SO THAT
+ * IMPUTATIONS DO NOT NEED TO TRAVERSE DonorTaxUnit AND DonorTaxUnitPolicy ENTITIES
+ *
+ * CELLS ARE RETRIEVED FROM AN OPEN-ADDRESSED HASH TABLE KEYED ON A PACKED LONG, TO AVOID BOXING OF KEYS
+ *
+ * THE INDEX RETAINS DONOR CHARACTERISTICS BY DONOR (AND SYSTEM YEAR), FROM WHICH CELLS ARE BUILT, SO THAT IT CAN
+ * BE SAVED TO AND RE-BUILT FROM A COMPACT BINARY SNAPSHOT (see DonorPoolSnapshot)
+ *
+ */
+public class DonorPoolIndex {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    // donor characteristics, indexed by donor ordinal (position in Parameters.getDonorPool())
+    private final long[] donorId;
+    private final double[] weight;
+    private final double[] measOriginalIncome;     // normalised weekly values for base price year, used to evaluate distances
+    private final double[] measSecondIncome;
+    private final double[] measChildcareCost;
+
+    // donor policy characteristics, indexed by system year and donor ordinal (monthly, in prices of system year)
+    private final int[] systemYears;
+    private final double[][] normalisedOriginalIncome;
+    private final double[][] originalIncome;
+    private final double[][] disposableIncome;
+    private final double[][] benefits;             // means-tested plus non-means-tested benefits
+
+    // cells
+    private final long[] tableKeys;
+    private final Cell[] tableCells;
+    private final int mask;
+    private final int numberOfCells;
+
+
+    /**
+     * CONSTRUCTORS
+     * @param taxdbReferences donor references by (system year, matching regime, regime key) - see SimPathsModel.populateTaxdbReferences
+     * @param donorPool list of donors referenced by taxdbReferences
+     */
+    public DonorPoolIndex(Map<Triple<Integer,Integer,Integer>,List<Integer>> taxdbReferences, List<DonorTaxUnit> donorPool) {
+
+        // donor characteristics - measurement characteristics for nearest neighbour search are evaluated at base price year (see DonorTaxImputation)
+        int numberDonors = donorPool.size();
+        donorId = new long[numberDonors];
+        weight = new double[numberDonors];
+        measOriginalIncome = new double[numberDonors];
+        measSecondIncome = new double[numberDonors];
+        measChildcareCost = new double[numberDonors];
+        for (int ii=0; ii<numberDonors; ii++) {
+            DonorTaxUnit donor = donorPool.get(ii);
+            DonorTaxUnitPolicy policy = donor.getPolicyBySystemYear(Parameters.BASE_PRICE_YEAR);
+            donorId[ii] = donor.getId();
+            weight[ii] = donor.getWeight();
+            measOriginalIncome[ii] = Parameters.normaliseWeeklyIncome(Parameters.BASE_PRICE_YEAR, policy.getOriginalIncomePerMonth() / Parameters.WEEKS_PER_MONTH);
+            measSecondIncome[ii] = Parameters.normaliseWeeklyIncome(Parameters.BASE_PRICE_YEAR, policy.getSecondIncomePerMonth() / Parameters.WEEKS_PER_MONTH);
+            measChildcareCost[ii] = Parameters.normaliseWeeklyIncome(Parameters.BASE_PRICE_YEAR, policy.getChildcareCostPerMonth() / Parameters.WEEKS_PER_MONTH);
+        }
+
+        // donor policy characteristics
+        systemYears = taxdbReferences.keySet().stream().mapToInt(Triple::getLeft).distinct().sorted().toArray();
+        normalisedOriginalIncome = new double[systemYears.length][numberDonors];
+        originalIncome = new double[systemYears.length][numberDonors];
+        disposableIncome = new double[systemYears.length][numberDonors];
+        benefits = new double[systemYears.length][numberDonors];
+        for (int yy=0; yy<systemYears.length; yy++) {
+            for (int ii=0; ii<numberDonors; ii++) {
+                DonorTaxUnitPolicy policy = donorPool.get(ii).getPolicyBySystemYear(systemYears[yy]);
+                normalisedOriginalIncome[yy][ii] = policy.getNormalisedOriginalIncomePerMonth();
+                originalIncome[yy][ii] = policy.getOriginalIncomePerMonth();
+                disposableIncome[yy][ii] = policy.getDisposableIncomePerMonth();
+                benefits[yy][ii] = policy.getBenMeansTestPerMonth() + policy.getBenNonMeansTestPerMonth();
+            }
+        }
+
+        // cells
+        numberOfCells = taxdbReferences.size();
+        int capacity = capacity(numberOfCells);
+        tableKeys = new long[capacity];
+        tableCells = new Cell[capacity];
+        mask = capacity - 1;
+        for (Map.Entry<Triple<Integer,Integer,Integer>,List<Integer>> entry : taxdbReferences.entrySet()) {
+            List<Integer> donors = entry.getValue();
+            int[] ordinals = new int[donors.size()];
+            for (int ii=0; ii<ordinals.length; ii++) {
+                ordinals[ii] = donors.get(ii);
+            }
+            long packed = pack(entry.getKey().getLeft(), entry.getKey().getMiddle(), entry.getKey().getRight());
+            put(packed, buildCell(entry.getKey().getLeft(), ordinals));
+        }
+    }
+
+    private DonorPoolIndex(DataInputStream in) throws IOException {
+
+        int numberDonors = in.readInt();
+        donorId = readLongs(in, numberDonors);
+        weight = readDoubles(in, numberDonors);
+        measOriginalIncome = readDoubles(in, numberDonors);
+        measSecondIncome = readDoubles(in, numberDonors);
+        measChildcareCost = readDoubles(in, numberDonors);
+
+        systemYears = new int[in.readInt()];
+        normalisedOriginalIncome = new double[systemYears.length][];
+        originalIncome = new double[systemYears.length][];
+        disposableIncome = new double[systemYears.length][];
+        benefits = new double[systemYears.length][];
+        for (int yy=0; yy<systemYears.length; yy++) {
+            systemYears[yy] = in.readInt();
+            normalisedOriginalIncome[yy] = readDoubles(in, numberDonors);
+            originalIncome[yy] = readDoubles(in, numberDonors);
+            disposableIncome[yy] = readDoubles(in, numberDonors);
+            benefits[yy] = readDoubles(in, numberDonors);
+        }
+
+        numberOfCells = in.readInt();
+        int capacity = capacity(numberOfCells);
+        tableKeys = new long[capacity];
+        tableCells = new Cell[capacity];
+        mask = capacity - 1;
+        for (int cc=0; cc<numberOfCells; cc++) {
+            long packed = in.readLong();
+            int[] ordinals = new int[in.readInt()];
+            for (int ii=0; ii<ordinals.length; ii++) {
+                ordinals[ii] = in.readInt();
+                if (ordinals[ii] < 0 || ordinals[ii] >= numberDonors)
+                    throw new IOException("donor pool index refers to unrecognised donor " + ordinals[ii]);
+            }
+            put(packed, buildCell((int)(packed >> 40), ordinals));
+        }
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO RETRIEVE THE DONORS FOR A (SYSTEM YEAR, MATCHING REGIME, REGIME KEY) COMBINATION
+     * @return cell of donors, or null if no donors match
+     */
+    public Cell getCell(int systemYear, int regime, int key) {
+
+        long packed = pack(systemYear, regime, key);
+        int slot = slot(packed);
+        while (tableCells[slot] != null) {
+            if (tableKeys[slot] == packed)
+                return tableCells[slot];
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public int getNumberOfDonors() {
+        return donorId.length;
+    }
+
+    /**
+     * METHOD TO RECOVER DONOR REFERENCES IN THE FORMAT OF Parameters.getTaxdbReferences()
+     */
+    public Map<Triple<Integer,Integer,Integer>,List<Integer>> getTaxdbReferences() {
+
+        Map<Triple<Integer,Integer,Integer>,List<Integer>> references = new HashMap<>();
+        for (int slot=0; slot<tableCells.length; slot++) {
+            if (tableCells[slot] != null) {
+                long packed = tableKeys[slot];
+                List<Integer> donors = new ArrayList<>(tableCells[slot].size());
+                for (int ordinal : tableCells[slot].donorOrdinal) {
+                    donors.add(ordinal);
+                }
+                references.put(Triple.of((int)(packed >> 40), (int)((packed >>> 32) & 0xFF), (int)packed), donors);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * METHODS TO WRITE AND READ INDEX IN BINARY FORMAT (see DonorPoolSnapshot)
+     */
+    public void write(DataOutputStream out) throws IOException {
+
+        out.writeInt(donorId.length);
+        writeLongs(out, donorId);
+        writeDoubles(out, weight);
+        writeDoubles(out, measOriginalIncome);
+        writeDoubles(out, measSecondIncome);
+        writeDoubles(out, measChildcareCost);
+
+        out.writeInt(systemYears.length);
+        for (int yy=0; yy<systemYears.length; yy++) {
+            out.writeInt(systemYears[yy]);
+            writeDoubles(out, normalisedOriginalIncome[yy]);
+            writeDoubles(out, originalIncome[yy]);
+            writeDoubles(out, disposableIncome[yy]);
+            writeDoubles(out, benefits[yy]);
+        }
+
+        out.writeInt(numberOfCells);
+        for (int slot=0; slot<tableCells.length; slot++) {
+            if (tableCells[slot] != null) {
+                out.writeLong(tableKeys[slot]);
+                out.writeInt(tableCells[slot].size());
+                for (int ordinal : tableCells[slot].donorOrdinal) {
+                    out.writeInt(ordinal);
+                }
+            }
+        }
+    }
+    public static DonorPoolIndex read(DataInputStream in) throws IOException {
+        return new DonorPoolIndex(in);
+    }
+
+    private Cell buildCell(int systemYear, int[] ordinals) {
+
+        int yy = 0;
+        while (yy < systemYears.length && systemYears[yy] != systemYear) yy++;
+        if (yy == systemYears.length)
+            throw new RuntimeException("donor pool index missing data for system year " + systemYear);
+        Cell cell = new Cell(ordinals.length);
+        for (int ii=0; ii<ordinals.length; ii++) {
+
+            int ordinal = ordinals[ii];
+            cell.donorOrdinal[ii] = ordinal;
+            cell.donorId[ii] = donorId[ordinal];
+            cell.weight[ii] = weight[ordinal];
+            cell.normalisedOriginalIncome[ii] = normalisedOriginalIncome[yy][ordinal];
+            cell.originalIncome[ii] = originalIncome[yy][ordinal];
+            cell.disposableIncome[ii] = disposableIncome[yy][ordinal];
+            cell.benefits[ii] = benefits[yy][ordinal];
+            cell.measOriginalIncome[ii] = measOriginalIncome[ordinal];
+            cell.measSecondIncome[ii] = measSecondIncome[ordinal];
+            cell.measChildcareCost[ii] = measChildcareCost[ordinal];
+        }
+        return cell;
+    }
+
+    private void put(long packed, Cell cell) {
+        int slot = slot(packed);
+        while (tableCells[slot] != null && tableKeys[slot] != packed) {
+            slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = packed;
+        tableCells[slot] = cell;
+    }
+
+    private int slot(long packed) {
+        long hh = packed * 0x9E3779B97F4A7C15L;
+        return (int)(hh ^ (hh >>> 32)) & mask;
+    }
+
+    private static int capacity(int entries) {
+        // hash table with load factor of at most 0.5
+        return Integer.highestOneBit(Math.max(2, entries) * 2 - 1) << 1;
+    }
+
+    private static long pack(int systemYear, int regime, int key) {
+        return ((long)systemYear << 40) | ((long)(regime & 0xFF) << 32) | (key & 0xFFFFFFFFL);
+    }
+
+    private static long[] readLongs(DataInputStream in, int length) throws IOException {
+        long[] values = new long[length];
+        for (int ii=0; ii<length; ii++) values[ii] = in.readLong();
+        return values;
+    }
+    private static double[] readDoubles(DataInputStream in, int length) throws IOException {
+        double[] values = new double[length];
+        for (int ii=0; ii<length; ii++) values[ii] = in.readDouble();
+        return values;
+    }
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) out.writeLong(value);
+    }
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        for (double value : values) out.writeDouble(value);
+    }
+
+
+    /**
+     * CLASS TO STORE DONOR CHARACTERISTICS FOR A SINGLE CELL, IN ASCENDING ORDER OF ORIGINAL INCOME
+     * Financial statistics are per month, in prices of the cell's system year, except for the measurement
+     * characteristics used to evaluate distances, which are normalised weekly values for the base price year
+     */
+    public static final class Cell {
+
+        final int[] donorOrdinal;               // index of donor in Parameters.getDonorPool()
+        final long[] donorId;
+        final double[] weight;
+        final double[] normalisedOriginalIncome;
+        final double[] originalIncome;
+        final double[] disposableIncome;
+        final double[] benefits;                // means-tested plus non-means-tested benefits
+        final double[] measOriginalIncome;
+        final double[] measSecondIncome;
+        final double[] measChildcareCost;
+
+        Cell(int size) {
+            donorOrdinal = new int[size];
+            donorId = new long[size];
+            weight = new double[size];
+            normalisedOriginalIncome = new double[size];
+            originalIncome = new double[size];
+            disposableIncome = new double[size];
+            benefits = new double[size];
+            measOriginalIncome = new double[size];
+            measSecondIncome = new double[size];
+            measChildcareCost = new double[size];
+        }
+
+        public int size() {
+            return donorOrdinal.length;
+        }
+        public int getDonorOrdinal(int position) {
+            return donorOrdinal[position];
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package simpaths.model.taxes;
+
+import simpaths.data.MahalanobisDistance;
+import simpaths.data.Parameters;
+import simpaths.model.taxes.database.TaxDonorDataParser;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ *
+ * CLASS TO MANAGE BINARY SNAPSHOTS OF THE DONOR POOL INDEX USED FOR TAX IMPUTATIONS
+ *
+ * A SNAPSHOT STORES THE DonorPoolIndex AND THE STATISTICS OF THE MAHALANOBIS DISTANCE OBJECTS EVALUATED BY
+ * SimPathsModel.populateTaxdbReferences, SO THAT THESE CAN BE RESTORED WITHOUT LOADING THE DONOR POOL THROUGH
+ * HIBERNATE. SNAPSHOTS ARE SAVED NEXT TO THE INPUT DATABASE, AND ARE ONLY USED IF THEIR SIGNATURE MATCHES A
+ * SIGNATURE EVALUATED FROM THE CONTENT CHECKSUM OF THE DONOR TABLES, THE KEY FUNCTION VERSION, AND THE
+ * PARAMETERS USED TO NORMALISE DONOR INCOMES
+ *
+ * WHERE THE INDEX IS RESTORED FROM A SNAPSHOT, Parameters.getDonorPool() IS NOT POPULATED
+ *
+ */
+public class DonorPoolSnapshot {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final String FILE_SUFFIX = ".donors.snapshot";
+    private static final int MAGIC = 0x53504450;    // "SPDP"
+    private static final int VERSION = 3;
+
+
+    /**
+     * METHOD TO EVALUATE THE SIGNATURE OF THE DONOR DATA
+     * The signature is evaluated from the checksum of the content of the default donor tables, and the settings
+     * used to build the index. The checksum recorded when the default donor tables were installed is used where
+     * available (see TaxDonorDataParser.recordDonorChecksum), so that the donor data that the snapshot stands in
+     * for are not read; otherwise (databases built before checksums were recorded) it is evaluated by the database
+     * @param databaseUrl location of H2 input database (DatabaseUtils.databaseInputUrl)
+     * @return signature, or null if the default donor tables do not exist
+     */
+    public static String signature(String databaseUrl) {
+
+        try {
+            String checksum;
+            try (Connection conn = DriverManager.getConnection("jdbc:h2:file:" + databaseUrl + ";ACCESS_MODE_DATA=r", "sa", "");
+                 Statement stat = conn.createStatement()) {
+                checksum = TaxDonorDataParser.getDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES);
+                if (checksum == null)
+                    checksum = TaxDonorDataParser.evaluateDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES);
+            }
+            if (checksum == null) {
+                System.out.println("Donor tables not found in input database; donor index snapshot not used");
+                return null;
+            }
+
+            StringBuilder settings = new StringBuilder();
+            settings.append("donors=").append(checksum)
+                    .append(";keyFunction=").append(KeyFunction.VERSION)
+                    .append(";regimes=").append(Parameters.TAXDB_REGIMES)
+                    .append(";basePriceYear=").append(Parameters.BASE_PRICE_YEAR)
+                    .append(";weeksPerMonth=").append(Parameters.WEEKS_PER_MONTH);
+            for (int fromYear : Parameters.EUROMODpolicyScheduleSystemYearMap.keySet()) {
+                int systemYear = Parameters.EUROMODpolicyScheduleSystemYearMap.get(fromYear).getValue();
+                settings.append(";system=").append(systemYear).append(':').append(Parameters.normaliseMonthlyIncome(systemYear, 1000.0));
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(settings.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (SQLException e) {
+            System.out.println("Unable to evaluate signature of donor database (" + e.getMessage() + "); donor index snapshot not used");
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * METHOD TO RESTORE DONOR INDEX AND MAHALANOBIS DISTANCE OBJECTS FROM SNAPSHOT
+     * @param databaseUrl location of H2 input database
+     * @param signature signature evaluated for current donor data
+     * @return true if parameters were restored from a snapshot with matching signature
+     */
+    public static boolean load(String databaseUrl, String signature) {
+
+        Path path = getPath(databaseUrl);
+        if (signature == null || !Files.exists(path))
+            return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path), 1 << 16)))) {
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !signature.equals(in.readUTF()))
+                return false;
+            MahalanobisDistance mdDualIncome = readMahalanobisDistance(in);
+            MahalanobisDistance mdChildcare = readMahalanobisDistance(in);
+            MahalanobisDistance mdDualIncomeChildcare = readMahalanobisDistance(in);
+            DonorPoolIndex index = DonorPoolIndex.read(in);
+
+            Parameters.setTaxdbReferences(index.getTaxdbReferences());
+            Parameters.setDonorPoolIndex(index);
+            Parameters.setMdDualIncome(mdDualIncome);
+            Parameters.setMdChildcare(mdChildcare);
+            Parameters.setMdDualIncomeChildcare(mdDualIncomeChildcare);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Unable to read donor index snapshot " + path + " (" + e.getMessage() + "); loading donors from database");
+            return false;
+        }
+    }
+
+    /**
+     * METHOD TO SAVE DONOR INDEX AND MAHALANOBIS DISTANCE OBJECTS CURRENTLY STORED IN Parameters
+     * @param databaseUrl location of H2 input database
+     * @param signature signature evaluated for current donor data
+     */
+    public static void save(String databaseUrl, String signature) {
+
+        if (signature == null || Parameters.getDonorPoolIndex() == null)
+            return;
+        Path path = getPath(databaseUrl);
+        Path temp = Paths.get(path + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(signature);
+                writeMahalanobisDistance(out, Parameters.getMdDualIncome());
+                writeMahalanobisDistance(out, Parameters.getMdChildcare());
+                writeMahalanobisDistance(out, Parameters.getMdDualIncomeChildcare());
+                Parameters.getDonorPoolIndex().write(out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // snapshot is an optimisation only - report and continue
+            System.out.println("Unable to save donor index snapshot " + path + " (" + e.getMessage() + ")");
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ee) {
+                // ignore
+            }
+        }
+    }
+
+    private static Path getPath(String databaseUrl) {
+        return Paths.get(databaseUrl + FILE_SUFFIX);
+    }
+
+    private static void writeMahalanobisDistance(DataOutputStream out, MahalanobisDistance md) throws IOException {
+
+        double[] mean = md.getMean();
+        double[][] covarianceInverse = md.getCovarianceInverse();
+        out.writeInt(mean.length);
+        for (double value : mean) out.writeDouble(value);
+        for (double[] row : covarianceInverse) {
+            for (double value : row) out.writeDouble(value);
+        }
+    }
+
+    private static MahalanobisDistance readMahalanobisDistance(DataInputStream in) throws IOException {
+
+        int dimension = in.readInt();
+        double[] mean = new double[dimension];
+        double[][] covarianceInverse = new double[dimension][dimension];
+        for (int ii=0; ii<dimension; ii++) mean[ii] = in.readDouble();
+        for (int ii=0; ii<dimension; ii++) {
+            for (int jj=0; jj<dimension; jj++) covarianceInverse[ii][jj] = in.readDouble();
+        }
+        return new MahalanobisDistance(mean, covarianceInverse);
+    }
+}
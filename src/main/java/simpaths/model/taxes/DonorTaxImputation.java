@@ -1,7 +1,6 @@
 package simpaths.model.taxes;
 
 
-import org.apache.commons.lang3.tuple.Triple;
 import simpaths.model.enums.UpratingCase;
 
 import java.util.*;
@@ -41,6 +40,7 @@ public class DonorTaxImputation {
     private double benefitsReceivedPerWeek; // Sum of monetary and non-monetary benefits
     private double grossIncomePerWeek;
     private double targetNormalisedOriginalIncome;
+    private boolean lowIncomeMatch;         // true if disposable income is imputed from donor levels, rather than ratios to original income
 
 
     /**
@@ -84,19 +84,71 @@ public class DonorTaxImputation {
      * OUTPUTS ARE SAVED TO OBJECT ATTRIBUTES
      */
     public void evaluate() {
+        impute();
+        scaleToTarget();
+    }
+
+    /**
+     * METHOD TO POPULATE OUTPUTS FROM AN IMPUTATION OBTAINED FOR SIMILAR KEYS (see DonorTaxImputationCache)
+     * @param imputed imputation evaluated by impute(), prior to scaling
+     */
+    void evaluateFrom(DonorTaxImputation imputed) {
+        evaluateFrom(imputed, imputed, 0.0);
+    }
+
+    /**
+     * METHOD TO POPULATE OUTPUTS BY INTERPOLATING BETWEEN IMPUTATIONS OBTAINED FOR SIMILAR KEYS AT BRACKETING
+     * ORIGINAL INCOMES (see DonorTaxImputationSurface). MATCH STATISTICS ARE TAKEN FROM THE NEARER IMPUTATION
+     * @param lower imputation evaluated by impute(), prior to scaling
+     * @param upper imputation evaluated by impute(), prior to scaling
+     * @param weight interpolation weight on upper, between 0 and 1
+     */
+    void evaluateFrom(DonorTaxImputation lower, DonorTaxImputation upper, double weight) {
+
+        DonorTaxImputation nearest = (weight < 0.5) ? lower : upper;
+        matchCriterion = nearest.matchCriterion;
+        donorID = nearest.donorID;
+        lowIncomeMatch = nearest.lowIncomeMatch;
+        disposableIncomePerWeek = lower.disposableIncomePerWeek + weight * (upper.disposableIncomePerWeek - lower.disposableIncomePerWeek);
+        benefitsReceivedPerWeek = lower.benefitsReceivedPerWeek + weight * (upper.benefitsReceivedPerWeek - lower.benefitsReceivedPerWeek);
+        grossIncomePerWeek = keys.getOriginalIncomePerWeek();
+        targetNormalisedOriginalIncome = Parameters.normaliseWeeklyIncome(keys.getPriceYear(), keys.getOriginalIncomePerWeek());
+        scaleToTarget();
+    }
+
+    /**
+     * METHOD TO CHECK WHETHER TWO IMPUTATIONS (PRIOR TO SCALING) ARE SUFFICIENTLY SIMILAR TO INTERPOLATE BETWEEN
+     * @param tolerance maximum relative difference in disposable income and benefits
+     */
+    boolean agrees(DonorTaxImputation other, double tolerance) {
+        return lowIncomeMatch == other.lowIncomeMatch && donorID == other.donorID &&
+                matchCriterion / 100000 == other.matchCriterion / 100000 &&
+                Math.abs(disposableIncomePerWeek - other.disposableIncomePerWeek) <=
+                        tolerance * Math.max(Math.abs(disposableIncomePerWeek), Math.abs(other.disposableIncomePerWeek)) &&
+                Math.abs(benefitsReceivedPerWeek - other.benefitsReceivedPerWeek) <=
+                        tolerance * Math.max(Math.abs(benefitsReceivedPerWeek), Math.abs(other.benefitsReceivedPerWeek));
+    }
+
+    /**
+     * METHOD TO IMPUTE DISPOSABLE INCOME AND BENEFITS FROM DONORS
+     * Where the match is not low income, imputed values are stored as ratios to original income until scaleToTarget()
+     */
+    void impute() {
 
 
         //------------------------------------------------------------
         // use keys to extract candidate pool from database
         //------------------------------------------------------------
-        List<Integer> candidatePool = null;
+        DonorPoolIndex donorPoolIndex = Parameters.getDonorPoolIndex();
+        if (donorPoolIndex == null)
+            throw new RuntimeException("attempt to impute taxes before donor pool index has been instantiated");
+        DonorPoolIndex.Cell candidatePool = null;
         int matchRegime = -1;
         int systemYear = getSystemYear(keys.getSimYear());
         boolean flagSecondIncome = false, flagChildcareCost = false;
         for (int ii=0; ii<Parameters.TAXDB_REGIMES; ii++) {
 
-            Triple<Integer,Integer,Integer> key = Triple.of(systemYear,ii,keys.getKey(ii));
-            candidatePool = Parameters.getTaxdbReferences().get(key);
+            candidatePool = donorPoolIndex.getCell(systemYear, ii, keys.getKey(ii));
             int jjStart;
             if ( (getCounterVal(MatchFeature.DualIncome, ii, keys.getKey(ii))==1) ||
                     (getCounterVal(MatchFeature.Childcare, ii, keys.getKey(ii))==1) ) {
@@ -142,9 +194,9 @@ public class DonorTaxImputation {
         final double MEAN_BIAS = 0.5;
 
         lowerInd = 0;
-        lowerOrigInc = Parameters.getDonorPool().get(candidatePool.get(lowerInd)).getPolicyBySystemYear(systemYear).getNormalisedOriginalIncomePerMonth();
+        lowerOrigInc = candidatePool.normalisedOriginalIncome[lowerInd];
         upperInd = candidatePool.size()-1;
-        upperOrigInc = Parameters.getDonorPool().get(candidatePool.get(upperInd)).getPolicyBySystemYear(systemYear).getNormalisedOriginalIncomePerMonth();
+        upperOrigInc = candidatePool.normalisedOriginalIncome[upperInd];
 
         int iiTarget;
         if (targetNormalisedOriginalIncome<lowerOrigInc) {
@@ -158,7 +210,7 @@ public class DonorTaxImputation {
                 double adjFactor = 0.5 * MEAN_BIAS + (targetNormalisedOriginalIncome-lowerOrigInc) / (upperOrigInc - lowerOrigInc) * (1-MEAN_BIAS);
                 int adjInd = (int) ((upperInd - lowerInd) * adjFactor);
                 testInd = lowerInd + Math.max(1, adjInd);
-                testOrigInc = Parameters.getDonorPool().get(candidatePool.get(testInd)).getPolicyBySystemYear(systemYear).getNormalisedOriginalIncomePerMonth();
+                testOrigInc = candidatePool.normalisedOriginalIncome[testInd];
 
                 if (testOrigInc > targetNormalisedOriginalIncome) {
                     upperInd = testInd;
@@ -174,10 +226,8 @@ public class DonorTaxImputation {
             }
             iiTarget = upperInd;
         }
-        DonorTaxUnit targetCandidate = Parameters.getDonorPool().get(candidatePool.get(iiTarget));
-        donorID = targetCandidate.getId();
-        double targetIncomeDifference = Math.abs(targetNormalisedOriginalIncome -
-                targetCandidate.getPolicyBySystemYear(systemYear).getNormalisedOriginalIncomePerMonth());
+        donorID = candidatePool.donorId[iiTarget];
+        double targetIncomeDifference = Math.abs(targetNormalisedOriginalIncome - candidatePool.normalisedOriginalIncome[iiTarget]);
         if (!keys.isLowIncome(matchRegime)) {
             targetIncomeDifference /= Math.abs(targetNormalisedOriginalIncome);
             targetIncomeDifference *= 100;
@@ -194,6 +244,7 @@ public class DonorTaxImputation {
         double si = keys.getSecondIncomePerWeek();
         double cc = keys.getChildcareCostPerWeek();
         double[] targetVector = getMeasurementVector(keys.getPriceYear(), oi, flagSecondIncome, si, flagChildcareCost, cc);
+        double[] candidateVector = new double[targetVector.length];
         for (int increment=-1; increment<2; increment=increment+2) {
             // search backward and then forward through candidate list
 
@@ -209,8 +260,7 @@ public class DonorTaxImputation {
             }
             while (ii>=0 && ii<candidatePool.size()-1) {
 
-                DonorTaxUnit candidate = Parameters.getDonorPool().get(candidatePool.get(ii));
-                double[] candidateVector = getCandidateMeasVector(candidate, flagSecondIncome, flagChildcareCost);
+                getCandidateMeasVector(candidatePool, ii, flagSecondIncome, flagChildcareCost, candidateVector);
                 double distance = evaluateDistance(targetVector, candidateVector, flagSecondIncome, flagChildcareCost);
                 if (Math.abs(distance - bracketDist) > 1.0E-4) {
                     bracketDist = distance;
@@ -221,7 +271,7 @@ public class DonorTaxImputation {
                     localMin = distance;
                 }
                 if (bracketInd <= bracketPts) {
-                    candidatesList.add(new CandidateList(candidate, candidate.getWeight(), distance));
+                    candidatesList.add(new CandidateList(ii, candidatePool.weight[ii], distance));
                 } else {
                     break;
                 }
@@ -272,25 +322,30 @@ public class DonorTaxImputation {
                     disposableIncomePerWeek = 0.0;
                 if (keys.getRandomDraw()>0.0 || Math.abs(keys.getRandomDraw()+2.0)<1.0E-2)
                     weight = 1.0;
-                DonorTaxUnit candidate = candidateList.getCandidate();
+                int candidate = candidateList.getPosition();
                 if ( keys.isLowIncome(matchRegime) ) {
                     // impute based on observed disposable income
-                    disposableIncomePerWeek += candidate.getPolicyBySystemYear(systemYear).getDisposableIncomePerMonth() / Parameters.WEEKS_PER_MONTH * weight * infAdj;
-                    benefitsReceivedPerWeek += (candidate.getPolicyBySystemYear(systemYear).getBenMeansTestPerMonth() + candidate.getPolicyBySystemYear(systemYear).getBenNonMeansTestPerMonth()) / Parameters.WEEKS_PER_MONTH * weight * infAdj;
+                    disposableIncomePerWeek += candidatePool.disposableIncome[candidate] / Parameters.WEEKS_PER_MONTH * weight * infAdj;
+                    benefitsReceivedPerWeek += candidatePool.benefits[candidate] / Parameters.WEEKS_PER_MONTH * weight * infAdj;
                 } else {
                     // impute based on ratio of disposable to original income
-                    disposableIncomePerWeek += candidate.getPolicyBySystemYear(systemYear).getDisposableIncomePerMonth() / candidate.getPolicyBySystemYear(systemYear).getOriginalIncomePerMonth() * weight;
-                    benefitsReceivedPerWeek += (candidate.getPolicyBySystemYear(systemYear).getBenMeansTestPerMonth() + candidate.getPolicyBySystemYear(systemYear).getBenNonMeansTestPerMonth()) / candidate.getPolicyBySystemYear(systemYear).getOriginalIncomePerMonth() * weight;
+                    disposableIncomePerWeek += candidatePool.disposableIncome[candidate] / candidatePool.originalIncome[candidate] * weight;
+                    benefitsReceivedPerWeek += candidatePool.benefits[candidate] / candidatePool.originalIncome[candidate] * weight;
                 }
                 if (keys.getRandomDraw()>0.0 || Math.abs(keys.getRandomDraw()+2.0)<1.0E-2) {
-                    donorID = candidate.getId();
+                    donorID = candidatePool.donorId[candidate];
                     break;
                 }
             }
         }
         if (Math.abs(disposableIncomePerWeek+999.0)<1.0E-5)
             throw new RuntimeException("Failed to populate disposable income and benefits from donor with inner key value " + keys.getKey(0));
-        if ( !keys.isLowIncome(matchRegime) ) {
+        lowIncomeMatch = keys.isLowIncome(matchRegime);
+    }
+
+    private void scaleToTarget() {
+
+        if ( !lowIncomeMatch ) {
             disposableIncomePerWeek *= keys.getOriginalIncomePerWeek();
             benefitsReceivedPerWeek *= keys.getOriginalIncomePerWeek();
         }
@@ -327,7 +382,7 @@ public class DonorTaxImputation {
         return Parameters.EUROMODpolicyScheduleSystemYearMap.get(fromYear).getValue();
     }
 
-    private Integer getPoolSize(List<Integer> pool) {
+    private int getPoolSize(DonorPoolIndex.Cell pool) {
 
         if ( pool == null ) {
             return 0;
@@ -365,17 +420,16 @@ public class DonorTaxImputation {
             return new double[]{oiAdj, siAdj, ccAdj};
         }
     }
-    private double[] getCandidateMeasVector(DonorTaxUnit candidate, boolean flagSecondIncome, boolean flagChildcareCost) {
+    private void getCandidateMeasVector(DonorPoolIndex.Cell pool, int position, boolean flagSecondIncome,
+                                        boolean flagChildcareCost, double[] vector) {
 
-        int priceYear = Parameters.BASE_PRICE_YEAR;
-        double oiWeekly = candidate.getPolicyBySystemYear(priceYear).getOriginalIncomePerMonth() / Parameters.WEEKS_PER_MONTH;
-        double siWeekly = 0.0;
+        // measurement characteristics are evaluated for the base price year (see DonorPoolIndex)
+        int ii = 0;
+        vector[ii++] = pool.measOriginalIncome[position];
         if (flagSecondIncome)
-            siWeekly = candidate.getPolicyBySystemYear(priceYear).getSecondIncomePerMonth() / Parameters.WEEKS_PER_MONTH;
-        double ccWeekly = 0.0;
+            vector[ii++] = pool.measSecondIncome[position];
         if (flagChildcareCost)
-            ccWeekly = candidate.getPolicyBySystemYear(priceYear).getChildcareCostPerMonth() / Parameters.WEEKS_PER_MONTH;
-        return getMeasurementVector(priceYear, oiWeekly, flagSecondIncome, siWeekly, flagChildcareCost, ccWeekly);
+            vector[ii] = pool.measChildcareCost[position];
     }
     private double evaluateDistance(double[] targetVector, double[] candidateVector, boolean flagSecondIncome, boolean flagChildcareCost) {
         if (flagSecondIncome && flagChildcareCost) {
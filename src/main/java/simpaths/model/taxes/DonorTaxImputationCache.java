@@ -0,0 +1,233 @@
+package simpaths.model.taxes;
+
+import simpaths.data.Parameters;
+import simpaths.model.decisions.DecisionParams;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *
+ * CLASS TO MEMOISE TAX AND BENEFIT IMPUTATIONS, FOR USE WHERE MANY EVALUATIONS SHARE SIMILAR CHARACTERISTICS
+ * (E.G. WHEN SOLVING FOR INTERTEMPORAL OPTIMISATION DECISIONS)
+ *
+ * IMPUTATIONS ARE CACHED BY ALL CHARACTERISTICS OF DONOR KEYS THAT AFFECT THE IMPUTATION (REGIME KEYS, YEARS, LOW
+ * INCOME IDENTIFIERS, EMPLOYMENT AND RANDOM DRAW), TOGETHER WITH QUANTISED VALUES OF ORIGINAL INCOME, SECOND INCOME AND
+ * CHILDCARE COSTS. ON A CACHE MISS THE IMPUTATION IS EVALUATED AT THE REPRESENTATIVE (QUANTISED) VALUES, SO THAT
+ * CACHED RESULTS DO NOT DEPEND ON THE ORDER OF EVALUATION. IMPUTATIONS BASED ON RATIOS OF DISPOSABLE TO ORIGINAL
+ * INCOME ARE RE-SCALED TO THE ORIGINAL INCOME SUPPLIED BY EACH CALL
+ *
+ * THE CACHE IS SAFE FOR CONCURRENT USE. IT IS SPLIT INTO SEGMENTS BY KEY, EACH OF WHICH DISCARDS ITS LEAST RECENTLY
+ * USED ENTRY WHEN FULL, SO THAT THE CACHE HOLDS AT MOST DecisionParams.TAX_CACHE_MAX_ENTRIES ENTRIES
+ *
+ */
+public class DonorTaxImputationCache implements DonorTaxImputer {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    private static final int SEGMENTS = 16;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    public DonorTaxImputationCache() {
+        this(DecisionParams.TAX_CACHE_MAX_ENTRIES);
+    }
+    public DonorTaxImputationCache(int maxEntries) {
+        this(maxEntries, Math.min(SEGMENTS, maxEntries));
+    }
+    DonorTaxImputationCache(int maxEntries, int numberOfSegments) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("tax imputation cache must permit at least one entry");
+        if (numberOfSegments < 1 || numberOfSegments > maxEntries)
+            throw new IllegalArgumentException("tax imputation cache must have between one segment and one segment per entry");
+        segments = new Segment[numberOfSegments];
+        for (int ii=0; ii<numberOfSegments; ii++) {
+            segments[ii] = new Segment(maxEntries / numberOfSegments + ((ii < maxEntries % numberOfSegments) ? 1 : 0));
+        }
+    }
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO OBTAIN TAX AND BENEFIT IMPUTATION FOR EVALUATED DONOR KEYS
+     * @param keys donor keys, evaluated using KeyFunction
+     * @return imputation, equivalent to DonorTaxImputation.evaluate() up to quantisation of financial statistics
+     */
+    @Override
+    public DonorTaxImputation evaluate(DonorKeys keys) {
+
+        long originalIncome = quantise(keys.getOriginalIncomePerWeek());
+        long secondIncome = quantise(keys.getSecondIncomePerWeek());
+        long childcareCost = quantise(keys.getChildcareCostPerWeek());
+        CacheKey key = new CacheKey(keys, originalIncome, secondIncome, childcareCost);
+        Segment segment = segments[Math.floorMod(key.hash, segments.length)];
+        DonorTaxImputation imputed;
+        synchronized (segment) {
+            imputed = segment.get(key);
+        }
+        if (imputed == null) {
+
+            // imputation is evaluated outside the lock, and is independent of which thread evaluates it
+            misses.increment();
+            DonorKeys representative = new DonorKeys(keys, representative(originalIncome), representative(secondIncome),
+                    representative(childcareCost));
+            imputed = new DonorTaxImputation(representative);
+            imputed.impute();
+            synchronized (segment) {
+                segment.put(key, imputed);
+            }
+        } else {
+            hits.increment();
+        }
+
+        DonorTaxImputation result = new DonorTaxImputation(keys);
+        result.evaluateFrom(imputed);
+        return result;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+    public long getMisses() {
+        return misses.sum();
+    }
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public String reportMetrics() {
+        long hh = getHits(), mm = getMisses();
+        double rate = (hh + mm > 0) ? 100.0 * (double)hh / (double)(hh + mm) : 0.0;
+        return "tax imputation cache: " + hh + " hits, " + mm + " misses (" + String.format("%.1f", rate) +
+                "% hit rate), " + size() + " entries, " + getEvictions() + " evictions";
+    }
+
+    /**
+     * METHODS TO QUANTISE FINANCIAL STATISTICS (PER WEEK)
+     * The inverse hyperbolic sine scale provides absolute precision for values near zero (which may be negative),
+     * and relative precision for large values
+     */
+    static long quantise(Double value) {
+        if (value == null)
+            return Long.MIN_VALUE;
+        double scaled = value / DecisionParams.TAX_CACHE_INCOME_FLOOR;
+        return Math.round(Math.signum(scaled) * Parameters.asinh(Math.abs(scaled)) / DecisionParams.TAX_CACHE_INCOME_PRECISION);
+    }
+    static Double representative(long quantised) {
+        if (quantised == Long.MIN_VALUE)
+            return null;
+        return Math.sinh((double)quantised * DecisionParams.TAX_CACHE_INCOME_PRECISION) * DecisionParams.TAX_CACHE_INCOME_FLOOR;
+    }
+
+
+    /**
+     * CLASS TO STORE A SEGMENT OF THE CACHE, IN ORDER OF ACCESS
+     * Access is synchronised on the segment
+     */
+    private final class Segment extends LinkedHashMap<CacheKey, DonorTaxImputation> {
+
+        private final int maxEntries;
+
+        Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, DonorTaxImputation> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+
+    /**
+     * CLASS TO IDENTIFY CACHED IMPUTATIONS
+     * Comprises every characteristic of DonorKeys read by DonorTaxImputation.impute(), with financial statistics
+     * quantised. Hours of work are represented by the employment indicator used to scale imputations
+     */
+    private static final class CacheKey {
+
+        private final Integer[] keys;
+        private final boolean[] lowIncome;
+        private final int simYear, priceYear;
+        private final boolean working;
+        private final double randomDraw;
+        private final long originalIncome, secondIncome, childcareCost;
+        private final int hash;
+
+        CacheKey(DonorKeys donorKeys, long originalIncome, long secondIncome, long childcareCost) {
+            keys = donorKeys.getKeys();
+            lowIncome = donorKeys.getLowIncome();
+            simYear = donorKeys.getSimYear();
+            priceYear = donorKeys.getPriceYear();
+            working = (donorKeys.getHoursWorkedPerWeekMan() + donorKeys.getHoursWorkedPerWeekWoman() > 0.1);
+            randomDraw = donorKeys.getRandomDraw();
+            this.originalIncome = originalIncome;
+            this.secondIncome = secondIncome;
+            this.childcareCost = childcareCost;
+            int hh = Arrays.hashCode(keys);
+            hh = 31 * hh + Arrays.hashCode(lowIncome);
+            hh = 31 * hh + simYear;
+            hh = 31 * hh + priceYear;
+            hh = 31 * hh + Boolean.hashCode(working);
+            hh = 31 * hh + Double.hashCode(randomDraw);
+            hh = 31 * hh + Long.hashCode(originalIncome);
+            hh = 31 * hh + Long.hashCode(secondIncome);
+            hh = 31 * hh + Long.hashCode(childcareCost);
+            hash = hh;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof CacheKey other))
+                return false;
+            return hash == other.hash && simYear == other.simYear && priceYear == other.priceYear &&
+                    working == other.working && Double.compare(randomDraw, other.randomDraw) == 0 &&
+                    originalIncome == other.originalIncome && secondIncome == other.secondIncome &&
+                    childcareCost == other.childcareCost && Arrays.equals(keys, other.keys) &&
+                    Arrays.equals(lowIncome, other.lowIncome);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
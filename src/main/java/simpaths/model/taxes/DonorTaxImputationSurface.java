@@ -0,0 +1,210 @@
+package simpaths.model.taxes;
+
+import org.apache.log4j.Logger;
+import simpaths.data.Parameters;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *
+ * CLASS TO EVALUATE TAX AND BENEFIT IMPUTATIONS DURING THE SIMULATION FROM LOOKUP SURFACES OF ORIGINAL INCOME
+ *
+ * A SURFACE IS MAINTAINED FOR EACH COMBINATION OF DONOR KEYS AND LOW INCOME IDENTIFIERS (ALL MATCH REGIMES), SECOND
+ * INCOME, CHILDCARE COSTS AND EMPLOYMENT STATUS, AND IS SHARED BY ALL BENEFIT UNITS THAT HAVE THESE CHARACTERISTICS.
+ * EACH SURFACE IS A TABLE OF IMPUTATIONS (PRIOR TO SCALING TO THE TARGET INCOME, SEE DonorTaxImputation.impute) AT GRID
+ * POINTS OF ORIGINAL INCOME, ORDERED BY INCOME AND EVALUATED ON FIRST USE. ORIGINAL INCOME IS MEASURED ON THE SAME INVERSE HYPERBOLIC SINE SCALE
+ * AS USED FOR DonorTaxImputationCache, WITH GRID SPACING OF INCOME_PRECISION. SECOND INCOME AND CHILDCARE COSTS ARE
+ * QUANTISED AS FOR DonorTaxImputationCache, AND GRID POINTS ARE EVALUATED AT THEIR REPRESENTATIVE VALUES
+ *
+ * IMPUTATIONS ARE INTERPOLATED BETWEEN THE GRID POINTS THAT BRACKET THE TARGET INCOME, WHERE THE IMPUTATIONS AT THOSE
+ * POINTS AGREE (SAME NEAREST DONOR AND MATCH REGIME, AND DISPOSABLE INCOME AND BENEFITS WITHIN TOLERANCE). OTHERWISE
+ * THE BRACKET SPANS A KINK IN THE IMPUTATION (E.G. A CHANGE IN THE CANDIDATE POOL), AND A FULL IMPUTATION IS
+ * EVALUATED FOR THE TARGET INCOME
+ *
+ * SURFACES ARE ONLY USED WHERE IMPUTATIONS AVERAGE OVER PREFERRED CANDIDATES (Parameters.donorPoolAveraging), AS
+ * IMPUTATIONS BASED ON INDIVIDUAL RANDOM DRAWS CANNOT BE SHARED. SURFACES ARE DISCARDED WHEN THE SIMULATED YEAR
+ * CHANGES, AND ARE SAFE FOR CONCURRENT USE
+ *
+ */
+public class DonorTaxImputationSurface implements DonorTaxImputer {
+
+
+    /**
+     * ATTRIBUTES
+     */
+    public static final double INCOME_FLOOR = 10.0;         // original income (per week) measured with absolute precision below this value...
+    public static final double INCOME_PRECISION = 0.002;    // ...and relative precision above it
+    public static final double TOLERANCE = 1.0E-3;          // maximum relative difference between bracketing imputations used for interpolation
+    private static final int CHUNK_SIZE = 64;               // grid points allocated together
+    private static final Logger log = Logger.getLogger(DonorTaxImputationSurface.class);    // metrics of each year reported at debug level
+
+    private final ConcurrentHashMap<SurfaceKey, Surface> surfaces = new ConcurrentHashMap<>();
+    private volatile int simYear = Integer.MIN_VALUE;
+    private final LongAdder interpolated = new LongAdder();
+    private final LongAdder imputed = new LongAdder();
+    private final LongAdder gridPoints = new LongAdder();
+
+
+    /**
+     * WORKER METHODS
+     */
+
+    /**
+     * METHOD TO OBTAIN TAX AND BENEFIT IMPUTATION FOR EVALUATED DONOR KEYS
+     * @param keys donor keys, evaluated using KeyFunction
+     * @return imputation, equivalent to DonorTaxImputation.evaluate() up to TOLERANCE and quantisation of second income
+     * and childcare costs
+     */
+    @Override
+    public DonorTaxImputation evaluate(DonorKeys keys) {
+
+        if (keys.getRandomDraw() >= 0.0)
+            return impute(keys);
+        if (keys.getSimYear() != simYear)
+            startYear(keys.getSimYear());
+
+        double position = position(keys.getOriginalIncomePerWeek());
+        long lower = (long) Math.floor(position);
+        Surface surface = surfaces.computeIfAbsent(new SurfaceKey(keys), Surface::new);
+        DonorTaxImputation lowerPoint = surface.getPoint(keys, lower);
+        DonorTaxImputation upperPoint = surface.getPoint(keys, lower + 1);
+        if (!lowerPoint.agrees(upperPoint, TOLERANCE))
+            return impute(keys);
+
+        interpolated.increment();
+        DonorTaxImputation result = new DonorTaxImputation(keys);
+        result.evaluateFrom(lowerPoint, upperPoint, position - (double) lower);
+        return result;
+    }
+
+    public long getInterpolated() {
+        return interpolated.sum();
+    }
+    public long getImputed() {
+        return imputed.sum();
+    }
+
+    public String reportMetrics() {
+        long ii = getInterpolated(), mm = getImputed();
+        double rate = (ii + mm > 0) ? 100.0 * (double)ii / (double)(ii + mm) : 0.0;
+        return "tax imputation surfaces: " + ii + " interpolated, " + mm + " imputed (" + String.format("%.1f", rate) +
+                "% interpolated), " + surfaces.size() + " surfaces, " + gridPoints.sum() + " grid points";
+    }
+
+    private DonorTaxImputation impute(DonorKeys keys) {
+        imputed.increment();
+        DonorTaxImputation result = new DonorTaxImputation(keys);
+        result.evaluate();
+        return result;
+    }
+
+    private synchronized void startYear(int year) {
+        if (year != simYear) {
+            if (simYear != Integer.MIN_VALUE && log.isDebugEnabled())
+                log.debug("Year " + simYear + " " + reportMetrics());
+            surfaces.clear();
+            interpolated.reset();
+            imputed.reset();
+            gridPoints.reset();
+            simYear = year;
+        }
+    }
+
+    /**
+     * METHODS TO CONVERT BETWEEN ORIGINAL INCOME (PER WEEK) AND GRID POSITION
+     */
+    static double position(double income) {
+        double scaled = income / INCOME_FLOOR;
+        return Math.signum(scaled) * Parameters.asinh(Math.abs(scaled)) / INCOME_PRECISION;
+    }
+    static double income(long position) {
+        return Math.sinh((double) position * INCOME_PRECISION) * INCOME_FLOOR;
+    }
+
+
+    /**
+     * CLASS TO STORE IMPUTATIONS AT GRID POINTS OF ORIGINAL INCOME
+     */
+    private final class Surface {
+
+        private final Double secondIncome, childcareCost;      // representative values of quantised statistics
+        private final ConcurrentHashMap<Long, AtomicReferenceArray<DonorTaxImputation>> chunks = new ConcurrentHashMap<>();
+
+        Surface(SurfaceKey key) {
+            secondIncome = DonorTaxImputationCache.representative(key.secondIncome);
+            childcareCost = DonorTaxImputationCache.representative(key.childcareCost);
+        }
+
+        DonorTaxImputation getPoint(DonorKeys keys, long position) {
+
+            AtomicReferenceArray<DonorTaxImputation> chunk = chunks.computeIfAbsent(Math.floorDiv(position, CHUNK_SIZE),
+                    cc -> new AtomicReferenceArray<>(CHUNK_SIZE));
+            int index = (int) Math.floorMod(position, CHUNK_SIZE);
+            DonorTaxImputation point = chunk.get(index);
+            if (point == null) {
+
+                DonorKeys representative = new DonorKeys(keys, income(position), secondIncome, childcareCost);
+                point = new DonorTaxImputation(representative);
+                point.impute();
+                if (chunk.compareAndSet(index, null, point)) {
+                    gridPoints.increment();
+                } else {
+                    point = chunk.get(index);
+                }
+            }
+            return point;
+        }
+    }
+
+
+    /**
+     * CLASS TO IDENTIFY SURFACES
+     */
+    private static final class SurfaceKey {
+
+        private final Integer[] keys;
+        private final boolean[] lowIncome;
+        private final int simYear, priceYear;
+        private final boolean working;
+        private final long secondIncome, childcareCost;
+        private final int hash;
+
+        SurfaceKey(DonorKeys donorKeys) {
+            keys = donorKeys.getKeys();
+            lowIncome = donorKeys.getLowIncome();
+            simYear = donorKeys.getSimYear();
+            priceYear = donorKeys.getPriceYear();
+            working = (donorKeys.getHoursWorkedPerWeekMan() + donorKeys.getHoursWorkedPerWeekWoman() > 0.1);
+            secondIncome = DonorTaxImputationCache.quantise(donorKeys.getSecondIncomePerWeek());
+            childcareCost = DonorTaxImputationCache.quantise(donorKeys.getChildcareCostPerWeek());
+            int hh = Arrays.hashCode(keys);
+            hh = 31 * hh + Arrays.hashCode(lowIncome);
+            hh = 31 * hh + simYear;
+            hh = 31 * hh + priceYear;
+            hh = 31 * hh + Boolean.hashCode(working);
+            hh = 31 * hh + Long.hashCode(secondIncome);
+            hh = 31 * hh + Long.hashCode(childcareCost);
+            hash = hh;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof SurfaceKey other))
+                return false;
+            return hash == other.hash && simYear == other.simYear && priceYear == other.priceYear && working == other.working &&
+                    secondIncome == other.secondIncome && childcareCost == other.childcareCost &&
+                    Arrays.equals(keys, other.keys) && Arrays.equals(lowIncome, other.lowIncome);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
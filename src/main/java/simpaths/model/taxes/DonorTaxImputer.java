@@ -0,0 +1,13 @@
+package simpaths.model.taxes;
+
+
+/**
+ *
+ * INTERFACE FOR OBJECTS THAT SUPPLY TAX AND BENEFIT IMPUTATIONS FOR EVALUATED DONOR KEYS, AS ALTERNATIVES TO A FULL
+ * IMPUTATION BY DonorTaxImputation.evaluate() (SEE DonorTaxImputationCache AND DonorTaxImputationSurface)
+ *
+ */
+public interface DonorTaxImputer {
+
+    DonorTaxImputation evaluate(DonorKeys keys);
+}
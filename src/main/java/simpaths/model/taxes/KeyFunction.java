@@ -24,6 +24,7 @@ public class KeyFunction {
     //private KeyFunction2 keyFunction;
     //private KeyFunction3 keyFunction;
     private KeyFunction4 keyFunction;
+    public static final int VERSION = 4;    // identifies key function variant - update if the variant or its treatment of keys changes (see DonorPoolSnapshot)
 
 
     /**
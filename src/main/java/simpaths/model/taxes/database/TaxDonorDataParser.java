@@ -6,11 +6,15 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
@@ -35,6 +39,10 @@ import simpaths.model.taxes.*;
  */
 public class TaxDonorDataParser {
 
+    public static final String DONOR_CHECKSUM_TABLE = "DONORCHECKSUM";    // checksums of donor tables (see recordDonorChecksum)
+    public static final String DEFAULT_DONOR_TABLES = "DEFAULT";
+    private static final String[] DONOR_TABLE_NAMES = new String[]{"DONORTAXUNIT", "DONORPERSON", "DONORPERSONPOLICY", "DONORTAXUNITPOLICY"};
+
 
     /**
      * ENTRY POINT FOR MANAGER
@@ -102,8 +110,7 @@ public class TaxDonorDataParser {
         try {
             stat = conn.createStatement();
 
-            String[] tableNamesDonor = new String[]{"DONORTAXUNIT", "DONORPERSON", "DONORPERSONPOLICY", "DONORTAXUNITPOLICY"};
-            for (String tableName : tableNamesDonor) {
+            for (String tableName : DONOR_TABLE_NAMES) {
                 stat.execute("DROP TABLE IF EXISTS " + tableName + " CASCADE");
                 stat.execute("CREATE TABLE " + tableName + " AS SELECT * FROM " + tableName + "_" + country);
                 System.out.println("Completed updating " + tableName);
@@ -115,6 +122,7 @@ public class TaxDonorDataParser {
                 + "ALTER TABLE DONORTAXUNITPOLICY ADD FOREIGN KEY (TUID) REFERENCES DONORTAXUNIT (ID);"
                 + "ALTER TABLE DONORPERSONPOLICY ADD FOREIGN KEY (PID) REFERENCES DONORPERSON (ID);"
             );
+            recordDonorChecksum(stat, DEFAULT_DONOR_TABLES, evaluateDonorChecksum(stat, DEFAULT_DONOR_TABLES));
         }
         catch(SQLException e){
             throw new RuntimeException("SQL Exception thrown! " + e.getMessage());
@@ -390,6 +398,79 @@ public class TaxDonorDataParser {
     }
 
 
+    /**
+     *
+     * METHODS TO EVALUATE, RECORD AND RETRIEVE CHECKSUMS OF DONOR TABLES
+     *
+     * The checksum is a SHA-256 hash of the columns, row count, and an order-independent combination of row hashes
+     * of each donor table, all evaluated by the database. Identical donor data therefore have the same checksum,
+     * however often the tables are rebuilt. The checksum of the default tables is recorded when these are installed,
+     * so that snapshots of the donor pool index (see DonorPoolSnapshot) can be validated without scanning the tables
+     *
+     * @param tables country code, or DEFAULT_DONOR_TABLES
+     * @param checksum checksum to record (null to remove any record)
+     *
+     */
+    private static void recordDonorChecksum(Statement stat, String tables, String checksum) throws SQLException {
+
+        stat.execute("CREATE TABLE IF NOT EXISTS " + DONOR_CHECKSUM_TABLE + " (TABLES VARCHAR(16) NOT NULL PRIMARY KEY, CHECKSUM VARCHAR(64) NOT NULL);"
+                + "DELETE FROM " + DONOR_CHECKSUM_TABLE + " WHERE TABLES = '" + tables + "';");
+        if (checksum != null)
+            stat.execute("INSERT INTO " + DONOR_CHECKSUM_TABLE + " VALUES ('" + tables + "', '" + checksum + "');");
+    }
+
+    /**
+     * @param tables country code, or DEFAULT_DONOR_TABLES
+     * @return checksum recorded for the tables, or null if none has been recorded (e.g. database built before checksums were recorded)
+     */
+    public static String getDonorChecksum(Statement stat, String tables) throws SQLException {
+
+        try (ResultSet rs = stat.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = '" + DONOR_CHECKSUM_TABLE + "'")) {
+            if (!rs.next() || rs.getInt(1) == 0)
+                return null;
+        }
+        try (ResultSet rs = stat.executeQuery("SELECT CHECKSUM FROM " + DONOR_CHECKSUM_TABLE + " WHERE TABLES = '" + tables + "'")) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    /**
+     * @param tables country code, or DEFAULT_DONOR_TABLES
+     * @return checksum evaluated from the content of the tables, or null if any of the tables does not exist
+     */
+    public static String evaluateDonorChecksum(Statement stat, String tables) throws SQLException {
+
+        String suffix = DEFAULT_DONOR_TABLES.equals(tables) ? "" : "_" + tables;
+        StringBuilder checksums = new StringBuilder();
+        for (String tableName : DONOR_TABLE_NAMES) {
+
+            List<String> columns = new ArrayList<>();
+            try (ResultSet rs = stat.executeQuery("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = '"
+                    + tableName + suffix + "' ORDER BY ORDINAL_POSITION")) {
+                while (rs.next()) columns.add(rs.getString(1));
+            }
+            if (columns.isEmpty())
+                return null;
+            StringBuilder row = new StringBuilder();
+            for (String column : columns) {
+                if (!row.isEmpty()) row.append(", ");
+                row.append("COALESCE(CAST(\"").append(column).append("\" AS VARCHAR), '~')");
+            }
+            String rowHash = "CAST(SUBSTRING(HASH('SHA-256', CAST(CONCAT_WS('|', " + row + ") AS VARBINARY)), 1, 8) AS BIGINT)";
+            try (ResultSet rs = stat.executeQuery("SELECT COUNT(*), BIT_XOR_AGG(" + rowHash + ") FROM " + tableName + suffix)) {
+                rs.next();
+                checksums.append(tableName).append(columns).append(':').append(rs.getLong(1)).append(':').append(rs.getLong(2)).append(';');
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(checksums.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
     /**
      *
      * METHOD TO CONVERT COLLECTION OF STRINGS TO COMMA-SEPARATED SINGLE STRING
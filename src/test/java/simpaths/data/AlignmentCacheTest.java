@@ -0,0 +1,61 @@
+package simpaths.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlignmentCacheTest {
+
+    private static final String COUNTRY = "UK";
+    private static final int POP_SIZE = 25000;
+    private static final String SEED_CLASS = "606";
+    private static final String CONFIGURATION = "startYear=2019;alignFertility=true;";
+    private static final int YEAR = 2021;
+
+    @TempDir
+    Path directory;
+
+
+    @Test
+    void adjustmentsSavedByOneRunFoundByLaterRun() {
+
+        AlignmentCache first = new AlignmentCache(directory, COUNTRY, POP_SIZE, SEED_CLASS, CONFIGURATION);
+        assertNull(first.get("FertilityAlignment", YEAR));
+        first.put("FertilityAlignment", YEAR, 0.125);
+        first.put("PartnershipAlignment", YEAR, -0.5);
+
+        // a later run of the same simulation, with its own output folder
+        AlignmentCache later = new AlignmentCache(directory, COUNTRY, POP_SIZE, SEED_CLASS, CONFIGURATION);
+        assertEquals(0.125, later.get("FertilityAlignment", YEAR));
+        assertEquals(-0.5, later.get("PartnershipAlignment", YEAR));
+        assertNull(later.get("FertilityAlignment", YEAR + 1));
+    }
+
+    @Test
+    void adjustmentsNotSharedBetweenDifferentSimulations() {
+
+        new AlignmentCache(directory, COUNTRY, POP_SIZE, SEED_CLASS, CONFIGURATION).put("FertilityAlignment", YEAR, 0.125);
+
+        assertNull(new AlignmentCache(directory, "IT", POP_SIZE, SEED_CLASS, CONFIGURATION).get("FertilityAlignment", YEAR));
+        assertNull(new AlignmentCache(directory, COUNTRY, 2 * POP_SIZE, SEED_CLASS, CONFIGURATION).get("FertilityAlignment", YEAR));
+        assertNull(new AlignmentCache(directory, COUNTRY, POP_SIZE, "unfixed", CONFIGURATION).get("FertilityAlignment", YEAR));
+        assertNull(new AlignmentCache(directory, COUNTRY, POP_SIZE, SEED_CLASS, CONFIGURATION + "alignCohabitation=true;")
+                .get("FertilityAlignment", YEAR));
+    }
+
+    @Test
+    void concurrentRunsMergeEntries() {
+
+        AlignmentCache first = new AlignmentCache(directory, COUNTRY, POP_SIZE, SEED_CLASS, CONFIGURATION);
+        AlignmentCache second = new AlignmentCache(directory, COUNTRY, POP_SIZE, SEED_CLASS, CONFIGURATION);
+        first.put("FertilityAlignment", YEAR, 0.125);
+        second.put("PartnershipAlignment", YEAR, -0.5);
+
+        AlignmentCache later = new AlignmentCache(directory, COUNTRY, POP_SIZE, SEED_CLASS, CONFIGURATION);
+        assertEquals(0.125, later.get("FertilityAlignment", YEAR));
+        assertEquals(-0.5, later.get("PartnershipAlignment", YEAR));
+    }
+}
@@ -0,0 +1,238 @@
+package simpaths.data;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Transient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarExportTest {
+
+    private static final double[] TIMES = {2019.0, 2020.0, 2021.0};
+    private static final int ROWS = 7;
+    private static final String[] LABELS = {"plain", "with, comma", "with \"quotes\"", "with\nnewline", null};
+
+    @TempDir
+    Path folder;
+    private ExportQueue queue;
+
+    @BeforeEach
+    void startQueue() {
+        queue = new ExportQueue(2);
+    }
+
+    @AfterEach
+    void stopQueue() {
+        queue.shutdown();
+    }
+
+    @Test
+    void exportedChunksReadBackAndConvertedToCsv() throws IOException {
+
+        ColumnarExport<Row> export = new ColumnarExport<>(Row.class, folder.toString(), null, queue);
+        Map<Double, List<Row>> exported = new LinkedHashMap<>();
+        for (double time : TIMES) {
+            List<Row> rows = rows((int) time);
+            export.export(rows, time);
+            exported.put(time, rows);
+            for (Row row : rows) row.count = -1;     // values are copied when export is called
+        }
+        export.close();
+        queue.flush();
+
+        // raw file
+        Path file = folder.resolve("Row" + ColumnarExport.FILE_SUFFIX);
+        List<String> names = new ArrayList<>();
+        Map<Double, Map<String, Object[]>> chunks = read(file, names);
+        assertEquals(List.of("key.id", "key.time", "count", "income", "children", "flag", "status", "label"), names);
+        assertEquals(exported.keySet(), chunks.keySet());
+        for (double time : TIMES) {
+            Map<String, Object[]> columns = chunks.get(time);
+            List<Row> rows = rows((int) time);
+            for (int ii=0; ii<ROWS; ii++) {
+                Row row = rows.get(ii);
+                String context = "time " + time + ", row " + ii;
+                assertEquals(row.key.id, columns.get("key.id")[ii], context);
+                assertEquals(row.key.time, columns.get("key.time")[ii], context);
+                assertEquals(row.count, columns.get("count")[ii], context);
+                assertEquals(row.income, columns.get("income")[ii], context);
+                assertEquals(row.children, columns.get("children")[ii], context);
+                assertEquals(row.flag, columns.get("flag")[ii], context);
+                assertEquals((row.status == null) ? -1 : row.status.ordinal(), columns.get("status")[ii], context);
+                assertEquals(row.label, columns.get("label")[ii], context);
+            }
+        }
+
+        // csv
+        Path csv = folder.resolve("Row.csv");
+        ColumnarExport.toCsv(file, csv);
+        List<List<String>> lines = parseCsv(Files.readString(csv));
+        assertEquals(List.of("time", "key.id", "key.time", "count", "income", "children", "flag", "status", "label"), lines.get(0));
+        assertEquals(1 + TIMES.length * ROWS, lines.size());
+        int line = 1;
+        for (double time : TIMES) {
+            for (Row row : rows((int) time)) {
+                List<String> expected = List.of(Double.toString(time), Long.toString(row.key.id), Integer.toString(row.key.time),
+                        Integer.toString(row.count), (row.income == null) ? "" : Double.toString(row.income),
+                        (row.children == null) ? "" : Integer.toString(row.children), (row.flag == null) ? "" : Boolean.toString(row.flag),
+                        (row.status == null) ? "" : row.status.name(), (row.label == null) ? "" : row.label);
+                assertEquals(expected, lines.get(line), "line " + line);
+                line++;
+            }
+        }
+    }
+
+    private static List<Row> rows(int time) {
+
+        List<Row> rows = new ArrayList<>();
+        for (int ii=0; ii<ROWS; ii++) {
+            Row row = new Row();
+            row.key.id = 100L * time + ii;
+            row.key.time = time;
+            row.count = ii * time;
+            row.income = (ii % 3 == 0) ? null : 1000.5 * ii - time;
+            row.children = (ii % 2 == 0) ? null : ii;
+            row.flag = (ii % 4 == 1) ? null : (ii % 2 == 0);
+            row.status = (ii % 3 == 2) ? null : Status.values()[ii % Status.values().length];
+            row.label = LABELS[(ii + time) % LABELS.length];
+            row.ignored = ii;
+            row.unsupported = List.of("x");
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * METHOD TO READ A COLUMNAR EXPORT, FOLLOWING THE FILE FORMAT DESCRIBED IN ColumnarExport
+     * @return values of each column by chunk time, boxed, with null for rows flagged as null and enums as codes
+     */
+    private static Map<Double, Map<String, Object[]>> read(Path file, List<String> names) throws IOException {
+
+        Map<Double, Map<String, Object[]>> chunks = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+            assertEquals(0x53504358, in.readInt());
+            assertEquals(1, in.readInt());
+            assertEquals("Row", in.readUTF());
+            int numberColumns = in.readInt();
+            int[] types = new int[numberColumns];
+            boolean[] nullable = new boolean[numberColumns];
+            for (int cc=0; cc<numberColumns; cc++) {
+                names.add(in.readUTF());
+                types[cc] = in.readByte();
+                nullable[cc] = in.readBoolean();
+                if (types[cc] == 6) {
+                    String[] constants = new String[in.readInt()];
+                    for (int ii=0; ii<constants.length; ii++) constants[ii] = in.readUTF();
+                    assertArrayEquals(Arrays.stream(Status.values()).map(Enum::name).toArray(), constants);
+                }
+            }
+            while (in.available() > 0) {
+
+                double time = in.readDouble();
+                int numberRows = in.readInt();
+                Map<String, Object[]> columns = new LinkedHashMap<>();
+                for (int cc=0; cc<numberColumns; cc++) {
+
+                    byte[] compressed = new byte[in.readInt()];
+                    in.readFully(compressed);
+                    try (DataInputStream block = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+                        boolean[] nulls = new boolean[numberRows];
+                        if (nullable[cc]) {
+                            for (int ii=0; ii<numberRows; ii++) nulls[ii] = block.readBoolean();
+                        }
+                        String[] dictionary = null;
+                        if (types[cc] == 5) {
+                            dictionary = new String[block.readInt()];
+                            for (int ii=0; ii<dictionary.length; ii++) {
+                                byte[] bytes = new byte[block.readInt()];
+                                block.readFully(bytes);
+                                dictionary[ii] = new String(bytes, java.nio.charset.StandardCharsets.UTF_8);
+                            }
+                        }
+                        Object[] values = new Object[numberRows];
+                        for (int ii=0; ii<numberRows; ii++) {
+                            Object value = switch (types[cc]) {
+                                case 1 -> block.readBoolean();
+                                case 2, 6 -> block.readInt();
+                                case 3 -> block.readLong();
+                                case 4 -> block.readDouble();
+                                default -> {
+                                    int code = block.readInt();
+                                    yield (code < 0) ? null : dictionary[code];
+                                }
+                            };
+                            values[ii] = nulls[ii] ? null : value;
+                        }
+                        assertEquals(-1, block.read(), "unread values in column " + names.get(cc));
+                        columns.put(names.get(cc), values);
+                    }
+                }
+                chunks.put(time, columns);
+            }
+        }
+        return chunks;
+    }
+
+    private static List<List<String>> parseCsv(String text) {
+
+        List<List<String>> lines = new ArrayList<>();
+        List<String> line = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int ii=0; ii<text.length(); ii++) {
+            char cc = text.charAt(ii);
+            if (quoted) {
+                if (cc == '"' && ii + 1 < text.length() && text.charAt(ii + 1) == '"') {
+                    cell.append('"');
+                    ii++;
+                } else if (cc == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(cc);
+                }
+            } else if (cc == '"') {
+                quoted = true;
+            } else if (cc == ',') {
+                line.add(cell.toString());
+                cell.setLength(0);
+            } else if (cc == '\n') {
+                line.add(cell.toString());
+                cell.setLength(0);
+                lines.add(line);
+                line = new ArrayList<>();
+            } else if (cc != '\r') {
+                cell.append(cc);
+            }
+        }
+        return lines;
+    }
+
+    enum Status {Active, Inactive, Retired}
+
+    static class Key {
+        long id;
+        int time;
+    }
+
+    static class Row {
+        @EmbeddedId Key key = new Key();
+        int count;
+        Double income;
+        Integer children;
+        Boolean flag;
+        Status status;
+        String label;
+        @Transient double ignored;
+        List<String> unsupported;
+    }
+}
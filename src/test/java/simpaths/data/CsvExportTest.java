@@ -0,0 +1,95 @@
+package simpaths.data;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Transient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvExportTest {
+
+    private static final double[] TIMES = {2019.0, 2020.0};
+    private static final int ROWS = 4;
+
+    @TempDir
+    Path folder;
+    private ExportQueue queue;
+
+    @BeforeEach
+    void startQueue() {
+        queue = new ExportQueue(1);
+    }
+
+    @AfterEach
+    void stopQueue() {
+        queue.shutdown();
+    }
+
+    @Test
+    void rowsWrittenAsSnapshotInEngineLayout() throws IOException {
+
+        CsvExport<Row> export = new CsvExport<>(Row.class, folder.toString(), null, queue);
+        for (double time : TIMES) {
+            List<Row> rows = rows((int) time);
+            export.export(rows, time);
+            for (Row row : rows) row.income = -1.0;     // values are copied when export is called
+        }
+        export.close();
+        queue.flush();
+
+        List<String> lines = Files.readAllLines(folder.resolve("Row" + CsvExport.FILE_SUFFIX));
+        assertEquals("run,time,id_row,income,status,label", lines.get(0));
+        assertEquals(1 + TIMES.length * ROWS, lines.size());
+        int line = 1;
+        for (double time : TIMES) {
+            for (Row row : rows((int) time)) {
+                String expected = row.key.simulationRun + "," + time + "," + row.key.id + "," +
+                        ((row.income == null) ? "" : Double.toString(row.income)) + "," +
+                        ((row.status == null) ? "" : row.status.name()) + "," + (row.label.contains(",") ? "\"" + row.label + "\"" : row.label);
+                assertEquals(expected, lines.get(line), "line " + line);
+                line++;
+            }
+        }
+    }
+
+    private static List<Row> rows(int time) {
+
+        List<Row> rows = new ArrayList<>();
+        for (int ii=0; ii<ROWS; ii++) {
+            Row row = new Row();
+            row.key.id = 100L * time + ii;
+            row.key.simulationTime = -1.0;      // not updated by the simulation, so replaced by the time of export
+            row.key.simulationRun = 3L;
+            row.income = (ii == 2) ? null : 250.5 * ii;
+            row.status = (ii == 1) ? null : Status.values()[ii % Status.values().length];
+            row.label = (ii == 3) ? "with, comma" : "plain";
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    enum Status {Active, Inactive}
+
+    static class Key {
+        Long id;
+        Double simulationTime;
+        Long simulationRun;
+    }
+
+    static class Row {
+        @EmbeddedId Key key = new Key();
+        Double income;
+        Status status;
+        String label;
+        @Transient double ignored;
+    }
+}
@@ -0,0 +1,90 @@
+package simpaths.data;
+
+import microsim.data.MultiKeyCoefficientMap;
+import microsim.data.excel.ExcelAssistant;
+import org.junit.jupiter.api.Test;
+import simpaths.model.enums.Gender;
+import simpaths.model.enums.Region;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemographicTableTest {
+
+    // bounds wider than the data, so that lookups outside the Excel sheets are also compared
+    private static final int MAX_AGE = 130;
+    private static final int MIN_YEAR = 1950;
+    private static final int MAX_YEAR = 2150;
+
+    @Test
+    void mortalityProbabilitiesMatchCoefficientMap() {
+        MultiKeyCoefficientMap map = ExcelAssistant.loadCoefficientMap("input/projections_mortality.xlsx", "UK_MortalityByGenderAgeYear", 2, 120);
+        DemographicTable table = Parameters.compileMortalityProbabilities(map, MAX_AGE, MIN_YEAR, MAX_YEAR);
+
+        for (Gender gender : Gender.values()) {
+            for (int age = 0; age <= MAX_AGE; age++) {
+                for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+                    Object expected = map.getValue(gender.toString(), age, year);
+                    assertValue(expected, table.get(gender.ordinal(), age, year));
+                }
+            }
+        }
+    }
+
+    @Test
+    void populationProjectionsMatchCoefficientMap() {
+        MultiKeyCoefficientMap map = ExcelAssistant.loadCoefficientMap("input/align_popProjections.xlsx", "UK", 3, 110);
+        Set<Region> regions = EnumSet.noneOf(Region.class);
+        for (Region region : Region.values()) {
+            if (region.toString().startsWith("UK"))
+                regions.add(region);
+        }
+        DemographicTable table = Parameters.compilePopulationProjections(map, regions, MAX_AGE, MIN_YEAR, MAX_YEAR);
+
+        for (Gender gender : Gender.values()) {
+            for (Region region : regions) {
+                int category = Parameters.populationProjectionsCategory(gender, region);
+                for (int age = 0; age <= MAX_AGE; age++) {
+                    for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+                        Object expected = map.getValue(gender.toString(), region.toString(), age, year);
+                        assertValue(expected, table.get(category, age, year));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void tableBounds() {
+        DemographicTable table = DemographicTable.compile(2, 10, 2000, 2010, (category, age, year) -> category + age + year);
+
+        assertEquals(1 + 5 + 2003, table.get(1, 5, 2003));
+        assertTrue(Double.isNaN(table.get(2, 5, 2003)));
+        assertTrue(Double.isNaN(table.get(0, 11, 2003)));
+        assertTrue(Double.isNaN(table.get(0, 5, 1999)));
+        assertTrue(Double.isNaN(table.get(0, 5, 2011)));
+    }
+
+    @Test
+    void timeSeriesTable() {
+        TimeSeriesTable table = new TimeSeriesTable();
+
+        assertTrue(Double.isNaN(table.get(2020)));
+        table.put(2020, 1.5);
+        assertEquals(1.5, table.get(2020));
+        assertTrue(Double.isNaN(table.get(2021)));
+        table.put(TimeSeriesTable.MAX_YEAR + 1, 2.0);
+        assertTrue(Double.isNaN(table.get(TimeSeriesTable.MAX_YEAR + 1)));
+        table.clear();
+        assertTrue(Double.isNaN(table.get(2020)));
+    }
+
+    private static void assertValue(Object expected, double actual) {
+        if (expected == null)
+            assertTrue(Double.isNaN(actual));
+        else
+            assertEquals(((Number) expected).doubleValue(), actual);
+    }
+}
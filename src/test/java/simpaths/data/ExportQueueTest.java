@@ -0,0 +1,38 @@
+package simpaths.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportQueueTest {
+
+    private static final int CAPACITY = 2;
+
+
+    @Test
+    void closeTasksExecutedAfterFailure() {
+
+        ExportQueue queue = new ExportQueue(CAPACITY);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        queue.submit(() -> executed.add("write 1"));
+        queue.submit(() -> {
+            throw new IOException("disk full");
+        });
+        queue.submitClose(() -> executed.add("close 1"));
+        queue.submitClose(() -> executed.add("close 2"));
+
+        RuntimeException failure = assertThrows(RuntimeException.class, queue::flush);
+        assertTrue(failure.getMessage().contains("disk full"));
+        assertEquals(List.of("write 1", "close 1", "close 2"), executed);
+
+        // tasks that write are rejected once a failure is reported, and those that close are still executed
+        assertThrows(RuntimeException.class, () -> queue.submit(() -> executed.add("write 2")));
+        queue.submitClose(() -> executed.add("close 3"));
+        assertThrows(RuntimeException.class, queue::shutdown);
+        assertEquals(List.of("write 1", "close 1", "close 2", "close 3"), executed);
+    }
+}
@@ -0,0 +1,94 @@
+package simpaths.data;
+
+import microsim.data.MultiKeyCoefficientMap;
+import microsim.data.excel.ExcelAssistant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterSnapshotTest {
+
+    // sheets covering single and multiple key columns, and single and multiple value columns
+    private static final Object[][] SHEETS = {
+            {"input/time_series_factor.xlsx", "UK_inflation", 1, 1},
+            {"input/reg_health.xlsx", "UK_H1a", 1, 28},
+            {"input/projections_mortality.xlsx", "UK_MortalityByGenderAgeYear", 2, 120},
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoredMapsEqualMapsParsedFromExcel() throws IOException {
+
+        Path path = directory.resolve(ParameterSnapshot.FILE_NAME);
+        ParameterSnapshot snapshot = ParameterSnapshot.open(path);
+        for (Object[] sheet : SHEETS) {
+            String file = (String) sheet[0];
+            snapshot.put(file, ParameterSnapshot.contentHash(Paths.get(file)), (String) sheet[1], (int) sheet[2], (int) sheet[3],
+                    ExcelAssistant.loadCoefficientMap(file, (String) sheet[1], (int) sheet[2], (int) sheet[3]));
+        }
+        snapshot.saveIfModified();
+        assertTrue(Files.exists(path));
+
+        ParameterSnapshot reopened = ParameterSnapshot.open(path);
+        for (Object[] sheet : SHEETS) {
+            String file = (String) sheet[0];
+            MultiKeyCoefficientMap parsed = ExcelAssistant.loadCoefficientMap(file, (String) sheet[1], (int) sheet[2], (int) sheet[3]);
+            MultiKeyCoefficientMap restored = reopened.get(file, ParameterSnapshot.contentHash(Paths.get(file)), (String) sheet[1], (int) sheet[2], (int) sheet[3]);
+            assertNotNull(restored, "sheet " + sheet[1] + " not restored");
+            assertMapsEqual(parsed, restored);
+        }
+    }
+
+    @Test
+    void entriesDiscardedWhenWorkbookContentsChange() throws IOException {
+
+        String file = (String) SHEETS[0][0];
+        String sheet = (String) SHEETS[0][1];
+        Path path = directory.resolve(ParameterSnapshot.FILE_NAME);
+        ParameterSnapshot snapshot = ParameterSnapshot.open(path);
+        snapshot.put(file, ParameterSnapshot.contentHash(Paths.get(file)), sheet, 1, 1, ExcelAssistant.loadCoefficientMap(file, sheet, 1, 1));
+        snapshot.saveIfModified();
+
+        ParameterSnapshot reopened = ParameterSnapshot.open(path);
+        assertNull(reopened.get(file, "changed", sheet, 1, 1));
+        assertNull(reopened.get(file, ParameterSnapshot.contentHash(Paths.get(file)), sheet, 1, 1));
+    }
+
+    @Test
+    void restoredMapsAreIndependentCopies() throws IOException {
+
+        String file = (String) SHEETS[0][0];
+        String sheet = (String) SHEETS[0][1];
+        String hash = ParameterSnapshot.contentHash(Paths.get(file));
+        ParameterSnapshot snapshot = ParameterSnapshot.open(directory.resolve(ParameterSnapshot.FILE_NAME));
+        snapshot.put(file, hash, sheet, 1, 1, ExcelAssistant.loadCoefficientMap(file, sheet, 1, 1));
+
+        MultiKeyCoefficientMap first = snapshot.get(file, hash, sheet, 1, 1);
+        first.clear();
+        MultiKeyCoefficientMap second = snapshot.get(file, hash, sheet, 1, 1);
+        assertFalse(second.isEmpty());
+    }
+
+    private static void assertMapsEqual(MultiKeyCoefficientMap expected, MultiKeyCoefficientMap actual) {
+
+        assertArrayEquals(expected.getKeysNames(), actual.getKeysNames());
+        assertArrayEquals(expected.getValuesNames(), actual.getValuesNames());
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Object key : expected.keySet()) {
+            Object expectedValue = expected.get(key);
+            Object actualValue = actual.get(key);
+            if (expectedValue instanceof Object[] expectedArray)
+                assertArrayEquals(expectedArray, (Object[]) actualValue, "values differ for key " + key);
+            else
+                assertEquals(expectedValue, actualValue, "value differs for key " + key);
+        }
+    }
+}
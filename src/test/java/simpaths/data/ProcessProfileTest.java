@@ -0,0 +1,64 @@
+package simpaths.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessProfileTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void disable() {
+        ProcessProfile.setEnabled(false);
+    }
+
+    @Test
+    void disabledCounterIgnoresSamples() {
+        ProcessProfile.setEnabled(false);
+        ProcessProfile.Counter counter = ProcessProfile.counter("ProcessProfileTest.Disabled");
+
+        ProcessProfile.Sample sample = counter.start();
+        assertNull(sample);
+        counter.stop(sample, 10);
+        ProcessProfile.write(directory.toString(), 2020);
+        assertFalse(Files.exists(directory.resolve(ProcessProfile.FILE_PREFIX + "2020.csv")));
+    }
+
+    @Test
+    void writesAccumulatedValuesAndResets() throws IOException {
+        ProcessProfile.setEnabled(true);
+        ProcessProfile.Counter counter = ProcessProfile.counter("ProcessProfileTest.Enabled", true);
+        assertSame(counter, ProcessProfile.counter("ProcessProfileTest.Enabled"));
+
+        for (int ii = 0; ii < 3; ii++) {
+            ProcessProfile.Sample sample = counter.start();
+            counter.stop(sample, 100);
+        }
+        ProcessProfile.write(directory.toString(), 2021);
+
+        List<String> csv = Files.readAllLines(directory.resolve(ProcessProfile.FILE_PREFIX + "2021.csv"));
+        assertEquals("year,process,calls,items,wall_ms,allocated_mb", csv.get(0));
+        String row = csv.stream().filter(line -> line.contains("ProcessProfileTest.Enabled")).findFirst().orElseThrow();
+        String[] fields = row.split(",");
+        assertEquals("2021", fields[0]);
+        assertEquals("3", fields[2]);
+        assertEquals("300", fields[3]);
+        String json = Files.readString(directory.resolve(ProcessProfile.FILE_PREFIX + "2021.json"));
+        assertTrue(json.contains("\"year\": 2021"));
+        assertTrue(json.contains("{\"process\": \"ProcessProfileTest.Enabled\", \"calls\": 3, \"items\": 300"));
+
+        // counters are reset once written, and processes without calls are omitted
+        ProcessProfile.write(directory.toString(), 2022);
+        List<String> next = Files.readAllLines(directory.resolve(ProcessProfile.FILE_PREFIX + "2022.csv"));
+        assertTrue(next.stream().noneMatch(line -> line.contains("ProcessProfileTest.Enabled")));
+    }
+}
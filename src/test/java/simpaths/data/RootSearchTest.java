@@ -0,0 +1,75 @@
+package simpaths.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RootSearchTest {
+
+    private static final double LOWER = -4.0;
+    private static final double UPPER = 4.0;
+    private static final double EPS_ORDINATES = 1.0E-4;
+    private static final double EPS_FUNCTION = 1.0E-4;
+    private static final double SLOPE_MIN = 0.25;      // lower bound on absolute slope of test functions near their roots
+    private static final double[] OFFSETS = {0.0, 1.0E-5, -0.01, 0.3, -0.8, 2.5, -6.0, 20.0};
+
+
+    @Test
+    void warmStartConvergesToRootOfColdSearch() {
+
+        DoubleUnaryOperator[] functions = {
+                x -> 0.2 - Math.tanh(x),                                    // decreasing, as alignment discrepancies
+                x -> x * x * x + x - 1.5,                                   // increasing and convex
+                x -> 0.6 - 1.0 / (1.0 + Math.exp(-2.0 * (x - 0.5))),        // decreasing logistic
+                x -> Math.atan(3.0 * (x + 2.9)),                            // root close to lower bound
+        };
+        for (int ff=0; ff<functions.length; ff++) {
+
+            DoubleUnaryOperator function = functions[ff];
+            RootSearch cold = search(function, 0.0);
+            cold.evaluate();
+            double coldRoot = cold.getTarget()[0];
+            assertTrue(coldRoot >= LOWER && coldRoot <= UPPER, "function " + ff + ": cold root outside bounds");
+
+            double[] starts = new double[OFFSETS.length + 2];
+            for (int ii=0; ii<OFFSETS.length; ii++) {
+                starts[ii] = coldRoot + OFFSETS[ii];
+            }
+            starts[OFFSETS.length] = LOWER;
+            starts[OFFSETS.length + 1] = UPPER;
+            for (double start : starts) {
+
+                RootSearch warm = search(function, 0.0);
+                warm.evaluateFrom(new double[]{start}, (UPPER - LOWER) / 16.0);
+                double warmRoot = warm.getTarget()[0];
+                String context = "function " + ff + ", start " + start;
+                assertTrue(warmRoot >= LOWER && warmRoot <= UPPER, context + ": warm root outside bounds");
+                assertEquals(coldRoot, warmRoot, 2.0 * EPS_FUNCTION / SLOPE_MIN, context);
+                assertEquals(0.0, function.applyAsDouble(warmRoot), 2.0 * EPS_FUNCTION, context);
+            }
+        }
+    }
+
+    @Test
+    void warmStartAtRootLeavesTargetUnaltered() {
+
+        DoubleUnaryOperator function = x -> 0.2 - Math.tanh(x);
+        double root = 0.5 * Math.log(1.2 / 0.8);
+        RootSearch warm = search(function, root);
+        warm.evaluateFrom(new double[]{root}, (UPPER - LOWER) / 16.0);
+        assertFalse(warm.isTargetAltered());
+        assertEquals(root, warm.getTarget()[0]);
+
+        RootSearch shifted = search(function, 0.0);
+        shifted.evaluateFrom(new double[]{root + 0.5}, (UPPER - LOWER) / 16.0);
+        assertTrue(shifted.isTargetAltered());
+        assertEquals(root, shifted.getTarget()[0], 2.0 * EPS_FUNCTION / SLOPE_MIN);
+    }
+
+    private static RootSearch search(DoubleUnaryOperator function, double initial) {
+        return new RootSearch(new double[]{LOWER}, new double[]{UPPER}, new double[]{initial},
+                args -> function.applyAsDouble(args[0]), EPS_ORDINATES, EPS_FUNCTION);
+    }
+}
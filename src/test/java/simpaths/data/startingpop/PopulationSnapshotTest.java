@@ -0,0 +1,212 @@
+package simpaths.data.startingpop;
+
+import jakarta.persistence.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import simpaths.model.BenefitUnit;
+import simpaths.model.Household;
+import simpaths.model.Person;
+import simpaths.model.PopulationFixtures;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopulationSnapshotTest {
+
+    private static final int HOUSEHOLDS = 300;
+    private static final long SEED = 1701L;
+
+    @TempDir
+    Path folder;
+    private String databaseUrl;
+
+    @BeforeEach
+    void persistPopulation() throws Exception {
+
+        databaseUrl = folder.resolve("input").toString();
+        PopulationFixtures fixtures = new PopulationFixtures(HOUSEHOLDS, SEED);
+
+        // as SimPathsModel.persistProcessed
+        EntityManagerFactory factory = entityManagerFactory(Map.of("hibernate.hbm2ddl.auto", "create"));
+        EntityManager em = factory.createEntityManager();
+        EntityTransaction txn = em.getTransaction();
+        txn.begin();
+        Processed processed = new Processed(PopulationFixtures.COUNTRY, PopulationFixtures.START_YEAR, HOUSEHOLDS, false);
+        em.persist(processed);
+        for (Household household : fixtures.households) {
+            household.setProcessed(processed);
+            for (BenefitUnit benefitUnit : household.getBenefitUnits()) {
+                benefitUnit.setProcessedId(processed.getId());
+                for (Person person : benefitUnit.getMembers()) {
+                    person.setProcessedId(processed.getId());
+                }
+            }
+        }
+        processed.setHouseholds(fixtures.households);
+        em.persist(processed);
+        txn.commit();
+        em.close();
+        factory.close();
+        PopulationSnapshot.recordStamp(databaseUrl, processed.getId());
+    }
+
+    @Test
+    void restoredPopulationEqualsPopulationLoadedFromDatabase() throws IllegalAccessException {
+
+        Processed loaded = loadFromDatabase();
+        assertNull(PopulationSnapshot.load(databaseUrl, PopulationFixtures.COUNTRY, PopulationFixtures.START_YEAR, HOUSEHOLDS, false));
+        PopulationSnapshot.save(databaseUrl, loaded);
+        Processed restored = PopulationSnapshot.load(databaseUrl, PopulationFixtures.COUNTRY, PopulationFixtures.START_YEAR, HOUSEHOLDS, false);
+        assertNotNull(restored);
+
+        assertEquals(loaded.getId(), restored.getId());
+        assertEquals(HOUSEHOLDS, restored.getHouseholds().size());
+        assertEquals(loaded.getBenefitUnits().size(), restored.getBenefitUnits().size());
+        assertEquals(loaded.getPersons().size(), restored.getPersons().size());
+        Iterator<Household> restoredHouseholds = sortedById(restored.getHouseholds(), Household::getId).iterator();
+        for (Household household : sortedById(loaded.getHouseholds(), Household::getId)) {
+
+            Household restoredHousehold = restoredHouseholds.next();
+            assertPersistedFieldsEqual(household, restoredHousehold, "household " + household.getId());
+            assertSame(restored, getField(restoredHousehold, "processed"));
+            Iterator<BenefitUnit> restoredUnits = sortedById(restoredHousehold.getBenefitUnits(), BenefitUnit::getId).iterator();
+            for (BenefitUnit benefitUnit : sortedById(household.getBenefitUnits(), BenefitUnit::getId)) {
+
+                BenefitUnit restoredUnit = restoredUnits.next();
+                assertPersistedFieldsEqual(benefitUnit, restoredUnit, "benefit unit " + benefitUnit.getId());
+                assertSame(restoredHousehold, restoredUnit.getHousehold());
+                Iterator<Person> restoredMembers = sortedById(restoredUnit.getMembers(), Person::getId).iterator();
+                for (Person person : sortedById(benefitUnit.getMembers(), Person::getId)) {
+
+                    Person restoredPerson = restoredMembers.next();
+                    assertPersistedFieldsEqual(person, restoredPerson, "person " + person.getId());
+                    assertSame(restoredUnit, restoredPerson.getBenefitUnit());
+                }
+                assertFalse(restoredMembers.hasNext());
+            }
+            assertFalse(restoredUnits.hasNext());
+        }
+    }
+
+    @Test
+    void snapshotNotUsedOnceDatasetChanges() throws Exception {
+
+        Processed loaded = loadFromDatabase();
+        PopulationSnapshot.save(databaseUrl, loaded);
+        assertNotNull(PopulationSnapshot.load(databaseUrl, PopulationFixtures.COUNTRY, PopulationFixtures.START_YEAR, HOUSEHOLDS, false));
+
+        // dataset altered and stamped afresh, as SimPathsModel.persistProcessed
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:file:" + databaseUrl, "sa", "");
+             Statement stat = conn.createStatement()) {
+            assertEquals(1, stat.executeUpdate("UPDATE PERSON SET DAG = DAG + 1 WHERE ID = (SELECT MAX(ID) FROM PERSON)"));
+        }
+        PopulationSnapshot.recordStamp(databaseUrl, loaded.getId());
+        assertNull(PopulationSnapshot.load(databaseUrl, PopulationFixtures.COUNTRY, PopulationFixtures.START_YEAR, HOUSEHOLDS, false));
+    }
+
+    @Test
+    void snapshotCheckedAgainstStampWithoutReadingEntityTables() throws Exception {
+
+        PopulationSnapshot.save(databaseUrl, loadFromDatabase());
+
+        // rows removed without recording a stamp are not read on load
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:file:" + databaseUrl, "sa", "");
+             Statement stat = conn.createStatement()) {
+            stat.execute("DELETE FROM PERSON");
+        }
+        Processed restored = PopulationSnapshot.load(databaseUrl, PopulationFixtures.COUNTRY, PopulationFixtures.START_YEAR, HOUSEHOLDS, false);
+        assertNotNull(restored);
+        assertFalse(restored.getPersons().isEmpty());
+    }
+
+    @Test
+    void stampRecordedForDatabaseWithoutStamps() throws Exception {
+
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:file:" + databaseUrl, "sa", "");
+             Statement stat = conn.createStatement()) {
+            stat.execute("DROP TABLE " + PopulationSnapshot.STAMP_TABLE);
+        }
+        PopulationSnapshot.save(databaseUrl, loadFromDatabase());
+        assertNotNull(PopulationSnapshot.load(databaseUrl, PopulationFixtures.COUNTRY, PopulationFixtures.START_YEAR, HOUSEHOLDS, false));
+    }
+
+    /**
+     * METHOD TO LOAD PROCESSED DATASET THROUGH HIBERNATE, AS SimPathsModel.getProcessed
+     */
+    private Processed loadFromDatabase() {
+
+        EntityManagerFactory factory = entityManagerFactory(Map.of());
+        EntityManager em = factory.createEntityManager();
+        String query = "SELECT processed FROM Processed processed LEFT JOIN FETCH processed.households households LEFT JOIN FETCH households.benefitUnits benefitUnits LEFT JOIN FETCH benefitUnits.members members WHERE processed.startYear = " +
+                PopulationFixtures.START_YEAR + " AND processed.popSize = " + HOUSEHOLDS + " AND processed.country = " +
+                PopulationFixtures.COUNTRY + " AND processed.noTargets = false ORDER BY households.key.id";
+        List<?> processedList = em.createQuery(query).getResultList();
+        assertEquals(1, processedList.size());
+        Processed processed = (Processed) processedList.get(0);
+        processed.resetDependents();
+        em.close();
+        factory.close();
+        return processed;
+    }
+
+    private EntityManagerFactory entityManagerFactory(Map<String, String> properties) {
+        Map<String, String> propertyMap = new HashMap<>(properties);
+        propertyMap.put("hibernate.connection.url", "jdbc:h2:file:" + databaseUrl);
+        return Persistence.createEntityManagerFactory("starting-population", propertyMap);
+    }
+
+    private static <T> List<T> sortedById(Collection<T> entities, java.util.function.ToLongFunction<T> id) {
+        List<T> sorted = new ArrayList<>(entities);
+        sorted.sort(Comparator.comparingLong(id));
+        return sorted;
+    }
+
+    /**
+     * compares every persisted field other than relationships, including the fields of embedded keys; floating point
+     * values are compared by bits
+     */
+    private static void assertPersistedFieldsEqual(Object expected, Object actual, String context) throws IllegalAccessException {
+
+        for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) ||
+                        field.isAnnotationPresent(Transient.class) || field.isAnnotationPresent(OneToMany.class) ||
+                        field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class) ||
+                        field.isAnnotationPresent(ManyToMany.class))
+                    continue;
+                field.setAccessible(true);
+                Object expectedValue = field.get(expected);
+                Object actualValue = field.get(actual);
+                String message = context + ", " + field.getName();
+                if (field.isAnnotationPresent(EmbeddedId.class) || field.isAnnotationPresent(Embedded.class)) {
+                    assertPersistedFieldsEqual(expectedValue, actualValue, message);
+                } else if (expectedValue instanceof Double || expectedValue instanceof Float) {
+                    assertNotNull(actualValue, message);
+                    assertEquals(Double.doubleToLongBits(((Number) expectedValue).doubleValue()),
+                            Double.doubleToLongBits(((Number) actualValue).doubleValue()), message);
+                } else {
+                    assertEquals(expectedValue, actualValue, message);
+                }
+            }
+        }
+    }
+
+    private static Object getField(Object entity, String name) throws IllegalAccessException {
+        try {
+            Field field = entity.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(entity);
+        } catch (NoSuchFieldException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package simpaths.model;
+
+import org.junit.jupiter.api.Test;
+import simpaths.model.enums.Indicator;
+import simpaths.model.enums.Dhe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgentStoreTest {
+
+    private static final int PAGE_SIZE = 8;
+    private static final int SLOTS = 3 * PAGE_SIZE + 5;
+    private static final int DOUBLES = 40;
+    private static final int INTS = 20;
+    private static final int LONGS = 10;
+
+
+    @Test
+    void newSlotsHoldNullAndValuesRoundTrip() {
+
+        AgentStore store = new AgentStore(PAGE_SIZE, DOUBLES, INTS, LONGS, Boolean.class, Indicator.class, Dhe.class);
+        List<Integer> slots = new ArrayList<>();
+        for (int ii=0; ii<SLOTS; ii++) {
+            int slot = store.allocate();
+            assertNulls(store, slot);
+            slots.add(slot);
+        }
+        assertEquals(4, store.getNumberPages());
+        for (int slot : slots) {
+            for (int cc=0; cc<DOUBLES; cc++) store.setDouble(slot, cc, (cc % 3 == 0) ? null : slot + cc / 10.0);
+            for (int cc=0; cc<INTS; cc++) store.setInt(slot, cc, (cc % 3 == 1) ? null : slot * 1000 + cc);
+            for (int cc=0; cc<LONGS; cc++) store.setLong(slot, cc, (cc % 3 == 2) ? null : -slot * 100000L - cc);
+            store.setBoolean(slot, 0, (slot % 3 == 0) ? null : slot % 2 == 0);
+            store.setEnum(slot, 1, (slot % 4 == 0) ? null : Indicator.values()[slot % 2]);
+            store.setEnum(slot, 2, Dhe.values()[slot % Dhe.values().length]);
+        }
+        for (int slot : slots) {
+            for (int cc=0; cc<DOUBLES; cc++) assertEquals((cc % 3 == 0) ? null : slot + cc / 10.0, store.getDouble(slot, cc));
+            for (int cc=0; cc<INTS; cc++) assertEquals((cc % 3 == 1) ? null : slot * 1000 + cc, store.getInt(slot, cc));
+            for (int cc=0; cc<LONGS; cc++) assertEquals((cc % 3 == 2) ? null : -slot * 100000L - cc, store.getLong(slot, cc));
+            assertEquals((slot % 3 == 0) ? null : slot % 2 == 0, store.getBoolean(slot, 0));
+            assertEquals((slot % 4 == 0) ? null : Indicator.values()[slot % 2], store.getEnum(slot, 1));
+            assertEquals(Dhe.values()[slot % Dhe.values().length], store.getEnum(slot, 2));
+        }
+
+        // values set back to null
+        int slot = slots.get(PAGE_SIZE + 1);
+        store.setDouble(slot, 1, null);
+        store.setInt(slot, 0, null);
+        store.setBoolean(slot, 0, null);
+        assertNull(store.getDouble(slot, 1));
+        assertNull(store.getInt(slot, 0));
+        assertNull(store.getBoolean(slot, 0));
+        assertEquals(slot + 0.2, store.getDouble(slot, 2));
+    }
+
+    @Test
+    void releasedSlotsReusedHoldingNull() {
+
+        AgentStore store = new AgentStore(PAGE_SIZE, DOUBLES, INTS, LONGS, Boolean.class, Indicator.class);
+        List<Integer> slots = new ArrayList<>();
+        for (int ii=0; ii<SLOTS; ii++) {
+            int slot = store.allocate();
+            for (int cc=0; cc<DOUBLES; cc++) store.setDouble(slot, cc, 1.5);
+            for (int cc=0; cc<INTS; cc++) store.setInt(slot, cc, 1000);
+            for (int cc=0; cc<LONGS; cc++) store.setLong(slot, cc, 1000L);
+            store.setBoolean(slot, 0, true);
+            store.setEnum(slot, 1, Indicator.True);
+            slots.add(slot);
+        }
+        assertEquals(SLOTS, store.getNumberSlotsAllocated());
+        assertEquals((long) SLOTS * (DOUBLES + INTS + LONGS), store.countBoxedValues());
+
+        store.release(slots.get(3));
+        store.release(slots.get(2 * PAGE_SIZE));
+        assertEquals(SLOTS - 2, store.getNumberSlotsAllocated());
+        assertEquals((long) (SLOTS - 2) * (DOUBLES + INTS + LONGS), store.countBoxedValues());
+        for (int ii=0; ii<2; ii++) {
+            int slot = store.allocate();
+            assertTrue(slot == slots.get(3) || slot == slots.get(2 * PAGE_SIZE));
+            assertNulls(store, slot);
+        }
+        assertEquals(SLOTS, store.allocate());
+        assertEquals(SLOTS + 1, store.getNumberSlotsAllocated());
+        assertEquals(4, store.getNumberPages());
+    }
+
+    @Test
+    void primitiveAccessorsConsistentWithBoxed() {
+
+        AgentStore store = new AgentStore(PAGE_SIZE, DOUBLES, INTS, LONGS, Boolean.class);
+        int slot = -1;
+        for (int ii=0; ii<PAGE_SIZE+2; ii++) slot = store.allocate();
+        for (int cc=0; cc<DOUBLES; cc++) {
+            assertFalse(store.isDoubleSet(slot, cc));
+            int column = cc;
+            int slotHere = slot;
+            assertThrows(NullPointerException.class, () -> store.getDoubleValue(slotHere, column));
+        }
+        store.setDoubleValue(slot, 3, -2.5);
+        store.setIntValue(slot, 4, 123456);
+        store.setLongValue(slot, 5, Long.MIN_VALUE + 7);
+        store.setDouble(slot, 6, 0.25);
+        assertTrue(store.isDoubleSet(slot, 3));
+        assertEquals(-2.5, store.getDouble(slot, 3));
+        assertEquals(0.25, store.getDoubleValue(slot, 6));
+        assertTrue(store.isIntSet(slot, 4));
+        assertEquals(123456, store.getInt(slot, 4));
+        assertEquals(123456, store.getIntValue(slot, 4));
+        assertFalse(store.isIntSet(slot, 5));
+        assertTrue(store.isLongSet(slot, 5));
+        assertEquals(Long.MIN_VALUE + 7, store.getLong(slot, 5));
+        assertEquals(Long.MIN_VALUE + 7, store.getLongValue(slot, 5));
+        assertFalse(store.isLongSet(slot, 4));
+
+        // copies preserve null
+        store.copyDouble(slot, 3, 7);
+        assertEquals(-2.5, store.getDoubleValue(slot, 7));
+        store.copyDouble(slot, 8, 7);
+        assertFalse(store.isDoubleSet(slot, 7));
+        assertNull(store.getDouble(slot, 7));
+    }
+
+    @Test
+    void releasedSlotNotAccessible() {
+
+        AgentStore store = new AgentStore(PAGE_SIZE, DOUBLES, INTS, LONGS, Boolean.class);
+        store.allocate();
+        int released = -1;      // slot held by an agent after its slot is released (see Person.releaseState)
+        assertThrows(IllegalStateException.class, () -> store.getDouble(released, 0));
+        assertThrows(IllegalStateException.class, () -> store.getDoubleValue(released, 0));
+        assertThrows(IllegalStateException.class, () -> store.setInt(released, 0, 1));
+        assertThrows(IllegalStateException.class, () -> store.getLongValue(released, 0));
+        assertThrows(IllegalStateException.class, () -> store.getBoolean(released, 0));
+        assertThrows(IllegalStateException.class, () -> store.release(released));
+    }
+
+    @Test
+    void unsupportedByteColumnsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AgentStore(PAGE_SIZE, 0, 0, 0, Integer.class));
+    }
+
+    private static void assertNulls(AgentStore store, int slot) {
+        for (int cc=0; cc<store.getNumberDoubleColumns(); cc++) assertNull(store.getDouble(slot, cc));
+        for (int cc=0; cc<store.getNumberIntColumns(); cc++) assertNull(store.getInt(slot, cc));
+        for (int cc=0; cc<store.getNumberLongColumns(); cc++) assertNull(store.getLong(slot, cc));
+        assertNull(store.getBoolean(slot, 0));
+        assertNull(store.getEnum(slot, 1));
+        assertEquals(0, store.getCode(slot, 1));
+    }
+}
@@ -0,0 +1,117 @@
+package simpaths.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlignmentPopulationTest {
+
+    private static final int AGENTS = 5000;         // spans several chunks
+    private static final int ITERATIONS = 20;
+    private static final long SEED = 1307L;
+
+    @Test
+    void totalEqualsFullRecomputation() {
+
+        List<Agent> agents = agents();
+        AlignmentPopulation<Agent> population = new AlignmentPopulation<>(agents, Agent::isEligible, Agent::getValue, false);
+        assertEquals(fullTotal(agents), population.getTotal(), 1.0E-9);
+
+        population.applyToIneligible(agent -> agent.value = 0.0);
+        assertEquals(fullTotal(agents), population.getTotal(), 1.0E-9);
+        for (int ii=0; ii<ITERATIONS; ii++) {
+
+            // behaviour changes the outcomes of some agents only
+            double adjustment = 0.1 * ii;
+            population.apply(agent -> agent.respond(adjustment));
+            assertEquals(fullTotal(agents), population.getTotal(), 1.0E-9, "iteration " + ii);
+            assertEquals(fullEligibleTotal(agents), population.getEligibleTotal(), 1.0E-9, "iteration " + ii);
+        }
+    }
+
+    @Test
+    void countEqualsFullRecomputation() {
+
+        List<Agent> agents = agents();
+        AlignmentPopulation<Agent> population = AlignmentPopulation.counting(agents, Agent::isEligible, agent -> agent.value > 1.0, false);
+        for (int ii=0; ii<ITERATIONS; ii++) {
+
+            double adjustment = 0.1 * ii;
+            if (ii % 2 == 0) {
+                population.apply(agent -> agent.respond(adjustment));
+            } else {
+                // outcomes evaluated after behaviour of all agents, as for union matching
+                population.forEachEligible(agent -> agent.respond(adjustment));
+                population.refresh();
+            }
+            long count = agents.stream().filter(agent -> agent.value > 1.0).count();
+            assertEquals(count, population.getCount(), "iteration " + ii);
+        }
+        assertEquals(agents.stream().filter(Agent::isEligible).count(), population.getNumberEligible());
+    }
+
+    @Test
+    void parallelTotalsIdenticalToSequential() {
+
+        List<Agent> sequentialAgents = agents();
+        List<Agent> parallelAgents = agents();
+        AlignmentPopulation<Agent> sequential = new AlignmentPopulation<>(sequentialAgents, Agent::isEligible, Agent::getValue, false);
+        AlignmentPopulation<Agent> parallel = new AlignmentPopulation<>(parallelAgents, Agent::isEligible, Agent::getValue, true);
+        for (int ii=0; ii<ITERATIONS; ii++) {
+
+            // totals are compared bit for bit, as alignment searches terminate on comparisons of totals
+            double adjustment = 0.1 * ii;
+            sequential.apply(agent -> agent.respond(adjustment));
+            parallel.apply(agent -> agent.respond(adjustment));
+            assertEquals(Double.doubleToLongBits(sequential.getTotal()), Double.doubleToLongBits(parallel.getTotal()), "iteration " + ii);
+        }
+    }
+
+    private static List<Agent> agents() {
+        Random random = new Random(SEED);
+        List<Agent> agents = new ArrayList<>();
+        for (int ii=0; ii<AGENTS; ii++) {
+            agents.add(new Agent(random.nextDouble() < 0.7, 2.0 * random.nextDouble(), random.nextDouble()));
+        }
+        return agents;
+    }
+
+    private static double fullTotal(List<Agent> agents) {
+        return agents.stream().mapToDouble(Agent::getValue).sum();
+    }
+
+    private static double fullEligibleTotal(List<Agent> agents) {
+        return agents.stream().filter(Agent::isEligible).mapToDouble(Agent::getValue).sum();
+    }
+
+    private static class Agent {
+
+        final boolean eligible;
+        final double threshold;
+        double value;
+
+        Agent(boolean eligible, double value, double threshold) {
+            this.eligible = eligible;
+            this.value = value;
+            this.threshold = threshold;
+        }
+
+        // outcome changes only where the adjustment passes the threshold of the agent
+        void respond(double adjustment) {
+            if (adjustment > threshold)
+                value = threshold + adjustment;
+        }
+
+        boolean isEligible() {
+            return eligible;
+        }
+
+        double getValue() {
+            return value;
+        }
+    }
+}
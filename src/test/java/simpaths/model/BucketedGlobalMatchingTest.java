@@ -0,0 +1,99 @@
+package simpaths.model;
+
+import microsim.matching.MatchingScoreClosure;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketedGlobalMatchingTest {
+
+    private static final int TRIALS = 30;
+    private static final long SEED = 1L;
+
+    @Test
+    void matchesEqualGreedyMatchingOfAllPairs() {
+
+        Random random = new Random(SEED);
+        for (int trial=0; trial<TRIALS; trial++) {
+
+            // every third trial has bounds that exclude no pairs; odd trials spread the first collection widely
+            int size1 = 1 + random.nextInt(400);
+            int size2 = 1 + random.nextInt(400);
+            double bound1 = (trial % 3 == 0) ? 999.0 : 0.5 + 10.0 * random.nextDouble();
+            double bound2 = (trial % 3 == 0) ? 999.0 : 0.5 + 10.0 * random.nextDouble();
+            double spread1 = (trial % 2 == 0) ? 15.0 : 1500.0;
+            List<Point> set1 = new ArrayList<>();
+            List<Point> set2 = new ArrayList<>();
+            for (int ii=0; ii<size1; ii++) {
+                set1.add(new Point(ii, Math.round(random.nextGaussian() * spread1), 5.0 * random.nextGaussian()));
+            }
+            for (int ii=0; ii<size2; ii++) {
+                set2.add(new Point(ii, Math.round(random.nextGaussian() * 15.0), 5.0 * random.nextGaussian()));
+            }
+
+            // squared distance within bounds, with some pairs excluded for reasons other than distance
+            MatchingScoreClosure<Point> scoreClosure = (p1, p2) -> {
+                double dx = p1.x - p2.x;
+                double dy = p1.y - p2.y;
+                if (Math.abs(dx) < bound1 && Math.abs(dy) < bound2 && (p1.id + p2.id) % 17 != 0)
+                    return dx * dx + dy * dy;
+                return Double.POSITIVE_INFINITY;
+            };
+
+            List<String> matches = new ArrayList<>();
+            new BucketedGlobalMatching<Point>(bound1, bound2, p -> p.x, p -> p.y, p -> p.x, p -> p.y)
+                    .matching(set1, set2, scoreClosure, (p1, p2) -> matches.add(p1.id + "-" + p2.id));
+
+            assertEquals(bruteForceMatches(set1, set2, scoreClosure), matches,
+                    "trial " + trial + " (" + size1 + " x " + size2 + ")");
+        }
+    }
+
+    /**
+     * greedy matching over all pairs with finite scores, ordered by score and then by position in each collection
+     */
+    private static List<String> bruteForceMatches(List<Point> set1, List<Point> set2, MatchingScoreClosure<Point> scoreClosure) {
+
+        List<double[]> pairs = new ArrayList<>();
+        for (int ii=0; ii<set1.size(); ii++) {
+            for (int jj=0; jj<set2.size(); jj++) {
+                double score = scoreClosure.getValue(set1.get(ii), set2.get(jj));
+                if (!Double.isInfinite(score))
+                    pairs.add(new double[]{score, ii, jj});
+            }
+        }
+        pairs.sort(Comparator.<double[]>comparingDouble(pair -> pair[0])
+                .thenComparingDouble(pair -> pair[1])
+                .thenComparingDouble(pair -> pair[2]));
+        boolean[] matched1 = new boolean[set1.size()];
+        boolean[] matched2 = new boolean[set2.size()];
+        List<String> matches = new ArrayList<>();
+        for (double[] pair : pairs) {
+            int ii = (int) pair[1];
+            int jj = (int) pair[2];
+            if (!matched1[ii] && !matched2[jj]) {
+                matched1[ii] = true;
+                matched2[jj] = true;
+                matches.add(set1.get(ii).id + "-" + set2.get(jj).id);
+            }
+        }
+        return matches;
+    }
+
+    private static class Point {
+
+        final int id;
+        final double x, y;
+
+        Point(int id, double x, double y) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package simpaths.model;
+
+import microsim.data.MultiKeyCoefficientMap;
+import microsim.statistics.IDoubleSource;
+import org.apache.commons.collections4.keyvalue.MultiKey;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import simpaths.data.CompiledMultinomialRegression;
+import simpaths.data.CompiledRegression;
+import simpaths.data.Parameters;
+import simpaths.model.enums.Occupancy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledRegressionTest {
+
+    private static final int HOUSEHOLDS = 400;
+    private static final long SEED = 1103L;
+    private static final double TOLERANCE = 1.0E-10;
+
+    private static PopulationFixtures fixtures;
+
+    private final Set<Object> checked = Collections.newSetFromMap(new IdentityHashMap<>());
+
+
+    @BeforeAll
+    static void buildPopulation() {
+        fixtures = new PopulationFixtures(HOUSEHOLDS, SEED);
+    }
+
+    @Test
+    void compiledRegressionsAgreeWithJasMine() {
+
+        // regressions evaluated for persons
+        Collection<Person> persons = fixtures.persons;
+        assertScores(Parameters.getCompiledHealthH2b(), persons, pp -> Parameters.getRegHealthH2b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledReceiveCareS1a(), persons, pp -> Parameters.getRegReceiveCareS1a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledCareHoursS1b(), persons, pp -> Parameters.getRegCareHoursS1b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledNeedCareS2a(), persons, pp -> Parameters.getRegNeedCareS2a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledReceiveCareS2b(), persons, pp -> Parameters.getRegReceiveCareS2b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledReceiveCarePartnerS2d(), persons, pp -> Parameters.getRegReceiveCarePartnerS2d().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledPartnerCareHoursS2g(), persons, pp -> Parameters.getRegPartnerCareHoursS2g().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledDaughterCareHoursS2h(), persons, pp -> Parameters.getRegDaughterCareHoursS2h().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledSonCareHoursS2i(), persons, pp -> Parameters.getRegSonCareHoursS2i().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledOtherCareHoursS2j(), persons, pp -> Parameters.getRegOtherCareHoursS2j().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledFormalCareHoursS2k(), persons, pp -> Parameters.getRegFormalCareHoursS2k().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledCarePartnerProvCareToOtherS3a(), persons, pp -> Parameters.getRegCarePartnerProvCareToOtherS3a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledNoCarePartnerProvCareToOtherS3b(), persons, pp -> Parameters.getRegNoCarePartnerProvCareToOtherS3b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledNoPartnerProvCareToOtherS3c(), persons, pp -> Parameters.getRegNoPartnerProvCareToOtherS3c().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledCareHoursProvS3e(), persons, pp -> Parameters.getRegCareHoursProvS3e().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledUnemploymentMaleGraduateU1a(), persons, pp -> Parameters.getRegUnemploymentMaleGraduateU1a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledUnemploymentMaleNonGraduateU1b(), persons, pp -> Parameters.getRegUnemploymentMaleNonGraduateU1b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledUnemploymentFemaleGraduateU1c(), persons, pp -> Parameters.getRegUnemploymentFemaleGraduateU1c().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledUnemploymentFemaleNonGraduateU1d(), persons, pp -> Parameters.getRegUnemploymentFemaleNonGraduateU1d().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledHealthHM1Level(), persons, pp -> Parameters.getRegHealthHM1Level().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledHealthHM2LevelMales(), persons, pp -> Parameters.getRegHealthHM2LevelMales().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledHealthHM2LevelFemales(), persons, pp -> Parameters.getRegHealthHM2LevelFemales().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledHealthHM1Case(), persons, pp -> Parameters.getRegHealthHM1Case().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledHealthHM2CaseMales(), persons, pp -> Parameters.getRegHealthHM2CaseMales().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledHealthHM2CaseFemales(), persons, pp -> Parameters.getRegHealthHM2CaseFemales().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledEducationE1a(), persons, pp -> Parameters.getRegEducationE1a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledEducationE1b(), persons, pp -> Parameters.getRegEducationE1b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledPartnershipU1a(), persons, pp -> Parameters.getRegPartnershipU1a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledPartnershipU1b(), persons, pp -> Parameters.getRegPartnershipU1b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledPartnershipU2b(), persons, pp -> Parameters.getRegPartnershipU2b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledFertilityF1a(), persons, pp -> Parameters.getRegFertilityF1a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledFertilityF1b(), persons, pp -> Parameters.getRegFertilityF1b().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledWagesMalesE(), persons, pp -> Parameters.getRegWagesMalesE().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledWagesMalesNE(), persons, pp -> Parameters.getRegWagesMalesNE().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledWagesFemalesE(), persons, pp -> Parameters.getRegWagesFemalesE().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledWagesFemalesNE(), persons, pp -> Parameters.getRegWagesFemalesNE().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledLeaveHomeP1a(), persons, pp -> Parameters.getRegLeaveHomeP1a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledRetirementR1a(), persons, pp -> Parameters.getRegRetirementR1a().getScore(pp, Person.DoublesVariables.class));
+        assertScores(Parameters.getCompiledRetirementR1b(), persons, pp -> Parameters.getRegRetirementR1b().getScore(pp, Person.DoublesVariables.class));
+
+        assertProbabilities(Parameters.getCompiledHealthH1a(), pp -> Parameters.getRegHealthH1a().getProbabilities(pp, Person.DoublesVariables.class));
+        assertProbabilities(Parameters.getCompiledHealthH1b(), pp -> Parameters.getRegHealthH1b().getProbabilities(pp, Person.DoublesVariables.class));
+        assertProbabilities(Parameters.getCompiledEducationE2a(), pp -> Parameters.getRegEducationE2a().getProbabilities(pp, Person.DoublesVariables.class));
+        assertProbabilities(Parameters.getCompiledSocialCareMarketS2c(), pp -> Parameters.getRegSocialCareMarketS2c().getProbabilites(pp, Person.DoublesVariables.class));
+        assertProbabilities(Parameters.getCompiledPartnerSupplementaryCareS2e(), pp -> Parameters.getRegPartnerSupplementaryCareS2e().getProbabilites(pp, Person.DoublesVariables.class));
+        assertProbabilities(Parameters.getCompiledNotPartnerInformalCareS2f(), pp -> Parameters.getRegNotPartnerInformalCareS2f().getProbabilites(pp, Person.DoublesVariables.class));
+        assertProbabilities(Parameters.getCompiledInformalCareToS3d(), pp -> Parameters.getRegInformalCareToS3d().getProbabilites(pp, Person.DoublesVariables.class));
+
+        // labour supply utility regressions, each evaluated for the benefit units to which it applies
+        List<BenefitUnit> couples = benefitUnits(Occupancy.Couple);
+        List<BenefitUnit> singleMales = benefitUnits(Occupancy.Single_Male);
+        List<BenefitUnit> singleFemales = benefitUnits(Occupancy.Single_Female);
+        assertScores(Parameters.getCompiledLabourSupplyUtilityCouples(), couples, bu -> Parameters.getRegLabourSupplyUtilityCouples().getScore(bu, BenefitUnit.Regressors.class));
+        assertScores(Parameters.getCompiledLabourSupplyUtilityMalesWithDependent(), couples, bu -> Parameters.getRegLabourSupplyUtilityMalesWithDependent().getScore(bu, BenefitUnit.Regressors.class));
+        assertScores(Parameters.getCompiledLabourSupplyUtilityFemalesWithDependent(), couples, bu -> Parameters.getRegLabourSupplyUtilityFemalesWithDependent().getScore(bu, BenefitUnit.Regressors.class));
+        assertScores(Parameters.getCompiledLabourSupplyUtilityMales(), singleMales, bu -> Parameters.getRegLabourSupplyUtilityMales().getScore(bu, BenefitUnit.Regressors.class));
+        assertScores(Parameters.getCompiledLabourSupplyUtilityACMales(), singleMales, bu -> Parameters.getRegLabourSupplyUtilityACMales().getScore(bu, BenefitUnit.Regressors.class));
+        assertScores(Parameters.getCompiledLabourSupplyUtilityFemales(), singleFemales, bu -> Parameters.getRegLabourSupplyUtilityFemales().getScore(bu, BenefitUnit.Regressors.class));
+        assertScores(Parameters.getCompiledLabourSupplyUtilityACFemales(), singleFemales, bu -> Parameters.getRegLabourSupplyUtilityACFemales().getScore(bu, BenefitUnit.Regressors.class));
+
+        // every compiled regression is checked
+        for (CompiledRegression<?> compiled : Parameters.getCompiledRegressions()) {
+            assertTrue(checked.contains(compiled), "compiled regression " + compiled.getName() + " not checked");
+        }
+        for (CompiledMultinomialRegression<?,?> compiled : Parameters.getCompiledMultinomialRegressions()) {
+            assertTrue(checked.contains(compiled), "compiled regression " + compiled.getName() + " not checked");
+        }
+    }
+
+    @Test
+    void coefficientsReReadWhenModified() {
+
+        CompiledRegression<Person.DoublesVariables> compiled = Parameters.getCompiledHealthHM1Level();
+        MultiKeyCoefficientMap map = compiled.getCoefficientMap();
+        String regressor = ((MultiKey<?>) map.keySet().iterator().next()).getKey(0).toString();
+        double original = coefficient(map, regressor);
+        Person person = fixtures.persons.iterator().next();
+        double before = compiled.getScore(person);
+        double regressorValue = person.getDoubleValue(Person.DoublesVariables.valueOf(regressor));
+        try {
+            setCoefficient(map, regressor, original, 1.0);
+            assertEquals(before, compiled.getScore(person), "coefficients re-read before notification");
+            Parameters.coefficientsModified(map);
+            assertEquals(before + regressorValue, compiled.getScore(person), TOLERANCE * Math.max(1.0, Math.abs(before)));
+            assertEquals(Parameters.getRegHealthHM1Level().getScore(person, Person.DoublesVariables.class), compiled.getScore(person),
+                    TOLERANCE * Math.max(1.0, Math.abs(before)));
+        } finally {
+            setCoefficient(map, regressor, original, 0.0);
+            Parameters.coefficientsModified(map);
+        }
+        assertEquals(before, compiled.getScore(person));
+    }
+
+    private <S extends IDoubleSource> void assertScores(CompiledRegression<?> compiled, Collection<S> sources, ToDoubleFunction<S> jasMine) {
+
+        assertNotNull(compiled);
+        checked.add(compiled);
+        int evaluated = 0;
+        for (S source : sources) {
+            double expected;
+            try {
+                expected = jasMine.applyAsDouble(source);
+            } catch (RuntimeException e) {
+                // regressor not defined for source, which must also fail the compiled evaluation
+                assertThrows(RuntimeException.class, () -> compiled.getScore(source), compiled.getName());
+                continue;
+            }
+            assertAgrees(expected, compiled.getScore(source), compiled.getName());
+            evaluated++;
+        }
+        assertTrue(evaluated > 0, "no evaluations of " + compiled.getName());
+    }
+
+    private void assertProbabilities(CompiledMultinomialRegression<?,?> compiled, Function<Person, Map<?, Double>> jasMine) {
+
+        assertNotNull(compiled);
+        checked.add(compiled);
+        int evaluated = 0;
+        for (Person person : fixtures.persons) {
+            Map<?, Double> expected;
+            try {
+                expected = jasMine.apply(person);
+            } catch (RuntimeException e) {
+                assertThrows(RuntimeException.class, () -> compiled.getProbabilities(person), compiled.getName());
+                continue;
+            }
+            Map<?, Double> actual = compiled.getProbabilities(person);
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()),
+                    "order of outcomes of " + compiled.getName());
+            for (Object outcome : expected.keySet()) {
+                assertAgrees(expected.get(outcome), actual.get(outcome), compiled.getName() + " " + outcome);
+            }
+            evaluated++;
+        }
+        assertTrue(evaluated > 0, "no evaluations of " + compiled.getName());
+    }
+
+    private static void assertAgrees(double expected, double actual, String message) {
+        assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)), message);
+    }
+
+    private static List<BenefitUnit> benefitUnits(Occupancy occupancy) {
+        return fixtures.benefitUnits.stream()
+                .filter(bu -> occupancy.equals(bu.getOccupancy()))
+                .collect(Collectors.toList());
+    }
+
+    private static double coefficient(MultiKeyCoefficientMap map, String regressor) {
+        Object value = map.getValue(regressor);
+        return ((Number) ((value instanceof Object[] values) ? values[0] : value)).doubleValue();
+    }
+
+    /**
+     * adjusts coefficient in place, as done by ActivityAlignment
+     */
+    private static void setCoefficient(MultiKeyCoefficientMap map, String regressor, double original, double increment) {
+        Object value = map.getValue(regressor);
+        if (value instanceof Object[] values) {
+            values[0] = original + increment;
+            map.replaceValue(regressor, values);
+        } else {
+            map.replaceValue(regressor, original + increment);
+        }
+    }
+}
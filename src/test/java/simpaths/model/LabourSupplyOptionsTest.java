@@ -0,0 +1,91 @@
+package simpaths.model;
+
+import org.apache.commons.collections4.keyvalue.MultiKey;
+import org.apache.commons.collections4.map.LinkedMap;
+import org.apache.commons.collections4.map.MultiKeyMap;
+import org.junit.jupiter.api.Test;
+import simpaths.data.ManagerRegressions;
+import simpaths.model.enums.Labour;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabourSupplyOptionsTest {
+
+    private static final int SAMPLES = 200000;
+    private static final long SEED = 15L;
+
+
+    @Test
+    void samplesAsMultiEventOverMultiKeyMaps() {
+
+        Random random = new Random(SEED);
+        LabourSupplyOptions options = new LabourSupplyOptions();
+        int nonFirstSelections = 0;
+        for (int sample=0; sample<SAMPLES; sample++) {
+
+            // options of a couple, or of a single adult of either sex, added in a random order
+            List<MultiKey<Labour>> keys = new ArrayList<>();
+            int type = random.nextInt(3);
+            for (Labour labourMale : LabourSupplyOptions.LABOUR) {
+                for (Labour labourFemale : LabourSupplyOptions.LABOUR) {
+                    if ((type == 1 && labourFemale != Labour.ZERO) || (type == 2 && labourMale != Labour.ZERO))
+                        continue;
+                    if (type > 0 || random.nextDouble() < 0.8)
+                        keys.add(new MultiKey<>(labourMale, labourFemale));
+                }
+            }
+            if (keys.isEmpty())
+                keys.add(new MultiKey<>(Labour.ZERO, Labour.ZERO));
+            Collections.shuffle(keys, random);
+
+            // scores on scales that range from near ties to probabilities that underflow
+            double scale = Math.pow(10.0, -3.0 + 6.0 * random.nextDouble());
+            double offset = 1000.0 * random.nextGaussian();
+            MultiKeyMap<Labour, Double> scores = MultiKeyMap.multiKeyMap(new LinkedMap<>());
+            options.clear();
+            for (MultiKey<Labour> key : keys) {
+                double score = offset + scale * random.nextGaussian();
+                scores.put(key, score);
+                options.add(key.getKey(0), key.getKey(1));
+                options.scores[key.getKey(1).ordinal() * LabourSupplyOptions.N + key.getKey(0).ordinal()] = score;
+            }
+
+            double rand = random.nextDouble();
+            MultiKey<? extends Labour> expected = ManagerRegressions.multiEvent(probabilities(scores), rand);
+            int slot = options.sample(rand);
+            assertEquals(expected.getKey(0), LabourSupplyOptions.male(slot), "sample " + sample);
+            assertEquals(expected.getKey(1), LabourSupplyOptions.female(slot), "sample " + sample);
+            if (!expected.equals(keys.get(0)))
+                nonFirstSelections++;
+        }
+        assertTrue(nonFirstSelections > SAMPLES / 2, "selections insufficiently varied");
+    }
+
+    /**
+     * log-sum-exp transformation of scores to probabilities, as applied to the maps of options replaced by LabourSupplyOptions
+     */
+    private static MultiKeyMap<Labour, Double> probabilities(MultiKeyMap<Labour, Double> scores) {
+
+        double maxScore = Double.NEGATIVE_INFINITY;
+        for (double val : scores.values()) {
+            if (val > maxScore)
+                maxScore = val;
+        }
+        double sumExp = 0.0;
+        for (double val : scores.values()) {
+            sumExp += Math.exp(val - maxScore);
+        }
+        double logSumExp = maxScore + Math.log(sumExp);
+
+        MultiKeyMap<Labour, Double> probabilities = MultiKeyMap.multiKeyMap(new LinkedMap<>());
+        for (MultiKey<? extends Labour> key : scores.keySet()) {
+            probabilities.put(key, Math.exp(scores.get(key) - logSumExp));
+        }
+        return probabilities;
+    }
+}
@@ -0,0 +1,156 @@
+package simpaths.model;
+
+import microsim.event.EventListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import simpaths.data.Parameters;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCollectionProcessTest {
+
+    private static final int HOUSEHOLDS = 1500;     // persons and benefit units each span several chunks
+    private static final long SEED = 606L;
+    private static final int THREADS = 4;
+
+    private boolean flagUnemployment;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void configure() {
+        flagUnemployment = Parameters.flagUnemployment;
+        Parameters.flagUnemployment = true;
+        pool = new ForkJoinPool(THREADS);
+    }
+
+    @AfterEach
+    void restore() {
+        Parameters.flagUnemployment = flagUnemployment;
+        pool.shutdown();
+    }
+
+    @Test
+    void parallelProcessesIdenticalToSequential() throws IllegalAccessException {
+
+        PopulationFixtures sequential = new PopulationFixtures(HOUSEHOLDS, SEED);
+        PopulationFixtures parallel = new PopulationFixtures(HOUSEHOLDS, SEED);
+        assertStatesIdentical(sequential.persons, parallel.persons, "fixtures");
+        assertStatesIdentical(sequential.benefitUnits, parallel.benefitUnits, "fixtures");
+
+        // processes executed in parallel, in the order scheduled by SimPathsModel
+        Enum<?>[] processes = {
+                Person.Processes.Health,
+                Person.Processes.HealthMentalHM1,
+                Person.Processes.Unemployment,
+                BenefitUnit.Processes.ReceivesBenefits,
+                Person.Processes.ProjectEquivConsumption,
+                Person.Processes.HealthMentalHM1,
+                Person.Processes.HealthMentalHM2,
+                Person.Processes.HealthMentalHM1HM2Cases,
+        };
+        for (Enum<?> process : processes) {
+
+            boolean forPersons = process instanceof Person.Processes;
+            Collection<? extends EventListener> sequentialAgents = forPersons ? sequential.persons : sequential.benefitUnits;
+            Collection<? extends EventListener> parallelAgents = forPersons ? parallel.persons : parallel.benefitUnits;
+            for (EventListener agent : sequentialAgents) {
+                agent.onEvent(process);
+            }
+            new ParallelCollectionProcess(parallelAgents, process, pool).onEvent(ParallelCollectionProcess.Processes.Execute);
+
+            assertStatesIdentical(sequential.persons, parallel.persons, process.name());
+            assertStatesIdentical(sequential.benefitUnits, parallel.benefitUnits, process.name());
+        }
+
+        // check that the processes were exercised
+        long lowWageOffers = sequential.persons.stream().filter(Person::getLowWageOffer).count();
+        long benefitRecipients = sequential.persons.stream().filter(Person::isReceivesBenefitsFlag).count();
+        assertTrue(lowWageOffers > 0, "no low wage offers simulated");
+        assertTrue(benefitRecipients > 0, "no benefit recipients simulated");
+    }
+
+    /**
+     * compares, agent by agent, every field of primitive, boxed, enum or String type, the state of innovations, and
+     * the state held for the agent in an AgentStore; floating point values are compared by bits
+     */
+    private static void assertStatesIdentical(Collection<?> expected, Collection<?> actual, String stage) throws IllegalAccessException {
+
+        assertEquals(expected.size(), actual.size());
+        Iterator<?> actualIterator = actual.iterator();
+        int ii = 0;
+        for (Object expectedAgent : expected) {
+            assertFieldsIdentical(expectedAgent, actualIterator.next(), stage + ", agent " + ii);
+            ii++;
+        }
+    }
+
+    private static void assertFieldsIdentical(Object expected, Object actual, String context) throws IllegalAccessException {
+
+        if (expected == null || actual == null) {
+            assertSame(expected, actual, context);
+            return;
+        }
+        for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+
+                if (Modifier.isStatic(field.getModifiers()))
+                    continue;
+                Class<?> fieldType = field.getType();
+                boolean isValue = fieldType.isPrimitive() || fieldType.isEnum() || fieldType == String.class ||
+                        Number.class.isAssignableFrom(fieldType) || fieldType == Boolean.class || fieldType == Character.class;
+                if (!isValue && fieldType != Innovations.class && fieldType != AgentStore.class)
+                    continue;
+                field.setAccessible(true);
+                Object expectedValue = field.get(expected);
+                Object actualValue = field.get(actual);
+                String message = context + ", " + type.getSimpleName() + "." + field.getName();
+                if (fieldType == Innovations.class) {
+                    assertFieldsIdentical(expectedValue, actualValue, message);
+                } else if (fieldType == AgentStore.class) {
+                    assertStoredStateIdentical((AgentStore) expectedValue, slot(expected), (AgentStore) actualValue, slot(actual), message);
+                } else if (expectedValue instanceof Double || expectedValue instanceof Float) {
+                    assertNotNull(actualValue, message);
+                    assertEquals(Double.doubleToLongBits(((Number) expectedValue).doubleValue()),
+                            Double.doubleToLongBits(((Number) actualValue).doubleValue()), message);
+                } else {
+                    assertEquals(expectedValue, actualValue, message);
+                }
+            }
+        }
+    }
+
+    private static void assertStoredStateIdentical(AgentStore expected, int expectedSlot, AgentStore actual, int actualSlot,
+                                                   String context) {
+
+        for (int cc=0; cc<expected.getNumberDoubleColumns(); cc++) {
+            Double expectedValue = expected.getDouble(expectedSlot, cc);
+            Double actualValue = actual.getDouble(actualSlot, cc);
+            assertEquals(expectedValue == null, actualValue == null, context + ", double column " + cc);
+            if (expectedValue != null)
+                assertEquals(Double.doubleToLongBits(expectedValue), Double.doubleToLongBits(actualValue), context + ", double column " + cc);
+        }
+        for (int cc=0; cc<expected.getNumberIntColumns(); cc++)
+            assertEquals(expected.getInt(expectedSlot, cc), actual.getInt(actualSlot, cc), context + ", int column " + cc);
+        for (int cc=0; cc<expected.getNumberLongColumns(); cc++)
+            assertEquals(expected.getLong(expectedSlot, cc), actual.getLong(actualSlot, cc), context + ", long column " + cc);
+        for (int cc=0; cc<expected.getNumberByteColumns(); cc++)
+            assertEquals(expected.getCode(expectedSlot, cc), actual.getCode(actualSlot, cc), context + ", byte column " + cc);
+    }
+
+    private static int slot(Object agent) throws IllegalAccessException {
+        try {
+            Field field = agent.getClass().getDeclaredField("slot");
+            field.setAccessible(true);
+            return field.getInt(agent);
+        } catch (NoSuchFieldException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
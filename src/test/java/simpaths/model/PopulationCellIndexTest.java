@@ -0,0 +1,183 @@
+package simpaths.model;
+
+import org.junit.jupiter.api.Test;
+import simpaths.data.Parameters;
+import simpaths.model.enums.Gender;
+import simpaths.model.enums.Region;
+import simpaths.model.enums.SampleExit;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopulationCellIndexTest {
+
+    private static final int HOUSEHOLDS = 400;
+    private static final long SEED = 606L;
+    private static final int MAX_AGE = 60;      // below the age of the oldest generated persons, so that ages are capped
+
+
+    @Test
+    void cellMembershipEqualsBruteForceFilter() {
+
+        PopulationFixtures population = new PopulationFixtures(HOUSEHOLDS, SEED);
+        List<Person> persons = new ArrayList<>(population.persons);
+        PopulationCellIndex index = new PopulationCellIndex(MAX_AGE);
+        for (Person person : persons) {
+            index.update(person);
+        }
+        assertCellsEqualBruteForce(index, persons);
+
+        RunScope scope = new RunScope("cells", System.getProperty("java.io.tmpdir"), SEED);
+        scope.setManagers(population.model, null);
+        RunScope previous = RunScope.bind(scope);
+        try {
+            Random random = new Random(SEED);
+
+            // births, to mothers of partnered benefit units, with ids following those of the generated population
+            long maxId = 0L;
+            for (Person person : persons) {
+                maxId = Math.max(maxId, person.getId());
+            }
+            Person.setPersonIdCounter(maxId + 1);
+            int births = 0;
+            for (Person mother : new ArrayList<>(persons)) {
+                if (!Gender.Female.equals(mother.getDgn()) || mother.getPartner() == null || births >= 40)
+                    continue;
+                Person child = new Person(random.nextBoolean() ? Gender.Male : Gender.Female, mother);
+                child.setDag(0);
+                mother.getBenefitUnit().getMembers().add(child);
+                persons.add(child);
+                index.update(child);
+                births++;
+            }
+            assertTrue(births > 0);
+            assertCellsEqualBruteForce(index, persons);
+
+            // deaths and emigration, flagged by exit from the sample
+            for (int ii=0; ii<persons.size(); ii+=7) {
+                Person person = persons.get(ii);
+                person.setSampleExit((ii % 2 == 0) ? SampleExit.Death : SampleExit.EmigrationAlignment);
+                index.update(person);
+            }
+            assertCellsEqualBruteForce(index, persons);
+
+            // deaths, removed from the simulated population
+            for (int ii=3; ii<persons.size(); ii+=11) {
+                Person person = persons.get(ii);
+                if (SampleExit.NotYet.equals(person.getSampleExit())) {
+                    person.setSampleExit(SampleExit.Death);
+                    index.remove(person);
+                }
+            }
+            assertCellsEqualBruteForce(index, persons);
+
+            // domestic migration of benefit units between regions
+            List<Region> countryRegions = new ArrayList<>();
+            for (BenefitUnit benefitUnit : population.benefitUnits) {
+                if (!countryRegions.contains(benefitUnit.getRegion()))
+                    countryRegions.add(benefitUnit.getRegion());
+            }
+            assertTrue(countryRegions.size() > 1);
+            int bu = 0;
+            for (BenefitUnit benefitUnit : population.benefitUnits) {
+                if (bu++ % 5 != 0)
+                    continue;
+                benefitUnit.setRegion(countryRegions.get(random.nextInt(countryRegions.size())));
+                for (Person member : benefitUnit.getMembers()) {
+                    index.update(member);
+                }
+            }
+            assertCellsEqualBruteForce(index, persons);
+
+            // children moving to benefit units in other regions
+            List<BenefitUnit> benefitUnits = new ArrayList<>(population.benefitUnits);
+            for (Person person : new ArrayList<>(persons)) {
+                if (person.getDag() >= Parameters.AGE_TO_BECOME_RESPONSIBLE || person.getDag() == 0 ||
+                        !SampleExit.NotYet.equals(person.getSampleExit()))
+                    continue;
+                BenefitUnit destination = benefitUnits.get(random.nextInt(benefitUnits.size()));
+                if (destination.getRegion().equals(person.getBenefitUnit().getRegion()))
+                    continue;
+                person.setBenefitUnit(destination);
+                index.update(person);
+            }
+            assertCellsEqualBruteForce(index, persons);
+
+            // ageing
+            for (Person person : persons) {
+                person.setDag(person.getDag() + 1);
+                index.update(person);
+            }
+            assertCellsEqualBruteForce(index, persons);
+        } finally {
+            RunScope.bind(previous);
+        }
+    }
+
+    @Test
+    void drawReturnsEachMemberOnce() {
+
+        PopulationFixtures population = new PopulationFixtures(HOUSEHOLDS, SEED);
+        PopulationCellIndex index = new PopulationCellIndex(MAX_AGE);
+        for (Person person : population.persons) {
+            index.update(person);
+        }
+
+        Random random = new Random(SEED);
+        for (Gender gender : Gender.values()) {
+            for (Region region : Region.values()) {
+                for (int age=0; age<=MAX_AGE; age++) {
+
+                    List<Person> members = new ArrayList<>(index.getMembers(gender, region, age));
+                    Set<Person> drawn = new HashSet<>();
+                    Iterator<Person> draws = index.draw(gender, region, age, random);
+                    while (draws.hasNext()) {
+                        Person person = draws.next();
+                        assertTrue(drawn.add(person), "person drawn twice");
+
+                        // the index may be updated while drawing
+                        person.setDag(person.getDag() + 1);
+                        index.update(person);
+                    }
+                    assertEquals(new HashSet<>(members), drawn);
+                }
+            }
+        }
+    }
+
+    private static void assertCellsEqualBruteForce(PopulationCellIndex index, List<Person> persons) {
+
+        int indexed = 0;
+        for (Gender gender : Gender.values()) {
+            for (Region region : Region.values()) {
+                for (int age=0; age<=MAX_AGE; age++) {
+
+                    Set<Person> expected = new HashSet<>();
+                    for (Person person : persons) {
+                        if (SampleExit.NotYet.equals(person.getSampleExit()) && person.getBenefitUnit() != null &&
+                                gender.equals(person.getDgn()) && region.equals(person.getBenefitUnit().getRegion()) &&
+                                Math.min(person.getDag(), MAX_AGE) == age)
+                            expected.add(person);
+                    }
+                    List<Person> members = index.getMembers(gender, region, age);
+                    assertEquals(expected.size(), index.size(gender, region, age));
+                    assertEquals(expected.size(), members.size());
+                    assertEquals(expected, new HashSet<>(members), gender + " " + region + " aged " + age);
+                    indexed += members.size();
+                }
+            }
+        }
+        int eligible = 0;
+        for (Person person : persons) {
+            if (SampleExit.NotYet.equals(person.getSampleExit()) && person.getBenefitUnit() != null)
+                eligible++;
+        }
+        assertEquals(eligible, indexed);
+    }
+}
@@ -0,0 +1,252 @@
+package simpaths.model;
+
+import simpaths.data.Parameters;
+import simpaths.model.enums.Country;
+import simpaths.model.enums.Dhe;
+import simpaths.model.enums.Education;
+import simpaths.model.enums.Gender;
+import simpaths.model.enums.Indicator;
+import simpaths.model.enums.Labour;
+import simpaths.model.enums.Les_c4;
+import simpaths.model.enums.Les_c7_covid;
+import simpaths.model.enums.Region;
+import simpaths.model.enums.Ydses_c5;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+
+/**
+ * SYNTHETIC POPULATION FOR TESTS OF AGENT PROCESSES
+ *
+ * Model parameters are loaded from the workbooks in input/, and no input database is required. Each household comprises
+ * one benefit unit of one or two adults, with up to two children, drawn from a seeded random number generator.
+ * Characteristics that are read from the input database are set on construction, and all other characteristics are
+ * populated by the initialisation and yearly updates applied to the simulated population, so that populations
+ * generated from the same seed are identical
+ */
+public class PopulationFixtures {
+
+    public static final Country COUNTRY = Country.UK;
+    public static final int START_YEAR = 2019;
+    private static boolean parametersLoaded = false;
+
+    public final SimPathsModel model;
+    public final Set<Household> households = new LinkedHashSet<>();
+    public final Set<BenefitUnit> benefitUnits = new LinkedHashSet<>();
+    public final Set<Person> persons = new LinkedHashSet<>();
+
+
+    /**
+     * CONSTRUCTOR
+     * @param numberOfHouseholds number of households generated
+     * @param seed seed of characteristics and innovations of generated agents
+     */
+    public PopulationFixtures(int numberOfHouseholds, long seed) {
+
+        loadParameters();
+        model = new SimPathsModel(COUNTRY, START_YEAR);
+        model.setYear(START_YEAR);
+        model.setInnovationsSeed(seed);
+        RunScope scope = new RunScope("fixtures", System.getProperty("java.io.tmpdir"), seed);
+        scope.setManagers(model, null);
+        RunScope previous = RunScope.bind(scope);
+        try {
+            generate(numberOfHouseholds, new Random(seed));
+        } finally {
+            RunScope.bind(previous);
+        }
+    }
+
+    /**
+     * METHOD TO LOAD MODEL PARAMETERS, ONCE PER JVM
+     */
+    static synchronized void loadParameters() {
+
+        if (!parametersLoaded) {
+            Parameters.loadParameters(COUNTRY, 130, false, false, false, false, false,
+                    false, false, null, START_YEAR, START_YEAR + 10, 0.0, 0.0,
+                    false, false);
+            parametersLoaded = true;
+        }
+    }
+
+    private void generate(int numberOfHouseholds, Random random) {
+
+        List<Region> regions = new ArrayList<>(Parameters.getCountryRegions());
+        regions.sort(null);
+        long personId = 1L;
+        for (int hh=0; hh<numberOfHouseholds; hh++) {
+
+            // benefit unit characteristics stored in the input database
+            Household household = new Household(hh + 1);
+            BenefitUnit benefitUnit = new BenefitUnit((long) (hh + 1), random.nextInt(100000));
+            benefitUnit.setHousehold(household);
+            benefitUnit.setRegion(regions.get(random.nextInt(regions.size())));
+            double disposableIncomeMonthly = 500.0 + 4000.0 * random.nextDouble();
+            double benefitsMonthly = (random.nextDouble() < 0.4) ? 400.0 * random.nextDouble() : 0.0;
+            setColumn(benefitUnit, "disposableIncomeMonthly", disposableIncomeMonthly);
+            setColumn(benefitUnit, "grossIncomeMonthly", 1.25 * disposableIncomeMonthly - benefitsMonthly);
+            setColumn(benefitUnit, "benefitsReceivedPerMonth", benefitsMonthly);
+            setColumn(benefitUnit, "equivalisedDisposableIncomeYearly", 12.0 * disposableIncomeMonthly / (1.0 + random.nextDouble()));
+            setColumn(benefitUnit, "atRiskOfPoverty", (random.nextDouble() < 0.15) ? 1 : 0);
+            setColumn(benefitUnit, "ydses_c5", Ydses_c5.values()[random.nextInt(Ydses_c5.values().length)]);
+            boolean homeowner = random.nextBoolean();
+            benefitUnit.setDhhOwned(homeowner);
+            households.add(household);
+            benefitUnits.add(benefitUnit);
+
+            // members
+            boolean couple = random.nextBoolean();
+            int age = Parameters.AGE_TO_BECOME_RESPONSIBLE + random.nextInt(70);
+            Gender gender = (couple || random.nextBoolean()) ? Gender.Male : Gender.Female;
+            addAdult(personId++, gender, age, couple, homeowner, benefitsMonthly > 0.0, benefitUnit, random);
+            if (couple) {
+                int partnerAge = Math.max(Parameters.AGE_TO_BECOME_RESPONSIBLE, age - 5 + random.nextInt(11));
+                addAdult(personId++, Gender.Female, partnerAge, true, homeowner, benefitsMonthly > 0.0, benefitUnit, random);
+            }
+            int children = (age < 55) ? random.nextInt(3) : 0;
+            for (int cc=0; cc<children; cc++) {
+                addChild(personId++, Math.min(age - Parameters.AGE_TO_BECOME_RESPONSIBLE, random.nextInt(Parameters.AGE_TO_BECOME_RESPONSIBLE)),
+                        benefitUnit, random);
+            }
+        }
+
+        // initialisation, as for the population loaded from the input database
+        for (Person person : persons) {
+            person.setAdditionalFieldsInInitialPopulation();
+        }
+        for (BenefitUnit benefitUnit : benefitUnits) {
+            benefitUnit.initializeFields();
+        }
+
+        // yearly updates, as scheduled by the model before the processes evaluated for agents
+        for (BenefitUnit benefitUnit : benefitUnits) {
+            benefitUnit.onEvent(BenefitUnit.Processes.Update);
+        }
+        for (Person person : persons) {
+            person.onEvent(Person.Processes.Update);
+        }
+        for (BenefitUnit benefitUnit : benefitUnits) {
+            benefitUnit.onEvent(BenefitUnit.Processes.CalculateChangeInEDI);
+        }
+    }
+
+    private void addAdult(long id, Gender gender, int age, boolean partnered, boolean homeowner, boolean receivesBenefits,
+                          BenefitUnit benefitUnit, Random random) {
+
+        Person person = new Person(id, random.nextInt(100000));
+        person.setDgn(gender);
+        person.setDag(age);
+        person.setDeh_c3(Education.values()[random.nextInt(Education.values().length)]);
+        person.setDehm_c3(Education.values()[random.nextInt(Education.values().length)]);
+        person.setDehf_c3(Education.values()[random.nextInt(Education.values().length)]);
+
+        Les_c4 activity;
+        if (age >= 67)
+            activity = Les_c4.Retired;
+        else if (age < 25 && random.nextDouble() < 0.3)
+            activity = Les_c4.Student;
+        else if (random.nextDouble() < 0.7)
+            activity = Les_c4.EmployedOrSelfEmployed;
+        else
+            activity = Les_c4.NotEmployed;
+        person.setLes_c4(activity);
+        person.setLes_c7_covid(switch (activity) {
+            case EmployedOrSelfEmployed -> Les_c7_covid.Employee;
+            case NotEmployed -> Les_c7_covid.NotEmployed;
+            case Student -> Les_c7_covid.Student;
+            case Retired -> Les_c7_covid.Retired;
+        });
+        person.setLeftEducation(!Les_c4.Student.equals(activity));
+        Labour labour = Les_c4.EmployedOrSelfEmployed.equals(activity) ? Labour.values()[1 + random.nextInt(Labour.values().length - 1)] : Labour.ZERO;
+        person.setLabourSupplyWeekly(labour);
+        double wage = 8.0 + 30.0 * random.nextDouble();
+        person.setFullTimeHourlyEarningsPotential(wage);
+        person.setL1_fullTimeHourlyEarningsPotential(wage);
+        double labourIncome = wage * labour.getHours(person) * Parameters.WEEKS_PER_MONTH;
+        double capitalIncome = (random.nextDouble() < 0.3) ? 200.0 * random.nextDouble() : 0.0;
+        double pensionIncome = Les_c4.Retired.equals(activity) ? 500.0 + 1000.0 * random.nextDouble() : 0.0;
+        person.setYplgrs_dv(asinh(labourIncome));
+        person.setYpncp(asinh(capitalIncome));
+        person.setYpnoab(asinh(pensionIncome));
+        person.setYptciihs_dv(asinh(capitalIncome + pensionIncome));
+        person.setYpnbihs_dv(asinh(labourIncome + capitalIncome + pensionIncome));
+        person.setLiwwh(12 * random.nextInt(age - Parameters.AGE_TO_BECOME_RESPONSIBLE + 1));
+
+        person.setDhe(Dhe.values()[random.nextInt(Dhe.values().length)]);
+        person.setDhm(4.0 + 20.0 * random.nextDouble());
+        person.setDhmGhq(random.nextDouble() < 0.2);
+        person.setDlltsd((random.nextDouble() < 0.1) ? Indicator.True : Indicator.False);
+        person.setNeedSocialCare(Indicator.False);
+        person.setDer(Indicator.False);
+        person.setSedex(Indicator.False);
+        int yearsPartnered = partnered ? random.nextInt(age - Parameters.AGE_TO_BECOME_RESPONSIBLE + 1) : 0;
+        person.setDcpyy(yearsPartnered);
+        person.setDcpyy_lag1(Math.max(0, yearsPartnered - 1));
+        person.setLeftPartnership(false);
+        person.setDhhOwned(homeowner);
+        person.setReceivesBenefitsFlag(receivesBenefits);
+        person.setWeight(1.0);
+        person.setBenefitUnit(benefitUnit);
+        persons.add(person);
+    }
+
+    private void addChild(long id, int age, BenefitUnit benefitUnit, Random random) {
+
+        Person person = new Person(id, random.nextInt(100000));
+        person.setDgn(random.nextBoolean() ? Gender.Male : Gender.Female);
+        person.setDag(age);
+        person.setDeh_c3(Education.Low);
+        person.setDehm_c3(Education.values()[random.nextInt(Education.values().length)]);
+        person.setDehf_c3(Education.values()[random.nextInt(Education.values().length)]);
+        person.setLes_c4(Les_c4.Student);
+        person.setLes_c7_covid(Les_c7_covid.Student);
+        person.setLeftEducation(false);
+        person.setLabourSupplyWeekly(Labour.ZERO);
+        person.setFullTimeHourlyEarningsPotential(Parameters.MIN_HOURLY_WAGE_RATE);
+        person.setL1_fullTimeHourlyEarningsPotential(Parameters.MIN_HOURLY_WAGE_RATE);
+        person.setYplgrs_dv(0.0);
+        person.setYpncp(0.0);
+        person.setYpnoab(0.0);
+        person.setYptciihs_dv(0.0);
+        person.setYpnbihs_dv(0.0);
+        person.setLiwwh(0);
+        person.setDhe(Dhe.VeryGood);
+        person.setDhm(9.0);
+        person.setDhmGhq(false);
+        person.setDlltsd(Indicator.False);
+        person.setNeedSocialCare(Indicator.False);
+        person.setDer(Indicator.False);
+        person.setSedex(Indicator.False);
+        person.setDcpyy(0);
+        person.setDcpyy_lag1(0);
+        person.setLeftPartnership(false);
+        person.setDhhOwned(false);
+        person.setReceivesBenefitsFlag(false);
+        person.setWeight(1.0);
+        person.setBenefitUnit(benefitUnit);
+        persons.add(person);
+    }
+
+    /**
+     * METHOD TO SET A COLUMN OF THE INPUT DATABASE FOR WHICH AN ENTITY HAS NO SETTER (AS DONE BY JPA ON LOAD)
+     */
+    static void setColumn(Object entity, String name, Object value) {
+        try {
+            Field field = entity.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(entity, value);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("failed to set column " + name + " of " + entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static double asinh(double value) {
+        return Math.log(value + Math.sqrt(value * value + 1.0));
+    }
+}
@@ -0,0 +1,102 @@
+package simpaths.model;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import simpaths.data.Parameters;
+import simpaths.model.enums.AlignmentVariable;
+import simpaths.model.enums.TimeSeriesVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunScopeTest {
+
+    private static final int RUNS = 4;
+    private static final int YEARS = 8;
+    private static final long SEED = 606L;
+
+    @BeforeAll
+    static void loadParameters() {
+        PopulationFixtures.loadParameters();
+    }
+
+    @Test
+    void concurrentRunsAlignAsSequentialRuns() throws Exception {
+
+        double[] loaded = readAdjustments(PopulationFixtures.START_YEAR);
+
+        // runs executed in turn
+        List<List<Double>> sequential = new ArrayList<>();
+        for (int run=0; run<RUNS; run++) {
+            sequential.add(simulateAlignment(run, null));
+        }
+
+        // runs executed concurrently, stepping through the years together so that their updates interleave
+        List<List<Double>> concurrent = new ArrayList<>();
+        CyclicBarrier barrier = new CyclicBarrier(RUNS);
+        ExecutorService executor = Executors.newFixedThreadPool(RUNS);
+        try {
+            List<Future<List<Double>>> results = new ArrayList<>();
+            for (int run=0; run<RUNS; run++) {
+                int runHere = run;
+                results.add(executor.submit(() -> simulateAlignment(runHere, barrier)));
+            }
+            for (Future<List<Double>> result : results) {
+                concurrent.add(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(sequential, concurrent);
+        for (int run=1; run<RUNS; run++) {
+            assertNotEquals(sequential.get(0), sequential.get(run));
+        }
+        assertArrayEquals(loaded, readAdjustments(PopulationFixtures.START_YEAR), "adjustments of runs leaked into Parameters");
+    }
+
+    /**
+     * stands in for the alignment processes of a run: each year, adjustments are read, altered by a random draw of
+     * the run, and stored, and the adjustments of the preceding year are read back as for the run statistics
+     * @return values read by the run
+     */
+    private static List<Double> simulateAlignment(int run, CyclicBarrier barrier) throws Exception {
+
+        List<Double> read = new ArrayList<>();
+        RunScope previous = RunScope.bind(new RunScope("run_" + run, "output", SEED + run));
+        try {
+            for (int year=PopulationFixtures.START_YEAR; year<PopulationFixtures.START_YEAR+YEARS; year++) {
+
+                if (barrier != null)
+                    barrier.await();
+                double[] adjustments = readAdjustments(year);
+                for (double adjustment : adjustments) read.add(adjustment);
+                double draw = RunScope.nextDouble();
+                Parameters.putTimeSeriesValue(year, adjustments[0] + draw, TimeSeriesVariable.CareProvisionAdjustment);
+                Parameters.putTimeSeriesValue(year, adjustments[1] - draw, TimeSeriesVariable.UtilityAdjustmentSingleMales);
+                Parameters.setAlignmentValue(year, adjustments[2] + draw, AlignmentVariable.PartnershipAlignment);
+                Parameters.setAlignmentValue(year, adjustments[3] - draw, AlignmentVariable.FertilityAlignment);
+                if (barrier != null)
+                    barrier.await();
+                for (double adjustment : readAdjustments(year)) read.add(adjustment);
+            }
+        } finally {
+            RunScope.bind(previous);
+        }
+        return read;
+    }
+
+    private static double[] readAdjustments(int year) {
+        return new double[]{
+                Parameters.getTimeSeriesValue(year, TimeSeriesVariable.CareProvisionAdjustment),
+                Parameters.getTimeSeriesValue(year, TimeSeriesVariable.UtilityAdjustmentSingleMales),
+                Parameters.getAlignmentValue(year, AlignmentVariable.PartnershipAlignment),
+                Parameters.getAlignmentValue(year, AlignmentVariable.FertilityAlignment)};
+    }
+}
@@ -0,0 +1,177 @@
+package simpaths.model.decisions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import simpaths.data.Parameters;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridFileTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void configureGrids() {
+
+        // small grid scale: ages 18 to 22, with flexible labour supply to age 20
+        DecisionParams.maxAge = Parameters.AGE_TO_BECOME_RESPONSIBLE + 4;
+        DecisionParams.maxAgeFlexibleLabourSupply = Parameters.AGE_TO_BECOME_RESPONSIBLE + 2;
+        DecisionParams.minAgeToRetire = 60;
+        DecisionParams.minBirthYear = 1990;
+        DecisionParams.maxBirthYear = 2000;
+        DecisionParams.ptsBirthYear = 2;
+        DecisionParams.flagPrivatePension = false;
+        DecisionParams.flagLowWageOffer1 = false;
+        DecisionParams.flagRetirement = false;
+        DecisionParams.flagHealth = false;
+        DecisionParams.flagDisability = false;
+        DecisionParams.flagRegion = false;
+        DecisionParams.flagEducation = false;
+        Parameters.flagSocialCare = false;
+    }
+
+    @Test
+    void loadsOfSameFileShareMapping() throws IOException {
+
+        Grids saved = populatedGrids();
+        GridFile.write(saved, directory.toString(), false, false);
+
+        Grids first = GridFile.load(directory.toString(), true);
+        Grids second = GridFile.load(directory.toString(), true);
+        assertSame(first, second);
+        Grid[] expected = saved.toArray();
+        Grid[] actual = first.toArray();
+        for (int gg=0; gg<expected.length; gg++) {
+            if (expected[gg] == null)
+                continue;
+            assertNull(actual[gg].grid, "grid " + gg + " loaded to the heap");
+            assertNotNull(actual[gg].mappedSegments, "grid " + gg + " not mapped");
+            assertSame(actual[gg].mappedSegments[0], second.toArray()[gg].mappedSegments[0]);
+        }
+        first.loadAllSlices();
+        assertGridsEqual(saved, first);
+    }
+
+    @Test
+    void mappedAndHeapLoadsAgree() throws IOException {
+
+        Grids saved = populatedGrids();
+        GridFile.write(saved, directory.toString(), false, false);
+
+        Grids heap = GridFile.load(directory.toString(), false);
+        assertNotNull(heap.valueFunction.grid);
+        heap.loadAllSlices();
+        assertGridsEqual(saved, heap);
+        Grids mapped = GridFile.load(directory.toString(), true);
+        assertNotSame(heap, mapped);
+        mapped.loadAllSlices();
+        assertGridsEqual(heap, mapped);
+    }
+
+    @Test
+    void roundTripAtEachPrecisionAndCompression() throws IOException {
+
+        Grids saved = populatedGrids();
+        for (boolean compress : new boolean[]{false, true}) {
+            for (boolean floatPolicies : new boolean[]{false, true}) {
+
+                Path subdirectory = directory.resolve("grids_" + compress + "_" + floatPolicies);
+                GridFile.write(saved, subdirectory.toString(), compress, floatPolicies);
+                Grids loaded = GridFile.load(subdirectory.toString(), true);
+                loaded.loadAllSlices();
+
+                Grid[] expected = saved.toArray();
+                Grid[] actual = loaded.toArray();
+                for (int gg=0; gg<expected.length; gg++) {
+                    if (expected[gg] == null) {
+                        assertNull(actual[gg]);
+                        continue;
+                    }
+                    assertEquals(expected[gg].size, actual[gg].size);
+                    assertEquals(!compress && !floatPolicies, actual[gg].mappedSegments != null);
+                    for (long ii=0; ii<expected[gg].size; ii++) {
+                        double value = (gg > 0 && floatPolicies) ? (double)(float)expected[gg].get(ii) : expected[gg].get(ii);
+                        assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(actual[gg].get(ii)),
+                                "grid " + gg + " differs at index " + ii + " (compress=" + compress + ", floatPolicies=" + floatPolicies + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void corruptedSliceFailsChecksum() throws IOException {
+
+        Grids saved = populatedGrids();
+        for (boolean compress : new boolean[]{false, true}) {
+            for (boolean map : new boolean[]{false, true}) {
+
+                // the final bytes of the file belong to the last age slice stored for the last grid
+                Path subdirectory = directory.resolve("grids_" + compress + "_" + map);
+                GridFile.write(saved, subdirectory.toString(), compress, false);
+                Path path = subdirectory.resolve(GridFile.FILE_NAME);
+                try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                    file.seek(file.length() - 1);
+                    int last = file.read();
+                    file.seek(file.length() - 1);
+                    file.write(last ^ 0x5A);
+                }
+                int corruptedAge = compress ? saved.scale.simLifeSpan - 1 : DecisionParams.maxAgeFlexibleLabourSupply - Parameters.AGE_TO_BECOME_RESPONSIBLE;
+
+                Grids loaded = GridFile.load(subdirectory.toString(), map);
+                GridFile source = loaded.valueFunction.source;
+                source.ensureLoaded(0);
+                RuntimeException e = assertThrows(RuntimeException.class, () -> source.ensureLoaded(corruptedAge));
+                assertTrue(e.getCause().getMessage().contains("checksum failure"), e.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test
+    void fileSavedUnderDifferentGridScaleRejected() throws IOException {
+
+        GridFile.write(populatedGrids(), directory.toString(), false, false);
+        assertTrue(Files.exists(directory.resolve(GridFile.FILE_NAME)));
+        DecisionParams.maxAge = Parameters.AGE_TO_BECOME_RESPONSIBLE + 5;
+        assertThrows(RuntimeException.class, () -> GridFile.load(directory.toString(), true));
+        assertThrows(RuntimeException.class, () -> GridFile.load(directory.toString(), false));
+    }
+
+    static Grids populatedGrids() {
+
+        Grids grids = new Grids();
+        Grid[] gridArray = grids.toArray();
+        for (int gg=0; gg<gridArray.length; gg++) {
+            if (gridArray[gg] == null)
+                continue;
+            for (long ii=0; ii<gridArray[gg].size; ii++) {
+                gridArray[gg].put(ii, Math.sin(0.37 * ii + gg) * (gg == 0 ? 100.0 : 1.0));
+            }
+        }
+        return grids;
+    }
+
+    static void assertGridsEqual(Grids expectedGrids, Grids actualGrids) {
+
+        Grid[] expected = expectedGrids.toArray();
+        Grid[] actual = actualGrids.toArray();
+        for (int gg=0; gg<expected.length; gg++) {
+            if (expected[gg] == null) {
+                assertNull(actual[gg]);
+                continue;
+            }
+            assertEquals(expected[gg].size, actual[gg].size);
+            for (long ii=0; ii<expected[gg].size; ii++) {
+                assertEquals(Double.doubleToLongBits(expected[gg].get(ii)), Double.doubleToLongBits(actual[gg].get(ii)),
+                        "grid " + gg + " differs at index " + ii);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package simpaths.model.decisions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import simpaths.data.Parameters;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManagerSolveCheckpointTest {
+
+    private static final int KILLED = 137;
+
+    @TempDir
+    Path directory;
+
+    private String checkpointRootDirectory;
+    private String checkpointDirectory;
+    private double rSafeAssets;
+
+    @BeforeEach
+    void configureGrids() {
+        checkpointRootDirectory = DecisionParams.gridsCheckpointRootDirectory;
+        checkpointDirectory = DecisionParams.gridsCheckpointDirectory;
+        rSafeAssets = DecisionParams.rSafeAssets;
+        configure(directory.toString());
+    }
+
+    /**
+     * small grid scale: ages 18 to 22, with flexible labour supply to age 20
+     */
+    private static void configure(String checkpointRoot) {
+
+        DecisionParams.gridsCheckpointRootDirectory = checkpointRoot;
+        DecisionParams.maxAge = Parameters.AGE_TO_BECOME_RESPONSIBLE + 4;
+        DecisionParams.maxAgeFlexibleLabourSupply = Parameters.AGE_TO_BECOME_RESPONSIBLE + 2;
+        DecisionParams.minAgeToRetire = 60;
+        DecisionParams.minBirthYear = 1990;
+        DecisionParams.maxBirthYear = 2000;
+        DecisionParams.ptsBirthYear = 2;
+        DecisionParams.flagPrivatePension = false;
+        DecisionParams.flagLowWageOffer1 = false;
+        DecisionParams.flagRetirement = false;
+        DecisionParams.flagHealth = false;
+        DecisionParams.flagDisability = false;
+        DecisionParams.flagRegion = false;
+        DecisionParams.flagEducation = false;
+        DecisionParams.rSafeAssets = 0.02;
+        Parameters.flagSocialCare = false;
+    }
+
+    @AfterEach
+    void restore() {
+        ManagerSolveCheckpoint.clear();
+        DecisionParams.gridsCheckpointRootDirectory = checkpointRootDirectory;
+        DecisionParams.gridsCheckpointDirectory = checkpointDirectory;
+        DecisionParams.rSafeAssets = rSafeAssets;
+    }
+
+    @Test
+    void resumedGridsIdenticalToUninterruptedSolution() {
+
+        // uninterrupted solution
+        Grids uninterrupted = new Grids();
+        int from = ManagerSolveCheckpoint.resume(uninterrupted);
+        assertEquals(uninterrupted.scale.simLifeSpan - 1, from);
+        solve(uninterrupted, from, 0);
+        ManagerSolveCheckpoint.clear();
+
+        // solution interrupted after age index 2, and resumed in new grids
+        Grids interrupted = new Grids();
+        from = ManagerSolveCheckpoint.resume(interrupted);
+        solve(interrupted, from, 2);
+        Grids resumed = new Grids();
+        from = ManagerSolveCheckpoint.resume(resumed);
+        assertEquals(1, from);
+        solve(resumed, from, 0);
+
+        Grid[] expected = uninterrupted.toArray();
+        Grid[] actual = resumed.toArray();
+        for (int gg=0; gg<expected.length; gg++) {
+            if (expected[gg] == null) {
+                assertNull(actual[gg]);
+                continue;
+            }
+            assertEquals(expected[gg].size, actual[gg].size);
+            for (long ii=0; ii<expected[gg].size; ii++) {
+                assertEquals(Double.doubleToLongBits(expected[gg].get(ii)), Double.doubleToLongBits(actual[gg].get(ii)),
+                        "grid " + gg + " differs at index " + ii);
+            }
+        }
+    }
+
+    @Test
+    void solutionKilledInOneProcessResumedInAnother() throws Exception {
+
+        Grids uninterrupted = new Grids();
+        solve(uninterrupted, ManagerSolveCheckpoint.resume(uninterrupted), 0);
+        ManagerSolveCheckpoint.clear();
+
+        // killed after age index 2, without clean-up; checkpoint resumed by a new process, as for a restarted run
+        assertEquals(KILLED, runInNewProcess(Restart.KILL).exitValue);
+        Outcome resumed = runInNewProcess(Restart.RESUME);
+        assertEquals(0, resumed.exitValue, resumed.output);
+        assertTrue(resumed.output.contains(Restart.RESUMED_FROM + 1), resumed.output);
+        assertTrue(resumed.output.contains(Restart.DIGEST + digest(uninterrupted)), resumed.output);
+    }
+
+    @Test
+    void checkpointNotResumedWhenParametersChange() {
+
+        Grids grids = new Grids();
+        int from = ManagerSolveCheckpoint.resume(grids);
+        solve(grids, from, 2);
+
+        DecisionParams.rSafeAssets = 0.03;
+        Grids changed = new Grids();
+        assertEquals(changed.scale.simLifeSpan - 1, ManagerSolveCheckpoint.resume(changed));
+    }
+
+    private Outcome runInNewProcess(String mode) throws Exception {
+
+        Process process = new ProcessBuilder(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), Restart.class.getName(), directory.toString(), mode)
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        return new Outcome(process.waitFor(), output);
+    }
+
+    private record Outcome(int exitValue, String output) {}
+
+    /**
+     * process that either solves the grids until killed after age index 2, or resumes the solution from the
+     * checkpoint and reports the age index resumed from and a digest of the solved grids
+     */
+    static class Restart {
+
+        static final String KILL = "kill";
+        static final String RESUME = "resume";
+        static final String RESUMED_FROM = "resumed from ";
+        static final String DIGEST = "digest ";
+
+        public static void main(String[] args) throws Exception {
+
+            configure(args[0]);
+            Grids grids = new Grids();
+            int from = ManagerSolveCheckpoint.resume(grids);
+            if (KILL.equals(args[1])) {
+                solve(grids, from, 2);
+                Runtime.getRuntime().halt(KILLED);
+            }
+            System.out.println(RESUMED_FROM + from);
+            solve(grids, from, 0);
+            ManagerSolveCheckpoint.clear();
+            System.out.println(DIGEST + digest(grids));
+        }
+    }
+
+    private static String digest(Grids grids) throws NoSuchAlgorithmException {
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES);
+        for (Grid grid : grids.toArray()) {
+            if (grid == null)
+                continue;
+            for (long ii=0; ii<grid.size; ii++) {
+                buffer.clear();
+                digest.update(buffer.putDouble(grid.get(ii)).array());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * stands in for ManagerSolveGrids.run: solutions at each age depend on those at the following age, and are
+     * checkpointed as each age is completed
+     */
+    private static void solve(Grids grids, int fromAgeIndex, int toAgeIndex) {
+
+        for (int aa=fromAgeIndex; aa>=toAgeIndex; aa--) {
+
+            long start = grids.scale.gridDimensions[aa][3];
+            long length = grids.scale.gridDimensions[aa][2];
+            long nextStart = (aa < grids.scale.simLifeSpan - 1) ? grids.scale.gridDimensions[aa+1][3] : -1;
+            long nextLength = (nextStart < 0) ? 0 : grids.scale.gridDimensions[aa+1][2];
+            for (long ii=0; ii<length; ii++) {
+
+                double continuation = (nextStart < 0) ? 0.0 : grids.valueFunction.get(nextStart + ii % nextLength);
+                double value = Math.sin(0.001 * (ii + 1) * (aa + 1)) + 0.98 * continuation;
+                grids.valueFunction.put(start + ii, value);
+                grids.consumption.put(start + ii, 1.0 / (1.0 + Math.exp(-value)));
+                if (start + ii < grids.employment1.size)
+                    grids.employment1.put(start + ii, (ii % 3) / 2.0);
+                if (start + ii < grids.employment2.size)
+                    grids.employment2.put(start + ii, (ii % 2));
+            }
+            ManagerSolveCheckpoint.save(grids, aa);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package simpaths.model.taxes;
+
+import org.apache.commons.math3.util.Pair;
+import simpaths.data.Parameters;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * SYNTHETIC DONOR POOL FOR TESTS OF TAX AND BENEFIT IMPUTATION
+ *
+ * A single system year (the base price year) with one cell of donors per matching regime, all with regime key 0.
+ * Donors are ordered by original income, and disposable income and benefits are non-linear in original income so that
+ * imputations from levels and ratios differ
+ */
+class DonorTaxFixtures {
+
+    static final int YEAR = Parameters.BASE_PRICE_YEAR;
+    static final int DONORS = 160;
+
+    private final Map<Integer, Pair<String, Integer>> savedSchedule = new TreeMap<>();
+    private final Map<MatchFeature, Map<Integer, Integer>> savedCounter = new HashMap<>();
+    private DonorPoolIndex savedIndex;
+
+
+    /**
+     * METHOD TO INSTALL SYNTHETIC DONOR POOL IN Parameters
+     */
+    void install() throws IOException {
+
+        savedSchedule.putAll(Parameters.EUROMODpolicyScheduleSystemYearMap);
+        savedCounter.putAll(Parameters.getTaxdbCounter());
+        savedIndex = Parameters.getDonorPoolIndex();
+
+        Parameters.EUROMODpolicyScheduleSystemYearMap.clear();
+        Parameters.EUROMODpolicyScheduleSystemYearMap.put(YEAR, new Pair<>("UK_" + YEAR, YEAR));
+        for (MatchFeature feature : MatchFeature.values()) {
+            Map<Integer, Integer> increments = new HashMap<>();
+            for (int regime=0; regime<Parameters.TAXDB_REGIMES; regime++) {
+                increments.put(regime, 1);
+            }
+            Parameters.getTaxdbCounter().put(feature, increments);
+        }
+        Parameters.setDonorPoolIndex(donorPoolIndex());
+    }
+
+    /**
+     * METHOD TO RESTORE Parameters TO THEIR STATE BEFORE install()
+     */
+    void uninstall() {
+
+        Parameters.EUROMODpolicyScheduleSystemYearMap.clear();
+        Parameters.EUROMODpolicyScheduleSystemYearMap.putAll(savedSchedule);
+        Parameters.getTaxdbCounter().clear();
+        Parameters.getTaxdbCounter().putAll(savedCounter);
+        Parameters.setDonorPoolIndex(savedIndex);
+    }
+
+    /**
+     * METHOD TO OBTAIN DONOR KEYS FOR IMPUTATION IN THE SYNTHETIC DONOR POOL
+     */
+    static DonorKeys keys(boolean lowIncome, double hoursWorkedPerWeek, double originalIncomePerWeek, double secondIncomePerWeek,
+                          double childcareCostPerWeek, double randomDraw) {
+
+        Integer[] keys = new Integer[Parameters.TAXDB_REGIMES];
+        boolean[] lowIncomeFlags = new boolean[Parameters.TAXDB_REGIMES];
+        for (int regime=0; regime<Parameters.TAXDB_REGIMES; regime++) {
+            keys[regime] = 0;
+            lowIncomeFlags[regime] = lowIncome;
+        }
+        return new DonorKeys(keys, YEAR, YEAR, lowIncomeFlags, hoursWorkedPerWeek, 0.0, originalIncomePerWeek,
+                secondIncomePerWeek, childcareCostPerWeek, randomDraw);
+    }
+
+    static double originalIncomePerMonth(int donor) {
+        return 40.0 * (donor + 1) + 0.15 * donor * donor;
+    }
+
+    private static DonorPoolIndex donorPoolIndex() throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        double[] original = new double[DONORS];
+        for (int ii=0; ii<DONORS; ii++) {
+            original[ii] = originalIncomePerMonth(ii);
+        }
+
+        // donor characteristics
+        out.writeInt(DONORS);
+        for (int ii=0; ii<DONORS; ii++) out.writeLong(1000 + ii);
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(1.0 + ii % 3);
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(Parameters.asinh(original[ii]));
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(0.0);
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(0.0);
+
+        // policy characteristics
+        out.writeInt(1);
+        out.writeInt(YEAR);
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(Parameters.asinh(original[ii]));
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(original[ii]);
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(300.0 + 0.8 * original[ii] - 0.0004 * original[ii] * original[ii] / 10.0);
+        for (int ii=0; ii<DONORS; ii++) out.writeDouble(Math.max(0.0, 450.0 - 0.35 * original[ii]) + 20.0 * (ii % 4));
+
+        // cells
+        out.writeInt(Parameters.TAXDB_REGIMES);
+        for (int regime=0; regime<Parameters.TAXDB_REGIMES; regime++) {
+            out.writeLong(((long)YEAR << 40) | ((long)regime << 32));
+            out.writeInt(DONORS);
+            for (int ii=0; ii<DONORS; ii++) out.writeInt(ii);
+        }
+        out.flush();
+        return DonorPoolIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -0,0 +1,99 @@
+package simpaths.model.taxes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonorTaxImputationCacheTest {
+
+    private final DonorTaxFixtures fixtures = new DonorTaxFixtures();
+
+    @BeforeEach
+    void installDonors() throws IOException {
+        fixtures.install();
+    }
+
+    @AfterEach
+    void uninstallDonors() {
+        fixtures.uninstall();
+    }
+
+    @Test
+    void cachedImputationsIdenticalToUncachedAtQuantisedIncomes() {
+
+        DonorTaxImputationCache cache = new DonorTaxImputationCache(1000);
+        for (boolean lowIncome : new boolean[]{false, true}) {
+            for (double hours : new double[]{0.0, 20.0}) {
+                for (double draw : new double[]{-1.0, 0.3, 0.8}) {
+                    for (int ii=0; ii<40; ii++) {
+
+                        double income = quantised(5.0 + 37.3 * ii);
+                        for (int repeat=0; repeat<2; repeat++) {
+                            DonorTaxImputation direct = new DonorTaxImputation(DonorTaxFixtures.keys(lowIncome, hours, income, 0.0, 0.0, draw));
+                            direct.evaluate();
+                            DonorTaxImputation cached = cache.evaluate(DonorTaxFixtures.keys(lowIncome, hours, income, 0.0, 0.0, draw));
+                            assertIdentical(direct, cached);
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(cache.getMisses(), cache.getHits());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void keysDifferingOnlyInLowIncomeIdentifiersNotConflated() {
+
+        DonorTaxImputationCache cache = new DonorTaxImputationCache(1000);
+        double income = quantised(250.0);
+        DonorTaxImputation ratio = cache.evaluate(DonorTaxFixtures.keys(false, 0.0, income, 0.0, 0.0, -1.0));
+        DonorTaxImputation level = cache.evaluate(DonorTaxFixtures.keys(true, 0.0, income, 0.0, 0.0, -1.0));
+        assertEquals(2, cache.getMisses());
+
+        DonorTaxImputation direct = new DonorTaxImputation(DonorTaxFixtures.keys(true, 0.0, income, 0.0, 0.0, -1.0));
+        direct.evaluate();
+        assertIdentical(direct, level);
+        assertNotEquals(ratio.getDisposableIncomePerWeek(), level.getDisposableIncomePerWeek());
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesDiscarded() {
+
+        DonorTaxImputationCache cache = new DonorTaxImputationCache(2, 1);
+        DonorKeys first = DonorTaxFixtures.keys(false, 0.0, quantised(100.0), 0.0, 0.0, -1.0);
+        DonorKeys second = DonorTaxFixtures.keys(false, 0.0, quantised(200.0), 0.0, 0.0, -1.0);
+        DonorKeys third = DonorTaxFixtures.keys(false, 0.0, quantised(300.0), 0.0, 0.0, -1.0);
+
+        cache.evaluate(first);
+        cache.evaluate(second);
+        cache.evaluate(first);          // first is now more recently used than second
+        cache.evaluate(third);          // discards second
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, cache.getHits());
+
+        cache.evaluate(first);
+        assertEquals(2, cache.getHits());
+        cache.evaluate(second);
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    private static double quantised(double incomePerWeek) {
+        return DonorTaxImputationCache.representative(DonorTaxImputationCache.quantise(incomePerWeek));
+    }
+
+    private static void assertIdentical(DonorTaxImputation expected, DonorTaxImputation actual) {
+        assertEquals(Double.doubleToLongBits(expected.getDisposableIncomePerWeek()), Double.doubleToLongBits(actual.getDisposableIncomePerWeek()));
+        assertEquals(Double.doubleToLongBits(expected.getBenefitsReceivedPerWeek()), Double.doubleToLongBits(actual.getBenefitsReceivedPerWeek()));
+        assertEquals(Double.doubleToLongBits(expected.getGrossIncomePerWeek()), Double.doubleToLongBits(actual.getGrossIncomePerWeek()));
+        assertEquals(expected.getMatchCriterion(), actual.getMatchCriterion());
+        assertEquals(expected.getDonorID(), actual.getDonorID());
+    }
+}
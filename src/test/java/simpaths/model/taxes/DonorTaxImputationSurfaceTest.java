@@ -0,0 +1,94 @@
+package simpaths.model.taxes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonorTaxImputationSurfaceTest {
+
+    private static final int INCOMES = 400;
+
+    private final DonorTaxFixtures fixtures = new DonorTaxFixtures();
+
+    @BeforeEach
+    void installDonors() throws IOException {
+        fixtures.install();
+    }
+
+    @AfterEach
+    void uninstallDonors() {
+        fixtures.uninstall();
+    }
+
+    @Test
+    void interpolatedImputationsWithinToleranceOfDirect() {
+
+        DonorTaxImputationSurface surface = new DonorTaxImputationSurface();
+        for (boolean lowIncome : new boolean[]{false, true}) {
+            for (double hours : new double[]{0.0, 20.0}) {
+                for (double secondIncome : new double[]{0.0, quantised(85.0)}) {
+                    for (double childcareCost : new double[]{0.0, quantised(40.0)}) {
+                        for (int ii=0; ii<INCOMES; ii++) {
+
+                            // original incomes off the grid, spanning the donor pool
+                            double income = 3.0 + 1700.0 * Math.pow((ii + 0.37) / INCOMES, 2.0);
+                            DonorTaxImputation direct = new DonorTaxImputation(DonorTaxFixtures.keys(lowIncome, hours, income, secondIncome, childcareCost, -1.0));
+                            direct.evaluate();
+                            DonorTaxImputation interpolated = surface.evaluate(DonorTaxFixtures.keys(lowIncome, hours, income, secondIncome, childcareCost, -1.0));
+                            String context = "low income " + lowIncome + ", hours " + hours + ", second income " + secondIncome +
+                                    ", childcare " + childcareCost + ", income " + income;
+                            assertWithinTolerance(direct.getDisposableIncomePerWeek(), interpolated.getDisposableIncomePerWeek(), context);
+                            assertWithinTolerance(direct.getBenefitsReceivedPerWeek(), interpolated.getBenefitsReceivedPerWeek(), context);
+                            assertEquals(direct.getGrossIncomePerWeek(), interpolated.getGrossIncomePerWeek(), 1.0E-9, context);
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(surface.getInterpolated() > INCOMES, surface.reportMetrics());
+    }
+
+    @Test
+    void keysDifferingOnlyInLowIncomeIdentifiersNotConflated() {
+
+        DonorTaxImputationSurface surface = new DonorTaxImputationSurface();
+        double income = 250.0;
+        surface.evaluate(DonorTaxFixtures.keys(false, 0.0, income, 0.0, 0.0, -1.0));
+        DonorTaxImputation level = surface.evaluate(DonorTaxFixtures.keys(true, 0.0, income, 0.0, 0.0, -1.0));
+
+        DonorTaxImputation direct = new DonorTaxImputation(DonorTaxFixtures.keys(true, 0.0, income, 0.0, 0.0, -1.0));
+        direct.evaluate();
+        assertWithinTolerance(direct.getDisposableIncomePerWeek(), level.getDisposableIncomePerWeek(), "low income");
+        assertWithinTolerance(direct.getBenefitsReceivedPerWeek(), level.getBenefitsReceivedPerWeek(), "low income");
+    }
+
+    @Test
+    void secondIncomeAndChildcareCostsQuantisedAsForCache() {
+
+        DonorTaxImputationSurface surface = new DonorTaxImputationSurface();
+        double income = 412.3;
+        double secondIncome = 85.0;
+        double childcareCost = 40.0;
+        assertNotEquals(secondIncome, quantised(secondIncome));
+        assertNotEquals(childcareCost, quantised(childcareCost));
+
+        DonorTaxImputation exact = surface.evaluate(DonorTaxFixtures.keys(false, 20.0, income, secondIncome, childcareCost, -1.0));
+        DonorTaxImputation representative = surface.evaluate(DonorTaxFixtures.keys(false, 20.0, income, quantised(secondIncome),
+                quantised(childcareCost), -1.0));
+        assertEquals(Double.doubleToLongBits(representative.getDisposableIncomePerWeek()), Double.doubleToLongBits(exact.getDisposableIncomePerWeek()));
+        assertEquals(Double.doubleToLongBits(representative.getBenefitsReceivedPerWeek()), Double.doubleToLongBits(exact.getBenefitsReceivedPerWeek()));
+        assertTrue(surface.reportMetrics().contains(" 1 surfaces"), surface.reportMetrics());
+    }
+
+    private static double quantised(double incomePerWeek) {
+        return DonorTaxImputationCache.representative(DonorTaxImputationCache.quantise(incomePerWeek));
+    }
+
+    private static void assertWithinTolerance(double expected, double actual, String context) {
+        assertEquals(expected, actual, DonorTaxImputationSurface.TOLERANCE * Math.max(1.0, Math.abs(expected)), context);
+    }
+}
@@ -0,0 +1,69 @@
+package simpaths.model.taxes.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import simpaths.model.enums.Country;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaxDonorDataParserTest {
+
+    private static final String[] DONOR_TABLES = {"DONORTAXUNIT", "DONORPERSON", "DONORPERSONPOLICY", "DONORTAXUNITPOLICY"};
+
+    private Connection conn;
+    private Statement stat;
+
+    @BeforeEach
+    void createCountryTables() throws SQLException {
+
+        conn = DriverManager.getConnection("jdbc:h2:mem:donors", "sa", "");
+        stat = conn.createStatement();
+        for (String table : DONOR_TABLES) {
+            stat.execute("CREATE TABLE " + table + "_UK (ID BIGINT NOT NULL PRIMARY KEY, TUID BIGINT, PID BIGINT, AMOUNT DOUBLE)");
+            stat.execute("INSERT INTO " + table + "_UK VALUES (1, 1, 1, 1.5), (2, 1, 2, NULL), (3, 2, 3, 250.0)");
+        }
+    }
+
+    @AfterEach
+    void closeDatabase() throws SQLException {
+        stat.execute("SHUTDOWN");
+        conn.close();
+    }
+
+    @Test
+    void checksumRecordedForDefaultTablesMatchesTheirContent() throws SQLException {
+
+        assertNull(TaxDonorDataParser.evaluateDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES));
+        assertNull(TaxDonorDataParser.getDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES));
+
+        TaxDonorDataParser.updateDefaultDonorTables(conn, Country.UK);
+        String recorded = TaxDonorDataParser.getDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES);
+        assertNotNull(recorded);
+        assertEquals(recorded, TaxDonorDataParser.evaluateDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES));
+        assertEquals(recorded, TaxDonorDataParser.evaluateDonorChecksum(stat, Country.UK.toString()));
+
+        // rebuilding identical tables records the same checksum
+        TaxDonorDataParser.updateDefaultDonorTables(conn, Country.UK);
+        assertEquals(recorded, TaxDonorDataParser.getDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES));
+    }
+
+    @Test
+    void checksumChangesWithContent() throws SQLException {
+
+        TaxDonorDataParser.updateDefaultDonorTables(conn, Country.UK);
+        String recorded = TaxDonorDataParser.getDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES);
+
+        stat.execute("UPDATE DONORPERSONPOLICY SET AMOUNT = 1.0 WHERE ID = 2");
+        assertNotEquals(recorded, TaxDonorDataParser.evaluateDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES));
+        stat.execute("UPDATE DONORPERSONPOLICY SET AMOUNT = NULL WHERE ID = 2");
+        assertEquals(recorded, TaxDonorDataParser.evaluateDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES));
+        stat.execute("DELETE FROM DONORTAXUNITPOLICY WHERE ID = 3");
+        assertNotEquals(recorded, TaxDonorDataParser.evaluateDonorChecksum(stat, TaxDonorDataParser.DEFAULT_DONOR_TABLES));
+    }
+}